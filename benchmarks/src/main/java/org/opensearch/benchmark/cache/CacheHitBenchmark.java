@@ -0,0 +1,85 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.benchmark.cache;
+
+import org.opensearch.common.cache.Cache;
+import org.opensearch.common.cache.CacheBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of cache hits on {@link Cache} with an increasing number of threads, which is dominated by
+ * the promotion of the entries in the LRU list.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CacheHitBenchmark {
+    @Param({ "1000", "100000" })
+    public int numberOfEntries;
+
+    private Cache<Integer, Integer> cache;
+
+    @Setup
+    public void setUp() {
+        cache = CacheBuilder.<Integer, Integer>builder().setMaximumWeight(numberOfEntries).build();
+        for (int i = 0; i < numberOfEntries; i++) {
+            cache.put(i, i);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Keys {
+        private final SplittableRandom random = new SplittableRandom();
+
+        int next(int bound) {
+            return random.nextInt(bound);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Integer hit1Thread(Keys keys) {
+        return cache.get(keys.next(numberOfEntries));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer hit4Threads(Keys keys) {
+        return cache.get(keys.next(numberOfEntries));
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Integer hit16Threads(Keys keys) {
+        return cache.get(keys.next(numberOfEntries));
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Integer hit64Threads(Keys keys) {
+        return cache.get(keys.next(numberOfEntries));
+    }
+}
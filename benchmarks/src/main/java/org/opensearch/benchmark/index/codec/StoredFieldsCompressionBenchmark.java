@@ -0,0 +1,151 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.benchmark.index.codec;
+
+import org.apache.lucene.codecs.Codec;
+import org.apache.lucene.codecs.lucene87.Lucene87Codec;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
+import org.opensearch.index.codec.LZ4HighCompressionCodec;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the stored fields compression of the <code>index.codec</code> choices on log-like <code>_source</code> documents:
+ * indexing throughput ({@link #index}), fetch latency of a random document ({@link #fetch}) and the size of the resulting index,
+ * which {@link #index} reports as its secondary <code>sizeInBytes</code> result.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class StoredFieldsCompressionBenchmark {
+    @Param({ "default", "best_compression", "lz4_high_compression" })
+    public String codec;
+
+    @Param({ "100000" })
+    public int numberOfDocuments;
+
+    private BytesRef[] sources;
+    private Directory directory;
+    private DirectoryReader reader;
+
+    @Setup
+    public void setUp() throws IOException {
+        final Random random = new Random(42);
+        sources = new BytesRef[numberOfDocuments];
+        final String[] levels = { "INFO", "WARN", "ERROR", "DEBUG" };
+        final String[] services = { "frontend", "checkout", "payments", "search", "inventory" };
+        for (int i = 0; i < numberOfDocuments; i++) {
+            final String source = "{\"@timestamp\":\"2021-04-" + (10 + random.nextInt(20)) + "T" + (10 + random.nextInt(14)) + ":"
+                + (10 + random.nextInt(50)) + ":" + (10 + random.nextInt(50)) + "." + random.nextInt(1000) + "Z\","
+                + "\"level\":\"" + levels[random.nextInt(levels.length)] + "\","
+                + "\"service\":\"" + services[random.nextInt(services.length)] + "\","
+                + "\"host\":\"host-" + random.nextInt(200) + ".example.com\","
+                + "\"request_id\":\"" + Long.toHexString(random.nextLong()) + "\","
+                + "\"latency_ms\":" + random.nextInt(5000) + ","
+                + "\"message\":\"request to /api/v1/items/" + random.nextInt(100000) + " completed with status "
+                + (random.nextInt(10) == 0 ? 500 : 200) + "\"}";
+            sources[i] = new BytesRef(source.getBytes(StandardCharsets.UTF_8));
+        }
+        directory = indexAll();
+        reader = DirectoryReader.open(directory);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        reader.close();
+        directory.close();
+    }
+
+    private Codec luceneCodec() {
+        switch (codec) {
+            case "default":
+                return new Lucene87Codec(Lucene87Codec.Mode.BEST_SPEED);
+            case "best_compression":
+                return new Lucene87Codec(Lucene87Codec.Mode.BEST_COMPRESSION);
+            case "lz4_high_compression":
+                return new LZ4HighCompressionCodec();
+            default:
+                throw new IllegalArgumentException("unknown codec [" + codec + "]");
+        }
+    }
+
+    private Directory indexAll() throws IOException {
+        final Directory dir = new ByteBuffersDirectory();
+        final IndexWriterConfig config = new IndexWriterConfig().setCodec(luceneCodec());
+        try (IndexWriter writer = new IndexWriter(dir, config)) {
+            for (BytesRef source : sources) {
+                final Document doc = new Document();
+                doc.add(new StoredField("_source", source));
+                writer.addDocument(doc);
+            }
+            writer.forceMerge(1);
+        }
+        return dir;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Directory index(IndexSize indexSize) throws IOException {
+        try (Directory dir = indexAll()) {
+            for (String file : dir.listAll()) {
+                indexSize.sizeInBytes += dir.fileLength(file);
+            }
+            return dir;
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class IndexSize {
+        public long sizeInBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            sizeInBytes = 0;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class DocIds {
+        private final Random random = new Random();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Document fetch(DocIds docIds) throws IOException {
+        return reader.document(docIds.random.nextInt(numberOfDocuments));
+    }
+}
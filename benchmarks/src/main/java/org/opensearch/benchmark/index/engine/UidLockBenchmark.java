@@ -0,0 +1,116 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.benchmark.index.engine;
+
+import org.apache.lucene.util.BytesRef;
+import org.opensearch.common.lease.Releasable;
+import org.opensearch.common.util.concurrent.KeyedLock;
+import org.opensearch.common.util.concurrent.StripedLock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-uid locking the engine's version map does on every index and delete operation, using a lock per key
+ * ({@link KeyedLock}) against a fixed set of stripes ({@link StripedLock}), with an increasing number of writer threads.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class UidLockBenchmark {
+    @Param({ "keyed", "striped" })
+    public String lockType;
+
+    @Param({ "100000" })
+    public int numberOfUids;
+
+    private BytesRef[] uids;
+    private Locker locker;
+
+    @Setup
+    public void setUp() {
+        uids = new BytesRef[numberOfUids];
+        for (int i = 0; i < numberOfUids; i++) {
+            uids[i] = new BytesRef(Integer.toString(i).getBytes(StandardCharsets.UTF_8));
+        }
+        switch (lockType) {
+            case "keyed":
+                final KeyedLock<BytesRef> keyedLock = new KeyedLock<>();
+                locker = keyedLock::acquire;
+                break;
+            case "striped":
+                final StripedLock<BytesRef> stripedLock = new StripedLock<>(256);
+                locker = stripedLock::acquire;
+                break;
+            default:
+                throw new IllegalArgumentException("unknown lock type [" + lockType + "]");
+        }
+    }
+
+    @FunctionalInterface
+    private interface Locker {
+        Releasable acquire(BytesRef uid);
+    }
+
+    @State(Scope.Thread)
+    public static class Uids {
+        private final SplittableRandom random = new SplittableRandom();
+
+        int next(int bound) {
+            return random.nextInt(bound);
+        }
+    }
+
+    private int lockAndRelease(Uids next) {
+        final BytesRef uid = uids[next.next(numberOfUids)];
+        try (Releasable ignored = locker.acquire(uid)) {
+            return uid.length;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int lock1Thread(Uids uids) {
+        return lockAndRelease(uids);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int lock4Threads(Uids uids) {
+        return lockAndRelease(uids);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public int lock16Threads(Uids uids) {
+        return lockAndRelease(uids);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public int lock64Threads(Uids uids) {
+        return lockAndRelease(uids);
+    }
+}
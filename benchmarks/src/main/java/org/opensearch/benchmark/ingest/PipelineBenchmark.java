@@ -0,0 +1,191 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.benchmark.ingest;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.ingest.AbstractProcessor;
+import org.opensearch.ingest.CompoundProcessor;
+import org.opensearch.ingest.ConfigurationUtils;
+import org.opensearch.ingest.IngestDocument;
+import org.opensearch.ingest.Pipeline;
+import org.opensearch.ingest.ValueSource;
+import org.opensearch.script.ScriptService;
+import org.opensearch.script.TemplateScript;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Measures how many documents per second a pipeline with the set, rename and remove steps of a typical log pipeline ingests, both one
+ * document at a time and in batches the way bulk requests execute pipelines.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(PipelineBenchmark.DOCS)
+@State(Scope.Benchmark)
+@SuppressWarnings("unused") // invoked by benchmarking framework
+public class PipelineBenchmark {
+
+    static final int DOCS = 1000;
+
+    private Pipeline pipeline;
+    private List<Map<String, Object>> sources;
+
+    @Setup
+    public void setUp() {
+        // no template engines, like a node without the mustache module, so all templates here are constant
+        ScriptService scriptService = new ScriptService(Settings.EMPTY, Collections.emptyMap(), Collections.emptyMap());
+        pipeline = new Pipeline("logs", null, null, new CompoundProcessor(
+            new SetStep(template(scriptService, "event.dataset"), ValueSource.wrap("nginx.access", scriptService)),
+            new SetStep(template(scriptService, "event.module"), ValueSource.wrap("nginx", scriptService)),
+            new RenameStep(template(scriptService, "message"), template(scriptService, "event.original")),
+            new RenameStep(template(scriptService, "remote_ip"), template(scriptService, "source.ip")),
+            new RenameStep(template(scriptService, "method"), template(scriptService, "http.request.method")),
+            new RenameStep(template(scriptService, "status"), template(scriptService, "http.response.status_code")),
+            new RenameStep(template(scriptService, "bytes"), template(scriptService, "http.response.body.bytes")),
+            new SetStep(template(scriptService, "ecs.version"), ValueSource.wrap("1.6.0", scriptService)),
+            new RemoveStep(template(scriptService, "beat")),
+            new RemoveStep(template(scriptService, "offset"))
+        ));
+
+        sources = new ArrayList<>(DOCS);
+        for (int i = 0; i < DOCS; i++) {
+            Map<String, Object> source = new HashMap<>();
+            String remoteIp = "10.0." + (i / 256) + "." + (i % 256);
+            source.put("message", String.format(Locale.ROOT,
+                "%s - - [17/Oct/2026:10:00:00 +0000] \"GET /index.html HTTP/1.1\" 200 %d \"-\" \"curl/7.68.0\"", remoteIp, i));
+            source.put("remote_ip", remoteIp);
+            source.put("method", "GET");
+            source.put("status", 200);
+            source.put("bytes", i);
+            source.put("beat", Collections.singletonMap("hostname", "web-01"));
+            source.put("offset", (long) i * 128);
+            sources.add(source);
+        }
+    }
+
+    private static TemplateScript.Factory template(ScriptService scriptService, String value) {
+        return ConfigurationUtils.compileTemplate("benchmark", null, "field", value, scriptService);
+    }
+
+    @Benchmark
+    public void executePerDocument(Blackhole bh) {
+        for (Map<String, Object> source : sources) {
+            pipeline.execute(newDocument(source), (result, e) -> bh.consume(result));
+        }
+    }
+
+    @Benchmark
+    public void executeBatch(Blackhole bh) {
+        List<IngestDocument> documents = new ArrayList<>(DOCS);
+        List<BiConsumer<IngestDocument, Exception>> handlers = new ArrayList<>(DOCS);
+        for (Map<String, Object> source : sources) {
+            documents.add(newDocument(source));
+            handlers.add((result, e) -> bh.consume(result));
+        }
+        pipeline.executeBatch(documents, handlers);
+    }
+
+    private static IngestDocument newDocument(Map<String, Object> source) {
+        // the steps only replace top level fields, so the copy the document makes of the source keeps the source intact
+        return new IngestDocument("logs", "_doc", null, null, null, null, source);
+    }
+
+    private static final class SetStep extends AbstractProcessor {
+
+        private final TemplateScript.Factory field;
+        private final ValueSource value;
+
+        SetStep(TemplateScript.Factory field, ValueSource value) {
+            super(null, null);
+            this.field = field;
+            this.value = value;
+        }
+
+        @Override
+        public IngestDocument execute(IngestDocument document) {
+            document.setFieldValue(field, value);
+            return document;
+        }
+
+        @Override
+        public String getType() {
+            return "set";
+        }
+    }
+
+    private static final class RenameStep extends AbstractProcessor {
+
+        private final TemplateScript.Factory field;
+        private final TemplateScript.Factory targetField;
+
+        RenameStep(TemplateScript.Factory field, TemplateScript.Factory targetField) {
+            super(null, null);
+            this.field = field;
+            this.targetField = targetField;
+        }
+
+        @Override
+        public IngestDocument execute(IngestDocument document) {
+            String path = document.renderTemplate(field);
+            String target = document.renderTemplate(targetField);
+            Object value = document.getFieldValue(path, Object.class);
+            document.removeField(path);
+            document.setFieldValue(target, value);
+            return document;
+        }
+
+        @Override
+        public String getType() {
+            return "rename";
+        }
+    }
+
+    private static final class RemoveStep extends AbstractProcessor {
+
+        private final TemplateScript.Factory field;
+
+        RemoveStep(TemplateScript.Factory field) {
+            super(null, null);
+            this.field = field;
+        }
+
+        @Override
+        public IngestDocument execute(IngestDocument document) {
+            document.removeField(field);
+            return document;
+        }
+
+        @Override
+        public String getType() {
+            return "remove";
+        }
+    }
+}
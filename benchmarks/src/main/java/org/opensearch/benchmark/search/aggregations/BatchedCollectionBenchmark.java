@@ -0,0 +1,262 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.benchmark.search.aggregations;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SortedNumericDocValues;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.BigArrays;
+import org.opensearch.common.util.DoubleArray;
+import org.opensearch.common.util.LongArray;
+import org.opensearch.common.util.PageCacheRecycler;
+import org.opensearch.index.fielddata.FieldData;
+import org.opensearch.index.fielddata.SortedNumericDoubleValues;
+import org.opensearch.search.aggregations.BatchedBucketCollector;
+import org.opensearch.search.aggregations.BucketCollector;
+import org.opensearch.search.aggregations.CardinalityUpperBound;
+import org.opensearch.search.aggregations.LeafBucketCollector;
+import org.opensearch.search.aggregations.bucket.terms.LongKeyedBucketOrds;
+import org.opensearch.search.aggregations.metrics.CompensatedSum;
+import org.opensearch.search.aggregations.support.NumericValuesBlock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares collecting the documents of a match_all query one at a time through {@link LeafBucketCollector#collect(int, long)}
+ * with collecting them in blocks through {@link BatchedBucketCollector}, for a collector that sums a numeric field the way the
+ * {@code sum} aggregation does and one that counts the documents per interval of a timestamp field the way the
+ * {@code date_histogram} aggregation does.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class BatchedCollectionBenchmark {
+    private static final String VALUE_FIELD = "value";
+    private static final String TIMESTAMP_FIELD = "timestamp";
+    private static final long INTERVAL = TimeUnit.HOURS.toMillis(1);
+
+    @Param({ "per_doc", "batched" })
+    public String collection;
+
+    @Param({ "1000000" })
+    public int numberOfDocuments;
+
+    private final PageCacheRecycler recycler = new PageCacheRecycler(Settings.EMPTY);
+    private final BigArrays bigArrays = new BigArrays(recycler, null, "REQUEST");
+
+    private Directory directory;
+    private DirectoryReader reader;
+    private IndexSearcher searcher;
+
+    @Setup
+    public void setUp() throws IOException {
+        final Random random = new Random(42);
+        directory = new ByteBuffersDirectory();
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+            long timestamp = 1_600_000_000_000L;
+            for (int i = 0; i < numberOfDocuments; i++) {
+                // documents are indexed in time order with about a thousand documents per interval, like logs
+                timestamp += random.nextInt((int) (2 * INTERVAL / 1000));
+                final Document document = new Document();
+                document.add(new SortedNumericDocValuesField(VALUE_FIELD, random.nextInt(10_000)));
+                document.add(new SortedNumericDocValuesField(TIMESTAMP_FIELD, timestamp));
+                writer.addDocument(document);
+            }
+            writer.forceMerge(1);
+        }
+        reader = DirectoryReader.open(directory);
+        searcher = new IndexSearcher(reader);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        reader.close();
+        directory.close();
+    }
+
+    private BucketCollector wrap(BucketCollector collector) {
+        return "batched".equals(collection) ? new BatchedBucketCollector(collector) : collector;
+    }
+
+    @Benchmark
+    public double sum() throws IOException {
+        try (SumCollector sum = new SumCollector()) {
+            final BucketCollector collector = wrap(sum);
+            collector.preCollection();
+            searcher.search(new MatchAllDocsQuery(), collector);
+            collector.postCollection();
+            return sum.sums.get(0);
+        }
+    }
+
+    @Benchmark
+    public long histogram() throws IOException {
+        try (HistogramCollector histogram = new HistogramCollector()) {
+            final BucketCollector collector = wrap(histogram);
+            collector.preCollection();
+            searcher.search(new MatchAllDocsQuery(), collector);
+            collector.postCollection();
+            return histogram.bucketOrds.size();
+        }
+    }
+
+    /**
+     * Sums the values of a field like the {@code sum} aggregation.
+     */
+    private class SumCollector extends BucketCollector implements AutoCloseable {
+        private DoubleArray sums = bigArrays.newDoubleArray(1, true);
+        private DoubleArray compensations = bigArrays.newDoubleArray(1, true);
+
+        @Override
+        public LeafBucketCollector getLeafCollector(LeafReaderContext ctx) throws IOException {
+            final SortedNumericDoubleValues values = FieldData.castToDouble(ctx.reader().getSortedNumericDocValues(VALUE_FIELD));
+            final CompensatedSum kahanSummation = new CompensatedSum(0, 0);
+            final NumericValuesBlock block = new NumericValuesBlock();
+            return new LeafBucketCollector() {
+                @Override
+                public void collect(int doc, long bucket) throws IOException {
+                    sums = bigArrays.grow(sums, bucket + 1);
+                    compensations = bigArrays.grow(compensations, bucket + 1);
+                    if (values.advanceExact(doc)) {
+                        kahanSummation.reset(sums.get(bucket), compensations.get(bucket));
+                        for (int i = 0; i < values.docValueCount(); i++) {
+                            kahanSummation.add(values.nextValue());
+                        }
+                        compensations.set(bucket, kahanSummation.delta());
+                        sums.set(bucket, kahanSummation.value());
+                    }
+                }
+
+                @Override
+                public void collect(int[] docs, int count, long bucket) throws IOException {
+                    sums = bigArrays.grow(sums, bucket + 1);
+                    compensations = bigArrays.grow(compensations, bucket + 1);
+                    block.readDoubles(values, docs, count);
+                    final double[] blockValues = block.doubleValues();
+                    final int size = block.size();
+                    kahanSummation.reset(sums.get(bucket), compensations.get(bucket));
+                    for (int i = 0; i < size; i++) {
+                        kahanSummation.add(blockValues[i]);
+                    }
+                    compensations.set(bucket, kahanSummation.delta());
+                    sums.set(bucket, kahanSummation.value());
+                }
+            };
+        }
+
+        @Override
+        public void preCollection() {}
+
+        @Override
+        public void postCollection() {}
+
+        @Override
+        public ScoreMode scoreMode() {
+            return ScoreMode.COMPLETE_NO_SCORES;
+        }
+
+        @Override
+        public void close() {
+            sums.close();
+            compensations.close();
+        }
+    }
+
+    /**
+     * Counts the documents per interval of a timestamp field like the {@code date_histogram} aggregation.
+     */
+    private class HistogramCollector extends BucketCollector implements AutoCloseable {
+        private final LongKeyedBucketOrds bucketOrds = LongKeyedBucketOrds.build(bigArrays, CardinalityUpperBound.ONE);
+        private LongArray docCounts = bigArrays.newLongArray(1, true);
+
+        private long bucketOrd(long owningBucketOrd, long rounded) {
+            final long bucketOrd = bucketOrds.add(owningBucketOrd, rounded);
+            return bucketOrd < 0 ? -1 - bucketOrd : bucketOrd;
+        }
+
+        @Override
+        public LeafBucketCollector getLeafCollector(LeafReaderContext ctx) throws IOException {
+            final SortedNumericDocValues values = ctx.reader().getSortedNumericDocValues(TIMESTAMP_FIELD);
+            final NumericValuesBlock block = new NumericValuesBlock();
+            return new LeafBucketCollector() {
+                @Override
+                public void collect(int doc, long owningBucketOrd) throws IOException {
+                    if (values.advanceExact(doc)) {
+                        final long value = values.nextValue();
+                        final long bucketOrd = bucketOrd(owningBucketOrd, value - Math.floorMod(value, INTERVAL));
+                        docCounts = bigArrays.grow(docCounts, bucketOrd + 1);
+                        docCounts.increment(bucketOrd, 1);
+                    }
+                }
+
+                @Override
+                public void collect(int[] docs, int count, long owningBucketOrd) throws IOException {
+                    block.readLongs(values, docs, count);
+                    final long[] blockValues = block.longValues();
+                    final int size = block.size();
+                    long lastRounded = 0;
+                    long lastBucketOrd = -1;
+                    for (int i = 0; i < size; i++) {
+                        final long rounded = blockValues[i] - Math.floorMod(blockValues[i], INTERVAL);
+                        if (lastBucketOrd < 0 || rounded != lastRounded) {
+                            lastBucketOrd = bucketOrd(owningBucketOrd, rounded);
+                            lastRounded = rounded;
+                            docCounts = bigArrays.grow(docCounts, lastBucketOrd + 1);
+                        }
+                        docCounts.increment(lastBucketOrd, 1);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void preCollection() {}
+
+        @Override
+        public void postCollection() {}
+
+        @Override
+        public ScoreMode scoreMode() {
+            return ScoreMode.COMPLETE_NO_SCORES;
+        }
+
+        @Override
+        public void close() {
+            bucketOrds.close();
+            docCounts.close();
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.benchmark.search.aggregations;
+
+import org.HdrHistogram.DoubleHistogram;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.search.aggregations.metrics.DDSketchState;
+import org.opensearch.search.aggregations.metrics.TDigestState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the sketches behind the {@code percentiles} aggregation: filling the sketches of many buckets the way a
+ * {@code percentiles} under a bucket aggregation does, merging them the way the coordinating node reduces the shard results,
+ * and serializing them the way shards send them.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class PercentilesSketchBenchmark {
+
+    @Param({ "tdigest", "hdr", "ddsketch" })
+    public String method;
+
+    @Param({ "1000" })
+    public int numberOfBuckets;
+
+    @Param({ "10", "1000" })
+    public int valuesPerBucket;
+
+    private double[] values;
+    private Sketch[] sketches;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+        values = new double[numberOfBuckets * valuesPerBucket];
+        for (int i = 0; i < values.length; i++) {
+            // latencies like values, spread over a few orders of magnitude
+            values[i] = Math.exp(random.nextGaussian() * 2) * 100;
+        }
+        sketches = fill();
+    }
+
+    private Sketch newSketch() {
+        switch (method) {
+            case "tdigest":
+                return new TDigestSketch();
+            case "hdr":
+                return new HdrSketch();
+            case "ddsketch":
+                return new DDSketch();
+            default:
+                throw new IllegalArgumentException("Unknown method [" + method + "]");
+        }
+    }
+
+    private Sketch[] fill() {
+        final Sketch[] sketches = new Sketch[numberOfBuckets];
+        for (int bucket = 0; bucket < numberOfBuckets; bucket++) {
+            sketches[bucket] = newSketch();
+        }
+        // values arrive interleaved across buckets, like the documents of a terms x date_histogram tree
+        for (int i = 0; i < values.length; i++) {
+            sketches[i % numberOfBuckets].add(values[i]);
+        }
+        return sketches;
+    }
+
+    @Benchmark
+    public Sketch[] collect() {
+        return fill();
+    }
+
+    @Benchmark
+    public double reduce() {
+        final Sketch merged = newSketch();
+        for (Sketch sketch : sketches) {
+            merged.merge(sketch);
+        }
+        return merged.quantile(0.99);
+    }
+
+    @Benchmark
+    public long serialize() throws IOException {
+        long bytes = 0;
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            for (Sketch sketch : sketches) {
+                out.reset();
+                sketch.writeTo(out);
+                bytes += out.size();
+                try (StreamInput in = out.bytes().streamInput()) {
+                    sketch.readFrom(in);
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private interface Sketch {
+        void add(double value);
+
+        void merge(Sketch other);
+
+        double quantile(double q);
+
+        void writeTo(BytesStreamOutput out) throws IOException;
+
+        Object readFrom(StreamInput in) throws IOException;
+    }
+
+    private static class TDigestSketch implements Sketch {
+        private final TDigestState state = new TDigestState(100);
+
+        @Override
+        public void add(double value) {
+            state.add(value);
+        }
+
+        @Override
+        public void merge(Sketch other) {
+            state.add(((TDigestSketch) other).state);
+        }
+
+        @Override
+        public double quantile(double q) {
+            return state.quantile(q);
+        }
+
+        @Override
+        public void writeTo(BytesStreamOutput out) throws IOException {
+            TDigestState.write(state, out);
+        }
+
+        @Override
+        public Object readFrom(StreamInput in) throws IOException {
+            return TDigestState.read(in);
+        }
+    }
+
+    /**
+     * Mirrors the serialization of {@code AbstractInternalHDRPercentiles}.
+     */
+    private static class HdrSketch implements Sketch {
+        private final DoubleHistogram state = new DoubleHistogram(3);
+
+        HdrSketch() {
+            state.setAutoResize(true);
+        }
+
+        @Override
+        public void add(double value) {
+            state.recordValue(value);
+        }
+
+        @Override
+        public void merge(Sketch other) {
+            state.add(((HdrSketch) other).state);
+        }
+
+        @Override
+        public double quantile(double q) {
+            return state.getValueAtPercentile(q * 100);
+        }
+
+        @Override
+        public void writeTo(BytesStreamOutput out) throws IOException {
+            final ByteBuffer buffer = ByteBuffer.allocate(state.getNeededByteBufferCapacity());
+            final int size = state.encodeIntoCompressedByteBuffer(buffer);
+            out.writeVInt(size);
+            out.writeBytes(buffer.array(), 0, size);
+        }
+
+        @Override
+        public Object readFrom(StreamInput in) throws IOException {
+            final byte[] bytes = new byte[in.readVInt()];
+            in.readBytes(bytes, 0, bytes.length);
+            try {
+                return DoubleHistogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(bytes), 0);
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+        }
+    }
+
+    private static class DDSketch implements Sketch {
+        private final DDSketchState state = new DDSketchState(0.01);
+
+        @Override
+        public void add(double value) {
+            state.add(value);
+        }
+
+        @Override
+        public void merge(Sketch other) {
+            state.add(((DDSketch) other).state);
+        }
+
+        @Override
+        public double quantile(double q) {
+            return state.quantile(q);
+        }
+
+        @Override
+        public void writeTo(BytesStreamOutput out) throws IOException {
+            DDSketchState.write(state, out);
+        }
+
+        @Override
+        public Object readFrom(StreamInput in) throws IOException {
+            return DDSketchState.read(in);
+        }
+    }
+}
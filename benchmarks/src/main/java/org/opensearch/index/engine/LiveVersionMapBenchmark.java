@@ -0,0 +1,122 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.index.engine;
+
+import org.apache.lucene.util.BytesRef;
+import org.opensearch.common.lease.Releasable;
+import org.opensearch.index.translog.Translog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures what the engine does with the {@link LiveVersionMap} on every update of a document with a known id: lock the uid, look
+ * up its current version and put the new one, with a refresh that swaps the maps every {@link #operationsPerRefresh} operations,
+ * with an increasing number of writer threads. Lives in the engine package since the version map is package private.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class LiveVersionMapBenchmark {
+    @Param({ "100000" })
+    public int numberOfUids;
+
+    @Param({ "10000", "100000" })
+    public int operationsPerRefresh;
+
+    private BytesRef[] uids;
+    private LiveVersionMap map;
+    private final AtomicLong seqNo = new AtomicLong();
+    // refreshes are serialized by the reference manager of the engine
+    private final Object refreshMutex = new Object();
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        uids = new BytesRef[numberOfUids];
+        for (int i = 0; i < numberOfUids; i++) {
+            uids[i] = new BytesRef(Integer.toString(i).getBytes(StandardCharsets.UTF_8));
+        }
+        map = new LiveVersionMap();
+        map.enforceSafeAccess();
+    }
+
+    @State(Scope.Thread)
+    public static class Uids {
+        private final SplittableRandom random = new SplittableRandom();
+
+        int next(int bound) {
+            return random.nextInt(bound);
+        }
+    }
+
+    private long update(Uids next) {
+        final BytesRef uid = uids[next.next(numberOfUids)];
+        final long operationSeqNo = seqNo.incrementAndGet();
+        try (Releasable ignored = map.acquireLock(uid)) {
+            final VersionValue current = map.getUnderLock(uid);
+            final long version = current == null ? 1 : current.version + 1;
+            map.putIndexUnderLock(uid, new IndexVersionValue(new Translog.Location(1, operationSeqNo, 64), version, operationSeqNo, 1));
+        }
+        if (operationSeqNo % operationsPerRefresh == 0) {
+            synchronized (refreshMutex) {
+                try {
+                    map.beforeRefresh();
+                    map.afterRefresh(true);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+        return operationSeqNo;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long update1Thread(Uids uids) {
+        return update(uids);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long update4Threads(Uids uids) {
+        return update(uids);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long update16Threads(Uids uids) {
+        return update(uids);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public long update64Threads(Uids uids) {
+        return update(uids);
+    }
+}
@@ -34,6 +34,7 @@ package org.opensearch.ingest.common;
 
 import org.opensearch.ExceptionsHelper;
 import org.opensearch.common.Nullable;
+import org.opensearch.common.collect.Tuple;
 import org.opensearch.common.time.DateFormatter;
 import org.opensearch.common.util.LocaleUtils;
 import org.opensearch.ingest.AbstractProcessor;
@@ -47,9 +48,11 @@ import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 public final class DateProcessor extends AbstractProcessor {
@@ -64,7 +67,7 @@ public final class DateProcessor extends AbstractProcessor {
     private final String field;
     private final String targetField;
     private final List<String> formats;
-    private final List<Function<Map<String, Object>, Function<String, ZonedDateTime>>> dateParsers;
+    private final List<DateFormat> dateFormats;
     private final String outputFormat;
 
     DateProcessor(String tag, String description, @Nullable TemplateScript.Factory timezone, @Nullable TemplateScript.Factory locale,
@@ -80,10 +83,9 @@ public final class DateProcessor extends AbstractProcessor {
         this.field = field;
         this.targetField = targetField;
         this.formats = formats;
-        this.dateParsers = new ArrayList<>(this.formats.size());
+        this.dateFormats = new ArrayList<>(this.formats.size());
         for (String format : formats) {
-            DateFormat dateFormat = DateFormat.fromString(format);
-            dateParsers.add((params) -> dateFormat.getFunction(format, newDateTimeZone(params), newLocale(params)));
+            dateFormats.add(DateFormat.fromString(format));
         }
         this.outputFormat = outputFormat;
         formatter = DateFormatter.forPattern(this.outputFormat);
@@ -99,6 +101,27 @@ public final class DateProcessor extends AbstractProcessor {
 
     @Override
     public IngestDocument execute(IngestDocument ingestDocument) {
+        return execute(ingestDocument, new HashMap<>());
+    }
+
+    @Override
+    public void executeBatch(List<IngestDocument> ingestDocuments, List<BiConsumer<IngestDocument, Exception>> handlers) {
+        // parsers only depend on the format, time zone and locale so the documents of a batch can share them
+        final Map<Tuple<Integer, Tuple<ZoneId, Locale>>, Function<String, ZonedDateTime>> dateParsers = new HashMap<>();
+        for (int i = 0; i < ingestDocuments.size(); i++) {
+            final IngestDocument result;
+            try {
+                result = execute(ingestDocuments.get(i), dateParsers);
+            } catch (Exception e) {
+                handlers.get(i).accept(null, e);
+                continue;
+            }
+            handlers.get(i).accept(result, null);
+        }
+    }
+
+    private IngestDocument execute(IngestDocument ingestDocument,
+                                   Map<Tuple<Integer, Tuple<ZoneId, Locale>>, Function<String, ZonedDateTime>> dateParsers) {
         Object obj = ingestDocument.getFieldValue(field, Object.class);
         String value = null;
         if (obj != null) {
@@ -108,9 +131,16 @@ public final class DateProcessor extends AbstractProcessor {
 
         ZonedDateTime dateTime = null;
         Exception lastException = null;
-        for (Function<Map<String, Object>, Function<String, ZonedDateTime>> dateParser : dateParsers) {
+        for (int i = 0; i < dateFormats.size(); i++) {
             try {
-                dateTime = dateParser.apply(ingestDocument.getSourceAndMetadata()).apply(value);
+                final Map<String, Object> params = ingestDocument.getSourceAndMetadata();
+                final DateFormat dateFormat = dateFormats.get(i);
+                final String format = formats.get(i);
+                final ZoneId zoneId = newDateTimeZone(params);
+                final Locale locale = newLocale(params);
+                final Function<String, ZonedDateTime> dateParser = dateParsers.computeIfAbsent(Tuple.tuple(i, Tuple.tuple(zoneId, locale)),
+                    k -> dateFormat.getFunction(format, zoneId, locale));
+                dateTime = dateParser.apply(value);
             } catch (Exception e) {
                 //try the next parser and keep track of the exceptions
                 lastException = ExceptionsHelper.useOrSuppress(lastException, e);
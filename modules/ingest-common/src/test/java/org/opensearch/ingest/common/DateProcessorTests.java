@@ -49,9 +49,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
 
 public class DateProcessorTests extends OpenSearchTestCase {
 
@@ -74,6 +76,28 @@ public class DateProcessorTests extends OpenSearchTestCase {
         assertThat(ingestDocument.getFieldValue("date_as_date", String.class), equalTo("2010-06-12T11:05:15.000+02:00"));
     }
 
+    public void testJavaPatternBatch() {
+        DateProcessor dateProcessor = new DateProcessor(randomAlphaOfLength(10),
+            null, templatize(ZoneId.of("Europe/Amsterdam")), templatize(Locale.ENGLISH),
+                "date_as_string", Collections.singletonList("yyyy dd MM HH:mm:ss"), "date_as_date");
+        List<IngestDocument> ingestDocuments = new ArrayList<>();
+        List<BiConsumer<IngestDocument, Exception>> handlers = new ArrayList<>();
+        List<Exception> failures = new ArrayList<>();
+        for (String date : Arrays.asList("2010 12 06 11:05:15", "invalid", "2010 13 06 11:05:15")) {
+            Map<String, Object> document = new HashMap<>();
+            document.put("date_as_string", date);
+            ingestDocuments.add(RandomDocumentPicks.randomIngestDocument(random(), document));
+            handlers.add((result, e) -> failures.add(e));
+        }
+        dateProcessor.executeBatch(ingestDocuments, handlers);
+        assertThat(failures.size(), equalTo(3));
+        assertThat(failures.get(0), nullValue());
+        assertThat(failures.get(1).getMessage(), equalTo("unable to parse date [invalid]"));
+        assertThat(failures.get(2), nullValue());
+        assertThat(ingestDocuments.get(0).getFieldValue("date_as_date", String.class), equalTo("2010-06-12T11:05:15.000+02:00"));
+        assertThat(ingestDocuments.get(2).getFieldValue("date_as_date", String.class), equalTo("2010-06-13T11:05:15.000+02:00"));
+    }
+
     public void testJavaPatternMultipleFormats() {
         List<String> matchFormats = new ArrayList<>();
         matchFormats.add("yyyy dd MM");
@@ -0,0 +1,103 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.http.netty4;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.HttpChunkedInput;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.stream.ChunkedInput;
+import org.opensearch.http.HttpResponse;
+import org.opensearch.rest.ChunkedRestResponse;
+import org.opensearch.rest.ChunkedRestResponseBody;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.transport.netty4.Netty4Utils;
+
+/**
+ * An http response whose content is written with a chunked transfer encoding. Only the headers are part of this message, the
+ * content is written separately by {@link Netty4HttpPipeliningHandler} as an {@link HttpChunkedInput} so that the
+ * {@link io.netty.handler.stream.ChunkedWriteHandler} only serializes the next chunk once the channel is writable.
+ */
+public class Netty4ChunkedHttpResponse extends DefaultHttpResponse implements HttpResponse {
+
+    private final ChunkedRestResponseBody body;
+
+    Netty4ChunkedHttpResponse(HttpVersion version, RestStatus status, ChunkedRestResponseBody body) {
+        super(version, HttpResponseStatus.valueOf(status.getStatus()));
+        this.body = body;
+        HttpUtil.setTransferEncodingChunked(this, true);
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        headers().add(name, value);
+    }
+
+    @Override
+    public boolean containsHeader(String name) {
+        return headers().contains(name);
+    }
+
+    /**
+     * Returns the content of this response as the sequence of http chunks that follow the headers.
+     */
+    HttpChunkedInput content() {
+        return new HttpChunkedInput(new BodyInput(body));
+    }
+
+    private static final class BodyInput implements ChunkedInput<ByteBuf> {
+
+        private final ChunkedRestResponseBody body;
+        private long progress;
+
+        BodyInput(ChunkedRestResponseBody body) {
+            this.body = body;
+        }
+
+        @Override
+        public boolean isEndOfInput() {
+            return body.isDone();
+        }
+
+        @Override
+        public void close() {
+            body.close();
+        }
+
+        @Deprecated
+        @Override
+        public ByteBuf readChunk(ChannelHandlerContext ctx) throws Exception {
+            return readChunk(ctx.alloc());
+        }
+
+        @Override
+        public ByteBuf readChunk(ByteBufAllocator allocator) throws Exception {
+            if (body.isDone()) {
+                return null;
+            }
+            final ByteBuf chunk = Netty4Utils.toByteBuf(body.encodeChunk(ChunkedRestResponse.CHUNK_SIZE));
+            progress += chunk.readableBytes();
+            return chunk;
+        }
+
+        @Override
+        public long length() {
+            return -1;
+        }
+
+        @Override
+        public long progress() {
+            return progress;
+        }
+    }
+}
@@ -79,7 +79,15 @@ public class Netty4HttpPipeliningHandler extends ChannelDuplexHandler {
         try {
             List<Tuple<HttpPipelinedResponse, ChannelPromise>> readyResponses = aggregator.write(response, promise);
             for (Tuple<HttpPipelinedResponse, ChannelPromise> readyResponse : readyResponses) {
-                ctx.write(readyResponse.v1().getDelegateRequest(), readyResponse.v2());
+                final Object delegate = readyResponse.v1().getDelegateRequest();
+                if (delegate instanceof Netty4ChunkedHttpResponse) {
+                    // write the headers and then the content chunk by chunk, the promise completes once the last chunk is written
+                    final Netty4ChunkedHttpResponse chunkedResponse = (Netty4ChunkedHttpResponse) delegate;
+                    ctx.write(chunkedResponse);
+                    ctx.write(chunkedResponse.content(), readyResponse.v2());
+                } else {
+                    ctx.write(delegate, readyResponse.v2());
+                }
             }
             success = true;
         } catch (IllegalStateException e) {
@@ -39,14 +39,19 @@ import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.codec.http.QueryStringDecoder;
+import io.netty.handler.stream.ChunkedWriteHandler;
 import org.opensearch.common.Randomness;
 import org.opensearch.common.bytes.BytesArray;
 import org.opensearch.common.bytes.BytesReference;
 import org.opensearch.http.HttpPipelinedRequest;
 import org.opensearch.http.HttpPipelinedResponse;
 import org.opensearch.http.HttpResponse;
+import org.opensearch.rest.ChunkedRestResponseBody;
 import org.opensearch.rest.RestStatus;
 import org.opensearch.test.OpenSearchTestCase;
 import org.junit.After;
@@ -61,11 +66,14 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_LENGTH;
 import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.core.Is.is;
 
 public class Netty4HttpPipeliningHandlerTests extends OpenSearchTestCase {
@@ -218,6 +226,58 @@ public class Netty4HttpPipeliningHandlerTests extends OpenSearchTestCase {
     }
 
 
+    public void testChunkedResponse() throws Exception {
+        final EmbeddedChannel embeddedChannel =
+            new EmbeddedChannel(new ChunkedWriteHandler(), new Netty4HttpPipeliningHandler(logger, randomIntBetween(1, 10)));
+        embeddedChannel.writeInbound(createHttpRequest("/"));
+        final HttpPipelinedRequest request = embeddedChannel.readInbound();
+
+        final int numChunks = randomIntBetween(0, 16);
+        final AtomicInteger encodedChunks = new AtomicInteger();
+        final AtomicBoolean closed = new AtomicBoolean();
+        final ChunkedRestResponseBody body = new ChunkedRestResponseBody() {
+            @Override
+            public boolean isDone() {
+                return encodedChunks.get() == numChunks;
+            }
+
+            @Override
+            public BytesReference encodeChunk(int sizeHint) {
+                return new BytesArray(Integer.toString(encodedChunks.getAndIncrement()));
+            }
+
+            @Override
+            public String getResponseContentTypeString() {
+                return "text/plain";
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        final ChannelPromise promise = embeddedChannel.newPromise();
+        embeddedChannel.writeAndFlush(request.createResponse(RestStatus.OK, body), promise);
+
+        final io.netty.handler.codec.http.HttpResponse response = embeddedChannel.readOutbound();
+        assertThat(response, instanceOf(Netty4ChunkedHttpResponse.class));
+        assertTrue(HttpUtil.isTransferEncodingChunked(response));
+
+        final StringBuilder content = new StringBuilder();
+        HttpContent chunk;
+        do {
+            chunk = embeddedChannel.readOutbound();
+            assertNotNull(chunk);
+            content.append(chunk.content().toString(StandardCharsets.UTF_8));
+            chunk.release();
+        } while (chunk instanceof LastHttpContent == false);
+
+        assertEquals(IntStream.range(0, numChunks).mapToObj(Integer::toString).collect(Collectors.joining()), content.toString());
+        assertTrue(promise.isSuccess());
+        assertTrue(closed.get());
+    }
+
+
     private void assertReadHttpMessageHasContent(EmbeddedChannel embeddedChannel, String expectedContent) {
         FullHttpResponse response = (FullHttpResponse) embeddedChannel.outboundMessages().poll();
         assertNotNull("Expected response to exist, maybe you did not wait long enough?", response);
@@ -0,0 +1,97 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.indices.replication;
+
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.routing.IndexShardRoutingTable;
+import org.opensearch.cluster.routing.ShardRouting;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.test.InternalTestCluster;
+import org.opensearch.test.OpenSearchIntegTestCase;
+
+import static org.opensearch.test.hamcrest.OpenSearchAssertions.assertHitCount;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+@OpenSearchIntegTestCase.ClusterScope(scope = OpenSearchIntegTestCase.Scope.TEST, numDataNodes = 2)
+public class SegmentReplicationIT extends OpenSearchIntegTestCase {
+
+    private static final String INDEX_NAME = "test-idx-1";
+
+    @Override
+    public Settings indexSettings() {
+        return Settings.builder()
+            .put(super.indexSettings())
+            .put(IndexMetadata.SETTING_NUMBER_OF_SHARDS, 1)
+            .put(IndexMetadata.SETTING_NUMBER_OF_REPLICAS, 1)
+            .put(IndexMetadata.SETTING_REPLICATION_TYPE, ReplicationType.SEGMENT.toString())
+            .build();
+    }
+
+    public void testReplicaCopiesFlushedSegments() throws Exception {
+        createIndex(INDEX_NAME);
+        ensureGreen(INDEX_NAME);
+
+        final int numDocs = scaledRandomIntBetween(1, 200);
+        indexDocs(0, numDocs);
+        flush(INDEX_NAME);
+
+        final String replicaNode = nodeName(getShardRouting(false));
+        assertBusy(() -> assertHitCount(client(replicaNode).prepareSearch(INDEX_NAME).setPreference("_only_local").setSize(0).get(),
+            numDocs));
+
+        final int moreDocs = scaledRandomIntBetween(1, 200);
+        indexDocs(numDocs, moreDocs);
+        flush(INDEX_NAME);
+        assertBusy(() -> assertHitCount(client(replicaNode).prepareSearch(INDEX_NAME).setPreference("_only_local").setSize(0).get(),
+            numDocs + moreDocs));
+    }
+
+    public void testPromotedReplicaKeepsAcknowledgedDocs() throws Exception {
+        createIndex(INDEX_NAME);
+        ensureGreen(INDEX_NAME);
+
+        // some of the documents are in a commit copied by the replica, the others only in its translog
+        final int flushedDocs = scaledRandomIntBetween(0, 200);
+        indexDocs(0, flushedDocs);
+        flush(INDEX_NAME);
+        final int unflushedDocs = scaledRandomIntBetween(0, 200);
+        indexDocs(flushedDocs, unflushedDocs);
+
+        final ShardRouting primary = getShardRouting(true);
+        internalCluster().stopRandomNode(InternalTestCluster.nameFilter(nodeName(primary)));
+        ensureYellowAndNoInitializingShards(INDEX_NAME);
+        assertThat(getShardRouting(true).currentNodeId(), not(equalTo(primary.currentNodeId())));
+
+        refresh(INDEX_NAME);
+        assertHitCount(client().prepareSearch(INDEX_NAME).setSize(0).get(), flushedDocs + unflushedDocs);
+    }
+
+    /**
+     * Indexes documents one at a time, so that each of them is acknowledged before the test goes on.
+     */
+    private void indexDocs(int firstId, int numDocs) {
+        for (int i = firstId; i < firstId + numDocs; i++) {
+            client().prepareIndex(INDEX_NAME, "_doc", Integer.toString(i)).setSource("{\"foo\": \"bar\"}", XContentType.JSON).get();
+        }
+    }
+
+    private ShardRouting getShardRouting(boolean primary) {
+        final ClusterState state = client(internalCluster().getMasterName()).admin().cluster().prepareState().get().getState();
+        final IndexShardRoutingTable shardRoutingTable = state.routingTable().index(INDEX_NAME).shard(0);
+        return primary ? shardRoutingTable.primaryShard() : shardRoutingTable.replicaShards().get(0);
+    }
+
+    private String nodeName(ShardRouting shardRouting) {
+        final ClusterState state = client(internalCluster().getMasterName()).admin().cluster().prepareState().get().getState();
+        return state.nodes().get(shardRouting.currentNodeId()).getName();
+    }
+}
@@ -36,14 +36,24 @@ import org.apache.lucene.util.Accountable;
 import org.apache.lucene.util.RamUsageEstimator;
 import org.opensearch.LegacyESVersion;
 import org.opensearch.Version;
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.support.replication.ReplicatedWriteRequest;
 import org.opensearch.action.support.replication.ReplicationRequest;
+import org.opensearch.action.update.UpdateRequest;
+import org.opensearch.common.Nullable;
 import org.opensearch.common.io.stream.StreamInput;
 import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.lease.Releasable;
+import org.opensearch.common.lease.Releasables;
+import org.opensearch.common.util.concurrent.AbstractRefCounted;
 import org.opensearch.index.shard.ShardId;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Stream;
 
@@ -53,19 +63,68 @@ public class BulkShardRequest extends ReplicatedWriteRequest<BulkShardRequest> i
     private static final long SHALLOW_SIZE = RamUsageEstimator.shallowSizeOfInstance(BulkShardRequest.class);
 
     private final BulkItemRequest[] items;
+    // releases the bytes of the received message that the sources of the documents share, see IndexRequest#releasableSource
+    private final AbstractRefCounted refCounted;
 
     public BulkShardRequest(StreamInput in) throws IOException {
         super(in);
         final ShardId itemShardId = in.getVersion().onOrAfter(COMPACT_SHARD_ID_VERSION) ? shardId : null;
-        items = in.readArray(i -> i.readOptionalWriteable(inpt -> new BulkItemRequest(itemShardId, inpt)), BulkItemRequest[]::new);
+        final List<Releasable> sources = new ArrayList<>();
+        boolean success = false;
+        try {
+            items = in.readArray(i -> i.readOptionalWriteable(inpt -> {
+                final BulkItemRequest item = new BulkItemRequest(itemShardId, inpt);
+                // collected right away since the items of updates are replaced by the requests they translate to on the primary
+                addReleasableSources(item.request(), sources);
+                return item;
+            }), BulkItemRequest[]::new);
+            success = true;
+        } finally {
+            if (success == false) {
+                Releasables.closeWhileHandlingException(sources);
+            }
+        }
+        refCounted = new ReleasableSources(sources);
     }
 
     public BulkShardRequest(ShardId shardId, RefreshPolicy refreshPolicy, BulkItemRequest[] items) {
         super(shardId);
         this.items = items;
+        this.refCounted = new ReleasableSources(Collections.emptyList());
         setRefreshPolicy(refreshPolicy);
     }
 
+    private static void addReleasableSources(DocWriteRequest<?> request, List<Releasable> sources) {
+        if (request instanceof IndexRequest) {
+            addReleasableSource((IndexRequest) request, sources);
+        } else if (request instanceof UpdateRequest) {
+            addReleasableSource(((UpdateRequest) request).doc(), sources);
+            addReleasableSource(((UpdateRequest) request).upsertRequest(), sources);
+        }
+    }
+
+    private static void addReleasableSource(@Nullable IndexRequest request, List<Releasable> sources) {
+        final Releasable source = request == null ? null : request.releasableSource();
+        if (source != null) {
+            sources.add(source);
+        }
+    }
+
+    @Override
+    public void incRef() {
+        refCounted.incRef();
+    }
+
+    @Override
+    public boolean tryIncRef() {
+        return refCounted.tryIncRef();
+    }
+
+    @Override
+    public boolean decRef() {
+        return refCounted.decRef();
+    }
+
     public BulkItemRequest[] items() {
         return items;
     }
@@ -139,6 +198,21 @@ public class BulkShardRequest extends ReplicatedWriteRequest<BulkShardRequest> i
         return super.routedBasedOnClusterVersion(routedBasedOnClusterVersion);
     }
 
+    private static final class ReleasableSources extends AbstractRefCounted {
+
+        private final List<Releasable> sources;
+
+        ReleasableSources(List<Releasable> sources) {
+            super("bulk-shard-request");
+            this.sources = sources;
+        }
+
+        @Override
+        protected void closeInternal() {
+            Releasables.close(sources);
+        }
+    }
+
     @Override
     public void onRetry() {
         for (BulkItemRequest item : items) {
@@ -735,6 +735,9 @@ public class TransportBulkAction extends HandledTransportAction<BulkRequest, Bul
                                                ActionListener<BulkResponse> listener) {
         final long ingestStartTimeInNanos = System.nanoTime();
         final BulkRequestModifier bulkRequestModifier = new BulkRequestModifier(original);
+        // pipelines run on their own thread pool so that they don't hold up shard level writes, except for system indices whose
+        // writes must not queue up behind the ones of other indices
+        final String ingestExecutorName = Names.SYSTEM_WRITE.equals(executorName) ? executorName : Names.INGEST;
         ingestService.executeBulkRequest(
             original.numberOfActions(),
             () -> bulkRequestModifier,
@@ -754,9 +757,9 @@ public class TransportBulkAction extends HandledTransportAction<BulkRequest, Bul
                         // (this will happen if pre-processing all items in the bulk failed)
                         actionListener.onResponse(new BulkResponse(new BulkItemResponse[0], 0));
                     } else {
-                        // If a processor went async and returned a response on a different thread then
-                        // before we continue the bulk request we should fork back on a write thread:
-                        if (originalThread == Thread.currentThread()) {
+                        // If the pipelines ran on the ingest thread pool, or a processor went async and returned a response on a
+                        // different thread, then before we continue the bulk request we should fork back on a write thread:
+                        if (originalThread == Thread.currentThread() && ingestExecutorName.equals(executorName)) {
                             assert Thread.currentThread().getName().contains(executorName);
                             doInternalExecute(task, bulkRequest, executorName, actionListener);
                         } else {
@@ -780,7 +783,7 @@ public class TransportBulkAction extends HandledTransportAction<BulkRequest, Bul
                 }
             },
             bulkRequestModifier::markItemAsDropped,
-            executorName
+            ingestExecutorName
         );
     }
 
@@ -63,6 +63,8 @@ import org.opensearch.common.collect.Tuple;
 import org.opensearch.common.compress.CompressedXContent;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.lease.Releasable;
+import org.opensearch.common.lease.Releasables;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.xcontent.ToXContent;
@@ -88,6 +90,8 @@ import org.opensearch.transport.TransportRequestOptions;
 import org.opensearch.transport.TransportService;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
@@ -176,7 +180,10 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
         ActionListener<PrimaryResult<BulkShardRequest, BulkShardResponse>> listener,
         ThreadPool threadPool,
         String executorName) {
-        new ActionRunnable<PrimaryResult<BulkShardRequest, BulkShardResponse>>(listener) {
+        final Releasable prefetchedVersions = prefetchVersions(request, primary);
+        final ActionListener<PrimaryResult<BulkShardRequest, BulkShardResponse>> releasingListener =
+            ActionListener.runBefore(listener, () -> Releasables.close(prefetchedVersions));
+        new ActionRunnable<PrimaryResult<BulkShardRequest, BulkShardResponse>>(releasingListener) {
 
             private final Executor executor = threadPool.executor(executorName);
 
@@ -201,7 +208,7 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
             public void onRejection(Exception e) {
                 // We must finish the outstanding request. Finishing the outstanding request can include
                 //refreshing and fsyncing. Therefore, we must force execution on the WRITE thread.
-                executor.execute(new ActionRunnable<PrimaryResult<BulkShardRequest, BulkShardResponse>>(listener) {
+                executor.execute(new ActionRunnable<PrimaryResult<BulkShardRequest, BulkShardResponse>>(releasingListener) {
 
                     @Override
                     protected void doRun() {
@@ -225,7 +232,7 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
             }
 
             private void finishRequest() {
-                ActionListener.completeWith(listener,
+                ActionListener.completeWith(releasingListener,
                     () -> new WritePrimaryResult<>(
                         context.getBulkShardRequest(), context.buildShardResponse(), context.getLocationToSync(), null,
                         context.getPrimary(), logger));
@@ -233,6 +240,34 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
         }.run();
     }
 
+    /**
+     * Looks up the versions of the documents that the items of the request target in one pass rather than item by item. Items with
+     * auto-generated ids are skipped since their documents are appended without looking up a version.
+     */
+    private static Releasable prefetchVersions(BulkShardRequest request, IndexShard primary) {
+        final List<String> ids = new ArrayList<>(request.items().length);
+        for (BulkItemRequest item : request.items()) {
+            final DocWriteRequest<?> docWriteRequest = item.request();
+            if (docWriteRequest.id() == null || (docWriteRequest instanceof IndexRequest
+                && ((IndexRequest) docWriteRequest).getAutoGeneratedTimestamp() != IndexRequest.UNSET_AUTO_GENERATED_TIMESTAMP)) {
+                continue;
+            }
+            ids.add(docWriteRequest.id());
+        }
+        if (ids.size() < 2) {
+            // nothing to gain over the lookup of the item itself
+            return () -> {};
+        }
+        try {
+            return primary.prefetchVersions(ids);
+        } catch (Exception e) {
+            // the items look their versions up one by one
+            logger.debug(() -> new ParameterizedMessage("{} failed to prefetch the versions of the documents of a bulk request",
+                primary.shardId()), e);
+            return () -> {};
+        }
+    }
+
     /**
      * Executes bulk item requests and handles request execution exceptions.
      * @return {@code true} if request completed on this thread and the listener was invoked, {@code false} if the request triggered
@@ -53,6 +53,8 @@ import org.opensearch.common.bytes.BytesArray;
 import org.opensearch.common.bytes.BytesReference;
 import org.opensearch.common.io.stream.StreamInput;
 import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.lease.Releasable;
+import org.opensearch.common.lease.Releasables;
 import org.opensearch.common.lucene.uid.Versions;
 import org.opensearch.common.unit.ByteSizeValue;
 import org.opensearch.common.xcontent.XContentBuilder;
@@ -153,35 +155,49 @@ public class IndexRequest extends ReplicatedWriteRequest<IndexRequest> implement
             in.readOptionalString(); // timestamp
             in.readOptionalTimeValue(); // ttl
         }
-        source = in.readBytesReference();
-        opType = OpType.fromId(in.readByte());
-        version = in.readLong();
-        versionType = VersionType.fromValue(in.readByte());
-        pipeline = in.readOptionalString();
-        if (in.getVersion().onOrAfter(LegacyESVersion.V_7_5_0)) {
-            finalPipeline = in.readOptionalString();
-        }
-        if (in.getVersion().onOrAfter(LegacyESVersion.V_7_5_0)) {
-            isPipelineResolved = in.readBoolean();
-        }
-        isRetry = in.readBoolean();
-        autoGeneratedTimestamp = in.readLong();
-        if (in.readBoolean()) {
-            contentType = in.readEnum(XContentType.class);
+        if (shardId == null) {
+            source = in.readBytesReference();
         } else {
-            contentType = null;
+            // the documents of a shard level bulk request share the bytes of the message they were received with until the bulk
+            // request is released, see BulkShardRequest
+            source = in.readReleasableBytesReference();
         }
-        if (in.getVersion().onOrAfter(LegacyESVersion.V_6_6_0)) {
-            ifSeqNo = in.readZLong();
-            ifPrimaryTerm = in.readVLong();
-        } else {
-            ifSeqNo = UNASSIGNED_SEQ_NO;
-            ifPrimaryTerm = UNASSIGNED_PRIMARY_TERM;
-        }
-        if (in.getVersion().onOrAfter(LegacyESVersion.V_7_10_0)) {
-            requireAlias = in.readBoolean();
-        } else {
-            requireAlias = false;
+        boolean success = false;
+        try {
+            opType = OpType.fromId(in.readByte());
+            version = in.readLong();
+            versionType = VersionType.fromValue(in.readByte());
+            pipeline = in.readOptionalString();
+            if (in.getVersion().onOrAfter(LegacyESVersion.V_7_5_0)) {
+                finalPipeline = in.readOptionalString();
+            }
+            if (in.getVersion().onOrAfter(LegacyESVersion.V_7_5_0)) {
+                isPipelineResolved = in.readBoolean();
+            }
+            isRetry = in.readBoolean();
+            autoGeneratedTimestamp = in.readLong();
+            if (in.readBoolean()) {
+                contentType = in.readEnum(XContentType.class);
+            } else {
+                contentType = null;
+            }
+            if (in.getVersion().onOrAfter(LegacyESVersion.V_6_6_0)) {
+                ifSeqNo = in.readZLong();
+                ifPrimaryTerm = in.readVLong();
+            } else {
+                ifSeqNo = UNASSIGNED_SEQ_NO;
+                ifPrimaryTerm = UNASSIGNED_PRIMARY_TERM;
+            }
+            if (in.getVersion().onOrAfter(LegacyESVersion.V_7_10_0)) {
+                requireAlias = in.readBoolean();
+            } else {
+                requireAlias = false;
+            }
+            success = true;
+        } finally {
+            if (success == false) {
+                Releasables.closeWhileHandlingException(releasableSource());
+            }
         }
     }
 
@@ -438,6 +454,15 @@ public class IndexRequest extends ReplicatedWriteRequest<IndexRequest> implement
         return source;
     }
 
+    /**
+     * The bytes of the received message that the source shares when this request was read as a document of a shard level request,
+     * see {@link StreamInput#readReleasableBytesReference()}. The shard level request releases them once it is done with them.
+     */
+    @Nullable
+    public Releasable releasableSource() {
+        return source instanceof Releasable ? (Releasable) source : null;
+    }
+
     public Map<String, Object> sourceAsMap() {
         return XContentHelper.convertToMap(source, false, contentType).v2();
     }
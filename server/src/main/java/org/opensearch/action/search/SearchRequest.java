@@ -33,6 +33,7 @@
 package org.opensearch.action.search;
 
 import org.opensearch.LegacyESVersion;
+import org.opensearch.Version;
 import org.opensearch.action.ActionRequest;
 import org.opensearch.action.ActionRequestValidationException;
 import org.opensearch.action.IndicesRequest;
@@ -95,6 +96,8 @@ public class SearchRequest extends ActionRequest implements IndicesRequest.Repla
 
     private Boolean requestCache;
 
+    private Boolean concurrentSegmentSearch;
+
     private Boolean allowPartialSearchResults;
 
     private Scroll scroll;
@@ -183,6 +186,7 @@ public class SearchRequest extends ActionRequest implements IndicesRequest.Repla
         this.preference = searchRequest.preference;
         this.preFilterShardSize = searchRequest.preFilterShardSize;
         this.requestCache = searchRequest.requestCache;
+        this.concurrentSegmentSearch = searchRequest.concurrentSegmentSearch;
         this.routing = searchRequest.routing;
         this.scroll = searchRequest.scroll;
         this.searchType = searchRequest.searchType;
@@ -237,6 +241,9 @@ public class SearchRequest extends ActionRequest implements IndicesRequest.Repla
         if (in.getVersion().onOrAfter(LegacyESVersion.V_7_0_0)) {
             ccsMinimizeRoundtrips = in.readBoolean();
         }
+        if (in.getVersion().onOrAfter(Version.V_1_0_0)) {
+            concurrentSegmentSearch = in.readOptionalBoolean();
+        }
     }
 
     @Override
@@ -271,6 +278,9 @@ public class SearchRequest extends ActionRequest implements IndicesRequest.Repla
         if (out.getVersion().onOrAfter(LegacyESVersion.V_7_0_0)) {
             out.writeBoolean(ccsMinimizeRoundtrips);
         }
+        if (out.getVersion().onOrAfter(Version.V_1_0_0)) {
+            out.writeOptionalBoolean(concurrentSegmentSearch);
+        }
     }
 
     @Override
@@ -558,6 +568,19 @@ public class SearchRequest extends ActionRequest implements IndicesRequest.Repla
         return this.requestCache;
     }
 
+    /**
+     * Sets if the segments of the shards should be searched concurrently. By default (not set, or null,
+     * will default to the index level setting if concurrent segment search is enabled or not).
+     */
+    public SearchRequest concurrentSegmentSearch(Boolean concurrentSegmentSearch) {
+        this.concurrentSegmentSearch = concurrentSegmentSearch;
+        return this;
+    }
+
+    public Boolean concurrentSegmentSearch() {
+        return this.concurrentSegmentSearch;
+    }
+
     /**
      * Sets if this request should allow partial results. (If method is not called,
      * will default to the cluster level setting).
@@ -709,6 +732,7 @@ public class SearchRequest extends ActionRequest implements IndicesRequest.Repla
                 Objects.equals(preference, that.preference) &&
                 Objects.equals(source, that.source) &&
                 Objects.equals(requestCache, that.requestCache)  &&
+                Objects.equals(concurrentSegmentSearch, that.concurrentSegmentSearch) &&
                 Objects.equals(scroll, that.scroll) &&
                 Arrays.equals(types, that.types) &&
                 Objects.equals(batchedReduceSize, that.batchedReduceSize) &&
@@ -723,7 +747,7 @@ public class SearchRequest extends ActionRequest implements IndicesRequest.Repla
 
     @Override
     public int hashCode() {
-        return Objects.hash(searchType, Arrays.hashCode(indices), routing, preference, source, requestCache,
+        return Objects.hash(searchType, Arrays.hashCode(indices), routing, preference, source, requestCache, concurrentSegmentSearch,
                 scroll, Arrays.hashCode(types), indicesOptions, batchedReduceSize, maxConcurrentShardRequests, preFilterShardSize,
                 allowPartialSearchResults, localClusterAlias, absoluteStartMillis, ccsMinimizeRoundtrips);
     }
@@ -738,6 +762,7 @@ public class SearchRequest extends ActionRequest implements IndicesRequest.Repla
                 ", routing='" + routing + '\'' +
                 ", preference='" + preference + '\'' +
                 ", requestCache=" + requestCache +
+                ", concurrentSegmentSearch=" + concurrentSegmentSearch +
                 ", scroll=" + scroll +
                 ", maxConcurrentShardRequests=" + maxConcurrentShardRequests +
                 ", batchedReduceSize=" + batchedReduceSize +
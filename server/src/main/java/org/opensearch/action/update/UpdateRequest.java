@@ -46,6 +46,7 @@ import org.opensearch.common.ParseField;
 import org.opensearch.common.Strings;
 import org.opensearch.common.io.stream.StreamInput;
 import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.lease.Releasables;
 import org.opensearch.common.lucene.uid.Versions;
 import org.opensearch.common.xcontent.LoggingDeprecationHandler;
 import org.opensearch.common.xcontent.NamedXContentRegistry;
@@ -167,33 +168,42 @@ public class UpdateRequest extends InstanceShardOperationRequest<UpdateRequest>
         if (in.readBoolean()) {
             doc = new IndexRequest(shardId, in);
         }
-        if (in.getVersion().before(LegacyESVersion.V_7_0_0)) {
-            String[] fields = in.readOptionalStringArray();
-            if (fields != null) {
-                throw new IllegalArgumentException("[fields] is no longer supported");
+        boolean success = false;
+        try {
+            if (in.getVersion().before(LegacyESVersion.V_7_0_0)) {
+                String[] fields = in.readOptionalStringArray();
+                if (fields != null) {
+                    throw new IllegalArgumentException("[fields] is no longer supported");
+                }
             }
-        }
-        fetchSourceContext = in.readOptionalWriteable(FetchSourceContext::new);
-        if (in.readBoolean()) {
-            upsertRequest = new IndexRequest(shardId, in);
-        }
-        docAsUpsert = in.readBoolean();
-        if (in.getVersion().before(LegacyESVersion.V_7_0_0)) {
-            long version = in.readLong();
-            VersionType versionType = VersionType.readFromStream(in);
-            if (version != Versions.MATCH_ANY || versionType != VersionType.INTERNAL) {
-                throw new UnsupportedOperationException(
-                    "versioned update requests have been removed in 7.0. Use if_seq_no and if_primary_term");
+            fetchSourceContext = in.readOptionalWriteable(FetchSourceContext::new);
+            if (in.readBoolean()) {
+                upsertRequest = new IndexRequest(shardId, in);
+            }
+            docAsUpsert = in.readBoolean();
+            if (in.getVersion().before(LegacyESVersion.V_7_0_0)) {
+                long version = in.readLong();
+                VersionType versionType = VersionType.readFromStream(in);
+                if (version != Versions.MATCH_ANY || versionType != VersionType.INTERNAL) {
+                    throw new UnsupportedOperationException(
+                        "versioned update requests have been removed in 7.0. Use if_seq_no and if_primary_term");
+                }
+            }
+            ifSeqNo = in.readZLong();
+            ifPrimaryTerm = in.readVLong();
+            detectNoop = in.readBoolean();
+            scriptedUpsert = in.readBoolean();
+            if (in.getVersion().onOrAfter(LegacyESVersion.V_7_10_0)) {
+                requireAlias = in.readBoolean();
+            } else {
+                requireAlias = false;
+            }
+            success = true;
+        } finally {
+            if (success == false) {
+                Releasables.closeWhileHandlingException(doc == null ? null : doc.releasableSource(),
+                    upsertRequest == null ? null : upsertRequest.releasableSource());
             }
-        }
-        ifSeqNo = in.readZLong();
-        ifPrimaryTerm = in.readVLong();
-        detectNoop = in.readBoolean();
-        scriptedUpsert = in.readBoolean();
-        if (in.getVersion().onOrAfter(LegacyESVersion.V_7_10_0)) {
-            requireAlias = in.readBoolean();
-        } else {
-            requireAlias = false;
         }
     }
 
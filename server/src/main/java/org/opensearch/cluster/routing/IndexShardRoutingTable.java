@@ -343,7 +343,7 @@ public class IndexShardRoutingTable implements Iterable<ShardRouting> {
                     final int updatedQueue = (minStats.queueSize + stats.queueSize) / 2;
                     final long updatedResponse = (long) (minStats.responseTime + stats.responseTime) / 2;
                     final long updatedService = (long) (minStats.serviceTime + stats.serviceTime) / 2;
-                    collector.addNodeStatistics(nodeId, updatedQueue, updatedResponse, updatedService);
+                    collector.addAdjustedNodeStatistics(nodeId, updatedQueue, updatedResponse, updatedService);
                 }
             }
         }
@@ -375,6 +375,7 @@ public class IndexShardRoutingTable implements Iterable<ShardRouting> {
                 String minNodeId = minShard.currentNodeId();
                 Optional<ResponseCollectorService.ComputedNodeStats> maybeMinStats = nodeStats.get(minNodeId);
                 if (maybeMinStats.isPresent()) {
+                    collector.recordSelection(nodeRanks.keySet(), minNodeId);
                     adjustStats(collector, nodeStats, minNodeId, maybeMinStats.get());
                     // Increase the number of searches for the "winning" node by one.
                     // Note that this doesn't actually affect the "real" counts, instead
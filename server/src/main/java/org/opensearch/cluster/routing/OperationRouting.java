@@ -45,6 +45,7 @@ import org.opensearch.common.settings.Setting;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.index.IndexNotFoundException;
 import org.opensearch.index.shard.ShardId;
+import org.opensearch.indices.replication.ReplicationType;
 import org.opensearch.node.ResponseCollectorService;
 
 import java.util.ArrayList;
@@ -127,6 +128,35 @@ public class OperationRouting {
             preference, null, null);
     }
 
+    /**
+     * Returns the shards to get the given document from. The replicas of an index that uses segment replication only see the
+     * operations of the commits that they copied from their primary, so realtime gets of such indices are always sent to the primary.
+     */
+    public ShardIterator getShards(ClusterState clusterState, String index, String id, @Nullable String routing,
+                                   @Nullable String preference, boolean realtime) {
+        if (realtime && isSegRepEnabled(clusterState, index)) {
+            return shards(clusterState, index, id, routing).primaryShardIt();
+        }
+        return getShards(clusterState, index, id, routing, preference);
+    }
+
+    /**
+     * Returns the copies of the given shard to get documents from, see {@link #getShards(ClusterState, String, String, String, String,
+     * boolean)}.
+     */
+    public ShardIterator getShards(ClusterState clusterState, String index, int shardId, @Nullable String preference,
+                                   boolean realtime) {
+        if (realtime && isSegRepEnabled(clusterState, index)) {
+            return clusterState.getRoutingTable().shardRoutingTable(index, shardId).primaryShardIt();
+        }
+        return getShards(clusterState, index, shardId, preference);
+    }
+
+    private boolean isSegRepEnabled(ClusterState clusterState, String index) {
+        final IndexMetadata indexMetadata = indexMetadata(clusterState, index);
+        return IndexMetadata.INDEX_REPLICATION_TYPE_SETTING.get(indexMetadata.getSettings()) == ReplicationType.SEGMENT;
+    }
+
     public GroupShardsIterator<ShardIterator> searchShards(ClusterState clusterState,
                                                            String[] concreteIndices,
                                                            @Nullable Map<String, Set<String>> routing,
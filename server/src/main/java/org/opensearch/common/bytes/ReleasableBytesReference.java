@@ -34,11 +34,13 @@ package org.opensearch.common.bytes;
 
 import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.BytesRefIterator;
+import org.opensearch.common.io.stream.FilterStreamInput;
 import org.opensearch.common.io.stream.StreamInput;
 import org.opensearch.common.lease.Releasable;
 import org.opensearch.common.util.concurrent.AbstractRefCounted;
 import org.opensearch.common.xcontent.XContentBuilder;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.OutputStream;
 
@@ -115,9 +117,13 @@ public final class ReleasableBytesReference implements Releasable, BytesReferenc
         return delegate.ramBytesUsed();
     }
 
+    /**
+     * Returns a stream over the bytes of this reference whose {@link StreamInput#readReleasableBytesReference()} returns retained slices
+     * of this reference instead of copies, so that the bytes it reads can outlive the release of this reference.
+     */
     @Override
     public StreamInput streamInput() throws IOException {
-        return delegate.streamInput();
+        return new ReleasableBytesReferenceStreamInput(this, delegate.streamInput());
     }
 
     @Override
@@ -165,6 +171,53 @@ public final class ReleasableBytesReference implements Releasable, BytesReferenc
         return delegate.hashCode();
     }
 
+    private static final class ReleasableBytesReferenceStreamInput extends FilterStreamInput {
+
+        private final ReleasableBytesReference reference;
+
+        ReleasableBytesReferenceStreamInput(ReleasableBytesReference reference, StreamInput delegate) {
+            super(delegate);
+            this.reference = reference;
+        }
+
+        @Override
+        public ReleasableBytesReference readReleasableBytesReference() throws IOException {
+            final int length = readArraySize();
+            if (length == 0) {
+                return wrap(BytesArray.EMPTY);
+            }
+            // the streams over a bytes reference know exactly how many bytes they have left
+            final int offset = reference.length() - available();
+            final ReleasableBytesReference slice = reference.retainedSlice(offset, length);
+            final long skipped = skip(length);
+            if (skipped != length) {
+                slice.close();
+                throw new EOFException("tried to read: " + length + " bytes but was only able to skip: " + skipped);
+            }
+            return slice;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return delegate.read(b, off, len);
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            return delegate.skip(n);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return delegate.markSupported();
+        }
+
+        @Override
+        public void mark(int readLimit) {
+            delegate.mark(readLimit);
+        }
+    }
+
     private static final class RefCountedReleasable extends AbstractRefCounted {
 
         private final Releasable releasable;
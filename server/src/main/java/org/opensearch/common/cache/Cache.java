@@ -42,6 +42,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -65,12 +67,13 @@ import java.util.function.ToLongBiFunction;
  * if they are reading a segment that a writer is writing to).
  * <p>
  * The LRU functionality is backed by a single doubly-linked list chaining the entries in order of insertion. This
- * LRU list is protected by a lock that serializes all writes to it. There are opportunities for improvements
- * here if write throughput is a concern.
+ * LRU list is protected by a lock that serializes all writes to it. Cache hits never wait for this lock: if it is
+ * contended, the promotion of the entry is recorded in a small, striped and lossy buffer which is drained by the next
+ * thread that acquires the lock. This means that the LRU order is only approximate under contention, which is fine
+ * for a cache. There are further opportunities for improvements here if write throughput is a concern.
  * <ol>
  * <li>LRU list mutations could be inserted into a blocking queue that a single thread is reading from
  * and applying to the LRU list.</li>
- * <li>Promotions could be deferred for entries that were "recently" promoted.</li>
  * <li>Locks on the list could be taken per node being modified instead of globally.</li>
  * </ol>
  * <p>
@@ -363,6 +366,19 @@ public class Cache<K, V> {
     // lock protecting mutations to the LRU list
     private final ReleasableLock lruLock = new ReleasableLock(new ReentrantLock());
 
+    // the number of buffers recording deferred promotions, must be a power of two
+    static final int NUMBER_OF_PROMOTION_BUFFERS = 4;
+
+    // promotions of cache hits that were deferred because the LRU lock was contended
+    @SuppressWarnings("unchecked") private final PromotionBuffer<K, V>[] promotionBuffers =
+        new PromotionBuffer[NUMBER_OF_PROMOTION_BUFFERS];
+
+    {
+        for (int i = 0; i < promotionBuffers.length; i++) {
+            promotionBuffers[i] = new PromotionBuffer<>();
+        }
+    }
+
     /**
      * Returns the value to which the specified key is mapped, or null if this map contains no mapping for the key.
      *
@@ -379,7 +395,7 @@ public class Cache<K, V> {
         if (entry == null) {
             return null;
         } else {
-            promote(entry, now);
+            promoteOrDefer(entry, now);
             return entry.value;
         }
     }
@@ -403,7 +419,7 @@ public class Cache<K, V> {
         // we have to eagerly evict expired entries or our putIfAbsent call below will fail
         V value = get(key, now, e -> {
             try (ReleasableLock ignored = lruLock.acquire()) {
-                evictEntry(e);
+                evictEntry(e, RemovalNotification.RemovalReason.EXPIRED);
             }
         });
         if (value == null) {
@@ -554,6 +570,10 @@ public class Cache<K, V> {
                 haveSegmentLock[i] = true;
             }
             try (ReleasableLock ignored = lruLock.acquire()) {
+                // release the references to the deferred promotions, all these entries are about to be deleted
+                for (PromotionBuffer<K, V> buffer : promotionBuffers) {
+                    buffer.drain(e -> {});
+                }
                 h = head;
                 Arrays.stream(segments).forEach(segment -> segment.map = new HashMap<>());
                 Entry<K, V> current = head;
@@ -584,6 +604,7 @@ public class Cache<K, V> {
     public void refresh() {
         long now = now();
         try (ReleasableLock ignored = lruLock.acquire()) {
+            drainDeferredPromotions();
             evict(now);
         }
     }
@@ -740,19 +761,10 @@ public class Cache<K, V> {
     }
 
     private boolean promote(Entry<K, V> entry, long now) {
-        boolean promoted = true;
+        final boolean promoted;
         try (ReleasableLock ignored = lruLock.acquire()) {
-            switch (entry.state) {
-                case DELETED:
-                    promoted = false;
-                    break;
-                case EXISTING:
-                    relinkAtHead(entry);
-                    break;
-                case NEW:
-                    linkAtHead(entry);
-                    break;
-            }
+            drainDeferredPromotions();
+            promoted = moveToHead(entry);
             if (promoted) {
                 evict(now);
             }
@@ -760,22 +772,65 @@ public class Cache<K, V> {
         return promoted;
     }
 
+    /**
+     * Promotes the entry if the LRU lock is not contended, otherwise records the promotion in one of the promotion
+     * buffers so that the next thread acquiring the LRU lock applies it. Promotions are dropped if the buffer is full.
+     */
+    private void promoteOrDefer(Entry<K, V> entry, long now) {
+        try (ReleasableLock locked = lruLock.tryAcquire()) {
+            if (locked != null) {
+                drainDeferredPromotions();
+                if (moveToHead(entry)) {
+                    evict(now);
+                }
+                return;
+            }
+        }
+        final int stripe = (int) Thread.currentThread().getId() & (NUMBER_OF_PROMOTION_BUFFERS - 1);
+        promotionBuffers[stripe].offer(entry);
+    }
+
+    private void drainDeferredPromotions() {
+        assert lruLock.isHeldByCurrentThread();
+
+        for (PromotionBuffer<K, V> buffer : promotionBuffers) {
+            buffer.drain(this::moveToHead);
+        }
+    }
+
+    private boolean moveToHead(Entry<K, V> entry) {
+        assert lruLock.isHeldByCurrentThread();
+
+        switch (entry.state) {
+            case DELETED:
+                return false;
+            case EXISTING:
+                relinkAtHead(entry);
+                return true;
+            case NEW:
+                linkAtHead(entry);
+                return true;
+            default:
+                throw new AssertionError("unexpected entry state [" + entry.state + "]");
+        }
+    }
+
     private void evict(long now) {
         assert lruLock.isHeldByCurrentThread();
 
         while (tail != null && shouldPrune(tail, now)) {
-            evictEntry(tail);
+            evictEntry(tail, isExpired(tail, now) ? RemovalNotification.RemovalReason.EXPIRED : RemovalNotification.RemovalReason.EVICTED);
         }
     }
 
-    private void evictEntry(Entry<K, V> entry) {
+    private void evictEntry(Entry<K, V> entry, RemovalNotification.RemovalReason removalReason) {
         assert lruLock.isHeldByCurrentThread();
 
         CacheSegment<K, V> segment = getCacheSegment(entry.key);
         if (segment != null) {
             segment.remove(entry.key, entry.value, f -> {});
         }
-        delete(entry, RemovalNotification.RemovalReason.EVICTED);
+        delete(entry, removalReason);
     }
 
     private void delete(Entry<K, V> entry, RemovalNotification.RemovalReason removalReason) {
@@ -871,4 +926,52 @@ public class Cache<K, V> {
     private CacheSegment<K, V> getCacheSegment(K key) {
         return segments[key.hashCode() & 0xff];
     }
+
+    /**
+     * A bounded, lossy buffer of entries whose promotion was deferred.
+     * <p>
+     * Any thread can offer entries without blocking; offers are dropped when the buffer is full or when they lose a race
+     * against a concurrent offer. The buffer is drained by a single thread at a time, the one holding the LRU lock.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    static final class PromotionBuffer<K, V> {
+        static final int SIZE = 64;
+        private static final int MASK = SIZE - 1;
+
+        private final AtomicReferenceArray<Entry<K, V>> entries = new AtomicReferenceArray<>(SIZE);
+        // the number of slots claimed by producers
+        private final AtomicLong writes = new AtomicLong();
+        // the number of slots consumed by the draining thread
+        private volatile long reads;
+
+        boolean offer(Entry<K, V> entry) {
+            final long write = writes.get();
+            if (write - reads >= SIZE) {
+                return false;
+            }
+            if (writes.compareAndSet(write, write + 1)) {
+                entries.lazySet((int) (write & MASK), entry);
+                return true;
+            }
+            return false;
+        }
+
+        void drain(Consumer<Entry<K, V>> consumer) {
+            long read = reads;
+            final long write = writes.get();
+            for (; read < write; read++) {
+                final int index = (int) (read & MASK);
+                final Entry<K, V> entry = entries.get(index);
+                if (entry == null) {
+                    // the slot was claimed but the entry is not published yet, pick it up on the next drain
+                    break;
+                }
+                entries.lazySet(index, null);
+                consumer.accept(entry);
+            }
+            reads = read;
+        }
+    }
 }
@@ -33,7 +33,11 @@
 package org.opensearch.common.cache;
 
 public class RemovalNotification<K, V> {
-    public enum RemovalReason {REPLACED, INVALIDATED, EVICTED}
+    /**
+     * Why an entry was removed: {@code EVICTED} entries made room for others once the cache exceeded its maximum weight,
+     * while {@code EXPIRED} entries were not accessed or written within the expiration time of the cache.
+     */
+    public enum RemovalReason {REPLACED, INVALIDATED, EVICTED, EXPIRED}
 
     private final K key;
     private final V value;
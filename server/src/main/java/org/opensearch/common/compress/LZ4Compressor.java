@@ -0,0 +1,333 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.common.compress;
+
+import org.apache.lucene.store.ByteArrayDataInput;
+import org.apache.lucene.store.ByteArrayDataOutput;
+import org.apache.lucene.util.compress.LZ4;
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.core.internal.io.Streams;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * {@link Compressor} implementation based on the LZ4 block compression algorithm. It is much cheaper than {@link DeflateCompressor}
+ * on both ends at the expense of a lower compression ratio.
+ * <p>
+ * After the header, the stream is a sequence of independently compressed blocks of at most {@link #BLOCK_SIZE} bytes, each
+ * prefixed with its uncompressed and compressed length as big-endian ints, and terminated by a block whose lengths are both zero.
+ */
+public class LZ4Compressor implements Compressor {
+
+    // An arbitrary header that we use to identify compressed streams, see DeflateCompressor
+    private static final byte[] HEADER = new byte[]{'L', 'Z', '4', '\0'};
+
+    /** maximum number of uncompressed bytes per block */
+    public static final int BLOCK_SIZE = 64 * 1024;
+    /** length of the uncompressed and compressed lengths in front of each block */
+    public static final int BLOCK_HEADER_LENGTH = 2 * Integer.BYTES;
+
+    /**
+     * Returns the maximum number of bytes that compressing <code>length</code> bytes can produce.
+     */
+    public static int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+    @Override
+    public boolean isCompressed(BytesReference bytes) {
+        if (bytes.length() < HEADER.length) {
+            return false;
+        }
+        for (int i = 0; i < HEADER.length; ++i) {
+            if (bytes.get(i) != HEADER[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int headerLength() {
+        return HEADER.length;
+    }
+
+    // Reusable buffers, the in-use flag makes sure we do not use the same buffers twice when nesting streams
+    private static final class Buffers {
+        final byte[] uncompressed = new byte[BLOCK_SIZE];
+        final byte[] compressed = new byte[maxCompressedLength(BLOCK_SIZE)];
+        final byte[] blockHeader = new byte[BLOCK_HEADER_LENGTH];
+        final LZ4.FastCompressionHashTable hashTable = new LZ4.FastCompressionHashTable();
+        boolean inUse;
+    }
+
+    private static final ThreadLocal<Buffers> buffersRef = ThreadLocal.withInitial(Buffers::new);
+
+    private static Buffers acquireBuffers() {
+        final Buffers current = buffersRef.get();
+        if (current.inUse) {
+            // Nested streams should not happen but we still handle them safely by using fresh buffers
+            return new Buffers();
+        }
+        current.inUse = true;
+        return current;
+    }
+
+    private static void releaseBuffers(Buffers buffers) {
+        buffers.inUse = false;
+    }
+
+    static int readInt(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16) | ((bytes[offset + 2] & 0xFF) << 8)
+            | (bytes[offset + 3] & 0xFF);
+    }
+
+    private static void writeInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    /**
+     * Validates the lengths read from a block header, returns <code>false</code> for the end of stream marker.
+     */
+    public static boolean validateBlockHeader(int uncompressedLength, int compressedLength) throws IOException {
+        if (uncompressedLength == 0 && compressedLength == 0) {
+            return false;
+        }
+        if (uncompressedLength <= 0 || uncompressedLength > BLOCK_SIZE
+            || compressedLength <= 0 || compressedLength > maxCompressedLength(uncompressedLength)) {
+            throw new IOException("corrupted LZ4 stream, invalid block lengths [" + uncompressedLength + "][" + compressedLength + "]");
+        }
+        return true;
+    }
+
+    /**
+     * Reads the uncompressed length of the block header at the given offset.
+     */
+    public static int uncompressedLength(byte[] blockHeader, int offset) {
+        return readInt(blockHeader, offset);
+    }
+
+    /**
+     * Reads the compressed length of the block header at the given offset.
+     */
+    public static int compressedLength(byte[] blockHeader, int offset) {
+        return readInt(blockHeader, offset + Integer.BYTES);
+    }
+
+    /**
+     * Decompresses a single block of <code>compressedLength</code> bytes into <code>dest</code>.
+     */
+    public static void decompressBlock(byte[] compressed, int compressedLength, byte[] dest, int uncompressedLength) throws IOException {
+        final ByteArrayDataInput in = new ByteArrayDataInput(compressed, 0, compressedLength);
+        if (LZ4.decompress(in, uncompressedLength, dest, 0) != uncompressedLength || in.eof() == false) {
+            throw new IOException("corrupted LZ4 stream, block does not decompress to [" + uncompressedLength + "] bytes");
+        }
+    }
+
+    @Override
+    public InputStream threadLocalInputStream(InputStream in) throws IOException {
+        final byte[] headerBytes = new byte[HEADER.length];
+        int len = 0;
+        while (len < headerBytes.length) {
+            final int read = in.read(headerBytes, len, headerBytes.length - len);
+            if (read == -1) {
+                break;
+            }
+            len += read;
+        }
+        if (len != HEADER.length || Arrays.equals(headerBytes, HEADER) == false) {
+            throw new IllegalArgumentException("Input stream is not compressed with LZ4!");
+        }
+        return new LZ4BlockInputStream(in, acquireBuffers());
+    }
+
+    @Override
+    public OutputStream threadLocalOutputStream(OutputStream out) throws IOException {
+        out.write(HEADER);
+        return new LZ4BlockOutputStream(out, acquireBuffers());
+    }
+
+    @Override
+    public BytesReference uncompress(BytesReference bytesReference) throws IOException {
+        final BytesStreamOutput buffer = new BytesStreamOutput(Math.max(BLOCK_SIZE, bytesReference.length()));
+        try (InputStream in = threadLocalInputStream(bytesReference.streamInput())) {
+            Streams.copy(in, buffer, false);
+        }
+        return buffer.bytes();
+    }
+
+    @Override
+    public BytesReference compress(BytesReference bytesReference) throws IOException {
+        final BytesStreamOutput buffer = new BytesStreamOutput(maxCompressedLength(bytesReference.length()) + HEADER.length);
+        try (OutputStream out = threadLocalOutputStream(buffer)) {
+            bytesReference.writeTo(out);
+        }
+        return buffer.bytes();
+    }
+
+    private static final class LZ4BlockOutputStream extends OutputStream {
+        private final OutputStream out;
+        private final Buffers buffers;
+        private int count;
+        private boolean closed;
+
+        LZ4BlockOutputStream(OutputStream out, Buffers buffers) {
+            this.out = out;
+            this.buffers = buffers;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (count == BLOCK_SIZE) {
+                writeBlock();
+            }
+            buffers.uncompressed[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (count == BLOCK_SIZE) {
+                    writeBlock();
+                }
+                final int toCopy = Math.min(len, BLOCK_SIZE - count);
+                System.arraycopy(b, off, buffers.uncompressed, count, toCopy);
+                count += toCopy;
+                off += toCopy;
+                len -= toCopy;
+            }
+        }
+
+        private void writeBlock() throws IOException {
+            if (count == 0) {
+                return;
+            }
+            final ByteArrayDataOutput compressed = new ByteArrayDataOutput(buffers.compressed);
+            LZ4.compress(buffers.uncompressed, 0, count, compressed, buffers.hashTable);
+            writeInt(buffers.blockHeader, 0, count);
+            writeInt(buffers.blockHeader, Integer.BYTES, compressed.getPosition());
+            out.write(buffers.blockHeader);
+            out.write(buffers.compressed, 0, compressed.getPosition());
+            count = 0;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writeBlock();
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                writeBlock();
+                Arrays.fill(buffers.blockHeader, (byte) 0);
+                out.write(buffers.blockHeader);
+                out.close();
+            } finally {
+                releaseBuffers(buffers);
+            }
+        }
+    }
+
+    private static final class LZ4BlockInputStream extends InputStream {
+        private final InputStream in;
+        private final Buffers buffers;
+        private int position;
+        private int limit;
+        private boolean eos;
+        private boolean closed;
+
+        LZ4BlockInputStream(InputStream in, Buffers buffers) {
+            this.in = in;
+            this.buffers = buffers;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (position == limit && readBlock() == false) {
+                return -1;
+            }
+            return buffers.uncompressed[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (position == limit && readBlock() == false) {
+                return -1;
+            }
+            final int toCopy = Math.min(len, limit - position);
+            System.arraycopy(buffers.uncompressed, position, b, off, toCopy);
+            position += toCopy;
+            return toCopy;
+        }
+
+        @Override
+        public int available() {
+            return limit - position;
+        }
+
+        private boolean readBlock() throws IOException {
+            if (eos) {
+                return false;
+            }
+            readFully(buffers.blockHeader, BLOCK_HEADER_LENGTH);
+            final int uncompressedLength = uncompressedLength(buffers.blockHeader, 0);
+            final int compressedLength = compressedLength(buffers.blockHeader, 0);
+            if (validateBlockHeader(uncompressedLength, compressedLength) == false) {
+                eos = true;
+                return false;
+            }
+            readFully(buffers.compressed, compressedLength);
+            decompressBlock(buffers.compressed, compressedLength, buffers.uncompressed, uncompressedLength);
+            position = 0;
+            limit = uncompressedLength;
+            return true;
+        }
+
+        private void readFully(byte[] bytes, int length) throws IOException {
+            int read = 0;
+            while (read < length) {
+                final int r = in.read(bytes, read, length - read);
+                if (r == -1) {
+                    throw new EOFException("unexpected end of LZ4 stream");
+                }
+                read += r;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                in.close();
+            } finally {
+                releaseBuffers(buffers);
+            }
+        }
+    }
+}
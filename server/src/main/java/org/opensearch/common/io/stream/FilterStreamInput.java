@@ -33,6 +33,7 @@
 package org.opensearch.common.io.stream;
 
 import org.opensearch.Version;
+import org.opensearch.common.bytes.ReleasableBytesReference;
 
 import java.io.EOFException;
 import java.io.IOException;
@@ -58,6 +59,11 @@ public abstract class FilterStreamInput extends StreamInput {
         delegate.readBytes(b, offset, len);
     }
 
+    @Override
+    public ReleasableBytesReference readReleasableBytesReference() throws IOException {
+        return delegate.readReleasableBytesReference();
+    }
+
     @Override
     public short readShort() throws IOException {
         return delegate.readShort();
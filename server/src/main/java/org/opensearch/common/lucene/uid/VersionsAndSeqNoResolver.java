@@ -40,6 +40,7 @@ import org.apache.lucene.util.CloseableThreadLocal;
 import org.opensearch.common.util.concurrent.ConcurrentCollections;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentMap;
@@ -158,6 +159,46 @@ public final class VersionsAndSeqNoResolver {
         return null;
     }
 
+    /**
+     * Load the internal doc IDs and versions of several uids of the same field from the reader, returning an array that holds at
+     * the index of each uid<ul>
+     * <li>null if the uid wasn't found,
+     * <li>a doc ID and a version otherwise
+     * </ul>
+     * The uids are looked up segment by segment in sorted order, so that consecutive lookups in the terms dictionary of a segment
+     * share the blocks of their common prefix instead of seeking from scratch.
+     */
+    public static DocIdAndVersion[] loadDocIdAndVersions(IndexReader reader, List<Term> terms, boolean loadSeqNo) throws IOException {
+        final DocIdAndVersion[] results = new DocIdAndVersion[terms.size()];
+        if (terms.isEmpty()) {
+            return results;
+        }
+        final Integer[] sortedIndices = new Integer[terms.size()];
+        for (int i = 0; i < sortedIndices.length; i++) {
+            assert terms.get(i).field().equals(terms.get(0).field()) : "uids of different fields " + terms;
+            sortedIndices[i] = i;
+        }
+        Arrays.sort(sortedIndices, (a, b) -> terms.get(a).bytes().compareTo(terms.get(b).bytes()));
+        PerThreadIDVersionAndSeqNoLookup[] lookups = getLookupState(reader, terms.get(0).field());
+        List<LeafReaderContext> leaves = reader.leaves();
+        int remaining = results.length;
+        // iterate backwards to optimize for the frequently updated documents
+        // which are likely to be in the last segments
+        for (int i = leaves.size() - 1; i >= 0 && remaining > 0; i--) {
+            final LeafReaderContext leaf = leaves.get(i);
+            PerThreadIDVersionAndSeqNoLookup lookup = lookups[leaf.ord];
+            for (int index : sortedIndices) {
+                if (results[index] == null) {
+                    results[index] = lookup.lookupVersion(terms.get(index).bytes(), loadSeqNo, leaf);
+                    if (results[index] != null) {
+                        remaining--;
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
     /**
      * Loads the internal docId and sequence number of the latest copy for a given uid from the provided reader.
      * The result is either null or the live and latest version of the given uid.
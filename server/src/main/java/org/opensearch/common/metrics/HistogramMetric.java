@@ -0,0 +1,58 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.common.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts values in fixed buckets. The bucket at index {@code i} counts the values that are greater than the upper bound of the
+ * previous bucket and lower than or equal to {@code bounds[i]}, and one last bucket counts the values greater than every bound.
+ */
+public class HistogramMetric implements Metric {
+
+    private final long[] bounds;
+    private final LongAdder[] counts;
+
+    /**
+     * @param bounds the inclusive upper bounds of the buckets, in ascending order
+     */
+    public HistogramMetric(long... bounds) {
+        for (int i = 1; i < bounds.length; i++) {
+            if (bounds[i] <= bounds[i - 1]) {
+                throw new IllegalArgumentException("bounds must be in ascending order but got " + Arrays.toString(bounds));
+            }
+        }
+        this.bounds = bounds.clone();
+        this.counts = new LongAdder[bounds.length + 1];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    public void inc(long value) {
+        int bucket = Arrays.binarySearch(bounds, value);
+        if (bucket < 0) {
+            // the insertion point is the first bound that is greater than the value
+            bucket = -1 - bucket;
+        }
+        counts[bucket].increment();
+    }
+
+    /**
+     * Returns the count of every bucket, the last one being the count of the values greater than every bound.
+     */
+    public long[] counts() {
+        final long[] result = new long[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            result[i] = counts[i].sum();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.common.util.concurrent;
+
+import org.apache.lucene.util.ArrayUtil;
+import org.opensearch.common.lease.Releasable;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed set of reentrant locks that keys are hashed onto. Unlike {@link KeyedLock} no lock objects are created or
+ * removed per key, so acquiring and releasing a lock does not allocate. The price is that unrelated keys may share a
+ * stripe and block each other, so callers must never block on a second key while holding a lock: use
+ * {@link #tryAcquire(Object)} for that instead to avoid deadlocks.
+ */
+public final class StripedLock<T> {
+
+    private final ReentrantLock[] locks;
+    private final Releasable[] releasables;
+    private final int mask;
+
+    /**
+     * Creates a new striped lock
+     * @param minStripes the minimum number of stripes, rounded up to the next power of two
+     */
+    public StripedLock(int minStripes) {
+        if (minStripes <= 0) {
+            throw new IllegalArgumentException("minStripes must be > 0 but was [" + minStripes + "]");
+        }
+        final int stripes = minStripes == 1 ? 1 : Integer.highestOneBit(minStripes - 1) << 1;
+        if (stripes > ArrayUtil.MAX_ARRAY_LENGTH || stripes <= 0) {
+            throw new IllegalArgumentException("too many stripes [" + minStripes + "]");
+        }
+        this.locks = new ReentrantLock[stripes];
+        this.releasables = new Releasable[stripes];
+        for (int i = 0; i < stripes; i++) {
+            final ReentrantLock lock = new ReentrantLock();
+            locks[i] = lock;
+            releasables[i] = lock::unlock;
+        }
+        this.mask = stripes - 1;
+    }
+
+    /**
+     * Acquires the lock of the stripe the given key maps to. The lock can be acquired by the same thread multiple times and is
+     * released by closing the returned {@link Releasable} exactly once.
+     */
+    public Releasable acquire(T key) {
+        final int stripe = stripe(key);
+        locks[stripe].lock();
+        return releasables[stripe];
+    }
+
+    /**
+     * Tries to acquire the lock of the stripe the given key maps to. If the lock can't be acquired null is returned.
+     */
+    public Releasable tryAcquire(T key) {
+        final int stripe = stripe(key);
+        if (locks[stripe].tryLock()) {
+            return releasables[stripe];
+        }
+        return null;
+    }
+
+    /**
+     * Returns <code>true</code> iff the caller thread holds the lock of the stripe the given key maps to
+     */
+    public boolean isHeldByCurrentThread(T key) {
+        return locks[stripe(key)].isHeldByCurrentThread();
+    }
+
+    /**
+     * Returns the number of stripes
+     */
+    public int stripes() {
+        return locks.length;
+    }
+
+    private int stripe(T key) {
+        final int h = key.hashCode();
+        // spread the higher bits since only the lower bits are used to select the stripe
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
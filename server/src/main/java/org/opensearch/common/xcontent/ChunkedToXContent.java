@@ -0,0 +1,23 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.common.xcontent;
+
+import java.util.Iterator;
+
+/**
+ * An object that can be serialized to xcontent one chunk at a time, so that its serialized form never needs to be held in memory
+ * as a whole. All chunks are written in order to the same {@link XContentBuilder} and together produce a complete object.
+ */
+public interface ChunkedToXContent {
+
+    /**
+     * Returns the chunks that serialize this object, in order.
+     */
+    Iterator<? extends ToXContent> toXContentChunked(ToXContent.Params params);
+}
@@ -34,9 +34,13 @@ package org.opensearch.http;
 
 import org.opensearch.common.Nullable;
 import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.rest.ChunkedRestResponse;
+import org.opensearch.rest.ChunkedRestResponseBody;
 import org.opensearch.rest.RestRequest;
 import org.opensearch.rest.RestStatus;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -99,6 +103,19 @@ public interface HttpRequest {
      */
     HttpResponse createResponse(RestStatus status, BytesReference content);
 
+    /**
+     * Create an http response from this request and the supplied status and chunked content. Http modules that support chunked
+     * responses write the content one chunk at a time as the channel becomes writable, the default implementation serializes the
+     * whole content upfront.
+     */
+    default HttpResponse createResponse(RestStatus status, ChunkedRestResponseBody content) throws IOException {
+        final BytesStreamOutput out = new BytesStreamOutput();
+        while (content.isDone() == false) {
+            content.encodeChunk(ChunkedRestResponse.CHUNK_SIZE).writeTo(out);
+        }
+        return createResponse(status, out.bytes());
+    }
+
     @Nullable
     Exception getInboundException();
 
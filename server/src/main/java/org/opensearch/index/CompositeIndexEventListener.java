@@ -43,6 +43,7 @@ import org.opensearch.index.shard.IndexShard;
 import org.opensearch.index.shard.IndexShardState;
 import org.opensearch.index.shard.ShardId;
 import org.opensearch.indices.cluster.IndicesClusterStateService.AllocatedIndices.IndexRemovalReason;
+import org.opensearch.indices.replication.ReplicationCheckpoint;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -146,6 +147,18 @@ final class CompositeIndexEventListener implements IndexEventListener {
         }
     }
 
+    @Override
+    public void onNewReplicationCheckpoint(IndexShard indexShard, ReplicationCheckpoint checkpoint) {
+        for (IndexEventListener listener : listeners) {
+            try {
+                listener.onNewReplicationCheckpoint(indexShard, checkpoint);
+            } catch (Exception e) {
+                logger.warn(() -> new ParameterizedMessage("[{}] failed to invoke on new replication checkpoint callback",
+                    indexShard.shardId().getId()), e);
+            }
+        }
+    }
+
     @Override
     public void indexShardStateChanged(IndexShard indexShard, @Nullable IndexShardState previousState, IndexShardState currentState,
                                        @Nullable String reason) {
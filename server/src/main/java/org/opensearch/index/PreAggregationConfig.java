@@ -0,0 +1,130 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.index;
+
+import org.opensearch.common.Nullable;
+import org.opensearch.common.Strings;
+import org.opensearch.common.settings.Setting;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Holds the fields that the segments of an index are pre-aggregated on.
+ *
+ * The pre-aggregation settings are <b>final</b> and can be defined only at index creation:
+ * <ul>
+ *     <li>`index.pre_aggregation.dimensions`: the keyword fields to group the documents of a segment by</li>
+ *     <li>`index.pre_aggregation.date_field`: the date field to group the documents of a segment by, after rounding it down to
+ *          `index.pre_aggregation.date_interval`</li>
+ *     <li>`index.pre_aggregation.metrics`: the numeric fields whose sum, min, max and value count are computed for each group</li>
+ * </ul>
+ * Pre-aggregation is enabled when at least one dimension or a date field is configured.
+ */
+public final class PreAggregationConfig {
+    /**
+     * The keyword fields to pre-aggregate on.
+     */
+    public static final Setting<List<String>> INDEX_PRE_AGGREGATION_DIMENSIONS_SETTING =
+        Setting.listSetting("index.pre_aggregation.dimensions", Collections.emptyList(),
+            Function.identity(), Setting.Property.IndexScope, Setting.Property.Final);
+
+    /**
+     * The date field to pre-aggregate on.
+     */
+    public static final Setting<String> INDEX_PRE_AGGREGATION_DATE_FIELD_SETTING =
+        Setting.simpleString("index.pre_aggregation.date_field", Setting.Property.IndexScope, Setting.Property.Final);
+
+    /**
+     * The interval that the values of the date field are rounded down to. Only the {@code date_histogram} aggregations whose
+     * buckets start at multiples of this interval can be answered from the pre-aggregations.
+     */
+    public static final Setting<TimeValue> INDEX_PRE_AGGREGATION_DATE_INTERVAL_SETTING =
+        Setting.timeSetting("index.pre_aggregation.date_interval", TimeValue.timeValueMinutes(1), TimeValue.timeValueMillis(1),
+            Setting.Property.IndexScope, Setting.Property.Final);
+
+    /**
+     * The numeric fields to pre-aggregate.
+     */
+    public static final Setting<List<String>> INDEX_PRE_AGGREGATION_METRICS_SETTING =
+        Setting.listSetting("index.pre_aggregation.metrics", Collections.emptyList(),
+            Function.identity(), Setting.Property.IndexScope, Setting.Property.Final);
+
+    private final List<String> dimensions;
+    private final String dateField;
+    private final long dateInterval;
+    private final List<String> metrics;
+
+    public PreAggregationConfig(IndexSettings indexSettings) {
+        final Settings settings = indexSettings.getSettings();
+        this.dimensions = Collections.unmodifiableList(INDEX_PRE_AGGREGATION_DIMENSIONS_SETTING.get(settings));
+        final String dateField = INDEX_PRE_AGGREGATION_DATE_FIELD_SETTING.get(settings);
+        this.dateField = Strings.hasLength(dateField) ? dateField : null;
+        this.dateInterval = INDEX_PRE_AGGREGATION_DATE_INTERVAL_SETTING.get(settings).millis();
+        this.metrics = Collections.unmodifiableList(INDEX_PRE_AGGREGATION_METRICS_SETTING.get(settings));
+
+        final Set<String> fields = new HashSet<>();
+        for (String dimension : dimensions) {
+            if (fields.add(dimension) == false) {
+                throw new IllegalArgumentException("duplicated pre-aggregation dimension [" + dimension + "]");
+            }
+        }
+        if (this.dateField != null && fields.add(this.dateField) == false) {
+            throw new IllegalArgumentException("pre-aggregation date field [" + this.dateField + "] cannot also be a dimension");
+        }
+        if (metrics.isEmpty() == false && isEnabled() == false) {
+            throw new IllegalArgumentException("pre-aggregation metrics require at least one dimension or a date field, got ["
+                + INDEX_PRE_AGGREGATION_METRICS_SETTING.getKey() + "=" + metrics + "]");
+        }
+        if (new HashSet<>(metrics).size() != metrics.size()) {
+            throw new IllegalArgumentException("duplicated pre-aggregation metrics in " + metrics);
+        }
+    }
+
+    /**
+     * Whether the segments of the index should be pre-aggregated.
+     */
+    public boolean isEnabled() {
+        return dimensions.isEmpty() == false || dateField != null;
+    }
+
+    /**
+     * The keyword fields to pre-aggregate on.
+     */
+    public List<String> dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * The date field to pre-aggregate on, if any.
+     */
+    @Nullable
+    public String dateField() {
+        return dateField;
+    }
+
+    /**
+     * The interval, in milliseconds, that the values of the date field are rounded down to.
+     */
+    public long dateInterval() {
+        return dateInterval;
+    }
+
+    /**
+     * The numeric fields to pre-aggregate.
+     */
+    public List<String> metrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.index.cache.preaggregation;
+
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.common.Nullable;
+import org.opensearch.common.breaker.CircuitBreaker;
+import org.opensearch.common.breaker.CircuitBreakingException;
+import org.opensearch.common.cache.Cache;
+import org.opensearch.common.cache.CacheBuilder;
+import org.opensearch.common.cache.RemovalListener;
+import org.opensearch.common.cache.RemovalNotification;
+import org.opensearch.common.lucene.index.OpenSearchDirectoryReader;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.index.AbstractIndexComponent;
+import org.opensearch.index.IndexSettings;
+import org.opensearch.index.IndexWarmer;
+import org.opensearch.index.IndexWarmer.TerminationHandle;
+import org.opensearch.index.PreAggregationConfig;
+import org.opensearch.index.fielddata.IndexFieldData;
+import org.opensearch.index.mapper.MappedFieldType;
+import org.opensearch.index.shard.IndexShard;
+import org.opensearch.threadpool.ThreadPool;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Holds the {@link SegmentCube}s of the segments of an index whose {@link PreAggregationConfig} is enabled. The cubes are
+ * built when new segments are warmed after a flush or a merge, or on first use, and are kept until their segment is closed.
+ * Their memory is accounted for on the field data circuit breaker.
+ */
+public final class PreAggregationCache extends AbstractIndexComponent
+    implements IndexReader.ClosedListener, RemovalListener<IndexReader.CacheKey, Optional<SegmentCube>>, Closeable {
+
+    private final PreAggregationConfig config;
+    private final CircuitBreaker breaker;
+    private final Function<String, MappedFieldType> fieldTypeLookup;
+    private final Function<MappedFieldType, IndexFieldData<?>> fieldDataLookup;
+    private final Cache<IndexReader.CacheKey, Optional<SegmentCube>> cubes;
+
+    public PreAggregationCache(IndexSettings indexSettings, CircuitBreaker breaker, Function<String, MappedFieldType> fieldTypeLookup,
+                               Function<MappedFieldType, IndexFieldData<?>> fieldDataLookup) {
+        super(indexSettings);
+        this.config = indexSettings.getPreAggregationConfig();
+        if (config.isEnabled() == false) {
+            throw new IllegalArgumentException("pre-aggregation is not enabled on index " + indexSettings.getIndex());
+        }
+        this.breaker = breaker;
+        this.fieldTypeLookup = fieldTypeLookup;
+        this.fieldDataLookup = fieldDataLookup;
+        this.cubes = CacheBuilder.<IndexReader.CacheKey, Optional<SegmentCube>>builder().removalListener(this).build();
+    }
+
+    /**
+     * The fields that the segments are pre-aggregated on.
+     */
+    public PreAggregationConfig config() {
+        return config;
+    }
+
+    /**
+     * Returns the cube of the given segment, building it if it has not been built yet, or {@code null} if the segment cannot be
+     * pre-aggregated. Throws a {@link CircuitBreakingException} if the cube does not fit on the breaker, in which case nothing is
+     * cached and building it is attempted again on the next call.
+     */
+    @Nullable
+    public SegmentCube getOrBuild(LeafReaderContext context) throws IOException {
+        final IndexReader.CacheHelper cacheHelper = context.reader().getCoreCacheHelper();
+        if (cacheHelper == null) {
+            return null;
+        }
+        try {
+            return cubes.computeIfAbsent(cacheHelper.getKey(), key -> {
+                cacheHelper.addClosedListener(PreAggregationCache.this);
+                return Optional.ofNullable(SegmentCube.build(context, config, fieldTypeLookup, fieldDataLookup, breaker));
+            }).orElse(null);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof CircuitBreakingException) {
+                // callers fall back to aggregating the documents of the segment
+                throw (CircuitBreakingException) e.getCause();
+            }
+            throw ExceptionsHelper.convertToOpenSearchException(e);
+        }
+    }
+
+    /**
+     * The number of segments that a cube was built for, or tried to be built for.
+     */
+    public int count() {
+        return cubes.count();
+    }
+
+    public IndexWarmer.Listener createListener(ThreadPool threadPool) {
+        return new SegmentCubeWarmer(threadPool);
+    }
+
+    @Override
+    public void onClose(IndexReader.CacheKey ownerCoreCacheKey) {
+        cubes.invalidate(ownerCoreCacheKey);
+    }
+
+    @Override
+    public void onRemoval(RemovalNotification<IndexReader.CacheKey, Optional<SegmentCube>> notification) {
+        final Optional<SegmentCube> cube = notification.getValue();
+        if (cube != null && cube.isPresent()) {
+            breaker.addWithoutBreaking(-cube.get().ramBytesUsed());
+        }
+    }
+
+    @Override
+    public void close() {
+        clear("close");
+    }
+
+    public void clear(String reason) {
+        logger.debug("clearing all pre-aggregations because [{}]", reason);
+        cubes.invalidateAll();
+    }
+
+    final class SegmentCubeWarmer implements IndexWarmer.Listener {
+
+        private final Executor executor;
+
+        SegmentCubeWarmer(ThreadPool threadPool) {
+            this.executor = threadPool.executor(ThreadPool.Names.WARMER);
+        }
+
+        @Override
+        public TerminationHandle warmReader(final IndexShard indexShard, final OpenSearchDirectoryReader reader) {
+            if (indexSettings.getIndex().equals(indexShard.indexSettings().getIndex()) == false) {
+                // this is from a different index
+                return TerminationHandle.NO_WAIT;
+            }
+
+            final CountDownLatch latch = new CountDownLatch(reader.leaves().size());
+            for (final LeafReaderContext ctx : reader.leaves()) {
+                executor.execute(() -> {
+                    try {
+                        final long start = System.nanoTime();
+                        getOrBuild(ctx);
+                        if (indexShard.warmerService().logger().isTraceEnabled()) {
+                            indexShard.warmerService().logger().trace("warmed pre-aggregations of [{}], took [{}]",
+                                ctx.reader(), TimeValue.timeValueNanos(System.nanoTime() - start));
+                        }
+                    } catch (Exception e) {
+                        indexShard.warmerService().logger().warn(() -> new ParameterizedMessage("failed to pre-aggregate [{}]",
+                            ctx.reader()), e);
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+            return () -> latch.await();
+        }
+    }
+}
@@ -0,0 +1,373 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.index.cache.preaggregation;
+
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SortedNumericDocValues;
+import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.util.Accountable;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.RamUsageEstimator;
+import org.opensearch.common.Nullable;
+import org.opensearch.common.breaker.CircuitBreaker;
+import org.opensearch.index.PreAggregationConfig;
+import org.opensearch.index.fielddata.IndexFieldData;
+import org.opensearch.index.fielddata.IndexNumericFieldData;
+import org.opensearch.index.fielddata.IndexOrdinalsFieldData;
+import org.opensearch.index.fielddata.SortedNumericDoubleValues;
+import org.opensearch.index.mapper.DateFieldMapper;
+import org.opensearch.index.mapper.KeywordFieldMapper;
+import org.opensearch.index.mapper.MappedFieldType;
+import org.opensearch.search.aggregations.metrics.CompensatedSum;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The documents of a segment grouped by the values of the dimensions and the rounded down value of the date field of a
+ * {@link PreAggregationConfig}, with the document count and the sum, min, max and value count of every metric of each group.
+ * A group is called a row: aggregations that only group and aggregate on these fields can be computed from the rows of a segment
+ * rather than from its documents. Cubes are only built for segments where every dimension and the date field have at most one
+ * value per document, since a document with several values would otherwise be counted in several rows.
+ */
+public final class SegmentCube implements Accountable {
+
+    /**
+     * The date of the rows of the documents that have no value for the date field.
+     */
+    public static final long MISSING_DATE = Long.MIN_VALUE;
+
+    /**
+     * A cube is abandoned once it has more rows than this fraction of the documents of its segment, since aggregating its rows
+     * would then save little over aggregating the documents.
+     */
+    static final double MAX_ROWS_RATIO = 0.5;
+
+    /**
+     * Segments with at most this many rows are always pre-aggregated, however few documents they group.
+     */
+    static final int MIN_MAX_ROWS = 1024;
+
+    private static final long BASE_RAM_BYTES_USED = RamUsageEstimator.shallowSizeOfInstance(SegmentCube.class);
+    // the key of a row in the hash table that groups documents while the cube is built, its entry, its slot and its boxed row number
+    private static final long ROW_ENTRY_BYTES = RamUsageEstimator.shallowSizeOfInstance(RowKey.class)
+        + RamUsageEstimator.alignObjectSize(RamUsageEstimator.NUM_BYTES_OBJECT_HEADER + Integer.BYTES
+            + 3L * RamUsageEstimator.NUM_BYTES_OBJECT_REF)
+        + RamUsageEstimator.NUM_BYTES_OBJECT_REF
+        + RamUsageEstimator.alignObjectSize(RamUsageEstimator.NUM_BYTES_OBJECT_HEADER + Integer.BYTES);
+
+    private final int numDimensions;
+    private final int numMetrics;
+    private final int numRows;
+    private final Set<String> fields;
+    private final long[] ordinals;
+    private final long[] dates;
+    private final long[] docCounts;
+    private final double[] sums;
+    private final double[] mins;
+    private final double[] maxs;
+    private final long[] valueCounts;
+    private final long ramBytesUsed;
+
+    private SegmentCube(int numDimensions, int numMetrics, int numRows, Set<String> fields, long[] ordinals, long[] dates,
+                        long[] docCounts, double[] sums, double[] mins, double[] maxs, long[] valueCounts) {
+        this.numDimensions = numDimensions;
+        this.numMetrics = numMetrics;
+        this.numRows = numRows;
+        this.fields = fields;
+        this.ordinals = ordinals;
+        this.dates = dates;
+        this.docCounts = docCounts;
+        this.sums = sums;
+        this.mins = mins;
+        this.maxs = maxs;
+        this.valueCounts = valueCounts;
+        this.ramBytesUsed = BASE_RAM_BYTES_USED + RamUsageEstimator.sizeOf(ordinals) + RamUsageEstimator.sizeOf(dates)
+            + RamUsageEstimator.sizeOf(docCounts) + RamUsageEstimator.sizeOf(sums) + RamUsageEstimator.sizeOf(mins)
+            + RamUsageEstimator.sizeOf(maxs) + RamUsageEstimator.sizeOf(valueCounts);
+    }
+
+    /**
+     * Groups the documents of the given segment, reserving the memory of the cube on the given breaker as it grows. Returns
+     * {@code null} if the segment cannot be pre-aggregated, because a dimension or the date field has several values for a
+     * document or is not mapped as a keyword or a millisecond date with doc values, because a metric is not numeric, or because
+     * the cube would have more than {@link #MAX_ROWS_RATIO} rows per document.
+     */
+    @Nullable
+    public static SegmentCube build(LeafReaderContext context, PreAggregationConfig config,
+                                    Function<String, MappedFieldType> fieldTypeLookup,
+                                    Function<MappedFieldType, IndexFieldData<?>> fieldDataLookup,
+                                    CircuitBreaker breaker) throws IOException {
+        final LeafReader reader = context.reader();
+        final Set<String> fields = new HashSet<>();
+
+        final int numDimensions = config.dimensions().size();
+        final SortedSetDocValues[] dimensionValues = new SortedSetDocValues[numDimensions];
+        for (int i = 0; i < numDimensions; i++) {
+            final MappedFieldType fieldType = fieldTypeLookup.apply(config.dimensions().get(i));
+            if (fieldType == null) {
+                // not mapped yet, so the segment has no value for it
+                continue;
+            }
+            if (fieldType instanceof KeywordFieldMapper.KeywordFieldType == false || fieldType.hasDocValues() == false) {
+                return null;
+            }
+            final IndexFieldData<?> fieldData = fieldDataLookup.apply(fieldType);
+            if (fieldData instanceof IndexOrdinalsFieldData == false) {
+                return null;
+            }
+            dimensionValues[i] = ((IndexOrdinalsFieldData) fieldData).load(context).getOrdinalsValues();
+            addIfIndexed(reader, fieldType.name(), fields);
+        }
+
+        SortedNumericDocValues dateValues = null;
+        if (config.dateField() != null) {
+            final MappedFieldType fieldType = fieldTypeLookup.apply(config.dateField());
+            if (fieldType != null) {
+                if (fieldType instanceof DateFieldMapper.DateFieldType == false
+                    || ((DateFieldMapper.DateFieldType) fieldType).resolution() != DateFieldMapper.Resolution.MILLISECONDS
+                    || fieldType.hasDocValues() == false) {
+                    return null;
+                }
+                dateValues = ((IndexNumericFieldData) fieldDataLookup.apply(fieldType)).load(context).getLongValues();
+                addIfIndexed(reader, fieldType.name(), fields);
+            }
+        }
+
+        final int numMetrics = config.metrics().size();
+        final SortedNumericDoubleValues[] metricValues = new SortedNumericDoubleValues[numMetrics];
+        for (int i = 0; i < numMetrics; i++) {
+            final MappedFieldType fieldType = fieldTypeLookup.apply(config.metrics().get(i));
+            if (fieldType == null) {
+                continue;
+            }
+            if (fieldType.hasDocValues() == false) {
+                return null;
+            }
+            final IndexFieldData<?> fieldData = fieldDataLookup.apply(fieldType);
+            if (fieldData instanceof IndexNumericFieldData == false) {
+                return null;
+            }
+            metricValues[i] = ((IndexNumericFieldData) fieldData).load(context).getDoubleValues();
+            addIfIndexed(reader, fieldType.name(), fields);
+        }
+
+        final long dateInterval = config.dateInterval();
+        final Map<RowKey, Integer> rows = new HashMap<>();
+        final long[] key = new long[numDimensions + 1];
+        final RowKey probe = new RowKey(key);
+        final long rowEntryBytes = ROW_ENTRY_BYTES + RamUsageEstimator.sizeOf(key);
+        final CompensatedSum compensatedSum = new CompensatedSum(0, 0);
+        int numRows = 0;
+        long[] ordinals = new long[0];
+        long[] dates = new long[0];
+        long[] docCounts = new long[0];
+        double[] sums = new double[0];
+        double[] deltas = new double[0];
+        double[] mins = new double[0];
+        double[] maxs = new double[0];
+        long[] valueCounts = new long[0];
+        final int maxDoc = reader.maxDoc();
+        final int maxRows = Math.max(MIN_MAX_ROWS, (int) (maxDoc * MAX_ROWS_RATIO));
+        long reservedBytes = 0;
+        boolean success = false;
+        try {
+            for (int doc = 0; doc < maxDoc; doc++) {
+                for (int i = 0; i < numDimensions; i++) {
+                    long ord = -1;
+                    final SortedSetDocValues values = dimensionValues[i];
+                    if (values != null && values.advanceExact(doc)) {
+                        ord = values.nextOrd();
+                        if (values.nextOrd() != SortedSetDocValues.NO_MORE_ORDS) {
+                            return null;
+                        }
+                    }
+                    key[i] = ord;
+                }
+                long date = MISSING_DATE;
+                if (dateValues != null && dateValues.advanceExact(doc)) {
+                    if (dateValues.docValueCount() > 1) {
+                        return null;
+                    }
+                    final long value = dateValues.nextValue();
+                    date = value - Math.floorMod(value, dateInterval);
+                }
+                key[numDimensions] = date;
+
+                Integer row = rows.get(probe);
+                if (row == null) {
+                    if (numRows == maxRows) {
+                        return null;
+                    }
+                    row = numRows++;
+                    rows.put(new RowKey(key.clone()), row);
+                    final int capacity = docCounts.length;
+                    ordinals = ArrayUtil.grow(ordinals, numRows * numDimensions);
+                    System.arraycopy(key, 0, ordinals, row * numDimensions, numDimensions);
+                    dates = ArrayUtil.grow(dates, numRows);
+                    dates[row] = date;
+                    docCounts = ArrayUtil.grow(docCounts, numRows);
+                    sums = ArrayUtil.grow(sums, numRows * numMetrics);
+                    deltas = ArrayUtil.grow(deltas, numRows * numMetrics);
+                    final int oldLength = mins.length;
+                    mins = ArrayUtil.grow(mins, numRows * numMetrics);
+                    Arrays.fill(mins, oldLength, mins.length, Double.POSITIVE_INFINITY);
+                    maxs = ArrayUtil.grow(maxs, numRows * numMetrics);
+                    Arrays.fill(maxs, oldLength, maxs.length, Double.NEGATIVE_INFINITY);
+                    valueCounts = ArrayUtil.grow(valueCounts, numRows * numMetrics);
+                    if (docCounts.length != capacity) {
+                        // reserve the arrays and the hash table entries of the rows that the arrays have room for
+                        final long bytes = (long) docCounts.length * rowEntryBytes + RamUsageEstimator.sizeOf(ordinals)
+                            + RamUsageEstimator.sizeOf(dates) + RamUsageEstimator.sizeOf(docCounts) + RamUsageEstimator.sizeOf(sums)
+                            + RamUsageEstimator.sizeOf(deltas) + RamUsageEstimator.sizeOf(mins) + RamUsageEstimator.sizeOf(maxs)
+                            + RamUsageEstimator.sizeOf(valueCounts);
+                        breaker.addEstimateBytesAndMaybeBreak(bytes - reservedBytes, "pre_aggregation");
+                        reservedBytes = bytes;
+                    }
+                }
+                docCounts[row]++;
+                for (int i = 0; i < numMetrics; i++) {
+                    final SortedNumericDoubleValues values = metricValues[i];
+                    if (values == null || values.advanceExact(doc) == false) {
+                        continue;
+                    }
+                    final int index = row * numMetrics + i;
+                    final int valueCount = values.docValueCount();
+                    compensatedSum.reset(sums[index], deltas[index]);
+                    for (int j = 0; j < valueCount; j++) {
+                        final double value = values.nextValue();
+                        compensatedSum.add(value);
+                        mins[index] = Math.min(mins[index], value);
+                        maxs[index] = Math.max(maxs[index], value);
+                    }
+                    sums[index] = compensatedSum.value();
+                    deltas[index] = compensatedSum.delta();
+                    valueCounts[index] += valueCount;
+                }
+            }
+
+            final SegmentCube cube = new SegmentCube(numDimensions, numMetrics, numRows, fields,
+                Arrays.copyOf(ordinals, numRows * numDimensions),
+                Arrays.copyOf(dates, numRows),
+                Arrays.copyOf(docCounts, numRows),
+                Arrays.copyOf(sums, numRows * numMetrics),
+                Arrays.copyOf(mins, numRows * numMetrics),
+                Arrays.copyOf(maxs, numRows * numMetrics),
+                Arrays.copyOf(valueCounts, numRows * numMetrics));
+            // the cube keeps trimmed copies of the arrays and drops the hash table, which usually releases memory
+            breaker.addWithoutBreaking(cube.ramBytesUsed() - reservedBytes);
+            success = true;
+            return cube;
+        } finally {
+            if (success == false) {
+                breaker.addWithoutBreaking(-reservedBytes);
+            }
+        }
+    }
+
+    private static void addIfIndexed(LeafReader reader, String field, Set<String> fields) {
+        if (reader.getFieldInfos().fieldInfo(field) != null) {
+            fields.add(field);
+        }
+    }
+
+    /**
+     * The number of rows of the cube, which is at most the number of documents of the segment.
+     */
+    public int numRows() {
+        return numRows;
+    }
+
+    /**
+     * The segment ordinal of the value of the given dimension for the documents of the given row, {@code -1} if they have none.
+     */
+    public long ordinal(int row, int dimension) {
+        return ordinals[row * numDimensions + dimension];
+    }
+
+    /**
+     * The value of the date field of the documents of the given row, rounded down to the interval of the cube, or
+     * {@link #MISSING_DATE} if they have none.
+     */
+    public long date(int row) {
+        return dates[row];
+    }
+
+    /**
+     * The number of documents of the given row.
+     */
+    public long docCount(int row) {
+        return docCounts[row];
+    }
+
+    /**
+     * The sum of the values of the given metric for the documents of the given row.
+     */
+    public double sum(int row, int metric) {
+        return sums[row * numMetrics + metric];
+    }
+
+    /**
+     * The minimum value of the given metric for the documents of the given row, {@link Double#POSITIVE_INFINITY} if they have none.
+     */
+    public double min(int row, int metric) {
+        return mins[row * numMetrics + metric];
+    }
+
+    /**
+     * The maximum value of the given metric for the documents of the given row, {@link Double#NEGATIVE_INFINITY} if they have none.
+     */
+    public double max(int row, int metric) {
+        return maxs[row * numMetrics + metric];
+    }
+
+    /**
+     * The number of values of the given metric for the documents of the given row.
+     */
+    public long valueCount(int row, int metric) {
+        return valueCounts[row * numMetrics + metric];
+    }
+
+    /**
+     * Whether the segment had the given field when the cube was built. Readers that hide fields of the segment must not be
+     * aggregated from the cube.
+     */
+    public boolean hasField(String field) {
+        return fields.contains(field);
+    }
+
+    @Override
+    public long ramBytesUsed() {
+        return ramBytesUsed;
+    }
+
+    private static final class RowKey {
+        private final long[] key;
+
+        RowKey(long[] key) {
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof RowKey && Arrays.equals(key, ((RowKey) obj).key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(key);
+        }
+    }
+}
@@ -32,6 +32,7 @@
 
 package org.opensearch.index.cache.request;
 
+import org.opensearch.Version;
 import org.opensearch.common.io.stream.StreamInput;
 import org.opensearch.common.io.stream.StreamOutput;
 import org.opensearch.common.io.stream.Writeable;
@@ -47,6 +48,9 @@ public class RequestCacheStats implements Writeable, ToXContentFragment {
     private long evictions;
     private long hitCount;
     private long missCount;
+    private long offHeapMemorySize;
+    private long offHeapEvictions;
+    private long offHeapHitCount;
 
     public RequestCacheStats() {
     }
@@ -56,13 +60,26 @@ public class RequestCacheStats implements Writeable, ToXContentFragment {
         evictions = in.readVLong();
         hitCount = in.readVLong();
         missCount = in.readVLong();
+        if (in.getVersion().onOrAfter(Version.V_1_0_0)) {
+            offHeapMemorySize = in.readVLong();
+            offHeapEvictions = in.readVLong();
+            offHeapHitCount = in.readVLong();
+        }
     }
 
     public RequestCacheStats(long memorySize, long evictions, long hitCount, long missCount) {
+        this(memorySize, evictions, hitCount, missCount, 0, 0, 0);
+    }
+
+    public RequestCacheStats(long memorySize, long evictions, long hitCount, long missCount,
+                             long offHeapMemorySize, long offHeapEvictions, long offHeapHitCount) {
         this.memorySize = memorySize;
         this.evictions = evictions;
         this.hitCount = hitCount;
         this.missCount = missCount;
+        this.offHeapMemorySize = offHeapMemorySize;
+        this.offHeapEvictions = offHeapEvictions;
+        this.offHeapHitCount = offHeapHitCount;
     }
 
     public void add(RequestCacheStats stats) {
@@ -70,6 +87,9 @@ public class RequestCacheStats implements Writeable, ToXContentFragment {
         this.evictions += stats.evictions;
         this.hitCount += stats.hitCount;
         this.missCount += stats.missCount;
+        this.offHeapMemorySize += stats.offHeapMemorySize;
+        this.offHeapEvictions += stats.offHeapEvictions;
+        this.offHeapHitCount += stats.offHeapHitCount;
     }
 
     public long getMemorySizeInBytes() {
@@ -92,12 +112,36 @@ public class RequestCacheStats implements Writeable, ToXContentFragment {
         return this.missCount;
     }
 
+    public long getOffHeapMemorySizeInBytes() {
+        return this.offHeapMemorySize;
+    }
+
+    public ByteSizeValue getOffHeapMemorySize() {
+        return new ByteSizeValue(offHeapMemorySize);
+    }
+
+    public long getOffHeapEvictions() {
+        return this.offHeapEvictions;
+    }
+
+    /**
+     * The number of on-heap misses that were served by the off-heap tier.
+     */
+    public long getOffHeapHitCount() {
+        return this.offHeapHitCount;
+    }
+
     @Override
     public void writeTo(StreamOutput out) throws IOException {
         out.writeVLong(memorySize);
         out.writeVLong(evictions);
         out.writeVLong(hitCount);
         out.writeVLong(missCount);
+        if (out.getVersion().onOrAfter(Version.V_1_0_0)) {
+            out.writeVLong(offHeapMemorySize);
+            out.writeVLong(offHeapEvictions);
+            out.writeVLong(offHeapHitCount);
+        }
     }
 
     @Override
@@ -107,6 +151,11 @@ public class RequestCacheStats implements Writeable, ToXContentFragment {
         builder.field(Fields.EVICTIONS, getEvictions());
         builder.field(Fields.HIT_COUNT, getHitCount());
         builder.field(Fields.MISS_COUNT, getMissCount());
+        builder.startObject(Fields.OFF_HEAP);
+        builder.humanReadableField(Fields.MEMORY_SIZE_IN_BYTES, Fields.MEMORY_SIZE, getOffHeapMemorySize());
+        builder.field(Fields.EVICTIONS, getOffHeapEvictions());
+        builder.field(Fields.HIT_COUNT, getOffHeapHitCount());
+        builder.endObject();
         builder.endObject();
         return builder;
     }
@@ -118,5 +167,6 @@ public class RequestCacheStats implements Writeable, ToXContentFragment {
         static final String EVICTIONS = "evictions";
         static final String HIT_COUNT = "hit_count";
         static final String MISS_COUNT = "miss_count";
+        static final String OFF_HEAP = "off_heap";
     }
 }
@@ -45,9 +45,13 @@ public final class ShardRequestCache {
     final CounterMetric totalMetric = new CounterMetric();
     final CounterMetric hitCount = new CounterMetric();
     final CounterMetric missCount = new CounterMetric();
+    final CounterMetric offHeapEvictionsMetric = new CounterMetric();
+    final CounterMetric offHeapTotalMetric = new CounterMetric();
+    final CounterMetric offHeapHitCount = new CounterMetric();
 
     public RequestCacheStats stats() {
-        return new RequestCacheStats(totalMetric.count(), evictionsMetric.count(), hitCount.count(), missCount.count());
+        return new RequestCacheStats(totalMetric.count(), evictionsMetric.count(), hitCount.count(), missCount.count(),
+            offHeapTotalMetric.count(), offHeapEvictionsMetric.count(), offHeapHitCount.count());
     }
 
     public void onHit() {
@@ -75,4 +79,19 @@ public final class ShardRequestCache {
         }
         totalMetric.dec(dec);
     }
+
+    public void onOffHeapHit() {
+        offHeapHitCount.inc();
+    }
+
+    public void onOffHeapCached(long sizeInBytes) {
+        offHeapTotalMetric.inc(sizeInBytes);
+    }
+
+    public void onOffHeapRemoval(long sizeInBytes, boolean evicted) {
+        if (evicted) {
+            offHeapEvictionsMetric.inc();
+        }
+        offHeapTotalMetric.dec(sizeInBytes);
+    }
 }
@@ -0,0 +1,338 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.index.codec;
+
+import org.apache.lucene.codecs.CodecUtil;
+import org.apache.lucene.codecs.FieldsConsumer;
+import org.apache.lucene.codecs.FieldsProducer;
+import org.apache.lucene.codecs.NormsProducer;
+import org.apache.lucene.codecs.PostingsFormat;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.Fields;
+import org.apache.lucene.index.FilterLeafReader;
+import org.apache.lucene.index.IndexFileNames;
+import org.apache.lucene.index.SegmentReadState;
+import org.apache.lucene.index.SegmentWriteState;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.store.ChecksumIndexInput;
+import org.apache.lucene.store.DataInput;
+import org.apache.lucene.store.DataOutput;
+import org.apache.lucene.store.IndexOutput;
+import org.apache.lucene.util.Accountable;
+import org.apache.lucene.util.Accountables;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.IOUtils;
+import org.apache.lucene.util.RamUsageEstimator;
+import org.opensearch.common.hash.MurmurHash3;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link PostingsFormat} that writes a bloom filter of all terms of a field next to the postings of a delegate format, and
+ * answers {@link TermsEnum#seekExact(BytesRef)} for terms that are not in the filter without consulting the terms dictionary.
+ * This is meant for primary key like fields such as <code>_id</code> where the vast majority of exact lookups done while
+ * indexing are for terms that do not exist in a given segment.
+ */
+public final class IdBloomFilterPostingsFormat extends PostingsFormat {
+
+    public static final String NAME = "OpenSearchIdBloom";
+
+    static final String BLOOM_CODEC_NAME = "OpenSearchIdBloomFilter";
+    static final String BLOOM_EXTENSION = "osbf";
+    static final int VERSION_START = 0;
+    static final int VERSION_CURRENT = VERSION_START;
+
+    /** number of filter bits per term, before rounding up the size of the filter to a power of two */
+    static final int BITS_PER_TERM = 10;
+
+    private final PostingsFormat delegate;
+
+    /**
+     * Used by the SPI to read segments, the actual delegate format is read from the segment.
+     */
+    public IdBloomFilterPostingsFormat() {
+        this(null);
+    }
+
+    public IdBloomFilterPostingsFormat(PostingsFormat delegate) {
+        super(NAME);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public FieldsConsumer fieldsConsumer(SegmentWriteState state) throws IOException {
+        if (delegate == null) {
+            throw new UnsupportedOperationException("[" + NAME + "] can only be used for writing when created with a delegate");
+        }
+        return new BloomFieldsConsumer(delegate.fieldsConsumer(state), state);
+    }
+
+    @Override
+    public FieldsProducer fieldsProducer(SegmentReadState state) throws IOException {
+        return new BloomFieldsProducer(state);
+    }
+
+    @Override
+    public String toString() {
+        return NAME + "(" + (delegate == null ? "" : delegate.getName()) + ")";
+    }
+
+    private final class BloomFieldsConsumer extends FieldsConsumer {
+        private final FieldsConsumer delegateConsumer;
+        private final SegmentWriteState state;
+        private final List<FieldInfo> fields = new ArrayList<>();
+        private final List<BloomFilter> filters = new ArrayList<>();
+
+        BloomFieldsConsumer(FieldsConsumer delegateConsumer, SegmentWriteState state) {
+            this.delegateConsumer = delegateConsumer;
+            this.state = state;
+        }
+
+        @Override
+        public void write(Fields fields, NormsProducer norms) throws IOException {
+            delegateConsumer.write(fields, norms);
+            for (String field : fields) {
+                final Terms terms = fields.terms(field);
+                if (terms == null) {
+                    continue;
+                }
+                long numTerms = terms.size();
+                if (numTerms == -1) {
+                    // merged terms don't know their size up front
+                    numTerms = 0;
+                    final TermsEnum termsEnum = terms.iterator();
+                    while (termsEnum.next() != null) {
+                        numTerms++;
+                    }
+                }
+                final BloomFilter filter = BloomFilter.create(numTerms);
+                final TermsEnum termsEnum = terms.iterator();
+                BytesRef term;
+                while ((term = termsEnum.next()) != null) {
+                    filter.add(term);
+                }
+                this.fields.add(state.fieldInfos.fieldInfo(field));
+                this.filters.add(filter);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            boolean success = false;
+            final String fileName = IndexFileNames.segmentFileName(state.segmentInfo.name, state.segmentSuffix, BLOOM_EXTENSION);
+            try (IndexOutput out = state.directory.createOutput(fileName, state.context)) {
+                CodecUtil.writeIndexHeader(out, BLOOM_CODEC_NAME, VERSION_CURRENT, state.segmentInfo.getId(), state.segmentSuffix);
+                out.writeString(delegate.getName());
+                out.writeVInt(fields.size());
+                for (int i = 0; i < fields.size(); i++) {
+                    out.writeVInt(fields.get(i).number);
+                    filters.get(i).writeTo(out);
+                }
+                CodecUtil.writeFooter(out);
+                success = true;
+            } finally {
+                if (success) {
+                    delegateConsumer.close();
+                } else {
+                    IOUtils.closeWhileHandlingException(delegateConsumer);
+                }
+            }
+        }
+    }
+
+    private static final class BloomFieldsProducer extends FieldsProducer {
+        private final FieldsProducer delegateProducer;
+        private final Map<String, BloomFilter> filters;
+
+        BloomFieldsProducer(SegmentReadState state) throws IOException {
+            final String fileName = IndexFileNames.segmentFileName(state.segmentInfo.name, state.segmentSuffix, BLOOM_EXTENSION);
+            FieldsProducer delegateProducer = null;
+            final Map<String, BloomFilter> filters = new HashMap<>();
+            boolean success = false;
+            try (ChecksumIndexInput in = state.directory.openChecksumInput(fileName, state.context)) {
+                CodecUtil.checkIndexHeader(in, BLOOM_CODEC_NAME, VERSION_START, VERSION_CURRENT,
+                    state.segmentInfo.getId(), state.segmentSuffix);
+                final PostingsFormat delegateFormat = PostingsFormat.forName(in.readString());
+                final int numFields = in.readVInt();
+                for (int i = 0; i < numFields; i++) {
+                    final FieldInfo fieldInfo = state.fieldInfos.fieldInfo(in.readVInt());
+                    filters.put(fieldInfo.name, BloomFilter.readFrom(in));
+                }
+                CodecUtil.checkFooter(in);
+                delegateProducer = delegateFormat.fieldsProducer(state);
+                success = true;
+            } finally {
+                if (success == false) {
+                    IOUtils.closeWhileHandlingException(delegateProducer);
+                }
+            }
+            this.delegateProducer = delegateProducer;
+            this.filters = Collections.unmodifiableMap(filters);
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return delegateProducer.iterator();
+        }
+
+        @Override
+        public Terms terms(String field) throws IOException {
+            final Terms terms = delegateProducer.terms(field);
+            final BloomFilter filter = filters.get(field);
+            if (terms == null || filter == null) {
+                return terms;
+            }
+            return new BloomFilteredTerms(terms, filter);
+        }
+
+        @Override
+        public int size() {
+            return delegateProducer.size();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegateProducer.close();
+        }
+
+        @Override
+        public void checkIntegrity() throws IOException {
+            // the filters were fully read and checksummed when the segment was opened
+            delegateProducer.checkIntegrity();
+        }
+
+        @Override
+        public long ramBytesUsed() {
+            long ramBytesUsed = delegateProducer.ramBytesUsed();
+            for (BloomFilter filter : filters.values()) {
+                ramBytesUsed += filter.ramBytesUsed();
+            }
+            return ramBytesUsed;
+        }
+
+        @Override
+        public Collection<Accountable> getChildResources() {
+            final List<Accountable> resources = new ArrayList<>();
+            resources.add(Accountables.namedAccountable("delegate", delegateProducer));
+            resources.addAll(Accountables.namedAccountables("bloom filter", filters));
+            return Collections.unmodifiableList(resources);
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "(fields=" + filters.keySet() + ",delegate=" + delegateProducer + ")";
+        }
+    }
+
+    private static final class BloomFilteredTerms extends FilterLeafReader.FilterTerms {
+        private final BloomFilter filter;
+
+        BloomFilteredTerms(Terms in, BloomFilter filter) {
+            super(in);
+            this.filter = filter;
+        }
+
+        @Override
+        public TermsEnum iterator() throws IOException {
+            return new FilterLeafReader.FilterTermsEnum(in.iterator()) {
+                private final MurmurHash3.Hash128 hash = new MurmurHash3.Hash128();
+
+                @Override
+                public boolean seekExact(BytesRef text) throws IOException {
+                    if (filter.mightContain(text, hash) == false) {
+                        return false;
+                    }
+                    return in.seekExact(text);
+                }
+            };
+        }
+    }
+
+    /**
+     * A bloom filter over a power of two number of bits, using double hashing of the 128 bits murmur3 hash of a term.
+     */
+    static final class BloomFilter implements Accountable {
+        private static final long BASE_RAM_BYTES_USED = RamUsageEstimator.shallowSizeOfInstance(BloomFilter.class);
+
+        private final long[] bits;
+        private final long mask;
+        private final int numHashFunctions;
+        private final MurmurHash3.Hash128 scratch = new MurmurHash3.Hash128();
+
+        private BloomFilter(long[] bits, int numHashFunctions) {
+            this.bits = bits;
+            this.mask = (long) bits.length * Long.SIZE - 1;
+            this.numHashFunctions = numHashFunctions;
+        }
+
+        static BloomFilter create(long numTerms) {
+            final long minBits = Math.max(Long.SIZE, numTerms * BITS_PER_TERM);
+            final long maxBits = (long) Integer.highestOneBit(ArrayUtil.MAX_ARRAY_LENGTH) * Long.SIZE;
+            final long numBits = Math.min(maxBits, Long.highestOneBit(minBits - 1) << 1);
+            // the optimal number of hash functions is ln(2) * bits / terms
+            final double bitsPerTerm = (double) numBits / Math.max(1, numTerms);
+            final int numHashFunctions = (int) Math.max(1, Math.min(16, Math.round(bitsPerTerm * Math.log(2))));
+            return new BloomFilter(new long[Math.toIntExact(numBits / Long.SIZE)], numHashFunctions);
+        }
+
+        static BloomFilter readFrom(DataInput in) throws IOException {
+            final int numHashFunctions = in.readVInt();
+            final long[] bits = new long[in.readVInt()];
+            for (int i = 0; i < bits.length; i++) {
+                bits[i] = in.readLong();
+            }
+            return new BloomFilter(bits, numHashFunctions);
+        }
+
+        void writeTo(DataOutput out) throws IOException {
+            out.writeVInt(numHashFunctions);
+            out.writeVInt(bits.length);
+            for (long word : bits) {
+                out.writeLong(word);
+            }
+        }
+
+        void add(BytesRef term) {
+            MurmurHash3.hash128(term.bytes, term.offset, term.length, 0, scratch);
+            for (int i = 0; i < numHashFunctions; i++) {
+                final long bit = (scratch.h1 + i * scratch.h2) & mask;
+                bits[(int) (bit >>> 6)] |= 1L << bit;
+            }
+        }
+
+        /**
+         * Returns <code>false</code> if the term was definitely not added to this filter. Thread-safe as long as every thread
+         * passes its own scratch hash.
+         */
+        boolean mightContain(BytesRef term, MurmurHash3.Hash128 hash) {
+            MurmurHash3.hash128(term.bytes, term.offset, term.length, 0, hash);
+            for (int i = 0; i < numHashFunctions; i++) {
+                final long bit = (hash.h1 + i * hash.h2) & mask;
+                if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public long ramBytesUsed() {
+            return BASE_RAM_BYTES_USED + RamUsageEstimator.sizeOf(bits);
+        }
+    }
+}
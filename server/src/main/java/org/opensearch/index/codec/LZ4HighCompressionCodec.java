@@ -0,0 +1,51 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.index.codec;
+
+import org.apache.lucene.codecs.Codec;
+import org.apache.lucene.codecs.FilterCodec;
+import org.apache.lucene.codecs.StoredFieldsFormat;
+import org.apache.lucene.codecs.compressing.CompressingStoredFieldsFormat;
+import org.apache.lucene.codecs.lucene87.Lucene87Codec;
+
+/**
+ * A {@link Codec} that compresses stored fields with {@link LZ4HighCompressionWithPresetDictCompressionMode} and otherwise
+ * behaves like its delegate. Stored fields, and <code>_source</code> in particular, get smaller than with the
+ * {@link CodecService#DEFAULT_CODEC default} codec at the expense of slower indexing and merging, but without the fetch
+ * phase cost of the Deflate based {@link CodecService#BEST_COMPRESSION_CODEC best_compression} codec.
+ */
+public final class LZ4HighCompressionCodec extends FilterCodec {
+
+    public static final String NAME = "OpenSearchLZ4HC87";
+
+    // larger chunks than the default codec since the compression ratio improves with chunk size, but still small enough to
+    // keep the cost of decompressing a whole chunk to retrieve a single document low
+    private static final int BLOCK_LENGTH = 10 * 16 * 1024;
+    private static final int MAX_DOCS_PER_CHUNK = 2048;
+    private static final int BLOCK_SHIFT = 10;
+
+    private final StoredFieldsFormat storedFieldsFormat = new CompressingStoredFieldsFormat("OpenSearchLZ4HC87StoredFields",
+        new LZ4HighCompressionWithPresetDictCompressionMode(), BLOCK_LENGTH, MAX_DOCS_PER_CHUNK, BLOCK_SHIFT);
+
+    /**
+     * Used by the SPI to read segments, postings and doc values formats are read per field from the segment.
+     */
+    public LZ4HighCompressionCodec() {
+        this(new Lucene87Codec());
+    }
+
+    public LZ4HighCompressionCodec(Codec delegate) {
+        super(NAME, delegate);
+    }
+
+    @Override
+    public StoredFieldsFormat storedFieldsFormat() {
+        return storedFieldsFormat;
+    }
+}
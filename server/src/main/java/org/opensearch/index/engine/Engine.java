@@ -375,6 +375,15 @@ public abstract class Engine implements Closeable {
 
     public abstract NoOpResult noOp(NoOp noOp) throws IOException;
 
+    /**
+     * Looks up the versions of the given documents ahead of the operations of a bulk request on them, so that these operations
+     * can skip their own lookups as long as the index isn't refreshed in between. The returned releasable drops the looked up
+     * versions once the operations are done. Engines that don't look up versions ignore this.
+     */
+    public Releasable prefetchVersions(List<Term> uids) throws IOException {
+        return () -> {};
+    }
+
     /**
      * Base class for index and delete operation results
      * Holds result meta data (e.g. translog location, updated version)
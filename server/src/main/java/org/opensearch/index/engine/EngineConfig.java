@@ -117,12 +117,13 @@ public final class EngineConfig {
         switch (s) {
             case "default":
             case "best_compression":
+            case "lz4_high_compression":
             case "lucene_default":
                 return s;
             default:
                 if (Codec.availableCodecs().contains(s) == false) { // we don't error message the not officially supported ones
                     throw new IllegalArgumentException(
-                        "unknown value for [index.codec] must be one of [default, best_compression] but was: " + s);
+                        "unknown value for [index.codec] must be one of [default, best_compression, lz4_high_compression] but was: " + s);
                 }
                 return s;
         }
@@ -138,6 +139,16 @@ public final class EngineConfig {
     public static final Setting<Boolean> INDEX_OPTIMIZE_AUTO_GENERATED_IDS = Setting.boolSetting("index.optimize_auto_generated_id", true,
         Property.IndexScope, Property.Dynamic);
 
+    /**
+     * Configures an index to write a bloom filter alongside the terms of the <code>_id</code> field of each segment. Lookups of ids
+     * that do not exist, which every update, upsert or index request with an explicit id does on each segment, can then skip the
+     * terms dictionary of segments that cannot contain the id. This costs roughly two bytes of heap per document. The setting only
+     * applies to segments written after the engine was (re)started.
+     * The default is <code>false</code>
+     */
+    public static final Setting<Boolean> INDEX_ID_BLOOM_FILTER_SETTING = Setting.boolSetting("index.bloom_filter_for_id_field.enabled",
+        false, Property.IndexScope);
+
     private final TranslogConfig translogConfig;
 
     /**
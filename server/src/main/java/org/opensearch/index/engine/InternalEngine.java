@@ -82,6 +82,7 @@ import org.opensearch.common.metrics.CounterMetric;
 import org.opensearch.common.unit.ByteSizeValue;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.concurrent.AbstractRunnable;
+import org.opensearch.common.util.concurrent.ConcurrentCollections;
 import org.opensearch.common.util.concurrent.KeyedLock;
 import org.opensearch.common.util.concurrent.ReleasableLock;
 import org.opensearch.core.internal.io.IOUtils;
@@ -156,6 +157,10 @@ public class InternalEngine extends Engine {
     // A uid (in the form of BytesRef) to the version map
     // we use the hashed variant since we iterate over it and check removal and additions on existing keys
     private final LiveVersionMap versionMap = new LiveVersionMap();
+    // versions of documents that bulk requests looked up before executing their operations, see #prefetchVersions
+    private final Map<BytesRef, PrefetchedVersion> prefetchedVersions = ConcurrentCollections.newConcurrentMap();
+    // incremented on every refresh of the internal reader, before the version map drops the entries that the refresh made visible
+    private final AtomicLong internalReaderGeneration = new AtomicLong();
 
     private volatile SegmentInfos lastCommittedSegmentInfos;
 
@@ -278,6 +283,19 @@ public class InternalEngine extends Engine {
             internalReaderManager = externalReaderManager.internalReaderManager;
             this.internalReaderManager = internalReaderManager;
             this.externalReaderManager = externalReaderManager;
+            // must be notified before the version map, see #resolveDocVersion
+            internalReaderManager.addListener(new ReferenceManager.RefreshListener() {
+                @Override
+                public void beforeRefresh() {
+                }
+
+                @Override
+                public void afterRefresh(boolean didRefresh) {
+                    if (didRefresh) {
+                        internalReaderGeneration.incrementAndGet();
+                    }
+                }
+            });
             internalReaderManager.addListener(versionMap);
             assert pendingTranslogRecovery.get() == false : "translog recovery can't be pending before we set it";
             // don't allow commits until we are done with recovering
@@ -797,13 +815,24 @@ public class InternalEngine extends Engine {
         assert incrementVersionLookup(); // used for asserting in tests
         VersionValue versionValue = getVersionFromMap(op.uid().bytes());
         if (versionValue == null) {
-            assert incrementIndexVersionLookup(); // used for asserting in tests
-            final VersionsAndSeqNoResolver.DocIdAndVersion docIdAndVersion;
-            try (Searcher searcher = acquireSearcher("load_version", SearcherScope.INTERNAL)) {
-                docIdAndVersion = VersionsAndSeqNoResolver.loadDocIdAndVersion(searcher.getIndexReader(), op.uid(), loadSeqNo);
-            }
-            if (docIdAndVersion != null) {
-                versionValue = new IndexVersionValue(null, docIdAndVersion.version, docIdAndVersion.seqNo, docIdAndVersion.primaryTerm);
+            final PrefetchedVersion prefetchedVersion = prefetchedVersions.get(op.uid().bytes());
+            if (prefetchedVersion != null && prefetchedVersion.readerGeneration == internalReaderGeneration.get()) {
+                // the internal reader is the one the version was looked up in: anything indexed since then is in the version map
+                if (prefetchedVersion.found) {
+                    versionValue = new IndexVersionValue(null, prefetchedVersion.version,
+                        loadSeqNo ? prefetchedVersion.seqNo : SequenceNumbers.UNASSIGNED_SEQ_NO,
+                        loadSeqNo ? prefetchedVersion.primaryTerm : SequenceNumbers.UNASSIGNED_PRIMARY_TERM);
+                }
+            } else {
+                assert incrementIndexVersionLookup(); // used for asserting in tests
+                final VersionsAndSeqNoResolver.DocIdAndVersion docIdAndVersion;
+                try (Searcher searcher = acquireSearcher("load_version", SearcherScope.INTERNAL)) {
+                    docIdAndVersion = VersionsAndSeqNoResolver.loadDocIdAndVersion(searcher.getIndexReader(), op.uid(), loadSeqNo);
+                }
+                if (docIdAndVersion != null) {
+                    versionValue = new IndexVersionValue(null, docIdAndVersion.version, docIdAndVersion.seqNo,
+                        docIdAndVersion.primaryTerm);
+                }
             }
         } else if (engineConfig.isEnableGcDeletes() && versionValue.isDelete() &&
             (engineConfig.getThreadPool().relativeTimeInMillis() - ((DeleteVersionValue)versionValue).time) > getGcDeletesInMillis()) {
@@ -812,6 +841,46 @@ public class InternalEngine extends Engine {
         return versionValue;
     }
 
+    @Override
+    public Releasable prefetchVersions(List<Term> uids) throws IOException {
+        if (uids.isEmpty()) {
+            return () -> {};
+        }
+        // read before acquiring the searcher: a version must not be attributed to a reader that is more recent than its own
+        final long readerGeneration = internalReaderGeneration.get();
+        final VersionsAndSeqNoResolver.DocIdAndVersion[] docIdAndVersions;
+        try (Searcher searcher = acquireSearcher("prefetch_versions", SearcherScope.INTERNAL)) {
+            docIdAndVersions = VersionsAndSeqNoResolver.loadDocIdAndVersions(searcher.getIndexReader(), uids, true);
+        }
+        final Map<BytesRef, PrefetchedVersion> versions = new HashMap<>(uids.size());
+        for (int i = 0; i < uids.size(); i++) {
+            final PrefetchedVersion version = new PrefetchedVersion(readerGeneration, docIdAndVersions[i]);
+            versions.put(uids.get(i).bytes(), version);
+            prefetchedVersions.put(uids.get(i).bytes(), version);
+        }
+        // another bulk request may have prefetched the same documents in the meantime
+        return () -> versions.forEach(prefetchedVersions::remove);
+    }
+
+    /**
+     * The version of a document as found in the internal reader of the given generation.
+     */
+    private static final class PrefetchedVersion {
+        final long readerGeneration;
+        final boolean found;
+        final long version;
+        final long seqNo;
+        final long primaryTerm;
+
+        PrefetchedVersion(long readerGeneration, @Nullable VersionsAndSeqNoResolver.DocIdAndVersion docIdAndVersion) {
+            this.readerGeneration = readerGeneration;
+            this.found = docIdAndVersion != null;
+            this.version = found ? docIdAndVersion.version : Versions.NOT_FOUND;
+            this.seqNo = found ? docIdAndVersion.seqNo : SequenceNumbers.UNASSIGNED_SEQ_NO;
+            this.primaryTerm = found ? docIdAndVersion.primaryTerm : SequenceNumbers.UNASSIGNED_PRIMARY_TERM;
+        }
+    }
+
     private VersionValue getVersionFromMap(BytesRef id) {
         if (versionMap.isUnsafe()) {
             synchronized (versionMap) {
@@ -0,0 +1,569 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.index.engine;
+
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.SoftDeletesDirectoryReaderWrapper;
+import org.apache.lucene.search.ReferenceManager;
+import org.opensearch.common.collect.Tuple;
+import org.opensearch.common.lucene.Lucene;
+import org.opensearch.common.lucene.index.OpenSearchDirectoryReader;
+import org.opensearch.common.util.concurrent.ReleasableLock;
+import org.opensearch.core.internal.io.IOUtils;
+import org.opensearch.index.mapper.MapperService;
+import org.opensearch.index.seqno.LocalCheckpointTracker;
+import org.opensearch.index.seqno.SeqNoStats;
+import org.opensearch.index.seqno.SequenceNumbers;
+import org.opensearch.index.translog.Translog;
+import org.opensearch.index.translog.TranslogCorruptedException;
+import org.opensearch.index.translog.TranslogDeletionPolicy;
+import org.opensearch.index.translog.TranslogStats;
+import org.opensearch.search.suggest.completion.CompletionStats;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+/**
+ * The engine of the replicas of an index that uses segment replication. Operations are only appended to the translog, so that the
+ * shard can be promoted or restarted without losing them, and searches see the segments of the commits copied from the primary,
+ * which are opened by {@link #openLatestCommit()}.
+ */
+public class NRTReplicationEngine extends Engine {
+
+    private volatile SegmentInfos lastCommittedSegmentInfos;
+    private final OpenSearchReaderManager readerManager;
+    private final LocalCheckpointTracker localCheckpointTracker;
+    private final Translog translog;
+    private final CompletionStatsCache completionStatsCache;
+    private final AtomicLong maxSeqNoOfUpdatesOrDeletes;
+
+    /*
+     * Refresh listeners wait for translog locations, but the operations of a replica only become visible when it opens a commit
+     * copied from the primary, whose local checkpoint tells which sequence numbers it contains. On every refresh the last write
+     * location of the translog is sampled along with the highest sequence number written up to it, and opening a commit makes the
+     * latest sampled location whose sequence numbers are all contained in the commit visible.
+     */
+    private final Object translogLocationsLock = new Object();
+    private long maxWrittenSeqNo; // guarded by translogLocationsLock
+    private final Deque<Tuple<Translog.Location, Long>> sampledLocations = new ArrayDeque<>(); // guarded by translogLocationsLock
+    private volatile Translog.Location visibleLocation;
+
+    public NRTReplicationEngine(EngineConfig engineConfig) {
+        super(engineConfig);
+        store.incRef();
+        OpenSearchReaderManager readerManager = null;
+        Translog translog = null;
+        boolean success = false;
+        try {
+            lastCommittedSegmentInfos = store.readLastCommittedSegmentsInfo();
+            final SequenceNumbers.CommitInfo commitInfo =
+                SequenceNumbers.loadSeqNoInfoFromLuceneCommit(lastCommittedSegmentInfos.userData.entrySet());
+            localCheckpointTracker = new LocalCheckpointTracker(commitInfo.maxSeqNo, commitInfo.localCheckpoint);
+            final TranslogDeletionPolicy translogDeletionPolicy = new TranslogDeletionPolicy(
+                engineConfig.getIndexSettings().getTranslogRetentionSize().getBytes(),
+                engineConfig.getIndexSettings().getTranslogRetentionAge().getMillis(),
+                engineConfig.getIndexSettings().getTranslogRetentionTotalFiles()
+            );
+            translogDeletionPolicy.setLocalCheckpointOfSafeCommit(commitInfo.localCheckpoint);
+            // the copied commits record the translog of the primary, this engine never commits to record its own
+            final String translogUUID = Translog.readTranslogUUID(engineConfig.getTranslogConfig().getTranslogPath());
+            translog = new Translog(engineConfig.getTranslogConfig(), translogUUID, translogDeletionPolicy,
+                engineConfig.getGlobalCheckpointSupplier(), engineConfig.getPrimaryTermSupplier(),
+                localCheckpointTracker::markSeqNoAsPersisted);
+            this.translog = translog;
+            maxSeqNoOfUpdatesOrDeletes = new AtomicLong(SequenceNumbers.max(localCheckpointTracker.getMaxSeqNo(), translog.getMaxSeqNo()));
+            maxWrittenSeqNo = translog.getMaxSeqNo();
+            updateVisibleLocation(commitInfo.localCheckpoint);
+            readerManager = new OpenSearchReaderManager(openDirectory(),
+                new RamAccountingRefreshListener(engineConfig.getCircuitBreakerService()));
+            this.readerManager = readerManager;
+            for (ReferenceManager.RefreshListener listener : engineConfig.getExternalRefreshListener()) {
+                readerManager.addListener(listener);
+            }
+            for (ReferenceManager.RefreshListener listener : engineConfig.getInternalRefreshListener()) {
+                readerManager.addListener(listener);
+            }
+            completionStatsCache = new CompletionStatsCache(() -> acquireSearcher("completion_stats"));
+            readerManager.addListener(completionStatsCache);
+            success = true;
+        } catch (IOException | TranslogCorruptedException e) {
+            throw new EngineCreationFailureException(shardId, "failed to create engine", e);
+        } finally {
+            if (success == false) {
+                IOUtils.closeWhileHandlingException(readerManager, translog);
+                if (isClosed.get() == false) {
+                    // failure we need to dec the store reference
+                    store.decRef();
+                }
+            }
+        }
+        logger.trace("created new NRTReplicationEngine");
+    }
+
+    private OpenSearchDirectoryReader openDirectory() throws IOException {
+        DirectoryReader reader = DirectoryReader.open(store.directory());
+        if (engineConfig.getIndexSettings().isSoftDeleteEnabled()) {
+            reader = new SoftDeletesDirectoryReaderWrapper(reader, Lucene.SOFT_DELETES_FIELD);
+        }
+        return OpenSearchDirectoryReader.wrap(reader, shardId);
+    }
+
+    /**
+     * Opens the segments of the latest commit of the store, which was just copied from the primary, and trims the operations that
+     * it contains from the translog. The commit is left as it was copied: writing a commit of its own would clash with the next
+     * commit of the primary, so the translog of this engine is only associated with the store once the shard is promoted.
+     */
+    public void openLatestCommit() throws IOException {
+        try (ReleasableLock ignored = readLock.acquire()) {
+            ensureOpen();
+            final SegmentInfos infos = store.readLastCommittedSegmentsInfo();
+            lastCommittedSegmentInfos = infos;
+            final long localCheckpoint = Long.parseLong(infos.getUserData().get(SequenceNumbers.LOCAL_CHECKPOINT_KEY));
+            // the refresh releases the refresh listeners whose operations the commit contains
+            updateVisibleLocation(localCheckpoint);
+            readerManager.maybeRefreshBlocking();
+            final TranslogDeletionPolicy translogDeletionPolicy = translog.getDeletionPolicy();
+            // the commits of a new primary may not contain all the operations of the commits of the previous one
+            if (localCheckpoint > translogDeletionPolicy.getLocalCheckpointOfSafeCommit()) {
+                translogDeletionPolicy.setLocalCheckpointOfSafeCommit(localCheckpoint);
+                translog.trimUnreferencedReaders();
+            }
+        } catch (Exception e) {
+            try {
+                failEngine("failed to open replicated commit", e);
+            } catch (Exception inner) {
+                e.addSuppressed(inner);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public IndexResult index(Index index) throws IOException {
+        try (ReleasableLock ignored = readLock.acquire()) {
+            ensureOpen();
+            final IndexResult indexResult = new IndexResult(index.version(), index.primaryTerm(), index.seqNo(), false);
+            if (index.origin().isFromTranslog() == false) {
+                indexResult.setTranslogLocation(addToTranslog(new Translog.Index(index, indexResult)));
+            }
+            markSeqNoAsProcessed(index.seqNo(), indexResult.getTranslogLocation());
+            indexResult.setTook(System.nanoTime() - index.startTime());
+            indexResult.freeze();
+            return indexResult;
+        }
+    }
+
+    @Override
+    public DeleteResult delete(Delete delete) throws IOException {
+        try (ReleasableLock ignored = readLock.acquire()) {
+            ensureOpen();
+            final DeleteResult deleteResult = new DeleteResult(delete.version(), delete.primaryTerm(), delete.seqNo(), true);
+            if (delete.origin().isFromTranslog() == false) {
+                deleteResult.setTranslogLocation(addToTranslog(new Translog.Delete(delete, deleteResult)));
+            }
+            markSeqNoAsProcessed(delete.seqNo(), deleteResult.getTranslogLocation());
+            deleteResult.setTook(System.nanoTime() - delete.startTime());
+            deleteResult.freeze();
+            return deleteResult;
+        }
+    }
+
+    @Override
+    public NoOpResult noOp(NoOp noOp) throws IOException {
+        try (ReleasableLock ignored = readLock.acquire()) {
+            ensureOpen();
+            final NoOpResult noOpResult = new NoOpResult(noOp.primaryTerm(), noOp.seqNo());
+            if (noOp.origin().isFromTranslog() == false) {
+                noOpResult.setTranslogLocation(addToTranslog(new Translog.NoOp(noOp.seqNo(), noOp.primaryTerm(), noOp.reason())));
+            }
+            markSeqNoAsProcessed(noOp.seqNo(), noOpResult.getTranslogLocation());
+            noOpResult.setTook(System.nanoTime() - noOp.startTime());
+            noOpResult.freeze();
+            return noOpResult;
+        }
+    }
+
+    private Translog.Location addToTranslog(Translog.Operation operation) throws IOException {
+        synchronized (translogLocationsLock) {
+            final Translog.Location location = translog.add(operation);
+            maxWrittenSeqNo = Math.max(maxWrittenSeqNo, operation.seqNo());
+            return location;
+        }
+    }
+
+    private void sampleLastWriteLocation() {
+        synchronized (translogLocationsLock) {
+            final Translog.Location location = translog.getLastWriteLocation();
+            final Tuple<Translog.Location, Long> lastSample = sampledLocations.peekLast();
+            if (lastSample == null || lastSample.v1().equals(location) == false) {
+                sampledLocations.addLast(new Tuple<>(location, maxWrittenSeqNo));
+            }
+        }
+    }
+
+    /**
+     * Makes the translog locations visible whose operations are all contained in a commit with the given local checkpoint.
+     */
+    private void updateVisibleLocation(long localCheckpoint) {
+        synchronized (translogLocationsLock) {
+            // the commit may contain all the operations written so far
+            sampleLastWriteLocation();
+            Translog.Location location = null;
+            while (sampledLocations.isEmpty() == false && sampledLocations.peekFirst().v2() <= localCheckpoint) {
+                location = sampledLocations.pollFirst().v1();
+            }
+            if (location != null && (visibleLocation == null || location.compareTo(visibleLocation) > 0)) {
+                visibleLocation = location;
+            }
+        }
+    }
+
+    private void markSeqNoAsProcessed(long seqNo, Translog.Location location) {
+        localCheckpointTracker.markSeqNoAsProcessed(seqNo);
+        if (location == null) {
+            // the operation is coming from the translog and is hence persisted already
+            localCheckpointTracker.markSeqNoAsPersisted(seqNo);
+        }
+    }
+
+    @Override
+    public GetResult get(Get get, BiFunction<String, SearcherScope, Searcher> searcherFactory) throws EngineException {
+        // the translog of a replica is not indexed, so gets only see the replicated segments. Realtime gets are sent to the primary,
+        // see OperationRouting#getShards.
+        return getFromSearcher(get, searcherFactory, SearcherScope.EXTERNAL);
+    }
+
+    @Override
+    protected ReferenceManager<OpenSearchDirectoryReader> getReferenceManager(SearcherScope scope) {
+        return readerManager;
+    }
+
+    @Override
+    protected SegmentInfos getLastCommittedSegmentInfos() {
+        return lastCommittedSegmentInfos;
+    }
+
+    @Override
+    public String getHistoryUUID() {
+        return lastCommittedSegmentInfos.userData.get(Engine.HISTORY_UUID_KEY);
+    }
+
+    @Override
+    public long getWritingBytes() {
+        return 0;
+    }
+
+    @Override
+    public CompletionStats completionStats(String... fieldNamePatterns) {
+        return completionStatsCache.get(fieldNamePatterns);
+    }
+
+    @Override
+    public long getIndexThrottleTimeInMillis() {
+        return 0;
+    }
+
+    @Override
+    public boolean isThrottled() {
+        return false;
+    }
+
+    @Override
+    public void trimOperationsFromTranslog(long belowTerm, long aboveSeqNo) throws EngineException {
+        try (ReleasableLock ignored = readLock.acquire()) {
+            ensureOpen();
+            translog.trimOperations(belowTerm, aboveSeqNo);
+        } catch (IOException e) {
+            throw new EngineException(shardId, "failed to trim translog operations", e);
+        }
+    }
+
+    @Override
+    public boolean isTranslogSyncNeeded() {
+        return translog.syncNeeded();
+    }
+
+    @Override
+    public boolean ensureTranslogSynced(Stream<Translog.Location> locations) throws IOException {
+        return translog.ensureSynced(locations);
+    }
+
+    @Override
+    public void syncTranslog() throws IOException {
+        translog.sync();
+    }
+
+    @Override
+    public Closeable acquireHistoryRetentionLock(HistorySource historySource) {
+        return () -> {};
+    }
+
+    @Override
+    public Translog.Snapshot newChangesSnapshot(String source, MapperService mapperService, long fromSeqNo, long toSeqNo,
+                                                boolean requiredFullRange) throws IOException {
+        return translog.newSnapshot(fromSeqNo, toSeqNo);
+    }
+
+    @Override
+    public Translog.Snapshot readHistoryOperations(String reason, HistorySource historySource,
+                                                   MapperService mapperService, long startingSeqNo) throws IOException {
+        return translog.newSnapshot(startingSeqNo, Long.MAX_VALUE);
+    }
+
+    @Override
+    public int estimateNumberOfHistoryOperations(String reason, HistorySource historySource,
+                                                 MapperService mapperService, long startingSeqNo) {
+        return translog.estimateTotalOperationsFromMinSeq(startingSeqNo);
+    }
+
+    @Override
+    public boolean hasCompleteOperationHistory(String reason, HistorySource historySource,
+                                               MapperService mapperService, long startingSeqNo) {
+        return false;
+    }
+
+    @Override
+    public long getMinRetainedSeqNo() {
+        throw new UnsupportedOperationException();
+    }
+
+    // Package private for testing purposes only
+    Translog getTranslog() {
+        ensureOpen();
+        return translog;
+    }
+
+    @Override
+    public TranslogStats getTranslogStats() {
+        return translog.stats();
+    }
+
+    /**
+     * Returns the translog location up to which the operations are contained in the last opened commit, rather than the last
+     * written location: a refresh doesn't make the other operations visible.
+     */
+    @Override
+    public Translog.Location getTranslogLastWriteLocation() {
+        return visibleLocation;
+    }
+
+    @Override
+    public long getPersistedLocalCheckpoint() {
+        return localCheckpointTracker.getPersistedCheckpoint();
+    }
+
+    @Override
+    public SeqNoStats getSeqNoStats(long globalCheckpoint) {
+        return localCheckpointTracker.getStats(globalCheckpoint);
+    }
+
+    @Override
+    public long getLastSyncedGlobalCheckpoint() {
+        return translog.getLastSyncedGlobalCheckpoint();
+    }
+
+    @Override
+    public long getIndexBufferRAMBytesUsed() {
+        return 0;
+    }
+
+    @Override
+    public List<Segment> segments(boolean verbose) {
+        return Arrays.asList(getSegmentInfo(lastCommittedSegmentInfos, verbose));
+    }
+
+    @Override
+    public void refresh(String source) throws EngineException {
+        // the reader only changes when a commit is copied from the primary, so this only samples the translog for the refresh
+        // listeners that wait for the next commit
+        sampleLastWriteLocation();
+        try {
+            readerManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new RefreshFailedEngineException(shardId, e);
+        }
+    }
+
+    @Override
+    public boolean maybeRefresh(String source) throws EngineException {
+        sampleLastWriteLocation();
+        try {
+            return readerManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new RefreshFailedEngineException(shardId, e);
+        }
+    }
+
+    @Override
+    public void writeIndexingBuffer() throws EngineException {
+    }
+
+    @Override
+    public boolean shouldPeriodicallyFlush() {
+        return false;
+    }
+
+    @Override
+    public SyncedFlushResult syncFlush(String syncId, CommitId expectedCommitId) throws EngineException {
+        throw new UnsupportedOperationException("syncedFlush is not supported on a segment replication replica");
+    }
+
+    @Override
+    public CommitId flush(boolean force, boolean waitIfOngoing) throws EngineException {
+        // the segments are committed by the primary, all a replica can do is to make its translog durable
+        try (ReleasableLock ignored = readLock.acquire()) {
+            ensureOpen();
+            translog.sync();
+            translog.trimUnreferencedReaders();
+        } catch (IOException e) {
+            throw new FlushFailedEngineException(shardId, e);
+        }
+        return new CommitId(lastCommittedSegmentInfos.getId());
+    }
+
+    @Override
+    public void trimUnreferencedTranslogFiles() throws EngineException {
+        try (ReleasableLock ignored = readLock.acquire()) {
+            ensureOpen();
+            translog.trimUnreferencedReaders();
+        } catch (IOException e) {
+            throw new EngineException(shardId, "failed to trim translog", e);
+        }
+    }
+
+    @Override
+    public boolean shouldRollTranslogGeneration() {
+        return translog.shouldRollGeneration();
+    }
+
+    @Override
+    public void rollTranslogGeneration() throws EngineException {
+        try (ReleasableLock ignored = readLock.acquire()) {
+            ensureOpen();
+            translog.rollGeneration();
+            translog.trimUnreferencedReaders();
+        } catch (IOException e) {
+            throw new EngineException(shardId, "failed to roll translog", e);
+        }
+    }
+
+    @Override
+    public void forceMerge(boolean flush, int maxNumSegments, boolean onlyExpungeDeletes, boolean upgrade,
+                           boolean upgradeOnlyAncientSegments, String forceMergeUUID) throws EngineException {
+        // the merged segments are copied from the primary
+    }
+
+    @Override
+    public IndexCommitRef acquireLastIndexCommit(boolean flushFirst) throws EngineException {
+        store.incRef();
+        try {
+            return new IndexCommitRef(Lucene.getIndexCommit(lastCommittedSegmentInfos, store.directory()), store::decRef);
+        } catch (IOException e) {
+            store.decRef();
+            throw new EngineException(shardId, "failed to acquire the last commit", e);
+        }
+    }
+
+    @Override
+    public IndexCommitRef acquireSafeIndexCommit() throws EngineException {
+        return acquireLastIndexCommit(false);
+    }
+
+    @Override
+    public SafeCommitInfo getSafeCommitInfo() {
+        final SegmentInfos infos = lastCommittedSegmentInfos;
+        return new SafeCommitInfo(Long.parseLong(infos.userData.get(SequenceNumbers.LOCAL_CHECKPOINT_KEY)), infos.totalMaxDoc());
+    }
+
+    @Override
+    protected void closeNoLock(String reason, CountDownLatch closedLatch) {
+        if (isClosed.compareAndSet(false, true)) {
+            try {
+                IOUtils.close(readerManager, translog, store::decRef);
+                logger.debug("engine closed [{}]", reason);
+            } catch (Exception e) {
+                logger.warn("failed to close engine", e);
+            } finally {
+                closedLatch.countDown();
+            }
+        }
+    }
+
+    @Override
+    public void activateThrottling() {
+    }
+
+    @Override
+    public void deactivateThrottling() {
+    }
+
+    @Override
+    public int restoreLocalHistoryFromTranslog(TranslogRecoveryRunner translogRecoveryRunner) throws IOException {
+        try (ReleasableLock ignored = readLock.acquire()) {
+            ensureOpen();
+            final long localCheckpoint = localCheckpointTracker.getProcessedCheckpoint();
+            try (Translog.Snapshot snapshot = translog.newSnapshot(localCheckpoint + 1, Long.MAX_VALUE)) {
+                return translogRecoveryRunner.run(this, snapshot);
+            }
+        }
+    }
+
+    @Override
+    public int fillSeqNoGaps(long primaryTerm) {
+        // a promoted replica switches to a writeable engine before filling the gaps of its history
+        return 0;
+    }
+
+    @Override
+    public Engine recoverFromTranslog(TranslogRecoveryRunner translogRecoveryRunner, long recoverUpToSeqNo) throws IOException {
+        try (ReleasableLock ignored = readLock.acquire()) {
+            ensureOpen();
+            final long localCheckpoint = localCheckpointTracker.getProcessedCheckpoint();
+            if (localCheckpoint < recoverUpToSeqNo) {
+                try (Translog.Snapshot snapshot = translog.newSnapshot(localCheckpoint + 1, recoverUpToSeqNo)) {
+                    translogRecoveryRunner.run(this, snapshot);
+                } catch (Exception e) {
+                    throw new EngineException(shardId, "failed to recover from translog", e);
+                }
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public void skipTranslogRecovery() {
+    }
+
+    @Override
+    public void maybePruneDeletes() {
+    }
+
+    @Override
+    public void updateMaxUnsafeAutoIdTimestamp(long newTimestamp) {
+    }
+
+    @Override
+    public long getMaxSeqNoOfUpdatesOrDeletes() {
+        return maxSeqNoOfUpdatesOrDeletes.get();
+    }
+
+    @Override
+    public void advanceMaxSeqNoOfUpdatesOrDeletes(long maxSeqNoOfUpdatesOnPrimary) {
+        maxSeqNoOfUpdatesOrDeletes.updateAndGet(curr -> Math.max(curr, maxSeqNoOfUpdatesOnPrimary));
+    }
+}
@@ -85,6 +85,7 @@ public class SegmentsStats implements Writeable, ToXContentFragment {
             .fPut("tvd", "Term Vector Documents")
             .fPut("tvf", "Term Vector Fields")
             .fPut("liv", "Live Documents")
+            .fPut("osbf", "Id Bloom Filter")
             .build();
 
     public SegmentsStats() {}
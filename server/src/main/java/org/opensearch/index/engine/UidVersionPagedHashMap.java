@@ -0,0 +1,283 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.index.engine;
+
+import com.carrotsearch.hppc.BitMixer;
+import org.apache.lucene.util.BytesRef;
+import org.opensearch.common.util.BigArrays;
+import org.opensearch.common.util.ByteArray;
+import org.opensearch.common.util.IntArray;
+import org.opensearch.common.util.LongArray;
+import org.opensearch.index.translog.Translog;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Maps uids to the {@link IndexVersionValue}s of the {@link LiveVersionMap}. The uid bytes as well as the version, seq#, term and
+ * translog location of every entry are stored inline in {@link BigArrays}, so that an entry costs neither key, value nor node
+ * objects. Collisions are resolved with open addressing and linear probing. The map is split into segments that uids are hashed
+ * onto, each one guarded by its own lock, and a segment only allocates its arrays on its first put so that an empty map uses no
+ * memory. Removing a uid only marks its entry as removed: its bytes are reclaimed when the map is dropped on refresh.
+ */
+final class UidVersionPagedHashMap {
+
+    static final int SEGMENTS = 32;
+    private static final int SEGMENT_SHIFT = Integer.SIZE - Integer.numberOfTrailingZeros(SEGMENTS);
+    private static final long INITIAL_CAPACITY = 16;
+    private static final float MAX_LOAD_FACTOR = 0.6f;
+
+    // the values of an entry are stored at id * VALUE_LONGS
+    private static final int VERSION = 0;
+    private static final int SEQ_NO = 1;
+    private static final int TERM = 2;
+    private static final int TRANSLOG_GENERATION = 3;
+    private static final int TRANSLOG_LOCATION = 4;
+    private static final int TRANSLOG_SIZE = 5;
+    private static final int STATE = 6;
+    private static final int VALUE_LONGS = 7;
+    // the states of an entry
+    private static final long REMOVED = 0;
+    private static final long WITHOUT_LOCATION = 1;
+    private static final long WITH_LOCATION = 2;
+
+    private final BigArrays bigArrays;
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final AtomicLong ramBytesUsed = new AtomicLong();
+
+    UidVersionPagedHashMap() {
+        // the map is read without holding any reference to it once a refresh dropped it, so its pages are never recycled
+        this(BigArrays.NON_RECYCLING_INSTANCE);
+    }
+
+    UidVersionPagedHashMap(BigArrays bigArrays) {
+        this.bigArrays = bigArrays;
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    IndexVersionValue get(BytesRef uid) {
+        final int hash = hash(uid);
+        return segment(hash).get(uid, hash);
+    }
+
+    void put(BytesRef uid, IndexVersionValue value) {
+        final int hash = hash(uid);
+        segment(hash).put(uid, hash, value);
+    }
+
+    /**
+     * Removes the given uid and returns <code>true</code> if it was in the map.
+     */
+    boolean remove(BytesRef uid) {
+        final int hash = hash(uid);
+        return segment(hash).remove(uid, hash);
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    boolean isEmpty() {
+        for (Segment segment : segments) {
+            if (segment.size() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the bytes of the arrays of this map. These only grow until the map is dropped on refresh.
+     */
+    long ramBytesUsed() {
+        return ramBytesUsed.get();
+    }
+
+    /**
+     * Returns a copy of the entries of this map. Entries that are concurrently added or removed may or may not be part of it.
+     */
+    Map<BytesRef, VersionValue> snapshot() {
+        final Map<BytesRef, VersionValue> snapshot = new HashMap<>();
+        for (Segment segment : segments) {
+            segment.copyTo(snapshot);
+        }
+        return snapshot;
+    }
+
+    private static int hash(BytesRef uid) {
+        // BytesRef has a weak hash code so we mix it since both its upper and its lower bits are used
+        return BitMixer.mix32(uid.hashCode());
+    }
+
+    private Segment segment(int hash) {
+        // the upper bits select the segment and the lower bits the slot within the segment
+        return segments[hash >>> SEGMENT_SHIFT];
+    }
+
+    private final class Segment {
+        // the id + 1 of the entry in each slot, 0 for empty slots
+        private LongArray slots;
+        private long mask;
+        // the hash of the uid of each entry, to fill the slots again when they grow
+        private IntArray hashes;
+        // the offset of the uid of each entry in uidBytes. the offset after the last entry is the end of its uid
+        private LongArray uidOffsets;
+        private ByteArray uidBytes;
+        private LongArray values;
+        // the number of entries including the removed ones, which is also the id of the next entry
+        private long entries;
+        private long maxEntries;
+        private volatile int size;
+        private long ramBytesUsed;
+        private final BytesRef spare = new BytesRef();
+
+        synchronized IndexVersionValue get(BytesRef uid, int hash) {
+            final long id = find(uid, hash);
+            if (id == -1) {
+                return null;
+            }
+            final long offset = id * VALUE_LONGS;
+            final long state = values.get(offset + STATE);
+            if (state == REMOVED) {
+                return null;
+            }
+            final Translog.Location location = state == WITHOUT_LOCATION ? null : new Translog.Location(
+                values.get(offset + TRANSLOG_GENERATION), values.get(offset + TRANSLOG_LOCATION), (int) values.get(offset + TRANSLOG_SIZE));
+            return new IndexVersionValue(location, values.get(offset + VERSION), values.get(offset + SEQ_NO), values.get(offset + TERM));
+        }
+
+        synchronized void put(BytesRef uid, int hash, IndexVersionValue value) {
+            long id = find(uid, hash);
+            if (id == -1) {
+                id = add(uid, hash);
+                size++;
+            } else if (values.get(id * VALUE_LONGS + STATE) == REMOVED) {
+                size++;
+            }
+            final long offset = id * VALUE_LONGS;
+            values.set(offset + VERSION, value.version);
+            values.set(offset + SEQ_NO, value.seqNo);
+            values.set(offset + TERM, value.term);
+            final Translog.Location location = value.getLocation();
+            if (location == null) {
+                values.set(offset + STATE, WITHOUT_LOCATION);
+            } else {
+                values.set(offset + TRANSLOG_GENERATION, location.generation);
+                values.set(offset + TRANSLOG_LOCATION, location.translogLocation);
+                values.set(offset + TRANSLOG_SIZE, location.size);
+                values.set(offset + STATE, WITH_LOCATION);
+            }
+        }
+
+        synchronized boolean remove(BytesRef uid, int hash) {
+            final long id = find(uid, hash);
+            if (id == -1 || values.get(id * VALUE_LONGS + STATE) == REMOVED) {
+                return false;
+            }
+            values.set(id * VALUE_LONGS + STATE, REMOVED);
+            size--;
+            return true;
+        }
+
+        int size() {
+            return size;
+        }
+
+        synchronized void copyTo(Map<BytesRef, VersionValue> snapshot) {
+            for (long id = 0; id < entries; id++) {
+                final BytesRef uid = BytesRef.deepCopyOf(uid(id));
+                final VersionValue value = get(uid, hashes.get(id));
+                if (value != null) {
+                    snapshot.put(uid, value);
+                }
+            }
+        }
+
+        private long find(BytesRef uid, int hash) {
+            if (slots == null) {
+                return -1;
+            }
+            for (long slot = hash & mask; ; slot = (slot + 1) & mask) {
+                final long id = slots.get(slot) - 1;
+                if (id == -1 || (hashes.get(id) == hash && uid.bytesEquals(uid(id)))) {
+                    return id;
+                }
+            }
+        }
+
+        private BytesRef uid(long id) {
+            final long start = uidOffsets.get(id);
+            uidBytes.get(start, (int) (uidOffsets.get(id + 1) - start), spare);
+            return spare;
+        }
+
+        private long add(BytesRef uid, int hash) {
+            if (slots == null) {
+                slots = bigArrays.newLongArray(INITIAL_CAPACITY, true);
+                mask = INITIAL_CAPACITY - 1;
+                maxEntries = (long) (INITIAL_CAPACITY * MAX_LOAD_FACTOR);
+                hashes = bigArrays.newIntArray(maxEntries, false);
+                uidOffsets = bigArrays.newLongArray(maxEntries + 1, false);
+                uidOffsets.set(0, 0);
+                uidBytes = bigArrays.newByteArray(maxEntries * uid.length, false);
+                values = bigArrays.newLongArray(maxEntries * VALUE_LONGS, false);
+            } else if (entries == maxEntries) {
+                grow();
+            }
+            final long id = entries++;
+            final long start = uidOffsets.get(id);
+            uidBytes = bigArrays.grow(uidBytes, start + uid.length);
+            uidBytes.set(start, uid.bytes, uid.offset, uid.length);
+            uidOffsets = bigArrays.grow(uidOffsets, id + 2);
+            uidOffsets.set(id + 1, start + uid.length);
+            hashes = bigArrays.grow(hashes, id + 1);
+            hashes.set(id, hash);
+            values = bigArrays.grow(values, (id + 1) * VALUE_LONGS);
+            fill(id, hash);
+            updateRamBytesUsed();
+            return id;
+        }
+
+        private void grow() {
+            final long capacity = slots.size() << 1;
+            slots.close();
+            slots = bigArrays.newLongArray(capacity, true);
+            mask = capacity - 1;
+            maxEntries = (long) (capacity * MAX_LOAD_FACTOR);
+            for (long id = 0; id < entries; id++) {
+                fill(id, hashes.get(id));
+            }
+        }
+
+        private void fill(long id, int hash) {
+            for (long slot = hash & mask; ; slot = (slot + 1) & mask) {
+                if (slots.get(slot) == 0) {
+                    slots.set(slot, id + 1);
+                    return;
+                }
+            }
+        }
+
+        private void updateRamBytesUsed() {
+            final long bytes = slots.ramBytesUsed() + hashes.ramBytesUsed() + uidOffsets.ramBytesUsed() + uidBytes.ramBytesUsed()
+                + values.ramBytesUsed();
+            if (bytes != ramBytesUsed) {
+                UidVersionPagedHashMap.this.ramBytesUsed.addAndGet(bytes - ramBytesUsed);
+                ramBytesUsed = bytes;
+            }
+        }
+    }
+}
@@ -34,7 +34,9 @@ package org.opensearch.index.fielddata;
 
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.OrdinalMap;
+import org.opensearch.index.fielddata.ordinals.OrdinalHashes;
 
 
 /**
@@ -67,4 +69,12 @@ public interface IndexOrdinalsFieldData extends IndexFieldData.Global<LeafOrdina
      * {@link #getOrdinalMap} will result in an {@link UnsupportedOperationException}.
      */
     boolean supportsGlobalOrdinalsMapping();
+
+    /**
+     * Load the hashes of the terms of the segment ordinals for the given {@link LeafReaderContext}, from the field data cache.
+     * Returns {@code null} if this field data does not cache such hashes, in which case the caller should hash the terms itself.
+     */
+    default OrdinalHashes loadOrdinalHashes(LeafReaderContext context) {
+        return null;
+    }
 }
@@ -0,0 +1,111 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.index.fielddata.ordinals;
+
+import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.RamUsageEstimator;
+import org.opensearch.common.breaker.CircuitBreaker;
+import org.opensearch.common.hash.MurmurHash3;
+import org.opensearch.index.fielddata.LeafFieldData;
+import org.opensearch.index.fielddata.ScriptDocValues;
+import org.opensearch.index.fielddata.SortedBinaryDocValues;
+
+import java.io.IOException;
+
+/**
+ * The {@link MurmurHash3} hashes of the terms of a segment, indexed by segment ordinal. Hashing the terms is the main cost of
+ * counting the distinct values of a field with ordinals, so these hashes are loaded once per segment and cached in the field
+ * data cache, where their memory is accounted for on the field data circuit breaker until they are evicted.
+ */
+public final class OrdinalHashes implements LeafFieldData {
+
+    private static final long BASE_RAM_BYTES_USED = RamUsageEstimator.shallowSizeOfInstance(OrdinalHashes.class);
+
+    private final long[] hashes;
+    private final long ramBytesUsed;
+
+    private OrdinalHashes(long[] hashes, long ramBytesUsed) {
+        this.hashes = hashes;
+        this.ramBytesUsed = ramBytesUsed;
+    }
+
+    /**
+     * Hashes the terms of the given ordinals, after reserving the memory of the hashes on the given breaker.
+     */
+    public static OrdinalHashes build(SortedSetDocValues values, CircuitBreaker breaker, String fieldName) throws IOException {
+        final long valueCount = values.getValueCount();
+        if (valueCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("cannot hash the [" + valueCount + "] terms of field [" + fieldName + "]");
+        }
+        final long ramBytesUsed = ramBytesUsed(valueCount);
+        breaker.addEstimateBytesAndMaybeBreak(ramBytesUsed, fieldName);
+        boolean success = false;
+        try {
+            final long[] hashes = new long[(int) valueCount];
+            final MurmurHash3.Hash128 hash = new MurmurHash3.Hash128();
+            final TermsEnum termsEnum = values.termsEnum();
+            int ord = 0;
+            for (BytesRef term = termsEnum.next(); term != null; term = termsEnum.next()) {
+                MurmurHash3.hash128(term.bytes, term.offset, term.length, 0, hash);
+                hashes[ord++] = hash.h1;
+            }
+            assert ord == valueCount;
+            success = true;
+            return new OrdinalHashes(hashes, ramBytesUsed);
+        } finally {
+            if (success == false) {
+                breaker.addWithoutBreaking(-ramBytesUsed);
+            }
+        }
+    }
+
+    /**
+     * The memory that the hashes of {@code valueCount} ordinals use.
+     */
+    public static long ramBytesUsed(long valueCount) {
+        return BASE_RAM_BYTES_USED
+            + RamUsageEstimator.alignObjectSize(RamUsageEstimator.NUM_BYTES_ARRAY_HEADER + Long.BYTES * valueCount);
+    }
+
+    /**
+     * The hash of the term of the given segment ordinal, which is the first half of its 128 bits {@link MurmurHash3} hash with
+     * seed {@code 0}.
+     */
+    public long hash(long ord) {
+        return hashes[(int) ord];
+    }
+
+    /**
+     * The number of ordinals of the segment.
+     */
+    public int size() {
+        return hashes.length;
+    }
+
+    @Override
+    public long ramBytesUsed() {
+        return ramBytesUsed;
+    }
+
+    @Override
+    public ScriptDocValues<?> getScriptValues() {
+        throw new UnsupportedOperationException("ordinal hashes do not have script values");
+    }
+
+    @Override
+    public SortedBinaryDocValues getBytesValues() {
+        throw new UnsupportedOperationException("ordinal hashes do not have bytes values");
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -59,7 +59,7 @@ public abstract class AbstractIndexOrdinalsFieldData implements IndexOrdinalsFie
 
     private final String fieldName;
     private final ValuesSourceType valuesSourceType;
-    private final IndexFieldDataCache cache;
+    protected final IndexFieldDataCache cache;
     protected final CircuitBreakerService breakerService;
     protected final Function<SortedSetDocValues, ScriptDocValues<?>> scriptFunction;
 
@@ -32,13 +32,16 @@
 
 package org.opensearch.index.fielddata.plain;
 
+import org.apache.lucene.index.DocValues;
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.OrdinalMap;
 import org.apache.lucene.index.SortedSetDocValues;
 import org.apache.lucene.search.SortField;
 import org.apache.lucene.search.SortedSetSelector;
 import org.apache.lucene.search.SortedSetSortField;
+import org.opensearch.OpenSearchException;
 import org.opensearch.common.Nullable;
+import org.opensearch.common.breaker.CircuitBreaker;
 import org.opensearch.common.util.BigArrays;
 import org.opensearch.index.fielddata.IndexFieldData;
 import org.opensearch.index.fielddata.IndexFieldData.XFieldComparatorSource.Nested;
@@ -46,6 +49,7 @@ import org.opensearch.index.fielddata.IndexFieldDataCache;
 import org.opensearch.index.fielddata.LeafOrdinalsFieldData;
 import org.opensearch.index.fielddata.ScriptDocValues;
 import org.opensearch.index.fielddata.fieldcomparator.BytesRefFieldComparatorSource;
+import org.opensearch.index.fielddata.ordinals.OrdinalHashes;
 import org.opensearch.indices.breaker.CircuitBreakerService;
 import org.opensearch.search.DocValueFormat;
 import org.opensearch.search.MultiValueMode;
@@ -57,6 +61,8 @@ import java.util.function.Function;
 
 public class SortedSetOrdinalsIndexFieldData extends AbstractIndexOrdinalsFieldData {
 
+    private final OrdinalHashesFieldData ordinalHashesFieldData;
+
     public static class Builder implements IndexFieldData.Builder {
         private final String name;
         private final Function<SortedSetDocValues, ScriptDocValues<?>> scriptFunction;
@@ -89,6 +95,7 @@ public class SortedSetOrdinalsIndexFieldData extends AbstractIndexOrdinalsFieldD
         Function<SortedSetDocValues, ScriptDocValues<?>> scriptFunction
     ) {
         super(fieldName, valuesSourceType, cache, breakerService, scriptFunction);
+        this.ordinalHashesFieldData = new OrdinalHashesFieldData();
     }
 
     @Override
@@ -126,6 +133,24 @@ public class SortedSetOrdinalsIndexFieldData extends AbstractIndexOrdinalsFieldD
         return load(context);
     }
 
+    @Override
+    public OrdinalHashes loadOrdinalHashes(LeafReaderContext context) {
+        if (cache instanceof IndexFieldDataCache.None || context.reader().getFieldInfos().fieldInfo(getFieldName()) == null) {
+            // without a cache the hashes would be computed again by every request, which is what the caller does anyway
+            return null;
+        }
+        try {
+            // the ordinals of this field data are read from doc values and never cached, so the hashes get the cache entry of the segment
+            return cache.load(context, ordinalHashesFieldData);
+        } catch (Exception e) {
+            if (e instanceof OpenSearchException) {
+                throw (OpenSearchException) e;
+            } else {
+                throw new OpenSearchException(e);
+            }
+        }
+    }
+
     @Override
     public OrdinalMap getOrdinalMap() {
         return null;
@@ -135,4 +160,42 @@ public class SortedSetOrdinalsIndexFieldData extends AbstractIndexOrdinalsFieldD
     public boolean supportsGlobalOrdinalsMapping() {
         return true;
     }
+
+    /**
+     * Loads the {@link OrdinalHashes} of the segments of this field for the {@link IndexFieldDataCache}.
+     */
+    private class OrdinalHashesFieldData implements IndexFieldData<OrdinalHashes> {
+
+        @Override
+        public String getFieldName() {
+            return SortedSetOrdinalsIndexFieldData.this.getFieldName();
+        }
+
+        @Override
+        public ValuesSourceType getValuesSourceType() {
+            return SortedSetOrdinalsIndexFieldData.this.getValuesSourceType();
+        }
+
+        @Override
+        public OrdinalHashes load(LeafReaderContext context) {
+            return loadOrdinalHashes(context);
+        }
+
+        @Override
+        public OrdinalHashes loadDirect(LeafReaderContext context) throws Exception {
+            final SortedSetDocValues values = DocValues.getSortedSet(context.reader(), getFieldName());
+            return OrdinalHashes.build(values, breakerService.getBreaker(CircuitBreaker.FIELDDATA), getFieldName());
+        }
+
+        @Override
+        public SortField sortField(@Nullable Object missingValue, MultiValueMode sortMode, Nested nested, boolean reverse) {
+            throw new UnsupportedOperationException("ordinal hashes can't be used for sorting");
+        }
+
+        @Override
+        public BucketedSort newBucketedSort(BigArrays bigArrays, Object missingValue, MultiValueMode sortMode, Nested nested,
+                SortOrder sortOrder, DocValueFormat format, int bucketSize, BucketedSort.ExtraData extra) {
+            throw new UnsupportedOperationException("ordinal hashes can't be used for sorting");
+        }
+    }
 }
@@ -38,6 +38,7 @@ import org.opensearch.index.Index;
 import org.opensearch.index.IndexService;
 import org.opensearch.index.IndexSettings;
 import org.opensearch.indices.cluster.IndicesClusterStateService.AllocatedIndices.IndexRemovalReason;
+import org.opensearch.indices.replication.ReplicationCheckpoint;
 
 /**
  * An index event listener is the primary extension point for plugins and build-in services
@@ -104,6 +105,14 @@ public interface IndexEventListener {
      */
     default void onShardInactive(IndexShard indexShard) {}
 
+    /**
+     * Called after the primary of an index that uses segment replication committed segments that its replicas should copy
+     *
+     * @param indexShard the primary shard that made the commit
+     * @param checkpoint the checkpoint of the commit
+     */
+    default void onNewReplicationCheckpoint(IndexShard indexShard, ReplicationCheckpoint checkpoint) {}
+
     /**
      * Called before the index gets created. Note that this is also called
      * when the index is created on data nodes
@@ -79,6 +79,7 @@ import org.opensearch.common.lease.Releasables;
 import org.opensearch.common.lucene.Lucene;
 import org.opensearch.common.lucene.index.OpenSearchDirectoryReader;
 import org.opensearch.common.metrics.CounterMetric;
+import org.opensearch.common.metrics.HistogramMetric;
 import org.opensearch.common.metrics.MeanMetric;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.ByteSizeValue;
@@ -107,6 +108,7 @@ import org.opensearch.index.engine.Engine.GetResult;
 import org.opensearch.index.engine.EngineConfig;
 import org.opensearch.index.engine.EngineException;
 import org.opensearch.index.engine.EngineFactory;
+import org.opensearch.index.engine.NRTReplicationEngine;
 import org.opensearch.index.engine.ReadOnlyEngine;
 import org.opensearch.index.engine.RefreshFailedEngineException;
 import org.opensearch.index.engine.SafeCommitInfo;
@@ -148,6 +150,7 @@ import org.opensearch.index.store.StoreStats;
 import org.opensearch.index.translog.Translog;
 import org.opensearch.index.translog.TranslogConfig;
 import org.opensearch.index.translog.TranslogStats;
+import org.opensearch.index.translog.TranslogSyncCoordinator;
 import org.opensearch.index.warmer.ShardIndexWarmerService;
 import org.opensearch.index.warmer.WarmerStats;
 import org.opensearch.indices.IndexingMemoryController;
@@ -155,10 +158,12 @@ import org.opensearch.indices.IndicesService;
 import org.opensearch.indices.TypeMissingException;
 import org.opensearch.indices.breaker.CircuitBreakerService;
 import org.opensearch.indices.cluster.IndicesClusterStateService;
+import org.opensearch.indices.recovery.MultiFileWriter;
 import org.opensearch.indices.recovery.PeerRecoveryTargetService;
 import org.opensearch.indices.recovery.RecoveryFailedException;
 import org.opensearch.indices.recovery.RecoveryState;
 import org.opensearch.indices.recovery.RecoveryTarget;
+import org.opensearch.indices.replication.ReplicationCheckpoint;
 import org.opensearch.repositories.RepositoriesService;
 import org.opensearch.repositories.Repository;
 import org.opensearch.rest.RestStatus;
@@ -238,6 +243,8 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
     private final Object engineMutex = new Object(); // lock ordering: engineMutex -> mutex
     private final AtomicReference<Engine> currentEngineReference = new AtomicReference<>();
     final EngineFactory engineFactory;
+    // the last commit copied from the primary when this shard is a replica of an index that uses segment replication
+    private volatile ReplicationCheckpoint latestReplicationCheckpoint;
 
     private final IndexingOperationListener indexingOperationListeners;
     private final Runnable globalCheckpointSyncer;
@@ -309,7 +316,8 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
             final List<IndexingOperationListener> listeners,
             final Runnable globalCheckpointSyncer,
             final RetentionLeaseSyncer retentionLeaseSyncer,
-            final CircuitBreakerService circuitBreakerService) throws IOException {
+            final CircuitBreakerService circuitBreakerService,
+            final @Nullable TranslogSyncCoordinator translogSyncCoordinator) throws IOException {
         super(shardRouting.shardId(), indexSettings);
         assert shardRouting.initializing();
         this.shardRouting = shardRouting;
@@ -323,7 +331,8 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         this.indexSortSupplier = indexSortSupplier;
         this.indexEventListener = indexEventListener;
         this.threadPool = threadPool;
-        this.translogSyncProcessor = createTranslogSyncProcessor(logger, threadPool.getThreadContext(), this::getEngine);
+        this.translogSyncProcessor = createTranslogSyncProcessor(logger, threadPool.getThreadContext(), this::getEngine,
+            translogSyncCoordinator, translogSyncBatchSizes);
         this.mapperService = mapperService;
         this.indexCache = indexCache;
         this.internalIndexingStats = new InternalIndexingStats();
@@ -573,6 +582,9 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
                                  * primary/replica re-sync completes successfully and we are now being promoted, we have to restore
                                  * the reverted operations on this shard by replaying the translog to avoid losing acknowledged writes.
                                  */
+                                if (indexSettings.isSegRepEnabled()) {
+                                    resetToWriteableEngine();
+                                }
                                 final Engine engine = getEngine();
                                 engine.restoreLocalHistoryFromTranslog((resettingEngine, snapshot) ->
                                     runTranslogRecovery(resettingEngine, snapshot, Engine.Operation.Origin.LOCAL_RESET, () -> {}));
@@ -766,6 +778,18 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
             ifPrimaryTerm, autoGeneratedTimestamp, isRetry, Engine.Operation.Origin.PRIMARY, sourceToParse);
     }
 
+    /**
+     * Looks up the versions of the documents with the given ids ahead of the operations of a bulk request on them, see
+     * {@link Engine#prefetchVersions(List)}.
+     */
+    public Releasable prefetchVersions(List<String> ids) throws IOException {
+        final List<Term> uids = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            uids.add(new Term(IdFieldMapper.NAME, Uid.encodeId(id)));
+        }
+        return getEngine().prefetchVersions(uids);
+    }
+
     public Engine.IndexResult applyIndexOperationOnReplica(long seqNo, long opPrimaryTerm, long version, long autoGeneratedTimeStamp,
         boolean isRetry, SourceToParse sourceToParse)
         throws IOException {
@@ -1082,7 +1106,11 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
     }
 
     public TranslogStats translogStats() {
-        return getEngine().getTranslogStats();
+        // engines may hand out a shared instance, so add the sync histograms of the shard to a copy
+        final TranslogStats translogStats = new TranslogStats();
+        translogStats.add(getEngine().getTranslogStats());
+        translogStats.addSyncStats(translogSyncBatchSizes.counts(), translogSyncWaitTimes.counts());
+        return translogStats;
     }
 
     public CompletionStats completionStats(String... fields) {
@@ -1115,9 +1143,72 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         final long time = System.nanoTime();
         final Engine.CommitId commitId = getEngine().flush(force, waitIfOngoing);
         flushMetric.inc(System.nanoTime() - time);
+        if (indexSettings.isSegRepEnabled() && shardRouting.primary() && state == IndexShardState.STARTED) {
+            publishReplicationCheckpoint();
+        }
         return commitId;
     }
 
+    private void publishReplicationCheckpoint() {
+        final ReplicationCheckpoint checkpoint;
+        try {
+            checkpoint = getLatestReplicationCheckpoint();
+        } catch (Exception e) {
+            logger.debug("failed to read the replication checkpoint of the last commit", e);
+            return;
+        }
+        indexEventListener.onNewReplicationCheckpoint(this, checkpoint);
+    }
+
+    /**
+     * Returns the checkpoint of the last commit of this shard, which is what the replicas of an index that uses segment replication
+     * copy from their primary.
+     */
+    public ReplicationCheckpoint getLatestReplicationCheckpoint() throws IOException {
+        try (Engine.IndexCommitRef commitRef = acquireLastIndexCommit(false)) {
+            return ReplicationCheckpoint.fromCommit(shardId, getOperationPrimaryTerm(), commitRef.getIndexCommit());
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if this shard is a started replica of an index that uses segment replication and has not copied
+     * the commit of the given checkpoint, or a more recent one, from its primary yet.
+     */
+    public boolean shouldProcessReplicationCheckpoint(ReplicationCheckpoint checkpoint) {
+        if (indexSettings.isSegRepEnabled() == false || shardRouting.primary() || state != IndexShardState.STARTED) {
+            return false;
+        }
+        return checkpoint.isAheadOf(latestReplicationCheckpoint);
+    }
+
+    /**
+     * Installs the commit of the given checkpoint, whose files were copied from the primary to temporary files of the given writer:
+     * renames them, deletes the files that the copied commit does not reference and opens its segments. The temporary files that
+     * were not renamed are deleted if the commit can't be installed.
+     */
+    public void finalizeReplication(ReplicationCheckpoint checkpoint, Store.MetadataSnapshot sourceMetadata,
+                                    MultiFileWriter multiFileWriter) throws IOException {
+        try {
+            verifyNotClosed();
+            synchronized (engineMutex) {
+                // the engine can't be swapped while its files are replaced, see #resetToWriteableEngine. Once promoted, the files
+                // belong to the IndexWriter of this shard and must not be overwritten by the ones copied from the old primary.
+                final Engine engine = getEngine();
+                if (engine instanceof NRTReplicationEngine == false) {
+                    throw new IllegalStateException("shard " + shardId + " does not copy the segments of its primary");
+                }
+                multiFileWriter.renameAllTempFiles();
+                store.cleanupAndVerify("segment replication", sourceMetadata);
+                ((NRTReplicationEngine) engine).openLatestCommit();
+            }
+        } catch (Exception e) {
+            // closing the writer deletes the temporary files it still holds
+            multiFileWriter.close();
+            throw e;
+        }
+        latestReplicationCheckpoint = checkpoint;
+    }
+
     /**
      * checks and removes translog files that no longer need to be retained. See
      * {@link org.opensearch.index.translog.TranslogDeletionPolicy} for details
@@ -1443,8 +1534,7 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         final Optional<SequenceNumbers.CommitInfo> safeCommit;
         final long globalCheckpoint;
         try {
-            final String translogUUID = store.readLastCommittedSegmentsInfo().getUserData().get(Translog.TRANSLOG_UUID_KEY);
-            globalCheckpoint = Translog.readGlobalCheckpoint(translogConfig.getTranslogPath(), translogUUID);
+            globalCheckpoint = Translog.readGlobalCheckpoint(translogConfig.getTranslogPath(), getTranslogUUIDOfStore());
             safeCommit = store.findSafeIndexCommit(globalCheckpoint);
         } catch (org.apache.lucene.index.IndexNotFoundException e) {
             logger.trace("skip local recovery as no index commit found");
@@ -1609,11 +1699,22 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         // we have to set it before we open an engine and recover from the translog because
         // acquiring a snapshot from the translog causes a sync which causes the global checkpoint to be pulled in,
         // and an engine can be forced to close in ctor which also causes the global checkpoint to be pulled in.
-        final String translogUUID = store.readLastCommittedSegmentsInfo().getUserData().get(Translog.TRANSLOG_UUID_KEY);
-        final long globalCheckpoint = Translog.readGlobalCheckpoint(translogConfig.getTranslogPath(), translogUUID);
+        final long globalCheckpoint = Translog.readGlobalCheckpoint(translogConfig.getTranslogPath(), getTranslogUUIDOfStore());
         replicationTracker.updateGlobalCheckpointOnReplica(globalCheckpoint, "read from translog checkpoint");
     }
 
+    /**
+     * Returns the UUID of the translog that belongs to the Lucene index of this shard. It is recorded in the last commit, except on
+     * the replicas of an index that uses segment replication: their commits are copied from the primary and record the translog of
+     * the primary, so the UUID is read from the translog of this shard itself.
+     */
+    public String getTranslogUUIDOfStore() throws IOException {
+        if (indexSettings.isSegRepEnabled() && shardRouting.primary() == false) {
+            return Translog.readTranslogUUID(translogConfig.getTranslogPath());
+        }
+        return store.readLastCommittedSegmentsInfo().getUserData().get(Translog.TRANSLOG_UUID_KEY);
+    }
+
     /**
      * opens the engine on top of the existing lucene engine and translog.
      * Operations from the translog will be replayed to bring lucene up to date.
@@ -1664,7 +1765,7 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
             assert currentEngineReference.get() == null : "engine is running";
             verifyNotClosed();
             // we must create a new engine under mutex (see IndexShard#snapshotStoreMetadata).
-            final Engine newEngine = engineFactory.newReadWriteEngine(config);
+            final Engine newEngine = newEngine(config);
             onNewEngine(newEngine);
             currentEngineReference.set(newEngine);
             // We set active because we are now writing operations to the engine; this way,
@@ -1691,9 +1792,52 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         return true;
     }
 
+    /**
+     * The replicas of an index that uses segment replication don't index operations, they copy the segments of their primary.
+     */
+    private Engine newEngine(EngineConfig config) {
+        if (indexSettings.isSegRepEnabled() && shardRouting.primary() == false) {
+            return new NRTReplicationEngine(config);
+        }
+        return engineFactory.newReadWriteEngine(config);
+    }
+
+    /**
+     * Replaces the engine of a promoted replica of an index that uses segment replication by a writeable engine, which indexes
+     * the operations of the translog that are not contained in the last commit copied from the previous primary.
+     */
+    private void resetToWriteableEngine() throws IOException {
+        assert indexSettings.isSegRepEnabled() && shardRouting.primary() : "only a promoted segment replication replica is reset";
+        final Engine newEngine;
+        synchronized (engineMutex) {
+            verifyNotClosed();
+            final Engine currentEngine = getEngine();
+            if (currentEngine instanceof NRTReplicationEngine == false) {
+                return;
+            }
+            currentEngine.syncTranslog();
+            IOUtils.close(currentEngineReference.getAndSet(null));
+            // the files of the store now belong to this shard, so its last commit can record the translog of this shard
+            final String translogUUID = Translog.readTranslogUUID(translogConfig.getTranslogPath());
+            if (translogUUID.equals(store.readLastCommittedSegmentsInfo().getUserData().get(Translog.TRANSLOG_UUID_KEY)) == false) {
+                store.associateIndexWithNewTranslog(translogUUID);
+            }
+            newEngine = engineFactory.newReadWriteEngine(newEngineConfig(replicationTracker));
+            onNewEngine(newEngine);
+            currentEngineReference.set(newEngine);
+        }
+        newEngine.recoverFromTranslog((engine, snapshot) -> runTranslogRecovery(engine, snapshot,
+            Engine.Operation.Origin.LOCAL_RESET, () -> {}), Long.MAX_VALUE);
+        newEngine.refresh("promotion");
+        latestReplicationCheckpoint = null;
+        onSettingsChanged();
+    }
+
     private void onNewEngine(Engine newEngine) {
         assert Thread.holdsLock(engineMutex);
         refreshListeners.setCurrentRefreshLocationSupplier(newEngine::getTranslogLastWriteLocation);
+        // the operations of a segment replication replica only become visible when it copies a commit of its primary
+        refreshListeners.setForcedRefreshMakesOperationsVisible(newEngine instanceof NRTReplicationEngine == false);
     }
 
     /**
@@ -3109,18 +3253,33 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         return indexShardOperationPermits.getActiveOperations();
     }
 
+    private final HistogramMetric translogSyncBatchSizes = new HistogramMetric(TranslogStats.SYNC_BATCH_SIZE_BOUNDS);
+    private final HistogramMetric translogSyncWaitTimes = new HistogramMetric(TranslogStats.SYNC_WAIT_TIME_BOUNDS_MILLIS);
     private final AsyncIOProcessor<Translog.Location> translogSyncProcessor;
 
     private static AsyncIOProcessor<Translog.Location> createTranslogSyncProcessor(Logger logger, ThreadContext threadContext,
-                                                                                   Supplier<Engine> engineSupplier) {
+                                                                                   Supplier<Engine> engineSupplier,
+                                                                                   @Nullable TranslogSyncCoordinator coordinator,
+                                                                                   HistogramMetric batchSizes) {
         return new AsyncIOProcessor<Translog.Location>(logger, 1024, threadContext) {
             @Override
             protected void write(List<Tuple<Translog.Location, Consumer<Exception>>> candidates) throws IOException {
+                final CheckedRunnable<IOException> fsync = () -> {
+                    try {
+                        engineSupplier.get().ensureTranslogSynced(candidates.stream().map(Tuple::v1));
+                    } catch (AlreadyClosedException ex) {
+                        // that's fine since we already synced everything on engine close - this also is conform with the methods
+                        // documentation
+                    }
+                };
                 try {
-                    engineSupplier.get().ensureTranslogSynced(candidates.stream().map(Tuple::v1));
-                } catch (AlreadyClosedException ex) {
-                    // that's fine since we already synced everything on engine close - this also is conform with the methods
-                    // documentation
+                    if (coordinator == null) {
+                        fsync.run();
+                        batchSizes.inc(candidates.size());
+                    } else {
+                        // the fsync runs in a round with the pending fsyncs of the other shards of the node
+                        batchSizes.inc(coordinator.sync(candidates.size(), fsync));
+                    }
                 } catch (IOException ex) { // if this fails we are in deep shit - fail the request
                     logger.debug("failed to sync translog", ex);
                     throw ex;
@@ -3140,7 +3299,11 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
      */
     public final void sync(Translog.Location location, Consumer<Exception> syncListener) {
         verifyNotClosed();
-        translogSyncProcessor.put(location, syncListener);
+        final long startTimeNanos = System.nanoTime();
+        translogSyncProcessor.put(location, e -> {
+            translogSyncWaitTimes.inc(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTimeNanos));
+            syncListener.accept(e);
+        });
     }
 
     public void sync() throws IOException {
@@ -3513,7 +3676,7 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
                     }
                 };
             IOUtils.close(currentEngineReference.getAndSet(readOnlyEngine));
-            newEngineReference.set(engineFactory.newReadWriteEngine(newEngineConfig(replicationTracker)));
+            newEngineReference.set(newEngine(newEngineConfig(replicationTracker)));
             onNewEngine(newEngineReference.get());
         }
         final Engine.TranslogRecoveryRunner translogRunner = (engine, snapshot) -> runTranslogRecovery(
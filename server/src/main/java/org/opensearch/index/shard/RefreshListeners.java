@@ -92,6 +92,11 @@ public final class RefreshListeners implements ReferenceManager.RefreshListener,
      * The translog location that was last made visible by a refresh.
      */
     private volatile Translog.Location lastRefreshedLocation;
+    /**
+     * Whether forcing a refresh makes all the operations of the translog visible. It does not on the replicas of an index that uses
+     * segment replication, where listeners always wait for their location to become visible instead.
+     */
+    private volatile boolean forcedRefreshMakesOperationsVisible = true;
 
     public RefreshListeners(
         final IntSupplier getMaxRefreshListeners,
@@ -129,13 +134,13 @@ public final class RefreshListeners implements ReferenceManager.RefreshListener,
                 throw e;
             }
         }
-        assert refreshListeners == null;
+        assert refreshListeners == null || forcedRefreshMakesOperationsVisible == false;
         return () -> runOnce.run();
     }
 
     /**
      * Add a listener for refreshes, calling it immediately if the location is already visible. If this runs out of listener slots then it
-     * forces a refresh and calls the listener immediately as well.
+     * forces a refresh and calls the listener immediately as well, unless a forced refresh would not make the location visible.
      *
      * @param location the location to listen for
      * @param listener for the refresh. Called with true if registering the listener ran it out of slots and forced a refresh. Called with
@@ -157,7 +162,8 @@ public final class RefreshListeners implements ReferenceManager.RefreshListener,
             }
             List<Tuple<Translog.Location, Consumer<Boolean>>> listeners = refreshListeners;
             final int maxRefreshes = getMaxRefreshListeners.getAsInt();
-            if (refreshForcers == 0 && maxRefreshes > 0 && (listeners == null || listeners.size() < maxRefreshes)) {
+            final boolean freeSlot = refreshForcers == 0 && maxRefreshes > 0 && (listeners == null || listeners.size() < maxRefreshes);
+            if (freeSlot || forcedRefreshMakesOperationsVisible == false) {
                 ThreadContext.StoredContext storedContext = threadContext.newStoredContext(true);
                 Consumer<Boolean> contextPreservingListener = forced -> {
                     try (ThreadContext.StoredContext ignore = threadContext.stashContext()) {
@@ -217,6 +223,13 @@ public final class RefreshListeners implements ReferenceManager.RefreshListener,
         this.currentRefreshLocationSupplier = currentRefreshLocationSupplier;
     }
 
+    /**
+     * Sets whether forcing a refresh makes all the operations of the translog visible, see {@link #forcedRefreshMakesOperationsVisible}.
+     */
+    public void setForcedRefreshMakesOperationsVisible(boolean forcedRefreshMakesOperationsVisible) {
+        this.forcedRefreshMakesOperationsVisible = forcedRefreshMakesOperationsVisible;
+    }
+
     /**
      * Snapshot of the translog location before the current refresh if there is a refresh going on or null. Doesn't have to be volatile
      * because when it is used by the refreshing thread.
@@ -1831,6 +1831,28 @@ public class Translog extends AbstractIndexShardComponent implements IndexShardC
         return checkpoint;
     }
 
+    /**
+     * Reads the UUID of the translog at the given location from the header of its current generation. The replicas of an index that
+     * uses segment replication find their translog this way, because the commits that they copy from their primary record the UUID
+     * of the translog of the primary.
+     *
+     * @param location the location of the translog
+     * @return the UUID of the translog
+     * @throws IOException                if an I/O exception occurred reading the checkpoint
+     * @throws TranslogCorruptedException if the translog is corrupted
+     */
+    public static String readTranslogUUID(final Path location) throws IOException {
+        final Checkpoint checkpoint = readCheckpoint(location);
+        final Path translogFile = location.resolve(getFilename(checkpoint.generation));
+        try (FileChannel channel = FileChannel.open(translogFile, StandardOpenOption.READ)) {
+            return TranslogHeader.read(translogFile, channel).getTranslogUUID();
+        } catch (TranslogCorruptedException ex) {
+            throw ex; // just bubble up.
+        } catch (Exception ex) {
+            throw new TranslogCorruptedException(location.toString(), ex);
+        }
+    }
+
     /**
      * Returns the minimum translog generation retained by the translog at the given location.
      * This ensures that the translogUUID from this translog matches with the provided translogUUID.
@@ -32,6 +32,7 @@
 package org.opensearch.index.translog;
 
 import org.opensearch.LegacyESVersion;
+import org.opensearch.Version;
 import org.opensearch.common.Strings;
 import org.opensearch.common.io.stream.StreamInput;
 import org.opensearch.common.io.stream.StreamOutput;
@@ -49,6 +50,22 @@ public class TranslogStats implements Writeable, ToXContentFragment {
     private long uncommittedSizeInBytes;
     private int  uncommittedOperations;
     private long earliestLastModifiedAge;
+    // the number of sync requests acknowledged by the fsync rounds, see SYNC_BATCH_SIZE_BOUNDS
+    private long[] syncBatchSizes = new long[SYNC_BATCH_SIZE_BOUNDS.length + 1];
+    // the time requests with request durability waited for their fsync, see SYNC_WAIT_TIME_BOUNDS_MILLIS
+    private long[] syncWaitTimes = new long[SYNC_WAIT_TIME_BOUNDS_MILLIS.length + 1];
+
+    /**
+     * The inclusive upper bounds of the buckets of the histogram of the number of sync requests that fsync rounds acknowledged
+     * together, the last bucket counts the larger rounds.
+     */
+    public static final long[] SYNC_BATCH_SIZE_BOUNDS = new long[] { 1, 2, 4, 8, 16, 32, 64, 128, 256, 512, 1024 };
+
+    /**
+     * The inclusive upper bounds, in milliseconds, of the buckets of the histogram of the time that requests with request durability
+     * waited for their fsync, the last bucket counts the longer waits.
+     */
+    public static final long[] SYNC_WAIT_TIME_BOUNDS_MILLIS = new long[] { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000 };
 
     public TranslogStats() {
     }
@@ -66,6 +83,10 @@ public class TranslogStats implements Writeable, ToXContentFragment {
         if (in.getVersion().onOrAfter(LegacyESVersion.V_6_3_0)) {
             earliestLastModifiedAge = in.readVLong();
         }
+        if (in.getVersion().onOrAfter(Version.V_1_0_0)) {
+            syncBatchSizes = in.readVLongArray();
+            syncWaitTimes = in.readVLongArray();
+        }
     }
 
     public TranslogStats(int numberOfOperations, long translogSizeInBytes, int uncommittedOperations, long uncommittedSizeInBytes,
@@ -107,6 +128,26 @@ public class TranslogStats implements Writeable, ToXContentFragment {
             this.earliestLastModifiedAge =
                 Math.min(this.earliestLastModifiedAge, translogStats.earliestLastModifiedAge);
         }
+        addSyncStats(translogStats.syncBatchSizes, translogStats.syncWaitTimes);
+    }
+
+    /**
+     * Adds the histograms of the fsyncs performed for requests with request durability.
+     *
+     * @param syncBatchSizes the counts of the fsync rounds by number of acknowledged requests, see {@link #SYNC_BATCH_SIZE_BOUNDS}
+     * @param syncWaitTimes  the counts of the requests by time waited for their fsync, see {@link #SYNC_WAIT_TIME_BOUNDS_MILLIS}
+     */
+    public void addSyncStats(long[] syncBatchSizes, long[] syncWaitTimes) {
+        if (syncBatchSizes.length != this.syncBatchSizes.length || syncWaitTimes.length != this.syncWaitTimes.length) {
+            throw new IllegalArgumentException("expected [" + this.syncBatchSizes.length + "] batch size and [" + this.syncWaitTimes.length
+                + "] wait time buckets but got [" + syncBatchSizes.length + "] and [" + syncWaitTimes.length + "]");
+        }
+        for (int i = 0; i < syncBatchSizes.length; i++) {
+            this.syncBatchSizes[i] += syncBatchSizes[i];
+        }
+        for (int i = 0; i < syncWaitTimes.length; i++) {
+            this.syncWaitTimes[i] += syncWaitTimes[i];
+        }
     }
 
     public long getTranslogSizeInBytes() {
@@ -129,6 +170,16 @@ public class TranslogStats implements Writeable, ToXContentFragment {
 
     public long getEarliestLastModifiedAge() { return earliestLastModifiedAge; }
 
+    /** the counts of the fsync rounds by number of sync requests they acknowledged, bucketed by {@link #SYNC_BATCH_SIZE_BOUNDS} */
+    public long[] getSyncBatchSizes() {
+        return syncBatchSizes.clone();
+    }
+
+    /** the counts of the sync requests by time waited for their fsync, bucketed by {@link #SYNC_WAIT_TIME_BOUNDS_MILLIS} */
+    public long[] getSyncWaitTimes() {
+        return syncWaitTimes.clone();
+    }
+
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         builder.startObject("translog");
@@ -137,10 +188,29 @@ public class TranslogStats implements Writeable, ToXContentFragment {
         builder.field("uncommitted_operations", uncommittedOperations);
         builder.humanReadableField("uncommitted_size_in_bytes", "uncommitted_size", new ByteSizeValue(uncommittedSizeInBytes));
         builder.field("earliest_last_modified_age", earliestLastModifiedAge);
+        builder.startObject("sync");
+        histogramToXContent(builder, "batch_size", SYNC_BATCH_SIZE_BOUNDS, syncBatchSizes);
+        histogramToXContent(builder, "wait_time_in_millis", SYNC_WAIT_TIME_BOUNDS_MILLIS, syncWaitTimes);
+        builder.endObject();
         builder.endObject();
         return builder;
     }
 
+    private static void histogramToXContent(XContentBuilder builder, String name, long[] bounds, long[] counts) throws IOException {
+        builder.startArray(name);
+        for (int i = 0; i < counts.length; i++) {
+            builder.startObject();
+            if (i < bounds.length) {
+                builder.field("le", bounds[i]);
+            } else {
+                builder.field("gt", bounds[bounds.length - 1]);
+            }
+            builder.field("count", counts[i]);
+            builder.endObject();
+        }
+        builder.endArray();
+    }
+
     @Override
     public String toString() {
         return Strings.toString(this, true, true);
@@ -157,5 +227,9 @@ public class TranslogStats implements Writeable, ToXContentFragment {
         if (out.getVersion().onOrAfter(LegacyESVersion.V_6_3_0)) {
             out.writeVLong(earliestLastModifiedAge);
         }
+        if (out.getVersion().onOrAfter(Version.V_1_0_0)) {
+            out.writeVLongArray(syncBatchSizes);
+            out.writeVLongArray(syncWaitTimes);
+        }
     }
 }
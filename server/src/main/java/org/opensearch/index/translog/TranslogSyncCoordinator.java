@@ -0,0 +1,106 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.index.translog;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.common.CheckedRunnable;
+import org.opensearch.common.collect.Tuple;
+import org.opensearch.common.settings.Setting;
+import org.opensearch.common.util.concurrent.AsyncIOProcessor;
+import org.opensearch.common.util.concurrent.ThreadContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+/**
+ * Groups the translog fsyncs of the shards of a node into rounds. Each shard already batches the sync requests of its own writes; with
+ * this coordinator the shard that takes the lead runs the pending fsyncs of every other shard in the same round, so that the shards of
+ * a node that index concurrently with request durability do not each wait for their own turn on the disk.
+ */
+public class TranslogSyncCoordinator {
+
+    private static final Logger logger = LogManager.getLogger(TranslogSyncCoordinator.class);
+
+    public static final Setting<Boolean> SYNC_COORDINATOR_ENABLED_SETTING =
+        Setting.boolSetting("indices.translog.sync_coordinator.enabled", false, Setting.Property.NodeScope);
+
+    private final AsyncIOProcessor<SyncTask> processor;
+
+    public TranslogSyncCoordinator(ThreadContext threadContext) {
+        this.processor = new AsyncIOProcessor<SyncTask>(logger, 1024, threadContext) {
+            @Override
+            protected void write(List<Tuple<SyncTask, Consumer<Exception>>> candidates) {
+                int roundRequests = 0;
+                for (Tuple<SyncTask, Consumer<Exception>> candidate : candidates) {
+                    roundRequests += candidate.v1().requests;
+                }
+                for (Tuple<SyncTask, Consumer<Exception>> candidate : candidates) {
+                    final SyncTask task = candidate.v1();
+                    task.roundRequests = roundRequests;
+                    try {
+                        task.fsync.run();
+                    } catch (Exception e) {
+                        // a failing shard must not fail the fsyncs of the other shards of the round
+                        task.failure = e;
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Runs the given fsync in the next round of the node and blocks until that round completed.
+     *
+     * @param requests the number of sync requests of the shard that the fsync acknowledges
+     * @param fsync    the fsync of the translog of the shard
+     * @return the number of sync requests, across all the shards of the round, that the round acknowledged
+     */
+    public int sync(int requests, CheckedRunnable<IOException> fsync) throws IOException {
+        final SyncTask task = new SyncTask(requests, fsync);
+        final CountDownLatch latch = new CountDownLatch(1);
+        processor.put(task, e -> {
+            if (e != null) {
+                task.failure = e;
+            }
+            latch.countDown();
+        });
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for the translog sync round", e);
+        }
+        final Exception failure = task.failure;
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        } else if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure != null) {
+            throw new UncheckedIOException(new IOException("translog sync round failed", failure));
+        }
+        return task.roundRequests;
+    }
+
+    private static final class SyncTask {
+        private final int requests;
+        private final CheckedRunnable<IOException> fsync;
+        // written by the thread that runs the round and read by the waiting thread after the latch released it
+        private volatile Exception failure;
+        private volatile int roundRequests;
+
+        private SyncTask(int requests, CheckedRunnable<IOException> fsync) {
+            this.requests = requests;
+            this.fsync = fsync;
+        }
+    }
+}
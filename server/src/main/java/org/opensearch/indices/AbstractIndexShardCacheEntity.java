@@ -64,7 +64,24 @@ abstract class AbstractIndexShardCacheEntity implements IndicesRequestCache.Cach
 
     @Override
     public final void onRemoval(RemovalNotification<IndicesRequestCache.Key, BytesReference> notification) {
+        // expired entries are reported as evicted too
         stats().onRemoval(notification.getKey(), notification.getValue(),
-                notification.getRemovalReason() == RemovalNotification.RemovalReason.EVICTED);
+                notification.getRemovalReason() == RemovalNotification.RemovalReason.EVICTED
+                    || notification.getRemovalReason() == RemovalNotification.RemovalReason.EXPIRED);
+    }
+
+    @Override
+    public final void onOffHeapHit() {
+        stats().onOffHeapHit();
+    }
+
+    @Override
+    public final void onOffHeapCached(long sizeInBytes) {
+        stats().onOffHeapCached(sizeInBytes);
+    }
+
+    @Override
+    public final void onOffHeapRemoval(long sizeInBytes, boolean evicted) {
+        stats().onOffHeapRemoval(sizeInBytes, evicted);
     }
 }
@@ -0,0 +1,181 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.indices;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.util.Accountable;
+import org.apache.lucene.util.RamUsageEstimator;
+import org.opensearch.common.Nullable;
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.cache.Cache;
+import org.opensearch.common.cache.CacheBuilder;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.NamedWriteableAwareStreamInput;
+import org.opensearch.common.io.stream.NamedWriteableRegistry;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.settings.Setting;
+import org.opensearch.common.settings.Setting.Property;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.ByteSizeValue;
+import org.opensearch.common.util.concurrent.ConcurrentCollections;
+import org.opensearch.search.aggregations.AggregationBuilder;
+import org.opensearch.search.aggregations.InternalAggregation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The indices aggregation cache caches the results of top level aggregations per segment, so that an aggregation only needs
+ * to collect the segments that were created or changed since it last ran with the same query.
+ * <p>
+ * Entries are keyed by the cache key of the segment reader, which changes when documents of the segment are deleted, the
+ * query that selects the documents to aggregate and the aggregation itself. Results are stored serialized, which makes their
+ * size known and lets every hit build its own copy of the result. Entries of closed segment readers are removed by the
+ * periodic cache cleaner.
+ */
+public final class IndicesAggregationCache implements Closeable {
+
+    /**
+     * A setting to enable or disable the caching of per segment aggregation results on an index level.
+     */
+    public static final Setting<Boolean> INDEX_CACHE_AGGREGATIONS_ENABLED_SETTING =
+        Setting.boolSetting("index.aggregations.segment_cache.enable", false, Property.Dynamic, Property.IndexScope);
+    public static final Setting<ByteSizeValue> INDICES_CACHE_AGGREGATIONS_SIZE =
+        Setting.memorySizeSetting("indices.aggregations.segment_cache.size", "1%", Property.NodeScope);
+
+    /**
+     * Rough size of an aggregation tree in a key, the aggregation is only referenced by the key.
+     */
+    private static final long AGGREGATION_BYTES_ESTIMATE = 1024;
+
+    private final ConcurrentMap<IndexReader.CacheKey, Boolean> registeredClosedListeners = ConcurrentCollections.newConcurrentMap();
+    private final Set<IndexReader.CacheKey> keysToClean = ConcurrentCollections.newConcurrentSet();
+    private final NamedWriteableRegistry namedWriteableRegistry;
+    private final Cache<Key, BytesReference> cache;
+
+    public IndicesAggregationCache(Settings settings, NamedWriteableRegistry namedWriteableRegistry) {
+        this.namedWriteableRegistry = namedWriteableRegistry;
+        this.cache = CacheBuilder.<Key, BytesReference>builder()
+            .setMaximumWeight(INDICES_CACHE_AGGREGATIONS_SIZE.get(settings).getBytes())
+            .weigher((k, v) -> k.ramBytesUsed() + v.ramBytesUsed())
+            .build();
+    }
+
+    /**
+     * Returns the cached result of the aggregation on the segment, or {@code null} if it is not cached.
+     */
+    @Nullable
+    public InternalAggregation get(IndexReader.CacheHelper segment, Query query, AggregationBuilder aggregation) {
+        final BytesReference value = cache.get(new Key(segment.getKey(), query, aggregation));
+        if (value == null) {
+            return null;
+        }
+        try (StreamInput in = new NamedWriteableAwareStreamInput(value.streamInput(), namedWriteableRegistry)) {
+            return in.readNamedWriteable(InternalAggregation.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Caches the result of the aggregation on the segment.
+     */
+    public void put(IndexReader.CacheHelper segment, Query query, AggregationBuilder aggregation, InternalAggregation result) {
+        final BytesReference value;
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            out.writeNamedWriteable(result);
+            value = out.bytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final IndexReader.CacheKey readerCacheKey = segment.getKey();
+        cache.put(new Key(readerCacheKey, query, aggregation), value);
+        // see if its the first time we see this segment, and make sure to register a cleanup key
+        if (registeredClosedListeners.putIfAbsent(readerCacheKey, Boolean.TRUE) == null) {
+            segment.addClosedListener(key -> {
+                if (registeredClosedListeners.remove(key) != null) {
+                    keysToClean.add(key);
+                }
+            });
+        }
+    }
+
+    /**
+     * The number of cached results.
+     */
+    public int count() {
+        return cache.count();
+    }
+
+    synchronized void cleanCache() {
+        if (keysToClean.isEmpty() == false) {
+            final Set<IndexReader.CacheKey> currentKeysToClean = new HashSet<>();
+            for (Iterator<IndexReader.CacheKey> iterator = keysToClean.iterator(); iterator.hasNext(); ) {
+                currentKeysToClean.add(iterator.next());
+                iterator.remove();
+            }
+            for (Iterator<Key> iterator = cache.keys().iterator(); iterator.hasNext(); ) {
+                if (currentKeysToClean.contains(iterator.next().readerCacheKey)) {
+                    iterator.remove();
+                }
+            }
+        }
+        cache.refresh();
+    }
+
+    @Override
+    public void close() {
+        cache.invalidateAll();
+    }
+
+    static final class Key implements Accountable {
+        private static final long BASE_RAM_BYTES_USED = RamUsageEstimator.shallowSizeOfInstance(Key.class);
+
+        final IndexReader.CacheKey readerCacheKey;
+        final Query query;
+        final AggregationBuilder aggregation;
+
+        Key(IndexReader.CacheKey readerCacheKey, Query query, AggregationBuilder aggregation) {
+            this.readerCacheKey = Objects.requireNonNull(readerCacheKey);
+            this.query = Objects.requireNonNull(query);
+            this.aggregation = Objects.requireNonNull(aggregation);
+        }
+
+        @Override
+        public long ramBytesUsed() {
+            final long queryBytes = query instanceof Accountable
+                ? ((Accountable) query).ramBytesUsed()
+                : RamUsageEstimator.QUERY_DEFAULT_RAM_BYTES_USED;
+            return BASE_RAM_BYTES_USED + queryBytes + AGGREGATION_BYTES_ESTIMATE;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return readerCacheKey.equals(key.readerCacheKey) && query.equals(key.query) && aggregation.equals(key.aggregation);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = readerCacheKey.hashCode();
+            result = 31 * result + query.hashCode();
+            result = 31 * result + aggregation.hashCode();
+            return result;
+        }
+    }
+}
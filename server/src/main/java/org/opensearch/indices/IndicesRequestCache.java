@@ -39,14 +39,17 @@ import org.apache.logging.log4j.Logger;
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.util.Accountable;
+import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.RamUsageEstimator;
 import org.opensearch.common.CheckedSupplier;
+import org.opensearch.common.bytes.BytesArray;
 import org.opensearch.common.bytes.BytesReference;
 import org.opensearch.common.cache.Cache;
 import org.opensearch.common.cache.CacheBuilder;
 import org.opensearch.common.cache.CacheLoader;
 import org.opensearch.common.cache.RemovalListener;
 import org.opensearch.common.cache.RemovalNotification;
+import org.opensearch.common.collect.Tuple;
 import org.opensearch.common.lucene.index.OpenSearchDirectoryReader;
 import org.opensearch.common.settings.Setting;
 import org.opensearch.common.settings.Setting.Property;
@@ -57,10 +60,13 @@ import org.opensearch.common.util.concurrent.ConcurrentCollections;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 
@@ -74,6 +80,11 @@ import java.util.concurrent.ConcurrentMap;
  * Currently, the cache is only enabled for count requests, and can only be opted in on an index
  * level setting that can be dynamically changed and defaults to false.
  * <p>
+ * The cache can optionally be backed by a second, off-heap tier (see {@link #INDICES_CACHE_QUERY_OFF_HEAP_SIZE}).
+ * Entries that are evicted from the on-heap tier because of its size are demoted to the off-heap tier, and are
+ * promoted back to the on-heap tier on their next hit. Both tiers are cleaned up when readers are closed. The off-heap
+ * tier copies values into pages of direct memory that are allocated up to its size and then recycled.
+ * <p>
  * There are still several TODOs left in this class, some easily addressable, some more complex, but the support
  * is functional.
  */
@@ -91,12 +102,23 @@ public final class IndicesRequestCache implements RemovalListener<IndicesRequest
         Setting.memorySizeSetting("indices.requests.cache.size", "1%", Property.NodeScope);
     public static final Setting<TimeValue> INDICES_CACHE_QUERY_EXPIRE =
         Setting.positiveTimeSetting("indices.requests.cache.expire", new TimeValue(0), Property.NodeScope);
+    /**
+     * The size of the off-heap tier of the cache, which holds the entries evicted from the on-heap tier. This bounds the
+     * direct memory that the tier allocates. The off-heap tier is disabled when this is set to zero, which is the default.
+     */
+    public static final Setting<ByteSizeValue> INDICES_CACHE_QUERY_OFF_HEAP_SIZE =
+        Setting.byteSizeSetting("indices.requests.cache.off_heap.size", ByteSizeValue.ZERO, Property.NodeScope);
 
     private final ConcurrentMap<CleanupKey, Boolean> registeredClosedListeners = ConcurrentCollections.newConcurrentMap();
     private final Set<CleanupKey> keysToClean = ConcurrentCollections.newConcurrentSet();
     private final ByteSizeValue size;
     private final TimeValue expire;
     private final Cache<Key, BytesReference> cache;
+    // null if the off-heap tier is disabled
+    private final Cache<Key, OffHeapBytes> offHeapCache;
+    private final OffHeapPages offHeapPages;
+    // entries evicted from the on-heap tier, which are copied to the off-heap tier once the lock of the on-heap tier is released
+    private final Queue<Tuple<Key, BytesReference>> pendingDemotions = ConcurrentCollections.newQueue();
 
     IndicesRequestCache(Settings settings) {
         this.size = INDICES_CACHE_QUERY_SIZE.get(settings);
@@ -108,11 +130,36 @@ public final class IndicesRequestCache implements RemovalListener<IndicesRequest
             cacheBuilder.setExpireAfterAccess(expire);
         }
         cache = cacheBuilder.build();
+        int offHeapPageCount = Math.toIntExact(INDICES_CACHE_QUERY_OFF_HEAP_SIZE.get(settings).getBytes() / OffHeapPages.PAGE_SIZE);
+        if (offHeapPageCount > 0) {
+            offHeapPages = new OffHeapPages(offHeapPageCount);
+            // the weight of the tier never exceeds the pages of the pool, so evicting entries always frees enough pages for a new one
+            CacheBuilder<Key, OffHeapBytes> offHeapCacheBuilder = CacheBuilder.<Key, OffHeapBytes>builder()
+                .setMaximumWeight(offHeapPages.sizeInBytes()).weigher((k, v) -> v.sizeInBytes())
+                .removalListener(notification -> {
+                    if (notification.getValue().release()) {
+                        notification.getKey().entity.onOffHeapRemoval(notification.getValue().sizeInBytes(),
+                            notification.getRemovalReason() == RemovalNotification.RemovalReason.EVICTED
+                                || notification.getRemovalReason() == RemovalNotification.RemovalReason.EXPIRED);
+                    }
+                });
+            if (expire != null) {
+                offHeapCacheBuilder.setExpireAfterAccess(expire);
+            }
+            offHeapCache = offHeapCacheBuilder.build();
+        } else {
+            offHeapPages = null;
+            offHeapCache = null;
+        }
     }
 
     @Override
     public void close() {
         cache.invalidateAll();
+        pendingDemotions.clear();
+        if (offHeapCache != null) {
+            offHeapCache.invalidateAll();
+        }
     }
 
     void clear(CacheEntity entity) {
@@ -122,7 +169,40 @@ public final class IndicesRequestCache implements RemovalListener<IndicesRequest
 
     @Override
     public void onRemoval(RemovalNotification<Key, BytesReference> notification) {
-        notification.getKey().entity.onRemoval(notification);
+        final Key key = notification.getKey();
+        key.entity.onRemoval(notification);
+        // expired entries are stale, only the ones that made room for others are worth keeping
+        if (offHeapCache != null
+            && notification.getRemovalReason() == RemovalNotification.RemovalReason.EVICTED
+            && key.entity.isOpen()) {
+            // this runs under the lock of the on-heap tier, the copy is made by #demotePendingEntries
+            pendingDemotions.add(new Tuple<>(key, notification.getValue()));
+        }
+    }
+
+    /**
+     * Copies the entries that were evicted from the on-heap tier to the off-heap tier. Called once the lock of the on-heap
+     * tier is released, by the thread whose request or cleanup evicted them.
+     */
+    private void demotePendingEntries() {
+        Tuple<Key, BytesReference> entry;
+        while ((entry = pendingDemotions.poll()) != null) {
+            final Key key = entry.v1();
+            if (key.entity.isOpen() == false) {
+                continue;
+            }
+            final OffHeapBytes value = new OffHeapBytes(offHeapPages, entry.v2().length());
+            if (value.sizeInBytes() > offHeapPages.sizeInBytes()) {
+                continue;
+            }
+            // putting the entry evicts the least recently used ones, whose pages are then free to hold the copy
+            offHeapCache.put(key, value);
+            if (value.copyFrom(entry.v2())) {
+                key.entity.onOffHeapCached(value.sizeInBytes());
+            } else {
+                offHeapCache.invalidate(key, value);
+            }
+        }
     }
 
     BytesReference getOrCompute(CacheEntity cacheEntity, CheckedSupplier<BytesReference, IOException> loader,
@@ -130,9 +210,18 @@ public final class IndicesRequestCache implements RemovalListener<IndicesRequest
         assert reader.getReaderCacheHelper() != null;
         final Key key =  new Key(cacheEntity, reader.getReaderCacheHelper().getKey(), cacheKey);
         Loader cacheLoader = new Loader(cacheEntity, loader);
-        BytesReference value = cache.computeIfAbsent(key, cacheLoader);
-        if (cacheLoader.isLoaded()) {
-            key.entity.onMiss();
+        BytesReference value;
+        try {
+            value = cache.computeIfAbsent(key, cacheLoader);
+        } finally {
+            demotePendingEntries();
+        }
+        if (cacheLoader.isLoaded() || cacheLoader.isPromoted()) {
+            if (cacheLoader.isPromoted()) {
+                key.entity.onOffHeapHit();
+            } else {
+                key.entity.onMiss();
+            }
             // see if its the first time we see this reader, and make sure to register a cleanup key
             CleanupKey cleanupKey = new CleanupKey(cacheEntity, reader.getReaderCacheHelper().getKey());
             if (!registeredClosedListeners.containsKey(cleanupKey)) {
@@ -155,14 +244,37 @@ public final class IndicesRequestCache implements RemovalListener<IndicesRequest
      */
     void invalidate(CacheEntity cacheEntity, DirectoryReader reader, BytesReference cacheKey) {
         assert reader.getReaderCacheHelper() != null;
-        cache.invalidate(new Key(cacheEntity, reader.getReaderCacheHelper().getKey(), cacheKey));
+        final Key key = new Key(cacheEntity, reader.getReaderCacheHelper().getKey(), cacheKey);
+        cache.invalidate(key);
+        if (offHeapCache != null) {
+            offHeapCache.invalidate(key);
+        }
+    }
+
+    /**
+     * Removes the entry associated with the given key from the off-heap tier and returns a heap copy of its value, or
+     * <code>null</code> if the off-heap tier is disabled or does not hold the key.
+     */
+    private BytesReference promote(Key key) {
+        if (offHeapCache == null) {
+            return null;
+        }
+        final OffHeapBytes value = offHeapCache.get(key);
+        if (value == null) {
+            return null;
+        }
+        // null if the value is still being copied, or was removed concurrently
+        final BytesReference bytes = value.toBytesReference();
+        offHeapCache.invalidate(key, value);
+        return bytes;
     }
 
-    private static class Loader implements CacheLoader<Key, BytesReference> {
+    private class Loader implements CacheLoader<Key, BytesReference> {
 
         private final CacheEntity entity;
         private final CheckedSupplier<BytesReference, IOException> loader;
         private boolean loaded;
+        private boolean promoted;
 
         Loader(CacheEntity entity, CheckedSupplier<BytesReference, IOException> loader) {
             this.entity = entity;
@@ -173,15 +285,151 @@ public final class IndicesRequestCache implements RemovalListener<IndicesRequest
             return this.loaded;
         }
 
+        public boolean isPromoted() {
+            return this.promoted;
+        }
+
         @Override
         public BytesReference load(Key key) throws Exception {
-            BytesReference value = loader.get();
+            BytesReference value = promote(key);
+            if (value != null) {
+                promoted = true;
+            } else {
+                value = loader.get();
+                loaded = true;
+            }
             entity.onCached(key, value);
-            loaded = true;
             return value;
         }
     }
 
+    /**
+     * A copy of a cached value that is held in pages of an {@link OffHeapPages} pool. The pages are acquired once the entry
+     * is in the off-heap tier, and given back to the pool when the entry is removed from it.
+     */
+    static final class OffHeapBytes {
+        private final OffHeapPages pool;
+        private final int length;
+        // guarded by this, null until the value is copied and after the pages are released
+        private ByteBuffer[] pages;
+        private boolean released;
+
+        OffHeapBytes(OffHeapPages pool, int length) {
+            this.pool = pool;
+            this.length = length;
+        }
+
+        /**
+         * The size of the pages that hold the value, which is what the value weighs in the off-heap tier.
+         */
+        long sizeInBytes() {
+            return (long) OffHeapPages.pageCount(length) * OffHeapPages.PAGE_SIZE;
+        }
+
+        /**
+         * Copies the given bytes to pages of the pool. Returns <code>false</code> if the entry was removed in the meantime,
+         * or if the pool has no free pages left.
+         */
+        synchronized boolean copyFrom(BytesReference bytes) {
+            if (released) {
+                return false;
+            }
+            pages = pool.acquire(OffHeapPages.pageCount(length));
+            if (pages == null) {
+                released = true;
+                return false;
+            }
+            final BytesRef bytesRef = bytes.toBytesRef();
+            for (int i = 0; i < pages.length; i++) {
+                final int offset = i * OffHeapPages.PAGE_SIZE;
+                pages[i].put(bytesRef.bytes, bytesRef.offset + offset, Math.min(OffHeapPages.PAGE_SIZE, length - offset));
+            }
+            return true;
+        }
+
+        /**
+         * Returns a heap copy of the value, or <code>null</code> if it is not copied yet or was released.
+         */
+        synchronized BytesReference toBytesReference() {
+            if (pages == null) {
+                return null;
+            }
+            final byte[] bytes = new byte[length];
+            for (int i = 0; i < pages.length; i++) {
+                final int offset = i * OffHeapPages.PAGE_SIZE;
+                // use a duplicate so that reads do not move the position of the page
+                final ByteBuffer page = pages[i].duplicate();
+                page.flip();
+                page.get(bytes, offset, page.remaining());
+            }
+            return new BytesArray(bytes);
+        }
+
+        /**
+         * Gives the pages back to the pool. Returns <code>true</code> if the value was copied, and thus accounted for.
+         */
+        synchronized boolean release() {
+            released = true;
+            if (pages == null) {
+                return false;
+            }
+            pool.release(pages);
+            pages = null;
+            return true;
+        }
+    }
+
+    /**
+     * A pool of fixed-size pages of direct memory. Pages are allocated lazily, up to the size of the pool, and recycled once
+     * released rather than left to the garbage collector, so that the direct memory of the off-heap tier is bounded by its size.
+     */
+    static final class OffHeapPages {
+        static final int PAGE_SIZE = 4 * 1024;
+
+        private final int maxPages;
+        // guarded by this
+        private final ArrayDeque<ByteBuffer> freePages = new ArrayDeque<>();
+        private int allocatedPages;
+
+        OffHeapPages(int maxPages) {
+            this.maxPages = maxPages;
+        }
+
+        static int pageCount(int length) {
+            return (length + PAGE_SIZE - 1) / PAGE_SIZE;
+        }
+
+        long sizeInBytes() {
+            return (long) maxPages * PAGE_SIZE;
+        }
+
+        /**
+         * Returns the given number of pages, or <code>null</code> if the pool does not have that many pages left.
+         */
+        synchronized ByteBuffer[] acquire(int count) {
+            if (freePages.size() + maxPages - allocatedPages < count) {
+                return null;
+            }
+            final ByteBuffer[] pages = new ByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                ByteBuffer page = freePages.pollFirst();
+                if (page == null) {
+                    page = ByteBuffer.allocateDirect(PAGE_SIZE);
+                    allocatedPages++;
+                }
+                pages[i] = page;
+            }
+            return pages;
+        }
+
+        synchronized void release(ByteBuffer[] pages) {
+            for (ByteBuffer page : pages) {
+                page.clear();
+                freePages.addFirst(page);
+            }
+        }
+    }
+
     /**
      * Basic interface to make this cache testable.
      */
@@ -218,6 +466,21 @@ public final class IndicesRequestCache implements RemovalListener<IndicesRequest
          * Called when this entity instance is removed
          */
         void onRemoval(RemovalNotification<Key, BytesReference> notification);
+
+        /**
+         * Called each time a cache miss of this entity is served by the off-heap tier.
+         */
+        void onOffHeapHit();
+
+        /**
+         * Called after an entry of this entity was demoted to the off-heap tier.
+         */
+        void onOffHeapCached(long sizeInBytes);
+
+        /**
+         * Called when an entry of this entity is removed from the off-heap tier.
+         */
+        void onOffHeapRemoval(long sizeInBytes, boolean evicted);
     }
 
     static class Key implements Accountable {
@@ -319,19 +582,30 @@ public final class IndicesRequestCache implements RemovalListener<IndicesRequest
             }
         }
         if (!currentKeysToClean.isEmpty() || !currentFullClean.isEmpty()) {
-            for (Iterator<Key> iterator = cache.keys().iterator(); iterator.hasNext(); ) {
-                Key key = iterator.next();
-                if (currentFullClean.contains(key.entity.getCacheIdentity())) {
-                    iterator.remove();
-                } else {
-                    if (currentKeysToClean.contains(new CleanupKey(key.entity, key.readerCacheKey))) {
-                        iterator.remove();
-                    }
-                }
+            cleanKeys(cache.keys(), currentKeysToClean, currentFullClean);
+            if (offHeapCache != null) {
+                cleanKeys(offHeapCache.keys(), currentKeysToClean, currentFullClean);
             }
         }
 
         cache.refresh();
+        if (offHeapCache != null) {
+            demotePendingEntries();
+            offHeapCache.refresh();
+        }
+    }
+
+    private void cleanKeys(Iterable<Key> keys, ObjectSet<CleanupKey> currentKeysToClean, ObjectSet<Object> currentFullClean) {
+        for (Iterator<Key> iterator = keys.iterator(); iterator.hasNext(); ) {
+            Key key = iterator.next();
+            if (currentFullClean.contains(key.entity.getCacheIdentity())) {
+                iterator.remove();
+            } else {
+                if (currentKeysToClean.contains(new CleanupKey(key.entity, key.readerCacheKey))) {
+                    iterator.remove();
+                }
+            }
+        }
     }
 
 
@@ -342,6 +616,13 @@ public final class IndicesRequestCache implements RemovalListener<IndicesRequest
         return cache.count();
     }
 
+    /**
+     * Returns the current size of the off-heap tier of the cache
+     */
+    int offHeapCount() {
+        return offHeapCache == null ? 0 : offHeapCache.count();
+    }
+
     int numRegisteredCloseListeners() { // for testing
         return registeredClosedListeners.size();
     }
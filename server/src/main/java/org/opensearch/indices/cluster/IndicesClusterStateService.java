@@ -81,6 +81,8 @@ import org.opensearch.indices.recovery.PeerRecoverySourceService;
 import org.opensearch.indices.recovery.PeerRecoveryTargetService;
 import org.opensearch.indices.recovery.RecoveryFailedException;
 import org.opensearch.indices.recovery.RecoveryState;
+import org.opensearch.indices.replication.SegmentReplicationSourceService;
+import org.opensearch.indices.replication.SegmentReplicationTargetService;
 import org.opensearch.repositories.RepositoriesService;
 import org.opensearch.search.SearchService;
 import org.opensearch.snapshots.SnapshotShardsService;
@@ -146,6 +148,8 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
             final SearchService searchService,
             final SyncedFlushService syncedFlushService,
             final PeerRecoverySourceService peerRecoverySourceService,
+            final SegmentReplicationSourceService segmentReplicationSourceService,
+            final SegmentReplicationTargetService segmentReplicationTargetService,
             final SnapshotShardsService snapshotShardsService,
             final PrimaryReplicaSyncer primaryReplicaSyncer,
             final GlobalCheckpointSyncAction globalCheckpointSyncAction,
@@ -162,6 +166,8 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
                 searchService,
                 syncedFlushService,
                 peerRecoverySourceService,
+                segmentReplicationSourceService,
+                segmentReplicationTargetService,
                 snapshotShardsService,
                 primaryReplicaSyncer,
                 globalCheckpointSyncAction::updateGlobalCheckpointForShard,
@@ -181,6 +187,8 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
             final SearchService searchService,
             final SyncedFlushService syncedFlushService,
             final PeerRecoverySourceService peerRecoverySourceService,
+            final SegmentReplicationSourceService segmentReplicationSourceService,
+            final SegmentReplicationTargetService segmentReplicationTargetService,
             final SnapshotShardsService snapshotShardsService,
             final PrimaryReplicaSyncer primaryReplicaSyncer,
             final Consumer<ShardId> globalCheckpointSyncer,
@@ -192,6 +200,8 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
                         recoveryTargetService,
                         searchService,
                         syncedFlushService,
+                        segmentReplicationSourceService,
+                        segmentReplicationTargetService,
                         snapshotShardsService);
         this.indicesService = indicesService;
         this.clusterService = clusterService;
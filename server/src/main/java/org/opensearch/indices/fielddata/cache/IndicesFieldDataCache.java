@@ -103,11 +103,14 @@ public class IndicesFieldDataCache implements RemovalListener<IndicesFieldDataCa
         assert key != null && key.listeners != null;
         IndexFieldCache indexCache = key.indexCache;
         final Accountable value = notification.getValue();
+        // expired entries are reported as evicted too
+        final boolean evicted = notification.getRemovalReason() == RemovalNotification.RemovalReason.EVICTED
+            || notification.getRemovalReason() == RemovalNotification.RemovalReason.EXPIRED;
         for (IndexFieldDataCache.Listener listener : key.listeners) {
             try {
                 listener.onRemoval(
                     key.shardId, indexCache.fieldName,
-                    notification.getRemovalReason() == RemovalNotification.RemovalReason.EVICTED, value.ramBytesUsed()
+                    evicted, value.ramBytesUsed()
                 );
             } catch (Exception e) {
                 // load anyway since listeners should not throw exceptions
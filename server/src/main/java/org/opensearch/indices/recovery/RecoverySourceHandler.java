@@ -206,8 +206,11 @@ public class RecoverySourceHandler {
             final Closeable retentionLock = shard.acquireHistoryRetentionLock(historySource);
             resources.add(retentionLock);
             final long startingSeqNo;
+            // replicas of an index that uses segment replication must start from the files of a commit of the primary, which
+            // they keep copying afterwards, rather than from their own segments
             final boolean isSequenceNumberBasedRecovery
                 = request.startingSeqNo() != SequenceNumbers.UNASSIGNED_SEQ_NO
+                && shard.indexSettings().isSegRepEnabled() == false
                 && isTargetSameHistory()
                 && shard.hasCompleteHistoryOperations("peer-recovery", historySource, request.startingSeqNo())
                 && (historySource == Engine.HistorySource.TRANSLOG ||
@@ -442,7 +442,11 @@ public class RecoveryTarget extends AbstractRefCounted implements RecoveryTarget
                 }
                 final String translogUUID = Translog.createEmptyTranslog(
                     indexShard.shardPath().resolveTranslog(), globalCheckpoint, shardId, indexShard.getPendingPrimaryTerm());
-                store.associateIndexWithNewTranslog(translogUUID);
+                if (indexShard.indexSettings().isSegRepEnabled() == false || indexShard.routingEntry().primary()) {
+                    // the replicas of an index that uses segment replication don't commit on top of the commits of their primary,
+                    // they read the UUID of their translog from the translog itself
+                    store.associateIndexWithNewTranslog(translogUUID);
+                }
 
                 if (indexShard.getRetentionLeases().leases().isEmpty()) {
                     // if empty, may be a fresh IndexShard, so write an empty leases file to disk
@@ -0,0 +1,71 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.indices.replication;
+
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.index.shard.ShardId;
+import org.opensearch.transport.TransportRequest;
+
+import java.io.IOException;
+
+/**
+ * Starts a round of segment replication: asks the primary to hold on to its last commit and to list the files of that commit.
+ */
+public class CheckpointInfoRequest extends TransportRequest {
+
+    private final String replicationId;
+    private final ShardId shardId;
+    private final String targetAllocationId;
+
+    public CheckpointInfoRequest(String replicationId, ShardId shardId, String targetAllocationId) {
+        this.replicationId = replicationId;
+        this.shardId = shardId;
+        this.targetAllocationId = targetAllocationId;
+    }
+
+    public CheckpointInfoRequest(StreamInput in) throws IOException {
+        super(in);
+        replicationId = in.readString();
+        shardId = new ShardId(in);
+        targetAllocationId = in.readString();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeString(replicationId);
+        shardId.writeTo(out);
+        out.writeString(targetAllocationId);
+    }
+
+    public String getReplicationId() {
+        return replicationId;
+    }
+
+    public ShardId getShardId() {
+        return shardId;
+    }
+
+    /**
+     * The allocation id of the replica that copies the commit.
+     */
+    public String getTargetAllocationId() {
+        return targetAllocationId;
+    }
+
+    @Override
+    public String toString() {
+        return "CheckpointInfoRequest{" +
+            "replicationId='" + replicationId + '\'' +
+            ", shardId=" + shardId +
+            ", targetAllocationId='" + targetAllocationId + '\'' +
+            '}';
+    }
+}
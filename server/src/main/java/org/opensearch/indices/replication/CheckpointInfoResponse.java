@@ -0,0 +1,50 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.indices.replication;
+
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.index.store.Store;
+import org.opensearch.transport.TransportResponse;
+
+import java.io.IOException;
+
+/**
+ * The checkpoint and the files of the commit that the primary holds on to for a round of segment replication.
+ */
+public class CheckpointInfoResponse extends TransportResponse {
+
+    private final ReplicationCheckpoint checkpoint;
+    private final Store.MetadataSnapshot snapshot;
+
+    public CheckpointInfoResponse(ReplicationCheckpoint checkpoint, Store.MetadataSnapshot snapshot) {
+        this.checkpoint = checkpoint;
+        this.snapshot = snapshot;
+    }
+
+    public CheckpointInfoResponse(StreamInput in) throws IOException {
+        super(in);
+        checkpoint = new ReplicationCheckpoint(in);
+        snapshot = new Store.MetadataSnapshot(in);
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        checkpoint.writeTo(out);
+        snapshot.writeTo(out);
+    }
+
+    public ReplicationCheckpoint getCheckpoint() {
+        return checkpoint;
+    }
+
+    public Store.MetadataSnapshot getSnapshot() {
+        return snapshot;
+    }
+}
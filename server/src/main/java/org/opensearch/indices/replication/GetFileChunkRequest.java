@@ -0,0 +1,87 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.indices.replication;
+
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.index.shard.ShardId;
+import org.opensearch.index.store.StoreFileMetadata;
+import org.opensearch.transport.TransportRequest;
+
+import java.io.IOException;
+
+/**
+ * Reads a chunk of a file of the commit that the primary holds on to for a round of segment replication.
+ */
+public class GetFileChunkRequest extends TransportRequest {
+
+    private final String replicationId;
+    private final ShardId shardId;
+    private final StoreFileMetadata metadata;
+    private final long position;
+    private final int length;
+
+    public GetFileChunkRequest(String replicationId, ShardId shardId, StoreFileMetadata metadata, long position, int length) {
+        this.replicationId = replicationId;
+        this.shardId = shardId;
+        this.metadata = metadata;
+        this.position = position;
+        this.length = length;
+    }
+
+    public GetFileChunkRequest(StreamInput in) throws IOException {
+        super(in);
+        replicationId = in.readString();
+        shardId = new ShardId(in);
+        metadata = new StoreFileMetadata(in);
+        position = in.readVLong();
+        length = in.readVInt();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeString(replicationId);
+        shardId.writeTo(out);
+        metadata.writeTo(out);
+        out.writeVLong(position);
+        out.writeVInt(length);
+    }
+
+    public String getReplicationId() {
+        return replicationId;
+    }
+
+    public ShardId getShardId() {
+        return shardId;
+    }
+
+    public StoreFileMetadata getMetadata() {
+        return metadata;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return "GetFileChunkRequest{" +
+            "replicationId='" + replicationId + '\'' +
+            ", shardId=" + shardId +
+            ", file=" + metadata.name() +
+            ", position=" + position +
+            ", length=" + length +
+            '}';
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.indices.replication;
+
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.index.shard.ShardId;
+import org.opensearch.transport.TransportRequest;
+
+import java.io.IOException;
+
+/**
+ * Ends a round of segment replication: the primary may delete the files of the commit it held on to once it's released.
+ */
+public class ReleaseCopyStateRequest extends TransportRequest {
+
+    private final String replicationId;
+    private final ShardId shardId;
+
+    public ReleaseCopyStateRequest(String replicationId, ShardId shardId) {
+        this.replicationId = replicationId;
+        this.shardId = shardId;
+    }
+
+    public ReleaseCopyStateRequest(StreamInput in) throws IOException {
+        super(in);
+        replicationId = in.readString();
+        shardId = new ShardId(in);
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeString(replicationId);
+        shardId.writeTo(out);
+    }
+
+    public String getReplicationId() {
+        return replicationId;
+    }
+
+    public ShardId getShardId() {
+        return shardId;
+    }
+}
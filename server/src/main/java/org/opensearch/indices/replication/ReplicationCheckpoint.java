@@ -0,0 +1,131 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.indices.replication;
+
+import org.apache.lucene.index.IndexCommit;
+import org.opensearch.common.Nullable;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.io.stream.Writeable;
+import org.opensearch.index.seqno.SequenceNumbers;
+import org.opensearch.index.shard.ShardId;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Identifies a commit of a primary shard that its replicas copy when the index uses segment replication.
+ */
+public class ReplicationCheckpoint implements Writeable {
+
+    private final ShardId shardId;
+    private final long primaryTerm;
+    private final long segmentsGen;
+    private final long localCheckpoint;
+
+    public ReplicationCheckpoint(ShardId shardId, long primaryTerm, long segmentsGen, long localCheckpoint) {
+        this.shardId = shardId;
+        this.primaryTerm = primaryTerm;
+        this.segmentsGen = segmentsGen;
+        this.localCheckpoint = localCheckpoint;
+    }
+
+    public ReplicationCheckpoint(StreamInput in) throws IOException {
+        shardId = new ShardId(in);
+        primaryTerm = in.readVLong();
+        segmentsGen = in.readVLong();
+        localCheckpoint = in.readZLong();
+    }
+
+    /**
+     * Builds the checkpoint of the given commit of a primary operating under the given term.
+     */
+    public static ReplicationCheckpoint fromCommit(ShardId shardId, long primaryTerm, IndexCommit commit) throws IOException {
+        final String localCheckpoint = commit.getUserData().get(SequenceNumbers.LOCAL_CHECKPOINT_KEY);
+        return new ReplicationCheckpoint(shardId, primaryTerm, commit.getGeneration(),
+            localCheckpoint == null ? SequenceNumbers.NO_OPS_PERFORMED : Long.parseLong(localCheckpoint));
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        shardId.writeTo(out);
+        out.writeVLong(primaryTerm);
+        out.writeVLong(segmentsGen);
+        out.writeZLong(localCheckpoint);
+    }
+
+    public ShardId getShardId() {
+        return shardId;
+    }
+
+    /**
+     * The term of the primary that made the commit.
+     */
+    public long getPrimaryTerm() {
+        return primaryTerm;
+    }
+
+    /**
+     * The generation of the commit on the primary.
+     */
+    public long getSegmentsGen() {
+        return segmentsGen;
+    }
+
+    /**
+     * All operations up to this sequence number are contained in the segments of the commit.
+     */
+    public long getLocalCheckpoint() {
+        return localCheckpoint;
+    }
+
+    /**
+     * Returns <code>true</code> if this checkpoint was made after the given one, which is <code>null</code> if nothing was copied yet.
+     * Commits of a newer primary always win since the generations of two primaries are not comparable.
+     */
+    public boolean isAheadOf(@Nullable ReplicationCheckpoint other) {
+        if (other == null) {
+            return true;
+        }
+        if (primaryTerm != other.primaryTerm) {
+            return primaryTerm > other.primaryTerm;
+        }
+        return segmentsGen > other.segmentsGen;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ReplicationCheckpoint that = (ReplicationCheckpoint) o;
+        return primaryTerm == that.primaryTerm
+            && segmentsGen == that.segmentsGen
+            && localCheckpoint == that.localCheckpoint
+            && shardId.equals(that.shardId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(shardId, primaryTerm, segmentsGen, localCheckpoint);
+    }
+
+    @Override
+    public String toString() {
+        return "ReplicationCheckpoint{" +
+            "shardId=" + shardId +
+            ", primaryTerm=" + primaryTerm +
+            ", segmentsGen=" + segmentsGen +
+            ", localCheckpoint=" + localCheckpoint +
+            '}';
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.indices.replication;
+
+import java.util.Locale;
+
+/**
+ * How the replicas of an index are kept up to date with their primary.
+ */
+public enum ReplicationType {
+
+    /**
+     * Every replica indexes each operation itself, the way its primary did.
+     */
+    DOCUMENT,
+
+    /**
+     * Only the primary indexes operations; replicas append them to their translog and copy the segments of the primary's commits.
+     */
+    SEGMENT;
+
+    public static ReplicationType parseString(String replicationType) {
+        try {
+            return ReplicationType.valueOf(replicationType.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown replication type [" + replicationType + "]");
+        }
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.indices.replication;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.IndexInput;
+import org.apache.lucene.store.RateLimiter;
+import org.opensearch.OpenSearchException;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.ClusterStateListener;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.routing.IndexRoutingTable;
+import org.opensearch.cluster.routing.ShardRouting;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.Nullable;
+import org.opensearch.common.bytes.BytesArray;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ConcurrentCollections;
+import org.opensearch.core.internal.io.IOUtils;
+import org.opensearch.index.engine.Engine;
+import org.opensearch.index.shard.IndexEventListener;
+import org.opensearch.index.shard.IndexShard;
+import org.opensearch.index.shard.ShardId;
+import org.opensearch.index.store.Store;
+import org.opensearch.indices.IndicesService;
+import org.opensearch.indices.recovery.RecoverySettings;
+import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.EmptyTransportResponseHandler;
+import org.opensearch.transport.TransportChannel;
+import org.opensearch.transport.TransportException;
+import org.opensearch.transport.TransportRequestHandler;
+import org.opensearch.transport.TransportResponse;
+import org.opensearch.transport.TransportService;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The primary side of segment replication. Publishes the commits of primaries to the nodes of their replicas, and serves the
+ * files of those commits to the replicas that copy them. The commit of a round of replication is held on to until the replica
+ * releases it, or starts another round, or leaves the routing table, or the primary is closed.
+ */
+public class SegmentReplicationSourceService implements IndexEventListener, ClusterStateListener {
+
+    private static final Logger logger = LogManager.getLogger(SegmentReplicationSourceService.class);
+
+    public static class Actions {
+        public static final String PUBLISH_CHECKPOINT = "internal:index/shard/replication/publish_checkpoint";
+        public static final String GET_CHECKPOINT_INFO = "internal:index/shard/replication/get_checkpoint_info";
+        public static final String GET_FILE_CHUNK = "internal:index/shard/replication/get_file_chunk";
+        public static final String RELEASE_COPY_STATE = "internal:index/shard/replication/release_copy_state";
+    }
+
+    private final TransportService transportService;
+    private final IndicesService indicesService;
+    private final ClusterService clusterService;
+    private final RecoverySettings recoverySettings;
+
+    // keyed by the allocation id of the replica, which copies one commit at a time
+    private final Map<String, CopyState> copyStates = ConcurrentCollections.newConcurrentMap();
+    private final AtomicLong bytesSinceLastPause = new AtomicLong();
+
+    @Inject
+    public SegmentReplicationSourceService(TransportService transportService, IndicesService indicesService,
+                                           ClusterService clusterService, RecoverySettings recoverySettings) {
+        this.transportService = transportService;
+        this.indicesService = indicesService;
+        this.clusterService = clusterService;
+        this.recoverySettings = recoverySettings;
+        transportService.registerRequestHandler(Actions.GET_CHECKPOINT_INFO, ThreadPool.Names.GENERIC, CheckpointInfoRequest::new,
+            new CheckpointInfoRequestHandler());
+        transportService.registerRequestHandler(Actions.GET_FILE_CHUNK, ThreadPool.Names.GENERIC, GetFileChunkRequest::new,
+            new GetFileChunkRequestHandler());
+        transportService.registerRequestHandler(Actions.RELEASE_COPY_STATE, ThreadPool.Names.SAME, ReleaseCopyStateRequest::new,
+            new ReleaseCopyStateRequestHandler());
+        // only data nodes hold primaries
+        if (DiscoveryNode.isDataNode(clusterService.getSettings())) {
+            clusterService.addListener(this);
+        }
+    }
+
+    @Override
+    public void clusterChanged(ClusterChangedEvent event) {
+        if (event.routingTableChanged() == false || copyStates.isEmpty()) {
+            return;
+        }
+        // a replica that failed, was removed or relocated away never releases the commit it was copying
+        copyStates.entrySet().removeIf(entry -> {
+            final CopyState copyState = entry.getValue();
+            if (event.state().routingTable().getByAllocationId(copyState.shardId, entry.getKey()) == null) {
+                logger.trace("{} releasing {} of [{}], which left the routing table", copyState.shardId, copyState.checkpoint,
+                    entry.getKey());
+                copyState.close();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    @Override
+    public void onNewReplicationCheckpoint(IndexShard indexShard, ReplicationCheckpoint checkpoint) {
+        final ShardId shardId = indexShard.shardId();
+        final ClusterState state = clusterService.state();
+        final IndexRoutingTable indexRoutingTable = state.routingTable().index(shardId.getIndex());
+        if (indexRoutingTable == null) {
+            return;
+        }
+        for (ShardRouting replica : indexRoutingTable.shard(shardId.id()).replicaShards()) {
+            if (replica.active() == false) {
+                // initializing replicas copy a commit of the primary when they recover
+                continue;
+            }
+            final DiscoveryNode node = state.nodes().get(replica.currentNodeId());
+            if (node == null) {
+                continue;
+            }
+            logger.trace("{} publishing {} to {}", shardId, checkpoint, node);
+            transportService.sendRequest(node, Actions.PUBLISH_CHECKPOINT, new PublishCheckpointRequest(checkpoint),
+                new EmptyTransportResponseHandler(ThreadPool.Names.SAME) {
+                    @Override
+                    public void handleException(TransportException exp) {
+                        logger.debug(new ParameterizedMessage("{} failed to publish {} to {}", shardId, checkpoint, node), exp);
+                    }
+                });
+        }
+    }
+
+    @Override
+    public void beforeIndexShardClosed(ShardId shardId, @Nullable IndexShard indexShard, Settings indexSettings) {
+        copyStates.values().removeIf(copyState -> {
+            if (copyState.shardId.equals(shardId)) {
+                copyState.close();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private CheckpointInfoResponse prepareCopyState(CheckpointInfoRequest request) throws IOException {
+        final IndexShard indexShard = indicesService.indexServiceSafe(request.getShardId().getIndex())
+            .getShard(request.getShardId().id());
+        final CopyState copyState = new CopyState(request.getReplicationId(), indexShard);
+        final CopyState previous = copyStates.put(request.getTargetAllocationId(), copyState);
+        if (previous != null) {
+            // the replica gave up on its previous round
+            previous.close();
+        }
+        logger.trace("{} holding on to {} for [{}]", request.getShardId(), copyState.checkpoint, request.getTargetAllocationId());
+        return new CheckpointInfoResponse(copyState.checkpoint, copyState.metadataSnapshot);
+    }
+
+    private GetFileChunkResponse readFileChunk(GetFileChunkRequest request) throws IOException {
+        final CopyState copyState = getCopyState(request.getReplicationId());
+        final int length = Math.min(request.getLength(), Math.toIntExact(recoverySettings.getChunkSize().getBytes()));
+        final byte[] bytes = new byte[length];
+        copyState.store.incRef();
+        try (IndexInput input = copyState.store.directory().openInput(request.getMetadata().name(), IOContext.READONCE)) {
+            input.seek(request.getPosition());
+            input.readBytes(bytes, 0, length);
+        } finally {
+            copyState.store.decRef();
+        }
+        pauseIfThrottled(copyState, length);
+        return new GetFileChunkResponse(new BytesArray(bytes));
+    }
+
+    /**
+     * Pauses using the rate limiter of recoveries, if desired, so that copying segments does not saturate the disk or network
+     * of this node any more than recoveries do.
+     */
+    private void pauseIfThrottled(CopyState copyState, int length) {
+        // always fetch the ratelimiter - it might be updated in real-time on the recovery settings
+        final RateLimiter rl = recoverySettings.rateLimiter();
+        if (rl != null) {
+            long bytes = bytesSinceLastPause.addAndGet(length);
+            if (bytes > rl.getMinPauseCheckBytes()) {
+                // Time to pause
+                bytesSinceLastPause.addAndGet(-bytes);
+                try {
+                    copyState.indexShard.recoveryStats().addThrottleTime(rl.pause(bytes));
+                } catch (IOException e) {
+                    throw new OpenSearchException("failed to pause segment replication", e);
+                }
+            }
+        }
+    }
+
+    private void releaseCopyState(ReleaseCopyStateRequest request) {
+        copyStates.values().removeIf(copyState -> {
+            if (copyState.replicationId.equals(request.getReplicationId())) {
+                copyState.close();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private CopyState getCopyState(String replicationId) {
+        for (CopyState copyState : copyStates.values()) {
+            if (copyState.replicationId.equals(replicationId)) {
+                return copyState;
+            }
+        }
+        throw new IllegalStateException("no ongoing segment replication with id [" + replicationId + "]");
+    }
+
+    /**
+     * The last commit of a primary, held on to while a replica copies its files.
+     */
+    private static final class CopyState implements Closeable {
+        private final String replicationId;
+        private final IndexShard indexShard;
+        private final ShardId shardId;
+        private final Store store;
+        private final Engine.IndexCommitRef commitRef;
+        private final ReplicationCheckpoint checkpoint;
+        private final Store.MetadataSnapshot metadataSnapshot;
+
+        CopyState(String replicationId, IndexShard indexShard) throws IOException {
+            this.replicationId = replicationId;
+            this.indexShard = indexShard;
+            this.shardId = indexShard.shardId();
+            this.store = indexShard.store();
+            store.incRef();
+            Engine.IndexCommitRef commitRef = null;
+            boolean success = false;
+            try {
+                commitRef = indexShard.acquireLastIndexCommit(false);
+                this.commitRef = commitRef;
+                this.checkpoint = ReplicationCheckpoint.fromCommit(shardId, indexShard.getOperationPrimaryTerm(),
+                    commitRef.getIndexCommit());
+                this.metadataSnapshot = store.getMetadata(commitRef.getIndexCommit());
+                success = true;
+            } finally {
+                if (success == false) {
+                    IOUtils.closeWhileHandlingException(commitRef, store::decRef);
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            IOUtils.closeWhileHandlingException(commitRef, store::decRef);
+        }
+    }
+
+    private final class CheckpointInfoRequestHandler implements TransportRequestHandler<CheckpointInfoRequest> {
+
+        @Override
+        public void messageReceived(CheckpointInfoRequest request, TransportChannel channel, Task task) throws Exception {
+            channel.sendResponse(prepareCopyState(request));
+        }
+    }
+
+    private final class GetFileChunkRequestHandler implements TransportRequestHandler<GetFileChunkRequest> {
+
+        @Override
+        public void messageReceived(GetFileChunkRequest request, TransportChannel channel, Task task) throws Exception {
+            channel.sendResponse(readFileChunk(request));
+        }
+    }
+
+    private final class ReleaseCopyStateRequestHandler implements TransportRequestHandler<ReleaseCopyStateRequest> {
+
+        @Override
+        public void messageReceived(ReleaseCopyStateRequest request, TransportChannel channel, Task task) throws Exception {
+            releaseCopyState(request);
+            channel.sendResponse(TransportResponse.Empty.INSTANCE);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.indices.replication;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.ActionListenerResponseHandler;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.routing.ShardRouting;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.Nullable;
+import org.opensearch.common.UUIDs;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ConcurrentCollections;
+import org.opensearch.index.shard.IndexEventListener;
+import org.opensearch.index.shard.IndexShard;
+import org.opensearch.index.shard.IndexShardClosedException;
+import org.opensearch.index.shard.IndexShardState;
+import org.opensearch.index.shard.ShardId;
+import org.opensearch.index.store.Store;
+import org.opensearch.index.store.StoreFileMetadata;
+import org.opensearch.indices.IndicesService;
+import org.opensearch.indices.recovery.MultiFileWriter;
+import org.opensearch.indices.recovery.RecoverySettings;
+import org.opensearch.indices.recovery.RecoveryState;
+import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.EmptyTransportResponseHandler;
+import org.opensearch.transport.TransportChannel;
+import org.opensearch.transport.TransportException;
+import org.opensearch.transport.TransportRequestHandler;
+import org.opensearch.transport.TransportResponse;
+import org.opensearch.transport.TransportService;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The replica side of segment replication. When the primary of a replica publishes a new commit, the replica copies the files of
+ * that commit that it does not have yet and opens its segments. A replica runs one round of replication at a time; checkpoints
+ * published meanwhile are collapsed into the latest one, which is copied once the ongoing round completes.
+ */
+public class SegmentReplicationTargetService implements IndexEventListener {
+
+    private static final Logger logger = LogManager.getLogger(SegmentReplicationTargetService.class);
+
+    private final ThreadPool threadPool;
+    private final TransportService transportService;
+    private final RecoverySettings recoverySettings;
+    private final ClusterService clusterService;
+    private final IndicesService indicesService;
+
+    private final Map<ShardId, ReplicationCheckpoint> latestCheckpoints = ConcurrentCollections.newConcurrentMap();
+    private final Set<ShardId> ongoingReplications = ConcurrentCollections.newConcurrentSet();
+
+    @Inject
+    public SegmentReplicationTargetService(ThreadPool threadPool, TransportService transportService, RecoverySettings recoverySettings,
+                                           ClusterService clusterService, IndicesService indicesService) {
+        this.threadPool = threadPool;
+        this.transportService = transportService;
+        this.recoverySettings = recoverySettings;
+        this.clusterService = clusterService;
+        this.indicesService = indicesService;
+        transportService.registerRequestHandler(SegmentReplicationSourceService.Actions.PUBLISH_CHECKPOINT, ThreadPool.Names.SAME,
+            PublishCheckpointRequest::new, new PublishCheckpointRequestHandler());
+    }
+
+    @Override
+    public void beforeIndexShardClosed(ShardId shardId, @Nullable IndexShard indexShard, Settings indexSettings) {
+        // an ongoing round fails on its own once the shard is closed
+        latestCheckpoints.remove(shardId);
+    }
+
+    /**
+     * Copies the commit of the given checkpoint, unless the shard already copied it or a more recent one.
+     */
+    public void onNewCheckpoint(IndexShard indexShard, ReplicationCheckpoint checkpoint) {
+        final ShardId shardId = indexShard.shardId();
+        latestCheckpoints.merge(shardId, checkpoint, (current, latest) -> latest.isAheadOf(current) ? latest : current);
+        maybeStartReplication(indexShard);
+    }
+
+    private void maybeStartReplication(IndexShard indexShard) {
+        final ShardId shardId = indexShard.shardId();
+        final ReplicationCheckpoint checkpoint = latestCheckpoints.get(shardId);
+        if (checkpoint == null || indexShard.shouldProcessReplicationCheckpoint(checkpoint) == false) {
+            return;
+        }
+        if (ongoingReplications.add(shardId) == false) {
+            // the ongoing round picks the checkpoint up once it completes
+            return;
+        }
+        threadPool.generic().execute(() -> new ReplicationRound(indexShard, checkpoint).start());
+    }
+
+    private void onReplicationDone(IndexShard indexShard) {
+        ongoingReplications.remove(indexShard.shardId());
+        // a checkpoint may have been published after the ongoing round was started
+        maybeStartReplication(indexShard);
+    }
+
+    /**
+     * Copies the last commit of the primary: lists its files, fetches the ones that this shard is missing chunk by chunk,
+     * installs them and releases the commit on the primary.
+     */
+    private class ReplicationRound {
+        private final String replicationId = UUIDs.randomBase64UUID();
+        private final IndexShard indexShard;
+        private final ReplicationCheckpoint publishedCheckpoint;
+        private DiscoveryNode primaryNode;
+        private MultiFileWriter multiFileWriter;
+
+        ReplicationRound(IndexShard indexShard, ReplicationCheckpoint publishedCheckpoint) {
+            this.indexShard = indexShard;
+            this.publishedCheckpoint = publishedCheckpoint;
+        }
+
+        void start() {
+            try {
+                final ShardRouting primary = clusterService.state().routingTable().shardRoutingTable(indexShard.shardId()).primaryShard();
+                primaryNode = primary.assignedToNode() ? clusterService.state().nodes().get(primary.currentNodeId()) : null;
+                if (primaryNode == null) {
+                    throw new IllegalStateException("primary of " + indexShard.shardId() + " is not assigned to a known node");
+                }
+                logger.trace("{} [{}] starting segment replication of {} from {}", indexShard.shardId(), replicationId,
+                    publishedCheckpoint, primaryNode);
+                transportService.sendRequest(primaryNode, SegmentReplicationSourceService.Actions.GET_CHECKPOINT_INFO,
+                    new CheckpointInfoRequest(replicationId, indexShard.shardId(), indexShard.routingEntry().allocationId().getId()),
+                    new ActionListenerResponseHandler<CheckpointInfoResponse>(ActionListener.wrap(this::onCheckpointInfo, this::onFailure),
+                        CheckpointInfoResponse::new, ThreadPool.Names.GENERIC));
+            } catch (Exception e) {
+                onFailure(e);
+            }
+        }
+
+        private void onCheckpointInfo(CheckpointInfoResponse response) throws Exception {
+            final Store.MetadataSnapshot sourceMetadata = response.getSnapshot();
+            final Store.RecoveryDiff diff = sourceMetadata.recoveryDiff(indexShard.snapshotStoreMetadata());
+            final List<StoreFileMetadata> filesToFetch = new ArrayList<>(diff.different);
+            filesToFetch.addAll(diff.missing);
+            logger.trace("{} [{}] fetching {} files of {}", indexShard.shardId(), replicationId, filesToFetch.size(),
+                response.getCheckpoint());
+            final RecoveryState.Index indexState = new RecoveryState.Index();
+            for (StoreFileMetadata file : filesToFetch) {
+                indexState.addFileDetail(file.name(), file.length(), false);
+            }
+            indexState.setFileDetailsComplete();
+            multiFileWriter = new MultiFileWriter(indexShard.store(), indexState, "replication." + replicationId + ".", logger,
+                this::ensureOpen);
+            fetchFiles(filesToFetch.iterator(), null, 0L, ActionListener.wrap(
+                ignored -> {
+                    indexShard.finalizeReplication(response.getCheckpoint(), sourceMetadata, multiFileWriter);
+                    onSuccess();
+                },
+                this::onFailure));
+        }
+
+        /**
+         * Fetches the chunk of the given file that starts at the given position, then the next chunks and files in turn.
+         */
+        private void fetchFiles(Iterator<StoreFileMetadata> files, @Nullable StoreFileMetadata file, long position,
+                                ActionListener<Void> listener) {
+            if (file == null || position >= file.length()) {
+                if (files.hasNext() == false) {
+                    listener.onResponse(null);
+                    return;
+                }
+                file = files.next();
+                position = 0L;
+            }
+            final StoreFileMetadata currentFile = file;
+            final long currentPosition = position;
+            final int length = Math.toIntExact(Math.min(recoverySettings.getChunkSize().getBytes(), file.length() - position));
+            transportService.sendRequest(primaryNode, SegmentReplicationSourceService.Actions.GET_FILE_CHUNK,
+                new GetFileChunkRequest(replicationId, indexShard.shardId(), currentFile, currentPosition, length),
+                new ActionListenerResponseHandler<GetFileChunkResponse>(ActionListener.wrap(
+                    response -> {
+                        final long nextPosition = currentPosition + length;
+                        multiFileWriter.writeFileChunk(currentFile, currentPosition, response.getContent(),
+                            nextPosition >= currentFile.length());
+                        if (nextPosition >= currentFile.length() && files.hasNext() == false) {
+                            listener.onResponse(null);
+                        } else {
+                            fetchFiles(files, currentFile, nextPosition, listener);
+                        }
+                    },
+                    listener::onFailure), GetFileChunkResponse::new, ThreadPool.Names.GENERIC));
+        }
+
+        private void ensureOpen() {
+            if (indexShard.state() == IndexShardState.CLOSED) {
+                throw new IndexShardClosedException(indexShard.shardId());
+            }
+        }
+
+        private void onSuccess() {
+            logger.trace("{} [{}] completed segment replication of {}", indexShard.shardId(), replicationId, publishedCheckpoint);
+            finish();
+        }
+
+        private void onFailure(Exception e) {
+            if (indexShard.state() == IndexShardState.CLOSED) {
+                logger.debug(new ParameterizedMessage("{} [{}] segment replication failed, the shard is closed",
+                    indexShard.shardId(), replicationId), e);
+            } else {
+                logger.warn(new ParameterizedMessage("{} [{}] segment replication of {} failed",
+                    indexShard.shardId(), replicationId, publishedCheckpoint), e);
+            }
+            finish();
+        }
+
+        private void finish() {
+            if (multiFileWriter != null) {
+                multiFileWriter.close();
+            }
+            if (primaryNode != null) {
+                transportService.sendRequest(primaryNode, SegmentReplicationSourceService.Actions.RELEASE_COPY_STATE,
+                    new ReleaseCopyStateRequest(replicationId, indexShard.shardId()),
+                    new EmptyTransportResponseHandler(ThreadPool.Names.SAME) {
+                        @Override
+                        public void handleException(TransportException exp) {
+                            logger.debug(new ParameterizedMessage("{} [{}] failed to release the commit held by the primary",
+                                indexShard.shardId(), replicationId), exp);
+                        }
+                    });
+            }
+            onReplicationDone(indexShard);
+        }
+    }
+
+    private final class PublishCheckpointRequestHandler implements TransportRequestHandler<PublishCheckpointRequest> {
+
+        @Override
+        public void messageReceived(PublishCheckpointRequest request, TransportChannel channel, Task task) throws Exception {
+            final ShardId shardId = request.getCheckpoint().getShardId();
+            final IndexShard indexShard = indicesService.indexServiceSafe(shardId.getIndex()).getShard(shardId.id());
+            onNewCheckpoint(indexShard, request.getCheckpoint());
+            channel.sendResponse(TransportResponse.Empty.INSTANCE);
+        }
+    }
+}
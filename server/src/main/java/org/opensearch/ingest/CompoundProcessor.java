@@ -41,6 +41,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
@@ -180,6 +181,83 @@ public class CompoundProcessor implements Processor {
         });
     }
 
+    @Override
+    public void executeBatch(List<IngestDocument> ingestDocuments, List<BiConsumer<IngestDocument, Exception>> handlers) {
+        innerExecute(0, ingestDocuments, handlers);
+    }
+
+    /**
+     * Executes the processors on a batch of documents one processor at a time, so that each processor executes the whole batch. The
+     * documents that are dropped, or fail without being ignored, leave the batch.
+     */
+    void innerExecute(int currentProcessor, List<IngestDocument> ingestDocuments, List<BiConsumer<IngestDocument, Exception>> handlers) {
+        if (ingestDocuments.isEmpty()) {
+            return;
+        }
+        if (ingestDocuments.size() == 1) {
+            innerExecute(currentProcessor, ingestDocuments.get(0), handlers.get(0));
+            return;
+        }
+        if (currentProcessor == processorsWithMetrics.size()) {
+            for (int i = 0; i < ingestDocuments.size(); i++) {
+                handlers.get(i).accept(ingestDocuments.get(i), null);
+            }
+            return;
+        }
+
+        Tuple<Processor, IngestMetric> processorWithMetric = processorsWithMetrics.get(currentProcessor);
+        final Processor processor = processorWithMetric.v1();
+        final IngestMetric metric = processorWithMetric.v2();
+        final int size = ingestDocuments.size();
+        final IngestDocument[] results = new IngestDocument[size];
+        final Exception[] failures = new Exception[size];
+        final AtomicInteger pending = new AtomicInteger(size);
+        final long startTimeInNanos = relativeTimeProvider.getAsLong();
+        final List<BiConsumer<IngestDocument, Exception>> processorHandlers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final int slot = i;
+            processorHandlers.add((result, e) -> {
+                results[slot] = result;
+                failures[slot] = e;
+                if (pending.decrementAndGet() > 0) {
+                    return;
+                }
+                long ingestTimeInMillis = TimeUnit.NANOSECONDS.toMillis(relativeTimeProvider.getAsLong() - startTimeInNanos);
+                metric.postIngest(size, ingestTimeInMillis);
+
+                final List<IngestDocument> nextDocuments = new ArrayList<>(size);
+                final List<BiConsumer<IngestDocument, Exception>> nextHandlers = new ArrayList<>(size);
+                for (int j = 0; j < size; j++) {
+                    final IngestDocument ingestDocument = ingestDocuments.get(j);
+                    final BiConsumer<IngestDocument, Exception> handler = handlers.get(j);
+                    if (failures[j] != null) {
+                        metric.ingestFailed();
+                        if (ignoreFailure) {
+                            nextDocuments.add(ingestDocument);
+                            nextHandlers.add(handler);
+                        } else {
+                            IngestProcessorException compoundProcessorException =
+                                newCompoundProcessorException(failures[j], processor, ingestDocument);
+                            if (onFailureProcessors.isEmpty()) {
+                                handler.accept(null, compoundProcessorException);
+                            } else {
+                                executeOnFailureAsync(0, ingestDocument, compoundProcessorException, handler);
+                            }
+                        }
+                    } else if (results[j] != null) {
+                        nextDocuments.add(results[j]);
+                        nextHandlers.add(handler);
+                    } else {
+                        handler.accept(null, null);
+                    }
+                }
+                innerExecute(currentProcessor + 1, nextDocuments, nextHandlers);
+            });
+        }
+        metric.preIngest(size);
+        processor.executeBatch(ingestDocuments, processorHandlers);
+    }
+
     void executeOnFailureAsync(int currentOnFailureProcessor, IngestDocument ingestDocument, OpenSearchException exception,
                                BiConsumer<IngestDocument, Exception> handler) {
         if (currentOnFailureProcessor == 0) {
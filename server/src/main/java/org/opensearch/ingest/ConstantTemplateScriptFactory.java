@@ -0,0 +1,56 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.ingest;
+
+import org.opensearch.script.TemplateScript;
+
+import java.util.Map;
+
+/**
+ * A template without any snippets, so it renders the same value for every document. Ingest documents use the value without building a
+ * template model, and resolve fields named by it through a path that is split once.
+ */
+final class ConstantTemplateScriptFactory implements TemplateScript.Factory {
+
+    private final String value;
+    private IngestDocument.FieldPath fieldPath;
+
+    ConstantTemplateScriptFactory(String value) {
+        this.value = value;
+    }
+
+    @Override
+    public TemplateScript newInstance(Map<String, Object> params) {
+        return new TemplateScript(params) {
+            @Override
+            public String execute() {
+                return value;
+            }
+        };
+    }
+
+    String getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the value as a path, which is split on first use since not every constant template names a field.
+     *
+     * @throws IllegalArgumentException if the value is not a valid path
+     */
+    IngestDocument.FieldPath getFieldPath() {
+        IngestDocument.FieldPath fieldPath = this.fieldPath;
+        if (fieldPath == null) {
+            // racing threads split the same path, and the path's final fields make it safe to publish without synchronization
+            fieldPath = new IngestDocument.FieldPath(value);
+            this.fieldPath = fieldPath;
+        }
+        return fieldPath;
+    }
+}
@@ -123,8 +123,12 @@ public final class IngestDocument {
      * or if the field that is found at the provided path is not of the expected type.
      */
     public <T> T getFieldValue(String path, Class<T> clazz) {
-        FieldPath fieldPath = new FieldPath(path);
-        Object context = fieldPath.initialContext;
+        return getFieldValue(new FieldPath(path), clazz);
+    }
+
+    private <T> T getFieldValue(FieldPath fieldPath, Class<T> clazz) {
+        String path = fieldPath.path;
+        Object context = initialContext(fieldPath);
         for (String pathElement : fieldPath.pathElements) {
             context = resolve(pathElement, path, context);
         }
@@ -162,7 +166,7 @@ public final class IngestDocument {
      * or if the field that is found at the provided path is not of the expected type.
      */
     public <T> T getFieldValue(TemplateScript.Factory pathTemplate, Class<T> clazz) {
-        return getFieldValue(renderTemplate(pathTemplate), clazz);
+        return getFieldValue(fieldPath(pathTemplate), clazz);
     }
 
     /**
@@ -209,7 +213,7 @@ public final class IngestDocument {
      * @throws IllegalArgumentException if the path is null, empty or invalid
      */
     public boolean hasField(TemplateScript.Factory fieldPathTemplate) {
-        return hasField(renderTemplate(fieldPathTemplate));
+        return hasField(fieldPath(fieldPathTemplate), false);
     }
 
     /**
@@ -230,8 +234,12 @@ public final class IngestDocument {
      * @throws IllegalArgumentException if the path is null, empty or invalid.
      */
     public boolean hasField(String path, boolean failOutOfRange) {
-        FieldPath fieldPath = new FieldPath(path);
-        Object context = fieldPath.initialContext;
+        return hasField(new FieldPath(path), failOutOfRange);
+    }
+
+    private boolean hasField(FieldPath fieldPath, boolean failOutOfRange) {
+        String path = fieldPath.path;
+        Object context = initialContext(fieldPath);
         for (int i = 0; i < fieldPath.pathElements.length - 1; i++) {
             String pathElement = fieldPath.pathElements[i];
             if (context == null) {
@@ -298,7 +306,7 @@ public final class IngestDocument {
      * @throws IllegalArgumentException if the path is null, empty, invalid or if the field doesn't exist.
      */
     public void removeField(TemplateScript.Factory fieldPathTemplate) {
-        removeField(renderTemplate(fieldPathTemplate));
+        removeField(fieldPath(fieldPathTemplate));
     }
 
     /**
@@ -307,8 +315,12 @@ public final class IngestDocument {
      * @throws IllegalArgumentException if the path is null, empty, invalid or if the field doesn't exist.
      */
     public void removeField(String path) {
-        FieldPath fieldPath = new FieldPath(path);
-        Object context = fieldPath.initialContext;
+        removeField(new FieldPath(path));
+    }
+
+    private void removeField(FieldPath fieldPath) {
+        String path = fieldPath.path;
+        Object context = initialContext(fieldPath);
         for (int i = 0; i < fieldPath.pathElements.length - 1; i++) {
             context = resolve(fieldPath.pathElements[i], path, context);
         }
@@ -426,8 +438,8 @@ public final class IngestDocument {
      * @throws IllegalArgumentException if the path is null, empty or invalid.
      */
     public void appendFieldValue(TemplateScript.Factory fieldPathTemplate, ValueSource valueSource) {
-        Map<String, Object> model = createTemplateModel();
-        appendFieldValue(fieldPathTemplate.newInstance(model).execute(), valueSource.copyAndResolve(model));
+        Map<String, Object> model = createTemplateModel(fieldPathTemplate, valueSource);
+        setFieldValue(fieldPath(fieldPathTemplate, model), valueSource.copyAndResolve(model), true, true);
     }
 
     /**
@@ -444,8 +456,8 @@ public final class IngestDocument {
      * @throws IllegalArgumentException if the path is null, empty or invalid.
      */
     public void appendFieldValue(TemplateScript.Factory fieldPathTemplate, ValueSource valueSource, boolean allowDuplicates) {
-        Map<String, Object> model = createTemplateModel();
-        appendFieldValue(fieldPathTemplate.newInstance(model).execute(), valueSource.copyAndResolve(model), allowDuplicates);
+        Map<String, Object> model = createTemplateModel(fieldPathTemplate, valueSource);
+        setFieldValue(fieldPath(fieldPathTemplate, model), valueSource.copyAndResolve(model), true, allowDuplicates);
     }
 
     /**
@@ -472,8 +484,8 @@ public final class IngestDocument {
      * item identified by the provided path.
      */
     public void setFieldValue(TemplateScript.Factory fieldPathTemplate, ValueSource valueSource) {
-        Map<String, Object> model = createTemplateModel();
-        setFieldValue(fieldPathTemplate.newInstance(model).execute(), valueSource.copyAndResolve(model), false);
+        Map<String, Object> model = createTemplateModel(fieldPathTemplate, valueSource);
+        setFieldValue(fieldPath(fieldPathTemplate, model), valueSource.copyAndResolve(model), false, true);
     }
 
     /**
@@ -487,7 +499,7 @@ public final class IngestDocument {
      * item identified by the provided path.
      */
     public void setFieldValue(TemplateScript.Factory fieldPathTemplate, ValueSource valueSource, boolean ignoreEmptyValue) {
-        Map<String, Object> model = createTemplateModel();
+        Map<String, Object> model = createTemplateModel(fieldPathTemplate, valueSource);
         Object value = valueSource.copyAndResolve(model);
         if (ignoreEmptyValue && valueSource instanceof ValueSource.TemplatedValue) {
             if (value == null) {
@@ -499,7 +511,7 @@ public final class IngestDocument {
             }
         }
 
-        setFieldValue(fieldPathTemplate.newInstance(model).execute(), value, false);
+        setFieldValue(fieldPath(fieldPathTemplate, model), value, false, true);
     }
 
     private void setFieldValue(String path, Object value, boolean append) {
@@ -507,8 +519,12 @@ public final class IngestDocument {
     }
 
     private void setFieldValue(String path, Object value, boolean append, boolean allowDuplicates) {
-        FieldPath fieldPath = new FieldPath(path);
-        Object context = fieldPath.initialContext;
+        setFieldValue(new FieldPath(path), value, append, allowDuplicates);
+    }
+
+    private void setFieldValue(FieldPath fieldPath, Object value, boolean append, boolean allowDuplicates) {
+        String path = fieldPath.path;
+        Object context = initialContext(fieldPath);
         for (int i = 0; i < fieldPath.pathElements.length - 1; i++) {
             String pathElement = fieldPath.pathElements[i];
             if (context == null) {
@@ -655,9 +671,41 @@ public final class IngestDocument {
     }
 
     public String renderTemplate(TemplateScript.Factory template) {
+        if (template instanceof ConstantTemplateScriptFactory) {
+            return ((ConstantTemplateScriptFactory) template).getValue();
+        }
         return template.newInstance(createTemplateModel()).execute();
     }
 
+    private FieldPath fieldPath(TemplateScript.Factory pathTemplate) {
+        if (pathTemplate instanceof ConstantTemplateScriptFactory) {
+            return ((ConstantTemplateScriptFactory) pathTemplate).getFieldPath();
+        }
+        return new FieldPath(renderTemplate(pathTemplate));
+    }
+
+    private static FieldPath fieldPath(TemplateScript.Factory pathTemplate, Map<String, Object> model) {
+        if (pathTemplate instanceof ConstantTemplateScriptFactory) {
+            return ((ConstantTemplateScriptFactory) pathTemplate).getFieldPath();
+        }
+        return new FieldPath(pathTemplate.newInstance(model).execute());
+    }
+
+    private Object initialContext(FieldPath fieldPath) {
+        return fieldPath.inIngestMetadata ? ingestMetadata : sourceAndMetadata;
+    }
+
+    /**
+     * Creates the model to render the given templates with, or returns <code>null</code> if neither of them is templated
+     * since copying the document would be wasted then.
+     */
+    private Map<String, Object> createTemplateModel(TemplateScript.Factory fieldPathTemplate, ValueSource valueSource) {
+        if (fieldPathTemplate instanceof ConstantTemplateScriptFactory && valueSource.isTemplated() == false) {
+            return null;
+        }
+        return createTemplateModel();
+    }
+
     private Map<String, Object> createTemplateModel() {
         Map<String, Object> model = new HashMap<>(sourceAndMetadata);
         model.put(SourceFieldMapper.NAME, sourceAndMetadata);
@@ -750,20 +798,56 @@ public final class IngestDocument {
      * @param handler handles the result or failure
      */
     public void executePipeline(Pipeline pipeline, BiConsumer<IngestDocument, Exception> handler) {
-        if (executedPipelines.add(pipeline.getId())) {
-            Object previousPipeline = ingestMetadata.put("pipeline", pipeline.getId());
-            pipeline.execute(this, (result, e) -> {
-                executedPipelines.remove(pipeline.getId());
-                if (previousPipeline != null) {
-                    ingestMetadata.put("pipeline", previousPipeline);
-                } else {
-                    ingestMetadata.remove("pipeline");
-                }
-                handler.accept(result, e);
-            });
-        } else {
+        final BiConsumer<IngestDocument, Exception> pipelineHandler = startPipeline(pipeline, handler);
+        if (pipelineHandler != null) {
+            pipeline.execute(this, pipelineHandler);
+        }
+    }
+
+    /**
+     * Executes the given pipeline as a batch for the given documents, except for the documents that already executed the pipeline
+     * which fail like they do with {@link #executePipeline(Pipeline, BiConsumer)}.
+     *
+     * @param pipeline the pipeline to execute
+     * @param ingestDocuments the documents to execute the pipeline for
+     * @param handlers handle the result or failure of the document at the same position
+     */
+    public static void executePipeline(Pipeline pipeline, List<IngestDocument> ingestDocuments,
+                                       List<BiConsumer<IngestDocument, Exception>> handlers) {
+        final List<IngestDocument> documents = new ArrayList<>(ingestDocuments.size());
+        final List<BiConsumer<IngestDocument, Exception>> pipelineHandlers = new ArrayList<>(ingestDocuments.size());
+        for (int i = 0; i < ingestDocuments.size(); i++) {
+            final IngestDocument ingestDocument = ingestDocuments.get(i);
+            final BiConsumer<IngestDocument, Exception> pipelineHandler = ingestDocument.startPipeline(pipeline, handlers.get(i));
+            if (pipelineHandler != null) {
+                documents.add(ingestDocument);
+                pipelineHandlers.add(pipelineHandler);
+            }
+        }
+        if (documents.isEmpty() == false) {
+            pipeline.executeBatch(documents, pipelineHandlers);
+        }
+    }
+
+    /**
+     * Marks the given pipeline as executing for this document and returns the handler that unmarks it before calling the given
+     * handler, or fails the given handler and returns {@code null} if this document already executes the pipeline.
+     */
+    private BiConsumer<IngestDocument, Exception> startPipeline(Pipeline pipeline, BiConsumer<IngestDocument, Exception> handler) {
+        if (executedPipelines.add(pipeline.getId()) == false) {
             handler.accept(null, new IllegalStateException(PIPELINE_CYCLE_ERROR_MESSAGE + pipeline.getId()));
+            return null;
         }
+        Object previousPipeline = ingestMetadata.put("pipeline", pipeline.getId());
+        return (result, e) -> {
+            executedPipelines.remove(pipeline.getId());
+            if (previousPipeline != null) {
+                ingestMetadata.put("pipeline", previousPipeline);
+            } else {
+                ingestMetadata.remove("pipeline");
+            }
+            handler.accept(result, e);
+        };
     }
 
     /**
@@ -821,21 +905,26 @@ public final class IngestDocument {
         }
     }
 
-    private class FieldPath {
+    /**
+     * A path in dot-notation split into its elements. It doesn't depend on a document, so constant paths are split only once.
+     */
+    static final class FieldPath {
 
+        private final String path;
         private final String[] pathElements;
-        private final Object initialContext;
+        private final boolean inIngestMetadata;
 
-        private FieldPath(String path) {
+        FieldPath(String path) {
             if (Strings.isEmpty(path)) {
                 throw new IllegalArgumentException("path cannot be null nor empty");
             }
+            this.path = path;
             String newPath;
             if (path.startsWith(INGEST_KEY_PREFIX)) {
-                initialContext = ingestMetadata;
+                inIngestMetadata = true;
                 newPath = path.substring(INGEST_KEY_PREFIX.length(), path.length());
             } else {
-                initialContext = sourceAndMetadata;
+                inIngestMetadata = false;
                 if (path.startsWith(SOURCE_PREFIX)) {
                     newPath = path.substring(SOURCE_PREFIX.length(), path.length());
                 } else {
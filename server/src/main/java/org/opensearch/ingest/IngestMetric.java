@@ -63,12 +63,30 @@ class IngestMetric {
      * The only increasing count of failures
      */
     private final CounterMetric ingestFailed = new CounterMetric();
+    /**
+     * The count of things measured per range of times, see {@link IngestStats.Stats#getIngestTimeHistogram()}
+     */
+    private final CounterMetric[] ingestTimeHistogram = new CounterMetric[IngestStats.Stats.TIME_HISTOGRAM_BUCKETS];
+
+    IngestMetric() {
+        for (int i = 0; i < ingestTimeHistogram.length; i++) {
+            ingestTimeHistogram[i] = new CounterMetric();
+        }
+    }
 
     /**
      * Call this prior to the ingest action.
      */
     void preIngest() {
-        ingestCurrent.incrementAndGet();
+        preIngest(1);
+    }
+
+    /**
+     * Call this prior to the ingest action on a batch of things.
+     * @param count The number of things in the batch.
+     */
+    void preIngest(int count) {
+        ingestCurrent.addAndGet(count);
     }
 
     /**
@@ -76,9 +94,20 @@ class IngestMetric {
      * @param ingestTimeInMillis The time it took to perform the action.
      */
     void postIngest(long ingestTimeInMillis) {
-        ingestCurrent.decrementAndGet();
+        postIngest(1, ingestTimeInMillis);
+    }
+
+    /**
+     * Call this after the performing the ingest action on a batch of things, even if the action failed for some of them.
+     * @param count The number of things in the batch.
+     * @param ingestTimeInMillis The time it took to perform the action on the whole batch, which the histogram spreads evenly over
+     *                           the things of the batch.
+     */
+    void postIngest(int count, long ingestTimeInMillis) {
+        ingestCurrent.addAndGet(-count);
         ingestTime.inc(ingestTimeInMillis);
-        ingestCount.inc();
+        ingestCount.inc(count);
+        ingestTimeHistogram[IngestStats.Stats.timeHistogramBucket(ingestTimeInMillis / count)].inc(count);
     }
 
     /**
@@ -99,12 +128,19 @@ class IngestMetric {
         ingestCount.inc(metrics.ingestCount.count());
         ingestTime.inc(metrics.ingestTime.sum());
         ingestFailed.inc(metrics.ingestFailed.count());
+        for (int i = 0; i < ingestTimeHistogram.length; i++) {
+            ingestTimeHistogram[i].inc(metrics.ingestTimeHistogram[i].count());
+        }
     }
 
     /**
      * Creates a serializable representation for these metrics.
      */
     IngestStats.Stats createStats() {
-        return new IngestStats.Stats(ingestCount.count(), ingestTime.sum(), ingestCurrent.get(), ingestFailed.count());
+        final long[] histogram = new long[ingestTimeHistogram.length];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = ingestTimeHistogram[i].count();
+        }
+        return new IngestStats.Stats(ingestCount.count(), ingestTime.sum(), ingestCurrent.get(), ingestFailed.count(), histogram);
     }
 }
@@ -59,6 +59,7 @@ import org.opensearch.cluster.node.DiscoveryNode;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.collect.Tuple;
 import org.opensearch.common.regex.Regex;
+import org.opensearch.common.settings.Setting;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.concurrent.AbstractRunnable;
@@ -79,12 +80,14 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -99,6 +102,13 @@ public class IngestService implements ClusterStateApplier, ReportingService<Inge
 
     public static final String INGEST_ORIGIN = "ingest";
 
+    /**
+     * The maximum number of documents of a bulk request that go through a pipeline together, the ingest documents of a batch are
+     * only created once the previous batch went through the pipeline.
+     */
+    public static final Setting<Integer> BATCH_SIZE_SETTING =
+        Setting.intSetting("ingest.batch_size", 100, 1, Setting.Property.NodeScope, Setting.Property.Dynamic);
+
     private static final Logger logger = LogManager.getLogger(IngestService.class);
 
     private final ClusterService clusterService;
@@ -113,6 +123,7 @@ public class IngestService implements ClusterStateApplier, ReportingService<Inge
     private final IngestMetric totalMetrics = new IngestMetric();
     private final List<Consumer<ClusterState>> ingestClusterStateListeners = new CopyOnWriteArrayList<>();
     private volatile ClusterState state;
+    private volatile int batchSize;
 
     public IngestService(ClusterService clusterService, ThreadPool threadPool,
                          Environment env, ScriptService scriptService, AnalysisRegistry analysisRegistry,
@@ -131,6 +142,12 @@ public class IngestService implements ClusterStateApplier, ReportingService<Inge
         );
 
         this.threadPool = threadPool;
+        this.batchSize = BATCH_SIZE_SETTING.get(clusterService.getSettings());
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(BATCH_SIZE_SETTING, this::setBatchSize);
+    }
+
+    private void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
     }
 
     private static Map<String, Processor.Factory> processorFactories(List<IngestPlugin> ingestPlugins,
@@ -479,6 +496,8 @@ public class IngestService implements ClusterStateApplier, ReportingService<Inge
             protected void doRun() {
                 final Thread originalThread = Thread.currentThread();
                 final AtomicInteger counter = new AtomicInteger(numberOfActionRequests);
+                // documents that start with the same pipeline execute it as one batch, see Processor#executeBatch
+                final Map<String, List<PipelinedRequest>> batches = new LinkedHashMap<>();
                 int i = 0;
                 for (DocWriteRequest<?> actionRequest : actionRequests) {
                     IndexRequest indexRequest = TransportBulkAction.getIndexWriteRequest(actionRequest);
@@ -514,88 +533,209 @@ public class IngestService implements ClusterStateApplier, ReportingService<Inge
                         continue;
                     }
 
-                    executePipelines(i, pipelines.iterator(), hasFinalPipeline, indexRequest, onDropped, onFailure, counter,
-                                     onCompletion, originalThread);
+                    final Iterator<String> it = pipelines.iterator();
+                    batches.computeIfAbsent(it.next(), k -> new ArrayList<>())
+                        .add(new PipelinedRequest(i, indexRequest, it, hasFinalPipeline));
 
                     i++;
                 }
+                batches.forEach((pipelineId, requests) ->
+                    executePipeline(pipelineId, requests, onDropped, onFailure, counter, onCompletion, originalThread, executorName));
             }
         });
     }
 
-    private void executePipelines(
-        final int slot,
-        final Iterator<String> it,
-        final boolean hasFinalPipeline,
-        final IndexRequest indexRequest,
+    /**
+     * An index request of a bulk request along with the pipelines that are left to execute for it.
+     */
+    private static final class PipelinedRequest {
+
+        private final int slot;
+        private final IndexRequest indexRequest;
+        private final String originalIndex;
+        private final Iterator<String> pipelines;
+        private final boolean hasFinalPipeline;
+
+        private PipelinedRequest(int slot, IndexRequest indexRequest, Iterator<String> pipelines, boolean hasFinalPipeline) {
+            this.slot = slot;
+            this.indexRequest = indexRequest;
+            this.originalIndex = indexRequest.indices()[0];
+            this.pipelines = pipelines;
+            this.hasFinalPipeline = hasFinalPipeline;
+        }
+    }
+
+    private void executePipeline(
+        final String pipelineId,
+        final List<PipelinedRequest> requests,
         final IntConsumer onDropped,
         final BiConsumer<Integer, Exception> onFailure,
         final AtomicInteger counter,
         final BiConsumer<Thread, Exception> onCompletion,
-        final Thread originalThread
+        final Thread originalThread,
+        final String executorName
     ) {
-        while (it.hasNext()) {
-            final String pipelineId = it.next();
-            try {
-                PipelineHolder holder = pipelines.get(pipelineId);
-                if (holder == null) {
-                    throw new IllegalArgumentException("pipeline with id [" + pipelineId + "] does not exist");
-                }
-                Pipeline pipeline = holder.pipeline;
-                String originalIndex = indexRequest.indices()[0];
-                innerExecute(slot, indexRequest, pipeline, onDropped, e -> {
-                    if (e != null) {
-                        logger.debug(() -> new ParameterizedMessage("failed to execute pipeline [{}] for document [{}/{}]",
-                            pipelineId, indexRequest.index(), indexRequest.id()), e);
-                        onFailure.accept(slot, e);
-                    }
+        final PipelineHolder holder = pipelines.get(pipelineId);
+        if (holder != null && holder.pipeline.getProcessors().isEmpty()) {
+            for (PipelinedRequest request : requests) {
+                executeNextPipeline(pipelineId, request, null, onDropped, onFailure, counter, onCompletion, originalThread, executorName);
+            }
+            return;
+        }
+        executeBatches(pipelineId, holder, requests, 0, onDropped, onFailure, counter, onCompletion, originalThread, executorName);
+    }
 
-                    Iterator<String> newIt = it;
-                    boolean newHasFinalPipeline = hasFinalPipeline;
-                    String newIndex = indexRequest.indices()[0];
-
-                    if (Objects.equals(originalIndex, newIndex) == false) {
-                        if (hasFinalPipeline && it.hasNext() == false) {
-                            totalMetrics.ingestFailed();
-                            onFailure.accept(slot, new IllegalStateException("final pipeline [" + pipelineId +
-                                "] can't change the target index"));
-                        } else {
-
-                            //Drain old it so it's not looped over
-                            it.forEachRemaining($ -> {
-                            });
-                            indexRequest.isPipelineResolved(false);
-                            resolvePipelines(null, indexRequest, state.metadata());
-                            if (IngestService.NOOP_PIPELINE_NAME.equals(indexRequest.getFinalPipeline()) == false) {
-                                newIt = Collections.singleton(indexRequest.getFinalPipeline()).iterator();
-                                newHasFinalPipeline = true;
-                            } else {
-                                newIt = Collections.emptyIterator();
+    /**
+     * Executes the pipeline for the requests starting at {@code from} in batches of at most {@link #BATCH_SIZE_SETTING} requests, each
+     * batch once the previous one went through the pipeline so that the ingest documents of a large bulk request are not all in memory
+     * at once. Batches that complete on the calling thread are followed by the next one in this loop, and a batch that completes
+     * asynchronously forks the next one, so that the stack does not grow with the number of batches.
+     */
+    private void executeBatches(
+        final String pipelineId,
+        final PipelineHolder holder,
+        final List<PipelinedRequest> requests,
+        final int from,
+        final IntConsumer onDropped,
+        final BiConsumer<Integer, Exception> onFailure,
+        final AtomicInteger counter,
+        final BiConsumer<Thread, Exception> onCompletion,
+        final Thread originalThread,
+        final String executorName
+    ) {
+        int next = from;
+        while (next < requests.size()) {
+            final int to = Math.min(next + batchSize, requests.size());
+            // set by whichever of this loop and the completion of the batch comes last, which continues with the next batch
+            final AtomicBoolean completed = new AtomicBoolean();
+            executeBatch(pipelineId, holder, requests.subList(next, to), onDropped, onFailure, counter, onCompletion, originalThread,
+                executorName, () -> {
+                    if (completed.compareAndSet(false, true) == false && to < requests.size()) {
+                        threadPool.executor(executorName).execute(new AbstractRunnable() {
+
+                            @Override
+                            public void onFailure(Exception e) {
+                                onCompletion.accept(null, e);
                             }
-                        }
-                    }
 
-                    if (newIt.hasNext()) {
-                        executePipelines(slot, newIt, newHasFinalPipeline, indexRequest, onDropped, onFailure, counter, onCompletion,
-                            originalThread);
-                    } else {
-                        if (counter.decrementAndGet() == 0) {
-                            onCompletion.accept(originalThread, null);
-                        }
-                        assert counter.get() >= 0;
+                            @Override
+                            public boolean isForceExecution() {
+                                // the requests of the remaining batches would never complete otherwise
+                                return true;
+                            }
+
+                            @Override
+                            protected void doRun() {
+                                executeBatches(pipelineId, holder, requests, to, onDropped, onFailure, counter, onCompletion,
+                                    originalThread, executorName);
+                            }
+                        });
                     }
                 });
+            if (completed.compareAndSet(false, true)) {
+                // the batch completes asynchronously and continues with the next one
+                return;
+            }
+            next = to;
+        }
+    }
+
+    private void executeBatch(
+        final String pipelineId,
+        final PipelineHolder holder,
+        final List<PipelinedRequest> batch,
+        final IntConsumer onDropped,
+        final BiConsumer<Integer, Exception> onFailure,
+        final AtomicInteger counter,
+        final BiConsumer<Thread, Exception> onCompletion,
+        final Thread originalThread,
+        final String executorName,
+        final Runnable onBatchCompleted
+    ) {
+        final List<PipelinedRequest> executedRequests = new ArrayList<>(batch.size());
+        final List<IngestDocument> ingestDocuments = new ArrayList<>(batch.size());
+        for (PipelinedRequest request : batch) {
+            try {
+                if (holder == null) {
+                    throw new IllegalArgumentException("pipeline with id [" + pipelineId + "] does not exist");
+                }
+                IndexRequest indexRequest = request.indexRequest;
+                ingestDocuments.add(new IngestDocument(indexRequest.index(), indexRequest.type(), indexRequest.id(),
+                    indexRequest.routing(), indexRequest.version(), indexRequest.versionType(), indexRequest.sourceAsMap()));
+                executedRequests.add(request);
             } catch (Exception e) {
                 logger.debug(() -> new ParameterizedMessage("failed to execute pipeline [{}] for document [{}/{}]",
-                    pipelineId, indexRequest.index(), indexRequest.id()), e);
-                onFailure.accept(slot, e);
+                    pipelineId, request.indexRequest.index(), request.indexRequest.id()), e);
+                onFailure.accept(request.slot, e);
                 if (counter.decrementAndGet() == 0) {
                     onCompletion.accept(originalThread, null);
                 }
                 assert counter.get() >= 0;
-                break;
             }
         }
+        if (executedRequests.isEmpty()) {
+            onBatchCompleted.run();
+        } else {
+            innerExecute(holder.pipeline, executedRequests, ingestDocuments, onDropped, (request, e) ->
+                executeNextPipeline(pipelineId, request, e, onDropped, onFailure, counter, onCompletion, originalThread, executorName),
+                onBatchCompleted);
+        }
+    }
+
+    private void executeNextPipeline(
+        final String pipelineId,
+        final PipelinedRequest request,
+        final Exception e,
+        final IntConsumer onDropped,
+        final BiConsumer<Integer, Exception> onFailure,
+        final AtomicInteger counter,
+        final BiConsumer<Thread, Exception> onCompletion,
+        final Thread originalThread,
+        final String executorName
+    ) {
+        final int slot = request.slot;
+        final IndexRequest indexRequest = request.indexRequest;
+        final Iterator<String> it = request.pipelines;
+        if (e != null) {
+            logger.debug(() -> new ParameterizedMessage("failed to execute pipeline [{}] for document [{}/{}]",
+                pipelineId, indexRequest.index(), indexRequest.id()), e);
+            onFailure.accept(slot, e);
+        }
+
+        Iterator<String> newIt = it;
+        boolean newHasFinalPipeline = request.hasFinalPipeline;
+        String newIndex = indexRequest.indices()[0];
+
+        if (Objects.equals(request.originalIndex, newIndex) == false) {
+            if (request.hasFinalPipeline && it.hasNext() == false) {
+                totalMetrics.ingestFailed();
+                onFailure.accept(slot, new IllegalStateException("final pipeline [" + pipelineId +
+                    "] can't change the target index"));
+            } else {
+
+                //Drain old it so it's not looped over
+                it.forEachRemaining($ -> {
+                });
+                indexRequest.isPipelineResolved(false);
+                resolvePipelines(null, indexRequest, state.metadata());
+                if (IngestService.NOOP_PIPELINE_NAME.equals(indexRequest.getFinalPipeline()) == false) {
+                    newIt = Collections.singleton(indexRequest.getFinalPipeline()).iterator();
+                    newHasFinalPipeline = true;
+                } else {
+                    newIt = Collections.emptyIterator();
+                }
+            }
+        }
+
+        if (newIt.hasNext()) {
+            executePipeline(newIt.next(), Collections.singletonList(new PipelinedRequest(slot, indexRequest, newIt, newHasFinalPipeline)),
+                onDropped, onFailure, counter, onCompletion, originalThread, executorName);
+        } else {
+            if (counter.decrementAndGet() == 0) {
+                onCompletion.accept(originalThread, null);
+            }
+            assert counter.get() >= 0;
+        }
     }
 
     public IngestStats stats() {
@@ -649,56 +789,58 @@ public class IngestService implements ClusterStateApplier, ReportingService<Inge
         return sb.toString();
     }
 
-    private void innerExecute(int slot, IndexRequest indexRequest, Pipeline pipeline, IntConsumer itemDroppedHandler,
-                              Consumer<Exception> handler) {
-        if (pipeline.getProcessors().isEmpty()) {
-            handler.accept(null);
-            return;
-        }
-
+    private void innerExecute(Pipeline pipeline, List<PipelinedRequest> requests, List<IngestDocument> ingestDocuments,
+                              IntConsumer itemDroppedHandler, BiConsumer<PipelinedRequest, Exception> handler,
+                              Runnable onBatchCompleted) {
         long startTimeInNanos = System.nanoTime();
         // the pipeline specific stat holder may not exist and that is fine:
         // (e.g. the pipeline may have been removed while we're ingesting a document
-        totalMetrics.preIngest();
-        String index = indexRequest.index();
-        String type = indexRequest.type();
-        String id = indexRequest.id();
-        String routing = indexRequest.routing();
-        Long version = indexRequest.version();
-        VersionType versionType = indexRequest.versionType();
-        Map<String, Object> sourceAsMap = indexRequest.sourceAsMap();
-        IngestDocument ingestDocument = new IngestDocument(index, type, id, routing, version, versionType, sourceAsMap);
-        ingestDocument.executePipeline(pipeline, (result, e) -> {
-            long ingestTimeInMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTimeInNanos);
-            totalMetrics.postIngest(ingestTimeInMillis);
-            if (e != null) {
-                totalMetrics.ingestFailed();
-                handler.accept(e);
-            } else if (result == null) {
-                itemDroppedHandler.accept(slot);
-                handler.accept(null);
-            } else {
-                Map<IngestDocument.Metadata, Object> metadataMap = ingestDocument.extractMetadata();
-                //it's fine to set all metadata fields all the time, as ingest document holds their starting values
-                //before ingestion, which might also get modified during ingestion.
-                indexRequest.index((String) metadataMap.get(IngestDocument.Metadata.INDEX));
-                indexRequest.type((String) metadataMap.get(IngestDocument.Metadata.TYPE));
-                indexRequest.id((String) metadataMap.get(IngestDocument.Metadata.ID));
-                indexRequest.routing((String) metadataMap.get(IngestDocument.Metadata.ROUTING));
-                indexRequest.version(((Number) metadataMap.get(IngestDocument.Metadata.VERSION)).longValue());
-                if (metadataMap.get(IngestDocument.Metadata.VERSION_TYPE) != null) {
-                    indexRequest.versionType(VersionType.fromString((String) metadataMap.get(IngestDocument.Metadata.VERSION_TYPE)));
+        totalMetrics.preIngest(requests.size());
+        final AtomicInteger pending = new AtomicInteger(requests.size());
+        final List<BiConsumer<IngestDocument, Exception>> handlers = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            final PipelinedRequest request = requests.get(i);
+            final IndexRequest indexRequest = request.indexRequest;
+            final IngestDocument ingestDocument = ingestDocuments.get(i);
+            handlers.add((result, e) -> {
+                final boolean lastDocument = pending.decrementAndGet() == 0;
+                if (lastDocument) {
+                    long ingestTimeInMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTimeInNanos);
+                    totalMetrics.postIngest(requests.size(), ingestTimeInMillis);
                 }
-                if (metadataMap.get(IngestDocument.Metadata.IF_SEQ_NO) != null) {
-                    indexRequest.setIfSeqNo(((Number) metadataMap.get(IngestDocument.Metadata.IF_SEQ_NO)).longValue());
+                if (e != null) {
+                    totalMetrics.ingestFailed();
+                    handler.accept(request, e);
+                } else if (result == null) {
+                    itemDroppedHandler.accept(request.slot);
+                    handler.accept(request, null);
+                } else {
+                    Map<IngestDocument.Metadata, Object> metadataMap = ingestDocument.extractMetadata();
+                    //it's fine to set all metadata fields all the time, as ingest document holds their starting values
+                    //before ingestion, which might also get modified during ingestion.
+                    indexRequest.index((String) metadataMap.get(IngestDocument.Metadata.INDEX));
+                    indexRequest.type((String) metadataMap.get(IngestDocument.Metadata.TYPE));
+                    indexRequest.id((String) metadataMap.get(IngestDocument.Metadata.ID));
+                    indexRequest.routing((String) metadataMap.get(IngestDocument.Metadata.ROUTING));
+                    indexRequest.version(((Number) metadataMap.get(IngestDocument.Metadata.VERSION)).longValue());
+                    if (metadataMap.get(IngestDocument.Metadata.VERSION_TYPE) != null) {
+                        indexRequest.versionType(VersionType.fromString((String) metadataMap.get(IngestDocument.Metadata.VERSION_TYPE)));
+                    }
+                    if (metadataMap.get(IngestDocument.Metadata.IF_SEQ_NO) != null) {
+                        indexRequest.setIfSeqNo(((Number) metadataMap.get(IngestDocument.Metadata.IF_SEQ_NO)).longValue());
+                    }
+                    if (metadataMap.get(IngestDocument.Metadata.IF_PRIMARY_TERM) != null) {
+                        indexRequest.setIfPrimaryTerm(((Number) metadataMap.get(IngestDocument.Metadata.IF_PRIMARY_TERM)).longValue());
+                    }
+                    indexRequest.source(ingestDocument.getSourceAndMetadata(), indexRequest.getContentType());
+                    handler.accept(request, null);
                 }
-                if (metadataMap.get(IngestDocument.Metadata.IF_PRIMARY_TERM) != null) {
-                    indexRequest.setIfPrimaryTerm(((Number) metadataMap.get(IngestDocument.Metadata.IF_PRIMARY_TERM)).longValue());
+                if (lastDocument) {
+                    onBatchCompleted.run();
                 }
-                indexRequest.source(ingestDocument.getSourceAndMetadata(), indexRequest.getContentType());
-                handler.accept(null);
-            }
-        });
+            });
+        }
+        IngestDocument.executePipeline(pipeline, ingestDocuments, handlers);
     }
 
     @Override
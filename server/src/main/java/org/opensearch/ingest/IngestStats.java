@@ -33,6 +33,7 @@
 package org.opensearch.ingest;
 
 import org.opensearch.LegacyESVersion;
+import org.opensearch.Version;
 import org.opensearch.common.io.stream.StreamInput;
 import org.opensearch.common.io.stream.StreamOutput;
 import org.opensearch.common.io.stream.Writeable;
@@ -42,6 +43,7 @@ import org.opensearch.common.xcontent.XContentBuilder;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -181,16 +183,30 @@ public class IngestStats implements Writeable, ToXContentFragment {
 
     public static class Stats implements Writeable, ToXContentFragment {
 
+        // the exclusive upper bounds of the buckets of the time histogram, but the last one which has no upper bound
+        private static final long[] TIME_HISTOGRAM_BOUNDS_IN_MILLIS = new long[] { 1, 10, 100, 1000 };
+        static final int TIME_HISTOGRAM_BUCKETS = TIME_HISTOGRAM_BOUNDS_IN_MILLIS.length + 1;
+
         private final long ingestCount;
         private final long ingestTimeInMillis;
         private final long ingestCurrent;
         private final long ingestFailedCount;
+        private final long[] ingestTimeHistogram;
 
         public Stats(long ingestCount, long ingestTimeInMillis, long ingestCurrent, long ingestFailedCount) {
+            this(ingestCount, ingestTimeInMillis, ingestCurrent, ingestFailedCount, new long[TIME_HISTOGRAM_BUCKETS]);
+        }
+
+        public Stats(long ingestCount, long ingestTimeInMillis, long ingestCurrent, long ingestFailedCount, long[] ingestTimeHistogram) {
+            if (ingestTimeHistogram.length != TIME_HISTOGRAM_BUCKETS) {
+                throw new IllegalArgumentException("the time histogram must have [" + TIME_HISTOGRAM_BUCKETS + "] buckets but had ["
+                    + ingestTimeHistogram.length + "]");
+            }
             this.ingestCount = ingestCount;
             this.ingestTimeInMillis = ingestTimeInMillis;
             this.ingestCurrent = ingestCurrent;
             this.ingestFailedCount = ingestFailedCount;
+            this.ingestTimeHistogram = ingestTimeHistogram;
         }
 
         /**
@@ -201,6 +217,11 @@ public class IngestStats implements Writeable, ToXContentFragment {
             ingestTimeInMillis = in.readVLong();
             ingestCurrent = in.readVLong();
             ingestFailedCount = in.readVLong();
+            if (in.getVersion().onOrAfter(Version.V_1_0_0)) {
+                ingestTimeHistogram = in.readVLongArray();
+            } else {
+                ingestTimeHistogram = new long[TIME_HISTOGRAM_BUCKETS];
+            }
         }
 
         @Override
@@ -209,6 +230,20 @@ public class IngestStats implements Writeable, ToXContentFragment {
             out.writeVLong(ingestTimeInMillis);
             out.writeVLong(ingestCurrent);
             out.writeVLong(ingestFailedCount);
+            if (out.getVersion().onOrAfter(Version.V_1_0_0)) {
+                out.writeVLongArray(ingestTimeHistogram);
+            }
+        }
+
+        /**
+         * The bucket of the time histogram that counts the given time.
+         */
+        static int timeHistogramBucket(long ingestTimeInMillis) {
+            int bucket = 0;
+            while (bucket < TIME_HISTOGRAM_BOUNDS_IN_MILLIS.length && ingestTimeInMillis >= TIME_HISTOGRAM_BOUNDS_IN_MILLIS[bucket]) {
+                bucket++;
+            }
+            return bucket;
         }
 
         /**
@@ -239,12 +274,33 @@ public class IngestStats implements Writeable, ToXContentFragment {
             return ingestFailedCount;
         }
 
+        /**
+         * @return The number of ingest preprocessing operations per range of times, less than 1ms, less than 10ms, less than 100ms,
+         * less than 1s and 1s or more. Operations executed as a batch count the average time of the operations of the batch.
+         */
+        public long[] getIngestTimeHistogram() {
+            return ingestTimeHistogram;
+        }
+
         @Override
         public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
             builder.field("count", ingestCount);
             builder.humanReadableField("time_in_millis", "time", new TimeValue(ingestTimeInMillis, TimeUnit.MILLISECONDS));
             builder.field("current", ingestCurrent);
             builder.field("failed", ingestFailedCount);
+            builder.startArray("time_histogram");
+            for (int i = 0; i < ingestTimeHistogram.length; i++) {
+                builder.startObject();
+                if (i > 0) {
+                    builder.field("ge_millis", TIME_HISTOGRAM_BOUNDS_IN_MILLIS[i - 1]);
+                }
+                if (i < TIME_HISTOGRAM_BOUNDS_IN_MILLIS.length) {
+                    builder.field("lt_millis", TIME_HISTOGRAM_BOUNDS_IN_MILLIS[i]);
+                }
+                builder.field("count", ingestTimeHistogram[i]);
+                builder.endObject();
+            }
+            builder.endArray();
             return builder;
         }
 
@@ -256,12 +312,13 @@ public class IngestStats implements Writeable, ToXContentFragment {
             return Objects.equals(ingestCount, that.ingestCount)
                 && Objects.equals(ingestTimeInMillis, that.ingestTimeInMillis)
                 && Objects.equals(ingestFailedCount, that.ingestFailedCount)
-                && Objects.equals(ingestCurrent, that.ingestCurrent);
+                && Objects.equals(ingestCurrent, that.ingestCurrent)
+                && Arrays.equals(ingestTimeHistogram, that.ingestTimeHistogram);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(ingestCount, ingestTimeInMillis, ingestFailedCount, ingestCurrent);
+            return Objects.hash(ingestCount, ingestTimeInMillis, ingestFailedCount, ingestCurrent, Arrays.hashCode(ingestTimeHistogram));
         }
     }
 
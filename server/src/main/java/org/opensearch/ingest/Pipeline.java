@@ -35,11 +35,13 @@ package org.opensearch.ingest;
 import org.opensearch.OpenSearchParseException;
 import org.opensearch.common.Nullable;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.LongSupplier;
 
@@ -120,6 +122,35 @@ public final class Pipeline {
         });
     }
 
+    /**
+     * Modifies the data of a batch of documents to be indexed based on the processors this pipeline holds, calling the handler of
+     * each document the way {@link #execute(IngestDocument, BiConsumer)} does.
+     */
+    public void executeBatch(List<IngestDocument> ingestDocuments, List<BiConsumer<IngestDocument, Exception>> handlers) {
+        final int size = ingestDocuments.size();
+        if (size == 1) {
+            execute(ingestDocuments.get(0), handlers.get(0));
+            return;
+        }
+        final long startTimeInNanos = relativeTimeProvider.getAsLong();
+        final AtomicInteger pending = new AtomicInteger(size);
+        final List<BiConsumer<IngestDocument, Exception>> pipelineHandlers = new ArrayList<>(size);
+        for (BiConsumer<IngestDocument, Exception> handler : handlers) {
+            pipelineHandlers.add((result, e) -> {
+                if (pending.decrementAndGet() == 0) {
+                    long ingestTimeInMillis = TimeUnit.NANOSECONDS.toMillis(relativeTimeProvider.getAsLong() - startTimeInNanos);
+                    metrics.postIngest(size, ingestTimeInMillis);
+                }
+                if (e != null) {
+                    metrics.ingestFailed();
+                }
+                handler.accept(result, e);
+            });
+        }
+        metrics.preIngest(size);
+        compoundProcessor.executeBatch(ingestDocuments, pipelineHandlers);
+    }
+
     /**
      * The unique id of this pipeline
      */
@@ -39,6 +39,7 @@ import org.opensearch.index.analysis.AnalysisRegistry;
 import org.opensearch.script.ScriptService;
 import org.opensearch.threadpool.Scheduler;
 
+import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
@@ -70,6 +71,21 @@ public interface Processor {
         handler.accept(result, null);
     }
 
+    /**
+     * Introspect and potentially modify a batch of incoming documents, calling the handler of each document the way
+     * {@link #execute(IngestDocument, BiConsumer)} does, and in any order.
+     *
+     * Expert method: the documents of a bulk request that go through the same pipeline are executed as batches. Processors that can
+     * share work across the documents of a batch, like building parsers or looking up caches, override this method; by default
+     * the documents are executed one at a time.
+     */
+    default void executeBatch(List<IngestDocument> ingestDocuments, List<BiConsumer<IngestDocument, Exception>> handlers) {
+        assert ingestDocuments.size() == handlers.size();
+        for (int i = 0; i < ingestDocuments.size(); i++) {
+            execute(ingestDocuments.get(i), handlers.get(i));
+        }
+    }
+
     /**
      * Introspect and potentially modify the incoming data.
      *
@@ -62,6 +62,14 @@ public interface ValueSource {
      */
     Object copyAndResolve(Map<String, Object> model);
 
+    /**
+     * Returns <code>true</code> if resolving the value needs the model, otherwise {@link #copyAndResolve(Map)} ignores it.
+     * Implementations that can't tell keep the default so that they always get the model.
+     */
+    default boolean isTemplated() {
+        return true;
+    }
+
     static ValueSource wrap(Object value, ScriptService scriptService) {
 
         if (value instanceof Map) {
@@ -102,9 +110,11 @@ public interface ValueSource {
     final class MapValue implements ValueSource {
 
         private final Map<ValueSource, ValueSource> map;
+        private final boolean templated;
 
         MapValue(Map<ValueSource, ValueSource> map) {
             this.map = map;
+            this.templated = map.entrySet().stream().anyMatch(e -> e.getKey().isTemplated() || e.getValue().isTemplated());
         }
 
         @Override
@@ -116,6 +126,11 @@ public interface ValueSource {
             return copy;
         }
 
+        @Override
+        public boolean isTemplated() {
+            return templated;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -135,9 +150,11 @@ public interface ValueSource {
     final class ListValue implements ValueSource {
 
         private final List<ValueSource> values;
+        private final boolean templated;
 
         ListValue(List<ValueSource> values) {
             this.values = values;
+            this.templated = values.stream().anyMatch(ValueSource::isTemplated);
         }
 
         @Override
@@ -149,6 +166,11 @@ public interface ValueSource {
             return copy;
         }
 
+        @Override
+        public boolean isTemplated() {
+            return templated;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -178,6 +200,11 @@ public interface ValueSource {
             return value;
         }
 
+        @Override
+        public boolean isTemplated() {
+            return false;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -206,6 +233,11 @@ public interface ValueSource {
             return value;
         }
 
+        @Override
+        public boolean isTemplated() {
+            return false;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -235,6 +267,11 @@ public interface ValueSource {
             return template.newInstance(model).execute();
         }
 
+        @Override
+        public boolean isTemplated() {
+            return true;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -51,7 +51,8 @@ import java.util.stream.Collectors;
 /**
  * Class representing statistics about adaptive replica selection. This includes
  * EWMA of queue size, service time, and response time, as well as outgoing
- * searches to each node and the "rank" based on the ARS formula.
+ * searches to each node, the "rank" based on the ARS formula and how often
+ * each node was selected among the copies of a shard.
  */
 public class AdaptiveSelectionStats implements Writeable, ToXContentFragment {
 
@@ -86,6 +87,7 @@ public class AdaptiveSelectionStats implements Writeable, ToXContentFragment {
                 long outgoingSearches = clientOutgoingConnections.getOrDefault(nodeId, 0L);
                 builder.field("outgoing_searches", outgoingSearches);
                 builder.field("avg_queue_size", stats.queueSize);
+                builder.field("avg_queue_size_trend", String.format(Locale.ROOT, "%.1f", stats.queueSizeTrend));
                 if (builder.humanReadable()) {
                     builder.field("avg_service_time", new TimeValue((long) stats.serviceTime, TimeUnit.NANOSECONDS).toString());
                 }
@@ -94,7 +96,10 @@ public class AdaptiveSelectionStats implements Writeable, ToXContentFragment {
                     builder.field("avg_response_time", new TimeValue((long) stats.responseTime, TimeUnit.NANOSECONDS).toString());
                 }
                 builder.field("avg_response_time_ns", (long) stats.responseTime);
+                builder.field("ranking", stats.ranking().toString());
                 builder.field("rank", String.format(Locale.ROOT, "%.1f", stats.rank(outgoingSearches)));
+                builder.field("times_ranked", stats.timesRanked);
+                builder.field("times_selected", stats.timesSelected);
             }
             builder.endObject();
         }
@@ -32,6 +32,7 @@
 
 package org.opensearch.node;
 
+import org.opensearch.Version;
 import org.opensearch.cluster.ClusterChangedEvent;
 import org.opensearch.cluster.ClusterStateListener;
 import org.opensearch.cluster.node.DiscoveryNode;
@@ -40,6 +41,8 @@ import org.opensearch.common.ExponentiallyWeightedMovingAverage;
 import org.opensearch.common.io.stream.StreamInput;
 import org.opensearch.common.io.stream.StreamOutput;
 import org.opensearch.common.io.stream.Writeable;
+import org.opensearch.common.metrics.CounterMetric;
+import org.opensearch.common.settings.Setting;
 import org.opensearch.common.util.concurrent.ConcurrentCollections;
 
 import java.io.IOException;
@@ -58,10 +61,25 @@ public final class ResponseCollectorService implements ClusterStateListener {
 
     private static final double ALPHA = 0.3;
 
+    /**
+     * The formula used to rank the copies of a shard when adaptive replica selection is enabled.
+     */
+    public static final Setting<Ranking> ADAPTIVE_SELECTION_RANKING_SETTING =
+        new Setting<>("cluster.routing.adaptive_replica_selection.ranking", Ranking.C3.toString(), Ranking::parse,
+            Setting.Property.Dynamic, Setting.Property.NodeScope);
+
     private final ConcurrentMap<String, NodeStatistics> nodeIdToStats = ConcurrentCollections.newConcurrentMap();
 
+    private volatile Ranking ranking;
+
     public ResponseCollectorService(ClusterService clusterService) {
         clusterService.addListener(this);
+        this.ranking = ADAPTIVE_SELECTION_RANKING_SETTING.get(clusterService.getSettings());
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(ADAPTIVE_SELECTION_RANKING_SETTING, this::setRanking);
+    }
+
+    void setRanking(Ranking ranking) {
+        this.ranking = ranking;
     }
 
     @Override
@@ -78,12 +96,30 @@ public final class ResponseCollectorService implements ClusterStateListener {
     }
 
     public void addNodeStatistics(String nodeId, int queueSize, long responseTimeNanos, long avgServiceTimeNanos) {
+        addNodeStatistics(nodeId, queueSize, responseTimeNanos, avgServiceTimeNanos, true);
+    }
+
+    /**
+     * Like {@link #addNodeStatistics(String, int, long, long)} but for statistics that were derived from the ones of other nodes rather
+     * than observed, which must not move the queue size trend since they say nothing about how the node's queue evolves.
+     */
+    public void addAdjustedNodeStatistics(String nodeId, int queueSize, long responseTimeNanos, long avgServiceTimeNanos) {
+        addNodeStatistics(nodeId, queueSize, responseTimeNanos, avgServiceTimeNanos, false);
+    }
+
+    private void addNodeStatistics(String nodeId, int queueSize, long responseTimeNanos, long avgServiceTimeNanos,
+                                   boolean updateQueueSizeTrend) {
         nodeIdToStats.compute(nodeId, (id, ns) -> {
             if (ns == null) {
                 ExponentiallyWeightedMovingAverage queueEWMA = new ExponentiallyWeightedMovingAverage(ALPHA, queueSize);
                 ExponentiallyWeightedMovingAverage responseEWMA = new ExponentiallyWeightedMovingAverage(ALPHA, responseTimeNanos);
-                return new NodeStatistics(nodeId, queueEWMA, responseEWMA, avgServiceTimeNanos);
+                ExponentiallyWeightedMovingAverage queueTrendEWMA = new ExponentiallyWeightedMovingAverage(ALPHA, 0);
+                return new NodeStatistics(nodeId, queueEWMA, queueTrendEWMA, responseEWMA, avgServiceTimeNanos);
             } else {
+                // how far the new sample is from the smoothed queue size, positive while the queue is building up
+                if (updateQueueSizeTrend) {
+                    ns.queueSizeTrend.addValue(queueSize - ns.queueSize.getAverage());
+                }
                 ns.queueSize.addValue((double) queueSize);
                 ns.responseTime.addValue((double) responseTimeNanos);
                 ns.serviceTime = avgServiceTimeNanos;
@@ -92,12 +128,29 @@ public final class ResponseCollectorService implements ClusterStateListener {
         });
     }
 
+    /**
+     * Records the outcome of ranking the copies of a shard: each of the given nodes was a candidate and, if not {@code null},
+     * {@code selectedNodeId} was picked to serve the request.
+     */
+    public void recordSelection(Iterable<String> rankedNodeIds, String selectedNodeId) {
+        for (String nodeId : rankedNodeIds) {
+            final NodeStatistics ns = nodeIdToStats.get(nodeId);
+            if (ns != null) {
+                ns.timesRanked.inc();
+                if (nodeId.equals(selectedNodeId)) {
+                    ns.timesSelected.inc();
+                }
+            }
+        }
+    }
+
     public Map<String, ComputedNodeStats> getAllNodeStatistics() {
         final int clientNum = nodeIdToStats.size();
+        final Ranking ranking = this.ranking;
         // Transform the mutable object internally used for accounting into the computed version
         Map<String, ComputedNodeStats> nodeStats = new HashMap<>(nodeIdToStats.size());
         nodeIdToStats.forEach((k, v) -> {
-            nodeStats.put(k, new ComputedNodeStats(clientNum, v));
+            nodeStats.put(k, new ComputedNodeStats(clientNum, ranking, v));
         });
         return nodeStats;
     }
@@ -113,39 +166,126 @@ public final class ResponseCollectorService implements ClusterStateListener {
      */
     public Optional<ComputedNodeStats> getNodeStatistics(final String nodeId) {
         final int clientNum = nodeIdToStats.size();
-        return Optional.ofNullable(nodeIdToStats.get(nodeId)).map(ns -> new ComputedNodeStats(clientNum, ns));
+        final Ranking ranking = this.ranking;
+        return Optional.ofNullable(nodeIdToStats.get(nodeId)).map(ns -> new ComputedNodeStats(clientNum, ranking, ns));
+    }
+
+    /**
+     * The formulas available to rank the copies of a shard, lower ranks are preferred.
+     */
+    public enum Ranking {
+        /**
+         * The adaptive replica selection formula from the C3 paper
+         * https://www.usenix.org/system/files/conference/nsdi15/nsdi15-paper-suresh.pdf
+         */
+        C3 {
+            @Override
+            double rank(ComputedNodeStats stats, long outstandingRequests) {
+                // the concurrency compensation is defined as the number of
+                // outstanding requests from the client to the node times the number
+                // of clients in the system
+                double concurrencyCompensation = outstandingRequests * stats.clientNum;
+
+                // Cubic queue adjustment factor. The paper chose 3 though we could
+                // potentially make this configurable if desired.
+                int queueAdjustmentFactor = 3;
+
+                // EWMA of queue size
+                double qBar = stats.queueSize;
+                double qHatS = 1 + concurrencyCompensation + qBar;
+
+                // EWMA of response time
+                double rS = stats.responseTime / FACTOR;
+                // EWMA of service time
+                double muBarS = stats.serviceTime / FACTOR;
+
+                // The final formula
+                double rank = rS - (1.0 / muBarS) + (Math.pow(qHatS, queueAdjustmentFactor) / muBarS);
+                return rank;
+            }
+        },
+        /**
+         * Predicts the latency, in milliseconds, of a request sent to the node now: the time spent outside of the search thread
+         * pool plus the time to drain the requests that will be ahead of it in the queue and to execute it. The queue is
+         * projected using its trend, so that a node whose queue is building up is avoided before its average catches up, and
+         * the requests that are already in flight to the node, from this node and estimated for the other coordinating nodes,
+         * are expected to be queued as well.
+         */
+        QUEUE_AWARE {
+            @Override
+            double rank(ComputedNodeStats stats, long outstandingRequests) {
+                double muBarS = stats.serviceTime / FACTOR;
+                // network and coordination overhead, whatever is not spent executing the request on the remote node
+                double overhead = Math.max(0, stats.responseTime / FACTOR - muBarS);
+                double projectedQueue = Math.max(0, stats.queueSize + stats.queueSizeTrend);
+                double inFlight = outstandingRequests * stats.clientNum;
+                return overhead + (projectedQueue + inFlight + 1) * muBarS;
+            }
+        };
+
+        // We store timestamps with nanosecond precision, however, the
+        // formulas use milliseconds, therefore we need to convert
+        // the values so the times don't unduely weight the formula
+        private static final double FACTOR = 1000000.0;
+
+        abstract double rank(ComputedNodeStats stats, long outstandingRequests);
+
+        public static Ranking parse(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("unknown adaptive replica selection ranking [" + value
+                    + "], must be one of [c3, queue_aware]", e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return name().toLowerCase(Locale.ROOT);
+        }
     }
 
     /**
      * Struct-like class encapsulating a point-in-time snapshot of a particular
      * node's statistics. This includes the EWMA of queue size, response time,
-     * and service time.
+     * and service time, as well as how often the node was picked among the
+     * copies of a shard.
      */
     public static class ComputedNodeStats implements Writeable {
-        // We store timestamps with nanosecond precision, however, the
-        // formula specifies milliseconds, therefore we need to convert
-        // the values so the times don't unduely weight the formula
-        private final double FACTOR = 1000000.0;
         private final int clientNum;
+        private final Ranking ranking;
 
         private double cachedRank = 0;
 
         public final String nodeId;
         public final int queueSize;
+        public final double queueSizeTrend;
         public final double responseTime;
         public final double serviceTime;
+        public final long timesRanked;
+        public final long timesSelected;
 
         public ComputedNodeStats(String nodeId, int clientNum, int queueSize, double responseTime, double serviceTime) {
+            this(nodeId, clientNum, Ranking.C3, queueSize, 0, responseTime, serviceTime, 0, 0);
+        }
+
+        public ComputedNodeStats(String nodeId, int clientNum, Ranking ranking, int queueSize, double queueSizeTrend,
+                                 double responseTime, double serviceTime, long timesRanked, long timesSelected) {
             this.nodeId = nodeId;
             this.clientNum = clientNum;
+            this.ranking = ranking;
             this.queueSize = queueSize;
+            this.queueSizeTrend = queueSizeTrend;
             this.responseTime = responseTime;
             this.serviceTime = serviceTime;
+            this.timesRanked = timesRanked;
+            this.timesSelected = timesSelected;
         }
 
-        ComputedNodeStats(int clientNum, NodeStatistics nodeStats) {
-            this(nodeStats.nodeId, clientNum,
-                    (int) nodeStats.queueSize.getAverage(), nodeStats.responseTime.getAverage(), nodeStats.serviceTime);
+        ComputedNodeStats(int clientNum, Ranking ranking, NodeStatistics nodeStats) {
+            this(nodeStats.nodeId, clientNum, ranking, (int) nodeStats.queueSize.getAverage(), nodeStats.queueSizeTrend.getAverage(),
+                nodeStats.responseTime.getAverage(), nodeStats.serviceTime, nodeStats.timesRanked.count(),
+                nodeStats.timesSelected.count());
         }
 
         ComputedNodeStats(StreamInput in) throws IOException {
@@ -154,6 +294,17 @@ public final class ResponseCollectorService implements ClusterStateListener {
             this.queueSize = in.readInt();
             this.responseTime = in.readDouble();
             this.serviceTime = in.readDouble();
+            if (in.getVersion().onOrAfter(Version.V_1_0_0)) {
+                this.ranking = in.readEnum(Ranking.class);
+                this.queueSizeTrend = in.readDouble();
+                this.timesRanked = in.readVLong();
+                this.timesSelected = in.readVLong();
+            } else {
+                this.ranking = Ranking.C3;
+                this.queueSizeTrend = 0;
+                this.timesRanked = 0;
+                this.timesSelected = 0;
+            }
         }
 
         @Override
@@ -163,39 +314,24 @@ public final class ResponseCollectorService implements ClusterStateListener {
             out.writeInt(this.queueSize);
             out.writeDouble(this.responseTime);
             out.writeDouble(this.serviceTime);
+            if (out.getVersion().onOrAfter(Version.V_1_0_0)) {
+                out.writeEnum(this.ranking);
+                out.writeDouble(this.queueSizeTrend);
+                out.writeVLong(this.timesRanked);
+                out.writeVLong(this.timesSelected);
+            }
         }
 
-        /**
-         * Rank this copy of the data, according to the adaptive replica selection formula from the C3 paper
-         * https://www.usenix.org/system/files/conference/nsdi15/nsdi15-paper-suresh.pdf
-         */
-        private double innerRank(long outstandingRequests) {
-            // the concurrency compensation is defined as the number of
-            // outstanding requests from the client to the node times the number
-            // of clients in the system
-            double concurrencyCompensation = outstandingRequests * clientNum;
-
-            // Cubic queue adjustment factor. The paper chose 3 though we could
-            // potentially make this configurable if desired.
-            int queueAdjustmentFactor = 3;
-
-            // EWMA of queue size
-            double qBar = queueSize;
-            double qHatS = 1 + concurrencyCompensation + qBar;
-
-            // EWMA of response time
-            double rS = responseTime / FACTOR;
-            // EWMA of service time
-            double muBarS = serviceTime / FACTOR;
-
-            // The final formula
-            double rank = rS - (1.0 / muBarS) + (Math.pow(qHatS, queueAdjustmentFactor) / muBarS);
-            return rank;
+        public Ranking ranking() {
+            return ranking;
         }
 
+        /**
+         * Rank this copy of the data according to the configured {@link Ranking} formula.
+         */
         public double rank(long outstandingRequests) {
             if (cachedRank == 0) {
-                cachedRank = innerRank(outstandingRequests);
+                cachedRank = ranking.rank(this, outstandingRequests);
             }
             return cachedRank;
         }
@@ -206,31 +342,41 @@ public final class ResponseCollectorService implements ClusterStateListener {
             sb.append(nodeId).append("](");
             sb.append("nodes: ").append(clientNum);
             sb.append(", queue: ").append(queueSize);
+            sb.append(", queue trend: ").append(String.format(Locale.ROOT, "%.1f", queueSizeTrend));
             sb.append(", response time: ").append(String.format(Locale.ROOT, "%.1f", responseTime));
             sb.append(", service time: ").append(String.format(Locale.ROOT, "%.1f", serviceTime));
+            sb.append(", ranking: ").append(ranking);
             sb.append(", rank: ").append(String.format(Locale.ROOT, "%.1f", rank(1)));
+            sb.append(", ranked: ").append(timesRanked);
+            sb.append(", selected: ").append(timesSelected);
             sb.append(")");
             return sb.toString();
         }
     }
 
     /**
-     * Class encapsulating a node's exponentially weighted queue size, response
-     * time, and service time, however, this class is private and intended only
-     * to be used for the internal accounting of {@code ResponseCollectorService}.
+     * Class encapsulating a node's exponentially weighted queue size, queue
+     * size trend, response time, and service time, as well as the selection
+     * counters, however, this class is private and intended only to be used
+     * for the internal accounting of {@code ResponseCollectorService}.
      */
     private static class NodeStatistics {
         final String nodeId;
         final ExponentiallyWeightedMovingAverage queueSize;
+        final ExponentiallyWeightedMovingAverage queueSizeTrend;
         final ExponentiallyWeightedMovingAverage responseTime;
+        final CounterMetric timesRanked = new CounterMetric();
+        final CounterMetric timesSelected = new CounterMetric();
         double serviceTime;
 
         NodeStatistics(String nodeId,
                        ExponentiallyWeightedMovingAverage queueSizeEWMA,
+                       ExponentiallyWeightedMovingAverage queueSizeTrendEWMA,
                        ExponentiallyWeightedMovingAverage responseTimeEWMA,
                        double serviceTimeEWMA) {
             this.nodeId = nodeId;
             this.queueSize = queueSizeEWMA;
+            this.queueSizeTrend = queueSizeTrendEWMA;
             this.responseTime = responseTimeEWMA;
             this.serviceTime = serviceTimeEWMA;
         }
@@ -0,0 +1,74 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.rest;
+
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * A {@link RestResponse} whose body is serialized in chunks while it is written to the http channel, see
+ * {@link ChunkedRestResponseBody}. Such responses are sent with a chunked transfer encoding and no content length.
+ */
+public class ChunkedRestResponse extends RestResponse {
+
+    /** the approximate size of the chunks that a body is split into */
+    public static final int CHUNK_SIZE = 128 * 1024;
+
+    private final RestStatus status;
+    private final ChunkedRestResponseBody body;
+    private BytesReference content;
+
+    public ChunkedRestResponse(RestStatus status, ChunkedRestResponseBody body) {
+        this.status = status;
+        this.body = body;
+    }
+
+    @Override
+    public String contentType() {
+        return body.getResponseContentTypeString();
+    }
+
+    /**
+     * Returns the whole body of this response at once, for channels that cannot send chunked responses. This defeats the purpose
+     * of a chunked response and must not be mixed with {@link #chunkedContent()}.
+     */
+    @Override
+    public BytesReference content() {
+        if (content == null) {
+            final BytesStreamOutput out = new BytesStreamOutput();
+            try {
+                while (body.isDone() == false) {
+                    body.encodeChunk(CHUNK_SIZE).writeTo(out);
+                }
+                content = out.bytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                body.close();
+            }
+        }
+        return content;
+    }
+
+    /**
+     * Returns the body of this response, to be serialized chunk by chunk. It must be released once the response has been sent.
+     */
+    public ChunkedRestResponseBody chunkedContent() {
+        assert content == null : "the body of this response has already been serialized";
+        return body;
+    }
+
+    @Override
+    public RestStatus status() {
+        return status;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.rest;
+
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.lease.Releasable;
+import org.opensearch.common.xcontent.ChunkedToXContent;
+import org.opensearch.common.xcontent.ToXContent;
+import org.opensearch.common.xcontent.XContentBuilder;
+
+import java.io.IOException;
+
+/**
+ * The body of a {@link ChunkedRestResponse}. It is serialized lazily, one chunk at a time, as the http channel becomes ready to
+ * write more bytes, so that only the chunks in flight need to be held in memory rather than the whole serialized response.
+ */
+public interface ChunkedRestResponseBody extends Releasable {
+
+    /**
+     * Returns <code>true</code> once all chunks of this body have been returned by {@link #encodeChunk}.
+     */
+    boolean isDone();
+
+    /**
+     * Serializes the next chunk of this body. The returned chunk is about <code>sizeHint</code> bytes long, it can be shorter if
+     * this is the last chunk or longer if a single part of the body is larger than the hint.
+     */
+    BytesReference encodeChunk(int sizeHint) throws IOException;
+
+    /**
+     * The content type of this body.
+     */
+    String getResponseContentTypeString();
+
+    /**
+     * Creates a body that serializes the given object using an {@link XContentBuilder} created by the given channel, so that the
+     * content type and filtering options of the request apply to the body as they would to a non-chunked response.
+     */
+    static ChunkedRestResponseBody fromXContent(ChunkedToXContent chunkedToXContent, ToXContent.Params params,
+                                                RestChannel channel) throws IOException {
+        return new ChunkedXContentRestResponseBody(chunkedToXContent, params, channel);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.rest;
+
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.xcontent.ChunkedToXContent;
+import org.opensearch.common.xcontent.ToXContent;
+import org.opensearch.common.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * A {@link ChunkedRestResponseBody} that serializes a {@link ChunkedToXContent}. A single {@link XContentBuilder} is used for the
+ * whole body and its output is redirected to a fresh buffer for each chunk.
+ */
+final class ChunkedXContentRestResponseBody implements ChunkedRestResponseBody {
+
+    private final ToXContent.Params params;
+    private final ChunkOutputStream chunkOutput = new ChunkOutputStream();
+    private final XContentBuilder builder;
+    private Iterator<? extends ToXContent> chunks;
+
+    ChunkedXContentRestResponseBody(ChunkedToXContent chunkedToXContent, ToXContent.Params params, RestChannel channel)
+        throws IOException {
+        this.params = params;
+        this.builder = channel.newBuilder(channel.request().getXContentType(), null, true, chunkOutput);
+        this.chunks = chunkedToXContent.toXContentChunked(params);
+    }
+
+    @Override
+    public boolean isDone() {
+        return chunks == null;
+    }
+
+    @Override
+    public BytesReference encodeChunk(int sizeHint) throws IOException {
+        assert isDone() == false : "all chunks have already been encoded";
+        final BytesStreamOutput chunk = new BytesStreamOutput();
+        chunkOutput.target = chunk;
+        try {
+            // the builder buffers some bytes internally so the size of the chunk is only approximate until it is flushed
+            while (chunks.hasNext() && chunk.size() < sizeHint) {
+                chunks.next().toXContent(builder, params);
+            }
+            if (chunks.hasNext()) {
+                builder.flush();
+            } else {
+                builder.close();
+                chunks = null;
+            }
+        } finally {
+            chunkOutput.target = null;
+        }
+        return chunk.bytes();
+    }
+
+    @Override
+    public String getResponseContentTypeString() {
+        return builder.contentType().mediaType();
+    }
+
+    @Override
+    public void close() {
+        // drop the remaining chunks so that the object they serialize can be collected, even if the channel was closed before
+        // the whole body was written
+        chunks = null;
+    }
+
+    private static final class ChunkOutputStream extends OutputStream {
+
+        private BytesStreamOutput target;
+
+        @Override
+        public void write(int b) {
+            target.writeByte((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            target.writeBytes(b, off, len);
+        }
+
+        @Override
+        public void close() {
+            // the chunks are owned by the body
+        }
+    }
+}
@@ -33,10 +33,12 @@
 package org.opensearch.rest.action.search;
 
 import org.opensearch.ExceptionsHelper;
+import org.opensearch.action.ActionListener;
 import org.opensearch.action.ActionRequestValidationException;
 import org.opensearch.action.search.SearchAction;
 import org.opensearch.action.search.SearchContextId;
 import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
 import org.opensearch.action.support.IndicesOptions;
 import org.opensearch.client.node.NodeClient;
 import org.opensearch.common.Booleans;
@@ -49,6 +51,7 @@ import org.opensearch.rest.BaseRestHandler;
 import org.opensearch.rest.RestRequest;
 import org.opensearch.rest.action.RestActions;
 import org.opensearch.rest.action.RestCancellableNodeClient;
+import org.opensearch.rest.action.RestChunkedToXContentListener;
 import org.opensearch.rest.action.RestStatusToXContentListener;
 import org.opensearch.search.Scroll;
 import org.opensearch.search.builder.SearchSourceBuilder;
@@ -82,6 +85,11 @@ public class RestSearchAction extends BaseRestHandler {
      */
     public static final String TOTAL_HITS_AS_INT_PARAM = "rest_total_hits_as_int";
     public static final String TYPED_KEYS_PARAM = "typed_keys";
+    /**
+     * Whether to serialize the response incrementally while it is sent, which bounds the memory needed to send responses with
+     * many hits, see {@link RestChunkedToXContentListener}.
+     */
+    public static final String CHUNKED_RESPONSE_PARAM = "chunked_response";
     private static final Set<String> RESPONSE_PARAMS;
 
     static {
@@ -129,9 +137,13 @@ public class RestSearchAction extends BaseRestHandler {
         request.withContentOrSourceParamParserOrNull(parser ->
             parseSearchRequest(searchRequest, request, parser, client.getNamedWriteableRegistry(), setSize));
 
+        final boolean chunkedResponse = request.paramAsBoolean(CHUNKED_RESPONSE_PARAM, false);
         return channel -> {
             RestCancellableNodeClient cancelClient = new RestCancellableNodeClient(client, request.getHttpChannel());
-            cancelClient.execute(SearchAction.INSTANCE, searchRequest, new RestStatusToXContentListener<>(channel));
+            final ActionListener<SearchResponse> listener = chunkedResponse
+                ? new RestChunkedToXContentListener<>(channel)
+                : new RestStatusToXContentListener<>(channel);
+            cancelClient.execute(SearchAction.INSTANCE, searchRequest, listener);
         };
     }
 
@@ -186,6 +198,8 @@ public class RestSearchAction extends BaseRestHandler {
         }
         parseSearchSource(searchRequest.source(), request, setSize);
         searchRequest.requestCache(request.paramAsBoolean("request_cache", searchRequest.requestCache()));
+        searchRequest.concurrentSegmentSearch(
+            request.paramAsBoolean("concurrent_segment_search", searchRequest.concurrentSegmentSearch()));
 
         String scroll = request.param("scroll");
         if (scroll != null) {
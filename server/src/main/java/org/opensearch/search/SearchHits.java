@@ -208,6 +208,18 @@ public final class SearchHits implements Writeable, ToXContentFragment, Iterable
 
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        toXContentHeader(builder, params);
+        for (SearchHit hit : hits) {
+            hit.toXContent(builder, params);
+        }
+        return toXContentFooter(builder);
+    }
+
+    /**
+     * Writes the beginning of this object, up to and including the start of the array of hits. Together with
+     * {@link #toXContentFooter} this allows to serialize the hits one by one, see {@link #toXContent}.
+     */
+    public XContentBuilder toXContentHeader(XContentBuilder builder, Params params) throws IOException {
         builder.startObject(Fields.HITS);
         boolean totalHitAsInt = params.paramAsBoolean(RestSearchAction.TOTAL_HITS_AS_INT_PARAM, false);
         if (totalHitAsInt) {
@@ -226,9 +238,13 @@ public final class SearchHits implements Writeable, ToXContentFragment, Iterable
         }
         builder.field(Fields.HITS);
         builder.startArray();
-        for (SearchHit hit : hits) {
-            hit.toXContent(builder, params);
-        }
+        return builder;
+    }
+
+    /**
+     * Closes the array of hits and this object, see {@link #toXContentHeader}.
+     */
+    public XContentBuilder toXContentFooter(XContentBuilder builder) throws IOException {
         builder.endArray();
         builder.endObject();
         return builder;
@@ -0,0 +1,105 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.search.aggregations;
+
+import org.apache.lucene.search.Collector;
+import org.apache.lucene.search.CollectorManager;
+import org.opensearch.search.aggregations.bucket.global.GlobalAggregator;
+import org.opensearch.search.aggregations.pipeline.PipelineAggregator.PipelineTree;
+import org.opensearch.search.internal.SearchContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Collects the top level aggregations of a search whose slices of segments are searched concurrently. Each slice
+ * collects with its own aggregators, the first slice with the aggregators that the {@link AggregationPhase} created,
+ * and the results of the slices are reduced like the shards of a batched reduce: the final reduction, including the
+ * pipeline aggregations, happens on the coordinating node.
+ */
+public class AggregationCollectorManager implements CollectorManager<Collector, InternalAggregations> {
+
+    private final SearchContext context;
+    private final Supplier<PipelineTree> pipelineTree;
+    // the aggregators of each slice, by collector. the collectors are created on the searching thread before the slices are searched
+    private final Map<Collector, Aggregator[]> aggregators = new IdentityHashMap<>();
+
+    public AggregationCollectorManager(SearchContext context) {
+        assert canCollectConcurrently(context);
+        this.context = context;
+        this.pipelineTree = context.request().source().aggregations()::buildPipelineTree;
+    }
+
+    /**
+     * Returns true if the top level aggregations of the provided context can be collected by slices. Global aggregators
+     * collect all the documents of the shard after the query so they need the single set of aggregators of the
+     * {@link AggregationPhase}, and profiled aggregators report on a single collection.
+     */
+    public static boolean canCollectConcurrently(SearchContext context) {
+        if (context.aggregations() == null || context.getProfilers() != null
+                || context.queryCollectors().containsKey(AggregationPhase.class) == false) {
+            return false;
+        }
+        for (Aggregator aggregator : context.aggregations().aggregators()) {
+            if (aggregator instanceof GlobalAggregator) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Collector newCollector() throws IOException {
+        if (aggregators.isEmpty()) {
+            final Collector collector = context.queryCollectors().get(AggregationPhase.class);
+            aggregators.put(collector, context.aggregations().aggregators());
+            return collector;
+        }
+        final Aggregator[] sliceAggregators = context.aggregations().factories().createTopLevelAggregators(context);
+        BucketCollector collector = MultiBucketCollector.wrap(Arrays.asList(sliceAggregators));
+        collector.preCollection();
+        if (collector.scoreMode().needsScores() == false) {
+            // feed the aggregators blocks of documents rather than one document at a time, like the aggregation phase does
+            collector = new BatchedBucketCollector(collector);
+        }
+        aggregators.put(collector, sliceAggregators);
+        return collector;
+    }
+
+    @Override
+    public InternalAggregations reduce(Collection<Collector> collectors) throws IOException {
+        final List<InternalAggregations> results = new ArrayList<>(collectors.size());
+        for (Collector collector : collectors) {
+            if (collector instanceof BatchedBucketCollector) {
+                ((BatchedBucketCollector) collector).flush();
+            }
+            final Aggregator[] sliceAggregators = aggregators.get(collector);
+            assert sliceAggregators != null : "unknown collector " + collector;
+            final List<InternalAggregation> aggregations = new ArrayList<>(sliceAggregators.length);
+            // each slice may build as many buckets as the whole shard
+            context.aggregations().resetBucketMultiConsumer();
+            for (Aggregator aggregator : sliceAggregators) {
+                aggregator.postCollection();
+                aggregations.add(aggregator.buildTopLevel());
+            }
+            results.add(new InternalAggregations(aggregations, pipelineTree));
+        }
+        if (results.size() == 1) {
+            return results.get(0);
+        }
+        return InternalAggregations.topLevelReduce(results,
+            InternalAggregation.ReduceContext.forPartialReduction(context.bigArrays(), null, pipelineTree));
+    }
+}
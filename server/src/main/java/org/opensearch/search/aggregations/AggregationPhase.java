@@ -71,6 +71,10 @@ public class AggregationPhase {
                 if (!collectors.isEmpty()) {
                     Collector collector = MultiBucketCollector.wrap(collectors);
                     ((BucketCollector)collector).preCollection();
+                    if (context.getProfilers() == null && collector.scoreMode().needsScores() == false) {
+                        // feed the aggregators blocks of documents rather than one document at a time
+                        collector = new BatchedBucketCollector((BucketCollector) collector);
+                    }
                     if (context.getProfilers() != null) {
                         collector = new InternalProfileCollector(collector, CollectorResult.REASON_AGGREGATION,
                                 // TODO: report on child aggs as well
@@ -128,6 +132,15 @@ public class AggregationPhase {
             }
         }
 
+        Collector queryCollector = context.queryCollectors().get(AggregationPhase.class);
+        if (queryCollector instanceof BatchedBucketCollector) {
+            try {
+                ((BatchedBucketCollector) queryCollector).flush();
+            } catch (IOException e) {
+                throw new AggregationExecutionException("Failed to collect the buffered documents", e);
+            }
+        }
+
         List<InternalAggregation> aggregations = new ArrayList<>(aggregators.length);
         context.aggregations().resetBucketMultiConsumer();
         for (Aggregator aggregator : context.aggregations().aggregators()) {
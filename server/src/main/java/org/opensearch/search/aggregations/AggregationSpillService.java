@@ -0,0 +1,131 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.search.aggregations;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.SimpleFSDirectory;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.Nullable;
+import org.opensearch.common.settings.Setting;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.ByteSizeValue;
+import org.opensearch.env.Environment;
+import org.opensearch.monitor.jvm.JvmInfo;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * An aggregation service that creates instances of {@link BucketSpiller}. Bucket aggregators that support it use the spiller
+ * to move their buckets to a directory in the temporary directory of the node ({@link Environment#tmpFile()}) when the buckets
+ * of the aggregator use more memory than the `search.aggs.spill_to_disk.threshold` cluster setting, and merge them back in
+ * {@link Aggregator#buildAggregations}.
+ * Spilling is disabled by default and can be enabled with the `search.aggs.spill_to_disk.enabled` cluster setting.
+ * <p>
+ * Only the map execution mode of the terms aggregation on string values spills its buckets, and only when it collects a single
+ * owning bucket, has no sub-aggregations and a positive min_doc_count. The global ordinals terms aggregator, the numeric terms
+ * aggregators and the other bucket aggregations keep all of their buckets in memory.
+ */
+public class AggregationSpillService {
+    private static final Logger logger = LogManager.getLogger(AggregationSpillService.class);
+
+    /**
+     * The name of the directory, in the temporary directory of the node, where buckets are spilled.
+     */
+    public static final String SPILL_DIRECTORY_NAME = "aggs_spill";
+
+    public static final Setting<Boolean> SPILL_TO_DISK_ENABLED_SETTING =
+        Setting.boolSetting("search.aggs.spill_to_disk.enabled", false, Setting.Property.NodeScope, Setting.Property.Dynamic);
+    public static final Setting<ByteSizeValue> SPILL_TO_DISK_THRESHOLD_SETTING =
+        Setting.memorySizeSetting("search.aggs.spill_to_disk.threshold", "1%", Setting.Property.NodeScope, Setting.Property.Dynamic);
+
+    private final Path spillDir;
+
+    private volatile boolean enabled;
+    private volatile long threshold;
+
+    /**
+     * @param tmpDir the temporary directory of the node, see {@link Environment#tmpFile()}
+     */
+    public AggregationSpillService(ClusterService clusterService, Settings settings, Path tmpDir) throws IOException {
+        this.spillDir = Files.createDirectories(tmpDir.resolve(SPILL_DIRECTORY_NAME));
+        deleteLeftoverSpillFiles(spillDir);
+        this.enabled = SPILL_TO_DISK_ENABLED_SETTING.get(settings);
+        this.threshold = SPILL_TO_DISK_THRESHOLD_SETTING.get(settings).getBytes();
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SPILL_TO_DISK_ENABLED_SETTING, this::setEnabled);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SPILL_TO_DISK_THRESHOLD_SETTING, this::setThreshold);
+    }
+
+    /**
+     * Deletes the spill files that a previous run of the node did not delete because it stopped while aggregations were spilling.
+     * Files that are newer than the JVM belong to other nodes that share the temporary directory within the same JVM, like in
+     * tests, and are left alone.
+     */
+    static void deleteLeftoverSpillFiles(Path spillDir) throws IOException {
+        final long jvmStartTime = JvmInfo.jvmInfo().getStartTime();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spillDir)) {
+            for (Path file : files) {
+                if (Files.isRegularFile(file) && Files.getLastModifiedTime(file).toMillis() < jvmStartTime) {
+                    logger.debug("deleting leftover aggregation spill file [{}]", file);
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    private void setThreshold(ByteSizeValue threshold) {
+        this.threshold = threshold.getBytes();
+    }
+
+    /**
+     * Decides when the buckets of an aggregator should be spilled and where they are written.
+     */
+    public static class BucketSpiller {
+        private final long threshold;
+        private final Path tmpDir;
+
+        public BucketSpiller(long threshold, Path tmpDir) {
+            this.threshold = threshold;
+            this.tmpDir = tmpDir;
+        }
+
+        /**
+         * Returns {@code true} if the buckets of an aggregator that use {@code bucketBytes} bytes of memory should be spilled.
+         * The decision only depends on the memory of the aggregator itself, so that an aggregator does not spill small sets
+         * of buckets because other requests fill the request circuit breaker.
+         */
+        public boolean shouldSpill(long bucketBytes) {
+            return bucketBytes >= threshold;
+        }
+
+        /**
+         * Opens the directory where the spilled buckets are written. The caller is responsible for deleting the
+         * files it creates and closing the directory.
+         */
+        public Directory openDirectory() throws IOException {
+            return new SimpleFSDirectory(tmpDir);
+        }
+    }
+
+    /**
+     * Creates a spiller for a single request, or returns {@code null} if spilling is disabled.
+     */
+    @Nullable
+    public BucketSpiller create() {
+        return enabled ? new BucketSpiller(threshold, spillDir) : null;
+    }
+}
@@ -69,6 +69,7 @@ public abstract class AggregatorBase extends Aggregator {
     private Map<String, Aggregator> subAggregatorbyName;
     private final CircuitBreakerService breakerService;
     private long requestBytesUsed;
+    private boolean closed;
 
     /**
      * Constructs a new Aggregator.
@@ -274,9 +275,16 @@ public abstract class AggregatorBase extends Aggregator {
         collectableSubAggregators.postCollection();
     }
 
-    /** Called upon release of the aggregator. */
+    /**
+     * Called upon release of the aggregator. Aggregators are released with their search context but can be released earlier,
+     * releasing them again does nothing.
+     */
     @Override
     public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
         try {
             doClose();
         } finally {
@@ -48,8 +48,10 @@ import org.opensearch.index.query.QueryShardContext;
 import org.opensearch.index.query.Rewriteable;
 import org.opensearch.search.aggregations.bucket.global.GlobalAggregationBuilder;
 import org.opensearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
+import org.opensearch.search.aggregations.cache.SegmentCachedAggregatorFactory;
 import org.opensearch.search.aggregations.pipeline.PipelineAggregator;
 import org.opensearch.search.aggregations.pipeline.PipelineAggregator.PipelineTree;
+import org.opensearch.search.aggregations.preaggregation.PreAggregatedAggregatorFactory;
 import org.opensearch.search.aggregations.support.AggregationPath;
 import org.opensearch.search.aggregations.support.AggregationPath.PathElement;
 import org.opensearch.search.internal.SearchContext;
@@ -357,7 +359,12 @@ public class AggregatorFactories {
             AggregatorFactory[] aggFactories = new AggregatorFactory[aggregationBuilders.size()];
             int i = 0;
             for (AggregationBuilder agg : aggregationBuilders) {
-                aggFactories[i] = agg.build(queryShardContext, parent);
+                AggregatorFactory factory = agg.build(queryShardContext, parent);
+                if (parent == null) {
+                    factory = SegmentCachedAggregatorFactory.maybeWrap(agg, factory, queryShardContext);
+                    factory = PreAggregatedAggregatorFactory.maybeWrap(agg, factory, queryShardContext);
+                }
+                aggFactories[i] = factory;
                 ++i;
             }
             return new AggregatorFactories(aggFactories);
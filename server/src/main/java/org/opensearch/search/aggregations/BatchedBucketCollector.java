@@ -0,0 +1,125 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.search.aggregations;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.CollectionTerminatedException;
+import org.apache.lucene.search.Scorable;
+import org.apache.lucene.search.ScoreMode;
+
+import java.io.IOException;
+
+/**
+ * A {@link BucketCollector} that buffers the documents it collects and feeds them to the wrapped collector in blocks of up to
+ * {@link #BLOCK_SIZE} documents through {@link LeafBucketCollector#collect(int[], int, long)}.
+ * <p>
+ * The documents of a segment are delivered at the latest when the collector of the next segment is requested, or when
+ * {@link #flush()} or {@link #postCollection()} is called, so {@link #flush()} must be called before the wrapped aggregators are
+ * post-collected when they are not post-collected through this collector. Since scores can only be read while the scorer is
+ * positioned on the document, this collector must only wrap collectors that do not need scores.
+ */
+public final class BatchedBucketCollector extends BucketCollector {
+
+    /**
+     * The maximum number of documents that are fed to the wrapped collector at once.
+     */
+    public static final int BLOCK_SIZE = 256;
+
+    private final BucketCollector delegate;
+    private BufferingLeafBucketCollector current;
+
+    public BatchedBucketCollector(BucketCollector delegate) {
+        if (delegate.scoreMode().needsScores()) {
+            throw new IllegalArgumentException("cannot buffer the documents of a collector that needs scores");
+        }
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ScoreMode scoreMode() {
+        return delegate.scoreMode();
+    }
+
+    @Override
+    public void preCollection() throws IOException {
+        delegate.preCollection();
+    }
+
+    @Override
+    public LeafBucketCollector getLeafCollector(LeafReaderContext ctx) throws IOException {
+        // the documents of the previous segment must be collected before the wrapped collector moves to the next one
+        flush();
+        final LeafBucketCollector leafCollector = delegate.getLeafCollector(ctx);
+        if (leafCollector == LeafBucketCollector.NO_OP_COLLECTOR) {
+            return leafCollector;
+        }
+        current = new BufferingLeafBucketCollector(leafCollector);
+        return current;
+    }
+
+    /**
+     * Feeds the buffered documents to the wrapped collector.
+     */
+    public void flush() throws IOException {
+        if (current != null) {
+            final BufferingLeafBucketCollector leafCollector = current;
+            current = null;
+            try {
+                leafCollector.flush();
+            } catch (CollectionTerminatedException e) {
+                // the wrapped collector does not need the remaining documents of the segment
+            }
+        }
+    }
+
+    @Override
+    public void postCollection() throws IOException {
+        flush();
+        delegate.postCollection();
+    }
+
+    @Override
+    public String toString() {
+        return "batched(" + delegate + ")";
+    }
+
+    private static final class BufferingLeafBucketCollector extends LeafBucketCollector {
+        private final LeafBucketCollector delegate;
+        private final int[] docs = new int[BLOCK_SIZE];
+        private int count;
+        private long bucket;
+
+        BufferingLeafBucketCollector(LeafBucketCollector delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void setScorer(Scorable scorer) throws IOException {
+            delegate.setScorer(scorer);
+        }
+
+        @Override
+        public void collect(int doc, long owningBucketOrd) throws IOException {
+            if (count == BLOCK_SIZE || (count > 0 && owningBucketOrd != bucket)) {
+                flush();
+            }
+            docs[count++] = doc;
+            bucket = owningBucketOrd;
+        }
+
+        void flush() throws IOException {
+            if (count > 0) {
+                final int toCollect = count;
+                // reset first so that a terminated collection does not deliver the same documents twice
+                count = 0;
+                delegate.collect(docs, toCollect, bucket);
+            }
+        }
+    }
+}
@@ -49,6 +49,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.IntConsumer;
@@ -84,13 +85,15 @@ public abstract class InternalAggregation implements Aggregation, NamedWriteable
          * to them.
          */
         private final Supplier<PipelineTree> pipelineTreeForBwcSerialization;
+        private final Executor reduceExecutor;
+        private final int maxConcurrentReductions;
 
         /**
          * Build a {@linkplain ReduceContext} to perform a partial reduction.
          */
         public static ReduceContext forPartialReduction(BigArrays bigArrays, ScriptService scriptService,
                 Supplier<PipelineTree> pipelineTreeForBwcSerialization) {
-            return new ReduceContext(bigArrays, scriptService, (s) -> {}, null, pipelineTreeForBwcSerialization);
+            return new ReduceContext(bigArrays, scriptService, (s) -> {}, null, pipelineTreeForBwcSerialization, null, 1);
         }
 
         /**
@@ -99,17 +102,37 @@ public abstract class InternalAggregation implements Aggregation, NamedWriteable
          */
         public static ReduceContext forFinalReduction(BigArrays bigArrays, ScriptService scriptService,
                 IntConsumer multiBucketConsumer, PipelineTree pipelineTreeRoot) {
+            return forFinalReduction(bigArrays, scriptService, multiBucketConsumer, pipelineTreeRoot, null, 1);
+        }
+
+        /**
+         * Build a {@linkplain ReduceContext} to perform the final reduction, reducing the top level aggregations on up to
+         * {@code maxConcurrentReductions} threads of {@code reduceExecutor}, the calling thread included.
+         * @param pipelineTreeRoot The root of tree of pipeline aggregations for this request
+         * @param multiBucketConsumer The bucket consumer, which must be thread-safe if {@code maxConcurrentReductions} is
+         *                            greater than one
+         */
+        public static ReduceContext forFinalReduction(BigArrays bigArrays, ScriptService scriptService,
+                IntConsumer multiBucketConsumer, PipelineTree pipelineTreeRoot, Executor reduceExecutor, int maxConcurrentReductions) {
+            if (maxConcurrentReductions < 1) {
+                throw new IllegalArgumentException("[maxConcurrentReductions] must be at least 1 but was ["
+                    + maxConcurrentReductions + "]");
+            }
             return new ReduceContext(bigArrays, scriptService, multiBucketConsumer,
-                    requireNonNull(pipelineTreeRoot, "prefer EMPTY to null"), () -> pipelineTreeRoot);
+                    requireNonNull(pipelineTreeRoot, "prefer EMPTY to null"), () -> pipelineTreeRoot,
+                    reduceExecutor, reduceExecutor == null ? 1 : maxConcurrentReductions);
         }
 
         private ReduceContext(BigArrays bigArrays, ScriptService scriptService, IntConsumer multiBucketConsumer,
-                PipelineTree pipelineTreeRoot, Supplier<PipelineTree> pipelineTreeForBwcSerialization) {
+                PipelineTree pipelineTreeRoot, Supplier<PipelineTree> pipelineTreeForBwcSerialization,
+                Executor reduceExecutor, int maxConcurrentReductions) {
             this.bigArrays = bigArrays;
             this.scriptService = scriptService;
             this.multiBucketConsumer = multiBucketConsumer;
             this.pipelineTreeRoot = pipelineTreeRoot;
             this.pipelineTreeForBwcSerialization = pipelineTreeForBwcSerialization;
+            this.reduceExecutor = reduceExecutor;
+            this.maxConcurrentReductions = maxConcurrentReductions;
         }
 
         /**
@@ -145,6 +168,21 @@ public abstract class InternalAggregation implements Aggregation, NamedWriteable
             return pipelineTreeForBwcSerialization;
         }
 
+        /**
+         * The executor on which independent top level aggregations are reduced concurrently, or {@code null} if they are
+         * reduced on the calling thread.
+         */
+        public Executor reduceExecutor() {
+            return reduceExecutor;
+        }
+
+        /**
+         * The maximum number of threads, the calling thread included, that reduce the top level aggregations of the request.
+         */
+        public int maxConcurrentReductions() {
+            return maxConcurrentReductions;
+        }
+
         /**
          * Adds {@code count} buckets to the global count for the request and fails if this number is greater than
          * the maximum number of buckets allowed in a response
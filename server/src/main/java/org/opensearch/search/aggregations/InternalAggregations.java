@@ -31,6 +31,7 @@
 
 package org.opensearch.search.aggregations;
 
+import org.opensearch.ExceptionsHelper;
 import org.opensearch.LegacyESVersion;
 import org.opensearch.Version;
 import org.opensearch.common.io.stream.StreamInput;
@@ -50,6 +51,12 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -214,7 +221,8 @@ public final class InternalAggregations extends Aggregations implements Writeabl
      */
     public static InternalAggregations topLevelReduce(List<InternalAggregations> aggregationsList, ReduceContext context) {
         InternalAggregations reduced = reduce(aggregationsList, context,
-                reducedAggregations -> new InternalAggregations(reducedAggregations, context.pipelineTreeForBwcSerialization()));
+                reducedAggregations -> new InternalAggregations(reducedAggregations, context.pipelineTreeForBwcSerialization()),
+                context.maxConcurrentReductions());
         if (reduced == null) {
             return null;
         }
@@ -247,6 +255,16 @@ public final class InternalAggregations extends Aggregations implements Writeabl
      */
     public static InternalAggregations reduce(List<InternalAggregations> aggregationsList, ReduceContext context,
             Function<List<InternalAggregation>, InternalAggregations> ctor) {
+        return reduce(aggregationsList, context, ctor, 1);
+    }
+
+    /**
+     * Reduces the given list of aggregations on up to {@code maxConcurrency} threads. Only the top level of the aggregation tree
+     * is reduced concurrently: the sub-aggregations of the buckets are reduced on the thread that reduces their parent, so that
+     * reductions never wait for each other on the bounded {@link ReduceContext#reduceExecutor()}.
+     */
+    private static InternalAggregations reduce(List<InternalAggregations> aggregationsList, ReduceContext context,
+            Function<List<InternalAggregation>, InternalAggregations> ctor, int maxConcurrency) {
         if (aggregationsList.isEmpty()) {
             return null;
         }
@@ -262,24 +280,91 @@ public final class InternalAggregations extends Aggregations implements Writeabl
         }
 
         // now we can use the first aggregation of each list to handle the reduce of its list
-        List<InternalAggregation> reducedAggregations = new ArrayList<>();
-        for (Map.Entry<String, List<InternalAggregation>> entry : aggByName.entrySet()) {
-            List<InternalAggregation> aggregations = entry.getValue();
+        Function<List<InternalAggregation>, InternalAggregation> reducer = aggregations -> {
             // Sort aggregations so that unmapped aggs come last in the list
             // If all aggs are unmapped, the agg that leads the reduction will just return itself
             aggregations.sort(INTERNAL_AGG_COMPARATOR);
             InternalAggregation first = aggregations.get(0); // the list can't be empty as it's created on demand
             if (first.mustReduceOnSingleInternalAgg() || aggregations.size() > 1) {
-                reducedAggregations.add(first.reduce(aggregations, context));
+                return first.reduce(aggregations, context);
             } else {
                 // no need for reduce phase
-                reducedAggregations.add(first);
+                return first;
+            }
+        };
+        List<List<InternalAggregation>> aggregationsByName = new ArrayList<>(aggByName.values());
+        List<InternalAggregation> reducedAggregations;
+        if (maxConcurrency > 1 && aggregationsByName.size() > 1) {
+            reducedAggregations = reduceConcurrently(aggregationsByName, reducer, context.reduceExecutor(), maxConcurrency);
+        } else {
+            reducedAggregations = new ArrayList<>(aggregationsByName.size());
+            for (List<InternalAggregation> aggregations : aggregationsByName) {
+                reducedAggregations.add(reducer.apply(aggregations));
             }
         }
 
         return ctor.apply(reducedAggregations);
     }
 
+    /**
+     * Applies {@code reducer} to each of the {@code inputs} on up to {@code maxConcurrency} threads and returns the results in the
+     * order of the inputs. The calling thread is one of these threads and picks inputs like the others, so the reduction makes
+     * progress even if the executor is busy or rejects the helper tasks, and the calling thread only ever waits for reductions
+     * that other threads have already started. The first failure stops the reduction of the inputs that have not been started
+     * yet and is rethrown once the reductions in flight are done.
+     */
+    static <T, R> List<R> reduceConcurrently(List<T> inputs, Function<T, R> reducer, Executor executor, int maxConcurrency) {
+        final int size = inputs.size();
+        final AtomicReferenceArray<R> results = new AtomicReferenceArray<>(size);
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        final CountDownLatch done = new CountDownLatch(size);
+        final Runnable worker = () -> {
+            int i;
+            while ((i = next.getAndIncrement()) < size) {
+                try {
+                    if (failure.get() == null) {
+                        results.set(i, reducer.apply(inputs.get(i)));
+                    }
+                } catch (Exception e) {
+                    failure.accumulateAndGet(e, (previous, current) -> {
+                        if (previous == null) {
+                            return current;
+                        }
+                        previous.addSuppressed(current);
+                        return previous;
+                    });
+                } finally {
+                    done.countDown();
+                }
+            }
+        };
+        final int helpers = Math.min(maxConcurrency, size) - 1;
+        for (int i = 0; i < helpers; i++) {
+            try {
+                executor.execute(worker);
+            } catch (RejectedExecutionException e) {
+                // the calling thread reduces the inputs that this helper would have reduced
+                break;
+            }
+        }
+        worker.run();
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AggregationExecutionException("Interrupted while waiting for the aggregations to be reduced", e);
+        }
+        if (failure.get() != null) {
+            throw ExceptionsHelper.convertToRuntime(failure.get());
+        }
+        List<R> reduced = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            reduced.add(results.get(i));
+        }
+        return reduced;
+    }
+
     /**
      * Version of {@link #reduce(List, ReduceContext, Function)} for nodes inside the aggregation tree.
      */
@@ -82,6 +82,12 @@ public abstract class LeafBucketCollector implements LeafCollector {
                     }
                 }
 
+                @Override
+                public void collect(int[] docs, int count, long bucket) throws IOException {
+                    for (LeafBucketCollector c : colls) {
+                        c.collect(docs, count, bucket);
+                    }
+                }
             };
         }
     }
@@ -115,6 +121,24 @@ public abstract class LeafBucketCollector implements LeafCollector {
      */
     public abstract void collect(int doc, long owningBucketOrd) throws IOException;
 
+    /**
+     * Collect the first {@code count} documents of {@code docs}, which are
+     * sorted in increasing order, in the bucket owned by
+     * {@code owningBucketOrd}. This is equivalent to calling
+     * {@link #collect(int, long)} for each document, which is what the
+     * default implementation does. The array may be reused by the caller
+     * once this method returns so implementations must not retain it.
+     * <p>
+     * Aggregators can override it to read the values of the whole block of
+     * documents at once and to update their state once per block instead of
+     * once per document, see {@link BatchedBucketCollector}.
+     */
+    public void collect(int[] docs, int count, long owningBucketOrd) throws IOException {
+        for (int i = 0; i < count; i++) {
+            collect(docs[i], owningBucketOrd);
+        }
+    }
+
     @Override
     public final void collect(int doc) throws IOException {
         collect(doc, 0);
@@ -42,6 +42,7 @@ import org.opensearch.rest.RestStatus;
 import org.opensearch.search.aggregations.bucket.BucketsAggregator;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.IntConsumer;
 
 /**
@@ -113,9 +114,9 @@ public class MultiBucketConsumerService {
         private final int limit;
         private final CircuitBreaker breaker;
 
-        // aggregations execute in a single thread so no atomic here
-        private int count;
-        private int callCount = 0;
+        // the top level aggregations of a request may be reduced concurrently so the counts are shared between threads
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicInteger callCount = new AtomicInteger();
 
         public MultiBucketConsumer(int limit, CircuitBreaker breaker) {
             this.limit = limit;
@@ -125,26 +126,25 @@ public class MultiBucketConsumerService {
         @Override
         public void accept(int value) {
             if (value != 0) {
-                count += value;
-                if (count > limit) {
+                final int newCount = count.addAndGet(value);
+                if (newCount > limit) {
                     throw new TooManyBucketsException("Trying to create too many buckets. Must be less than or equal to: [" + limit
-                        + "] but was [" + count + "]. This limit can be set by changing the [" +
+                        + "] but was [" + newCount + "]. This limit can be set by changing the [" +
                         MAX_BUCKET_SETTING.getKey() + "] cluster level setting.", limit);
                 }
             }
             // check parent circuit breaker every 1024 calls
-            callCount++;
-            if ((callCount & 0x3FF) == 0) {
+            if ((callCount.incrementAndGet() & 0x3FF) == 0) {
                 breaker.addEstimateBytesAndMaybeBreak(0, "allocated_buckets");
             }
         }
 
         public void reset() {
-            this.count = 0;
+            this.count.set(0);
         }
 
         public int getCount() {
-            return count;
+            return count.get();
         }
 
         public int getLimit() {
@@ -31,6 +31,10 @@
 
 package org.opensearch.search.aggregations;
 
+import org.opensearch.common.Nullable;
+import org.opensearch.indices.IndicesAggregationCache;
+import org.opensearch.search.aggregations.AggregationSpillService.BucketSpiller;
+
 import static org.opensearch.search.aggregations.MultiBucketConsumerService.MultiBucketConsumer;
 
 /**
@@ -40,14 +44,28 @@ public class SearchContextAggregations {
 
     private final AggregatorFactories factories;
     private final MultiBucketConsumer multiBucketConsumer;
+    private final BucketSpiller bucketSpiller;
+    private final IndicesAggregationCache aggregationCache;
     private Aggregator[] aggregators;
 
     /**
      * Creates a new aggregation context with the parsed aggregator factories
      */
     public SearchContextAggregations(AggregatorFactories factories, MultiBucketConsumer multiBucketConsumer) {
+        this(factories, multiBucketConsumer, null, null);
+    }
+
+    /**
+     * Creates a new aggregation context with the parsed aggregator factories, the spiller
+     * used by the aggregators that can move their buckets to disk and the cache of the
+     * per segment results of the top level aggregations
+     */
+    public SearchContextAggregations(AggregatorFactories factories, MultiBucketConsumer multiBucketConsumer,
+                                     @Nullable BucketSpiller bucketSpiller, @Nullable IndicesAggregationCache aggregationCache) {
         this.factories = factories;
         this.multiBucketConsumer = multiBucketConsumer;
+        this.bucketSpiller = bucketSpiller;
+        this.aggregationCache = aggregationCache;
     }
 
     public AggregatorFactories factories() {
@@ -75,6 +93,24 @@ public class SearchContextAggregations {
         return multiBucketConsumer;
     }
 
+    /**
+     * Returns the spiller that aggregators can use to move their buckets to disk, or {@code null}
+     * if spilling is disabled
+     */
+    @Nullable
+    public BucketSpiller bucketSpiller() {
+        return bucketSpiller;
+    }
+
+    /**
+     * Returns the cache of the per segment results of the top level aggregations, or {@code null}
+     * if the results must not be cached
+     */
+    @Nullable
+    public IndicesAggregationCache aggregationCache() {
+        return aggregationCache;
+    }
+
     void resetBucketMultiConsumer() {
         multiBucketConsumer.reset();
     }
@@ -0,0 +1,530 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.search.aggregations.bucket;
+
+import org.apache.lucene.document.DoublePoint;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.index.DocValuesType;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.PointValues;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.BulkScorer;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.IndexOrDocValuesQuery;
+import org.apache.lucene.search.LeafCollector;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.PointRangeQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Scorable;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.ScorerSupplier;
+import org.apache.lucene.search.Weight;
+import org.apache.lucene.util.FutureArrays;
+import org.opensearch.common.Nullable;
+import org.opensearch.index.mapper.DateFieldMapper;
+import org.opensearch.index.mapper.MappedFieldType;
+import org.opensearch.index.mapper.NumberFieldMapper;
+import org.opensearch.index.query.DateRangeIncludingNowQuery;
+import org.opensearch.search.aggregations.Aggregator;
+import org.opensearch.search.aggregations.support.ValuesSourceConfig;
+import org.opensearch.search.internal.ContextIndexSearcher;
+import org.opensearch.search.internal.SearchContext;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Collects the buckets of a top level bucket aggregation over a numeric field one bucket at a time: every bucket is turned into a
+ * range query on the points of the field which is run together with the top level query, instead of reading the doc values of
+ * every document that matches the top level query. When neither the top level query nor the bucket filter need anything else than
+ * the points of the field and the segment has no deletions, the documents of the bucket are counted directly on the points.
+ */
+public final class FilterByFilter {
+
+    /**
+     * The maximum number of buckets that are collected filter by filter, a query needs to be built per bucket so aggregations
+     * with more buckets are collected document by document.
+     */
+    public static final int MAX_FILTERS = 512;
+
+    /**
+     * Receives the documents of each filter on a segment.
+     */
+    public interface FilterConsumer {
+        /**
+         * Called when the number of documents of a filter on the segment is known without visiting them.
+         */
+        void count(int filter, int count) throws IOException;
+
+        /**
+         * Returns the collector for the documents of a filter on the segment.
+         */
+        LeafCollector collector(int filter) throws IOException;
+    }
+
+    /**
+     * Implemented by the aggregators that can collect filter by filter so that an aggregator that collects a single segment, like
+     * the per segment aggregators of the aggregation cache, decides how to collect from that segment only rather than from every
+     * segment of the shard.
+     */
+    public interface LeafScoped {
+        /**
+         * Restricts the segments that the aggregator decides how to collect from, must be called before pre-collection.
+         */
+        void setCollectedLeaves(List<LeafReaderContext> leaves);
+    }
+
+    private final ContextIndexSearcher searcher;
+    private final Weight[] weights;
+    private final PointRange[] pointRanges;
+    private int segmentsCollected;
+    private int segmentsCountedOnPoints;
+
+    private FilterByFilter(ContextIndexSearcher searcher, Weight[] weights, PointRange[] pointRanges) {
+        this.searcher = searcher;
+        this.weights = weights;
+        this.pointRanges = pointRanges;
+    }
+
+    /**
+     * Returns whether {@code aggregator} can be collected filter by filter: it must be a top level aggregation on an indexed field
+     * without script nor missing value, whose sub-aggregations do not need scores, and the request must collect every document
+     * that matches the query.
+     */
+    public static boolean canCollect(Aggregator aggregator, ValuesSourceConfig config, List<LeafReaderContext> leaves)
+        throws IOException {
+        final SearchContext context = aggregator.context();
+        if (aggregator.parent() != null || config.script() != null || config.missing() != null || config.fieldType() == null) {
+            return false;
+        }
+        if (aggregator.scoreMode().needsScores()
+            || context.minimumScore() != null
+            || context.terminateAfter() != SearchContext.DEFAULT_TERMINATE_AFTER
+            || context.getProfilers() != null) {
+            return false;
+        }
+        final MappedFieldType fieldType = config.fieldType();
+        if (fieldType.isSearchable() == false || isSupported(fieldType) == false) {
+            return false;
+        }
+        // documents that have doc values but no points would be missed
+        for (LeafReaderContext ctx : leaves) {
+            final FieldInfo fieldInfo = ctx.reader().getFieldInfos().fieldInfo(fieldType.name());
+            if (fieldInfo != null && fieldInfo.getDocValuesType() != DocValuesType.NONE && fieldInfo.getPointDimensionCount() == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the points of the field can be queried with the same semantics as its doc values.
+     */
+    private static boolean isSupported(MappedFieldType fieldType) {
+        if (fieldType instanceof DateFieldMapper.DateFieldType) {
+            // the doc values of nanosecond dates are converted to milliseconds
+            return ((DateFieldMapper.DateFieldType) fieldType).resolution() == DateFieldMapper.Resolution.MILLISECONDS;
+        }
+        if (fieldType instanceof NumberFieldMapper.NumberFieldType) {
+            switch (((NumberFieldMapper.NumberFieldType) fieldType).numericType()) {
+                case LONG:
+                case INT:
+                case SHORT:
+                case BYTE:
+                case DOUBLE:
+                    return true;
+                default:
+                    // float based fields lose precision when their values are read as doubles
+                    return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds a query on the points of a field accepted by {@link #canCollect} that matches the documents with a value in
+     * {@code [from, to)}.
+     */
+    public static Query rangeQuery(MappedFieldType fieldType, double from, double to) {
+        assert isSupported(fieldType);
+        if (fieldType instanceof NumberFieldMapper.NumberFieldType) {
+            switch (((NumberFieldMapper.NumberFieldType) fieldType).numericType()) {
+                case INT:
+                case SHORT:
+                case BYTE:
+                    return longRangeQuery(fieldType.name(), from, to, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                case DOUBLE:
+                    return DoublePoint.newRangeQuery(fieldType.name(), from, Math.nextDown(to));
+                default:
+                    break;
+            }
+        }
+        return longRangeQuery(fieldType.name(), from, to, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    private static Query longRangeQuery(String field, double from, double to, long minValue, long maxValue) {
+        // the casts saturate, so infinite bounds become the extreme values
+        final long lower = Math.max(minValue, (long) Math.ceil(from));
+        final long upper;
+        if (to == Double.POSITIVE_INFINITY) {
+            upper = maxValue;
+        } else {
+            final long upperExclusive = (long) Math.ceil(to);
+            if (upperExclusive == Long.MIN_VALUE) {
+                return new MatchNoDocsQuery("empty range");
+            }
+            upper = Math.min(maxValue, upperExclusive - 1);
+        }
+        if (lower > upper) {
+            return new MatchNoDocsQuery("empty range");
+        }
+        if (maxValue == Long.MAX_VALUE) {
+            return LongPoint.newRangeQuery(field, lower, upper);
+        }
+        return IntPoint.newRangeQuery(field, (int) lower, (int) upper);
+    }
+
+    /**
+     * Returns the minimum and maximum values of a millisecond date field across the given segments, narrowed to the range the top
+     * level query requires on that field, or {@code null} if the field has no points.
+     */
+    @Nullable
+    public static long[] dateBounds(SearchContext context, MappedFieldType fieldType, List<LeafReaderContext> leaves)
+        throws IOException {
+        long minValue = Long.MAX_VALUE;
+        long maxValue = Long.MIN_VALUE;
+        boolean hasPoints = false;
+        for (LeafReaderContext ctx : leaves) {
+            final PointValues values = ctx.reader().getPointValues(fieldType.name());
+            if (values == null) {
+                continue;
+            }
+            hasPoints = true;
+            minValue = Math.min(minValue, LongPoint.decodeDimension(values.getMinPackedValue(), 0));
+            maxValue = Math.max(maxValue, LongPoint.decodeDimension(values.getMaxPackedValue(), 0));
+        }
+        if (hasPoints == false) {
+            return null;
+        }
+        final PointRange required = requiredRange(topLevelQuery(context), fieldType.name());
+        if (required.field != null && required.lower.length == Long.BYTES) {
+            minValue = Math.max(minValue, LongPoint.decodeDimension(required.lower, 0));
+            maxValue = Math.min(maxValue, LongPoint.decodeDimension(required.upper, 0));
+        }
+        return new long[] { minValue, maxValue };
+    }
+
+    /**
+     * Builds the weights of the filters and returns a {@link FilterByFilter} if running them is expected to be cheaper than
+     * collecting the documents that match the top level query one by one on the given segments, {@code null} otherwise.
+     */
+    @Nullable
+    public static FilterByFilter build(SearchContext context, Query[] filters, List<LeafReaderContext> leaves) throws IOException {
+        if (filters.length > MAX_FILTERS) {
+            return null;
+        }
+        final ContextIndexSearcher searcher = context.searcher();
+        final Query topLevelQuery = topLevelQuery(context);
+        final Weight topLevelWeight = searcher.createWeight(searcher.rewrite(topLevelQuery), ScoreMode.COMPLETE_NO_SCORES, 1f);
+        final Weight[] weights = new Weight[filters.length];
+        final PointRange[] pointRanges = new PointRange[filters.length];
+        for (int i = 0; i < filters.length; i++) {
+            final Query query;
+            if (topLevelQuery instanceof MatchAllDocsQuery) {
+                query = filters[i];
+            } else {
+                query = new BooleanQuery.Builder()
+                    .add(topLevelQuery, BooleanClause.Occur.FILTER)
+                    .add(filters[i], BooleanClause.Occur.FILTER)
+                    .build();
+            }
+            pointRanges[i] = toPointRange(query);
+            weights[i] = searcher.createWeight(searcher.rewrite(query), ScoreMode.COMPLETE_NO_SCORES, 1f);
+        }
+        // the filters should not visit more documents than the top level query matches
+        long maxCost = 0;
+        for (LeafReaderContext ctx : leaves) {
+            final ScorerSupplier supplier = topLevelWeight.scorerSupplier(ctx);
+            if (supplier != null) {
+                maxCost += supplier.cost();
+            }
+        }
+        long cost = 0;
+        for (LeafReaderContext ctx : leaves) {
+            for (Weight weight : weights) {
+                final ScorerSupplier supplier = weight.scorerSupplier(ctx);
+                if (supplier != null) {
+                    cost += supplier.cost();
+                    if (cost > maxCost) {
+                        return null;
+                    }
+                }
+            }
+        }
+        return new FilterByFilter(searcher, weights, pointRanges);
+    }
+
+    /**
+     * Returns the number of segments that were collected filter by filter.
+     */
+    public int segmentsCollected() {
+        return segmentsCollected;
+    }
+
+    /**
+     * Returns the number of segments whose documents were counted directly on the points.
+     */
+    public int segmentsCountedOnPoints() {
+        return segmentsCountedOnPoints;
+    }
+
+    private static Query topLevelQuery(SearchContext context) {
+        return context.query() == null ? new MatchAllDocsQuery() : context.query();
+    }
+
+    /**
+     * Collects the documents of every filter on the given segment. The documents are only counted when {@code countOnly} is true
+     * and the filter can be counted on the points, otherwise they are collected by the {@link FilterConsumer#collector} of the
+     * filter. Like a regular search, the collection stops with an exception if the query is cancelled or times out.
+     */
+    public void collect(LeafReaderContext ctx, boolean countOnly, FilterConsumer consumer) throws IOException {
+        searcher.checkCancelled();
+        segmentsCollected++;
+        if (countOnly && ctx.reader().hasDeletions() == false && countOnPoints(ctx, consumer)) {
+            segmentsCountedOnPoints++;
+            return;
+        }
+        for (int i = 0; i < weights.length; i++) {
+            searcher.checkCancelled();
+            final BulkScorer scorer = searcher.cancellableBulkScorer(weights[i], ctx);
+            if (scorer == null) {
+                continue;
+            }
+            if (countOnly) {
+                final int[] count = new int[1];
+                scorer.score(new LeafCollector() {
+                    @Override
+                    public void setScorer(Scorable scorer) {}
+
+                    @Override
+                    public void collect(int doc) {
+                        count[0]++;
+                    }
+                }, ctx.reader().getLiveDocs());
+                if (count[0] > 0) {
+                    consumer.count(i, count[0]);
+                }
+            } else {
+                scorer.score(consumer.collector(i), ctx.reader().getLiveDocs());
+            }
+        }
+    }
+
+    private boolean countOnPoints(LeafReaderContext ctx, FilterConsumer consumer) throws IOException {
+        String field = null;
+        for (PointRange range : pointRanges) {
+            if (range == null || range.field == null) {
+                return false;
+            }
+            field = range.field;
+        }
+        if (field == null) {
+            return false;
+        }
+        final PointValues values = ctx.reader().getPointValues(field);
+        if (values == null) {
+            // the field has no values in this segment
+            return true;
+        }
+        if (values.getNumIndexDimensions() != 1 || values.getDocCount() != values.size()) {
+            // a document with several values in the same range would be counted several times
+            return false;
+        }
+        for (int i = 0; i < pointRanges.length; i++) {
+            if (pointRanges[i].field.equals(field) == false || pointRanges[i].lower.length != values.getBytesPerDimension()) {
+                return false;
+            }
+        }
+        for (int i = 0; i < pointRanges.length; i++) {
+            searcher.checkCancelled();
+            final int count = pointRanges[i].count(values);
+            if (count > 0) {
+                consumer.count(i, count);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the range of points that {@code query} matches exactly, or {@code null} if it needs more than the points of a
+     * single field to match documents.
+     */
+    @Nullable
+    static PointRange toPointRange(Query query) {
+        if (query instanceof MatchAllDocsQuery) {
+            return PointRange.ALL;
+        }
+        if (query instanceof PointRangeQuery) {
+            final PointRangeQuery pointRangeQuery = (PointRangeQuery) query;
+            if (pointRangeQuery.getNumDims() != 1) {
+                return null;
+            }
+            return new PointRange(pointRangeQuery.getField(), pointRangeQuery.getLowerPoint(), pointRangeQuery.getUpperPoint());
+        }
+        final Query inner = unwrap(query);
+        if (inner != null) {
+            return toPointRange(inner);
+        }
+        if (query instanceof BooleanQuery) {
+            final BooleanQuery booleanQuery = (BooleanQuery) query;
+            if (booleanQuery.clauses().isEmpty()) {
+                return null;
+            }
+            PointRange range = PointRange.ALL;
+            for (BooleanClause clause : booleanQuery) {
+                if (clause.isRequired() == false) {
+                    return null;
+                }
+                final PointRange clauseRange = toPointRange(clause.getQuery());
+                if (clauseRange == null) {
+                    return null;
+                }
+                range = range.intersect(clauseRange);
+                if (range == null) {
+                    return null;
+                }
+            }
+            return range;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the range that documents matching {@code query} must have on {@code field}, which is {@link PointRange#ALL} if
+     * the query does not restrict the values of the field.
+     */
+    static PointRange requiredRange(Query query, String field) {
+        if (query instanceof PointRangeQuery) {
+            final PointRange range = toPointRange(query);
+            return range != null && field.equals(range.field) ? range : PointRange.ALL;
+        }
+        final Query inner = unwrap(query);
+        if (inner != null) {
+            return requiredRange(inner, field);
+        }
+        if (query instanceof BooleanQuery) {
+            PointRange range = PointRange.ALL;
+            for (BooleanClause clause : (BooleanQuery) query) {
+                if (clause.isRequired()) {
+                    final PointRange intersection = range.intersect(requiredRange(clause.getQuery(), field));
+                    range = intersection == null ? range : intersection;
+                }
+            }
+            return range;
+        }
+        return PointRange.ALL;
+    }
+
+    @Nullable
+    private static Query unwrap(Query query) {
+        if (query instanceof IndexOrDocValuesQuery) {
+            return ((IndexOrDocValuesQuery) query).getIndexQuery();
+        }
+        if (query instanceof ConstantScoreQuery) {
+            return ((ConstantScoreQuery) query).getQuery();
+        }
+        if (query instanceof BoostQuery) {
+            return ((BoostQuery) query).getQuery();
+        }
+        if (query instanceof DateRangeIncludingNowQuery) {
+            return ((DateRangeIncludingNowQuery) query).getQuery();
+        }
+        return null;
+    }
+
+    /**
+     * The inclusive bounds of a range of one dimensional points, a {@code null} field stands for all documents.
+     */
+    static final class PointRange {
+        static final PointRange ALL = new PointRange(null, null, null);
+
+        final String field;
+        final byte[] lower;
+        final byte[] upper;
+
+        PointRange(String field, byte[] lower, byte[] upper) {
+            this.field = field;
+            this.lower = lower;
+            this.upper = upper;
+        }
+
+        /**
+         * Returns the intersection of both ranges, or {@code null} if they are not on the same field.
+         */
+        @Nullable
+        PointRange intersect(PointRange other) {
+            if (field == null) {
+                return other;
+            }
+            if (other.field == null) {
+                return this;
+            }
+            if (field.equals(other.field) == false || lower.length != other.lower.length) {
+                return null;
+            }
+            final byte[] newLower = compareBytes(lower, other.lower) >= 0 ? lower : other.lower;
+            final byte[] newUpper = compareBytes(upper, other.upper) <= 0 ? upper : other.upper;
+            return new PointRange(field, newLower, newUpper);
+        }
+
+        private static int compareBytes(byte[] a, byte[] b) {
+            return FutureArrays.compareUnsigned(a, 0, a.length, b, 0, b.length);
+        }
+
+        int count(PointValues values) throws IOException {
+            if (compareBytes(lower, upper) > 0) {
+                return 0;
+            }
+            final int[] count = new int[1];
+            values.intersect(new PointValues.IntersectVisitor() {
+                @Override
+                public void grow(int count) {}
+
+                @Override
+                public void visit(int docID) {
+                    count[0]++;
+                }
+
+                @Override
+                public void visit(int docID, byte[] packedValue) {
+                    if (compareBytes(packedValue, lower) >= 0 && compareBytes(packedValue, upper) <= 0) {
+                        count[0]++;
+                    }
+                }
+
+                @Override
+                public PointValues.Relation compare(byte[] minPackedValue, byte[] maxPackedValue) {
+                    if (compareBytes(minPackedValue, upper) > 0 || compareBytes(maxPackedValue, lower) < 0) {
+                        return PointValues.Relation.CELL_OUTSIDE_QUERY;
+                    }
+                    if (compareBytes(minPackedValue, lower) >= 0 && compareBytes(maxPackedValue, upper) <= 0) {
+                        return PointValues.Relation.CELL_INSIDE_QUERY;
+                    }
+                    return PointValues.Relation.CELL_CROSSES_QUERY;
+                }
+            });
+            return count[0];
+        }
+    }
+}
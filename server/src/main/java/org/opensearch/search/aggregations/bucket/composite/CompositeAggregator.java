@@ -86,6 +86,12 @@ import java.util.stream.Collectors;
 import static org.opensearch.search.aggregations.MultiBucketConsumerService.MAX_BUCKET_SETTING;
 
 final class CompositeAggregator extends BucketsAggregator {
+    /**
+     * The minimum number of documents of the first block that is visited when the index sort is in the reverse
+     * order of the sources.
+     */
+    private static final int MIN_REVERSE_BLOCK_SIZE = 1024;
+
     private final int size;
     private final List<String> sourceNames;
     private final int[] reverseMuls;
@@ -229,6 +235,7 @@ final class CompositeAggregator extends BucketsAggregator {
             return null;
         }
         List<SortField> sortFields = new ArrayList<>();
+        boolean reversed = false;
         int end = Math.min(indexSort.getSort().length, sourceConfigs.length);
         for (int i = 0; i < end; i++) {
             CompositeValuesSourceConfig sourceConfig = sourceConfigs[i];
@@ -243,12 +250,11 @@ final class CompositeAggregator extends BucketsAggregator {
                 break;
             }
 
-            if (indexSortField.getReverse() != (source.reverseMul == -1)) {
-                if (i == 0) {
-                    // the leading index sort matches the leading source field but the order is reversed
-                    // so we don't check the other sources.
-                    return new Sort(indexSortField);
-                }
+            if (i == 0) {
+                reversed = indexSortField.getReverse() != (source.reverseMul == -1);
+            } else if (reversed != (indexSortField.getReverse() != (source.reverseMul == -1))) {
+                // the index sort of the subsequent sources must be in the same order, or the reverse
+                // order, as the leading source for the documents to be visited in the order of the prefix.
                 break;
             }
             sortFields.add(indexSortField);
@@ -266,8 +272,8 @@ final class CompositeAggregator extends BucketsAggregator {
      *
      * @param indexSortPrefix The index sort prefix that matches the sources
      * @return The length of the index sort prefix if the sort order matches
-     *         or -1 if the leading index sort is in the reverse order of the
-     *         leading source. A value of 0 indicates that the index sort is
+     *         or the negated length if the index sort prefix is in the reverse
+     *         order of the sources. A value of 0 indicates that the index sort is
      *         not applicable.
      */
     private int computeSortPrefixLen(Sort indexSortPrefix) {
@@ -275,8 +281,7 @@ final class CompositeAggregator extends BucketsAggregator {
             return 0;
         }
         if (indexSortPrefix.getSort()[0].getReverse() != (sources[0].reverseMul == -1)) {
-            assert indexSortPrefix.getSort().length == 1;
-            return -1;
+            return -indexSortPrefix.getSort().length;
         } else {
             return indexSortPrefix.getSort().length;
         }
@@ -390,6 +395,130 @@ final class CompositeAggregator extends BucketsAggregator {
         }
     }
 
+    /**
+     * Visits the documents of a leaf whose index sort prefix is in the reverse order of the sources. The most competitive
+     * composite buckets are at the end of the leaf so the documents are visited in blocks of increasing size, starting
+     * from the last block, until the leaf is exhausted or the queue is full and the first document of the last visited block
+     * guarantees that the documents before it cannot be competitive. When a whole block sorts before the after key, the
+     * documents that sort before the after key are skipped with a binary search and the block size starts over so that
+     * a late page only visits the documents around its own buckets.
+     */
+    private void processLeafInReverse(LeafReaderContext ctx, Sort indexSortPrefix) throws IOException {
+        final int prefixLen = indexSortPrefix.getSort().length;
+        final Sort sort = applySortFieldRounding(indexSortPrefix);
+        final Weight weight = context.searcher().createWeight(context.searcher().rewrite(context.query()),
+            ScoreMode.COMPLETE_NO_SCORES, 1f);
+        final Bits liveDocs = ctx.reader().getLiveDocs();
+        // the doc id sets of the visited blocks, in reverse doc id order
+        final List<DocIdSet> blocks = new ArrayList<>();
+        int blockEnd = ctx.reader().maxDoc();
+        final int minBlockSize = Math.max(size, MIN_REVERSE_BLOCK_SIZE);
+        int blockSize = minBlockSize;
+        while (blockEnd > 0) {
+            final int blockStart = Math.max(0, blockEnd - blockSize);
+            final Scorer scorer = weight.scorer(ctx);
+            if (scorer == null) {
+                break;
+            }
+            final RoaringDocIdSet.Builder blockBuilder = docIdSetBuilder != null ? new RoaringDocIdSet.Builder(blockEnd) : null;
+            final LeafBucketCollector inner = queue.getLeafCollector(ctx, getFirstPassCollector(blockBuilder, -prefixLen));
+            inner.setScorer(scorer);
+            final DocIdSetIterator docIt = scorer.iterator();
+            int collected = 0;
+            boolean blockBeforeAfterKey = false;
+            try {
+                for (int doc = docIt.advance(blockStart); doc < blockEnd; doc = docIt.nextDoc()) {
+                    if (liveDocs == null || liveDocs.get(doc)) {
+                        collected++;
+                        inner.collect(doc);
+                    }
+                }
+            } catch (CollectionTerminatedException e) {
+                // the remaining documents of the block are before the after key, move to the previous block
+                blockBeforeAfterKey = collected == 1;
+            }
+            if (blockBuilder != null) {
+                blocks.add(blockBuilder.build());
+            }
+            if (blockStart > 0 && isAfterQueueTop(ctx, sort, blockStart)) {
+                // the documents before the block sort after the least competitive bucket
+                earlyTerminated = true;
+                break;
+            }
+            if (blockBeforeAfterKey) {
+                // the first document of the block is before the after key, so are all the documents up to the
+                // first one of the previous page: jump over them and start over with the smallest block
+                blockEnd = firstDocBeforeAfterKey(ctx, sort, blockStart);
+                blockSize = minBlockSize;
+            } else {
+                blockEnd = blockStart;
+                blockSize = blockSize > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE : blockSize * 2;
+            }
+        }
+        if (docIdSetBuilder != null) {
+            for (int i = blocks.size() - 1; i >= 0; i--) {
+                final DocIdSetIterator it = blocks.get(i).iterator();
+                if (it == null) {
+                    continue;
+                }
+                for (int doc = it.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = it.nextDoc()) {
+                    docIdSetBuilder.add(doc);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns true if the queue is full and the index sort prefix of the provided document, which is in the reverse
+     * order of the sources, sorts after the least competitive bucket of the queue.
+     */
+    private boolean isAfterQueueTop(LeafReaderContext ctx, Sort sort, int doc) throws IOException {
+        return queue.isFull() && compareIndexSortPrefix(ctx, sort, queue.toCompositeKey(queue.top()), doc) < 0;
+    }
+
+    /**
+     * Returns the first document, up to the provided one, whose index sort prefix sorts before the prefix of the after
+     * key. The index sort is in the reverse order of the sources so every document after it sorts before the after key too.
+     */
+    private int firstDocBeforeAfterKey(LeafReaderContext ctx, Sort sort, int end) throws IOException {
+        int low = 0;
+        int high = end;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (compareIndexSortPrefix(ctx, sort, rawAfterKey, mid) > 0) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Compares the leading values of the provided composite key with the index sort prefix of the provided document, in
+     * the order of the sources.
+     */
+    @SuppressWarnings("unchecked")
+    private int compareIndexSortPrefix(LeafReaderContext ctx, Sort sort, CompositeKey key, int doc) throws IOException {
+        final SortField[] sortFields = sort.getSort();
+        final DocValueFormat[] formats = new DocValueFormat[sortFields.length];
+        for (int i = 0; i < formats.length; i++) {
+            formats[i] = sources[i].format;
+        }
+        final FieldDoc fieldDoc = SearchAfterBuilder.buildFieldDoc(new SortAndFormats(sort, formats),
+            Arrays.copyOfRange(key.values(), 0, sortFields.length));
+        for (int i = 0; i < sortFields.length; i++) {
+            final FieldComparator<Object> comparator = (FieldComparator<Object>) sortFields[i].getComparator(1, i);
+            comparator.setTopValue(fieldDoc.fields[i]);
+            // doc values are forward iterators so we need a new leaf comparator for every check
+            final int cmp = comparator.getLeafComparator(ctx).compareTop(doc);
+            if (cmp != 0) {
+                return sources[i].reverseMul * cmp;
+            }
+        }
+        return 0;
+    }
+
     @Override
     protected LeafBucketCollector getLeafCollector(LeafReaderContext ctx, LeafBucketCollector sub) throws IOException {
         finishLeaf();
@@ -425,6 +554,11 @@ final class CompositeAggregator extends BucketsAggregator {
                 // document from there.
                 processLeafFromQuery(ctx, indexSortPrefix);
                 throw new CollectionTerminatedException();
+            } else if (sortPrefixLen < 0) {
+                // The index sort is in the reverse order of the sources so the most competitive buckets are
+                // at the end of the segment, we visit the documents backward by blocks.
+                processLeafInReverse(ctx, indexSortPrefix);
+                throw new CollectionTerminatedException();
             } else {
                 final LeafBucketCollector inner = queue.getLeafCollector(ctx, getFirstPassCollector(docIdSetBuilder, sortPrefixLen));
                 return new LeafBucketCollector() {
@@ -271,7 +271,8 @@ final class CompositeValuesCollectorQueue extends PriorityQueue<Integer> impleme
      *
      * @param indexSortSourcePrefix 0 if the index sort is null or doesn't match any of the sources field,
      *                              a value greater than 0 indicates the prefix len of the sources that match the index sort
-     *                              and a negative value indicates that the index sort match the source field but the order is reversed.
+     *                              and a negative value indicates the negated prefix len of the sources that match the index sort
+     *                              in the reverse order.
      * @return <code>true</code> if the candidate is competitive (added or already in the queue).
      *
      * @throws CollectionTerminatedException if the current collection can be terminated early due to index sorting.
@@ -287,10 +288,10 @@ final class CompositeValuesCollectorQueue extends PriorityQueue<Integer> impleme
         if (afterKeyIsSet) {
             int cmp = compareCurrentWithAfter();
             if (cmp <= 0) {
-                if (indexSortSourcePrefix < 0 && cmp == indexSortSourcePrefix) {
-                    // the leading index sort is in the reverse order of the leading source
-                    // so we can early terminate when we reach a document that is smaller
-                    // than the after key (collected on a previous page).
+                if (indexSortSourcePrefix < 0 && cmp < 0 && cmp >= indexSortSourcePrefix) {
+                    // the index sort is in the reverse order of the sources so we can early
+                    // terminate when we reach a document whose prefix is smaller than the
+                    // prefix of the after key (collected on a previous page).
                     throw new CollectionTerminatedException();
                 }
                 // key was collected on a previous page, skip it (>= afterKey).
@@ -33,11 +33,16 @@ package org.opensearch.search.aggregations.bucket.histogram;
 
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.SortedNumericDocValues;
+import org.apache.lucene.search.CollectionTerminatedException;
+import org.apache.lucene.search.LeafCollector;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Scorable;
 import org.apache.lucene.search.ScoreMode;
 import org.apache.lucene.util.CollectionUtil;
 import org.opensearch.common.Nullable;
 import org.opensearch.common.Rounding;
 import org.opensearch.common.lease.Releasables;
+import org.opensearch.index.mapper.DateFieldMapper;
 import org.opensearch.search.DocValueFormat;
 import org.opensearch.search.aggregations.Aggregator;
 import org.opensearch.search.aggregations.AggregatorFactories;
@@ -47,13 +52,17 @@ import org.opensearch.search.aggregations.InternalAggregation;
 import org.opensearch.search.aggregations.LeafBucketCollector;
 import org.opensearch.search.aggregations.LeafBucketCollectorBase;
 import org.opensearch.search.aggregations.bucket.BucketsAggregator;
+import org.opensearch.search.aggregations.bucket.FilterByFilter;
 import org.opensearch.search.aggregations.bucket.terms.LongKeyedBucketOrds;
+import org.opensearch.search.aggregations.support.NumericValuesBlock;
 import org.opensearch.search.aggregations.support.ValuesSource;
 import org.opensearch.search.aggregations.support.ValuesSourceConfig;
 import org.opensearch.search.internal.SearchContext;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
 
@@ -63,8 +72,9 @@ import java.util.function.BiConsumer;
  *
  * @see Rounding
  */
-class DateHistogramAggregator extends BucketsAggregator implements SizedBucketAggregator {
+class DateHistogramAggregator extends BucketsAggregator implements SizedBucketAggregator, FilterByFilter.LeafScoped {
 
+    private final ValuesSourceConfig valuesSourceConfig;
     private final ValuesSource.Numeric valuesSource;
     private final DocValueFormat formatter;
     private final Rounding rounding;
@@ -81,6 +91,19 @@ class DateHistogramAggregator extends BucketsAggregator implements SizedBucketAg
 
     private final LongKeyedBucketOrds bucketOrds;
 
+    /**
+     * Collects the buckets one by one when that is cheaper than reading the value of every matching document.
+     */
+    private FilterByFilter filterByFilter;
+    /**
+     * The key of the bucket of each filter of {@link #filterByFilter}.
+     */
+    private long[] filterKeys;
+    /**
+     * The segments this aggregator collects, {@code null} for every segment of the shard.
+     */
+    private List<LeafReaderContext> collectedLeaves;
+
     DateHistogramAggregator(
         String name,
         AggregatorFactories factories,
@@ -107,6 +130,7 @@ class DateHistogramAggregator extends BucketsAggregator implements SizedBucketAg
         this.minDocCount = minDocCount;
         this.extendedBounds = extendedBounds;
         this.hardBounds = hardBounds;
+        this.valuesSourceConfig = valuesSourceConfig;
         // TODO: Stop using null here
         this.valuesSource = valuesSourceConfig.hasValues() ? (ValuesSource.Numeric) valuesSourceConfig.getValuesSource() : null;
         this.formatter = valuesSourceConfig.format();
@@ -122,12 +146,85 @@ class DateHistogramAggregator extends BucketsAggregator implements SizedBucketAg
         return super.scoreMode();
     }
 
+    @Override
+    public void setCollectedLeaves(List<LeafReaderContext> leaves) {
+        this.collectedLeaves = leaves;
+    }
+
+    @Override
+    protected void doPreCollection() throws IOException {
+        final List<LeafReaderContext> leaves = collectedLeaves == null ? context.searcher().getIndexReader().leaves() : collectedLeaves;
+        if (valuesSource == null
+            || valuesSourceConfig.fieldType() instanceof DateFieldMapper.DateFieldType == false
+            || FilterByFilter.canCollect(this, valuesSourceConfig, leaves) == false) {
+            return;
+        }
+        final long[] bounds = FilterByFilter.dateBounds(context, valuesSourceConfig.fieldType(), leaves);
+        if (bounds == null) {
+            return;
+        }
+        // one filter per bucket that can hold a value of the collected segments
+        final List<Long> keys = new ArrayList<>();
+        final List<Query> filters = new ArrayList<>();
+        long key = preparedRounding.round(bounds[0]);
+        while (key <= bounds[1]) {
+            final long next = preparedRounding.nextRoundingValue(key);
+            if (next <= key || filters.size() == FilterByFilter.MAX_FILTERS) {
+                return;
+            }
+            if (hardBounds == null || hardBounds.contain(key)) {
+                keys.add(key);
+                filters.add(FilterByFilter.rangeQuery(valuesSourceConfig.fieldType(), key, next));
+            }
+            key = next;
+        }
+        filterByFilter = FilterByFilter.build(context, filters.toArray(new Query[0]), leaves);
+        filterKeys = keys.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private long filterBucketOrd(int filter) {
+        // there is no parent aggregator so the owning bucket is always 0
+        long bucketOrd = bucketOrds.add(0, filterKeys[filter]);
+        return bucketOrd < 0 ? -1 - bucketOrd : bucketOrd;
+    }
+
     @Override
     public LeafBucketCollector getLeafCollector(LeafReaderContext ctx, LeafBucketCollector sub) throws IOException {
         if (valuesSource == null) {
             return LeafBucketCollector.NO_OP_COLLECTOR;
         }
+        if (filterByFilter != null) {
+            filterByFilter.collect(ctx, sub == LeafBucketCollector.NO_OP_COLLECTOR, new FilterByFilter.FilterConsumer() {
+                @Override
+                public void count(int filter, int count) {
+                    incrementBucketDocCount(filterBucketOrd(filter), count);
+                }
+
+                @Override
+                public LeafCollector collector(int filter) throws IOException {
+                    // sub collectors only accept increasing doc ids, so every filter needs its own
+                    final LeafBucketCollector filterSub = collectableSubAggregators.getLeafCollector(ctx);
+                    return new LeafCollector() {
+                        // only buckets with documents get an ordinal
+                        long bucketOrd = -1;
+
+                        @Override
+                        public void setScorer(Scorable scorer) {}
+
+                        @Override
+                        public void collect(int doc) throws IOException {
+                            if (bucketOrd == -1) {
+                                bucketOrd = filterBucketOrd(filter);
+                            }
+                            collectBucket(filterSub, doc, bucketOrd);
+                        }
+                    };
+                }
+            });
+            throw new CollectionTerminatedException();
+        }
         SortedNumericDocValues values = valuesSource.longValues(ctx);
+        final NumericValuesBlock block = new NumericValuesBlock();
         return new LeafBucketCollectorBase(sub, values) {
             @Override
             public void collect(int doc, long owningBucketOrd) throws IOException {
@@ -155,6 +252,40 @@ class DateHistogramAggregator extends BucketsAggregator implements SizedBucketAg
                     }
                 }
             }
+
+            @Override
+            public void collect(int[] docs, int count, long owningBucketOrd) throws IOException {
+                block.readLongs(values, docs, count);
+                final long[] blockValues = block.longValues();
+                // neighbouring documents often fall into the same bucket, so remember the last one to skip the hash lookup
+                long lastRounded = 0;
+                long lastBucketOrd = -1;
+                for (int i = 0; i < count; i++) {
+                    final int end = block.end(i);
+                    long previousRounded = Long.MIN_VALUE;
+                    for (int j = block.start(i); j < end; j++) {
+                        long rounded = preparedRounding.round(blockValues[j]);
+                        assert rounded >= previousRounded;
+                        if (rounded == previousRounded) {
+                            continue;
+                        }
+                        if (lastBucketOrd >= 0 && rounded == lastRounded) {
+                            collectExistingBucket(sub, docs[i], lastBucketOrd);
+                        } else if (hardBounds == null || hardBounds.contain(rounded)) {
+                            long bucketOrd = bucketOrds.add(owningBucketOrd, rounded);
+                            if (bucketOrd < 0) { // already seen
+                                bucketOrd = -1 - bucketOrd;
+                                collectExistingBucket(sub, docs[i], bucketOrd);
+                            } else {
+                                collectBucket(sub, docs[i], bucketOrd);
+                            }
+                            lastRounded = rounded;
+                            lastBucketOrd = bucketOrd;
+                        }
+                        previousRounded = rounded;
+                    }
+                }
+            }
         };
     }
 
@@ -194,6 +325,10 @@ class DateHistogramAggregator extends BucketsAggregator implements SizedBucketAg
     @Override
     public void collectDebugInfo(BiConsumer<String, Object> add) {
         add.accept("total_buckets", bucketOrds.size());
+        if (filterByFilter != null) {
+            add.accept("segments_collected_filter_by_filter", filterByFilter.segmentsCollected());
+            add.accept("segments_counted_on_points", filterByFilter.segmentsCountedOnPoints());
+        }
     }
 
     /**
@@ -41,6 +41,7 @@ import org.opensearch.search.aggregations.BucketOrder;
 import org.opensearch.search.aggregations.CardinalityUpperBound;
 import org.opensearch.search.aggregations.LeafBucketCollector;
 import org.opensearch.search.aggregations.LeafBucketCollectorBase;
+import org.opensearch.search.aggregations.support.NumericValuesBlock;
 import org.opensearch.search.aggregations.support.ValuesSource;
 import org.opensearch.search.aggregations.support.ValuesSourceConfig;
 import org.opensearch.search.internal.SearchContext;
@@ -109,6 +110,7 @@ public class NumericHistogramAggregator extends AbstractHistogramAggregator {
         }
 
         final SortedNumericDoubleValues values = valuesSource.doubleValues(ctx);
+        final NumericValuesBlock block = new NumericValuesBlock();
         return new LeafBucketCollectorBase(sub, values) {
             @Override
             public void collect(int doc, long owningBucketOrd) throws IOException {
@@ -123,19 +125,42 @@ public class NumericHistogramAggregator extends AbstractHistogramAggregator {
                         if (key == previousKey) {
                             continue;
                         }
-                        if (hardBounds == null || hardBounds.contain(key * interval)) {
-                            long bucketOrd = bucketOrds.add(owningBucketOrd, Double.doubleToLongBits(key));
-                            if (bucketOrd < 0) { // already seen
-                                bucketOrd = -1 - bucketOrd;
-                                collectExistingBucket(sub, doc, bucketOrd);
-                            } else {
-                                collectBucket(sub, doc, bucketOrd);
-                            }
+                        collectKey(sub, doc, owningBucketOrd, key);
+                        previousKey = key;
+                    }
+                }
+            }
+
+            @Override
+            public void collect(int[] docs, int count, long owningBucketOrd) throws IOException {
+                block.readDoubles(values, docs, count);
+                final double[] blockValues = block.doubleValues();
+                for (int i = 0; i < count; i++) {
+                    final int end = block.end(i);
+                    double previousKey = Double.NEGATIVE_INFINITY;
+                    for (int j = block.start(i); j < end; j++) {
+                        double key = Math.floor((blockValues[j] - offset) / interval);
+                        assert key >= previousKey;
+                        if (key == previousKey) {
+                            continue;
                         }
+                        collectKey(sub, docs[i], owningBucketOrd, key);
                         previousKey = key;
                     }
                 }
             }
         };
     }
+
+    private void collectKey(LeafBucketCollector sub, int doc, long owningBucketOrd, double key) throws IOException {
+        if (hardBounds == null || hardBounds.contain(key * interval)) {
+            long bucketOrd = bucketOrds.add(owningBucketOrd, Double.doubleToLongBits(key));
+            if (bucketOrd < 0) { // already seen
+                bucketOrd = -1 - bucketOrd;
+                collectExistingBucket(sub, doc, bucketOrd);
+            } else {
+                collectBucket(sub, doc, bucketOrd);
+            }
+        }
+    }
 }
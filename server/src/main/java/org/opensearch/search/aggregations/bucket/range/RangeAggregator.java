@@ -32,6 +32,10 @@
 package org.opensearch.search.aggregations.bucket.range;
 
 import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.CollectionTerminatedException;
+import org.apache.lucene.search.LeafCollector;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Scorable;
 import org.apache.lucene.search.ScoreMode;
 import org.opensearch.common.ParseField;
 import org.opensearch.common.io.stream.StreamInput;
@@ -54,7 +58,9 @@ import org.opensearch.search.aggregations.LeafBucketCollector;
 import org.opensearch.search.aggregations.LeafBucketCollectorBase;
 import org.opensearch.search.aggregations.NonCollectingAggregator;
 import org.opensearch.search.aggregations.bucket.BucketsAggregator;
+import org.opensearch.search.aggregations.bucket.FilterByFilter;
 import org.opensearch.search.aggregations.support.ValuesSource;
+import org.opensearch.search.aggregations.support.ValuesSourceConfig;
 import org.opensearch.search.internal.SearchContext;
 
 import java.io.IOException;
@@ -62,10 +68,11 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.BiConsumer;
 
 import static org.opensearch.common.xcontent.ConstructingObjectParser.optionalConstructorArg;
 
-public class RangeAggregator extends BucketsAggregator {
+public class RangeAggregator extends BucketsAggregator implements FilterByFilter.LeafScoped {
 
     public static final ParseField RANGES_FIELD = new ParseField("ranges");
     public static final ParseField KEYED_FIELD = new ParseField("keyed");
@@ -236,13 +243,34 @@ public class RangeAggregator extends BucketsAggregator {
 
     final double[] maxTo;
 
+    private final ValuesSourceConfig config;
+    private FilterByFilter filterByFilter;
+    // the segments this aggregator collects, null for every segment of the shard
+    private List<LeafReaderContext> collectedLeaves;
+
+    public RangeAggregator(String name, AggregatorFactories factories, ValuesSourceConfig config,
+            InternalRange.Factory rangeFactory, Range[] ranges, boolean keyed, SearchContext context,
+            Aggregator parent, CardinalityUpperBound cardinality, Map<String, Object> metadata) throws IOException {
+
+        this(name, factories, (ValuesSource.Numeric) config.getValuesSource(), config, config.format(), rangeFactory, ranges, keyed,
+            context, parent, cardinality, metadata);
+    }
+
     public RangeAggregator(String name, AggregatorFactories factories, ValuesSource.Numeric valuesSource, DocValueFormat format,
             InternalRange.Factory rangeFactory, Range[] ranges, boolean keyed, SearchContext context,
             Aggregator parent, CardinalityUpperBound cardinality, Map<String, Object> metadata) throws IOException {
 
+        this(name, factories, valuesSource, null, format, rangeFactory, ranges, keyed, context, parent, cardinality, metadata);
+    }
+
+    private RangeAggregator(String name, AggregatorFactories factories, ValuesSource.Numeric valuesSource, ValuesSourceConfig config,
+            DocValueFormat format, InternalRange.Factory rangeFactory, Range[] ranges, boolean keyed, SearchContext context,
+            Aggregator parent, CardinalityUpperBound cardinality, Map<String, Object> metadata) throws IOException {
+
         super(name, factories, context, parent, cardinality.multiply(ranges.length), metadata);
         assert valuesSource != null;
         this.valuesSource = valuesSource;
+        this.config = config;
         this.format = format;
         this.keyed = keyed;
         this.rangeFactory = rangeFactory;
@@ -265,9 +293,51 @@ public class RangeAggregator extends BucketsAggregator {
         return super.scoreMode();
     }
 
+    @Override
+    public void setCollectedLeaves(List<LeafReaderContext> leaves) {
+        this.collectedLeaves = leaves;
+    }
+
+    @Override
+    protected void doPreCollection() throws IOException {
+        final List<LeafReaderContext> leaves = collectedLeaves == null ? context.searcher().getIndexReader().leaves() : collectedLeaves;
+        if (config != null && FilterByFilter.canCollect(this, config, leaves)) {
+            Query[] filters = new Query[ranges.length];
+            for (int i = 0; i < ranges.length; i++) {
+                filters[i] = FilterByFilter.rangeQuery(config.fieldType(), ranges[i].from, ranges[i].to);
+            }
+            filterByFilter = FilterByFilter.build(context, filters, leaves);
+        }
+    }
+
     @Override
     public LeafBucketCollector getLeafCollector(LeafReaderContext ctx,
             final LeafBucketCollector sub) throws IOException {
+        if (filterByFilter != null) {
+            // there is no parent aggregator so the owning bucket is always 0 and the ordinal of a range is its index
+            filterByFilter.collect(ctx, sub == LeafBucketCollector.NO_OP_COLLECTOR, new FilterByFilter.FilterConsumer() {
+                @Override
+                public void count(int filter, int count) {
+                    incrementBucketDocCount(filter, count);
+                }
+
+                @Override
+                public LeafCollector collector(int filter) throws IOException {
+                    // sub collectors only accept increasing doc ids, so every filter needs its own
+                    final LeafBucketCollector filterSub = collectableSubAggregators.getLeafCollector(ctx);
+                    return new LeafCollector() {
+                        @Override
+                        public void setScorer(Scorable scorer) {}
+
+                        @Override
+                        public void collect(int doc) throws IOException {
+                            collectBucket(filterSub, doc, filter);
+                        }
+                    };
+                }
+            });
+            throw new CollectionTerminatedException();
+        }
         final SortedNumericDoubleValues values = valuesSource.doubleValues(ctx);
         return new LeafBucketCollectorBase(sub, values) {
             @Override
@@ -281,6 +351,14 @@ public class RangeAggregator extends BucketsAggregator {
                 }
             }
 
+    @Override
+    public void collectDebugInfo(BiConsumer<String, Object> add) {
+        if (filterByFilter != null) {
+            add.accept("segments_collected_filter_by_filter", filterByFilter.segmentsCollected());
+            add.accept("segments_counted_on_points", filterByFilter.segmentsCountedOnPoints());
+        }
+    }
+
     private int collect(int doc, double value, long owningBucketOrdinal, int lowBound) throws IOException {
         int lo = lowBound, hi = ranges.length - 1; // all candidates are between these indexes
         int mid = (lo + hi) >>> 1;
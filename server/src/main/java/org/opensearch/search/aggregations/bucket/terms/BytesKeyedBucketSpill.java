@@ -0,0 +1,245 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.search.aggregations.bucket.terms;
+
+import org.apache.lucene.codecs.CodecUtil;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.IndexOutput;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefBuilder;
+import org.apache.lucene.util.FutureArrays;
+import org.apache.lucene.util.IOUtils;
+import org.apache.lucene.util.OfflineSorter;
+import org.opensearch.common.lease.Releasable;
+import org.opensearch.search.aggregations.AggregationSpillService.BucketSpiller;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.function.LongToIntFunction;
+
+/**
+ * Spills the buckets of a single bucket {@link BytesKeyedBucketOrds} to a temporary file when they use more memory than the
+ * spill threshold, and merges the spilled buckets with the ones that are still in memory once collection is done.
+ * Only the key and the doc count of the buckets are spilled so the buckets must not have sub-aggregations.
+ */
+final class BytesKeyedBucketSpill implements Releasable {
+    private static final String TEMP_FILE_PREFIX = "terms_agg";
+
+    /**
+     * The memory used by a bucket on top of its key: its start offset and hash in the {@link BytesKeyedBucketOrds}, the slots
+     * of its id in the hash table which is kept at most 60% full, and its doc count.
+     */
+    private static final long BUCKET_OVERHEAD_BYTES = Long.BYTES + Integer.BYTES + 2 * Long.BYTES + Integer.BYTES;
+
+    /**
+     * The memory the spilled buckets are sorted with. Buckets are spilled because memory is tight so the sorter must not size
+     * its buffer from the free heap like {@link OfflineSorter.BufferSize#automatic()} does: it gets the smallest buffer that
+     * still sorts runs of thousands of buckets, and merges the runs from disk.
+     */
+    private static final OfflineSorter.BufferSize SORT_BUFFER_SIZE = OfflineSorter.BufferSize.megabytes(1);
+    private static final long SORT_BUFFER_BYTES = OfflineSorter.MB;
+
+    /**
+     * Each record is the key of the bucket followed by its doc count, records are sorted by key.
+     */
+    private static final Comparator<BytesRef> KEY_COMPARATOR = (a, b) -> FutureArrays.compareUnsigned(
+        a.bytes, a.offset, a.offset + a.length - Integer.BYTES,
+        b.bytes, b.offset, b.offset + b.length - Integer.BYTES
+    );
+
+    private final BucketSpiller spiller;
+    private final LongConsumer requestBreaker;
+    private final List<String> files = new ArrayList<>();
+    private final BytesRefBuilder record = new BytesRefBuilder();
+    private Directory directory;
+    private IndexOutput output;
+    private OfflineSorter.ByteSequencesWriter writer;
+    private OfflineSorter.ByteSequencesReader reader;
+    private int spills;
+    private long spilledBuckets;
+    private long bucketBytes;
+
+    /**
+     * @param requestBreaker adds the given bytes to the request circuit breaker, or releases them if negative
+     */
+    BytesKeyedBucketSpill(BucketSpiller spiller, LongConsumer requestBreaker) {
+        this.spiller = spiller;
+        this.requestBreaker = requestBreaker;
+    }
+
+    /**
+     * Accounts for a new bucket with the given key and returns {@code true} if the buckets in memory should be spilled.
+     */
+    boolean addBucket(BytesRef key) {
+        bucketBytes += key.length + BUCKET_OVERHEAD_BYTES;
+        return spiller.shouldSpill(bucketBytes);
+    }
+
+    /**
+     * Returns {@code true} if buckets have been spilled.
+     */
+    boolean hasSpilled() {
+        return spills > 0;
+    }
+
+    /**
+     * The number of times buckets have been spilled.
+     */
+    int spills() {
+        return spills;
+    }
+
+    /**
+     * The number of spilled buckets, a key may be counted more than once if it was spilled several times.
+     */
+    long spilledBuckets() {
+        return spilledBuckets;
+    }
+
+    /**
+     * Writes the buckets of {@code bucketOrds} to the temporary file. The caller is responsible for clearing them.
+     */
+    void spill(BytesKeyedBucketOrds bucketOrds, LongToIntFunction docCounts) throws IOException {
+        assert reader == null : "buckets are already merged";
+        if (writer == null) {
+            directory = spiller.openDirectory();
+            output = directory.createTempOutput(TEMP_FILE_PREFIX, "spill", IOContext.DEFAULT);
+            files.add(output.getName());
+            writer = new OfflineSorter.ByteSequencesWriter(output);
+        }
+        BytesKeyedBucketOrds.BucketOrdsEnum ordsEnum = bucketOrds.ordsEnum(0);
+        BytesRef key = new BytesRef();
+        while (ordsEnum.next()) {
+            int docCount = docCounts.applyAsInt(ordsEnum.ord());
+            ordsEnum.readValue(key);
+            record.clear();
+            record.append(key);
+            record.append((byte) (docCount >>> 24));
+            record.append((byte) (docCount >>> 16));
+            record.append((byte) (docCount >>> 8));
+            record.append((byte) docCount);
+            writer.write(record.get());
+            spilledBuckets++;
+        }
+        spills++;
+        bucketBytes = 0;
+    }
+
+    /**
+     * Spills the remaining buckets of {@code bucketOrds}, sorts all of the spilled buckets by key and returns them
+     * with the doc counts of equal keys summed up.
+     */
+    MergedBucketsEnum merge(BytesKeyedBucketOrds bucketOrds, LongToIntFunction docCounts) throws IOException {
+        spill(bucketOrds, docCounts);
+        CodecUtil.writeFooter(output);
+        writer.close();
+        writer = null;
+        final String sorted;
+        // the buffer of the sorter is only allocated while it sorts
+        requestBreaker.accept(SORT_BUFFER_BYTES);
+        try {
+            sorted = new OfflineSorter(directory, TEMP_FILE_PREFIX, KEY_COMPARATOR, SORT_BUFFER_SIZE, OfflineSorter.MAX_TEMPFILES, -1,
+                null, 0).sort(output.getName());
+        } finally {
+            requestBreaker.accept(-SORT_BUFFER_BYTES);
+        }
+        files.add(sorted);
+        reader = new OfflineSorter.ByteSequencesReader(directory.openChecksumInput(sorted, IOContext.READONCE), sorted);
+        return new MergedBucketsEnum(reader);
+    }
+
+    @Override
+    public void close() {
+        try {
+            IOUtils.close(writer, reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (directory != null) {
+                IOUtils.deleteFilesIgnoringExceptions(directory, files);
+                IOUtils.closeWhileHandlingException(directory);
+            }
+        }
+    }
+
+    /**
+     * Iterates over the merged buckets in key order. The ordinals of the buckets are meaningless.
+     */
+    static final class MergedBucketsEnum implements BytesKeyedBucketOrds.BucketOrdsEnum {
+        private final OfflineSorter.ByteSequencesReader reader;
+        private final BytesRefBuilder key = new BytesRefBuilder();
+        private BytesRef next;
+        private long ord = -1;
+        private long docCount;
+
+        private MergedBucketsEnum(OfflineSorter.ByteSequencesReader reader) throws IOException {
+            this.reader = reader;
+            this.next = reader.next();
+        }
+
+        @Override
+        public boolean next() {
+            if (next == null) {
+                return false;
+            }
+            key.copyBytes(next.bytes, next.offset, next.length - Integer.BYTES);
+            docCount = 0;
+            try {
+                do {
+                    docCount += docCount(next);
+                    next = reader.next();
+                } while (next != null && sameKey(next, key.get()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            ord++;
+            return true;
+        }
+
+        private static boolean sameKey(BytesRef record, BytesRef key) {
+            return FutureArrays.equals(record.bytes, record.offset, record.offset + record.length - Integer.BYTES,
+                key.bytes, key.offset, key.offset + key.length);
+        }
+
+        private static int docCount(BytesRef record) {
+            int end = record.offset + record.length;
+            return ((record.bytes[end - 4] & 0xFF) << 24) | ((record.bytes[end - 3] & 0xFF) << 16)
+                | ((record.bytes[end - 2] & 0xFF) << 8) | (record.bytes[end - 1] & 0xFF);
+        }
+
+        @Override
+        public long ord() {
+            return ord;
+        }
+
+        /**
+         * The sum of the doc counts of the current key.
+         */
+        long docCount() {
+            return docCount;
+        }
+
+        @Override
+        public void readValue(BytesRef dest) {
+            // the key is overwritten by the next bucket so it is copied into the destination
+            BytesRef current = key.get();
+            if (dest.bytes.length < current.length) {
+                dest.bytes = new byte[current.length];
+            }
+            System.arraycopy(current.bytes, current.offset, dest.bytes, 0, current.length);
+            dest.offset = 0;
+            dest.length = current.length;
+        }
+    }
+}
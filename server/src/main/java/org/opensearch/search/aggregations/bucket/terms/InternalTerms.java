@@ -33,7 +33,9 @@ package org.opensearch.search.aggregations.bucket.terms;
 
 import org.apache.lucene.util.PriorityQueue;
 import org.opensearch.LegacyESVersion;
+import org.opensearch.common.Nullable;
 import org.opensearch.common.ParseField;
+import org.opensearch.common.breaker.CircuitBreaker;
 import org.opensearch.common.io.stream.StreamInput;
 import org.opensearch.common.io.stream.StreamOutput;
 import org.opensearch.common.xcontent.XContentBuilder;
@@ -54,8 +56,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 
 import static org.opensearch.search.aggregations.InternalOrder.isKeyAsc;
@@ -67,6 +71,15 @@ public abstract class InternalTerms<A extends InternalTerms<A, B>, B extends Int
     protected static final ParseField DOC_COUNT_ERROR_UPPER_BOUND_FIELD_NAME = new ParseField("doc_count_error_upper_bound");
     protected static final ParseField SUM_OF_OTHER_DOC_COUNTS = new ParseField("sum_other_doc_count");
 
+    /**
+     * The number of buckets of a partial reduce that are accounted for on the request circuit breaker at once.
+     */
+    static final int PARTIAL_REDUCE_BREAKER_BLOCK_SIZE = 1024;
+    /**
+     * A rough estimate of the memory a partially reduced bucket holds in the buffer, sub-aggregations excluded.
+     */
+    static final long PARTIAL_REDUCE_BUCKET_BYTES = 64;
+
     public abstract static class Bucket<B extends Bucket<B>> extends InternalMultiBucketAggregation.InternalBucket
         implements Terms.Bucket, KeyComparable<B> {
         /**
@@ -270,8 +283,12 @@ public abstract class InternalTerms<A extends InternalTerms<A, B>, B extends Int
         }
     }
 
-    private List<B> reduceMergeSort(List<InternalAggregation> aggregations,
-                                    BucketOrder thisReduceOrder, ReduceContext reduceContext) {
+    /**
+     * Merges the buckets of the aggregations, which are sorted by key, and returns the reduced buckets in key order. The buckets are
+     * reduced lazily, one key at a time, so that only the buckets of a single key are buffered whatever the number of aggregations.
+     */
+    private Iterator<B> reduceMergeSort(List<InternalAggregation> aggregations,
+                                        BucketOrder thisReduceOrder, ReduceContext reduceContext) {
         assert isKeyOrder(thisReduceOrder);
         final Comparator<MultiBucketsAggregation.Bucket> cmp = thisReduceOrder.comparator();
         final PriorityQueue<IteratorAndCurrent<B>> pq = new PriorityQueue<IteratorAndCurrent<B>>(aggregations.size()) {
@@ -288,35 +305,37 @@ public abstract class InternalTerms<A extends InternalTerms<A, B>, B extends Int
                 pq.add(new IteratorAndCurrent(terms.getBuckets().iterator()));
             }
         }
-        List<B> reducedBuckets = new ArrayList<>();
-        // list of buckets coming from different shards that have the same key
-        List<B> currentBuckets = new ArrayList<>();
-        B lastBucket = null;
-        while (pq.size() > 0) {
-            final IteratorAndCurrent<B> top = pq.top();
-            assert lastBucket == null || cmp.compare(top.current(), lastBucket) >= 0;
-            if (lastBucket != null && cmp.compare(top.current(), lastBucket) != 0) {
-                // the key changes, reduce what we already buffered and reset the buffer for current buckets
-                final B reduced = reduceBucket(currentBuckets, reduceContext);
-                reducedBuckets.add(reduced);
-                currentBuckets.clear();
-            }
-            lastBucket = top.current();
-            currentBuckets.add(top.current());
-            if (top.hasNext()) {
-                top.next();
-                assert cmp.compare(top.current(), lastBucket) > 0 : "shards must return data sorted by key";
-                pq.updateTop();
-            } else {
-                pq.pop();
+        return new Iterator<B>() {
+            // list of buckets coming from different shards that have the same key
+            final List<B> currentBuckets = new ArrayList<>();
+
+            @Override
+            public boolean hasNext() {
+                return pq.size() > 0;
             }
-        }
 
-        if (currentBuckets.isEmpty() == false) {
-            final B reduced = reduceBucket(currentBuckets, reduceContext);
-            reducedBuckets.add(reduced);
-        }
-        return reducedBuckets;
+            @Override
+            public B next() {
+                if (hasNext() == false) {
+                    throw new NoSuchElementException();
+                }
+                currentBuckets.clear();
+                final B first = pq.top().current();
+                do {
+                    final IteratorAndCurrent<B> top = pq.top();
+                    final B bucket = top.current();
+                    currentBuckets.add(bucket);
+                    if (top.hasNext()) {
+                        top.next();
+                        assert cmp.compare(top.current(), bucket) > 0 : "shards must return data sorted by key";
+                        pq.updateTop();
+                    } else {
+                        pq.pop();
+                    }
+                } while (pq.size() > 0 && cmp.compare(pq.top().current(), first) == 0);
+                return reduceBucket(currentBuckets, reduceContext);
+            }
+        };
     }
 
     private List<B> reduceLegacy(List<InternalAggregation> aggregations, ReduceContext reduceContext) {
@@ -346,6 +365,8 @@ public abstract class InternalTerms<A extends InternalTerms<A, B>, B extends Int
     public InternalAggregation reduce(List<InternalAggregation> aggregations, ReduceContext reduceContext) {
         long sumDocCountError = 0;
         long otherDocCount = 0;
+        // an upper bound of the number of reduced buckets
+        long maxReducedBuckets = 0;
         InternalTerms<A, B> referenceTerms = null;
         for (InternalAggregation aggregation : aggregations) {
             @SuppressWarnings("unchecked")
@@ -363,6 +384,7 @@ public abstract class InternalTerms<A extends InternalTerms<A, B>, B extends Int
                         + "types in two different indices");
             }
             otherDocCount += terms.getSumOfOtherDocCounts();
+            maxReducedBuckets += terms.getBuckets().size();
             final long thisAggDocCountError = getDocCountError(terms);
             if (sumDocCountError != -1) {
                 if (thisAggDocCountError == -1) {
@@ -384,7 +406,7 @@ public abstract class InternalTerms<A extends InternalTerms<A, B>, B extends Int
             }
         }
 
-        final List<B> reducedBuckets;
+        final Iterator<B> reducedBuckets;
         /**
          * Buckets returned by a partial reduce or a shard response are sorted by key since {@link LegacyESVersion#V_7_10_0}.
          * That allows to perform a merge sort when reducing multiple aggregations together.
@@ -397,14 +419,16 @@ public abstract class InternalTerms<A extends InternalTerms<A, B>, B extends Int
             thisReduceOrder = InternalOrder.key(isKeyAsc(thisReduceOrder) ? true : false);
             reducedBuckets = reduceMergeSort(aggregations, thisReduceOrder, reduceContext);
         } else {
-            reducedBuckets = reduceLegacy(aggregations, reduceContext);
+            reducedBuckets = reduceLegacy(aggregations, reduceContext).iterator();
         }
         final B[] list;
         if (reduceContext.isFinalReduce()) {
-            final int size = Math.min(requiredSize, reducedBuckets.size());
+            // the reduced buckets are streamed into the queue so that at most size buckets are retained
+            final int size = (int) Math.min(requiredSize, maxReducedBuckets);
             // final comparator
             final BucketPriorityQueue<B> ordered = new BucketPriorityQueue<>(size, order.comparator());
-            for (B bucket : reducedBuckets) {
+            while (reducedBuckets.hasNext()) {
+                final B bucket = reducedBuckets.next();
                 if (sumDocCountError == -1) {
                     bucket.docCountError = -1;
                 } else {
@@ -428,18 +452,34 @@ public abstract class InternalTerms<A extends InternalTerms<A, B>, B extends Int
             }
         } else {
             // we can prune the list on partial reduce if the aggregation is ordered by key
-            // and not filtered (minDocCount == 0)
-            int size = isKeyOrder(order) && minDocCount == 0 ? Math.min(requiredSize, reducedBuckets.size()) : reducedBuckets.size();
-            list = createBucketsArray(size);
-            for (int i = 0; i < size; i++) {
-                reduceContext.consumeBucketsAndMaybeBreak(1);
-                list[i] = reducedBuckets.get(i);
-                if (sumDocCountError == -1) {
-                    list[i].docCountError = -1;
-                } else {
-                    list[i].docCountError += sumDocCountError;
+            // and not filtered (minDocCount == 0), in which case the remaining buckets are not even reduced
+            final int maxSize = isKeyOrder(order) && minDocCount == 0 ? requiredSize : Integer.MAX_VALUE;
+            final List<B> buckets = new ArrayList<>();
+            // the buffer is accounted for on the request breaker while it grows, the consumer of the partial reduce takes the
+            // size of the reduced aggregation into account once it is built
+            final CircuitBreaker breaker = requestBreaker(reduceContext);
+            long accountedBytes = 0;
+            try {
+                while (buckets.size() < maxSize && reducedBuckets.hasNext()) {
+                    if (breaker != null && buckets.size() % PARTIAL_REDUCE_BREAKER_BLOCK_SIZE == 0) {
+                        final long bytes = PARTIAL_REDUCE_BREAKER_BLOCK_SIZE * PARTIAL_REDUCE_BUCKET_BYTES;
+                        breaker.addEstimateBytesAndMaybeBreak(bytes, "<reduce_terms_buckets>");
+                        accountedBytes += bytes;
+                    }
+                    final B bucket = reducedBuckets.next();
+                    if (sumDocCountError == -1) {
+                        bucket.docCountError = -1;
+                    } else {
+                        bucket.docCountError += sumDocCountError;
+                    }
+                    buckets.add(bucket);
+                }
+            } finally {
+                if (accountedBytes > 0) {
+                    breaker.addWithoutBreaking(-accountedBytes);
                 }
             }
+            list = buckets.toArray(createBucketsArray(buckets.size()));
         }
         long docCountError;
         if (sumDocCountError == -1) {
@@ -450,6 +490,14 @@ public abstract class InternalTerms<A extends InternalTerms<A, B>, B extends Int
         return create(name, Arrays.asList(list), reduceContext.isFinalReduce() ? order : thisReduceOrder, docCountError, otherDocCount);
     }
 
+    @Nullable
+    private static CircuitBreaker requestBreaker(ReduceContext reduceContext) {
+        if (reduceContext.bigArrays() == null || reduceContext.bigArrays().breakerService() == null) {
+            return null;
+        }
+        return reduceContext.bigArrays().breakerService().getBreaker(CircuitBreaker.REQUEST);
+    }
+
     @Override
     protected B reduceBucket(List<B> buckets, ReduceContext context) {
         assert buckets.size() > 0;
@@ -459,7 +507,7 @@ public abstract class InternalTerms<A extends InternalTerms<A, B>, B extends Int
         // the errors from the shards that did respond with the terms and
         // subtract that from the sum of the error from all shards
         long docCountError = 0;
-        List<InternalAggregations> aggregationsList = new ArrayList<>(buckets.size());
+        boolean hasSubAggregations = false;
         for (B bucket : buckets) {
             docCount += bucket.docCount;
             if (docCountError != -1) {
@@ -469,9 +517,19 @@ public abstract class InternalTerms<A extends InternalTerms<A, B>, B extends Int
                     docCountError += bucket.docCountError;
                 }
             }
-            aggregationsList.add(bucket.aggregations);
+            hasSubAggregations |= bucket.aggregations.asList().isEmpty() == false;
+        }
+        final InternalAggregations aggs;
+        if (hasSubAggregations) {
+            List<InternalAggregations> aggregationsList = new ArrayList<>(buckets.size());
+            for (B bucket : buckets) {
+                aggregationsList.add(bucket.aggregations);
+            }
+            aggs = InternalAggregations.reduce(aggregationsList, context);
+        } else {
+            // most terms aggregations have no sub-aggregations, there is nothing to reduce
+            aggs = InternalAggregations.EMPTY;
         }
-        InternalAggregations aggs = InternalAggregations.reduce(aggregationsList, context);
         return createBucket(docCount, aggs, docCountError, buckets.get(0));
     }
 
@@ -41,6 +41,7 @@ import org.opensearch.common.lease.Releasables;
 import org.opensearch.common.util.LongArray;
 import org.opensearch.index.fielddata.SortedBinaryDocValues;
 import org.opensearch.search.DocValueFormat;
+import org.opensearch.search.aggregations.AggregationSpillService.BucketSpiller;
 import org.opensearch.search.aggregations.Aggregator;
 import org.opensearch.search.aggregations.AggregatorFactories;
 import org.opensearch.search.aggregations.BucketOrder;
@@ -72,8 +73,10 @@ import static org.opensearch.search.aggregations.InternalOrder.isKeyOrder;
 public class MapStringTermsAggregator extends AbstractStringTermsAggregator {
     private final CollectorSource collectorSource;
     private final ResultStrategy<?, ?> resultStrategy;
-    private final BytesKeyedBucketOrds bucketOrds;
     private final IncludeExclude.StringFilter includeExclude;
+    private final CardinalityUpperBound cardinality;
+    private final BytesKeyedBucketSpill spill;
+    private BytesKeyedBucketOrds bucketOrds;
 
     public MapStringTermsAggregator(
         String name,
@@ -95,7 +98,21 @@ public class MapStringTermsAggregator extends AbstractStringTermsAggregator {
         this.collectorSource = collectorSource;
         this.resultStrategy = resultStrategy.apply(this); // ResultStrategy needs a reference to the Aggregator to do its job.
         this.includeExclude = includeExclude;
+        this.cardinality = cardinality;
         bucketOrds = BytesKeyedBucketOrds.build(context.bigArrays(), cardinality);
+        BucketSpiller spiller = context.aggregations() == null ? null : context.aggregations().bucketSpiller();
+        spill = spiller != null && canSpill(cardinality) ? new BytesKeyedBucketSpill(spiller, this::addRequestCircuitBreakerBytes) : null;
+    }
+
+    /**
+     * Buckets can only be spilled to disk when the aggregator collects a single owning bucket and
+     * the doc count is the only state of the buckets.
+     */
+    private boolean canSpill(CardinalityUpperBound cardinality) {
+        return resultStrategy instanceof StandardTermsResults
+            && subAggregators.length == 0
+            && bucketCountThresholds.getMinDocCount() > 0
+            && cardinality.map(estimate -> estimate == 1);
     }
 
     @Override
@@ -121,12 +138,25 @@ public class MapStringTermsAggregator extends AbstractStringTermsAggregator {
                         collectExistingBucket(s, doc, bucketOrdinal);
                     } else {
                         collectBucket(s, doc, bucketOrdinal);
+                        if (spill != null && spill.addBucket(bytes)) {
+                            spillBuckets();
+                        }
                     }
                 }
             )
         );
     }
 
+    /**
+     * Moves the buckets to disk and starts collecting again with no bucket in memory.
+     */
+    private void spillBuckets() throws IOException {
+        spill.spill(bucketOrds, this::bucketDocCount);
+        bucketOrds.close();
+        bucketOrds = BytesKeyedBucketOrds.build(context.bigArrays(), cardinality);
+        mergeBuckets(1, bucket -> -1);
+    }
+
     @Override
     public InternalAggregation[] buildAggregations(long[] owningBucketOrds) throws IOException {
         return resultStrategy.buildAggregations(owningBucketOrds);
@@ -141,12 +171,16 @@ public class MapStringTermsAggregator extends AbstractStringTermsAggregator {
     public void collectDebugInfo(BiConsumer<String, Object> add) {
         super.collectDebugInfo(add);
         add.accept("total_buckets", bucketOrds.size());
+        if (spill != null) {
+            add.accept("spills", spill.spills());
+            add.accept("spilled_buckets", spill.spilledBuckets());
+        }
         add.accept("result_strategy", resultStrategy.describe());
     }
 
     @Override
     public void doClose() {
-        Releasables.close(collectorSource, resultStrategy, bucketOrds);
+        Releasables.close(collectorSource, resultStrategy, bucketOrds, spill);
     }
 
     /**
@@ -236,14 +270,21 @@ public class MapStringTermsAggregator extends AbstractStringTermsAggregator {
             long[] otherDocCounts = new long[owningBucketOrds.length];
             for (int ordIdx = 0; ordIdx < owningBucketOrds.length; ordIdx++) {
                 collectZeroDocEntriesIfNeeded(owningBucketOrds[ordIdx]);
-                int size = (int) Math.min(bucketOrds.size(), bucketCountThresholds.getShardSize());
+                long numBuckets = bucketOrds.size();
+                BytesKeyedBucketSpill.MergedBucketsEnum spilled = null;
+                if (spill != null && spill.hasSpilled()) {
+                    assert owningBucketOrds.length == 1 && owningBucketOrds[ordIdx] == 0;
+                    numBuckets += spill.spilledBuckets();
+                    spilled = spill.merge(bucketOrds, MapStringTermsAggregator.this::bucketDocCount);
+                }
+                int size = (int) Math.min(numBuckets, bucketCountThresholds.getShardSize());
 
                 PriorityQueue<B> ordered = buildPriorityQueue(size);
                 B spare = null;
-                BytesKeyedBucketOrds.BucketOrdsEnum ordsEnum = bucketOrds.ordsEnum(owningBucketOrds[ordIdx]);
+                BytesKeyedBucketOrds.BucketOrdsEnum ordsEnum = spilled == null ? bucketOrds.ordsEnum(owningBucketOrds[ordIdx]) : spilled;
                 Supplier<B> emptyBucketBuilder = emptyBucketBuilder(owningBucketOrds[ordIdx]);
                 while (ordsEnum.next()) {
-                    long docCount = bucketDocCount(ordsEnum.ord());
+                    long docCount = spilled == null ? bucketDocCount(ordsEnum.ord()) : spilled.docCount();
                     otherDocCounts[ordIdx] += docCount;
                     if (docCount < bucketCountThresholds.getShardMinDocCount()) {
                         continue;
@@ -0,0 +1,175 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.search.aggregations.cache;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.CollectionTerminatedException;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreMode;
+import org.opensearch.indices.IndicesAggregationCache;
+import org.opensearch.search.aggregations.AggregationBuilder;
+import org.opensearch.search.aggregations.Aggregator;
+import org.opensearch.search.aggregations.AggregatorBase;
+import org.opensearch.search.aggregations.AggregatorFactories;
+import org.opensearch.search.aggregations.AggregatorFactory;
+import org.opensearch.search.aggregations.CardinalityUpperBound;
+import org.opensearch.search.aggregations.InternalAggregation;
+import org.opensearch.search.aggregations.LeafBucketCollector;
+import org.opensearch.search.aggregations.bucket.FilterByFilter;
+import org.opensearch.search.aggregations.pipeline.PipelineAggregator.PipelineTree;
+import org.opensearch.search.internal.SearchContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Computes a top level aggregation segment by segment. The result of each segment is either read from the
+ * {@link IndicesAggregationCache} or collected by a new aggregator created by the wrapped factory and then cached, and the
+ * results of all segments are reduced into the result of the shard.
+ */
+final class SegmentCachedAggregator extends AggregatorBase {
+
+    private final AggregationBuilder aggregation;
+    private final AggregatorFactory factory;
+    private final IndicesAggregationCache cache;
+    private final Query query;
+    private final Aggregator template;
+    private final List<InternalAggregation> results = new ArrayList<>();
+
+    // the aggregator of the segment that is being collected and the cache key of the segment, null if it cannot be cached
+    private Aggregator current;
+    private IndexReader.CacheHelper currentSegment;
+    // the buckets counted by the bucket consumer of the request before the aggregator of the segment was created
+    private int bucketCountBeforeSegment;
+
+    private int cachedSegments;
+    private int collectedSegments;
+
+    SegmentCachedAggregator(String name, AggregationBuilder aggregation, AggregatorFactory factory, IndicesAggregationCache cache,
+                            Query query, SearchContext context, Map<String, Object> metadata) throws IOException {
+        super(name, AggregatorFactories.EMPTY, context, null, CardinalityUpperBound.NONE, metadata);
+        this.aggregation = aggregation;
+        this.factory = factory;
+        this.cache = cache;
+        this.query = query;
+        // builds the empty result and tells whether scores are needed
+        this.template = factory.create(context, null, CardinalityUpperBound.ONE);
+    }
+
+    @Override
+    public ScoreMode scoreMode() {
+        return template.scoreMode();
+    }
+
+    @Override
+    protected LeafBucketCollector getLeafCollector(LeafReaderContext ctx, LeafBucketCollector sub) throws IOException {
+        finishSegment(true);
+        final IndexReader.CacheHelper segment = ctx.reader().getReaderCacheHelper();
+        if (segment != null) {
+            final InternalAggregation cached = cache.get(segment, query, aggregation);
+            if (cached != null) {
+                results.add(cached);
+                cachedSegments++;
+                throw new CollectionTerminatedException();
+            }
+        }
+        bucketCountBeforeSegment = bucketCount();
+        current = factory.create(context, null, CardinalityUpperBound.ONE);
+        currentSegment = segment;
+        collectedSegments++;
+        if (current instanceof FilterByFilter.LeafScoped) {
+            // decide how to collect from this segment only rather than from the whole shard for every segment
+            ((FilterByFilter.LeafScoped) current).setCollectedLeaves(Collections.singletonList(ctx));
+        }
+        current.preCollection();
+        try {
+            return current.getLeafCollector(ctx);
+        } catch (CollectionTerminatedException e) {
+            // the aggregator does not need to collect the documents of the segment
+            finishSegment(true);
+            throw e;
+        }
+    }
+
+    @Override
+    protected void doPostCollection() throws IOException {
+        // a search that timed out may not have collected all of the documents of the last segment
+        finishSegment(context.queryResult() == null || context.queryResult().searchTimedOut() == false);
+    }
+
+    private void finishSegment(boolean complete) throws IOException {
+        if (current == null) {
+            return;
+        }
+        final InternalAggregation result;
+        try {
+            current.postCollection();
+            result = current.buildTopLevel();
+        } finally {
+            // the buckets of the segment are counted once the results of the segments are reduced on the coordinating node, and
+            // the memory of the aggregator is not needed anymore once its result is built
+            final int segmentBucketCount = bucketCount() - bucketCountBeforeSegment;
+            if (segmentBucketCount != 0) {
+                context.aggregations().multiBucketConsumer().accept(-segmentBucketCount);
+            }
+            release(current);
+            current = null;
+        }
+        results.add(result);
+        if (complete && currentSegment != null) {
+            cache.put(currentSegment, query, aggregation, result);
+        }
+        currentSegment = null;
+    }
+
+    private int bucketCount() {
+        return context.aggregations() == null ? 0 : context.aggregations().multiBucketConsumer().getCount();
+    }
+
+    private static void release(Aggregator aggregator) {
+        if (aggregator instanceof AggregatorBase) {
+            for (Aggregator subAggregator : ((AggregatorBase) aggregator).subAggregators()) {
+                release(subAggregator);
+            }
+        }
+        aggregator.close();
+    }
+
+    @Override
+    public InternalAggregation[] buildAggregations(long[] owningBucketOrds) throws IOException {
+        assert owningBucketOrds.length == 1 && owningBucketOrds[0] == 0;
+        if (results.isEmpty()) {
+            return new InternalAggregation[] { buildEmptyAggregation() };
+        }
+        if (results.size() == 1) {
+            return new InternalAggregation[] { results.get(0) };
+        }
+        // the segments are reduced like the shards of a batched reduce, the final reduction happens on the coordinating node
+        final InternalAggregation.ReduceContext reduceContext = InternalAggregation.ReduceContext.forPartialReduction(
+            context.bigArrays(), null, () -> PipelineTree.EMPTY);
+        return new InternalAggregation[] { results.get(0).reduce(results, reduceContext) };
+    }
+
+    @Override
+    public InternalAggregation buildEmptyAggregation() {
+        return template.buildEmptyAggregation();
+    }
+
+    @Override
+    public void collectDebugInfo(BiConsumer<String, Object> add) {
+        super.collectDebugInfo(add);
+        add.accept("cached_segments", cachedSegments);
+        add.accept("collected_segments", collectedSegments);
+    }
+}
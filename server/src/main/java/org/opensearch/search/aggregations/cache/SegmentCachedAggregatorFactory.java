@@ -0,0 +1,142 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.search.aggregations.cache;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.opensearch.common.Nullable;
+import org.opensearch.index.query.QueryShardContext;
+import org.opensearch.indices.IndicesAggregationCache;
+import org.opensearch.search.aggregations.AggregationBuilder;
+import org.opensearch.search.aggregations.Aggregator;
+import org.opensearch.search.aggregations.AggregatorFactories;
+import org.opensearch.search.aggregations.AggregatorFactory;
+import org.opensearch.search.aggregations.CardinalityUpperBound;
+import org.opensearch.search.aggregations.bucket.filter.FilterAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.filter.FiltersAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.histogram.DateHistogramAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.histogram.HistogramAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.missing.MissingAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.range.DateRangeAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.range.IpRangeAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.range.RangeAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.AvgAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.CardinalityAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.ExtendedStatsAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.MaxAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.MinAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.StatsAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.SumAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.ValueCountAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.WeightedAvgAggregationBuilder;
+import org.opensearch.search.internal.SearchContext;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Wraps the factory of a top level aggregation whose results can be computed per segment and reduced, and caches its
+ * per segment results in the {@link IndicesAggregationCache} when the index enables it. The aggregation is created by the
+ * wrapped factory when the request cannot use the cache.
+ */
+public final class SegmentCachedAggregatorFactory extends AggregatorFactory {
+
+    /**
+     * The aggregations whose per segment results reduce to the same result as the one collected from the whole shard.
+     * Aggregations that select the top buckets of the shard, like {@code terms}, are not part of them since selecting
+     * the top buckets of each segment would lose accuracy.
+     */
+    private static final Set<String> CACHEABLE_AGGREGATIONS = Set.of(
+        AvgAggregationBuilder.NAME,
+        CardinalityAggregationBuilder.NAME,
+        ExtendedStatsAggregationBuilder.NAME,
+        MaxAggregationBuilder.NAME,
+        MinAggregationBuilder.NAME,
+        StatsAggregationBuilder.NAME,
+        SumAggregationBuilder.NAME,
+        ValueCountAggregationBuilder.NAME,
+        WeightedAvgAggregationBuilder.NAME,
+        FilterAggregationBuilder.NAME,
+        FiltersAggregationBuilder.NAME,
+        MissingAggregationBuilder.NAME,
+        HistogramAggregationBuilder.NAME,
+        DateHistogramAggregationBuilder.NAME,
+        RangeAggregationBuilder.NAME,
+        DateRangeAggregationBuilder.NAME,
+        IpRangeAggregationBuilder.NAME
+    );
+
+    private final AggregationBuilder aggregation;
+    private final AggregatorFactory delegate;
+
+    private SegmentCachedAggregatorFactory(AggregationBuilder aggregation, AggregatorFactory delegate,
+                                           QueryShardContext queryShardContext, Map<String, Object> metadata) throws IOException {
+        super(delegate.name(), queryShardContext, null, AggregatorFactories.builder(), metadata);
+        this.aggregation = aggregation;
+        this.delegate = delegate;
+    }
+
+    /**
+     * Wraps the factory of the given top level aggregation if its per segment results can be cached.
+     */
+    public static AggregatorFactory maybeWrap(AggregationBuilder builder, AggregatorFactory factory,
+                                              QueryShardContext queryShardContext) throws IOException {
+        if (queryShardContext.getIndexSettings().getValue(IndicesAggregationCache.INDEX_CACHE_AGGREGATIONS_ENABLED_SETTING) == false
+            || isCacheable(builder) == false) {
+            return factory;
+        }
+        return new SegmentCachedAggregatorFactory(builder, factory, queryShardContext, builder.getMetadata());
+    }
+
+    private static boolean isCacheable(AggregationBuilder builder) {
+        if (CACHEABLE_AGGREGATIONS.contains(builder.getType()) == false) {
+            return false;
+        }
+        for (AggregationBuilder subAggregation : builder.getSubAggregations()) {
+            if (isCacheable(subAggregation) == false) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected Aggregator createInternal(SearchContext searchContext, Aggregator parent, CardinalityUpperBound cardinality,
+                                        Map<String, Object> metadata) throws IOException {
+        if (parent == null) {
+            final IndicesAggregationCache cache = cache(searchContext);
+            if (cache != null) {
+                final Query query = searchContext.query() == null ? new MatchAllDocsQuery() : searchContext.query();
+                return new SegmentCachedAggregator(name, aggregation, delegate, cache, query, searchContext, metadata);
+            }
+        }
+        return delegate.create(searchContext, parent, cardinality);
+    }
+
+    /**
+     * Returns the cache of the per segment results, or {@code null} if the results of the request must not be cached.
+     */
+    @Nullable
+    private static IndicesAggregationCache cache(SearchContext searchContext) {
+        if (searchContext.aggregations() == null
+            || searchContext.getQueryShardContext().isCacheable() == false
+            || searchContext.minimumScore() != null
+            || searchContext.terminateAfter() != SearchContext.DEFAULT_TERMINATE_AFTER
+            || searchContext.getProfilers() != null) {
+            return null;
+        }
+        return searchContext.aggregations().aggregationCache();
+    }
+
+    @Override
+    public String getStatsSubtype() {
+        return delegate.getStatsSubtype();
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.search.aggregations.metrics;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.ScoreMode;
+import org.opensearch.common.lease.Releasables;
+import org.opensearch.common.util.ArrayUtils;
+import org.opensearch.common.util.BigArrays;
+import org.opensearch.common.util.DoubleArray;
+import org.opensearch.common.util.LongArray;
+import org.opensearch.common.util.LongLongHash;
+import org.opensearch.common.util.ObjectArray;
+import org.opensearch.index.fielddata.SortedNumericDoubleValues;
+import org.opensearch.search.DocValueFormat;
+import org.opensearch.search.aggregations.Aggregator;
+import org.opensearch.search.aggregations.LeafBucketCollector;
+import org.opensearch.search.aggregations.LeafBucketCollectorBase;
+import org.opensearch.search.aggregations.support.ValuesSource;
+import org.opensearch.search.internal.SearchContext;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Collects the {@link DDSketchState}s of all buckets without creating an object per bucket: the counts of the bins of all
+ * buckets are kept in a single hash keyed by bucket ordinal and bin, and the sketches are only built once collection is over.
+ */
+abstract class AbstractDDSketchPercentilesAggregator extends NumericMetricsAggregator.MultiValue {
+
+    private static int indexOfKey(double[] keys, double key) {
+        return ArrayUtils.binarySearch(keys, key, 0.001);
+    }
+
+    protected final double[] keys;
+    protected final ValuesSource valuesSource;
+    protected final DocValueFormat formatter;
+    protected final double relativeAccuracy;
+    protected final boolean keyed;
+    private final double multiplier;
+
+    private LongLongHash bins;
+    private LongArray counts;
+    private DoubleArray mins;
+    private DoubleArray maxes;
+    // built from the bins on first access, once collection is over
+    private ObjectArray<DDSketchState> states;
+
+    AbstractDDSketchPercentilesAggregator(String name, ValuesSource valuesSource, SearchContext context, Aggregator parent,
+            double[] keys, double relativeAccuracy, boolean keyed, DocValueFormat formatter,
+            Map<String, Object> metadata) throws IOException {
+        super(name, context, parent, metadata);
+        this.valuesSource = valuesSource;
+        this.keyed = keyed;
+        this.formatter = formatter;
+        this.keys = keys;
+        this.relativeAccuracy = relativeAccuracy;
+        this.multiplier = DDSketchState.multiplier(relativeAccuracy);
+        if (valuesSource != null) {
+            final BigArrays bigArrays = context.bigArrays();
+            this.bins = new LongLongHash(1, bigArrays);
+            this.counts = bigArrays.newLongArray(1, false);
+            this.mins = bigArrays.newDoubleArray(1, false);
+            this.mins.fill(0, mins.size(), Double.POSITIVE_INFINITY);
+            this.maxes = bigArrays.newDoubleArray(1, false);
+            this.maxes.fill(0, maxes.size(), Double.NEGATIVE_INFINITY);
+        }
+    }
+
+    @Override
+    public ScoreMode scoreMode() {
+        return valuesSource != null && valuesSource.needsScores() ? ScoreMode.COMPLETE : ScoreMode.COMPLETE_NO_SCORES;
+    }
+
+    @Override
+    public LeafBucketCollector getLeafCollector(LeafReaderContext ctx,
+            final LeafBucketCollector sub) throws IOException {
+        if (valuesSource == null) {
+            return LeafBucketCollector.NO_OP_COLLECTOR;
+        }
+        final BigArrays bigArrays = context.bigArrays();
+        final SortedNumericDoubleValues values = ((ValuesSource.Numeric)valuesSource).doubleValues(ctx);
+        return new LeafBucketCollectorBase(sub, values) {
+            @Override
+            public void collect(int doc, long bucket) throws IOException {
+                if (values.advanceExact(doc)) {
+                    if (bucket >= mins.size()) {
+                        final long from = mins.size();
+                        mins = bigArrays.grow(mins, bucket + 1);
+                        mins.fill(from, mins.size(), Double.POSITIVE_INFINITY);
+                        maxes = bigArrays.resize(maxes, mins.size());
+                        maxes.fill(from, maxes.size(), Double.NEGATIVE_INFINITY);
+                    }
+                    double min = mins.get(bucket);
+                    double max = maxes.get(bucket);
+                    final int valueCount = values.docValueCount();
+                    for (int i = 0; i < valueCount; i++) {
+                        final double value = values.nextValue();
+                        long ord = bins.add(bucket, DDSketchState.binKey(value, multiplier));
+                        if (ord < 0) {
+                            ord = -1 - ord;
+                        } else {
+                            counts = bigArrays.grow(counts, ord + 1);
+                        }
+                        counts.increment(ord, 1);
+                        min = Math.min(min, value);
+                        max = Math.max(max, value);
+                    }
+                    mins.set(bucket, min);
+                    maxes.set(bucket, max);
+                }
+            }
+        };
+    }
+
+    @Override
+    public boolean hasMetric(String name) {
+        return indexOfKey(keys, Double.parseDouble(name)) >= 0;
+    }
+
+    protected DDSketchState getState(long bucketOrd) {
+        if (valuesSource == null) {
+            return null;
+        }
+        if (states == null) {
+            buildStates();
+        }
+        if (bucketOrd >= states.size()) {
+            return null;
+        }
+        return states.get(bucketOrd);
+    }
+
+    /**
+     * Builds the sketches of all buckets in a single pass over the bins.
+     */
+    private void buildStates() {
+        states = context.bigArrays().newObjectArray(mins.size());
+        for (long ord = 0; ord < bins.size(); ord++) {
+            final long bucket = bins.getKey1(ord);
+            DDSketchState state = states.get(bucket);
+            if (state == null) {
+                state = new DDSketchState(relativeAccuracy);
+                state.addBounds(mins.get(bucket), maxes.get(bucket));
+                states.set(bucket, state);
+            }
+            state.addBin(bins.getKey2(ord), counts.get(ord));
+        }
+    }
+
+    @Override
+    protected void doClose() {
+        Releasables.close(bins, counts, mins, maxes, states);
+    }
+
+}
@@ -32,6 +32,7 @@
 package org.opensearch.search.aggregations.metrics;
 
 import org.opensearch.LegacyESVersion;
+import org.opensearch.Version;
 import org.opensearch.common.Nullable;
 import org.opensearch.common.ParseField;
 import org.opensearch.common.TriFunction;
@@ -53,7 +54,7 @@ import java.util.function.Supplier;
 
 /**
  * This provides a base class for aggregations that are building percentiles or percentiles-like functionality (e.g. percentile ranks).
- * It provides a set of common fields/functionality for setting the available algorithms (TDigest and HDRHistogram),
+ * It provides a set of common fields/functionality for setting the available algorithms (TDigest, HDRHistogram and DDSketch),
  * as well as algorithm-specific settings via a {@link PercentilesConfig} object
  */
 public abstract class AbstractPercentilesAggregationBuilder<T extends AbstractPercentilesAggregationBuilder<T>>
@@ -86,6 +87,7 @@ public abstract class AbstractPercentilesAggregationBuilder<T extends AbstractPe
          *  - args[0]: values
          *  - args[1]: tdigest config options
          *  - args[2]: hdr config options
+         *  - args[3]: ddsketch config options
          *
          *  If `args` is null or empty, it means all were omitted.  This is usually an anti-pattern for
          *  ConstructingObjectParser, but we're allowing it because of the above-mentioned reasons
@@ -100,18 +102,22 @@ public abstract class AbstractPercentilesAggregationBuilder<T extends AbstractPe
 
             PercentilesConfig tDigestConfig = (PercentilesConfig) args[1];
             PercentilesConfig hdrConfig = (PercentilesConfig) args[2];
+            PercentilesConfig ddSketchConfig = (PercentilesConfig) args[3];
 
             double[] values = args[0] != null ? ((List<Double>) args[0]).stream().mapToDouble(Double::doubleValue).toArray() : null;
             PercentilesConfig percentilesConfig;
 
-            if (tDigestConfig != null && hdrConfig != null) {
+            int configs = (tDigestConfig != null ? 1 : 0) + (hdrConfig != null ? 1 : 0) + (ddSketchConfig != null ? 1 : 0);
+            if (configs > 1) {
                 throw new IllegalArgumentException("Only one percentiles method should be declared.");
-            } else if (tDigestConfig == null && hdrConfig == null) {
+            } else if (configs == 0) {
                 percentilesConfig = defaultConfig.get();
             } else if (tDigestConfig != null) {
                 percentilesConfig = tDigestConfig;
-            } else {
+            } else if (hdrConfig != null) {
                 percentilesConfig = hdrConfig;
+            } else {
+                percentilesConfig = ddSketchConfig;
             }
 
             return ctor.apply(name, values, percentilesConfig);
@@ -124,6 +130,8 @@ public abstract class AbstractPercentilesAggregationBuilder<T extends AbstractPe
             PercentilesMethod.TDIGEST.getParseField());
         parser.declareObject(ConstructingObjectParser.optionalConstructorArg(), PercentilesMethod.HDR_PARSER,
             PercentilesMethod.HDR.getParseField());
+        parser.declareObject(ConstructingObjectParser.optionalConstructorArg(), PercentilesMethod.DDSKETCH_PARSER,
+            PercentilesMethod.DDSKETCH.getParseField());
 
         return parser;
     }
@@ -170,6 +178,11 @@ public abstract class AbstractPercentilesAggregationBuilder<T extends AbstractPe
 
     @Override
     protected void innerWriteTo(StreamOutput out) throws IOException {
+        if (percentilesConfig != null && percentilesConfig.getMethod().equals(PercentilesMethod.DDSKETCH)
+            && out.getVersion().before(Version.V_1_0_0)) {
+            throw new IllegalArgumentException("percentiles method [" + PercentilesMethod.DDSKETCH + "] is not supported on nodes before ["
+                + Version.V_1_0_0 + "]");
+        }
         out.writeDoubleArray(values);
         out.writeBoolean(keyed);
         if (out.getVersion().onOrAfter(LegacyESVersion.V_7_8_0)) {
@@ -283,24 +296,29 @@ public abstract class AbstractPercentilesAggregationBuilder<T extends AbstractPe
             throw new IllegalArgumentException("[method] must not be null: [" + name + "]");
         }
         if (percentilesConfig == null) {
-            if (method.equals(PercentilesMethod.TDIGEST) ) {
-                this.percentilesConfig = new PercentilesConfig.TDigest();
-            } else {
-                this.percentilesConfig = new PercentilesConfig.Hdr();
-            }
+            this.percentilesConfig = defaultConfig(method);
         } else if (percentilesConfig.getMethod().equals(method) == false) {
             // we already have an algo configured, but it's different from the requested method
             // reset to default for the requested method
-            if (method.equals(PercentilesMethod.TDIGEST) ) {
-                this.percentilesConfig = new PercentilesConfig.TDigest();
-            } else {
-                this.percentilesConfig = new PercentilesConfig.Hdr();
-            }
+            this.percentilesConfig = defaultConfig(method);
         } // if method and config were same, this is a no-op so we don't overwrite settings
 
         return (T) this;
     }
 
+    private static PercentilesConfig defaultConfig(PercentilesMethod method) {
+        switch (method) {
+            case TDIGEST:
+                return new PercentilesConfig.TDigest();
+            case HDR:
+                return new PercentilesConfig.Hdr();
+            case DDSKETCH:
+                return new PercentilesConfig.DDSketch();
+            default:
+                throw new IllegalArgumentException("Unsupported percentiles algorithm [" + method + "]");
+        }
+    }
+
     /**
      * Deprecated: get method by inspecting the {@link PercentilesConfig} returned from
      * {@link PercentilesAggregationBuilder#percentilesConfig()} instead
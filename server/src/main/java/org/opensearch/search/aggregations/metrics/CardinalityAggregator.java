@@ -50,6 +50,7 @@ import org.opensearch.common.util.LongArray;
 import org.opensearch.common.util.ObjectArray;
 import org.opensearch.index.fielddata.SortedBinaryDocValues;
 import org.opensearch.index.fielddata.SortedNumericDoubleValues;
+import org.opensearch.index.fielddata.ordinals.OrdinalHashes;
 import org.opensearch.search.aggregations.Aggregator;
 import org.opensearch.search.aggregations.InternalAggregation;
 import org.opensearch.search.aggregations.LeafBucketCollector;
@@ -78,6 +79,7 @@ public class CardinalityAggregator extends NumericMetricsAggregator.SingleValue
     private int emptyCollectorsUsed;
     private int numericCollectorsUsed;
     private int ordinalsCollectorsUsed;
+    private int ordinalsCollectorsWithCachedHashes;
     private int ordinalsCollectorsOverheadTooHigh;
     private int stringHashingCollectorsUsed;
 
@@ -128,7 +130,15 @@ public class CardinalityAggregator extends NumericMetricsAggregator.SingleValue
             // only use ordinals if they don't increase memory usage by more than 25%
             if (ordinalsMemoryUsage < countsMemoryUsage / 4) {
                 ordinalsCollectorsUsed++;
-                return new OrdinalsCollector(counts, ordinalValues, context.bigArrays());
+                OrdinalHashes ordinalHashes = source.ordinalHashes(ctx);
+                if (ordinalHashes != null && ordinalHashes.size() != maxOrd) {
+                    // the reader exposes different terms than the segment the hashes were cached for
+                    ordinalHashes = null;
+                }
+                if (ordinalHashes != null) {
+                    ordinalsCollectorsWithCachedHashes++;
+                }
+                return new OrdinalsCollector(counts, ordinalValues, ordinalHashes, context.bigArrays());
             }
             ordinalsCollectorsOverheadTooHigh++;
         }
@@ -194,6 +204,7 @@ public class CardinalityAggregator extends NumericMetricsAggregator.SingleValue
         add.accept("empty_collectors_used", emptyCollectorsUsed);
         add.accept("numeric_collectors_used", numericCollectorsUsed);
         add.accept("ordinals_collectors_used", ordinalsCollectorsUsed);
+        add.accept("ordinals_collectors_with_cached_hashes", ordinalsCollectorsWithCachedHashes);
         add.accept("ordinals_collectors_overhead_too_high", ordinalsCollectorsOverheadTooHigh);
         add.accept("string_hashing_collectors_used", stringHashingCollectorsUsed);
     }
@@ -269,9 +280,15 @@ public class CardinalityAggregator extends NumericMetricsAggregator.SingleValue
         private final SortedSetDocValues values;
         private final int maxOrd;
         private final HyperLogLogPlusPlus counts;
+        @Nullable
+        private final OrdinalHashes ordinalHashes;
         private ObjectArray<BitArray> visitedOrds;
 
-        OrdinalsCollector(HyperLogLogPlusPlus counts, SortedSetDocValues values,
+        /**
+         * @param ordinalHashes the cached hashes of the ordinals of {@code values}, or {@code null} to hash the terms of the
+         *                      visited ordinals in {@link #postCollect()}
+         */
+        OrdinalsCollector(HyperLogLogPlusPlus counts, SortedSetDocValues values, @Nullable OrdinalHashes ordinalHashes,
                 BigArrays bigArrays) {
             if (values.getValueCount() > Integer.MAX_VALUE) {
                 throw new IllegalArgumentException();
@@ -280,6 +297,7 @@ public class CardinalityAggregator extends NumericMetricsAggregator.SingleValue
             this.bigArrays = bigArrays;
             this.counts = counts;
             this.values = values;
+            this.ordinalHashes = ordinalHashes;
             visitedOrds = bigArrays.newObjectArray(1);
         }
 
@@ -300,6 +318,18 @@ public class CardinalityAggregator extends NumericMetricsAggregator.SingleValue
 
         @Override
         public void postCollect() throws IOException {
+            if (ordinalHashes != null) {
+                for (long bucket = visitedOrds.size() - 1; bucket >= 0; --bucket) {
+                    final BitArray bits = visitedOrds.get(bucket);
+                    if (bits != null) {
+                        for (long ord = bits.nextSetBit(0); ord < Long.MAX_VALUE;
+                             ord = ord + 1 < maxOrd ? bits.nextSetBit(ord + 1) : Long.MAX_VALUE) {
+                            counts.collect(bucket, ordinalHashes.hash(ord));
+                        }
+                    }
+                }
+                return;
+            }
             try (BitArray allVisitedOrds = new BitArray(maxOrd, bigArrays)) {
                 for (long bucket = visitedOrds.size() - 1; bucket >= 0; --bucket) {
                     final BitArray bits = visitedOrds.get(bucket);
@@ -0,0 +1,444 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.search.aggregations.metrics;
+
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.InPlaceMergeSorter;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A DDSketch: values are counted in bins whose bounds grow exponentially, so that the value of every bin is within the
+ * relative accuracy of the values it counts. The bins are stored as sorted arrays of bin indexes and counts, which keeps
+ * the sketch compact and makes merging two sketches a linear merge of their arrays.
+ */
+public class DDSketchState {
+
+    /**
+     * Values whose magnitude is lower than this are counted in the zero bin.
+     */
+    private static final double MIN_INDEXABLE_VALUE = Double.MIN_NORMAL;
+
+    /**
+     * The lowest supported relative accuracy. Bin indexes grow with the inverse of the relative accuracy, and this bound keeps the
+     * index of any finite value within a few million so it can't overflow an int.
+     */
+    public static final double MIN_RELATIVE_ACCURACY = 1e-4;
+
+    private static final int ZERO_TAG = 0;
+    private static final int POSITIVE_TAG = 1;
+    private static final int NEGATIVE_TAG = 2;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double multiplier;
+    private final Bins positive = new Bins();
+    private final Bins negative = new Bins();
+    private long zeroCount;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public DDSketchState(double relativeAccuracy) {
+        if (relativeAccuracy < MIN_RELATIVE_ACCURACY || relativeAccuracy >= 1.0) {
+            throw new IllegalArgumentException("relative accuracy must be at least [" + MIN_RELATIVE_ACCURACY
+                + "] and lower than 1 but was [" + relativeAccuracy + "]");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = gamma(relativeAccuracy);
+        this.multiplier = multiplier(relativeAccuracy);
+    }
+
+    private static double gamma(double relativeAccuracy) {
+        return (1 + relativeAccuracy) / (1 - relativeAccuracy);
+    }
+
+    /**
+     * The factor that turns the natural logarithm of a value into the index of its bin.
+     */
+    static double multiplier(double relativeAccuracy) {
+        return 1 / Math.log(gamma(relativeAccuracy));
+    }
+
+    /**
+     * Encodes the bin of the given value into a single long, which lets collectors count the bins of many sketches in a
+     * single hash keyed by bucket and bin without creating a sketch per bucket.
+     */
+    static long binKey(double value, double multiplier) {
+        if (value >= MIN_INDEXABLE_VALUE) {
+            return ((long) index(value, multiplier) << 2) | POSITIVE_TAG;
+        } else if (value <= -MIN_INDEXABLE_VALUE) {
+            return ((long) index(-value, multiplier) << 2) | NEGATIVE_TAG;
+        }
+        return ZERO_TAG;
+    }
+
+    private static int index(double value, double multiplier) {
+        return (int) Math.ceil(Math.log(value) * multiplier);
+    }
+
+    /**
+     * The value of a bin, which is within the relative accuracy of all values in {@code (gamma^(index-1), gamma^index]}.
+     */
+    private double value(int index) {
+        return 2 * Math.pow(gamma, index) / (1 + gamma);
+    }
+
+    public double relativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    public void add(double value, long count) {
+        addBin(binKey(value, multiplier), count);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds the count of a bin encoded by {@link #binKey(double, double)}. The bounds of the counted values must be added
+     * through {@link #addBounds(double, double)}.
+     */
+    void addBin(long binKey, long count) {
+        switch ((int) (binKey & 3)) {
+            case POSITIVE_TAG:
+                positive.add((int) (binKey >> 2), count);
+                break;
+            case NEGATIVE_TAG:
+                negative.add((int) (binKey >> 2), count);
+                break;
+            default:
+                zeroCount += count;
+                break;
+        }
+        this.count += count;
+    }
+
+    void addBounds(double min, double max) {
+        this.min = Math.min(this.min, min);
+        this.max = Math.max(this.max, max);
+    }
+
+    /**
+     * Merges the bins of another sketch with the same relative accuracy into this one.
+     */
+    public void add(DDSketchState other) {
+        if (relativeAccuracy != other.relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge a sketch with relative accuracy [" + other.relativeAccuracy
+                + "] into a sketch with relative accuracy [" + relativeAccuracy + "]");
+        }
+        positive.merge(other.positive);
+        negative.merge(other.negative);
+        zeroCount += other.zeroCount;
+        count += other.count;
+        addBounds(other.min, other.max);
+    }
+
+    /**
+     * The number of values added to the sketch.
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * The number of non empty bins of the sketch.
+     */
+    public int binCount() {
+        return positive.size() + negative.size() + (zeroCount > 0 ? 1 : 0);
+    }
+
+    public long byteSize() {
+        return 64 + (long) (Integer.BYTES + Long.BYTES) * (positive.size() + negative.size());
+    }
+
+    /**
+     * Returns the value at the given quantile, or {@code NaN} if the sketch is empty.
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("q should be in [0,1], got " + q);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        // the bounds are tracked exactly
+        if (q == 0) {
+            return min;
+        } else if (q == 1) {
+            return max;
+        }
+        final double rank = q * (count - 1);
+        long n = 0;
+        // negative values in increasing order are the negative bins in decreasing order of index
+        negative.compact();
+        for (int i = negative.size - 1; i >= 0; i--) {
+            n += negative.counts[i];
+            if (n > rank) {
+                return clamp(-value(negative.indexes[i]));
+            }
+        }
+        n += zeroCount;
+        if (n > rank) {
+            return clamp(0);
+        }
+        positive.compact();
+        for (int i = 0; i < positive.size; i++) {
+            n += positive.counts[i];
+            if (n > rank) {
+                return clamp(value(positive.indexes[i]));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the fraction of values that are lower than or equal to the given value, or {@code NaN} if the sketch is empty.
+     */
+    public double cdf(double x) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (x < min) {
+            return 0;
+        }
+        if (x >= max) {
+            return 1;
+        }
+        long n = 0;
+        negative.compact();
+        for (int i = negative.size - 1; i >= 0; i--) {
+            if (-value(negative.indexes[i]) > x) {
+                return (double) n / count;
+            }
+            n += negative.counts[i];
+        }
+        if (0 > x) {
+            return (double) n / count;
+        }
+        n += zeroCount;
+        positive.compact();
+        for (int i = 0; i < positive.size; i++) {
+            if (value(positive.indexes[i]) > x) {
+                break;
+            }
+            n += positive.counts[i];
+        }
+        return (double) n / count;
+    }
+
+    private double clamp(double value) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    public static void write(DDSketchState state, StreamOutput out) throws IOException {
+        out.writeDouble(state.relativeAccuracy);
+        out.writeDouble(state.min);
+        out.writeDouble(state.max);
+        out.writeVLong(state.zeroCount);
+        state.positive.writeTo(out);
+        state.negative.writeTo(out);
+    }
+
+    public static DDSketchState read(StreamInput in) throws IOException {
+        DDSketchState state = new DDSketchState(in.readDouble());
+        state.min = in.readDouble();
+        state.max = in.readDouble();
+        state.zeroCount = in.readVLong();
+        state.count = state.zeroCount + state.positive.readFrom(in) + state.negative.readFrom(in);
+        return state;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        DDSketchState that = (DDSketchState) obj;
+        return relativeAccuracy == that.relativeAccuracy
+            && zeroCount == that.zeroCount
+            && count == that.count
+            && Double.compare(min, that.min) == 0
+            && Double.compare(max, that.max) == 0
+            && positive.equals(that.positive)
+            && negative.equals(that.negative);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = getClass().hashCode();
+        h = 31 * h + Double.hashCode(relativeAccuracy);
+        h = 31 * h + Long.hashCode(zeroCount);
+        h = 31 * h + Double.hashCode(min);
+        h = 31 * h + Double.hashCode(max);
+        h = 31 * h + positive.hashCode();
+        h = 31 * h + negative.hashCode();
+        return h;
+    }
+
+    /**
+     * The counts of the bins of one sign. Bins are appended as they are added and sorted by index, with the counts of
+     * equal indexes summed, the next time they are read.
+     */
+    private static final class Bins {
+        private static final int[] EMPTY_INDEXES = new int[0];
+        private static final long[] EMPTY_COUNTS = new long[0];
+
+        private int[] indexes = EMPTY_INDEXES;
+        private long[] counts = EMPTY_COUNTS;
+        private int size;
+        private boolean sorted = true;
+
+        int size() {
+            compact();
+            return size;
+        }
+
+        void add(int index, long count) {
+            if (size > 0 && indexes[size - 1] == index) {
+                counts[size - 1] += count;
+                return;
+            }
+            if (size == indexes.length) {
+                indexes = ArrayUtil.grow(indexes, size + 1);
+                counts = ArrayUtil.growExact(counts, indexes.length);
+            }
+            if (size > 0 && indexes[size - 1] > index) {
+                sorted = false;
+            }
+            indexes[size] = index;
+            counts[size] = count;
+            size++;
+        }
+
+        void compact() {
+            if (sorted) {
+                return;
+            }
+            new InPlaceMergeSorter() {
+                @Override
+                protected int compare(int i, int j) {
+                    return Integer.compare(indexes[i], indexes[j]);
+                }
+
+                @Override
+                protected void swap(int i, int j) {
+                    final int index = indexes[i];
+                    indexes[i] = indexes[j];
+                    indexes[j] = index;
+                    final long count = counts[i];
+                    counts[i] = counts[j];
+                    counts[j] = count;
+                }
+            }.sort(0, size);
+            int newSize = 0;
+            for (int i = 0; i < size; i++) {
+                if (newSize > 0 && indexes[newSize - 1] == indexes[i]) {
+                    counts[newSize - 1] += counts[i];
+                } else {
+                    indexes[newSize] = indexes[i];
+                    counts[newSize] = counts[i];
+                    newSize++;
+                }
+            }
+            size = newSize;
+            sorted = true;
+        }
+
+        void merge(Bins other) {
+            other.compact();
+            if (other.size == 0) {
+                return;
+            }
+            compact();
+            final int[] mergedIndexes = new int[size + other.size];
+            final long[] mergedCounts = new long[mergedIndexes.length];
+            int i = 0, j = 0, k = 0;
+            while (i < size && j < other.size) {
+                if (indexes[i] < other.indexes[j]) {
+                    mergedIndexes[k] = indexes[i];
+                    mergedCounts[k++] = counts[i++];
+                } else if (indexes[i] > other.indexes[j]) {
+                    mergedIndexes[k] = other.indexes[j];
+                    mergedCounts[k++] = other.counts[j++];
+                } else {
+                    mergedIndexes[k] = indexes[i];
+                    mergedCounts[k++] = counts[i++] + other.counts[j++];
+                }
+            }
+            while (i < size) {
+                mergedIndexes[k] = indexes[i];
+                mergedCounts[k++] = counts[i++];
+            }
+            while (j < other.size) {
+                mergedIndexes[k] = other.indexes[j];
+                mergedCounts[k++] = other.counts[j++];
+            }
+            indexes = mergedIndexes;
+            counts = mergedCounts;
+            size = k;
+        }
+
+        void writeTo(StreamOutput out) throws IOException {
+            compact();
+            out.writeVInt(size);
+            // indexes are delta encoded, only the first one may be negative
+            for (int i = 0; i < size; i++) {
+                if (i == 0) {
+                    out.writeZLong(indexes[0]);
+                } else {
+                    out.writeVInt(indexes[i] - indexes[i - 1]);
+                }
+                out.writeVLong(counts[i]);
+            }
+        }
+
+        /**
+         * Reads the bins written by {@link #writeTo(StreamOutput)} and returns their total count.
+         */
+        long readFrom(StreamInput in) throws IOException {
+            size = in.readVInt();
+            indexes = new int[size];
+            counts = new long[size];
+            long total = 0;
+            for (int i = 0; i < size; i++) {
+                indexes[i] = i == 0 ? Math.toIntExact(in.readZLong()) : indexes[i - 1] + in.readVInt();
+                counts[i] = in.readVLong();
+                total += counts[i];
+            }
+            sorted = true;
+            return total;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            Bins that = (Bins) obj;
+            compact();
+            that.compact();
+            return Arrays.equals(indexes, 0, size, that.indexes, 0, that.size)
+                && Arrays.equals(counts, 0, size, that.counts, 0, that.size);
+        }
+
+        @Override
+        public int hashCode() {
+            compact();
+            int h = 1;
+            for (int i = 0; i < size; i++) {
+                h = 31 * h + indexes[i];
+                h = 31 * h + Long.hashCode(counts[i]);
+            }
+            return h;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.search.aggregations.preaggregation;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.search.CollectionTerminatedException;
+import org.apache.lucene.util.BytesRef;
+import org.opensearch.index.cache.preaggregation.SegmentCube;
+import org.opensearch.index.fielddata.IndexOrdinalsFieldData;
+import org.opensearch.search.aggregations.AggregatorBase;
+import org.opensearch.search.aggregations.AggregatorFactories;
+import org.opensearch.search.aggregations.CardinalityUpperBound;
+import org.opensearch.search.aggregations.InternalAggregation;
+import org.opensearch.search.aggregations.LeafBucketCollector;
+import org.opensearch.search.aggregations.metrics.CompensatedSum;
+import org.opensearch.search.internal.SearchContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Computes a top level aggregation tree from the {@link SegmentCube}s of the segments of the shard. The rows of the cubes are
+ * merged before collection starts, and no document is collected.
+ */
+final class PreAggregatedAggregator extends AggregatorBase {
+
+    /**
+     * Rough size of a merged row without its metrics, accounted for on the request circuit breaker.
+     */
+    private static final long ROW_BYTES_ESTIMATE = 128;
+    private static final long METRIC_BYTES_ESTIMATE = 5 * Long.BYTES;
+
+    private final PreAggregationPlan plan;
+    private final SegmentCube[] cubes;
+    private List<PreAggregationPlan.Row> rows = Collections.emptyList();
+    private long cubeRows;
+
+    PreAggregatedAggregator(String name, PreAggregationPlan plan, SegmentCube[] cubes, SearchContext context,
+                            Map<String, Object> metadata) throws IOException {
+        super(name, AggregatorFactories.EMPTY, context, null, CardinalityUpperBound.NONE, metadata);
+        this.plan = plan;
+        this.cubes = cubes;
+    }
+
+    @Override
+    protected void doPreCollection() throws IOException {
+        final Map<Object, PreAggregationPlan.Row> rowsByKey = new HashMap<>();
+        final CompensatedSum sum = new CompensatedSum(0, 0);
+        final int numDimensions = plan.dimensions().size();
+        final int numMetrics = plan.numMetrics();
+        for (LeafReaderContext ctx : context.searcher().getIndexReader().leaves()) {
+            final SegmentCube cube = cubes[ctx.ord];
+            final SortedSetDocValues[] values = new SortedSetDocValues[numDimensions];
+            for (int d = 0; d < numDimensions; d++) {
+                final IndexOrdinalsFieldData fieldData = (IndexOrdinalsFieldData) context.getQueryShardContext()
+                    .getForField(plan.dimensions().get(d));
+                values[d] = fieldData.load(ctx).getOrdinalsValues();
+            }
+            for (int r = 0; r < cube.numRows(); r++) {
+                cubeRows++;
+                final BytesRef[] terms = new BytesRef[numDimensions];
+                for (int d = 0; d < numDimensions; d++) {
+                    final long ord = cube.ordinal(r, plan.dimensionIndex(d));
+                    terms[d] = ord < 0 ? null : values[d].lookupOrd(ord);
+                }
+                final long date = plan.usesDate() ? cube.date(r) : 0;
+                PreAggregationPlan.Row row = rowsByKey.get(PreAggregationPlan.Row.key(terms, date));
+                if (row == null) {
+                    // the terms of the doc values are only valid until the next lookup
+                    for (int d = 0; d < numDimensions; d++) {
+                        if (terms[d] != null) {
+                            terms[d] = BytesRef.deepCopyOf(terms[d]);
+                        }
+                    }
+                    row = new PreAggregationPlan.Row(terms, date, numMetrics);
+                    rowsByKey.put(PreAggregationPlan.Row.key(terms, date), row);
+                    addRequestCircuitBreakerBytes(ROW_BYTES_ESTIMATE + numMetrics * METRIC_BYTES_ESTIMATE);
+                }
+                row.docCount += cube.docCount(r);
+                for (int m = 0; m < numMetrics; m++) {
+                    final int metric = plan.metricIndex(m);
+                    sum.reset(row.sums[m], row.sumDeltas[m]);
+                    sum.add(cube.sum(r, metric));
+                    row.sums[m] = sum.value();
+                    row.sumDeltas[m] = sum.delta();
+                    row.mins[m] = Math.min(row.mins[m], cube.min(r, metric));
+                    row.maxs[m] = Math.max(row.maxs[m], cube.max(r, metric));
+                    row.valueCounts[m] += cube.valueCount(r, metric);
+                }
+            }
+        }
+        rows = new ArrayList<>(rowsByKey.values());
+    }
+
+    @Override
+    protected LeafBucketCollector getLeafCollector(LeafReaderContext ctx, LeafBucketCollector sub) throws IOException {
+        // the aggregation has been computed from the cubes
+        throw new CollectionTerminatedException();
+    }
+
+    @Override
+    public InternalAggregation[] buildAggregations(long[] owningBucketOrds) throws IOException {
+        assert owningBucketOrds.length == 1 && owningBucketOrds[0] == 0;
+        return new InternalAggregation[] { plan.build(rows) };
+    }
+
+    @Override
+    public InternalAggregation buildEmptyAggregation() {
+        return plan.build(Collections.emptyList());
+    }
+
+    @Override
+    public void collectDebugInfo(BiConsumer<String, Object> add) {
+        super.collectDebugInfo(add);
+        add.accept("segments_pre_aggregated", cubes.length);
+        add.accept("pre_aggregated_rows", cubeRows);
+        add.accept("merged_rows", rows.size());
+    }
+}
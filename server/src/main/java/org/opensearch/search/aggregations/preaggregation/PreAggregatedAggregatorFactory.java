@@ -0,0 +1,119 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.search.aggregations.preaggregation;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.opensearch.common.Nullable;
+import org.opensearch.common.breaker.CircuitBreakingException;
+import org.opensearch.index.PreAggregationConfig;
+import org.opensearch.index.cache.preaggregation.PreAggregationCache;
+import org.opensearch.index.cache.preaggregation.SegmentCube;
+import org.opensearch.index.query.QueryShardContext;
+import org.opensearch.search.aggregations.AggregationBuilder;
+import org.opensearch.search.aggregations.Aggregator;
+import org.opensearch.search.aggregations.AggregatorFactories;
+import org.opensearch.search.aggregations.AggregatorFactory;
+import org.opensearch.search.aggregations.CardinalityUpperBound;
+import org.opensearch.search.internal.SearchContext;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wraps the factory of a top level aggregation that can be computed from the pre-aggregations of the index, and computes it from
+ * them when every segment of the shard has a usable {@link SegmentCube} and the request aggregates all of its documents. The
+ * aggregation is created by the wrapped factory otherwise.
+ */
+public final class PreAggregatedAggregatorFactory extends AggregatorFactory {
+
+    private final PreAggregationPlan plan;
+    private final AggregatorFactory delegate;
+
+    private PreAggregatedAggregatorFactory(PreAggregationPlan plan, AggregatorFactory delegate, QueryShardContext queryShardContext,
+                                           Map<String, Object> metadata) throws IOException {
+        super(delegate.name(), queryShardContext, null, AggregatorFactories.builder(), metadata);
+        this.plan = plan;
+        this.delegate = delegate;
+    }
+
+    /**
+     * Wraps the factory of the given top level aggregation if it can be computed from the pre-aggregations of the index.
+     */
+    public static AggregatorFactory maybeWrap(AggregationBuilder builder, AggregatorFactory factory,
+                                              QueryShardContext queryShardContext) throws IOException {
+        final PreAggregationConfig config = queryShardContext.getIndexSettings().getPreAggregationConfig();
+        if (config.isEnabled() == false) {
+            return factory;
+        }
+        final PreAggregationPlan plan = PreAggregationPlan.build(builder, config, queryShardContext);
+        if (plan == null) {
+            return factory;
+        }
+        return new PreAggregatedAggregatorFactory(plan, factory, queryShardContext, builder.getMetadata());
+    }
+
+    @Override
+    protected Aggregator createInternal(SearchContext searchContext, Aggregator parent, CardinalityUpperBound cardinality,
+                                        Map<String, Object> metadata) throws IOException {
+        if (parent == null) {
+            final SegmentCube[] cubes = cubes(searchContext);
+            if (cubes != null) {
+                return new PreAggregatedAggregator(name, plan, cubes, searchContext, metadata);
+            }
+        }
+        return delegate.create(searchContext, parent, cardinality);
+    }
+
+    /**
+     * Returns the cubes of the segments of the shard, or {@code null} if the aggregation must be computed from the documents.
+     */
+    @Nullable
+    private SegmentCube[] cubes(SearchContext searchContext) throws IOException {
+        final PreAggregationCache cache = searchContext.preAggregationCache();
+        if (cache == null
+            || (searchContext.query() != null && searchContext.query() instanceof MatchAllDocsQuery == false)
+            || searchContext.minimumScore() != null
+            || searchContext.terminateAfter() != SearchContext.DEFAULT_TERMINATE_AFTER
+            || searchContext.getProfilers() != null) {
+            return null;
+        }
+        final List<LeafReaderContext> leaves = searchContext.searcher().getIndexReader().leaves();
+        final SegmentCube[] cubes = new SegmentCube[leaves.size()];
+        for (LeafReaderContext ctx : leaves) {
+            // the cubes include deleted documents
+            if (ctx.reader().getLiveDocs() != null) {
+                return null;
+            }
+            final SegmentCube cube;
+            try {
+                cube = cache.getOrBuild(ctx);
+            } catch (CircuitBreakingException e) {
+                // not enough memory to pre-aggregate the segment, aggregate its documents instead
+                return null;
+            }
+            if (cube == null) {
+                return null;
+            }
+            for (String field : plan.fields()) {
+                if ((ctx.reader().getFieldInfos().fieldInfo(field) != null) != cube.hasField(field)) {
+                    return null;
+                }
+            }
+            cubes[ctx.ord] = cube;
+        }
+        return cubes;
+    }
+
+    @Override
+    public String getStatsSubtype() {
+        return delegate.getStatsSubtype();
+    }
+}
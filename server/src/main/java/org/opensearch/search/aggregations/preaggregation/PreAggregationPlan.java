@@ -0,0 +1,612 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.search.aggregations.preaggregation;
+
+import org.apache.lucene.util.BytesRef;
+import org.opensearch.common.Nullable;
+import org.opensearch.common.Rounding;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.index.PreAggregationConfig;
+import org.opensearch.index.cache.preaggregation.SegmentCube;
+import org.opensearch.index.mapper.DateFieldMapper;
+import org.opensearch.index.mapper.KeywordFieldMapper;
+import org.opensearch.index.mapper.MappedFieldType;
+import org.opensearch.index.query.QueryShardContext;
+import org.opensearch.search.DocValueFormat;
+import org.opensearch.search.aggregations.AggregationBuilder;
+import org.opensearch.search.aggregations.BucketOrder;
+import org.opensearch.search.aggregations.InternalAggregation;
+import org.opensearch.search.aggregations.InternalAggregations;
+import org.opensearch.search.aggregations.InternalOrder;
+import org.opensearch.search.aggregations.bucket.BucketUtils;
+import org.opensearch.search.aggregations.bucket.histogram.DateHistogramAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.histogram.DateHistogramInterval;
+import org.opensearch.search.aggregations.bucket.histogram.InternalDateHistogram;
+import org.opensearch.search.aggregations.bucket.terms.StringTerms;
+import org.opensearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.terms.TermsAggregator;
+import org.opensearch.search.aggregations.metrics.AvgAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.CompensatedSum;
+import org.opensearch.search.aggregations.metrics.InternalAvg;
+import org.opensearch.search.aggregations.metrics.InternalMax;
+import org.opensearch.search.aggregations.metrics.InternalMin;
+import org.opensearch.search.aggregations.metrics.InternalSum;
+import org.opensearch.search.aggregations.metrics.InternalValueCount;
+import org.opensearch.search.aggregations.metrics.MaxAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.MinAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.SumAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.ValueCountAggregationBuilder;
+import org.opensearch.search.aggregations.support.ValuesSourceAggregationBuilder;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A top level aggregation tree that can be computed from the {@link SegmentCube}s of an index rather than from its documents:
+ * {@code terms} aggregations on dimensions and {@code date_histogram} aggregations on the date field, in any order, down to
+ * {@code sum}, {@code avg}, {@code min}, {@code max} and {@code value_count} aggregations on metrics. The rows of the cubes are
+ * merged into {@link Row}s keyed by the terms of the dimensions and the date that the tree uses, from which the tree builds the
+ * same shard level results as the aggregators that it replaces.
+ */
+final class PreAggregationPlan {
+
+    private final Node root;
+    private final List<MappedFieldType> dimensions;
+    private final int[] dimensionIndices;
+    private final boolean usesDate;
+    private final int[] metricIndices;
+    private final List<String> fields;
+
+    private PreAggregationPlan(Node root, List<MappedFieldType> dimensions, int[] dimensionIndices, boolean usesDate,
+                               int[] metricIndices, List<String> fields) {
+        this.root = root;
+        this.dimensions = dimensions;
+        this.dimensionIndices = dimensionIndices;
+        this.usesDate = usesDate;
+        this.metricIndices = metricIndices;
+        this.fields = fields;
+    }
+
+    /**
+     * Returns the plan of the given top level aggregation, or {@code null} if it cannot be computed from the pre-aggregations
+     * described by the given config.
+     */
+    @Nullable
+    static PreAggregationPlan build(AggregationBuilder builder, PreAggregationConfig config, QueryShardContext context) {
+        final Matcher matcher = new Matcher(config, context);
+        final Node root = matcher.match(builder);
+        if (root == null) {
+            return null;
+        }
+        final List<String> fields = new ArrayList<>();
+        final List<MappedFieldType> dimensions = new ArrayList<>();
+        final int[] dimensionIndices = new int[matcher.dimensionSlots.size()];
+        for (Map.Entry<String, Integer> slot : matcher.dimensionSlots.entrySet()) {
+            dimensions.add(context.fieldMapper(slot.getKey()));
+            dimensionIndices[slot.getValue()] = config.dimensions().indexOf(slot.getKey());
+            fields.add(slot.getKey());
+        }
+        if (matcher.usesDate) {
+            fields.add(config.dateField());
+        }
+        final int[] metricIndices = new int[matcher.metricSlots.size()];
+        for (Map.Entry<String, Integer> slot : matcher.metricSlots.entrySet()) {
+            metricIndices[slot.getValue()] = config.metrics().indexOf(slot.getKey());
+            fields.add(slot.getKey());
+        }
+        return new PreAggregationPlan(root, Collections.unmodifiableList(dimensions), dimensionIndices, matcher.usesDate,
+            metricIndices, Collections.unmodifiableList(fields));
+    }
+
+    /**
+     * The field types of the dimensions that the plan groups by, in the order of the terms of the {@link Row}s.
+     */
+    List<MappedFieldType> dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * The index of the given dimension of the plan in the {@link SegmentCube}s.
+     */
+    int dimensionIndex(int dimension) {
+        return dimensionIndices[dimension];
+    }
+
+    /**
+     * Whether the plan groups by date.
+     */
+    boolean usesDate() {
+        return usesDate;
+    }
+
+    /**
+     * The number of metrics that the plan aggregates.
+     */
+    int numMetrics() {
+        return metricIndices.length;
+    }
+
+    /**
+     * The index of the given metric of the plan in the {@link SegmentCube}s.
+     */
+    int metricIndex(int metric) {
+        return metricIndices[metric];
+    }
+
+    /**
+     * The fields that the plan reads.
+     */
+    List<String> fields() {
+        return fields;
+    }
+
+    /**
+     * Builds the shard level result of the aggregation tree from the given rows.
+     */
+    InternalAggregation build(List<Row> rows) {
+        return root.build(rows);
+    }
+
+    /**
+     * The documents of all the segments of the shard that have the same terms and date.
+     */
+    static final class Row {
+        final BytesRef[] terms;
+        final long date;
+        long docCount;
+        final double[] sums;
+        final double[] sumDeltas;
+        final double[] mins;
+        final double[] maxs;
+        final long[] valueCounts;
+
+        Row(BytesRef[] terms, long date, int numMetrics) {
+            this.terms = terms;
+            this.date = date;
+            this.sums = new double[numMetrics];
+            this.sumDeltas = new double[numMetrics];
+            this.mins = new double[numMetrics];
+            Arrays.fill(mins, Double.POSITIVE_INFINITY);
+            this.maxs = new double[numMetrics];
+            Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+            this.valueCounts = new long[numMetrics];
+        }
+
+        /**
+         * The key of the row in the map of the rows of a shard.
+         */
+        static Object key(BytesRef[] terms, long date) {
+            return new Key(terms, date);
+        }
+
+        private static final class Key {
+            private final BytesRef[] terms;
+            private final long date;
+
+            Key(BytesRef[] terms, long date) {
+                this.terms = terms;
+                this.date = date;
+            }
+
+            @Override
+            public boolean equals(Object obj) {
+                if (obj instanceof Key == false) {
+                    return false;
+                }
+                final Key other = (Key) obj;
+                return date == other.date && Arrays.equals(terms, other.terms);
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * Arrays.hashCode(terms) + Long.hashCode(date);
+            }
+        }
+    }
+
+    /**
+     * Walks an aggregation tree and assigns a slot to each dimension and metric that it uses.
+     */
+    private static final class Matcher {
+        private final PreAggregationConfig config;
+        private final QueryShardContext context;
+        private final Map<String, Integer> dimensionSlots = new LinkedHashMap<>();
+        private final Map<String, Integer> metricSlots = new LinkedHashMap<>();
+        private boolean usesDate;
+
+        Matcher(PreAggregationConfig config, QueryShardContext context) {
+            this.config = config;
+            this.context = context;
+        }
+
+        @Nullable
+        Node match(AggregationBuilder builder) {
+            if (builder instanceof TermsAggregationBuilder) {
+                return matchTerms((TermsAggregationBuilder) builder);
+            } else if (builder instanceof DateHistogramAggregationBuilder) {
+                return matchDateHistogram((DateHistogramAggregationBuilder) builder);
+            } else if (builder instanceof SumAggregationBuilder) {
+                return matchMetric((ValuesSourceAggregationBuilder<?>) builder, MetricType.SUM);
+            } else if (builder instanceof AvgAggregationBuilder) {
+                return matchMetric((ValuesSourceAggregationBuilder<?>) builder, MetricType.AVG);
+            } else if (builder instanceof MinAggregationBuilder) {
+                return matchMetric((ValuesSourceAggregationBuilder<?>) builder, MetricType.MIN);
+            } else if (builder instanceof MaxAggregationBuilder) {
+                return matchMetric((ValuesSourceAggregationBuilder<?>) builder, MetricType.MAX);
+            } else if (builder instanceof ValueCountAggregationBuilder) {
+                return matchMetric((ValuesSourceAggregationBuilder<?>) builder, MetricType.VALUE_COUNT);
+            }
+            return null;
+        }
+
+        @Nullable
+        private List<Node> matchSubAggregations(AggregationBuilder builder) {
+            final List<Node> children = new ArrayList<>();
+            for (AggregationBuilder subAggregation : builder.getSubAggregations()) {
+                final Node child = match(subAggregation);
+                if (child == null) {
+                    return null;
+                }
+                children.add(child);
+            }
+            return children;
+        }
+
+        private static boolean readsFieldAsIs(ValuesSourceAggregationBuilder<?> builder) {
+            return builder.field() != null && builder.script() == null && builder.missing() == null
+                && builder.userValueTypeHint() == null;
+        }
+
+        @Nullable
+        private Node matchTerms(TermsAggregationBuilder builder) {
+            if (readsFieldAsIs(builder) == false
+                || builder.includeExclude() != null
+                || builder.minDocCount() < 1
+                || config.dimensions().contains(builder.field()) == false
+                || isAggregationSort(builder.order())) {
+                return null;
+            }
+            final MappedFieldType fieldType = context.fieldMapper(builder.field());
+            if (fieldType instanceof KeywordFieldMapper.KeywordFieldType == false) {
+                return null;
+            }
+            final List<Node> children = matchSubAggregations(builder);
+            if (children == null) {
+                return null;
+            }
+            final TermsAggregator.BucketCountThresholds bucketCountThresholds = new TermsAggregator.BucketCountThresholds(
+                builder.minDocCount(), builder.shardMinDocCount(), builder.size(), builder.shardSize());
+            // a negative shard size means that the user has not made a selection, use the same heuristic as the terms aggregation
+            if (InternalOrder.isKeyOrder(builder.order()) == false && builder.shardSize() < 0) {
+                bucketCountThresholds.setShardSize(BucketUtils.suggestShardSideQueueSize(bucketCountThresholds.getRequiredSize()));
+            }
+            bucketCountThresholds.ensureValidity();
+            final int dimension = dimensionSlots.computeIfAbsent(builder.field(), field -> dimensionSlots.size());
+            return new TermsNode(builder.getName(), builder.getMetadata(), children, dimension, builder.order(),
+                bucketCountThresholds, fieldType.docValueFormat(builder.format(), null), builder.showTermDocCountError());
+        }
+
+        @Nullable
+        private Node matchDateHistogram(DateHistogramAggregationBuilder builder) {
+            final ZoneId timeZone = builder.timeZone();
+            if (readsFieldAsIs(builder) == false
+                || builder.field().equals(config.dateField()) == false
+                || (timeZone != null && timeZone.normalized().equals(ZoneOffset.UTC) == false)
+                || builder.offset() != 0
+                || builder.extendedBounds() != null
+                || builder.hardBounds() != null
+                || isAggregationSort(builder.order())) {
+                return null;
+            }
+            final MappedFieldType fieldType = context.fieldMapper(builder.field());
+            if (fieldType instanceof DateFieldMapper.DateFieldType == false
+                || ((DateFieldMapper.DateFieldType) fieldType).resolution() != DateFieldMapper.Resolution.MILLISECONDS) {
+                return null;
+            }
+            final Rounding.Builder roundingBuilder;
+            final long boundary;
+            if (builder.getFixedInterval() != null) {
+                final TimeValue interval = parseFixedInterval(builder.getFixedInterval());
+                if (interval == null) {
+                    return null;
+                }
+                roundingBuilder = Rounding.builder(interval);
+                boundary = interval.millis();
+            } else if (builder.getCalendarInterval() != null) {
+                final Rounding.DateTimeUnit unit = DateHistogramAggregationBuilder.DATE_FIELD_UNITS.get(
+                    builder.getCalendarInterval().toString());
+                if (unit == null) {
+                    return null;
+                }
+                roundingBuilder = Rounding.builder(unit);
+                boundary = calendarBoundary(unit);
+            } else {
+                // the deprecated interval could be either a calendar or a fixed interval
+                return null;
+            }
+            // the buckets must start on multiples of the interval of the cubes for the rounded dates of the cubes to round like the
+            // dates of the documents
+            if (boundary <= 0 || boundary % config.dateInterval() != 0) {
+                return null;
+            }
+            final List<Node> children = matchSubAggregations(builder);
+            if (children == null) {
+                return null;
+            }
+            if (timeZone != null) {
+                roundingBuilder.timeZone(timeZone);
+            }
+            roundingBuilder.offset(builder.offset());
+            usesDate = true;
+            return new DateHistogramNode(builder.getName(), builder.getMetadata(), children, roundingBuilder.build(),
+                builder.order(), builder.keyed(), builder.minDocCount(), fieldType.docValueFormat(builder.format(), timeZone));
+        }
+
+        @Nullable
+        private Node matchMetric(ValuesSourceAggregationBuilder<?> builder, MetricType type) {
+            if (readsFieldAsIs(builder) == false || config.metrics().contains(builder.field()) == false) {
+                return null;
+            }
+            final MappedFieldType fieldType = context.fieldMapper(builder.field());
+            if (fieldType == null) {
+                return null;
+            }
+            final int metric = metricSlots.computeIfAbsent(builder.field(), field -> metricSlots.size());
+            final DocValueFormat format = type == MetricType.VALUE_COUNT ? DocValueFormat.RAW
+                : fieldType.docValueFormat(builder.format(), null);
+            return new MetricNode(builder.getName(), builder.getMetadata(), type, metric, format);
+        }
+
+        @Nullable
+        private static TimeValue parseFixedInterval(DateHistogramInterval interval) {
+            try {
+                return TimeValue.parseTimeValue(interval.toString(), null, "fixed_interval");
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        /**
+         * The greatest interval, in milliseconds, that the buckets of the given calendar unit start on multiples of in UTC.
+         */
+        private static long calendarBoundary(Rounding.DateTimeUnit unit) {
+            switch (unit) {
+                case SECOND_OF_MINUTE:
+                    return TimeUnit.SECONDS.toMillis(1);
+                case MINUTES_OF_HOUR:
+                    return TimeUnit.MINUTES.toMillis(1);
+                case HOUR_OF_DAY:
+                    return TimeUnit.HOURS.toMillis(1);
+                default:
+                    // days, weeks, months, quarters and years all start at midnight
+                    return TimeUnit.DAYS.toMillis(1);
+            }
+        }
+
+        private static boolean isAggregationSort(BucketOrder order) {
+            if (order instanceof InternalOrder.Aggregation) {
+                return true;
+            } else if (order instanceof InternalOrder.CompoundOrder) {
+                return ((InternalOrder.CompoundOrder) order).orderElements().stream().anyMatch(Matcher::isAggregationSort);
+            }
+            return false;
+        }
+    }
+
+    private abstract static class Node {
+        final String name;
+        final Map<String, Object> metadata;
+
+        Node(String name, Map<String, Object> metadata) {
+            this.name = name;
+            this.metadata = metadata;
+        }
+
+        abstract InternalAggregation build(List<Row> rows);
+    }
+
+    private abstract static class BucketNode extends Node {
+        final List<Node> children;
+
+        BucketNode(String name, Map<String, Object> metadata, List<Node> children) {
+            super(name, metadata);
+            this.children = children;
+        }
+
+        final InternalAggregations buildChildren(List<Row> rows) {
+            final List<InternalAggregation> aggregations = new ArrayList<>(children.size());
+            for (Node child : children) {
+                aggregations.add(child.build(rows));
+            }
+            return InternalAggregations.from(aggregations);
+        }
+
+        static long docCount(List<Row> rows) {
+            long docCount = 0;
+            for (Row row : rows) {
+                docCount += row.docCount;
+            }
+            return docCount;
+        }
+    }
+
+    private static final class TermsNode extends BucketNode {
+        private final int dimension;
+        private final BucketOrder order;
+        private final TermsAggregator.BucketCountThresholds bucketCountThresholds;
+        private final DocValueFormat format;
+        private final boolean showTermDocCountError;
+
+        TermsNode(String name, Map<String, Object> metadata, List<Node> children, int dimension, BucketOrder order,
+                  TermsAggregator.BucketCountThresholds bucketCountThresholds, DocValueFormat format, boolean showTermDocCountError) {
+            super(name, metadata, children);
+            this.dimension = dimension;
+            this.order = order;
+            this.bucketCountThresholds = bucketCountThresholds;
+            this.format = format;
+            this.showTermDocCountError = showTermDocCountError;
+        }
+
+        @Override
+        InternalAggregation build(List<Row> rows) {
+            final Map<BytesRef, List<Row>> rowsByTerm = new HashMap<>();
+            for (Row row : rows) {
+                final BytesRef term = row.terms[dimension];
+                if (term != null) {
+                    rowsByTerm.computeIfAbsent(term, t -> new ArrayList<>()).add(row);
+                }
+            }
+            long otherDocCount = 0;
+            final List<Candidate> candidates = new ArrayList<>();
+            for (Map.Entry<BytesRef, List<Row>> entry : rowsByTerm.entrySet()) {
+                final long docCount = docCount(entry.getValue());
+                otherDocCount += docCount;
+                if (docCount >= bucketCountThresholds.getShardMinDocCount()) {
+                    candidates.add(new Candidate(entry.getKey(), entry.getValue(), new StringTerms.Bucket(entry.getKey(), docCount,
+                        InternalAggregations.EMPTY, showTermDocCountError, 0, format)));
+                }
+            }
+            candidates.sort(Comparator.comparing(candidate -> candidate.bucket, order.comparator()));
+            final int size = Math.min(candidates.size(), bucketCountThresholds.getShardSize());
+            final List<StringTerms.Bucket> buckets = new ArrayList<>(size);
+            for (Candidate candidate : candidates.subList(0, size)) {
+                final long docCount = candidate.bucket.getDocCount();
+                otherDocCount -= docCount;
+                buckets.add(new StringTerms.Bucket(candidate.term, docCount, buildChildren(candidate.rows), showTermDocCountError, 0,
+                    format));
+            }
+            final BucketOrder reduceOrder;
+            if (InternalOrder.isKeyOrder(order) == false) {
+                reduceOrder = BucketOrder.key(true);
+                buckets.sort(reduceOrder.comparator());
+            } else {
+                reduceOrder = order;
+            }
+            return new StringTerms(name, reduceOrder, order, bucketCountThresholds.getRequiredSize(),
+                bucketCountThresholds.getMinDocCount(), metadata, format, bucketCountThresholds.getShardSize(), showTermDocCountError,
+                otherDocCount, buckets, 0);
+        }
+
+        /**
+         * A term that may be one of the top terms of the shard.
+         */
+        private static final class Candidate {
+            final BytesRef term;
+            final List<Row> rows;
+            final StringTerms.Bucket bucket;
+
+            Candidate(BytesRef term, List<Row> rows, StringTerms.Bucket bucket) {
+                this.term = term;
+                this.rows = rows;
+                this.bucket = bucket;
+            }
+        }
+    }
+
+    private static final class DateHistogramNode extends BucketNode {
+        private final Rounding rounding;
+        private final Rounding.Prepared preparedRounding;
+        private final BucketOrder order;
+        private final boolean keyed;
+        private final long minDocCount;
+        private final DocValueFormat format;
+
+        DateHistogramNode(String name, Map<String, Object> metadata, List<Node> children, Rounding rounding, BucketOrder order,
+                          boolean keyed, long minDocCount, DocValueFormat format) {
+            super(name, metadata, children);
+            this.rounding = rounding;
+            this.preparedRounding = rounding.prepareForUnknown();
+            this.order = order;
+            this.keyed = keyed;
+            this.minDocCount = minDocCount;
+            this.format = format;
+        }
+
+        @Override
+        InternalAggregation build(List<Row> rows) {
+            final TreeMap<Long, List<Row>> rowsByKey = new TreeMap<>();
+            for (Row row : rows) {
+                if (row.date != SegmentCube.MISSING_DATE) {
+                    rowsByKey.computeIfAbsent(preparedRounding.round(row.date), k -> new ArrayList<>()).add(row);
+                }
+            }
+            // the contract of the histogram aggregation is that shards must return buckets ordered by key in ascending order
+            final List<InternalDateHistogram.Bucket> buckets = new ArrayList<>(rowsByKey.size());
+            for (Map.Entry<Long, List<Row>> entry : rowsByKey.entrySet()) {
+                buckets.add(new InternalDateHistogram.Bucket(entry.getKey(), docCount(entry.getValue()), keyed, format,
+                    buildChildren(entry.getValue())));
+            }
+            final InternalDateHistogram.EmptyBucketInfo emptyBucketInfo = minDocCount == 0
+                ? new InternalDateHistogram.EmptyBucketInfo(rounding.withoutOffset(), buildChildren(Collections.emptyList()), null)
+                : null;
+            return new InternalDateHistogram(name, buckets, order, minDocCount, rounding.offset(), emptyBucketInfo, format, keyed,
+                metadata);
+        }
+    }
+
+    private enum MetricType {
+        SUM,
+        AVG,
+        MIN,
+        MAX,
+        VALUE_COUNT
+    }
+
+    private static final class MetricNode extends Node {
+        private final MetricType type;
+        private final int metric;
+        private final DocValueFormat format;
+
+        MetricNode(String name, Map<String, Object> metadata, MetricType type, int metric, DocValueFormat format) {
+            super(name, metadata);
+            this.type = type;
+            this.metric = metric;
+            this.format = Objects.requireNonNull(format);
+        }
+
+        @Override
+        InternalAggregation build(List<Row> rows) {
+            final CompensatedSum sum = new CompensatedSum(0, 0);
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            long valueCount = 0;
+            for (Row row : rows) {
+                sum.add(row.sums[metric], row.sumDeltas[metric]);
+                min = Math.min(min, row.mins[metric]);
+                max = Math.max(max, row.maxs[metric]);
+                valueCount += row.valueCounts[metric];
+            }
+            switch (type) {
+                case SUM:
+                    return new InternalSum(name, sum.value(), format, metadata);
+                case AVG:
+                    return new InternalAvg(name, sum.value(), valueCount, format, metadata);
+                case MIN:
+                    return new InternalMin(name, min, format, metadata);
+                case MAX:
+                    return new InternalMax(name, max, format, metadata);
+                case VALUE_COUNT:
+                    return new InternalValueCount(name, valueCount, metadata);
+                default:
+                    throw new IllegalStateException("unknown metric type [" + type + "]");
+            }
+        }
+    }
+}
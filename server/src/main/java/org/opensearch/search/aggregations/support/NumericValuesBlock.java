@@ -0,0 +1,128 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.search.aggregations.support;
+
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.SortedNumericDocValues;
+import org.apache.lucene.util.ArrayUtil;
+import org.opensearch.index.fielddata.FieldData;
+import org.opensearch.index.fielddata.NumericDoubleValues;
+import org.opensearch.index.fielddata.SortedNumericDoubleValues;
+
+import java.io.IOException;
+
+/**
+ * Decodes the numeric values of a block of documents into primitive arrays, so that aggregators collecting blocks of documents
+ * through {@link org.opensearch.search.aggregations.LeafBucketCollector#collect(int[], int, long)} can process them in tight
+ * loops. The values of the {@code i}-th document of the block are at the indices {@code [start(i), end(i))} of the arrays, in the
+ * order of the doc values. Instances are meant to be reused from one block to the next, hence are not thread-safe.
+ */
+public final class NumericValuesBlock {
+
+    private int[] offsets = new int[1];
+    private int count;
+    private double[] doubles = new double[0];
+    private long[] longs = new long[0];
+
+    /**
+     * Reads the values of the first {@code count} documents of {@code docs} as doubles into {@link #doubleValues()}.
+     */
+    public void readDoubles(SortedNumericDoubleValues values, int[] docs, int count) throws IOException {
+        offsets = ArrayUtil.grow(offsets, count + 1);
+        this.count = count;
+        int size = 0;
+        final NumericDoubleValues singleton = FieldData.unwrapSingleton(values);
+        if (singleton != null) {
+            doubles = ArrayUtil.grow(doubles, count);
+            for (int i = 0; i < count; i++) {
+                if (singleton.advanceExact(docs[i])) {
+                    doubles[size++] = singleton.doubleValue();
+                }
+                offsets[i + 1] = size;
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                if (values.advanceExact(docs[i])) {
+                    final int valueCount = values.docValueCount();
+                    doubles = ArrayUtil.grow(doubles, size + valueCount);
+                    for (int j = 0; j < valueCount; j++) {
+                        doubles[size++] = values.nextValue();
+                    }
+                }
+                offsets[i + 1] = size;
+            }
+        }
+    }
+
+    /**
+     * Reads the values of the first {@code count} documents of {@code docs} as longs into {@link #longValues()}.
+     */
+    public void readLongs(SortedNumericDocValues values, int[] docs, int count) throws IOException {
+        offsets = ArrayUtil.grow(offsets, count + 1);
+        this.count = count;
+        int size = 0;
+        final NumericDocValues singleton = DocValues.unwrapSingleton(values);
+        if (singleton != null) {
+            longs = ArrayUtil.grow(longs, count);
+            for (int i = 0; i < count; i++) {
+                if (singleton.advanceExact(docs[i])) {
+                    longs[size++] = singleton.longValue();
+                }
+                offsets[i + 1] = size;
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                if (values.advanceExact(docs[i])) {
+                    final int valueCount = values.docValueCount();
+                    longs = ArrayUtil.grow(longs, size + valueCount);
+                    for (int j = 0; j < valueCount; j++) {
+                        longs[size++] = values.nextValue();
+                    }
+                }
+                offsets[i + 1] = size;
+            }
+        }
+    }
+
+    /**
+     * The index of the first value of the {@code i}-th document of the block.
+     */
+    public int start(int i) {
+        return offsets[i];
+    }
+
+    /**
+     * The index after the last value of the {@code i}-th document of the block.
+     */
+    public int end(int i) {
+        return offsets[i + 1];
+    }
+
+    /**
+     * The total number of values of the documents of the block.
+     */
+    public int size() {
+        return offsets[count];
+    }
+
+    /**
+     * The values read by the last call to {@link #readDoubles}.
+     */
+    public double[] doubleValues() {
+        return doubles;
+    }
+
+    /**
+     * The values read by the last call to {@link #readLongs}.
+     */
+    public long[] longValues() {
+        return longs;
+    }
+}
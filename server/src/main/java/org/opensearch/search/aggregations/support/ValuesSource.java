@@ -57,6 +57,7 @@ import org.opensearch.index.fielddata.SortedBinaryDocValues;
 import org.opensearch.index.fielddata.SortedNumericDoubleValues;
 import org.opensearch.index.fielddata.SortingBinaryDocValues;
 import org.opensearch.index.fielddata.SortingNumericDoubleValues;
+import org.opensearch.index.fielddata.ordinals.OrdinalHashes;
 import org.opensearch.index.mapper.RangeType;
 import org.opensearch.script.AggregationScript;
 import org.opensearch.search.aggregations.AggregationExecutionException;
@@ -195,6 +196,14 @@ public abstract class ValuesSource {
             public abstract LongUnaryOperator globalOrdinalsMapping(LeafReaderContext context)
                     throws IOException;
 
+            /**
+             * Returns the cached hashes of the terms of the segment ordinals of {@link #ordinalsValues}, or {@code null} if they
+             * are not cached.
+             */
+            public OrdinalHashes ordinalHashes(LeafReaderContext context) {
+                return null;
+            }
+
             public long globalMaxOrd(IndexSearcher indexSearcher) throws IOException {
                 IndexReader indexReader = indexSearcher.getIndexReader();
                 if (indexReader.leaves().isEmpty()) {
@@ -238,6 +247,11 @@ public abstract class ValuesSource {
                     return indexFieldData.supportsGlobalOrdinalsMapping();
                 }
 
+                @Override
+                public OrdinalHashes ordinalHashes(LeafReaderContext context) {
+                    return indexFieldData.loadOrdinalHashes(context);
+                }
+
                 @Override
                 public LongUnaryOperator globalOrdinalsMapping(LeafReaderContext context) throws IOException {
                     final IndexOrdinalsFieldData global = indexFieldData.loadGlobal((DirectoryReader)context.parent.reader());
@@ -62,6 +62,9 @@ import org.apache.lucene.util.BitSetIterator;
 import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.CombinedBitSet;
 import org.apache.lucene.util.SparseFixedBitSet;
+import org.apache.lucene.util.ThreadInterruptedException;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.common.Nullable;
 import org.opensearch.common.lease.Releasable;
 import org.opensearch.common.lucene.search.TopDocsAndMaxScore;
 import org.opensearch.search.DocValueFormat;
@@ -76,10 +79,15 @@ import org.opensearch.search.query.QuerySearchResult;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Context-aware extension of {@link IndexSearcher}.
@@ -94,22 +102,35 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
     private AggregatedDfs aggregatedDfs;
     private QueryProfiler profiler;
     private MutableQueryTimeout cancellable;
+    private final Executor executor;
 
     public ContextIndexSearcher(IndexReader reader, Similarity similarity,
                                 QueryCache queryCache, QueryCachingPolicy queryCachingPolicy,
                                 boolean wrapWithExitableDirectoryReader) throws IOException {
-        this(reader, similarity, queryCache, queryCachingPolicy, new MutableQueryTimeout(), wrapWithExitableDirectoryReader);
+        this(reader, similarity, queryCache, queryCachingPolicy, wrapWithExitableDirectoryReader, null);
+    }
+
+    /**
+     * Creates a searcher that searches groups of leaves ("slices") concurrently on the given {@link Executor} whenever
+     * it is driven by a {@link CollectorManager}. A <code>null</code> executor searches all leaves on the calling thread.
+     */
+    public ContextIndexSearcher(IndexReader reader, Similarity similarity,
+                                QueryCache queryCache, QueryCachingPolicy queryCachingPolicy,
+                                boolean wrapWithExitableDirectoryReader, @Nullable Executor executor) throws IOException {
+        this(reader, similarity, queryCache, queryCachingPolicy, new MutableQueryTimeout(), wrapWithExitableDirectoryReader, executor);
     }
 
     private ContextIndexSearcher(IndexReader reader, Similarity similarity,
                                  QueryCache queryCache, QueryCachingPolicy queryCachingPolicy,
                                  MutableQueryTimeout cancellable,
-                                 boolean wrapWithExitableDirectoryReader) throws IOException {
-        super(wrapWithExitableDirectoryReader ? new ExitableDirectoryReader((DirectoryReader) reader, cancellable) : reader);
+                                 boolean wrapWithExitableDirectoryReader,
+                                 @Nullable Executor executor) throws IOException {
+        super(wrapWithExitableDirectoryReader ? new ExitableDirectoryReader((DirectoryReader) reader, cancellable) : reader, executor);
         setSimilarity(similarity);
         setQueryCache(queryCache);
         setQueryCachingPolicy(queryCachingPolicy);
         this.cancellable = cancellable;
+        this.executor = executor;
     }
 
     public void setProfiler(QueryProfiler profiler) {
@@ -145,6 +166,29 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
         return this.cancellable.isEnabled();
     }
 
+    /**
+     * Throws if the query was cancelled or timed out, for callers that visit documents without going through
+     * {@link #search(List, Weight, Collector)}.
+     */
+    public void checkCancelled() {
+        this.cancellable.checkCancelled();
+    }
+
+    /**
+     * Returns the {@link BulkScorer} of {@code weight} on the given leaf, which checks for query cancellation or timeout while
+     * scoring like the bulk scorers used by {@link #search(List, Weight, Collector)}, or {@code null} if no document matches.
+     */
+    public BulkScorer cancellableBulkScorer(Weight weight, LeafReaderContext ctx) throws IOException {
+        return wrapWeight(weight).bulkScorer(ctx);
+    }
+
+    /**
+     * Returns <code>true</code> if this searcher searches slices of leaves concurrently when driven by a {@link CollectorManager}.
+     */
+    public boolean isConcurrentSearchEnabled() {
+        return executor != null;
+    }
+
     public void setAggregatedDfs(AggregatedDfs aggregatedDfs) {
         this.aggregatedDfs = aggregatedDfs;
     }
@@ -188,11 +232,21 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
 
     public void search(List<LeafReaderContext> leaves, Weight weight, CollectorManager manager,
             QuerySearchResult result, DocValueFormat[] formats, TotalHits totalHits) throws IOException {
-        final List<Collector> collectors = new ArrayList<>(leaves.size());
-        for (LeafReaderContext ctx : leaves) {
-            final Collector collector = manager.newCollector();
-            searchLeaf(ctx, weight, collector);
-            collectors.add(collector);
+        final List<Collector> collectors;
+        if (executor != null && leaves.size() > 1) {
+            final LeafSlice[] slices = slices(leaves);
+            collectors = new ArrayList<>(slices.length);
+            for (int i = 0; i < slices.length; i++) {
+                collectors.add(manager.newCollector());
+            }
+            searchSlices(slices, weight, collectors);
+        } else {
+            collectors = new ArrayList<>(leaves.size());
+            for (LeafReaderContext ctx : leaves) {
+                final Collector collector = manager.newCollector();
+                searchLeaf(ctx, weight, collector);
+                collectors.add(collector);
+            }
         }
         TopFieldDocs mergedTopDocs = (TopFieldDocs) manager.reduce(collectors);
         // Lucene sets shards indexes during merging of topDocs from different collectors
@@ -206,6 +260,82 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
         result.topDocs(new TopDocsAndMaxScore(mergedTopDocs, Float.NaN), formats);
     }
 
+    /**
+     * Searches the leaves of the reader with one collector of the provided <code>manager</code> per slice and returns the
+     * reduced result of the collectors. The slices are searched concurrently when this searcher has an executor, otherwise
+     * all leaves are searched with a single collector on the calling thread. The collectors are all created on the calling
+     * thread before any slice is searched.
+     */
+    public <C extends Collector, T> T searchConcurrently(Query query, CollectorManager<C, T> manager) throws IOException {
+        final List<LeafReaderContext> leaves = getIndexReader().leaves();
+        if (executor == null || leaves.size() <= 1) {
+            final C collector = manager.newCollector();
+            final Weight weight = createWeight(rewrite(query), collector.scoreMode(), 1f);
+            search(leaves, weight, collector);
+            return manager.reduce(Collections.singletonList(collector));
+        }
+        final LeafSlice[] slices = slices(leaves);
+        final List<C> collectors = new ArrayList<>(slices.length);
+        for (int i = 0; i < slices.length; i++) {
+            collectors.add(manager.newCollector());
+        }
+        final Weight weight = createWeight(rewrite(query), collectors.get(0).scoreMode(), 1f);
+        searchSlices(slices, weight, collectors);
+        return manager.reduce(collectors);
+    }
+
+    /**
+     * Searches each slice with its own collector, the collector at the same index. All slices but the last one are
+     * submitted to the executor, the last slice is searched on the calling thread so that it does useful work while
+     * waiting for the others. Slices that the executor rejects are searched on the calling thread too.
+     */
+    private void searchSlices(LeafSlice[] slices, Weight weight, List<? extends Collector> collectors) throws IOException {
+        assert slices.length == collectors.size();
+        final List<FutureTask<Void>> tasks = new ArrayList<>(slices.length);
+        for (int i = 0; i < slices.length; i++) {
+            final LeafSlice slice = slices[i];
+            final Collector collector = collectors.get(i);
+            tasks.add(new FutureTask<>(() -> {
+                for (LeafReaderContext ctx : slice.leaves) {
+                    searchLeaf(ctx, weight, collector);
+                }
+                return null;
+            }));
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            final FutureTask<Void> task = tasks.get(i);
+            if (i == tasks.size() - 1) {
+                task.run();
+            } else {
+                try {
+                    executor.execute(task);
+                } catch (RejectedExecutionException e) {
+                    task.run();
+                }
+            }
+        }
+        // wait for all slices, even on failure, so that no slice is still reading from the reader once we return
+        Throwable failure = null;
+        for (FutureTask<Void> task : tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ThreadInterruptedException(e);
+            } catch (ExecutionException e) {
+                failure = ExceptionsHelper.useOrSuppress(failure, e.getCause());
+            }
+        }
+        if (failure != null) {
+            if (failure instanceof IOException) {
+                throw (IOException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            ExceptionsHelper.reThrowIfNotNull(failure);
+        }
+    }
+
     @Override
     protected void search(List<LeafReaderContext> leaves, Weight weight, Collector collector) throws IOException {
         for (LeafReaderContext ctx : leaves) { // search each subreader
@@ -43,6 +43,7 @@ import org.opensearch.common.lease.Releasables;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.BigArrays;
 import org.opensearch.index.cache.bitset.BitsetFilterCache;
+import org.opensearch.index.cache.preaggregation.PreAggregationCache;
 import org.opensearch.index.mapper.MappedFieldType;
 import org.opensearch.index.mapper.MapperService;
 import org.opensearch.index.mapper.ObjectMapper;
@@ -242,6 +243,12 @@ public abstract class SearchContext implements Releasable {
 
     public abstract BitsetFilterCache bitsetFilterCache();
 
+    /**
+     * The pre-aggregations of the segments of the index, or {@code null} if they are not pre-aggregated.
+     */
+    @Nullable
+    public abstract PreAggregationCache preAggregationCache();
+
     public abstract TimeValue timeout();
 
     public abstract void timeout(TimeValue timeout);
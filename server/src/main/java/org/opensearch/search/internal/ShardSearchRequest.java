@@ -33,6 +33,7 @@
 package org.opensearch.search.internal;
 
 import org.opensearch.LegacyESVersion;
+import org.opensearch.Version;
 import org.opensearch.action.IndicesRequest;
 import org.opensearch.action.OriginalIndices;
 import org.opensearch.action.search.SearchRequest;
@@ -95,6 +96,7 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
     private final String preference;
     private final OriginalIndices originalIndices;
 
+    private Boolean concurrentSegmentSearch;
     private boolean canReturnNullResponseIfMatchNoDocs;
     private SearchSortValuesAndFormats bottomSortValues;
 
@@ -145,6 +147,7 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
             clusterAlias,
             readerId,
             keepAlive);
+        this.concurrentSegmentSearch = searchRequest.concurrentSegmentSearch();
         // If allowPartialSearchResults is unset (ie null), the cluster-level default should have been substituted
         // at this stage. Any NPEs in the above are therefore an error in request preparation logic.
         assert searchRequest.allowPartialSearchResults() != null;
@@ -236,6 +239,9 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
             this.readerId = null;
             this.keepAlive = null;
         }
+        if (in.getVersion().onOrAfter(Version.V_1_0_0)) {
+            concurrentSegmentSearch = in.readOptionalBoolean();
+        }
         originalIndices = OriginalIndices.readOriginalIndices(in);
         assert keepAlive == null || readerId != null : "readerId: " + readerId + " keepAlive: " + keepAlive;
     }
@@ -251,6 +257,7 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
         this.indexBoost = clone.indexBoost;
         this.nowInMillis = clone.nowInMillis;
         this.requestCache = clone.requestCache;
+        this.concurrentSegmentSearch = clone.concurrentSegmentSearch;
         this.clusterAlias = clone.clusterAlias;
         this.allowPartialSearchResults = clone.allowPartialSearchResults;
         this.indexRoutings = clone.indexRoutings;
@@ -304,6 +311,10 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
             out.writeOptionalWriteable(readerId);
             out.writeOptionalTimeValue(keepAlive);
         }
+        // the results do not depend on how the segments are searched, so the flag is not part of the cache key
+        if (out.getVersion().onOrAfter(Version.V_1_0_0) && asKey == false) {
+            out.writeOptionalBoolean(concurrentSegmentSearch);
+        }
     }
 
     @Override
@@ -366,6 +377,14 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
         return requestCache;
     }
 
+    /**
+     * Returns whether the segments of the shard should be searched concurrently, or {@code null} to
+     * use the index level setting.
+     */
+    public Boolean concurrentSegmentSearch() {
+        return concurrentSegmentSearch;
+    }
+
     public boolean allowPartialSearchResults() {
         return allowPartialSearchResults;
     }
@@ -48,6 +48,7 @@ import org.apache.lucene.search.ConstantScoreQuery;
 import org.apache.lucene.search.DocValuesFieldExistsQuery;
 import org.apache.lucene.search.FieldDoc;
 import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.MultiCollector;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.ScoreMode;
@@ -56,6 +57,7 @@ import org.apache.lucene.search.SortField;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.TopFieldCollector;
 import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.search.TotalHitCountCollector;
 import org.apache.lucene.search.TotalHits;
 import org.apache.lucene.search.Weight;
 import org.apache.lucene.util.FutureArrays;
@@ -71,7 +73,9 @@ import org.opensearch.index.mapper.MappedFieldType;
 import org.opensearch.search.DocValueFormat;
 import org.opensearch.search.SearchContextSourcePrinter;
 import org.opensearch.search.SearchService;
+import org.opensearch.search.aggregations.AggregationCollectorManager;
 import org.opensearch.search.aggregations.AggregationPhase;
+import org.opensearch.search.aggregations.InternalAggregations;
 import org.opensearch.search.internal.ContextIndexSearcher;
 import org.opensearch.search.internal.ScrollContext;
 import org.opensearch.search.internal.SearchContext;
@@ -87,10 +91,13 @@ import org.opensearch.threadpool.ThreadPool;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 
 import static org.opensearch.search.query.QueryCollectorContext.createEarlyTerminationCollectorContext;
@@ -305,6 +312,8 @@ public class QueryPhase {
                 // if we are optimizing sort and there are no other collectors
                 if (sortAndFormatsForRewrittenNumericSort!=null && collectors.size()==0 && searchContext.getProfilers()==null) {
                     shouldRescore = searchWithCollectorManager(searchContext, searcher, query, leafSorter, timeoutSet);
+                } else if (canSearchConcurrently(searchContext, searcher)) {
+                    shouldRescore = searchConcurrently(searchContext, searcher, query, timeoutSet);
                 } else {
                     shouldRescore = searchWithCollector(searchContext, searcher, query, collectors, hasFilterCollector, timeoutSet);
                 }
@@ -372,6 +381,174 @@ public class QueryPhase {
     }
 
 
+    /*
+     * Concurrent segment search is supported for requests that are sorted by field or that return no hits, and
+     * that need no other collector than the top docs collector and the collector of the aggregations.
+     */
+    private static boolean canSearchConcurrently(SearchContext searchContext, ContextIndexSearcher searcher) {
+        if (searcher.isConcurrentSearchEnabled() == false
+            || searchContext.getProfilers() != null
+            || searchContext.scrollContext() != null
+            || searchContext.collapse() != null
+            || searchContext.searchAfter() != null
+            || searchContext.trackScores()
+            || searchContext.terminateAfter() != SearchContext.DEFAULT_TERMINATE_AFTER
+            || searchContext.parsedPostFilter() != null
+            || searchContext.minimumScore() != null) {
+            return false;
+        }
+        if ((searchContext.from() + searchContext.size()) > 0 && searchContext.sort() == null) {
+            // top docs by score are not merged across slices yet
+            return false;
+        }
+        if (searchContext.aggregations() == null) {
+            return searchContext.queryCollectors().isEmpty();
+        }
+        return searchContext.queryCollectors().size() == 1 && AggregationCollectorManager.canCollectConcurrently(searchContext);
+    }
+
+    /*
+     * Searches the slices of the shard concurrently with a top docs collector and a set of aggregators per slice.
+     * The top docs and the aggregations of the slices are reduced into the query result, so that the aggregation
+     * phase does not build the aggregations again.
+     */
+    private static boolean searchConcurrently(SearchContext searchContext, ContextIndexSearcher searcher, Query query,
+            boolean timeoutSet) throws IOException {
+        final IndexReader reader = searcher.getIndexReader();
+        final QuerySearchResult queryResult = searchContext.queryResult();
+        final SortAndFormats sortAndFormats = searchContext.sort();
+        final int numHits = searchContext.from() + searchContext.size();
+
+        int totalHitsThreshold;
+        TotalHits totalHits;
+        if (searchContext.trackTotalHitsUpTo() == SearchContext.TRACK_TOTAL_HITS_DISABLED) {
+            totalHitsThreshold = 1;
+            totalHits = new TotalHits(0, TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO);
+        } else {
+            int hitCount = shortcutTotalHitCount(reader, query);
+            if (hitCount == -1) {
+                totalHitsThreshold = searchContext.trackTotalHitsUpTo();
+                totalHits = null; // will be computed via the collectors
+            } else {
+                totalHitsThreshold = 1;
+                totalHits = new TotalHits(hitCount, TotalHits.Relation.EQUAL_TO); // don't compute hit counts via the collectors
+            }
+        }
+
+        final List<CollectorManager<?, ?>> managers = new ArrayList<>(2);
+        if (numHits > 0) {
+            managers.add(TopFieldCollector.createSharedManager(sortAndFormats.sort, Math.min(numHits, Math.max(1, reader.numDocs())),
+                null, totalHitsThreshold));
+        } else if (totalHits == null) {
+            managers.add(new CollectorManager<TotalHitCountCollector, Integer>() {
+                @Override
+                public TotalHitCountCollector newCollector() {
+                    return new TotalHitCountCollector();
+                }
+
+                @Override
+                public Integer reduce(Collection<TotalHitCountCollector> collectors) {
+                    int count = 0;
+                    for (TotalHitCountCollector collector : collectors) {
+                        count += collector.getTotalHits();
+                    }
+                    return count;
+                }
+            });
+        }
+        if (searchContext.aggregations() != null) {
+            managers.add(new AggregationCollectorManager(searchContext));
+        }
+
+        Object[] results = new Object[managers.size()];
+        if (managers.isEmpty() == false) {
+            try {
+                results = searcher.searchConcurrently(query, new SliceCollectorManager(managers));
+            } catch (TimeExceededException e) {
+                assert timeoutSet : "TimeExceededException thrown even though timeout wasn't set";
+                if (searchContext.request().allowPartialSearchResults() == false) {
+                    // Can't rethrow TimeExceededException because not serializable
+                    throw new QueryPhaseExecutionException(searchContext.shardTarget(), "Time exceeded");
+                }
+                queryResult.searchTimedOut(true);
+                // the slices are not reduced, return no hits and let the aggregation phase build what the first slice collected
+                final TotalHits noHits = new TotalHits(0, TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO);
+                queryResult.topDocs(new TopDocsAndMaxScore(sortAndFormats == null ? new TopDocs(noHits, Lucene.EMPTY_SCORE_DOCS)
+                    : new TopFieldDocs(noHits, Lucene.EMPTY_SCORE_DOCS, sortAndFormats.sort.getSort()), Float.NaN),
+                    sortAndFormats == null ? null : sortAndFormats.formats);
+                return false;
+            }
+        }
+
+        int result = 0;
+        if (numHits > 0) {
+            TopFieldDocs mergedTopDocs = (TopFieldDocs) results[result++];
+            // Lucene sets shards indexes during merging of topDocs from different collectors
+            // We need to reset shard index; OpenSearch will set shard index later during reduce stage
+            for (ScoreDoc scoreDoc : mergedTopDocs.scoreDocs) {
+                scoreDoc.shardIndex = -1;
+            }
+            if (totalHits != null) { // we have already precalculated totalHits for the whole index
+                mergedTopDocs = new TopFieldDocs(totalHits, mergedTopDocs.scoreDocs, mergedTopDocs.fields);
+            }
+            queryResult.topDocs(new TopDocsAndMaxScore(mergedTopDocs, Float.NaN), sortAndFormats.formats);
+        } else {
+            if (totalHits == null) {
+                totalHits = new TotalHits((Integer) results[result++], TotalHits.Relation.EQUAL_TO);
+            }
+            final TopDocs topDocs = sortAndFormats == null ? new TopDocs(totalHits, Lucene.EMPTY_SCORE_DOCS)
+                : new TopFieldDocs(totalHits, Lucene.EMPTY_SCORE_DOCS, sortAndFormats.sort.getSort());
+            queryResult.topDocs(new TopDocsAndMaxScore(topDocs, Float.NaN), null);
+        }
+        if (searchContext.aggregations() != null) {
+            queryResult.aggregations((InternalAggregations) results[result]);
+        }
+        return false; // no rescoring when sorting by field
+    }
+
+    /**
+     * Collects each slice with a {@link MultiCollector} of one collector of each of the provided managers, and reduces
+     * the collectors of each manager with that manager. Unlike Lucene's MultiCollectorManager the {@link MultiCollector}
+     * lets a collector terminate the collection of a leaf without terminating it for the other collectors.
+     */
+    private static final class SliceCollectorManager implements CollectorManager<Collector, Object[]> {
+        private final List<CollectorManager<?, ?>> managers;
+        private final Map<Collector, Collector[]> sliceCollectors = new IdentityHashMap<>();
+
+        SliceCollectorManager(List<CollectorManager<?, ?>> managers) {
+            this.managers = managers;
+        }
+
+        @Override
+        public Collector newCollector() throws IOException {
+            final Collector[] collectors = new Collector[managers.size()];
+            for (int i = 0; i < collectors.length; i++) {
+                collectors[i] = managers.get(i).newCollector();
+            }
+            final Collector collector = MultiCollector.wrap(collectors);
+            sliceCollectors.put(collector, collectors);
+            return collector;
+        }
+
+        @Override
+        public Object[] reduce(Collection<Collector> collectors) throws IOException {
+            final Object[] results = new Object[managers.size()];
+            for (int i = 0; i < results.length; i++) {
+                final List<Collector> managerCollectors = new ArrayList<>(collectors.size());
+                for (Collector collector : collectors) {
+                    managerCollectors.add(sliceCollectors.get(collector)[i]);
+                }
+                results[i] = reduce(managers.get(i), managerCollectors);
+            }
+            return results;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <C extends Collector, T> T reduce(CollectorManager<C, T> manager, List<Collector> collectors) throws IOException {
+            return manager.reduce((Collection<C>) (Collection<?>) collectors);
+        }
+    }
+
     /*
      * We use collectorManager during sort optimization, where
      * we have already checked that there are no other collectors, no filters,
@@ -406,7 +583,8 @@ public class QueryPhase {
         List<LeafReaderContext> leaves = new ArrayList<>(searcher.getIndexReader().leaves());
         leafSorter.accept(leaves);
         try {
-            Weight weight = searcher.createWeight(searcher.rewrite(query), ScoreMode.TOP_SCORES, 1f);
+            final ScoreMode scoreMode = sortAndFormats.sort.needsScores() ? ScoreMode.TOP_SCORES : ScoreMode.COMPLETE_NO_SCORES;
+            Weight weight = searcher.createWeight(searcher.rewrite(query), scoreMode, 1f);
             searcher.search(leaves, weight, sharedManager, searchContext.queryResult(), sortAndFormats.formats, totalHits);
         } catch (TimeExceededException e) {
             assert timeoutSet : "TimeExceededException thrown even though timeout wasn't set";
@@ -178,6 +178,12 @@ public final class RemoteClusterService extends RemoteClusterAware implements Cl
         (ns, key) -> boolSetting(key, TransportSettings.TRANSPORT_COMPRESS,
             new RemoteConnectionEnabled<>(ns, key), Setting.Property.Dynamic, Setting.Property.NodeScope));
 
+    public static final Setting.AffixSetting<TransportCompressionScheme> REMOTE_CLUSTER_COMPRESSION_SCHEME = Setting.affixKeySetting(
+        "cluster.remote.",
+        "transport.compression_scheme",
+        (ns, key) -> new Setting<>(key, TransportSettings.TRANSPORT_COMPRESSION_SCHEME, TransportCompressionScheme::parse,
+            new RemoteConnectionEnabled<>(ns, key), Setting.Property.Dynamic, Setting.Property.NodeScope));
+
     private final boolean enabled;
 
     public boolean isEnabled() {
@@ -0,0 +1,63 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.transport;
+
+import org.opensearch.Version;
+import org.opensearch.common.compress.Compressor;
+import org.opensearch.common.compress.CompressorFactory;
+import org.opensearch.common.compress.LZ4Compressor;
+
+import java.util.Locale;
+
+/**
+ * The algorithm used to compress transport messages when compression is enabled for a connection. The receiving side detects the
+ * algorithm from the header of the compressed content, so each side can pick its scheme independently as long as the other side
+ * understands it.
+ */
+public enum TransportCompressionScheme {
+    DEFLATE(CompressorFactory.COMPRESSOR),
+    LZ4(new LZ4Compressor());
+
+    /** the first version that can read LZ4 compressed messages */
+    static final Version LZ4_VERSION = Version.V_1_0_0;
+
+    private final Compressor compressor;
+
+    TransportCompressionScheme(Compressor compressor) {
+        this.compressor = compressor;
+    }
+
+    public Compressor compressor() {
+        return compressor;
+    }
+
+    /**
+     * Returns the scheme to use to send a message to a node of the given version, falling back to {@link #DEFLATE} for nodes that
+     * do not support this scheme.
+     */
+    public TransportCompressionScheme forVersion(Version version) {
+        if (this == LZ4 && version.before(LZ4_VERSION)) {
+            return DEFLATE;
+        }
+        return this;
+    }
+
+    public static TransportCompressionScheme parse(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown transport compression scheme [" + value + "], must be one of [deflate, lz4]", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
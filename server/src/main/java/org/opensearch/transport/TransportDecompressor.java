@@ -32,12 +32,13 @@
 
 package org.opensearch.transport;
 
+import org.apache.lucene.util.ArrayUtil;
 import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.BytesRefIterator;
 import org.opensearch.common.bytes.BytesArray;
 import org.opensearch.common.bytes.BytesReference;
 import org.opensearch.common.bytes.ReleasableBytesReference;
-import org.opensearch.common.compress.CompressorFactory;
+import org.opensearch.common.compress.LZ4Compressor;
 import org.opensearch.common.recycler.Recycler;
 import org.opensearch.common.util.PageCacheRecycler;
 
@@ -47,39 +48,49 @@ import java.util.ArrayDeque;
 import java.util.zip.DataFormatException;
 import java.util.zip.Inflater;
 
+/**
+ * Incrementally decompresses the content of a compressed transport message into recycled pages. The compression scheme is
+ * detected from the header of the content, see {@link TransportCompressionScheme}.
+ */
 public class TransportDecompressor implements Closeable {
 
-    private final Inflater inflater;
     private final PageCacheRecycler recycler;
     private final ArrayDeque<Recycler.V<byte[]>> pages;
     private int pageOffset = PageCacheRecycler.BYTE_PAGE_SIZE;
-    private boolean hasReadHeader = false;
+    private TransportCompressionScheme scheme;
+
+    // deflate state
+    private Inflater inflater;
+
+    // lz4 state, a block is only decompressed once all of its compressed bytes have been received
+    private final byte[] lz4BlockHeader = new byte[LZ4Compressor.BLOCK_HEADER_LENGTH];
+    private int lz4BlockHeaderRead = 0;
+    private int lz4UncompressedLength;
+    private int lz4CompressedLength;
+    private int lz4CompressedRead;
+    private byte[] lz4Compressed = BytesRef.EMPTY_BYTES;
+    private byte[] lz4Uncompressed = BytesRef.EMPTY_BYTES;
+    private boolean lz4Finished = false;
 
     public TransportDecompressor(PageCacheRecycler recycler) {
         this.recycler = recycler;
-        inflater = new Inflater(true);
         pages = new ArrayDeque<>(4);
     }
 
     public int decompress(BytesReference bytesReference) throws IOException {
         int bytesConsumed = 0;
-        if (hasReadHeader == false) {
-            if (CompressorFactory.COMPRESSOR.isCompressed(bytesReference) == false) {
-                int maxToRead = Math.min(bytesReference.length(), 10);
-                StringBuilder sb = new StringBuilder("stream marked as compressed, but no compressor found, first [")
-                    .append(maxToRead).append("] content bytes out of [").append(bytesReference.length())
-                    .append("] readable bytes with message size [").append(bytesReference.length()).append("] ").append("] are [");
-                for (int i = 0; i < maxToRead; i++) {
-                    sb.append(bytesReference.get(i)).append(",");
-                }
-                sb.append("]");
-                throw new IllegalStateException(sb.toString());
+        if (scheme == null) {
+            scheme = detectScheme(bytesReference);
+            if (scheme == TransportCompressionScheme.DEFLATE) {
+                inflater = new Inflater(true);
             }
-            hasReadHeader = true;
-            int headerLength = CompressorFactory.COMPRESSOR.headerLength();
+            int headerLength = scheme.compressor().headerLength();
             bytesReference = bytesReference.slice(headerLength, bytesReference.length() - headerLength);
             bytesConsumed += headerLength;
         }
+        if (scheme == TransportCompressionScheme.LZ4) {
+            return bytesConsumed + decodeLZ4(bytesReference);
+        }
 
         BytesRefIterator refIterator = bytesReference.iterator();
         BytesRef ref;
@@ -125,12 +136,88 @@ public class TransportDecompressor implements Closeable {
         return bytesConsumed;
     }
 
+    private static TransportCompressionScheme detectScheme(BytesReference bytesReference) {
+        for (TransportCompressionScheme scheme : TransportCompressionScheme.values()) {
+            if (scheme.compressor().isCompressed(bytesReference)) {
+                return scheme;
+            }
+        }
+        int maxToRead = Math.min(bytesReference.length(), 10);
+        StringBuilder sb = new StringBuilder("stream marked as compressed, but no compressor found, first [")
+            .append(maxToRead).append("] content bytes out of [").append(bytesReference.length())
+            .append("] readable bytes with message size [").append(bytesReference.length()).append("] ").append("] are [");
+        for (int i = 0; i < maxToRead; i++) {
+            sb.append(bytesReference.get(i)).append(",");
+        }
+        sb.append("]");
+        throw new IllegalStateException(sb.toString());
+    }
+
+    private int decodeLZ4(BytesReference bytesReference) throws IOException {
+        int bytesConsumed = 0;
+        BytesRefIterator refIterator = bytesReference.iterator();
+        BytesRef ref;
+        while (lz4Finished == false && (ref = refIterator.next()) != null) {
+            int offset = ref.offset;
+            final int end = ref.offset + ref.length;
+            while (offset < end && lz4Finished == false) {
+                if (lz4BlockHeaderRead < lz4BlockHeader.length) {
+                    final int toCopy = Math.min(lz4BlockHeader.length - lz4BlockHeaderRead, end - offset);
+                    System.arraycopy(ref.bytes, offset, lz4BlockHeader, lz4BlockHeaderRead, toCopy);
+                    lz4BlockHeaderRead += toCopy;
+                    offset += toCopy;
+                    if (lz4BlockHeaderRead == lz4BlockHeader.length) {
+                        lz4UncompressedLength = LZ4Compressor.uncompressedLength(lz4BlockHeader, 0);
+                        lz4CompressedLength = LZ4Compressor.compressedLength(lz4BlockHeader, 0);
+                        if (LZ4Compressor.validateBlockHeader(lz4UncompressedLength, lz4CompressedLength) == false) {
+                            lz4Finished = true;
+                        } else {
+                            lz4Compressed = ArrayUtil.grow(lz4Compressed, lz4CompressedLength);
+                            lz4CompressedRead = 0;
+                        }
+                    }
+                } else {
+                    final int toCopy = Math.min(lz4CompressedLength - lz4CompressedRead, end - offset);
+                    System.arraycopy(ref.bytes, offset, lz4Compressed, lz4CompressedRead, toCopy);
+                    lz4CompressedRead += toCopy;
+                    offset += toCopy;
+                    if (lz4CompressedRead == lz4CompressedLength) {
+                        lz4Uncompressed = ArrayUtil.grow(lz4Uncompressed, lz4UncompressedLength);
+                        LZ4Compressor.decompressBlock(lz4Compressed, lz4CompressedLength, lz4Uncompressed, lz4UncompressedLength);
+                        copyToPages(lz4Uncompressed, lz4UncompressedLength);
+                        lz4BlockHeaderRead = 0;
+                    }
+                }
+            }
+            bytesConsumed += offset - ref.offset;
+        }
+        return bytesConsumed;
+    }
+
+    private void copyToPages(byte[] bytes, int length) {
+        int offset = 0;
+        while (offset < length) {
+            if (pageOffset == PageCacheRecycler.BYTE_PAGE_SIZE) {
+                pages.add(recycler.bytePage(false));
+                pageOffset = 0;
+            }
+            final int toCopy = Math.min(length - offset, PageCacheRecycler.BYTE_PAGE_SIZE - pageOffset);
+            System.arraycopy(bytes, offset, pages.getLast().v(), pageOffset, toCopy);
+            pageOffset += toCopy;
+            offset += toCopy;
+        }
+    }
+
     public boolean canDecompress(int bytesAvailable) {
-        return hasReadHeader || bytesAvailable >= CompressorFactory.COMPRESSOR.headerLength();
+        assert TransportCompressionScheme.DEFLATE.compressor().headerLength() == TransportCompressionScheme.LZ4.compressor().headerLength();
+        return scheme != null || bytesAvailable >= TransportCompressionScheme.DEFLATE.compressor().headerLength();
     }
 
     public boolean isEOS() {
-        return inflater.finished();
+        if (scheme == TransportCompressionScheme.LZ4) {
+            return lz4Finished;
+        }
+        return inflater != null && inflater.finished();
     }
 
     public ReleasableBytesReference pollDecompressedPage() {
@@ -153,7 +240,9 @@ public class TransportDecompressor implements Closeable {
 
     @Override
     public void close() {
-        inflater.end();
+        if (inflater != null) {
+            inflater.end();
+        }
         for (Recycler.V<byte[]> page : pages) {
             page.close();
         }
@@ -34,12 +34,19 @@ package org.opensearch.transport;
 
 import org.opensearch.common.io.stream.StreamInput;
 import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.util.concurrent.RefCounted;
 import org.opensearch.tasks.TaskAwareRequest;
 import org.opensearch.tasks.TaskId;
 
 import java.io.IOException;
 
-public abstract class TransportRequest extends TransportMessage implements TaskAwareRequest {
+/**
+ * A request sent over the transport layer. A request received from the network starts with a single reference that is released once
+ * its handler returns; requests that may hold on to the bytes of their message (see
+ * {@link StreamInput#readReleasableBytesReference()}) override the reference counting to release them, and handlers that keep using
+ * a request after they return retain it with {@link #incRef()} until they are done.
+ */
+public abstract class TransportRequest extends TransportMessage implements TaskAwareRequest, RefCounted {
     public static class Empty extends TransportRequest {
         public static final Empty INSTANCE = new Empty();
 
@@ -82,4 +89,19 @@ public abstract class TransportRequest extends TransportMessage implements TaskA
     public void writeTo(StreamOutput out) throws IOException {
         parentTaskId.writeTo(out);
     }
+
+    @Override
+    public void incRef() {
+        // noop
+    }
+
+    @Override
+    public boolean tryIncRef() {
+        return true;
+    }
+
+    @Override
+    public boolean decRef() {
+        return false;
+    }
 }
@@ -324,6 +324,10 @@ public class NodeStatsTests extends OpenSearchTestCase {
                         assertEquals(aStats.queueSize, bStats.queueSize, 0.01);
                         assertEquals(aStats.serviceTime, bStats.serviceTime, 0.01);
                         assertEquals(aStats.responseTime, bStats.responseTime, 0.01);
+                        assertEquals(aStats.queueSizeTrend, bStats.queueSizeTrend, 0.01);
+                        assertEquals(aStats.ranking(), bStats.ranking());
+                        assertEquals(aStats.timesRanked, bStats.timesRanked);
+                        assertEquals(aStats.timesSelected, bStats.timesSelected);
                     });
                 }
                 ScriptCacheStats scriptCacheStats = nodeStats.getScriptCacheStats();
@@ -520,9 +524,11 @@ public class NodeStatsTests extends OpenSearchTestCase {
                 // add node calculations
                 if (frequently()) {
                     ResponseCollectorService.ComputedNodeStats stats = new ResponseCollectorService.ComputedNodeStats(nodeId,
-                            randomIntBetween(1,10), randomIntBetween(0, 2000),
+                            randomIntBetween(1,10), randomFrom(ResponseCollectorService.Ranking.values()), randomIntBetween(0, 2000),
+                            randomDoubleBetween(-100.0, 100.0, true),
                             randomDoubleBetween(1.0, 10000000.0, true),
-                            randomDoubleBetween(1.0, 10000000.0, true));
+                            randomDoubleBetween(1.0, 10000000.0, true),
+                            randomNonNegativeLong(), randomNonNegativeLong());
                     nodeStats.put(nodeId, stats);
                 }
             }
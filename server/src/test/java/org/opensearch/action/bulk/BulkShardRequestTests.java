@@ -32,12 +32,22 @@
 
 package org.opensearch.action.bulk;
 
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.support.WriteRequest.RefreshPolicy;
+import org.opensearch.action.update.UpdateRequest;
+import org.opensearch.common.bytes.ReleasableBytesReference;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.xcontent.XContentType;
 import org.opensearch.index.shard.ShardId;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.action.bulk.BulkItemRequest;
 import org.opensearch.action.bulk.BulkShardRequest;
 
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import static org.apache.lucene.util.TestUtil.randomSimpleString;
 
 public class BulkShardRequestTests extends OpenSearchTestCase {
@@ -57,4 +67,40 @@ public class BulkShardRequestTests extends OpenSearchTestCase {
         assertEquals("BulkShardRequest [" + shardId + "] containing [" + count + "] requests blocking until refresh", r.toString());
         assertEquals("requests[" + count + "], index[" + index + "][0], refresh[WAIT_UNTIL]", r.getDescription());
     }
+
+    public void testReleasesSourcesOfReceivedRequest() throws IOException {
+        final ShardId shardId = new ShardId("index", "_na_", 0);
+        final BulkItemRequest[] items = new BulkItemRequest[between(1, 10)];
+        for (int i = 0; i < items.length; i++) {
+            if (randomBoolean()) {
+                items[i] = new BulkItemRequest(i, new IndexRequest("index").id(Integer.toString(i)).source(XContentType.JSON, "field", i));
+            } else {
+                items[i] = new BulkItemRequest(i, new UpdateRequest("index", Integer.toString(i)).doc(XContentType.JSON, "field", i));
+            }
+        }
+        final BytesStreamOutput out = new BytesStreamOutput();
+        new BulkShardRequest(shardId, RefreshPolicy.NONE, items).writeTo(out);
+
+        final AtomicBoolean released = new AtomicBoolean();
+        final ReleasableBytesReference message =
+            new ReleasableBytesReference(out.bytes(), () -> assertTrue(released.compareAndSet(false, true)));
+        final BulkShardRequest request;
+        try (StreamInput in = message.streamInput()) {
+            request = new BulkShardRequest(in);
+        }
+        message.close();
+        assertFalse("the sources of the documents share the bytes of the message", released.get());
+        for (int i = 0; i < items.length; i++) {
+            final DocWriteRequest<?> item = request.items()[i].request();
+            final IndexRequest indexRequest = item instanceof UpdateRequest ? ((UpdateRequest) item).doc() : (IndexRequest) item;
+            assertEquals(Integer.toString(i), item.id());
+            assertEquals(i, indexRequest.sourceAsMap().get("field"));
+        }
+
+        request.incRef();
+        assertFalse(request.decRef());
+        assertFalse(released.get());
+        assertTrue(request.decRef());
+        assertTrue(released.get());
+    }
 }
@@ -298,7 +298,7 @@ public class TransportBulkActionIngestTests extends OpenSearchTestCase {
         assertFalse(responseCalled.get());
         assertFalse(failureCalled.get());
         verify(ingestService).executeBulkRequest(eq(bulkRequest.numberOfActions()), bulkDocsItr.capture(),
-            failureHandler.capture(), completionHandler.capture(), any(), eq(Names.WRITE));
+            failureHandler.capture(), completionHandler.capture(), any(), eq(Names.INGEST));
         completionHandler.getValue().accept(null, exception);
         assertTrue(failureCalled.get());
 
@@ -333,7 +333,7 @@ public class TransportBulkActionIngestTests extends OpenSearchTestCase {
         assertFalse(responseCalled.get());
         assertFalse(failureCalled.get());
         verify(ingestService).executeBulkRequest(eq(1), bulkDocsItr.capture(), failureHandler.capture(),
-            completionHandler.capture(), any(), eq(Names.WRITE));
+            completionHandler.capture(), any(), eq(Names.INGEST));
         completionHandler.getValue().accept(null, exception);
         assertTrue(failureCalled.get());
 
@@ -538,7 +538,7 @@ public class TransportBulkActionIngestTests extends OpenSearchTestCase {
         assertFalse(responseCalled.get());
         assertFalse(failureCalled.get());
         verify(ingestService).executeBulkRequest(eq(bulkRequest.numberOfActions()), bulkDocsItr.capture(),
-            failureHandler.capture(), completionHandler.capture(), any(), eq(Names.WRITE));
+            failureHandler.capture(), completionHandler.capture(), any(), eq(Names.INGEST));
         assertEquals(indexRequest1.getPipeline(), "default_pipeline");
         assertEquals(indexRequest2.getPipeline(), "default_pipeline");
         assertEquals(indexRequest3.getPipeline(), "default_pipeline");
@@ -577,7 +577,7 @@ public class TransportBulkActionIngestTests extends OpenSearchTestCase {
         assertFalse(responseCalled.get());
         assertFalse(failureCalled.get());
         verify(ingestService).executeBulkRequest(eq(1), bulkDocsItr.capture(), failureHandler.capture(),
-            completionHandler.capture(), any(), eq(Names.WRITE));
+            completionHandler.capture(), any(), eq(Names.INGEST));
         completionHandler.getValue().accept(null, exception);
         assertFalse(action.indexCreated); // still no index yet, the ingest node failed.
         assertTrue(failureCalled.get());
@@ -642,7 +642,7 @@ public class TransportBulkActionIngestTests extends OpenSearchTestCase {
 
         assertEquals("pipeline2", indexRequest.getPipeline());
         verify(ingestService).executeBulkRequest(eq(1), bulkDocsItr.capture(), failureHandler.capture(),
-            completionHandler.capture(), any(), eq(Names.WRITE));
+            completionHandler.capture(), any(), eq(Names.INGEST));
     }
 
     public void testFindDefaultPipelineFromV2TemplateMatch() {
@@ -672,7 +672,7 @@ public class TransportBulkActionIngestTests extends OpenSearchTestCase {
 
         assertEquals("pipeline2", indexRequest.getPipeline());
         verify(ingestService).executeBulkRequest(eq(1), bulkDocsItr.capture(), failureHandler.capture(),
-            completionHandler.capture(), any(), eq(Names.WRITE));
+            completionHandler.capture(), any(), eq(Names.INGEST));
     }
 
     private void validateDefaultPipeline(IndexRequest indexRequest) {
@@ -695,7 +695,7 @@ public class TransportBulkActionIngestTests extends OpenSearchTestCase {
         assertFalse(responseCalled.get());
         assertFalse(failureCalled.get());
         verify(ingestService).executeBulkRequest(eq(1), bulkDocsItr.capture(), failureHandler.capture(),
-            completionHandler.capture(), any(), eq(Names.WRITE));
+            completionHandler.capture(), any(), eq(Names.INGEST));
         assertEquals(indexRequest.getPipeline(), "default_pipeline");
         completionHandler.getValue().accept(null, exception);
         assertTrue(failureCalled.get());
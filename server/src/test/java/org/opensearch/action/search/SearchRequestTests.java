@@ -115,6 +115,11 @@ public class SearchRequestTests extends AbstractSearchTestCase {
             assertEquals(searchRequest.getAbsoluteStartMillis(), deserializedRequest.getAbsoluteStartMillis());
             assertEquals(searchRequest.isFinalReduce(), deserializedRequest.isFinalReduce());
         }
+        if (version.before(Version.V_1_0_0)) {
+            assertNull(deserializedRequest.concurrentSegmentSearch());
+        } else {
+            assertEquals(searchRequest.concurrentSegmentSearch(), deserializedRequest.concurrentSegmentSearch());
+        }
     }
 
     public void testReadFromPre6_7_0() throws IOException {
@@ -255,6 +260,8 @@ public class SearchRequestTests extends AbstractSearchTestCase {
         mutators.add(() -> mutation.preference(randomValueOtherThan(searchRequest.preference(), () -> randomAlphaOfLengthBetween(3, 10))));
         mutators.add(() -> mutation.routing(randomValueOtherThan(searchRequest.routing(), () -> randomAlphaOfLengthBetween(3, 10))));
         mutators.add(() -> mutation.requestCache((randomValueOtherThan(searchRequest.requestCache(), OpenSearchTestCase::randomBoolean))));
+        mutators.add(() -> mutation.concurrentSegmentSearch(
+            randomValueOtherThan(searchRequest.concurrentSegmentSearch(), OpenSearchTestCase::randomBoolean)));
         mutators.add(() -> mutation
                 .scroll(randomValueOtherThan(searchRequest.scroll(), () -> new Scroll(new TimeValue(randomNonNegativeLong() % 100000)))));
         mutators.add(() -> mutation.searchType(randomValueOtherThan(searchRequest.searchType(),
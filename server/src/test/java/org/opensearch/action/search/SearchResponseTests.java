@@ -37,6 +37,7 @@ import org.opensearch.Version;
 import org.opensearch.cluster.metadata.IndexMetadata;
 import org.opensearch.common.Strings;
 import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.io.stream.BytesStreamOutput;
 import org.opensearch.common.io.stream.NamedWriteableRegistry;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.text.Text;
@@ -46,6 +47,7 @@ import org.opensearch.common.xcontent.XContentBuilder;
 import org.opensearch.common.xcontent.XContentHelper;
 import org.opensearch.common.xcontent.XContentParser;
 import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.rest.ChunkedRestResponseBody;
 import org.opensearch.rest.action.search.RestSearchAction;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.SearchHits;
@@ -60,13 +62,17 @@ import org.opensearch.search.suggest.Suggest;
 import org.opensearch.search.suggest.SuggestTests;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.test.InternalAggregationTestCase;
+import org.opensearch.test.rest.FakeRestChannel;
+import org.opensearch.test.rest.FakeRestRequest;
 import org.junit.After;
 import org.junit.Before;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonMap;
@@ -315,4 +321,28 @@ public class SearchResponseTests extends OpenSearchTestCase {
         deserialized.getClusters().toXContent(builder, ToXContent.EMPTY_PARAMS);
         assertEquals(0, Strings.toString(builder).length());
     }
+
+    public void testToXContentChunked() throws IOException {
+        SearchResponse searchResponse = createTestItem();
+        Map<String, String> params = new HashMap<>();
+        if (randomBoolean()) {
+            params.put(RestSearchAction.TOTAL_HITS_AS_INT_PARAM, "true");
+        }
+        if (randomBoolean()) {
+            params.put("pretty", "true");
+        }
+        FakeRestRequest request = new FakeRestRequest.Builder(xContentRegistry()).withParams(params).build();
+        FakeRestChannel channel = new FakeRestChannel(request, false, 1);
+
+        XContentBuilder expected = channel.newBuilder();
+        searchResponse.toXContent(expected, request);
+
+        ChunkedRestResponseBody body = ChunkedRestResponseBody.fromXContent(searchResponse, request, channel);
+        BytesStreamOutput chunked = new BytesStreamOutput();
+        while (body.isDone() == false) {
+            body.encodeChunk(randomIntBetween(1, 1024)).writeTo(chunked);
+        }
+        body.close();
+        assertEquals(BytesReference.bytes(expected), chunked.bytes());
+    }
 }
@@ -35,6 +35,7 @@ import org.opensearch.Version;
 import org.opensearch.action.support.replication.ClusterStateCreationUtils;
 import org.opensearch.cluster.ClusterState;
 import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.Metadata;
 import org.opensearch.cluster.routing.GroupShardsIterator;
 import org.opensearch.cluster.routing.IndexShardRoutingTable;
 import org.opensearch.cluster.routing.Murmur3HashFunction;
@@ -69,6 +70,7 @@ import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.object.HasToString.hasToString;
 
 public class OperationRoutingTests extends OpenSearchTestCase {
@@ -380,6 +382,28 @@ public class OperationRoutingTests extends OpenSearchTestCase {
         }
     }
 
+    public void testRealtimeGetsOfSegmentReplicationIndicesGoToThePrimary() {
+        final String index = "test";
+        ClusterState state = ClusterStateCreationUtils.state(index, false, ShardRoutingState.STARTED,
+            ShardRoutingState.STARTED, ShardRoutingState.STARTED);
+        final OperationRouting operationRouting = new OperationRouting(Settings.EMPTY,
+            new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS));
+        assertThat(operationRouting.getShards(state, index, "id", null, null, true).size(), equalTo(3));
+
+        final IndexMetadata indexMetadata = state.metadata().index(index);
+        state = ClusterState.builder(state).metadata(Metadata.builder(state.metadata()).put(IndexMetadata.builder(indexMetadata)
+            .settings(Settings.builder().put(indexMetadata.getSettings()).put(IndexMetadata.SETTING_REPLICATION_TYPE, "segment"))))
+            .build();
+        final ShardRouting primary = state.routingTable().index(index).shard(0).primaryShard();
+        for (ShardIterator shards : Arrays.asList(operationRouting.getShards(state, index, "id", null, null, true),
+            operationRouting.getShards(state, index, 0, null, true))) {
+            assertThat(shards.size(), equalTo(1));
+            assertThat(shards.nextOrNull(), equalTo(primary));
+        }
+        assertThat(operationRouting.getShards(state, index, "id", null, null, false).size(), equalTo(3));
+        assertThat(operationRouting.getShards(state, index, 0, null, false).size(), equalTo(3));
+    }
+
     public void testPreferNodes() throws InterruptedException, IOException {
         TestThreadPool threadPool = null;
         ClusterService clusterService = null;
@@ -626,6 +650,43 @@ public class OperationRoutingTests extends OpenSearchTestCase {
         terminate(threadPool);
     }
 
+    public void testQueueAwareAdaptiveReplicaSelection() throws Exception {
+        final String[] indexNames = new String[] { "test" };
+        ClusterState state = ClusterStateCreationUtils.stateWithAssignedPrimariesAndReplicas(indexNames, 1, 2);
+        OperationRouting opRouting = new OperationRouting(Settings.EMPTY,
+                new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS));
+        opRouting.setUseAdaptiveReplicaSelection(true);
+        TestThreadPool threadPool = new TestThreadPool("testQueueAwareAdaptiveReplicaSelection");
+        ClusterService clusterService = ClusterServiceUtils.createClusterService(threadPool);
+        clusterService.getClusterSettings().applySettings(Settings.builder()
+            .put(ResponseCollectorService.ADAPTIVE_SELECTION_RANKING_SETTING.getKey(), "queue_aware").build());
+        ResponseCollectorService collector = new ResponseCollectorService(clusterService);
+        Map<String, Long> outstandingRequests = new HashMap<>();
+        for (String nodeId : new String[] { "node_0", "node_1", "node_2" }) {
+            collector.addNodeStatistics(nodeId, 1, TimeValue.timeValueMillis(100).nanos(), TimeValue.timeValueMillis(50).nanos());
+            outstandingRequests.put(nodeId, 1L);
+        }
+        // the queue of node 0 starts building up
+        collector.addNodeStatistics("node_0", 6, TimeValue.timeValueMillis(100).nanos(), TimeValue.timeValueMillis(50).nanos());
+        assertThat(collector.getNodeStatistics("node_0").get().queueSizeTrend, greaterThan(0.0));
+
+        GroupShardsIterator<ShardIterator> groupIterator = opRouting.searchShards(state, indexNames, null, null, collector,
+            outstandingRequests);
+        ShardRouting shardChoice = groupIterator.get(0).nextOrNull();
+        assertThat(shardChoice.currentNodeId(), not(equalTo("node_0")));
+
+        // every copy was a candidate but only the chosen one was selected
+        for (String nodeId : new String[] { "node_0", "node_1", "node_2" }) {
+            ResponseCollectorService.ComputedNodeStats stats = collector.getNodeStatistics(nodeId).get();
+            assertThat(stats.ranking(), equalTo(ResponseCollectorService.Ranking.QUEUE_AWARE));
+            assertThat(stats.timesRanked, equalTo(1L));
+            assertThat(stats.timesSelected, equalTo(nodeId.equals(shardChoice.currentNodeId()) ? 1L : 0L));
+        }
+
+        IOUtils.close(clusterService);
+        terminate(threadPool);
+    }
+
     public void testAllocationAwarenessDeprecation() {
         OperationRouting routing = new OperationRouting(
             Settings.builder()
@@ -34,12 +34,14 @@ package org.opensearch.common.bytes;
 
 import org.opensearch.common.io.stream.BytesStreamOutput;
 import org.opensearch.common.io.stream.ReleasableBytesStreamOutput;
+import org.opensearch.common.io.stream.StreamInput;
 import org.opensearch.common.util.ByteArray;
 import org.hamcrest.Matchers;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 
@@ -97,6 +99,47 @@ public class ReleasableBytesReferenceTests extends AbstractBytesReferenceTestCas
         return ReleasableBytesReference.wrap(delegate);
     }
 
+    public void testReadReleasableBytesReference() throws IOException {
+        final BytesStreamOutput out = new BytesStreamOutput();
+        final BytesReference first = new BytesArray(randomByteArrayOfLength(between(1, 100)));
+        final BytesReference second = new BytesArray(randomByteArrayOfLength(between(1, 100)));
+        out.writeBytesReference(first);
+        out.writeBytesReference(BytesArray.EMPTY);
+        out.writeBytesReference(second);
+        out.writeVInt(42);
+        final AtomicBoolean released = new AtomicBoolean();
+        final ReleasableBytesReference reference =
+            new ReleasableBytesReference(out.bytes(), () -> assertTrue(released.compareAndSet(false, true)));
+
+        final ReleasableBytesReference readFirst;
+        final ReleasableBytesReference readSecond;
+        try (StreamInput in = reference.streamInput()) {
+            readFirst = in.readReleasableBytesReference();
+            assertThat(in.readReleasableBytesReference().length(), equalTo(0));
+            readSecond = in.readReleasableBytesReference();
+            assertThat(in.readVInt(), equalTo(42));
+        }
+        assertThat(readFirst, equalTo(first));
+        assertThat(readSecond, equalTo(second));
+        assertThat(reference.refCount(), equalTo(3));
+
+        reference.close();
+        readFirst.close();
+        assertFalse(released.get());
+        readSecond.close();
+        assertTrue(released.get());
+    }
+
+    public void testReadReleasableBytesReferenceCopiesOtherStreams() throws IOException {
+        final BytesStreamOutput out = new BytesStreamOutput();
+        final BytesReference bytes = new BytesArray(randomByteArrayOfLength(between(1, 100)));
+        out.writeBytesReference(bytes);
+        try (StreamInput in = out.bytes().streamInput(); ReleasableBytesReference read = in.readReleasableBytesReference()) {
+            assertThat(read, equalTo(bytes));
+            assertThat(read.refCount(), equalTo(1));
+        }
+    }
+
     @Override
     public void testToBytesRefSharedPage() throws IOException {
         // CompositeBytesReference doesn't share pages
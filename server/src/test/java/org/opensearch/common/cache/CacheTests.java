@@ -39,6 +39,7 @@ import org.junit.Before;
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadMXBean;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -246,7 +247,7 @@ public class CacheTests extends OpenSearchTestCase {
         cache.setExpireAfterAccessNanos(1);
         List<Integer> evictedKeys = new ArrayList<>();
         cache.setRemovalListener(notification -> {
-            assertEquals(RemovalNotification.RemovalReason.EVICTED, notification.getRemovalReason());
+            assertEquals(RemovalNotification.RemovalReason.EXPIRED, notification.getRemovalReason());
             evictedKeys.add(notification.getKey());
         });
         now.set(0);
@@ -305,7 +306,7 @@ public class CacheTests extends OpenSearchTestCase {
         cache.setExpireAfterWriteNanos(1);
         List<Integer> evictedKeys = new ArrayList<>();
         cache.setRemovalListener(notification -> {
-            assertEquals(RemovalNotification.RemovalReason.EVICTED, notification.getRemovalReason());
+            assertEquals(RemovalNotification.RemovalReason.EXPIRED, notification.getRemovalReason());
             evictedKeys.add(notification.getKey());
         });
         now.set(0);
@@ -956,4 +957,71 @@ public class CacheTests extends OpenSearchTestCase {
             assertEquals(RemovalNotification.RemovalReason.INVALIDATED, removalNotifications.get(i).getRemovalReason());
         }
     }
+
+    public void testPromotionBuffer() {
+        Cache.PromotionBuffer<Integer, String> buffer = new Cache.PromotionBuffer<>();
+        List<Cache.Entry<Integer, String>> offered = new ArrayList<>();
+        for (int i = 0; i < Cache.PromotionBuffer.SIZE; i++) {
+            Cache.Entry<Integer, String> entry = new Cache.Entry<>(i, Integer.toString(i), 0);
+            assertTrue(buffer.offer(entry));
+            offered.add(entry);
+        }
+        // the buffer is full, promotions are dropped
+        assertFalse(buffer.offer(new Cache.Entry<>(-1, "-1", 0)));
+
+        List<Cache.Entry<Integer, String>> drained = new ArrayList<>();
+        buffer.drain(drained::add);
+        assertEquals(offered, drained);
+
+        // drained slots can be reused
+        Cache.Entry<Integer, String> entry = new Cache.Entry<>(-2, "-2", 0);
+        assertTrue(buffer.offer(entry));
+        drained.clear();
+        buffer.drain(drained::add);
+        assertEquals(Collections.singletonList(entry), drained);
+    }
+
+    // hit the cache from many threads so that promotions get deferred, then check that the LRU list is consistent
+    public void testConcurrentHits() throws BrokenBarrierException, InterruptedException {
+        final int maximumWeight = randomIntBetween(10, 100);
+        final Cache<Integer, String> cache = CacheBuilder.<Integer, String>builder().setMaximumWeight(maximumWeight).build();
+        for (int i = 0; i < maximumWeight; i++) {
+            cache.put(i, Integer.toString(i));
+        }
+        final int numberOfThreads = randomIntBetween(2, 32);
+        final CyclicBarrier barrier = new CyclicBarrier(1 + numberOfThreads);
+        for (int i = 0; i < numberOfThreads; i++) {
+            final long seed = randomLong();
+            Thread thread = new Thread(() -> {
+                try {
+                    barrier.await();
+                    Random random = new Random(seed);
+                    for (int j = 0; j < numberOfEntries; j++) {
+                        int key = random.nextInt(2 * maximumWeight);
+                        if (cache.get(key) == null && random.nextInt(10) == 0) {
+                            cache.put(key, Integer.toString(key));
+                        }
+                    }
+                    barrier.await();
+                } catch (BrokenBarrierException | InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+            });
+            thread.start();
+        }
+        // wait for all threads to be ready
+        barrier.await();
+        // wait for all threads to finish
+        barrier.await();
+
+        cache.refresh();
+        assertTrue(cache.weight() <= maximumWeight);
+        List<Integer> keys = new ArrayList<>();
+        cache.keys().forEach(keys::add);
+        assertEquals(keys.size(), cache.count());
+        assertEquals(keys.size(), cache.weight());
+        for (Integer key : keys) {
+            assertEquals(Integer.toString(key), cache.get(key));
+        }
+    }
 }
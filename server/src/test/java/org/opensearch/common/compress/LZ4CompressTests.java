@@ -0,0 +1,154 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.common.compress;
+
+import org.apache.lucene.util.LineFileDocs;
+import org.apache.lucene.util.TestUtil;
+import org.opensearch.common.bytes.BytesArray;
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+public class LZ4CompressTests extends OpenSearchTestCase {
+
+    private final Compressor compressor = new LZ4Compressor();
+
+    public void testRandom() throws IOException {
+        Random r = random();
+        for (int i = 0; i < 10; i++) {
+            byte[] bytes = new byte[TestUtil.nextInt(r, 1, 300000)];
+            r.nextBytes(bytes);
+            doTest(bytes);
+        }
+    }
+
+    public void testEmpty() throws IOException {
+        doTest(new byte[0]);
+    }
+
+    public void testLineDocs() throws IOException {
+        Random r = random();
+        LineFileDocs lineFileDocs = new LineFileDocs(r);
+        for (int i = 0; i < 10; i++) {
+            int numDocs = TestUtil.nextInt(r, 1, 200);
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            for (int j = 0; j < numDocs; j++) {
+                String s = lineFileDocs.nextDoc().get("body");
+                bos.write(s.getBytes(StandardCharsets.UTF_8));
+            }
+            doTest(bos.toByteArray());
+        }
+        lineFileDocs.close();
+    }
+
+    public void testRepetitions() throws IOException {
+        Random r = random();
+        for (int i = 0; i < 10; i++) {
+            byte[] bytes = new byte[TestUtil.nextInt(r, 1, 300000)];
+            byte[] pattern = new byte[TestUtil.nextInt(r, 1, 100)];
+            r.nextBytes(pattern);
+            for (int j = 0; j < bytes.length; j++) {
+                bytes[j] = pattern[j % pattern.length];
+            }
+            doTest(bytes);
+        }
+    }
+
+    public void testRandomThreads() throws Exception {
+        final Random r = random();
+        int threadCount = TestUtil.nextInt(r, 2, 6);
+        Thread[] threads = new Thread[threadCount];
+        final CountDownLatch startingGun = new CountDownLatch(1);
+        for (int tid = 0; tid < threadCount; tid++) {
+            final long seed = r.nextLong();
+            threads[tid] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        Random r = new Random(seed);
+                        startingGun.await();
+                        for (int i = 0; i < 10; i++) {
+                            byte[] bytes = new byte[TestUtil.nextInt(r, 1, 100000)];
+                            r.nextBytes(bytes);
+                            doTest(bytes);
+                        }
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            };
+            threads[tid].start();
+        }
+        startingGun.countDown();
+        for (Thread t : threads) {
+            t.join();
+        }
+    }
+
+    public void testCompressBytesReference() throws IOException {
+        final byte[] bytes = randomAlphaOfLengthBetween(0, 200000).getBytes(StandardCharsets.UTF_8);
+        final BytesReference compressed = compressor.compress(new BytesArray(bytes));
+        assertTrue(compressor.isCompressed(compressed));
+        assertFalse(CompressorFactory.COMPRESSOR.isCompressed(compressed));
+        assertEquals(new BytesArray(bytes), compressor.uncompress(compressed));
+    }
+
+    public void testNotCompressed() {
+        final IllegalArgumentException e = expectThrows(IllegalArgumentException.class,
+            () -> compressor.threadLocalInputStream(new ByteArrayInputStream(new byte[] { 'D', 'F', 'L', '\0', 0, 0, 0, 0 })));
+        assertEquals("Input stream is not compressed with LZ4!", e.getMessage());
+    }
+
+    public void testTruncated() throws IOException {
+        final byte[] bytes = new byte[TestUtil.nextInt(random(), 1, 100000)];
+        random().nextBytes(bytes);
+        final BytesReference compressed = compressor.compress(new BytesArray(bytes));
+        final BytesReference truncated = compressed.slice(0, randomIntBetween(compressor.headerLength(), compressed.length() - 1));
+        expectThrows(IOException.class, () -> compressor.uncompress(truncated));
+    }
+
+    private void doTest(byte[] bytes) throws IOException {
+        final Random r = random();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        int bufferSize = TestUtil.nextInt(r, 1, 70000);
+        try (OutputStream os = compressor.threadLocalOutputStream(bos)) {
+            int offset = 0;
+            while (offset < bytes.length) {
+                final int len = Math.min(bufferSize, bytes.length - offset);
+                if (len == 1 || r.nextInt(10) == 0) {
+                    os.write(bytes[offset]);
+                    offset++;
+                } else {
+                    os.write(bytes, offset, len);
+                    offset += len;
+                }
+            }
+        }
+
+        InputStream in = compressor.threadLocalInputStream(new ByteArrayInputStream(bos.toByteArray()));
+        bufferSize = TestUtil.nextInt(r, 1, 70000);
+        byte[] buffer = new byte[bufferSize];
+        ByteArrayOutputStream uncompressedOut = new ByteArrayOutputStream();
+        int len;
+        while ((len = in.read(buffer, 0, bufferSize)) != -1) {
+            uncompressedOut.write(buffer, 0, len);
+        }
+        in.close();
+
+        assertArrayEquals(bytes, uncompressedOut.toByteArray());
+    }
+}
@@ -56,6 +56,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.opensearch.common.lucene.uid.VersionsAndSeqNoResolver.loadDocIdAndVersion;
+import static org.opensearch.common.lucene.uid.VersionsAndSeqNoResolver.loadDocIdAndVersions;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.nullValue;
 
@@ -121,6 +122,50 @@ public class VersionsTests extends OpenSearchTestCase {
         dir.close();
     }
 
+    public void testLoadDocIdAndVersions() throws IOException {
+        Directory dir = newDirectory();
+        IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig(Lucene.STANDARD_ANALYZER));
+        final int numDocs = randomIntBetween(1, 100);
+        for (int i = 0; i < numDocs; i++) {
+            // updates of earlier documents land in later segments
+            final int id = rarely() ? randomIntBetween(0, i) : i;
+            Document doc = new Document();
+            doc.add(new Field(IdFieldMapper.NAME, Integer.toString(id), IdFieldMapper.Defaults.FIELD_TYPE));
+            doc.add(new NumericDocValuesField(VersionFieldMapper.NAME, i + 1));
+            doc.add(new NumericDocValuesField(SeqNoFieldMapper.NAME, i));
+            doc.add(new NumericDocValuesField(SeqNoFieldMapper.PRIMARY_TERM_NAME, 1));
+            writer.updateDocument(new Term(IdFieldMapper.NAME, Integer.toString(id)), doc);
+            if (rarely()) {
+                writer.commit();
+            }
+        }
+        DirectoryReader directoryReader = OpenSearchDirectoryReader.wrap(DirectoryReader.open(writer), new ShardId("foo", "_na_", 1));
+
+        final List<Term> terms = new ArrayList<>();
+        final int numTerms = randomIntBetween(0, 50);
+        for (int i = 0; i < numTerms; i++) {
+            // some missing and some duplicated ids
+            terms.add(new Term(IdFieldMapper.NAME, Integer.toString(randomIntBetween(0, numDocs + 10))));
+        }
+        final boolean loadSeqNo = randomBoolean();
+        final VersionsAndSeqNoResolver.DocIdAndVersion[] results = loadDocIdAndVersions(directoryReader, terms, loadSeqNo);
+        assertThat(results.length, equalTo(terms.size()));
+        for (int i = 0; i < terms.size(); i++) {
+            final VersionsAndSeqNoResolver.DocIdAndVersion expected = loadDocIdAndVersion(directoryReader, terms.get(i), loadSeqNo);
+            if (expected == null) {
+                assertThat(results[i], nullValue());
+            } else {
+                assertThat(results[i].version, equalTo(expected.version));
+                assertThat(results[i].seqNo, equalTo(expected.seqNo));
+                assertThat(results[i].primaryTerm, equalTo(expected.primaryTerm));
+                assertThat(results[i].docBase + results[i].docId, equalTo(expected.docBase + expected.docId));
+            }
+        }
+        directoryReader.close();
+        writer.close();
+        dir.close();
+    }
+
     public void testNestedDocuments() throws IOException {
         Directory dir = newDirectory();
         IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig(Lucene.STANDARD_ANALYZER));
@@ -0,0 +1,111 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.common.util.concurrent;
+
+import org.opensearch.common.lease.Releasable;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class StripedLockTests extends OpenSearchTestCase {
+
+    public void testStripesRoundedToPowerOfTwo() {
+        assertThat(new StripedLock<String>(1).stripes(), equalTo(1));
+        assertThat(new StripedLock<String>(2).stripes(), equalTo(2));
+        assertThat(new StripedLock<String>(3).stripes(), equalTo(4));
+        assertThat(new StripedLock<String>(256).stripes(), equalTo(256));
+        assertThat(new StripedLock<String>(257).stripes(), equalTo(512));
+        expectThrows(IllegalArgumentException.class, () -> new StripedLock<String>(0));
+    }
+
+    public void testReentrant() {
+        StripedLock<String> lock = new StripedLock<>(randomIntBetween(1, 64));
+        String key = randomAlphaOfLength(10);
+        assertFalse(lock.isHeldByCurrentThread(key));
+        try (Releasable outer = lock.acquire(key)) {
+            assertTrue(lock.isHeldByCurrentThread(key));
+            try (Releasable inner = lock.tryAcquire(key)) {
+                assertThat(inner, notNullValue());
+            }
+            assertTrue(lock.isHeldByCurrentThread(key));
+        }
+        assertFalse(lock.isHeldByCurrentThread(key));
+    }
+
+    public void testTryAcquireFailsWhenHeldByOtherThread() throws InterruptedException {
+        StripedLock<String> lock = new StripedLock<>(randomIntBetween(1, 64));
+        String key = randomAlphaOfLength(10);
+        AtomicReference<Releasable> acquired = new AtomicReference<>();
+        try (Releasable ignored = lock.acquire(key)) {
+            Thread thread = new Thread(() -> acquired.set(lock.tryAcquire(key)));
+            thread.start();
+            thread.join();
+            assertThat(acquired.get(), nullValue());
+        }
+        Thread thread = new Thread(() -> {
+            try (Releasable r = lock.tryAcquire(key)) {
+                acquired.set(r);
+            }
+        });
+        thread.start();
+        thread.join();
+        assertThat(acquired.get(), notNullValue());
+    }
+
+    public void testMutualExclusion() throws InterruptedException {
+        StripedLock<String> lock = new StripedLock<>(randomIntBetween(1, 16));
+        String[] keys = new String[randomIntBetween(1, 40)];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = randomRealisticUnicodeOfLengthBetween(10, 20);
+        }
+        // only guarded by the striped lock, lost updates would show up in the total
+        int[] counters = new int[keys.length];
+        int numThreads = randomIntBetween(3, 10);
+        int iterations = scaledRandomIntBetween(500, 5000);
+        final long seed = randomLong();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        Thread[] threads = new Thread[numThreads];
+        for (int i = 0; i < numThreads; i++) {
+            final long threadSeed = seed + i;
+            threads[i] = new Thread(() -> {
+                try {
+                    startLatch.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                Random random = new Random(threadSeed);
+                for (int j = 0; j < iterations; j++) {
+                    int key = random.nextInt(keys.length);
+                    try (Releasable ignored = lock.acquire(keys[key])) {
+                        counters[key]++;
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        startLatch.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        int total = 0;
+        for (int count : counters) {
+            total += count;
+        }
+        assertThat(total, equalTo(numThreads * iterations));
+        for (String key : keys) {
+            assertFalse(lock.isHeldByCurrentThread(key));
+        }
+    }
+}
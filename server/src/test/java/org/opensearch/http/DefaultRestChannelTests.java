@@ -44,10 +44,13 @@ import org.opensearch.common.util.BigArrays;
 import org.opensearch.common.util.ByteArray;
 import org.opensearch.common.util.MockBigArrays;
 import org.opensearch.common.util.MockPageCacheRecycler;
+import org.opensearch.common.xcontent.ToXContent;
 import org.opensearch.common.xcontent.XContentBuilder;
 import org.opensearch.common.xcontent.json.JsonXContent;
 import org.opensearch.indices.breaker.NoneCircuitBreakerService;
 import org.opensearch.rest.BytesRestResponse;
+import org.opensearch.rest.ChunkedRestResponse;
+import org.opensearch.rest.ChunkedRestResponseBody;
 import org.opensearch.rest.RestChannel;
 import org.opensearch.rest.RestRequest;
 import org.opensearch.rest.RestResponse;
@@ -63,6 +66,7 @@ import org.mockito.ArgumentCaptor;
 import java.io.IOException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -206,6 +210,40 @@ public class DefaultRestChannelTests extends OpenSearchTestCase {
         assertThat(headers.get(DefaultRestChannel.SET_COOKIE), hasItem("cookie2"));
     }
 
+    public void testChunkedResponse() throws IOException {
+        final Settings settings = Settings.builder().build();
+        final TestHttpRequest httpRequest = new TestHttpRequest(HttpRequest.HttpVersion.HTTP_1_1, RestRequest.Method.GET, "/");
+        final RestRequest request = RestRequest.request(xContentRegistry(), httpRequest, httpChannel);
+        HttpHandlingSettings handlingSettings = HttpHandlingSettings.fromSettings(settings);
+
+        DefaultRestChannel channel = new DefaultRestChannel(httpChannel, httpRequest, request, bigArrays, handlingSettings,
+            threadPool.getThreadContext(), CorsHandler.fromSettings(settings), null);
+        final int numValues = randomIntBetween(0, 10000);
+        final List<ToXContent> chunks = new ArrayList<>();
+        chunks.add((builder, params) -> builder.startObject().startArray("values"));
+        for (int i = 0; i < numValues; i++) {
+            final int value = i;
+            chunks.add((builder, params) -> builder.value(value));
+        }
+        chunks.add((builder, params) -> builder.endArray().endObject());
+        channel.sendResponse(new ChunkedRestResponse(RestStatus.OK,
+            ChunkedRestResponseBody.fromXContent(params -> chunks.iterator(), request, channel)));
+
+        ArgumentCaptor<TestHttpResponse> responseCaptor = ArgumentCaptor.forClass(TestHttpResponse.class);
+        verify(httpChannel).sendResponse(responseCaptor.capture(), any());
+        TestHttpResponse httpResponse = responseCaptor.getValue();
+        // the length of a chunked response is unknown when the headers are sent
+        assertNull(httpResponse.headers().get(DefaultRestChannel.CONTENT_LENGTH));
+        assertEquals("application/json; charset=UTF-8", httpResponse.headers().get(DefaultRestChannel.CONTENT_TYPE).get(0));
+
+        XContentBuilder expected = JsonXContent.contentBuilder().startObject().startArray("values");
+        for (int i = 0; i < numValues; i++) {
+            expected.value(i);
+        }
+        expected.endArray().endObject();
+        assertEquals(BytesReference.bytes(expected), httpResponse.content());
+    }
+
     @SuppressWarnings("unchecked")
     public void testReleaseInListener() throws IOException {
         final Settings settings = Settings.builder().build();
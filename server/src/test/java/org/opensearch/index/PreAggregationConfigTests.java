@@ -0,0 +1,81 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.index;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.Arrays;
+
+import static org.opensearch.common.settings.Settings.Builder.EMPTY_SETTINGS;
+import static org.opensearch.index.IndexSettingsTests.newIndexMeta;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+
+public class PreAggregationConfigTests extends OpenSearchTestCase {
+    private static IndexSettings indexSettings(Settings settings) {
+        return new IndexSettings(newIndexMeta("test", settings), Settings.EMPTY);
+    }
+
+    public void testNoPreAggregation() {
+        PreAggregationConfig config = indexSettings(EMPTY_SETTINGS).getPreAggregationConfig();
+        assertFalse(config.isEnabled());
+        assertTrue(config.dimensions().isEmpty());
+        assertNull(config.dateField());
+        assertTrue(config.metrics().isEmpty());
+    }
+
+    public void testPreAggregation() {
+        Settings settings = Settings.builder()
+            .putList("index.pre_aggregation.dimensions", "host", "region")
+            .put("index.pre_aggregation.date_field", "@timestamp")
+            .put("index.pre_aggregation.date_interval", "5m")
+            .putList("index.pre_aggregation.metrics", "cpu", "memory")
+            .build();
+        PreAggregationConfig config = indexSettings(settings).getPreAggregationConfig();
+        assertTrue(config.isEnabled());
+        assertThat(config.dimensions(), equalTo(Arrays.asList("host", "region")));
+        assertThat(config.dateField(), equalTo("@timestamp"));
+        assertThat(config.dateInterval(), equalTo(300_000L));
+        assertThat(config.metrics(), equalTo(Arrays.asList("cpu", "memory")));
+    }
+
+    public void testDateFieldOnly() {
+        Settings settings = Settings.builder()
+            .put("index.pre_aggregation.date_field", "@timestamp")
+            .build();
+        PreAggregationConfig config = indexSettings(settings).getPreAggregationConfig();
+        assertTrue(config.isEnabled());
+        assertThat(config.dateInterval(), equalTo(60_000L));
+    }
+
+    public void testInvalidPreAggregation() {
+        IllegalArgumentException exc = expectThrows(IllegalArgumentException.class, () -> indexSettings(Settings.builder()
+            .putList("index.pre_aggregation.dimensions", "host", "host")
+            .build()));
+        assertThat(exc.getMessage(), containsString("duplicated pre-aggregation dimension [host]"));
+
+        exc = expectThrows(IllegalArgumentException.class, () -> indexSettings(Settings.builder()
+            .putList("index.pre_aggregation.dimensions", "@timestamp")
+            .put("index.pre_aggregation.date_field", "@timestamp")
+            .build()));
+        assertThat(exc.getMessage(), containsString("pre-aggregation date field [@timestamp] cannot also be a dimension"));
+
+        exc = expectThrows(IllegalArgumentException.class, () -> indexSettings(Settings.builder()
+            .putList("index.pre_aggregation.metrics", "cpu")
+            .build()));
+        assertThat(exc.getMessage(), containsString("pre-aggregation metrics require at least one dimension or a date field"));
+
+        exc = expectThrows(IllegalArgumentException.class, () -> indexSettings(Settings.builder()
+            .putList("index.pre_aggregation.dimensions", "host")
+            .putList("index.pre_aggregation.metrics", "cpu", "cpu")
+            .build()));
+        assertThat(exc.getMessage(), containsString("duplicated pre-aggregation metrics in [cpu, cpu]"));
+    }
+}
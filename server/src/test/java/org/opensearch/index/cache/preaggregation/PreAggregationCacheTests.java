@@ -0,0 +1,272 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.index.cache.preaggregation;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.document.SortedSetDocValuesField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
+import org.opensearch.common.breaker.CircuitBreaker;
+import org.opensearch.common.breaker.CircuitBreakingException;
+import org.opensearch.common.breaker.NoopCircuitBreaker;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.index.IndexSettings;
+import org.opensearch.index.PreAggregationConfig;
+import org.opensearch.index.fielddata.IndexFieldData;
+import org.opensearch.index.fielddata.IndexFieldDataCache;
+import org.opensearch.index.mapper.DateFieldMapper;
+import org.opensearch.index.mapper.KeywordFieldMapper;
+import org.opensearch.index.mapper.MappedFieldType;
+import org.opensearch.index.mapper.NumberFieldMapper;
+import org.opensearch.indices.breaker.NoneCircuitBreakerService;
+import org.opensearch.test.IndexSettingsModule;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class PreAggregationCacheTests extends OpenSearchTestCase {
+
+    private static final long START = 1609459200000L; // 2021-01-01T00:00:00Z
+
+    private static final IndexSettings INDEX_SETTINGS = IndexSettingsModule.newIndexSettings("test", Settings.builder()
+        .putList(PreAggregationConfig.INDEX_PRE_AGGREGATION_DIMENSIONS_SETTING.getKey(), "host")
+        .put(PreAggregationConfig.INDEX_PRE_AGGREGATION_DATE_FIELD_SETTING.getKey(), "@timestamp")
+        .put(PreAggregationConfig.INDEX_PRE_AGGREGATION_DATE_INTERVAL_SETTING.getKey(), "1m")
+        .putList(PreAggregationConfig.INDEX_PRE_AGGREGATION_METRICS_SETTING.getKey(), "cpu")
+        .build());
+
+    private final Map<String, MappedFieldType> fieldTypes = new HashMap<>();
+    private final AtomicLong breakerUsed = new AtomicLong();
+    private final CircuitBreaker breaker = new NoopCircuitBreaker(CircuitBreaker.FIELDDATA) {
+        @Override
+        public double addEstimateBytesAndMaybeBreak(long bytes, String label) {
+            return breakerUsed.addAndGet(bytes);
+        }
+
+        @Override
+        public long addWithoutBreaking(long bytes) {
+            return breakerUsed.addAndGet(bytes);
+        }
+    };
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        fieldTypes.put("host", new KeywordFieldMapper.KeywordFieldType("host"));
+        fieldTypes.put("@timestamp", new DateFieldMapper.DateFieldType("@timestamp"));
+        fieldTypes.put("cpu", new NumberFieldMapper.NumberFieldType("cpu", NumberFieldMapper.NumberType.LONG));
+    }
+
+    public void testBuildCube() throws IOException {
+        Directory directory = new ByteBuffersDirectory();
+        IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig());
+        writer.addDocument(document("host-a", START + 30_000, 10));
+        writer.addDocument(document("host-a", START + 45_000, 20));
+        writer.addDocument(document("host-b", START + 61_000, 5, 7));
+        writer.addDocument(new Document());
+        writer.forceMerge(1);
+        writer.close();
+
+        DirectoryReader reader = DirectoryReader.open(directory);
+        PreAggregationCache cache = newCache();
+        LeafReaderContext leaf = reader.leaves().get(0);
+        SegmentCube cube = cache.getOrBuild(leaf);
+
+        assertThat(cube.numRows(), equalTo(3));
+        assertThat(cube.ordinal(0, 0), equalTo(0L));
+        assertThat(cube.date(0), equalTo(START));
+        assertThat(cube.docCount(0), equalTo(2L));
+        assertThat(cube.sum(0, 0), equalTo(30d));
+        assertThat(cube.min(0, 0), equalTo(10d));
+        assertThat(cube.max(0, 0), equalTo(20d));
+        assertThat(cube.valueCount(0, 0), equalTo(2L));
+
+        assertThat(cube.ordinal(1, 0), equalTo(1L));
+        assertThat(cube.date(1), equalTo(START + 60_000));
+        assertThat(cube.docCount(1), equalTo(1L));
+        assertThat(cube.sum(1, 0), equalTo(12d));
+        assertThat(cube.min(1, 0), equalTo(5d));
+        assertThat(cube.max(1, 0), equalTo(7d));
+        assertThat(cube.valueCount(1, 0), equalTo(2L));
+
+        assertThat(cube.ordinal(2, 0), equalTo(-1L));
+        assertThat(cube.date(2), equalTo(SegmentCube.MISSING_DATE));
+        assertThat(cube.docCount(2), equalTo(1L));
+        assertThat(cube.valueCount(2, 0), equalTo(0L));
+
+        assertTrue(cube.hasField("host"));
+        assertTrue(cube.hasField("cpu"));
+        assertFalse(cube.hasField("unknown"));
+
+        // the cube is built once per segment and its memory is released when the segment is closed
+        assertThat(cache.getOrBuild(leaf), sameInstance(cube));
+        assertThat(cache.count(), equalTo(1));
+        assertThat(breakerUsed.get(), greaterThan(0L));
+        assertThat(breakerUsed.get(), equalTo(cube.ramBytesUsed()));
+        reader.close();
+        assertThat(cache.count(), equalTo(0));
+        assertThat(breakerUsed.get(), equalTo(0L));
+        cache.close();
+    }
+
+    public void testMultiValuedDimension() throws IOException {
+        Directory directory = new ByteBuffersDirectory();
+        IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig());
+        writer.addDocument(document("host-a", START, 1));
+        Document document = document("host-b", START, 1);
+        document.add(new SortedSetDocValuesField("host", new BytesRef("host-c")));
+        writer.addDocument(document);
+        writer.close();
+
+        DirectoryReader reader = DirectoryReader.open(directory);
+        PreAggregationCache cache = newCache();
+        assertThat(cache.getOrBuild(reader.leaves().get(0)), nullValue());
+        // the segment is not pre-aggregated again
+        assertThat(cache.count(), equalTo(1));
+        assertThat(breakerUsed.get(), equalTo(0L));
+        reader.close();
+        assertThat(cache.count(), equalTo(0));
+        cache.close();
+    }
+
+    public void testUnmappedFields() throws IOException {
+        Directory directory = new ByteBuffersDirectory();
+        IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig());
+        writer.addDocument(document("host-a", START, 1));
+        writer.close();
+        fieldTypes.clear();
+
+        DirectoryReader reader = DirectoryReader.open(directory);
+        PreAggregationCache cache = newCache();
+        SegmentCube cube = cache.getOrBuild(reader.leaves().get(0));
+        assertThat(cube.numRows(), equalTo(1));
+        assertThat(cube.ordinal(0, 0), equalTo(-1L));
+        assertThat(cube.date(0), equalTo(SegmentCube.MISSING_DATE));
+        assertFalse(cube.hasField("host"));
+        reader.close();
+        cache.close();
+    }
+
+    public void testTooManyRows() throws IOException {
+        Directory directory = new ByteBuffersDirectory();
+        IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig());
+        for (int i = 0; i <= SegmentCube.MIN_MAX_ROWS; i++) {
+            writer.addDocument(document("host-" + i, START, i));
+        }
+        writer.forceMerge(1);
+        writer.close();
+
+        DirectoryReader reader = DirectoryReader.open(directory);
+        PreAggregationCache cache = newCache();
+        // every document is a row of its own
+        assertThat(cache.getOrBuild(reader.leaves().get(0)), nullValue());
+        assertThat(breakerUsed.get(), equalTo(0L));
+        reader.close();
+        cache.close();
+    }
+
+    public void testBreakerTripsWhileBuilding() throws IOException {
+        Directory directory = new ByteBuffersDirectory();
+        IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig());
+        for (int i = 0; i < 1000; i++) {
+            writer.addDocument(document("host-" + i, START, i));
+        }
+        writer.forceMerge(1);
+        writer.close();
+
+        DirectoryReader reader = DirectoryReader.open(directory);
+        CircuitBreaker limitedBreaker = limitedBreaker(16 * 1024);
+        // the breaker trips while the rows are grouped rather than once the cube is built
+        expectThrows(CircuitBreakingException.class, () -> SegmentCube.build(reader.leaves().get(0),
+            INDEX_SETTINGS.getPreAggregationConfig(), fieldTypes::get, this::fieldData, limitedBreaker));
+        assertThat(breakerUsed.get(), equalTo(0L));
+        reader.close();
+    }
+
+    public void testBreakerTripsThroughTheCache() throws IOException {
+        Directory directory = new ByteBuffersDirectory();
+        IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig());
+        for (int i = 0; i < 1000; i++) {
+            writer.addDocument(document("host-" + i, START, i));
+        }
+        writer.forceMerge(1);
+        writer.close();
+
+        DirectoryReader reader = DirectoryReader.open(directory);
+        PreAggregationCache cache = new PreAggregationCache(INDEX_SETTINGS, limitedBreaker(16 * 1024), fieldTypes::get,
+            this::fieldData);
+        LeafReaderContext leaf = reader.leaves().get(0);
+        // the breaker exception is not wrapped so that aggregations can fall back to the documents of the segment
+        expectThrows(CircuitBreakingException.class, () -> cache.getOrBuild(leaf));
+        assertThat(breakerUsed.get(), equalTo(0L));
+        // and the failure is not cached
+        assertThat(cache.count(), equalTo(0));
+        expectThrows(CircuitBreakingException.class, () -> cache.getOrBuild(leaf));
+        reader.close();
+        cache.close();
+    }
+
+    public void testDisabled() {
+        IllegalArgumentException e = expectThrows(IllegalArgumentException.class,
+            () -> new PreAggregationCache(IndexSettingsModule.newIndexSettings("test", Settings.EMPTY), breaker,
+                fieldTypes::get, this::fieldData));
+        assertThat(e.getMessage(), equalTo("pre-aggregation is not enabled on index [test/_na_]"));
+    }
+
+    private PreAggregationCache newCache() {
+        return new PreAggregationCache(INDEX_SETTINGS, breaker, fieldTypes::get, this::fieldData);
+    }
+
+    private CircuitBreaker limitedBreaker(long limit) {
+        return new NoopCircuitBreaker(CircuitBreaker.FIELDDATA) {
+            @Override
+            public double addEstimateBytesAndMaybeBreak(long bytes, String label) {
+                if (breakerUsed.get() + bytes > limit) {
+                    throw new CircuitBreakingException("over limit", bytes, limit, Durability.TRANSIENT);
+                }
+                return breakerUsed.addAndGet(bytes);
+            }
+
+            @Override
+            public long addWithoutBreaking(long bytes) {
+                return breakerUsed.addAndGet(bytes);
+            }
+        };
+    }
+
+    private IndexFieldData<?> fieldData(MappedFieldType fieldType) {
+        return fieldType.fielddataBuilder("test", () -> {
+            throw new UnsupportedOperationException();
+        }).build(new IndexFieldDataCache.None(), new NoneCircuitBreakerService());
+    }
+
+    private static Document document(String host, long timestamp, long... cpu) {
+        Document document = new Document();
+        document.add(new SortedSetDocValuesField("host", new BytesRef(host)));
+        document.add(new SortedNumericDocValuesField("@timestamp", timestamp));
+        for (long value : cpu) {
+            document.add(new SortedNumericDocValuesField("cpu", value));
+        }
+        return document;
+    }
+}
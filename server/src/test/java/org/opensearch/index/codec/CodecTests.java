@@ -37,12 +37,18 @@ import org.apache.lucene.codecs.Codec;
 import org.apache.lucene.codecs.lucene80.Lucene80DocValuesFormat;
 import org.apache.lucene.codecs.lucene87.Lucene87Codec;
 import org.apache.lucene.codecs.lucene87.Lucene87StoredFieldsFormat;
+import org.apache.lucene.codecs.perfield.PerFieldPostingsFormat;
 import org.apache.lucene.document.BinaryDocValuesField;
 import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.SegmentReader;
+import org.apache.lucene.index.TermsEnum;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.LuceneTestCase.SuppressCodecs;
@@ -50,6 +56,8 @@ import org.opensearch.common.settings.Settings;
 import org.opensearch.env.Environment;
 import org.opensearch.index.IndexSettings;
 import org.opensearch.index.analysis.IndexAnalyzers;
+import org.opensearch.index.engine.EngineConfig;
+import org.opensearch.index.mapper.IdFieldMapper;
 import org.opensearch.index.mapper.MapperService;
 import org.opensearch.index.similarity.SimilarityService;
 import org.opensearch.indices.mapper.MapperRegistry;
@@ -58,6 +66,7 @@ import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.test.IndexSettingsModule;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 
 import static org.hamcrest.Matchers.instanceOf;
@@ -70,6 +79,46 @@ public class CodecTests extends OpenSearchTestCase {
         assertThat(codecService.codec("default"), instanceOf(PerFieldMappingPostingFormatCodec.class));
         assertThat(codecService.codec("default"), instanceOf(Lucene87Codec.class));
         assertThat(codecService.codec("Lucene87"), instanceOf(Lucene87Codec.class));
+        assertThat(codecService.codec("lz4_high_compression"), instanceOf(LZ4HighCompressionCodec.class));
+        assertThat(codecService.codec(LZ4HighCompressionCodec.NAME), instanceOf(LZ4HighCompressionCodec.class));
+    }
+
+    public void testLZ4HighCompression() throws Exception {
+        Codec codec = createCodecService().codec("lz4_high_compression");
+        assertDVCompressionEquals(Lucene80DocValuesFormat.Mode.BEST_COMPRESSION, codec);
+        Directory dir = newDirectory();
+        IndexWriterConfig iwc = newIndexWriterConfig(null);
+        iwc.setCodec(codec);
+        IndexWriter iw = new IndexWriter(dir, iwc);
+        String[] values = new String[randomIntBetween(1, 500)];
+        for (int i = 0; i < values.length; i++) {
+            // mix of repetitive and random content so that both literals and matches are exercised
+            values[i] = randomBoolean() ? randomRealisticUnicodeOfLengthBetween(0, 2000) : "{\"field\":\"" + randomAlphaOfLength(5) + "\"}";
+            Document doc = new Document();
+            doc.add(new StoredField("id", i));
+            doc.add(new StoredField("source", values[i]));
+            iw.addDocument(doc);
+            if (rarely()) {
+                iw.commit();
+            }
+        }
+        if (randomBoolean()) {
+            iw.forceMerge(1);
+        }
+        iw.commit();
+        iw.close();
+        try (DirectoryReader ir = DirectoryReader.open(dir)) {
+            assertEquals(values.length, ir.maxDoc());
+            for (LeafReaderContext leaf : ir.leaves()) {
+                SegmentReader sr = (SegmentReader) leaf.reader();
+                assertEquals(LZ4HighCompressionCodec.NAME, sr.getSegmentInfo().info.getCodec().getName());
+            }
+            for (int docId = 0; docId < ir.maxDoc(); docId++) {
+                Document doc = ir.document(docId);
+                assertEquals(values[doc.getField("id").numericValue().intValue()], doc.get("source"));
+            }
+        }
+        dir.close();
     }
 
     public void testDefault() throws Exception {
@@ -84,6 +133,51 @@ public class CodecTests extends OpenSearchTestCase {
         assertStoredFieldsFormatCompressionEquals(Lucene87StoredFieldsFormat.Mode.BEST_COMPRESSION, codec);
     }
 
+    public void testIdBloomFilter() throws Exception {
+        Codec codec = createCodecService(Settings.builder().put(EngineConfig.INDEX_ID_BLOOM_FILTER_SETTING.getKey(), true).build())
+            .codec("default");
+        Directory dir = newDirectory();
+        IndexWriterConfig iwc = newIndexWriterConfig(null);
+        iwc.setCodec(codec);
+        IndexWriter iw = new IndexWriter(dir, iwc);
+        int numDocs = randomIntBetween(1, 200);
+        for (int i = 0; i < numDocs; i++) {
+            Document doc = new Document();
+            doc.add(new StringField(IdFieldMapper.NAME, new BytesRef("id-" + i), Field.Store.NO));
+            doc.add(new StringField("other", new BytesRef("id-" + i), Field.Store.NO));
+            iw.addDocument(doc);
+            if (rarely()) {
+                iw.commit();
+            }
+        }
+        if (randomBoolean()) {
+            iw.forceMerge(1);
+        }
+        iw.commit();
+        iw.close();
+        assertTrue(Arrays.stream(dir.listAll()).anyMatch(file -> file.endsWith("." + IdBloomFilterPostingsFormat.BLOOM_EXTENSION)));
+        try (DirectoryReader ir = DirectoryReader.open(dir)) {
+            int found = 0;
+            for (LeafReaderContext leaf : ir.leaves()) {
+                SegmentReader sr = (SegmentReader) leaf.reader();
+                assertEquals(IdBloomFilterPostingsFormat.NAME,
+                    sr.getFieldInfos().fieldInfo(IdFieldMapper.NAME).getAttribute(PerFieldPostingsFormat.PER_FIELD_FORMAT_KEY));
+                assertNotEquals(IdBloomFilterPostingsFormat.NAME,
+                    sr.getFieldInfos().fieldInfo("other").getAttribute(PerFieldPostingsFormat.PER_FIELD_FORMAT_KEY));
+                TermsEnum termsEnum = leaf.reader().terms(IdFieldMapper.NAME).iterator();
+                for (int i = 0; i < numDocs; i++) {
+                    if (termsEnum.seekExact(new BytesRef("id-" + i))) {
+                        found++;
+                    }
+                    assertFalse(termsEnum.seekExact(new BytesRef("missing-" + i)));
+                }
+                assertEquals(leaf.reader().terms("other").size(), leaf.reader().terms(IdFieldMapper.NAME).size());
+            }
+            assertEquals(numDocs, found);
+        }
+        dir.close();
+    }
+
     private void assertDVCompressionEquals(Lucene80DocValuesFormat.Mode expected, Codec actual) throws Exception {
         Directory dir = newDirectory();
         IndexWriterConfig iwc = newIndexWriterConfig(null);
@@ -122,10 +216,15 @@ public class CodecTests extends OpenSearchTestCase {
     }
 
     private CodecService createCodecService() throws IOException {
+        return createCodecService(Settings.EMPTY);
+    }
+
+    private CodecService createCodecService(Settings indexSettings) throws IOException {
         Settings nodeSettings = Settings.builder()
                 .put(Environment.PATH_HOME_SETTING.getKey(), createTempDir())
                 .build();
-        IndexSettings settings = IndexSettingsModule.newIndexSettings("_na", nodeSettings);
+        IndexSettings settings = IndexSettingsModule.newIndexSettings("_na",
+                Settings.builder().put(nodeSettings).put(indexSettings).build());
         SimilarityService similarityService = new SimilarityService(settings, null, Collections.emptyMap());
         IndexAnalyzers indexAnalyzers = createTestAnalysis(settings, nodeSettings).indexAnalyzers;
         MapperRegistry mapperRegistry = new MapperRegistry(Collections.emptyMap(), Collections.emptyMap(), MapperPlugin.NOOP_FIELD_FILTER);
@@ -102,6 +102,7 @@ import org.opensearch.common.breaker.CircuitBreaker;
 import org.opensearch.common.bytes.BytesArray;
 import org.opensearch.common.bytes.BytesReference;
 import org.opensearch.common.collect.Tuple;
+import org.opensearch.common.lease.Releasable;
 import org.opensearch.common.logging.Loggers;
 import org.opensearch.common.lucene.Lucene;
 import org.opensearch.common.lucene.index.OpenSearchDirectoryReader;
@@ -1873,6 +1874,44 @@ public class InternalEngineTests extends EngineTestCase {
         assertThat(indexResult.getFailure(), instanceOf(VersionConflictEngineException.class));
     }
 
+    public void testPrefetchedVersions() throws IOException {
+        final int numDocs = randomIntBetween(2, 20);
+        for (int i = 0; i < numDocs; i++) {
+            engine.index(indexForDoc(createParsedDoc(Integer.toString(i), null)));
+        }
+        engine.refresh("test");
+        // switches the version map to safe access, which refreshes
+        engine.index(indexForDoc(createParsedDoc("safe_access", null)));
+
+        final List<Term> uids = new ArrayList<>();
+        for (int i = 0; i < numDocs * 2; i++) {
+            uids.add(newUid(Integer.toString(i)));
+        }
+        final long indexVersionLookups = engine.getNumIndexVersionsLookups();
+        try (Releasable ignored = engine.prefetchVersions(uids)) {
+            for (int i = 0; i < numDocs * 2; i++) {
+                final ParsedDocument doc = createParsedDoc(Integer.toString(i), null);
+                final Engine.IndexResult result = engine.index(new Engine.Index(newUid(doc), primaryTerm.get(), doc,
+                    Versions.MATCH_DELETED));
+                if (i < numDocs) {
+                    assertThat(result.getResultType(), equalTo(Engine.Result.Type.FAILURE));
+                    assertThat(result.getFailure(), instanceOf(VersionConflictEngineException.class));
+                } else {
+                    assertThat(result.getResultType(), equalTo(Engine.Result.Type.SUCCESS));
+                }
+            }
+            assertThat(engine.getNumIndexVersionsLookups(), equalTo(indexVersionLookups));
+
+            // the documents created above are not in the version map anymore, and were missing when their versions were prefetched
+            engine.refresh("test");
+            final ParsedDocument doc = createParsedDoc(Integer.toString(numDocs), null);
+            final Engine.IndexResult result = engine.index(new Engine.Index(newUid(doc), primaryTerm.get(), doc,
+                Versions.MATCH_DELETED));
+            assertThat(result.getFailure(), instanceOf(VersionConflictEngineException.class));
+            assertThat(engine.getNumIndexVersionsLookups(), equalTo(indexVersionLookups + 1));
+        }
+    }
+
     public void testOutOfOrderDocsOnReplica() throws IOException {
         final List<Engine.Operation> ops = generateSingleDocHistory(true,
             randomFrom(VersionType.INTERNAL, VersionType.EXTERNAL, VersionType.EXTERNAL_GTE),
@@ -37,6 +37,7 @@ import org.apache.lucene.util.BytesRefBuilder;
 import org.apache.lucene.util.Constants;
 import org.apache.lucene.util.RamUsageTester;
 import org.apache.lucene.util.TestUtil;
+import org.opensearch.Assertions;
 import org.opensearch.common.lease.Releasable;
 import org.opensearch.index.translog.Translog;
 import org.opensearch.test.OpenSearchTestCase;
@@ -425,6 +426,36 @@ public class LiveVersionMapTests extends OpenSearchTestCase {
         assertEquals(0, map.getAllTombstones().size());
     }
 
+    public void testLockAssertionChecksTheUid() throws IOException {
+        assumeTrue("requires assertions", Assertions.ENABLED);
+        LiveVersionMap map = new LiveVersionMap();
+        BytesRef uid = uid("1");
+        // a uid that shares the lock stripe of the first one
+        BytesRef sameStripe;
+        do {
+            sameStripe = uid(randomAlphaOfLength(8));
+        } while (stripe(sameStripe) != stripe(uid));
+
+        try (Releasable ignore = map.acquireLock(sameStripe)) {
+            expectThrows(AssertionError.class, () -> map.getUnderLock(uid));
+            assertNull(map.getUnderLock(sameStripe));
+        }
+        try (Releasable outer = map.acquireLock(uid)) {
+            try (Releasable inner = map.acquireLock(uid)) {
+                assertNull(map.getUnderLock(uid));
+            }
+            // still held by the outer lock
+            assertNull(map.getUnderLock(uid));
+        }
+        expectThrows(AssertionError.class, () -> map.getUnderLock(uid));
+    }
+
+    private static int stripe(BytesRef uid) {
+        // the stripe StripedLock hashes the uid onto
+        final int h = uid.hashCode();
+        return (h ^ (h >>> 16)) & (LiveVersionMap.UID_LOCK_STRIPES - 1);
+    }
+
     public void testRandomlyIndexDeleteAndRefresh() throws Exception {
         final LiveVersionMap versionMap = new LiveVersionMap();
         final BytesRef uid = uid("1");
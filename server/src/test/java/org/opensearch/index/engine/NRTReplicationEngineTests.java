@@ -0,0 +1,190 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.index.engine;
+
+import org.apache.lucene.search.ReferenceManager;
+import org.apache.lucene.store.IOContext;
+import org.opensearch.common.metrics.MeanMetric;
+import org.opensearch.index.mapper.ParsedDocument;
+import org.opensearch.index.seqno.SequenceNumbers;
+import org.opensearch.index.shard.RefreshListeners;
+import org.opensearch.index.store.Store;
+import org.opensearch.index.store.StoreFileMetadata;
+import org.opensearch.index.translog.Translog;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+public class NRTReplicationEngineTests extends EngineTestCase {
+
+    public void testOperationsAreOnlyAddedToTheTranslog() throws IOException {
+        try (Store replicaStore = createStore();
+             NRTReplicationEngine replicaEngine = createReplicaEngine(replicaStore, createTempDir())) {
+            final int numDocs = randomIntBetween(1, 100);
+            indexOnPrimaryAndReplica(replicaEngine, numDocs);
+
+            assertThat(getDocIds(replicaEngine, true), empty());
+            assertThat(replicaEngine.getSeqNoStats(SequenceNumbers.NO_OPS_PERFORMED).getLocalCheckpoint(), equalTo((long) numDocs - 1));
+            assertThat(replicaEngine.getTranslogStats().estimatedNumberOfOperations(), equalTo(numDocs));
+        }
+    }
+
+    public void testOpenLatestCommit() throws IOException {
+        try (Store replicaStore = createStore();
+             NRTReplicationEngine replicaEngine = createReplicaEngine(replicaStore, createTempDir())) {
+            final int numDocs = randomIntBetween(1, 100);
+            indexOnPrimaryAndReplica(replicaEngine, numDocs);
+            engine.flush(true, true);
+            copyLastCommit(replicaStore);
+
+            replicaEngine.openLatestCommit();
+            assertThat(getDocIds(replicaEngine, false), equalTo(getDocIds(engine, true)));
+            // the replica does not commit on top of the copied commit
+            assertThat(replicaStore.readLastCommittedSegmentsInfo().getId(), equalTo(store.readLastCommittedSegmentsInfo().getId()));
+            assertThat(replicaStore.readLastCommittedSegmentsInfo().getUserData().get(Translog.TRANSLOG_UUID_KEY),
+                equalTo(engine.getTranslog().getTranslogUUID()));
+            assertThat(replicaEngine.getTranslog().getDeletionPolicy().getLocalCheckpointOfSafeCommit(), equalTo((long) numDocs - 1));
+
+            // operations that are not contained in the copied commit are still replayed on promotion
+            final int moreDocs = randomIntBetween(1, 10);
+            indexOnPrimaryAndReplica(replicaEngine, moreDocs);
+            int operationsAboveCommit = 0;
+            try (Translog.Snapshot snapshot = replicaEngine.getTranslog().newSnapshot(numDocs, Long.MAX_VALUE)) {
+                while (snapshot.next() != null) {
+                    operationsAboveCommit++;
+                }
+            }
+            assertThat(operationsAboveCommit, equalTo(moreDocs));
+        }
+    }
+
+    public void testReopenOnCopiedCommit() throws IOException {
+        final Path translogPath = createTempDir();
+        try (Store replicaStore = createStore()) {
+            final String translogUUID;
+            final List<DocIdSeqNoAndSource> copiedDocs;
+            final int numDocs = randomIntBetween(1, 100);
+            final int moreDocs = randomIntBetween(0, 10);
+            try (NRTReplicationEngine replicaEngine = createReplicaEngine(replicaStore, translogPath)) {
+                translogUUID = replicaEngine.getTranslog().getTranslogUUID();
+                indexOnPrimaryAndReplica(replicaEngine, numDocs);
+                engine.flush(true, true);
+                copiedDocs = getDocIds(engine, true);
+                copyLastCommit(replicaStore);
+                replicaEngine.openLatestCommit();
+                indexOnPrimaryAndReplica(replicaEngine, moreDocs);
+                replicaEngine.syncTranslog();
+            }
+
+            // the engine finds its translog although the copied commit records the translog of the primary
+            try (NRTReplicationEngine replicaEngine = new NRTReplicationEngine(
+                config(defaultSettings, replicaStore, translogPath, newMergePolicy(), null))) {
+                assertThat(replicaEngine.getTranslog().getTranslogUUID(), equalTo(translogUUID));
+                assertThat(getDocIds(replicaEngine, false), equalTo(copiedDocs));
+                int operationsAboveCommit = 0;
+                try (Translog.Snapshot snapshot = replicaEngine.getTranslog().newSnapshot(numDocs, Long.MAX_VALUE)) {
+                    while (snapshot.next() != null) {
+                        operationsAboveCommit++;
+                    }
+                }
+                assertThat(operationsAboveCommit, equalTo(moreDocs));
+            }
+        }
+    }
+
+    public void testRefreshListenersWaitForTheCopiedCommit() throws IOException {
+        final RefreshListeners refreshListeners = new RefreshListeners(() -> 1, () -> {
+            throw new AssertionError("a refresh does not make the operations of the replica visible");
+        }, logger, threadPool.getThreadContext(), new MeanMetric());
+        refreshListeners.setForcedRefreshMakesOperationsVisible(false);
+        try (Store replicaStore = createStore();
+             NRTReplicationEngine replicaEngine = createReplicaEngine(replicaStore, createTempDir(), refreshListeners)) {
+            refreshListeners.setCurrentRefreshLocationSupplier(replicaEngine::getTranslogLastWriteLocation);
+            final AtomicInteger flushedListenersCalled = new AtomicInteger();
+            final List<Translog.Location> flushedLocations = indexOnPrimaryAndReplica(replicaEngine, randomIntBetween(1, 10));
+            for (Translog.Location location : flushedLocations) {
+                // there are more listeners than slots, but they still wait for the operations to become visible
+                assertFalse(refreshListeners.addOrNotify(location, forced -> {
+                    assertFalse(forced);
+                    flushedListenersCalled.incrementAndGet();
+                }));
+            }
+            replicaEngine.refresh("test");
+            assertThat(flushedListenersCalled.get(), equalTo(0));
+
+            engine.flush(true, true);
+            final AtomicInteger unflushedListenersCalled = new AtomicInteger();
+            final List<Translog.Location> unflushedLocations = indexOnPrimaryAndReplica(replicaEngine, randomIntBetween(1, 10));
+            for (Translog.Location location : unflushedLocations) {
+                assertFalse(refreshListeners.addOrNotify(location, forced -> unflushedListenersCalled.incrementAndGet()));
+            }
+            copyLastCommit(replicaStore);
+            replicaEngine.openLatestCommit();
+            assertThat(flushedListenersCalled.get(), equalTo(flushedLocations.size()));
+            assertThat(unflushedListenersCalled.get(), equalTo(0));
+            assertThat(refreshListeners.pendingCount(), equalTo(unflushedLocations.size()));
+
+            // the next commit copied from the primary contains the remaining operations
+            engine.flush(true, true);
+            copyLastCommit(replicaStore);
+            replicaEngine.openLatestCommit();
+            assertThat(unflushedListenersCalled.get(), equalTo(unflushedLocations.size()));
+            assertThat(refreshListeners.pendingCount(), equalTo(0));
+        }
+    }
+
+    private NRTReplicationEngine createReplicaEngine(Store replicaStore, Path translogPath) throws IOException {
+        return createReplicaEngine(replicaStore, translogPath, null);
+    }
+
+    private NRTReplicationEngine createReplicaEngine(Store replicaStore, Path translogPath,
+                                                     ReferenceManager.RefreshListener refreshListener) throws IOException {
+        replicaStore.createEmpty(defaultSettings.getIndexVersionCreated().luceneVersion);
+        Translog.createEmptyTranslog(translogPath, SequenceNumbers.NO_OPS_PERFORMED, shardId, primaryTerm.get());
+        return new NRTReplicationEngine(config(defaultSettings, replicaStore, translogPath, newMergePolicy(), refreshListener));
+    }
+
+    /**
+     * Indexes documents on the primary and the replica, and returns their translog locations on the replica.
+     */
+    private List<Translog.Location> indexOnPrimaryAndReplica(NRTReplicationEngine replicaEngine, int numDocs) throws IOException {
+        final List<Translog.Location> locations = new ArrayList<>();
+        for (int i = 0; i < numDocs; i++) {
+            final ParsedDocument doc = createParsedDoc(randomAlphaOfLength(10), null);
+            final Engine.IndexResult result = engine.index(indexForDoc(doc));
+            locations.add(replicaEngine.index(replicaIndexForDoc(doc, result.getVersion(), result.getSeqNo(), false))
+                .getTranslogLocation());
+        }
+        return locations;
+    }
+
+    /**
+     * Copies the files of the last commit of the primary that the replica does not have, the way segment replication does.
+     */
+    private void copyLastCommit(Store replicaStore) throws IOException {
+        final Store.MetadataSnapshot sourceMetadata;
+        try (Engine.IndexCommitRef commitRef = engine.acquireLastIndexCommit(false)) {
+            sourceMetadata = store.getMetadata(commitRef.getIndexCommit());
+            final Store.RecoveryDiff diff = sourceMetadata.recoveryDiff(replicaStore.getMetadata(null));
+            final List<StoreFileMetadata> filesToCopy = new ArrayList<>(diff.different);
+            filesToCopy.addAll(diff.missing);
+            for (StoreFileMetadata file : filesToCopy) {
+                replicaStore.deleteQuiet(file.name());
+                replicaStore.directory().copyFrom(store.directory(), file.name(), file.name(), IOContext.DEFAULT);
+            }
+        }
+        replicaStore.cleanupAndVerify("test", sourceMetadata);
+    }
+}
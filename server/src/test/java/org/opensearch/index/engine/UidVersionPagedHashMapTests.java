@@ -0,0 +1,132 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.index.engine;
+
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.TestUtil;
+import org.opensearch.index.translog.Translog;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+public class UidVersionPagedHashMapTests extends OpenSearchTestCase {
+
+    public void testEmpty() {
+        UidVersionPagedHashMap map = new UidVersionPagedHashMap();
+        assertTrue(map.isEmpty());
+        assertThat(map.size(), equalTo(0));
+        assertThat(map.ramBytesUsed(), equalTo(0L));
+        assertNull(map.get(uid("1")));
+        assertFalse(map.remove(uid("1")));
+        assertTrue(map.snapshot().isEmpty());
+    }
+
+    public void testAgainstHashMap() {
+        UidVersionPagedHashMap map = new UidVersionPagedHashMap();
+        Map<BytesRef, VersionValue> expected = new HashMap<>();
+        List<BytesRef> uids = randomUids(randomIntBetween(1, 5000));
+        long ramBytesUsed = 0;
+        final int iters = randomIntBetween(1, 20000);
+        for (int i = 0; i < iters; i++) {
+            final BytesRef uid = randomFrom(uids);
+            if (rarely()) {
+                assertThat(map.remove(uid), equalTo(expected.remove(uid) != null));
+            } else {
+                final IndexVersionValue value = randomIndexVersionValue();
+                map.put(uid, value);
+                expected.put(uid, value);
+            }
+            assertThat(map.get(uid), equalTo(expected.get(uid)));
+            assertThat(map.size(), equalTo(expected.size()));
+            assertThat(map.isEmpty(), equalTo(expected.isEmpty()));
+            // removed entries are only reclaimed when the map is dropped
+            assertThat(map.ramBytesUsed(), greaterThanOrEqualTo(ramBytesUsed));
+            ramBytesUsed = map.ramBytesUsed();
+        }
+        for (BytesRef uid : uids) {
+            assertThat(map.get(uid), equalTo(expected.get(uid)));
+        }
+        assertThat(map.snapshot(), equalTo(expected));
+    }
+
+    public void testUidsAreCopied() {
+        UidVersionPagedHashMap map = new UidVersionPagedHashMap();
+        byte[] bytes = new byte[] { 'a', 'b', 'c', 'd' };
+        BytesRef uid = new BytesRef(bytes, 1, 2);
+        IndexVersionValue value = randomIndexVersionValue();
+        map.put(uid, value);
+        bytes[1] = 'x';
+        assertNull(map.get(uid));
+        assertThat(map.get(uid("bc")), equalTo(value));
+    }
+
+    public void testConcurrentPuts() throws InterruptedException {
+        UidVersionPagedHashMap map = new UidVersionPagedHashMap();
+        final int numThreads = randomIntBetween(2, 8);
+        final List<List<BytesRef>> uidsPerThread = new ArrayList<>();
+        final List<BytesRef> allUids = randomUids(numThreads * randomIntBetween(100, 1000));
+        final int uidsPerThreadCount = allUids.size() / numThreads;
+        for (int i = 0; i < numThreads; i++) {
+            uidsPerThread.add(allUids.subList(i * uidsPerThreadCount, (i + 1) * uidsPerThreadCount));
+        }
+        final CountDownLatch startGun = new CountDownLatch(1);
+        final Thread[] threads = new Thread[numThreads];
+        for (int i = 0; i < numThreads; i++) {
+            final List<BytesRef> uids = uidsPerThread.get(i);
+            threads[i] = new Thread(() -> {
+                try {
+                    startGun.await();
+                } catch (InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+                for (int j = 0; j < uids.size(); j++) {
+                    map.put(uids.get(j), new IndexVersionValue(null, j, j, 1));
+                }
+            });
+            threads[i].start();
+        }
+        startGun.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(map.size(), equalTo(numThreads * uidsPerThreadCount));
+        for (List<BytesRef> uids : uidsPerThread) {
+            for (int j = 0; j < uids.size(); j++) {
+                assertThat(map.get(uids.get(j)), equalTo(new IndexVersionValue(null, j, j, 1)));
+            }
+        }
+    }
+
+    private static BytesRef uid(String id) {
+        return new BytesRef(id);
+    }
+
+    private List<BytesRef> randomUids(int count) {
+        final Set<BytesRef> uids = new HashSet<>();
+        while (uids.size() < count) {
+            uids.add(uid(TestUtil.randomSimpleString(random(), 1, 20)));
+        }
+        return new ArrayList<>(uids);
+    }
+
+    private IndexVersionValue randomIndexVersionValue() {
+        final Translog.Location location = randomBoolean() ? null
+            : new Translog.Location(randomNonNegativeLong(), randomNonNegativeLong(), randomInt());
+        return new IndexVersionValue(location, randomNonNegativeLong(), randomNonNegativeLong(), randomNonNegativeLong());
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.index.fielddata.ordinals;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.SortedSetDocValuesField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
+import org.opensearch.common.breaker.CircuitBreaker;
+import org.opensearch.common.breaker.CircuitBreakingException;
+import org.opensearch.common.hash.MurmurHash3;
+import org.opensearch.common.lucene.index.OpenSearchDirectoryReader;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.index.Index;
+import org.opensearch.index.fielddata.IndexFieldDataCache;
+import org.opensearch.index.fielddata.plain.AbstractLeafOrdinalsFieldData;
+import org.opensearch.index.fielddata.plain.SortedSetOrdinalsIndexFieldData;
+import org.opensearch.index.shard.ShardId;
+import org.opensearch.indices.breaker.CircuitBreakerService;
+import org.opensearch.indices.breaker.HierarchyCircuitBreakerService;
+import org.opensearch.indices.fielddata.cache.IndicesFieldDataCache;
+import org.opensearch.search.aggregations.support.CoreValuesSourceType;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class OrdinalHashesTests extends OpenSearchTestCase {
+
+    public void testBuild() throws IOException {
+        try (Directory dir = newDirectory()) {
+            indexRandomTerms(dir);
+            try (DirectoryReader reader = DirectoryReader.open(dir)) {
+                CircuitBreaker breaker = breakerService(Settings.EMPTY).getBreaker(CircuitBreaker.FIELDDATA);
+                SortedSetDocValues values = DocValues.getSortedSet(reader.leaves().get(0).reader(), "field");
+                OrdinalHashes hashes = OrdinalHashes.build(values, breaker, "field");
+                assertThat(hashes.size(), equalTo((int) values.getValueCount()));
+                assertThat(breaker.getUsed(), equalTo(hashes.ramBytesUsed()));
+                assertThat(hashes.ramBytesUsed(), equalTo(OrdinalHashes.ramBytesUsed(values.getValueCount())));
+                MurmurHash3.Hash128 hash = new MurmurHash3.Hash128();
+                for (long ord = 0; ord < values.getValueCount(); ord++) {
+                    BytesRef term = values.lookupOrd(ord);
+                    MurmurHash3.hash128(term.bytes, term.offset, term.length, 0, hash);
+                    assertThat(hashes.hash(ord), equalTo(hash.h1));
+                }
+            }
+        }
+    }
+
+    public void testBreakerTripped() throws IOException {
+        try (Directory dir = newDirectory()) {
+            indexRandomTerms(dir);
+            try (DirectoryReader reader = DirectoryReader.open(dir)) {
+                Settings settings = Settings.builder()
+                    .put(HierarchyCircuitBreakerService.FIELDDATA_CIRCUIT_BREAKER_LIMIT_SETTING.getKey(), "16b")
+                    .build();
+                CircuitBreaker breaker = breakerService(settings).getBreaker(CircuitBreaker.FIELDDATA);
+                SortedSetDocValues values = DocValues.getSortedSet(reader.leaves().get(0).reader(), "field");
+                expectThrows(CircuitBreakingException.class, () -> OrdinalHashes.build(values, breaker, "field"));
+                assertThat(breaker.getUsed(), equalTo(0L));
+            }
+        }
+    }
+
+    public void testLoadFromFieldDataCache() throws IOException {
+        try (Directory dir = newDirectory()) {
+            indexRandomTerms(dir);
+            try (DirectoryReader reader = OpenSearchDirectoryReader.wrap(DirectoryReader.open(dir), new ShardId("_index", "_na_", 0))) {
+                CircuitBreakerService breakerService = breakerService(Settings.EMPTY);
+                CircuitBreaker breaker = breakerService.getBreaker(CircuitBreaker.FIELDDATA);
+                IndicesFieldDataCache indicesFieldDataCache = new IndicesFieldDataCache(Settings.EMPTY, new IndexFieldDataCache.Listener() {
+                    @Override
+                    public void onRemoval(ShardId shardId, String fieldName, boolean wasEvicted, long sizeInBytes) {
+                        breaker.addWithoutBreaking(-sizeInBytes);
+                    }
+                });
+                IndexFieldDataCache cache = indicesFieldDataCache.buildIndexFieldDataCache(new IndexFieldDataCache.Listener() {},
+                    new Index("_index", "_na_"), "field");
+                SortedSetOrdinalsIndexFieldData fieldData = new SortedSetOrdinalsIndexFieldData(cache, "field",
+                    CoreValuesSourceType.BYTES, breakerService, AbstractLeafOrdinalsFieldData.DEFAULT_SCRIPT_FUNCTION);
+
+                LeafReaderContext context = reader.leaves().get(0);
+                OrdinalHashes hashes = fieldData.loadOrdinalHashes(context);
+                assertThat(hashes.size(), equalTo((int) fieldData.load(context).getOrdinalsValues().getValueCount()));
+                assertThat(fieldData.loadOrdinalHashes(context), sameInstance(hashes));
+                assertThat(breaker.getUsed(), equalTo(hashes.ramBytesUsed()));
+
+                cache.clear();
+                assertThat(breaker.getUsed(), equalTo(0L));
+                indicesFieldDataCache.close();
+
+                SortedSetOrdinalsIndexFieldData uncached = new SortedSetOrdinalsIndexFieldData(new IndexFieldDataCache.None(), "field",
+                    CoreValuesSourceType.BYTES, breakerService, AbstractLeafOrdinalsFieldData.DEFAULT_SCRIPT_FUNCTION);
+                assertThat(uncached.loadOrdinalHashes(context), nullValue());
+            }
+        }
+    }
+
+    private static CircuitBreakerService breakerService(Settings settings) {
+        return new HierarchyCircuitBreakerService(settings, Collections.emptyList(),
+            new ClusterSettings(settings, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS));
+    }
+
+    private static void indexRandomTerms(Directory dir) throws IOException {
+        try (IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig())) {
+            int numDocs = randomIntBetween(1, 500);
+            for (int i = 0; i < numDocs; i++) {
+                Document document = new Document();
+                int numValues = randomIntBetween(1, 3);
+                for (int j = 0; j < numValues; j++) {
+                    document.add(new SortedSetDocValuesField("field", new BytesRef(randomAlphaOfLengthBetween(1, 8))));
+                }
+                writer.addDocument(document);
+            }
+            writer.forceMerge(1);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.index.translog;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.Matchers.equalTo;
+
+public class TranslogSyncCoordinatorTests extends OpenSearchTestCase {
+
+    public void testPendingSyncsOfManyShardsShareARound() throws Exception {
+        final TranslogSyncCoordinator coordinator = new TranslogSyncCoordinator(new ThreadContext(Settings.EMPTY));
+        final CountDownLatch firstFsyncStarted = new CountDownLatch(1);
+        final CountDownLatch releaseFirstFsync = new CountDownLatch(1);
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        final Thread first = new Thread(() -> {
+            try {
+                assertThat(coordinator.sync(1, () -> {
+                    firstFsyncStarted.countDown();
+                    try {
+                        releaseFirstFsync.await();
+                    } catch (InterruptedException e) {
+                        throw new AssertionError(e);
+                    }
+                }), equalTo(1));
+            } catch (Exception | AssertionError e) {
+                failure.compareAndSet(null, new Exception(e));
+            }
+        });
+        first.start();
+        firstFsyncStarted.await();
+
+        // every shard that asks for a sync while the first round runs waits for the next round
+        final int numShards = randomIntBetween(2, 8);
+        final int[] requests = new int[numShards];
+        final int totalRequests;
+        {
+            int total = 0;
+            for (int i = 0; i < numShards; i++) {
+                requests[i] = randomIntBetween(1, 16);
+                total += requests[i];
+            }
+            totalRequests = total;
+        }
+        final AtomicInteger fsyncs = new AtomicInteger();
+        final Thread[] shards = new Thread[numShards];
+        for (int i = 0; i < numShards; i++) {
+            final int shard = i;
+            shards[i] = new Thread(() -> {
+                try {
+                    assertThat(coordinator.sync(requests[shard], fsyncs::incrementAndGet), equalTo(totalRequests));
+                } catch (Exception | AssertionError e) {
+                    failure.compareAndSet(null, new Exception(e));
+                }
+            });
+            shards[i].start();
+        }
+        assertBusy(() -> {
+            for (Thread shard : shards) {
+                assertThat(shard.getState(), equalTo(Thread.State.WAITING));
+            }
+        });
+        releaseFirstFsync.countDown();
+
+        first.join();
+        for (Thread shard : shards) {
+            shard.join();
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        assertThat(fsyncs.get(), equalTo(numShards));
+    }
+
+    public void testFailingFsyncOnlyFailsItsShard() throws Exception {
+        final TranslogSyncCoordinator coordinator = new TranslogSyncCoordinator(new ThreadContext(Settings.EMPTY));
+        final IOException e = expectThrows(IOException.class, () -> coordinator.sync(1, () -> {
+            throw new IOException("disk failure");
+        }));
+        assertThat(e.getMessage(), equalTo("disk failure"));
+
+        final AtomicInteger fsyncs = new AtomicInteger();
+        assertThat(coordinator.sync(3, fsyncs::incrementAndGet), equalTo(3));
+        assertThat(fsyncs.get(), equalTo(1));
+    }
+}
@@ -500,7 +500,9 @@ public class TranslogTests extends OpenSearchTestCase {
                 builder.endObject();
                 assertThat(Strings.toString(builder), equalTo("{\"translog\":{\"operations\":4,\"size_in_bytes\":" + 355
                     + ",\"uncommitted_operations\":4,\"uncommitted_size_in_bytes\":" + 300
-                    + ",\"earliest_last_modified_age\":" + stats.getEarliestLastModifiedAge() + "}}"));
+                    + ",\"earliest_last_modified_age\":" + stats.getEarliestLastModifiedAge()
+                    + ",\"sync\":{\"batch_size\":" + emptyHistogram(TranslogStats.SYNC_BATCH_SIZE_BOUNDS)
+                    + ",\"wait_time_in_millis\":" + emptyHistogram(TranslogStats.SYNC_WAIT_TIME_BOUNDS_MILLIS) + "}}}"));
             }
         }
         translog.getDeletionPolicy().setLocalCheckpointOfSafeCommit(randomLongBetween(3, Long.MAX_VALUE));
@@ -516,6 +518,14 @@ public class TranslogTests extends OpenSearchTestCase {
         }
     }
 
+    private static String emptyHistogram(long[] bounds) {
+        final StringBuilder histogram = new StringBuilder("[");
+        for (long bound : bounds) {
+            histogram.append("{\"le\":").append(bound).append(",\"count\":0},");
+        }
+        return histogram.append("{\"gt\":").append(bounds[bounds.length - 1]).append(",\"count\":0}]").toString();
+    }
+
     public void testUncommittedOperations() throws Exception {
         final TranslogDeletionPolicy deletionPolicy = translog.getDeletionPolicy();
         deletionPolicy.setRetentionAgeInMillis(randomLong());
@@ -556,6 +566,11 @@ public class TranslogTests extends OpenSearchTestCase {
         for (int i = 0; i < n; i++) {
             final TranslogStats stats = new TranslogStats(randomIntBetween(1, 4096), randomIntBetween(1, 1 << 20),
                 randomIntBetween(1, 1 << 20), randomIntBetween(1, 4096), randomIntBetween(1, 1 << 20));
+            final long[] syncBatchSizes = new long[TranslogStats.SYNC_BATCH_SIZE_BOUNDS.length + 1];
+            final long[] syncWaitTimes = new long[TranslogStats.SYNC_WAIT_TIME_BOUNDS_MILLIS.length + 1];
+            syncBatchSizes[randomIntBetween(0, syncBatchSizes.length - 1)] = randomIntBetween(1, 4096);
+            syncWaitTimes[randomIntBetween(0, syncWaitTimes.length - 1)] = randomIntBetween(1, 4096);
+            stats.addSyncStats(syncBatchSizes, syncWaitTimes);
             statsList.add(stats);
             total.add(stats);
             if (earliestLastModifiedAge > stats.getEarliestLastModifiedAge()) {
@@ -578,6 +593,16 @@ public class TranslogTests extends OpenSearchTestCase {
         assertThat(
             total.getEarliestLastModifiedAge(),
             equalTo(earliestLastModifiedAge));
+        for (int i = 0; i <= TranslogStats.SYNC_BATCH_SIZE_BOUNDS.length; i++) {
+            final int bucket = i;
+            assertThat(total.getSyncBatchSizes()[bucket],
+                equalTo(statsList.stream().mapToLong(stats -> stats.getSyncBatchSizes()[bucket]).sum()));
+        }
+        for (int i = 0; i <= TranslogStats.SYNC_WAIT_TIME_BOUNDS_MILLIS.length; i++) {
+            final int bucket = i;
+            assertThat(total.getSyncWaitTimes()[bucket],
+                equalTo(statsList.stream().mapToLong(stats -> stats.getSyncWaitTimes()[bucket]).sum()));
+        }
     }
 
     public void testNegativeNumberOfOperations() {
@@ -0,0 +1,106 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.indices;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
+import org.opensearch.common.io.stream.NamedWriteableRegistry;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.search.DocValueFormat;
+import org.opensearch.search.SearchModule;
+import org.opensearch.search.aggregations.InternalAggregation;
+import org.opensearch.search.aggregations.metrics.InternalMax;
+import org.opensearch.search.aggregations.metrics.MaxAggregationBuilder;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class IndicesAggregationCacheTests extends OpenSearchTestCase {
+
+    private static final NamedWriteableRegistry REGISTRY =
+        new NamedWriteableRegistry(new SearchModule(Settings.EMPTY, false, Collections.emptyList()).getNamedWriteables());
+
+    public void testGetAndPut() throws IOException {
+        IndicesAggregationCache cache = new IndicesAggregationCache(Settings.EMPTY, REGISTRY);
+        try (Directory dir = newDirectory(); IndexWriter writer = new IndexWriter(dir, newIndexWriterConfig())) {
+            writer.addDocument(newDocument("1"));
+            try (DirectoryReader reader = DirectoryReader.open(writer)) {
+                IndexReader.CacheHelper segment = reader.leaves().get(0).reader().getReaderCacheHelper();
+                MaxAggregationBuilder aggregation = new MaxAggregationBuilder("max").field("value");
+                InternalMax max = new InternalMax("max", 42, DocValueFormat.RAW, null);
+
+                assertThat(cache.get(segment, new MatchAllDocsQuery(), aggregation), nullValue());
+                cache.put(segment, new MatchAllDocsQuery(), aggregation, max);
+                assertThat(cache.count(), equalTo(1));
+
+                InternalAggregation cached = cache.get(segment, new MatchAllDocsQuery(), aggregation);
+                assertThat(cached, equalTo(max));
+                // every hit gets its own copy of the result
+                assertThat(cached, not(sameInstance(max)));
+                assertThat(cache.get(segment, new MatchAllDocsQuery(), new MaxAggregationBuilder("max").field("value")), equalTo(max));
+
+                assertThat(cache.get(segment, new TermQuery(new Term("id", "1")), aggregation), nullValue());
+                assertThat(cache.get(segment, new MatchAllDocsQuery(), new MaxAggregationBuilder("max").field("other")), nullValue());
+            }
+        }
+        cache.close();
+        assertThat(cache.count(), equalTo(0));
+    }
+
+    public void testCleanClosedSegments() throws IOException {
+        IndicesAggregationCache cache = new IndicesAggregationCache(Settings.EMPTY, REGISTRY);
+        MaxAggregationBuilder aggregation = new MaxAggregationBuilder("max").field("value");
+        try (Directory dir = newDirectory(); IndexWriter writer = new IndexWriter(dir, newIndexWriterConfig())) {
+            writer.addDocument(newDocument("1"));
+            DirectoryReader reader = DirectoryReader.open(writer);
+            IndexReader.CacheHelper first = reader.leaves().get(0).reader().getReaderCacheHelper();
+            cache.put(first, new MatchAllDocsQuery(), aggregation, new InternalMax("max", 1, DocValueFormat.RAW, null));
+
+            // deleting a document of the segment changes its cache key
+            writer.deleteDocuments(new Term("id", "1"));
+            writer.addDocument(newDocument("2"));
+            DirectoryReader newReader = DirectoryReader.openIfChanged(reader, writer);
+            for (int i = 0; i < newReader.leaves().size(); i++) {
+                IndexReader.CacheHelper segment = newReader.leaves().get(i).reader().getReaderCacheHelper();
+                assertThat(cache.get(segment, new MatchAllDocsQuery(), aggregation), nullValue());
+                cache.put(segment, new MatchAllDocsQuery(), aggregation, new InternalMax("max", 2, DocValueFormat.RAW, null));
+            }
+            assertThat(cache.count(), equalTo(1 + newReader.leaves().size()));
+
+            reader.close();
+            cache.cleanCache();
+            assertThat(cache.count(), equalTo(newReader.leaves().size()));
+
+            newReader.close();
+            cache.cleanCache();
+            assertThat(cache.count(), equalTo(0));
+        }
+        cache.close();
+    }
+
+    private static Document newDocument(String id) {
+        Document document = new Document();
+        document.add(new StringField("id", id, Field.Store.NO));
+        return document;
+    }
+}
@@ -47,6 +47,7 @@ import org.apache.lucene.store.Directory;
 import org.apache.lucene.util.BytesRef;
 import org.opensearch.common.CheckedSupplier;
 import org.opensearch.common.bytes.AbstractBytesReference;
+import org.opensearch.common.bytes.BytesArray;
 import org.opensearch.common.bytes.BytesReference;
 import org.opensearch.common.io.stream.BytesStreamOutput;
 import org.opensearch.common.lucene.index.OpenSearchDirectoryReader;
@@ -287,6 +288,94 @@ public class IndicesRequestCacheTests extends OpenSearchTestCase {
         IOUtils.close(reader, secondReader, thirdReader, writer, dir, cache);
     }
 
+    public void testOffHeapTier() throws Exception {
+        final ByteSizeValue size;
+        {
+            IndicesRequestCache cache = new IndicesRequestCache(Settings.EMPTY);
+            ShardRequestCache requestCacheStats = new ShardRequestCache();
+            Directory dir = newDirectory();
+            IndexWriter writer = new IndexWriter(dir, newIndexWriterConfig());
+            writer.addDocument(newDoc(0, "foo"));
+            DirectoryReader reader = OpenSearchDirectoryReader.wrap(DirectoryReader.open(writer),
+                new ShardId("foo", "bar", 1));
+            BytesReference termBytes = XContentHelper.toXContent(new TermQueryBuilder("id", "0"), XContentType.JSON, false);
+            cache.getOrCompute(new TestEntity(requestCacheStats, new AtomicBoolean(true)), new Loader(reader, 0), reader, termBytes);
+            size = requestCacheStats.stats().getMemorySize();
+            IOUtils.close(reader, writer, dir, cache);
+        }
+        // the on-heap tier can only hold a single entry
+        IndicesRequestCache cache = new IndicesRequestCache(Settings.builder()
+            .put(IndicesRequestCache.INDICES_CACHE_QUERY_SIZE.getKey(), size.getBytes() + 1 + "b")
+            .put(IndicesRequestCache.INDICES_CACHE_QUERY_OFF_HEAP_SIZE.getKey(), "1mb")
+            .build());
+        AtomicBoolean indexShard = new AtomicBoolean(true);
+        ShardRequestCache requestCacheStats = new ShardRequestCache();
+        Directory dir = newDirectory();
+        IndexWriter writer = new IndexWriter(dir, newIndexWriterConfig());
+
+        writer.addDocument(newDoc(0, "foo"));
+        DirectoryReader reader = OpenSearchDirectoryReader.wrap(DirectoryReader.open(writer),
+            new ShardId("foo", "bar", 1));
+        BytesReference termBytes = XContentHelper.toXContent(new TermQueryBuilder("id", "0"), XContentType.JSON, false);
+        writer.updateDocument(new Term("id", "0"), newDoc(0, "bar"));
+        DirectoryReader secondReader = OpenSearchDirectoryReader.wrap(DirectoryReader.open(writer),
+            new ShardId("foo", "bar", 1));
+
+        BytesReference value = cache.getOrCompute(new TestEntity(requestCacheStats, indexShard), new Loader(reader, 0), reader, termBytes);
+        assertEquals("foo", value.streamInput().readString());
+        value = cache.getOrCompute(new TestEntity(requestCacheStats, indexShard), new Loader(secondReader, 0), secondReader, termBytes);
+        assertEquals("bar", value.streamInput().readString());
+        // the first entry was demoted to the off-heap tier
+        assertEquals(1, cache.count());
+        assertEquals(1, cache.offHeapCount());
+        assertEquals(1, requestCacheStats.stats().getEvictions());
+        assertEquals(2, requestCacheStats.stats().getMissCount());
+        assertTrue(requestCacheStats.stats().getOffHeapMemorySizeInBytes() > 0);
+
+        // a hit in the off-heap tier promotes the entry back and demotes the other one
+        Loader loader = new Loader(reader, 0);
+        value = cache.getOrCompute(new TestEntity(requestCacheStats, indexShard), loader, reader, termBytes);
+        assertEquals("foo", value.streamInput().readString());
+        assertTrue(loader.loadedFromCache);
+        assertEquals(1, cache.count());
+        assertEquals(1, cache.offHeapCount());
+        assertEquals(2, requestCacheStats.stats().getMissCount());
+        assertEquals(1, requestCacheStats.stats().getOffHeapHitCount());
+        assertEquals(0, requestCacheStats.stats().getOffHeapEvictions());
+
+        // closing the reader of the demoted entry cleans the off-heap tier up
+        secondReader.close();
+        cache.cleanCache();
+        assertEquals(1, cache.count());
+        assertEquals(0, cache.offHeapCount());
+        assertEquals(0, requestCacheStats.stats().getOffHeapMemorySizeInBytes());
+
+        IOUtils.close(reader, writer, dir, cache);
+        assertEquals(0, cache.numRegisteredCloseListeners());
+    }
+
+    public void testOffHeapPagesAreRecycled() {
+        IndicesRequestCache.OffHeapPages pool = new IndicesRequestCache.OffHeapPages(3);
+        byte[] bytes = randomByteArrayOfLength(IndicesRequestCache.OffHeapPages.PAGE_SIZE + between(1, 100));
+        IndicesRequestCache.OffHeapBytes first = new IndicesRequestCache.OffHeapBytes(pool, bytes.length);
+        assertEquals(2 * IndicesRequestCache.OffHeapPages.PAGE_SIZE, first.sizeInBytes());
+        assertTrue(first.copyFrom(new BytesArray(bytes)));
+        assertEquals(new BytesArray(bytes), first.toBytesReference());
+
+        // the pool can't allocate more pages than its size
+        IndicesRequestCache.OffHeapBytes second = new IndicesRequestCache.OffHeapBytes(pool, bytes.length);
+        assertFalse(second.copyFrom(new BytesArray(bytes)));
+        assertNull(second.toBytesReference());
+        assertFalse(second.release());
+
+        // released pages are reused
+        assertTrue(first.release());
+        assertNull(first.toBytesReference());
+        IndicesRequestCache.OffHeapBytes third = new IndicesRequestCache.OffHeapBytes(pool, bytes.length);
+        assertTrue(third.copyFrom(new BytesArray(bytes)));
+        assertEquals(new BytesArray(bytes), third.toBytesReference());
+    }
+
     public void testClearAllEntityIdentity() throws Exception {
         IndicesRequestCache cache = new IndicesRequestCache(Settings.EMPTY);
         AtomicBoolean indexShard =  new AtomicBoolean(true);
@@ -0,0 +1,63 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.indices.replication;
+
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.common.io.stream.NamedWriteableRegistry;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.index.shard.ShardId;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.equalTo;
+
+public class ReplicationCheckpointTests extends OpenSearchTestCase {
+
+    public void testSerialization() throws IOException {
+        final ReplicationCheckpoint checkpoint = randomCheckpoint(new ShardId("index", "_na_", randomIntBetween(0, 5)));
+        final ReplicationCheckpoint copy = copyWriteable(checkpoint, new NamedWriteableRegistry(Collections.emptyList()),
+            ReplicationCheckpoint::new);
+        assertThat(copy, equalTo(checkpoint));
+        assertThat(copy.hashCode(), equalTo(checkpoint.hashCode()));
+    }
+
+    public void testIsAheadOf() {
+        final ShardId shardId = new ShardId("index", "_na_", 0);
+        final ReplicationCheckpoint checkpoint = randomCheckpoint(shardId);
+        assertTrue(checkpoint.isAheadOf(null));
+        assertFalse(checkpoint.isAheadOf(checkpoint));
+
+        final ReplicationCheckpoint newerCommit = new ReplicationCheckpoint(shardId, checkpoint.getPrimaryTerm(),
+            checkpoint.getSegmentsGen() + randomIntBetween(1, 10), checkpoint.getLocalCheckpoint());
+        assertTrue(newerCommit.isAheadOf(checkpoint));
+        assertFalse(checkpoint.isAheadOf(newerCommit));
+
+        // the generations of a new primary start over from its own commits
+        final ReplicationCheckpoint newerPrimary = new ReplicationCheckpoint(shardId, checkpoint.getPrimaryTerm() + 1,
+            randomLongBetween(1, checkpoint.getSegmentsGen()), randomLongBetween(-1, checkpoint.getLocalCheckpoint()));
+        assertTrue(newerPrimary.isAheadOf(checkpoint));
+        assertTrue(newerPrimary.isAheadOf(newerCommit));
+        assertFalse(newerCommit.isAheadOf(newerPrimary));
+    }
+
+    public void testReplicationTypeSetting() {
+        assertThat(IndexMetadata.INDEX_REPLICATION_TYPE_SETTING.get(Settings.EMPTY), equalTo(ReplicationType.DOCUMENT));
+        assertThat(IndexMetadata.INDEX_REPLICATION_TYPE_SETTING.get(
+            Settings.builder().put(IndexMetadata.SETTING_REPLICATION_TYPE, "segment").build()), equalTo(ReplicationType.SEGMENT));
+        final IllegalArgumentException e = expectThrows(IllegalArgumentException.class, () -> IndexMetadata.INDEX_REPLICATION_TYPE_SETTING
+            .get(Settings.builder().put(IndexMetadata.SETTING_REPLICATION_TYPE, "logical").build()));
+        assertThat(e.getMessage(), equalTo("unknown replication type [logical]"));
+    }
+
+    private static ReplicationCheckpoint randomCheckpoint(ShardId shardId) {
+        return new ReplicationCheckpoint(shardId, randomLongBetween(1, 100), randomLongBetween(1, 1000), randomLongBetween(-1, 10000));
+    }
+}
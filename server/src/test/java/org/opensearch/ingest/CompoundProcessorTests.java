@@ -36,9 +36,11 @@ import org.opensearch.OpenSearchException;
 import org.opensearch.test.OpenSearchTestCase;
 import org.junit.Before;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
@@ -122,6 +124,51 @@ public class CompoundProcessorTests extends OpenSearchTestCase {
         assertThat(ingestDocument.getFieldValue("field", String.class), equalTo("value"));
     }
 
+    public void testBatch() throws Exception {
+        TestProcessor processor1 = new TestProcessor(ingestDocument -> {ingestDocument.setFieldValue("field", "value");});
+        TestProcessor processor2 = new TestProcessor(ingestDocument -> {
+            if (ingestDocument.hasField("fail")) {
+                throw new RuntimeException("error");
+            }
+        });
+        LongSupplier relativeTimeProvider = mock(LongSupplier.class);
+        when(relativeTimeProvider.getAsLong()).thenReturn(0L);
+        CompoundProcessor compoundProcessor = new CompoundProcessor(relativeTimeProvider, processor1, processor2);
+        int numDocs = randomIntBetween(2, 16);
+        int failingDoc = randomIntBetween(0, numDocs - 1);
+        List<IngestDocument> ingestDocuments = new ArrayList<>();
+        List<BiConsumer<IngestDocument, Exception>> handlers = new ArrayList<>();
+        IngestDocument[] results = new IngestDocument[numDocs];
+        Exception[] failures = new Exception[numDocs];
+        for (int i = 0; i < numDocs; i++) {
+            IngestDocument document = new IngestDocument(new HashMap<>(), new HashMap<>());
+            if (i == failingDoc) {
+                document.setFieldValue("fail", true);
+            }
+            ingestDocuments.add(document);
+            int slot = i;
+            handlers.add((result, e) -> {
+                results[slot] = result;
+                failures[slot] = e;
+            });
+        }
+        compoundProcessor.executeBatch(ingestDocuments, handlers);
+        assertThat(processor1.getInvokedCounter(), equalTo(numDocs));
+        assertThat(processor2.getInvokedCounter(), equalTo(numDocs));
+        for (int i = 0; i < numDocs; i++) {
+            if (i == failingDoc) {
+                assertThat(results[i], nullValue());
+                assertThat(((OpenSearchException) failures[i]).getRootCause().getMessage(), equalTo("error"));
+            } else {
+                assertThat(results[i], sameInstance(ingestDocuments.get(i)));
+                assertThat(failures[i], nullValue());
+                assertThat(results[i].getFieldValue("field", String.class), equalTo("value"));
+            }
+        }
+        assertStats(0, compoundProcessor, 0, numDocs, 0, 0);
+        assertStats(1, compoundProcessor, 0, numDocs, 1, 0);
+    }
+
     public void testSingleProcessorWithOnFailureProcessor() throws Exception {
         TestProcessor processor1 = new TestProcessor("id", "first", null, new RuntimeException("error"));
         TestProcessor processor2 = new TestProcessor(ingestDocument -> {
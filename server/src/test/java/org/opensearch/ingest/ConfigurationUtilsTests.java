@@ -245,6 +245,7 @@ public class ConfigurationUtilsTests extends OpenSearchTestCase {
         TemplateScript.Factory result;
         result = ConfigurationUtils.compileTemplate(randomAlphaOfLength(10), randomAlphaOfLength(10), randomAlphaOfLength(10),
             propertyValue, scriptService);
+        assertThat(result, instanceOf(ConstantTemplateScriptFactory.class));
         assertThat(result.newInstance(null).execute(), equalTo(propertyValue));
         verify(scriptService, times(0)).compile(any(), any());
     }
@@ -32,6 +32,7 @@
 
 package org.opensearch.ingest;
 
+import org.opensearch.script.TemplateScript;
 import org.opensearch.test.OpenSearchTestCase;
 import org.junit.Before;
 
@@ -109,6 +110,27 @@ public class IngestDocumentTests extends OpenSearchTestCase {
             equalTo(BOGUS_TIMESTAMP));
     }
 
+    public void testConstantFieldPathTemplate() {
+        TemplateScript.Factory fieldPathTemplate = new ConstantTemplateScriptFactory("fizz.new_field");
+        ValueSource valueSource = ValueSource.wrap(Collections.singletonList(1), null);
+        assertThat(ingestDocument.renderTemplate(fieldPathTemplate), equalTo("fizz.new_field"));
+        assertFalse(ingestDocument.hasField(fieldPathTemplate));
+        ingestDocument.setFieldValue(fieldPathTemplate, valueSource);
+        assertTrue(ingestDocument.hasField(fieldPathTemplate));
+        assertThat(ingestDocument.getFieldValue(fieldPathTemplate, List.class), equalTo(Collections.singletonList(1)));
+        ingestDocument.appendFieldValue(fieldPathTemplate, valueSource);
+        assertThat(ingestDocument.getFieldValue("fizz.new_field", List.class), equalTo(Arrays.asList(1, 1)));
+        ingestDocument.removeField(fieldPathTemplate);
+        assertFalse(ingestDocument.hasField("fizz.new_field"));
+
+        TemplateScript.Factory ingestPathTemplate = new ConstantTemplateScriptFactory("_ingest.timestamp");
+        assertThat(ingestDocument.getFieldValue(ingestPathTemplate, ZonedDateTime.class), not(equalTo(BOGUS_TIMESTAMP)));
+
+        IllegalArgumentException e = expectThrows(IllegalArgumentException.class,
+            () -> ingestDocument.hasField(new ConstantTemplateScriptFactory("")));
+        assertThat(e.getMessage(), equalTo("path cannot be null nor empty"));
+    }
+
     public void testGetSourceObject() {
         try {
             ingestDocument.getFieldValue("_source", Object.class);
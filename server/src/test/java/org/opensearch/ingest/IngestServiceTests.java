@@ -60,6 +60,7 @@ import org.opensearch.cluster.node.DiscoveryNode;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.bytes.BytesArray;
 import org.opensearch.common.logging.Loggers;
+import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.util.concurrent.OpenSearchExecutors;
 import org.opensearch.common.xcontent.XContentBuilder;
@@ -83,6 +84,7 @@ import org.mockito.ArgumentMatcher;
 import org.mockito.invocation.InvocationOnMock;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
@@ -90,7 +92,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
@@ -141,7 +145,7 @@ public class IngestServiceTests extends OpenSearchTestCase {
     }
     public void testIngestPlugin() {
         Client client = mock(Client.class);
-        IngestService ingestService = new IngestService(mock(ClusterService.class), threadPool, null, null,
+        IngestService ingestService = new IngestService(mockClusterService(Settings.EMPTY), threadPool, null, null,
             null, Collections.singletonList(DUMMY_PLUGIN), client);
         Map<String, Processor.Factory> factories = ingestService.getProcessorFactories();
         assertTrue(factories.containsKey("foo"));
@@ -151,14 +155,14 @@ public class IngestServiceTests extends OpenSearchTestCase {
     public void testIngestPluginDuplicate() {
         Client client = mock(Client.class);
         IllegalArgumentException e = expectThrows(IllegalArgumentException.class, () ->
-            new IngestService(mock(ClusterService.class), threadPool, null, null,
+            new IngestService(mockClusterService(Settings.EMPTY), threadPool, null, null,
             null, Arrays.asList(DUMMY_PLUGIN, DUMMY_PLUGIN), client));
         assertTrue(e.getMessage(), e.getMessage().contains("already registered"));
     }
 
     public void testExecuteIndexPipelineDoesNotExist() {
         Client client = mock(Client.class);
-        IngestService ingestService = new IngestService(mock(ClusterService.class), threadPool, null, null,
+        IngestService ingestService = new IngestService(mockClusterService(Settings.EMPTY), threadPool, null, null,
             null, Collections.singletonList(DUMMY_PLUGIN), client);
         final IndexRequest indexRequest =
             new IndexRequest("_index", "_type", "_id").source(emptyMap()).setPipeline("_id").setFinalPipeline("_none");
@@ -979,6 +983,12 @@ public class IngestServiceTests extends OpenSearchTestCase {
             handler.accept(null, error);
             return null;
         }).when(processor).execute(any(), any());
+        doAnswer(args -> {
+            @SuppressWarnings("unchecked")
+            List<BiConsumer<IngestDocument, Exception>> handlers = (List) args.getArguments()[1];
+            handlers.forEach(handler -> handler.accept(null, error));
+            return null;
+        }).when(processor).executeBatch(any(), any());
         IngestService ingestService = createWithProcessors(Collections.singletonMap(
             "mock", (factories, tag, description, config) -> processor));
         PutPipelineRequest putRequest = new PutPipelineRequest("_id",
@@ -1031,6 +1041,12 @@ public class IngestServiceTests extends OpenSearchTestCase {
             handler.accept(RandomDocumentPicks.randomIngestDocument(random()), null);
             return null;
         }).when(processor).execute(any(), any());
+        doAnswer(args -> {
+            @SuppressWarnings("unchecked")
+            List<BiConsumer<IngestDocument, Exception>> handlers = (List) args.getArguments()[1];
+            handlers.forEach(handler -> handler.accept(RandomDocumentPicks.randomIngestDocument(random()), null));
+            return null;
+        }).when(processor).executeBatch(any(), any());
         Map<String, Processor.Factory> map = new HashMap<>(2);
         map.put("mock", (factories, tag, description, config) -> processor);
 
@@ -1058,6 +1074,110 @@ public class IngestServiceTests extends OpenSearchTestCase {
         }
     }
 
+    public void testBulkRequestExecutionInBatches() {
+        final int batchSize = randomIntBetween(1, 10);
+        final int numRequest = randomIntBetween(1, 50);
+        BulkRequest bulkRequest = new BulkRequest();
+        for (int i = 0; i < numRequest; i++) {
+            bulkRequest.add(new IndexRequest("_index", "_type", "_id").source(emptyMap()).setPipeline("_id").setFinalPipeline("_none"));
+        }
+
+        final List<Integer> batches = new ArrayList<>();
+        final Processor processor = mock(Processor.class);
+        when(processor.getType()).thenReturn("mock");
+        doAnswer(args -> {
+            batches.add(1);
+            @SuppressWarnings("unchecked")
+            BiConsumer<IngestDocument, Exception> handler = (BiConsumer) args.getArguments()[1];
+            handler.accept((IngestDocument) args.getArguments()[0], null);
+            return null;
+        }).when(processor).execute(any(), any());
+        doAnswer(args -> {
+            @SuppressWarnings("unchecked")
+            List<IngestDocument> ingestDocuments = (List) args.getArguments()[0];
+            @SuppressWarnings("unchecked")
+            List<BiConsumer<IngestDocument, Exception>> handlers = (List) args.getArguments()[1];
+            batches.add(ingestDocuments.size());
+            for (int i = 0; i < ingestDocuments.size(); i++) {
+                handlers.get(i).accept(ingestDocuments.get(i), null);
+            }
+            return null;
+        }).when(processor).executeBatch(any(), any());
+        Settings settings = Settings.builder().put(IngestService.BATCH_SIZE_SETTING.getKey(), batchSize).build();
+        IngestService ingestService =
+            createWithProcessors(Collections.singletonMap("mock", (factories, tag, description, config) -> processor), settings);
+        PutPipelineRequest putRequest = new PutPipelineRequest("_id",
+            new BytesArray("{\"processors\": [{\"mock\": {}}]}"), XContentType.JSON);
+        ClusterState clusterState = ClusterState.builder(new ClusterName("_name")).build();
+        ClusterState previousClusterState = clusterState;
+        clusterState = IngestService.innerPut(putRequest, clusterState);
+        ingestService.applyClusterState(new ClusterChangedEvent("", clusterState, previousClusterState));
+
+        @SuppressWarnings("unchecked")
+        BiConsumer<Integer, Exception> requestItemErrorHandler = mock(BiConsumer.class);
+        @SuppressWarnings("unchecked")
+        final BiConsumer<Thread, Exception> completionHandler = mock(BiConsumer.class);
+        ingestService.executeBulkRequest(numRequest, bulkRequest.requests(), requestItemErrorHandler, completionHandler, indexReq -> {},
+            Names.WRITE);
+
+        verify(requestItemErrorHandler, never()).accept(any(), any());
+        verify(completionHandler, times(1)).accept(Thread.currentThread(), null);
+        // the documents go through the pipeline in batches of the configured size
+        assertThat(batches.size(), equalTo((numRequest + batchSize - 1) / batchSize));
+        for (int i = 0; i < batches.size(); i++) {
+            assertThat(batches.get(i), equalTo(Math.min(batchSize, numRequest - i * batchSize)));
+        }
+    }
+
+    public void testBulkRequestExecutionInManySmallBatches() throws Exception {
+        final int numRequest = randomIntBetween(5000, 10000);
+        BulkRequest bulkRequest = new BulkRequest();
+        for (int i = 0; i < numRequest; i++) {
+            bulkRequest.add(new IndexRequest("_index", "_type", "_id").source(emptyMap()).setPipeline("_id").setFinalPipeline("_none"));
+        }
+
+        final AtomicInteger executed = new AtomicInteger();
+        final Processor processor = mock(Processor.class);
+        when(processor.getType()).thenReturn("mock");
+        doAnswer(args -> {
+            @SuppressWarnings("unchecked")
+            BiConsumer<IngestDocument, Exception> handler = (BiConsumer) args.getArguments()[1];
+            IngestDocument ingestDocument = (IngestDocument) args.getArguments()[0];
+            if (executed.incrementAndGet() % 1000 == 0) {
+                // some documents complete asynchronously, which forks the next batch
+                Thread thread = new Thread(() -> handler.accept(ingestDocument, null));
+                thread.start();
+            } else {
+                handler.accept(ingestDocument, null);
+            }
+            return null;
+        }).when(processor).execute(any(), any());
+        Settings settings = Settings.builder().put(IngestService.BATCH_SIZE_SETTING.getKey(), 1).build();
+        IngestService ingestService =
+            createWithProcessors(Collections.singletonMap("mock", (factories, tag, description, config) -> processor), settings);
+        PutPipelineRequest putRequest = new PutPipelineRequest("_id",
+            new BytesArray("{\"processors\": [{\"mock\": {}}, {\"mock\": {}}]}"), XContentType.JSON);
+        ClusterState clusterState = ClusterState.builder(new ClusterName("_name")).build();
+        ClusterState previousClusterState = clusterState;
+        clusterState = IngestService.innerPut(putRequest, clusterState);
+        ingestService.applyClusterState(new ClusterChangedEvent("", clusterState, previousClusterState));
+
+        @SuppressWarnings("unchecked")
+        BiConsumer<Integer, Exception> requestItemErrorHandler = mock(BiConsumer.class);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        // the batches do not nest in one another, which would overflow the stack
+        ingestService.executeBulkRequest(numRequest, bulkRequest.requests(), requestItemErrorHandler, (thread, e) -> {
+            failure.set(e);
+            latch.countDown();
+        }, indexReq -> {}, Names.WRITE);
+
+        assertTrue(latch.await(30, TimeUnit.SECONDS));
+        assertThat(failure.get(), nullValue());
+        verify(requestItemErrorHandler, never()).accept(any(), any());
+        assertThat(executed.get(), equalTo(2 * numRequest));
+    }
+
     public void testStats() throws Exception {
         final Processor processor = mock(Processor.class);
         final Processor processorFailure = mock(Processor.class);
@@ -1283,7 +1403,7 @@ public class IngestServiceTests extends OpenSearchTestCase {
         // Create ingest service:
         Client client = mock(Client.class);
         IngestService ingestService =
-            new IngestService(mock(ClusterService.class), threadPool, null, null, null, Arrays.asList(testPlugin), client);
+            new IngestService(mockClusterService(Settings.EMPTY), threadPool, null, null, null, Arrays.asList(testPlugin), client);
         ingestService.addIngestClusterStateListener(ingestClusterStateListener);
 
         // Create pipeline and apply the resulting cluster state, which should update the counter in the right order:
@@ -1473,13 +1593,16 @@ public class IngestServiceTests extends OpenSearchTestCase {
     }
 
     private static IngestService createWithProcessors(Map<String, Processor.Factory> processors) {
+        return createWithProcessors(processors, Settings.EMPTY);
+    }
 
+    private static IngestService createWithProcessors(Map<String, Processor.Factory> processors, Settings settings) {
         Client client = mock(Client.class);
         ThreadPool threadPool = mock(ThreadPool.class);
         ExecutorService executorService = OpenSearchExecutors.newDirectExecutorService();
         when(threadPool.generic()).thenReturn(executorService);
         when(threadPool.executor(anyString())).thenReturn(executorService);
-        return new IngestService(mock(ClusterService.class), threadPool, null, null,
+        return new IngestService(mockClusterService(settings), threadPool, null, null,
             null, Collections.singletonList(new IngestPlugin() {
             @Override
             public Map<String, Processor.Factory> getProcessors(final Processor.Parameters parameters) {
@@ -1488,6 +1611,13 @@ public class IngestServiceTests extends OpenSearchTestCase {
         }), client);
     }
 
+    private static ClusterService mockClusterService(Settings settings) {
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getSettings()).thenReturn(settings);
+        when(clusterService.getClusterSettings()).thenReturn(new ClusterSettings(settings, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS));
+        return clusterService;
+    }
+
     private CompoundProcessor mockCompoundProcessor() {
         CompoundProcessor processor = mock(CompoundProcessor.class);
         doAnswer(args -> {
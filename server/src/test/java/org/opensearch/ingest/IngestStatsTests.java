@@ -33,6 +33,7 @@
 package org.opensearch.ingest;
 
 import org.opensearch.LegacyESVersion;
+import org.opensearch.Version;
 import org.opensearch.common.collect.MapBuilder;
 import org.opensearch.common.io.stream.BytesStreamOutput;
 import org.opensearch.common.io.stream.StreamInput;
@@ -96,6 +97,33 @@ public class IngestStatsTests extends OpenSearchTestCase {
         assertIngestStats(expectedIngestStats, serializedStats, true, false);
     }
 
+    public void testTimeHistogram() throws IOException {
+        IngestMetric metric = new IngestMetric();
+        metric.preIngest();
+        metric.postIngest(0);
+        metric.preIngest(4);
+        metric.postIngest(4, 200);
+        metric.preIngest();
+        metric.postIngest(5000);
+        IngestStats.Stats stats = metric.createStats();
+        assertEquals(6, stats.getIngestCount());
+        assertEquals(5200, stats.getIngestTimeInMillis());
+        assertEquals(0, stats.getIngestCurrent());
+        assertArrayEquals(new long[] { 1, 0, 4, 0, 1 }, stats.getIngestTimeHistogram());
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        stats.writeTo(out);
+        StreamInput in = out.bytes().streamInput();
+        assertEquals(stats, new IngestStats.Stats(in));
+
+        out = new BytesStreamOutput();
+        out.setVersion(VersionUtils.getPreviousVersion(Version.V_1_0_0));
+        stats.writeTo(out);
+        in = out.bytes().streamInput();
+        in.setVersion(VersionUtils.getPreviousVersion(Version.V_1_0_0));
+        assertArrayEquals(new long[IngestStats.Stats.TIME_HISTOGRAM_BUCKETS], new IngestStats.Stats(in).getIngestTimeHistogram());
+    }
+
     private List<IngestStats.PipelineStat> createPipelineStats() {
         IngestStats.PipelineStat pipeline1Stats = new IngestStats.PipelineStat("pipeline1", new IngestStats.Stats(3, 3, 3, 3));
         IngestStats.PipelineStat pipeline2Stats = new IngestStats.PipelineStat("pipeline2", new IngestStats.Stats(47, 97, 197, 297));
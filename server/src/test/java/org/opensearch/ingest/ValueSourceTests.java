@@ -109,4 +109,17 @@ public class ValueSourceTests extends OpenSearchTestCase {
         assertThat(result.copyAndResolve(Collections.emptyMap()), equalTo(compiledValue));
         verify(scriptService, times(1)).compile(any(), any());
     }
+
+    public void testIsTemplated() {
+        ScriptService scriptService = mock(ScriptService.class);
+        when(scriptService.isLangSupported(anyString())).thenReturn(true);
+        when(scriptService.compile(any(), any())).thenReturn(new TestTemplateService.MockTemplateScript.Factory(randomAlphaOfLength(10)));
+        assertFalse(ValueSource.wrap(randomAlphaOfLength(10), scriptService).isTemplated());
+        assertFalse(ValueSource.wrap(Collections.singletonList(randomInt()), scriptService).isTemplated());
+        assertFalse(ValueSource.wrap(Collections.singletonMap("key", randomAlphaOfLength(10)), scriptService).isTemplated());
+        assertTrue(ValueSource.wrap("{{field}}", scriptService).isTemplated());
+        assertTrue(ValueSource.wrap(Collections.singletonList("{{field}}"), scriptService).isTemplated());
+        assertTrue(ValueSource.wrap(Collections.singletonMap("{{field}}", "value"), scriptService).isTemplated());
+        assertTrue(ValueSource.wrap(Collections.singletonMap("key", "{{field}}"), scriptService).isTemplated());
+    }
 }
@@ -47,11 +47,13 @@ import org.opensearch.threadpool.ThreadPool;
 import org.junit.After;
 import org.junit.Before;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
 
 public class ResponseCollectorServiceTests extends OpenSearchTestCase {
 
@@ -84,6 +86,73 @@ public class ResponseCollectorServiceTests extends OpenSearchTestCase {
         assertThat(nodeStats.get("node1").serviceTime, equalTo(10.0));
     }
 
+    public void testQueueSizeTrend() throws Exception {
+        collector.addNodeStatistics("node1", 1, 100, 10);
+        assertThat(collector.getNodeStatistics("node1").get().queueSizeTrend, equalTo(0.0));
+        collector.addNodeStatistics("node1", 10, 100, 10);
+        collector.addNodeStatistics("node1", 20, 100, 10);
+        final double growingTrend = collector.getNodeStatistics("node1").get().queueSizeTrend;
+        assertThat(growingTrend, greaterThan(0.0));
+        collector.addNodeStatistics("node1", 1, 100, 10);
+        collector.addNodeStatistics("node1", 1, 100, 10);
+        assertThat(collector.getNodeStatistics("node1").get().queueSizeTrend, lessThan(growingTrend));
+    }
+
+    public void testAdjustedStatisticsKeepQueueSizeTrend() throws Exception {
+        collector.addNodeStatistics("node1", 1, 100, 10);
+        collector.addNodeStatistics("node1", 10, 100, 10);
+        final ResponseCollectorService.ComputedNodeStats before = collector.getNodeStatistics("node1").get();
+        collector.addAdjustedNodeStatistics("node1", 50, 100, 10);
+        final ResponseCollectorService.ComputedNodeStats after = collector.getNodeStatistics("node1").get();
+        assertThat(after.queueSizeTrend, equalTo(before.queueSizeTrend));
+        assertThat(after.queueSize, greaterThan(before.queueSize));
+    }
+
+    public void testRecordSelection() throws Exception {
+        collector.addNodeStatistics("node1", 1, 100, 10);
+        collector.addNodeStatistics("node2", 1, 100, 10);
+        collector.recordSelection(Arrays.asList("node1", "node2", "node3"), "node2");
+        collector.recordSelection(Arrays.asList("node1", "node2"), "node1");
+        collector.recordSelection(Arrays.asList("node1", "node2"), "node2");
+        Map<String, ResponseCollectorService.ComputedNodeStats> nodeStats = collector.getAllNodeStatistics();
+        assertFalse(nodeStats.containsKey("node3"));
+        assertThat(nodeStats.get("node1").timesRanked, equalTo(3L));
+        assertThat(nodeStats.get("node1").timesSelected, equalTo(1L));
+        assertThat(nodeStats.get("node2").timesRanked, equalTo(3L));
+        assertThat(nodeStats.get("node2").timesSelected, equalTo(2L));
+    }
+
+    public void testRankingSetting() throws Exception {
+        collector.addNodeStatistics("node1", 1, 100, 10);
+        assertThat(collector.getNodeStatistics("node1").get().ranking(), equalTo(ResponseCollectorService.Ranking.C3));
+        clusterService.getClusterSettings().applySettings(Settings.builder()
+            .put(ResponseCollectorService.ADAPTIVE_SELECTION_RANKING_SETTING.getKey(), "queue_aware").build());
+        assertThat(collector.getNodeStatistics("node1").get().ranking(), equalTo(ResponseCollectorService.Ranking.QUEUE_AWARE));
+        IllegalArgumentException e = expectThrows(IllegalArgumentException.class,
+            () -> ResponseCollectorService.Ranking.parse("fastest"));
+        assertThat(e.getMessage(), equalTo("unknown adaptive replica selection ranking [fastest], must be one of [c3, queue_aware]"));
+    }
+
+    public void testQueueAwareRanking() throws Exception {
+        final long millis = 1000000L;
+        // 50ms spent outside of the thread pool, and the request waits for the two queued requests, the one in flight and itself
+        ResponseCollectorService.ComputedNodeStats stats = new ResponseCollectorService.ComputedNodeStats("node1", 1,
+            ResponseCollectorService.Ranking.QUEUE_AWARE, 2, 0, 200 * millis, 150 * millis, 0, 0);
+        assertThat(stats.rank(1), equalTo(650.0));
+
+        // same averages, but one queue is building up: the C3 formula ranks both nodes the same, the queue aware one does not
+        ResponseCollectorService.ComputedNodeStats steady = new ResponseCollectorService.ComputedNodeStats("node1", 1,
+            ResponseCollectorService.Ranking.QUEUE_AWARE, 2, 0, 200 * millis, 150 * millis, 0, 0);
+        ResponseCollectorService.ComputedNodeStats growing = new ResponseCollectorService.ComputedNodeStats("node2", 1,
+            ResponseCollectorService.Ranking.QUEUE_AWARE, 2, 3, 200 * millis, 150 * millis, 0, 0);
+        assertThat(growing.rank(1), greaterThan(steady.rank(1)));
+        ResponseCollectorService.ComputedNodeStats steadyC3 = new ResponseCollectorService.ComputedNodeStats("node1", 1,
+            ResponseCollectorService.Ranking.C3, 2, 0, 200 * millis, 150 * millis, 0, 0);
+        ResponseCollectorService.ComputedNodeStats growingC3 = new ResponseCollectorService.ComputedNodeStats("node2", 1,
+            ResponseCollectorService.Ranking.C3, 2, 3, 200 * millis, 150 * millis, 0, 0);
+        assertThat(growingC3.rank(1), equalTo(steadyC3.rank(1)));
+    }
+
     /*
      * Test that concurrently adding values and removing nodes does not cause exceptions
      */
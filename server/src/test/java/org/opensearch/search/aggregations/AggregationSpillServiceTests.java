@@ -0,0 +1,60 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.search.aggregations;
+
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.IOContext;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.monitor.jvm.JvmInfo;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AggregationSpillServiceTests extends OpenSearchTestCase {
+
+    public void testSpillsInTheTemporaryDirectory() throws Exception {
+        final Path tmpDir = createTempDir();
+        final Settings settings = Settings.builder().put(AggregationSpillService.SPILL_TO_DISK_ENABLED_SETTING.getKey(), true).build();
+        final ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getClusterSettings()).thenReturn(new ClusterSettings(settings, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS));
+
+        final AggregationSpillService service = new AggregationSpillService(clusterService, settings, tmpDir);
+        final Path spillDir = tmpDir.resolve(AggregationSpillService.SPILL_DIRECTORY_NAME);
+        assertTrue(Files.isDirectory(spillDir));
+        final AggregationSpillService.BucketSpiller spiller = service.create();
+        assertNotNull(spiller);
+        try (Directory directory = spiller.openDirectory()) {
+            directory.createOutput("spill", IOContext.DEFAULT).close();
+        }
+        assertTrue(Files.exists(spillDir.resolve("spill")));
+    }
+
+    public void testDeletesLeftoverSpillFiles() throws Exception {
+        final Path spillDir = createTempDir();
+        final long jvmStartTime = JvmInfo.jvmInfo().getStartTime();
+        final Path leftover = Files.createFile(spillDir.resolve("terms_agg_spill_0.tmp"));
+        Files.setLastModifiedTime(leftover, FileTime.fromMillis(jvmStartTime - randomLongBetween(1, jvmStartTime)));
+        // the files of the other nodes of this JVM
+        final Path current = Files.createFile(spillDir.resolve("terms_agg_spill_1.tmp"));
+        final Path subDirectory = Files.createDirectory(spillDir.resolve("sub"));
+        Files.setLastModifiedTime(subDirectory, FileTime.fromMillis(0));
+
+        AggregationSpillService.deleteLeftoverSpillFiles(spillDir);
+        assertFalse(Files.exists(leftover));
+        assertTrue(Files.exists(current));
+        assertTrue(Files.exists(subDirectory));
+    }
+}
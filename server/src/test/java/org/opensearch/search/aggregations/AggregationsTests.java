@@ -81,6 +81,8 @@ import org.opensearch.search.aggregations.metrics.InternalAvgTests;
 import org.opensearch.search.aggregations.metrics.InternalCardinalityTests;
 import org.opensearch.search.aggregations.metrics.InternalGeoBoundsTests;
 import org.opensearch.search.aggregations.metrics.InternalGeoCentroidTests;
+import org.opensearch.search.aggregations.metrics.InternalDDSketchPercentilesRanksTests;
+import org.opensearch.search.aggregations.metrics.InternalDDSketchPercentilesTests;
 import org.opensearch.search.aggregations.metrics.InternalHDRPercentilesRanksTests;
 import org.opensearch.search.aggregations.metrics.InternalHDRPercentilesTests;
 import org.opensearch.search.aggregations.metrics.InternalTDigestPercentilesRanksTests;
@@ -127,6 +129,8 @@ public class AggregationsTests extends OpenSearchTestCase {
         aggsTests.add(new InternalTDigestPercentilesRanksTests());
         aggsTests.add(new InternalHDRPercentilesTests());
         aggsTests.add(new InternalHDRPercentilesRanksTests());
+        aggsTests.add(new InternalDDSketchPercentilesTests());
+        aggsTests.add(new InternalDDSketchPercentilesRanksTests());
         aggsTests.add(new InternalPercentilesBucketTests());
         aggsTests.add(new InternalMinTests());
         aggsTests.add(new InternalMaxTests());
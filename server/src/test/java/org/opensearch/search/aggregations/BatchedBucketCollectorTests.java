@@ -0,0 +1,137 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.search.aggregations;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.RandomIndexWriter;
+import org.apache.lucene.search.CollectionTerminatedException;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.store.Directory;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class BatchedBucketCollectorTests extends OpenSearchTestCase {
+
+    /**
+     * Records the documents it collects by top level doc id, and the size of the blocks they are collected in.
+     */
+    private static class RecordingBucketCollector extends BucketCollector {
+        private final int terminateAfter;
+        private final ScoreMode scoreMode;
+        private final List<Integer> docs = new ArrayList<>();
+        private final List<Integer> blockSizes = new ArrayList<>();
+        private boolean postCollected;
+        private int docBaseOfCurrentLeaf = -1;
+
+        RecordingBucketCollector(int terminateAfter, ScoreMode scoreMode) {
+            this.terminateAfter = terminateAfter;
+            this.scoreMode = scoreMode;
+        }
+
+        @Override
+        public LeafBucketCollector getLeafCollector(LeafReaderContext ctx) {
+            final int docBase = ctx.docBase;
+            docBaseOfCurrentLeaf = docBase;
+            return new LeafBucketCollector() {
+                int collected;
+
+                @Override
+                public void collect(int doc, long owningBucketOrd) {
+                    // the documents of a segment must be collected before the collector moves to the next segment
+                    assertThat(docBaseOfCurrentLeaf, equalTo(docBase));
+                    assertFalse(postCollected);
+                    if (collected++ == terminateAfter) {
+                        throw new CollectionTerminatedException();
+                    }
+                    docs.add(docBase + doc);
+                }
+
+                @Override
+                public void collect(int[] docs, int count, long owningBucketOrd) throws IOException {
+                    blockSizes.add(count);
+                    super.collect(docs, count, owningBucketOrd);
+                }
+            };
+        }
+
+        @Override
+        public void preCollection() {}
+
+        @Override
+        public void postCollection() {
+            postCollected = true;
+        }
+
+        @Override
+        public ScoreMode scoreMode() {
+            return scoreMode;
+        }
+    }
+
+    public void testCollect() throws IOException {
+        try (Directory dir = newDirectory(); RandomIndexWriter w = new RandomIndexWriter(random(), dir)) {
+            int numDocs = randomIntBetween(1, 2000);
+            for (int i = 0; i < numDocs; i++) {
+                w.addDocument(new Document());
+            }
+            try (IndexReader reader = w.getReader()) {
+                IndexSearcher searcher = newSearcher(reader);
+                int terminateAfter = randomBoolean() ? Integer.MAX_VALUE : randomIntBetween(0, 300);
+                RecordingBucketCollector expected = new RecordingBucketCollector(terminateAfter, ScoreMode.COMPLETE_NO_SCORES);
+                searcher.search(new MatchAllDocsQuery(), expected);
+
+                RecordingBucketCollector recording = new RecordingBucketCollector(terminateAfter, ScoreMode.COMPLETE_NO_SCORES);
+                BucketCollector batched = new BatchedBucketCollector(recording);
+                batched.preCollection();
+                searcher.search(new MatchAllDocsQuery(), batched);
+                batched.postCollection();
+
+                assertTrue(recording.postCollected);
+                assertThat(recording.docs, equalTo(expected.docs));
+                for (int blockSize : recording.blockSizes) {
+                    assertThat(blockSize, lessThanOrEqualTo(BatchedBucketCollector.BLOCK_SIZE));
+                }
+            }
+        }
+    }
+
+    public void testFlush() throws IOException {
+        try (Directory dir = newDirectory(); RandomIndexWriter w = new RandomIndexWriter(random(), dir)) {
+            w.addDocument(new Document());
+            w.addDocument(new Document());
+            try (IndexReader reader = w.getReader()) {
+                RecordingBucketCollector recording = new RecordingBucketCollector(Integer.MAX_VALUE, ScoreMode.COMPLETE_NO_SCORES);
+                BatchedBucketCollector batched = new BatchedBucketCollector(recording);
+                LeafBucketCollector leafCollector = batched.getLeafCollector(reader.leaves().get(0));
+                leafCollector.collect(0);
+                assertThat(recording.docs.size(), equalTo(0));
+                batched.flush();
+                assertThat(recording.docs.size(), equalTo(1));
+                batched.flush();
+                assertThat(recording.docs.size(), equalTo(1));
+            }
+        }
+    }
+
+    public void testRejectsCollectorsThatNeedScores() {
+        IllegalArgumentException e = expectThrows(IllegalArgumentException.class,
+            () -> new BatchedBucketCollector(new RecordingBucketCollector(Integer.MAX_VALUE, ScoreMode.COMPLETE)));
+        assertThat(e.getMessage(), equalTo("cannot buffer the documents of a collector that needs scores"));
+    }
+}
@@ -33,16 +33,19 @@ package org.opensearch.search.aggregations;
 
 import org.apache.lucene.util.BytesRef;
 import org.opensearch.Version;
+import org.opensearch.common.breaker.NoopCircuitBreaker;
 import org.opensearch.common.io.stream.BytesStreamOutput;
 import org.opensearch.common.io.stream.NamedWriteableAwareStreamInput;
 import org.opensearch.common.io.stream.NamedWriteableRegistry;
 import org.opensearch.common.io.stream.StreamInput;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.BigArrays;
 import org.opensearch.search.DocValueFormat;
 import org.opensearch.search.SearchModule;
 import org.opensearch.search.aggregations.bucket.histogram.InternalDateHistogramTests;
 import org.opensearch.search.aggregations.bucket.terms.StringTerms;
 import org.opensearch.search.aggregations.bucket.terms.StringTermsTests;
+import org.opensearch.search.aggregations.metrics.InternalMax;
 import org.opensearch.search.aggregations.pipeline.AvgBucketPipelineAggregationBuilder;
 import org.opensearch.search.aggregations.pipeline.InternalSimpleValueTests;
 import org.opensearch.search.aggregations.pipeline.MaxBucketPipelineAggregationBuilder;
@@ -51,11 +54,15 @@ import org.opensearch.search.aggregations.pipeline.SiblingPipelineAggregator;
 import org.opensearch.search.aggregations.pipeline.SumBucketPipelineAggregationBuilder;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.test.InternalAggregationTestCase;
+import org.opensearch.threadpool.TestThreadPool;
+import org.opensearch.threadpool.ThreadPool;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
@@ -93,6 +100,93 @@ public class InternalAggregationsTests extends OpenSearchTestCase {
         assertEquals(2, reducedAggs.aggregations.size());
     }
 
+    public void testConcurrentTopLevelReduce() {
+        int numAggs = randomIntBetween(2, 20);
+        int numShards = randomIntBetween(1, 10);
+        double[] expected = new double[numAggs];
+        Arrays.fill(expected, Double.NEGATIVE_INFINITY);
+        List<InternalAggregations> shardResults = new ArrayList<>();
+        for (int shard = 0; shard < numShards; shard++) {
+            List<InternalAggregation> aggs = new ArrayList<>();
+            for (int i = 0; i < numAggs; i++) {
+                double value = randomDouble();
+                expected[i] = Math.max(expected[i], value);
+                aggs.add(new InternalMax("max" + i, value, DocValueFormat.RAW, emptyMap()));
+            }
+            shardResults.add(InternalAggregations.from(aggs));
+        }
+        ThreadPool threadPool = new TestThreadPool(getTestName());
+        try {
+            MultiBucketConsumerService.MultiBucketConsumer bucketConsumer =
+                new MultiBucketConsumerService.MultiBucketConsumer(Integer.MAX_VALUE, new NoopCircuitBreaker("test"));
+            InternalAggregation.ReduceContext context = InternalAggregation.ReduceContext.forFinalReduction(
+                BigArrays.NON_RECYCLING_INSTANCE, null, bucketConsumer, PipelineAggregator.PipelineTree.EMPTY,
+                threadPool.executor(ThreadPool.Names.SEARCH_REDUCE), randomIntBetween(2, 8));
+            InternalAggregations reduced = InternalAggregations.topLevelReduce(shardResults, context);
+            assertEquals(numAggs, reduced.aggregations.size());
+            for (int i = 0; i < numAggs; i++) {
+                InternalMax max = reduced.get("max" + i);
+                assertThat(max.getValue(), equalTo(expected[i]));
+            }
+        } finally {
+            terminate(threadPool);
+        }
+    }
+
+    public void testReduceConcurrently() {
+        int numInputs = randomIntBetween(0, 100);
+        List<Integer> inputs = new ArrayList<>();
+        for (int i = 0; i < numInputs; i++) {
+            inputs.add(i);
+        }
+        ThreadPool threadPool = new TestThreadPool(getTestName());
+        try {
+            MultiBucketConsumerService.MultiBucketConsumer bucketConsumer =
+                new MultiBucketConsumerService.MultiBucketConsumer(Integer.MAX_VALUE, new NoopCircuitBreaker("test"));
+            List<Integer> reduced = InternalAggregations.reduceConcurrently(inputs, i -> {
+                bucketConsumer.accept(1);
+                return i * 2;
+            }, threadPool.executor(ThreadPool.Names.SEARCH_REDUCE), randomIntBetween(1, 8));
+            assertThat(reduced.size(), equalTo(inputs.size()));
+            for (int i = 0; i < inputs.size(); i++) {
+                assertThat(reduced.get(i), equalTo(i * 2));
+            }
+            assertThat(bucketConsumer.getCount(), equalTo(inputs.size()));
+        } finally {
+            terminate(threadPool);
+        }
+    }
+
+    public void testReduceConcurrentlyWithRejectingExecutor() {
+        List<Integer> inputs = Arrays.asList(1, 2, 3, 4, 5);
+        List<Integer> reduced = InternalAggregations.reduceConcurrently(inputs, i -> -i, command -> {
+            throw new RejectedExecutionException("rejected");
+        }, randomIntBetween(2, 8));
+        assertThat(reduced, equalTo(Arrays.asList(-1, -2, -3, -4, -5)));
+    }
+
+    public void testReduceConcurrentlyFailure() {
+        int numInputs = randomIntBetween(1, 100);
+        List<Integer> inputs = new ArrayList<>();
+        for (int i = 0; i < numInputs; i++) {
+            inputs.add(i);
+        }
+        int failing = randomIntBetween(0, inputs.size() - 1);
+        ThreadPool threadPool = new TestThreadPool(getTestName());
+        try {
+            MultiBucketConsumerService.TooManyBucketsException e = expectThrows(MultiBucketConsumerService.TooManyBucketsException.class,
+                () -> InternalAggregations.reduceConcurrently(inputs, i -> {
+                    if (i == failing) {
+                        throw new MultiBucketConsumerService.TooManyBucketsException("too many buckets", 1);
+                    }
+                    return i;
+                }, threadPool.executor(ThreadPool.Names.SEARCH_REDUCE), randomIntBetween(1, 8)));
+            assertThat(e.getMessage(), equalTo("too many buckets"));
+        } finally {
+            terminate(threadPool);
+        }
+    }
+
     private InternalAggregation.ReduceContextBuilder maxBucketReduceContext() {
         MaxBucketPipelineAggregationBuilder maxBucketPipelineAggregationBuilder = new MaxBucketPipelineAggregationBuilder("test", "test");
         PipelineAggregator.PipelineTree tree =
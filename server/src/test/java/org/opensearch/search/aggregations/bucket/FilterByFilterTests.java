@@ -0,0 +1,147 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.search.aggregations.bucket;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DoublePoint;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.PointValues;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.IndexOrDocValuesQuery;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
+import org.opensearch.index.mapper.NumberFieldMapper;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class FilterByFilterTests extends OpenSearchTestCase {
+
+    public void testLongRangeQuery() {
+        NumberFieldMapper.NumberFieldType fieldType = new NumberFieldMapper.NumberFieldType("field", NumberFieldMapper.NumberType.LONG);
+        assertThat(FilterByFilter.rangeQuery(fieldType, 1, 10), equalTo(LongPoint.newRangeQuery("field", 1, 9)));
+        assertThat(FilterByFilter.rangeQuery(fieldType, 1.5, 9.5), equalTo(LongPoint.newRangeQuery("field", 2, 9)));
+        assertThat(FilterByFilter.rangeQuery(fieldType, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY),
+            equalTo(LongPoint.newRangeQuery("field", Long.MIN_VALUE, Long.MAX_VALUE)));
+        assertThat(FilterByFilter.rangeQuery(fieldType, 5, 5), instanceOf(MatchNoDocsQuery.class));
+        assertThat(FilterByFilter.rangeQuery(fieldType, 5.2, 5.8), instanceOf(MatchNoDocsQuery.class));
+        assertThat(FilterByFilter.rangeQuery(fieldType, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY),
+            instanceOf(MatchNoDocsQuery.class));
+    }
+
+    public void testIntRangeQuery() {
+        NumberFieldMapper.NumberFieldType fieldType = new NumberFieldMapper.NumberFieldType("field", NumberFieldMapper.NumberType.INTEGER);
+        assertThat(FilterByFilter.rangeQuery(fieldType, -3, 3), equalTo(IntPoint.newRangeQuery("field", -3, 2)));
+        assertThat(FilterByFilter.rangeQuery(fieldType, 1e12, Double.POSITIVE_INFINITY), instanceOf(MatchNoDocsQuery.class));
+        assertThat(FilterByFilter.rangeQuery(fieldType, Double.NEGATIVE_INFINITY, 1e12),
+            equalTo(IntPoint.newRangeQuery("field", Integer.MIN_VALUE, Integer.MAX_VALUE)));
+    }
+
+    public void testDoubleRangeQuery() {
+        NumberFieldMapper.NumberFieldType fieldType = new NumberFieldMapper.NumberFieldType("field", NumberFieldMapper.NumberType.DOUBLE);
+        Query query = FilterByFilter.rangeQuery(fieldType, 0.5, 1.5);
+        FilterByFilter.PointRange range = FilterByFilter.toPointRange(query);
+        assertThat(range.field, equalTo("field"));
+        assertThat(DoublePoint.decodeDimension(range.lower, 0), equalTo(0.5));
+        assertThat(DoublePoint.decodeDimension(range.upper, 0), equalTo(Math.nextDown(1.5)));
+    }
+
+    public void testToPointRange() {
+        assertThat(FilterByFilter.toPointRange(new MatchAllDocsQuery()), sameInstance(FilterByFilter.PointRange.ALL));
+        assertThat(FilterByFilter.toPointRange(new TermQuery(new Term("field", "value"))), nullValue());
+        assertThat(FilterByFilter.toPointRange(new BooleanQuery.Builder().build()), nullValue());
+
+        Query wrapped = new ConstantScoreQuery(new IndexOrDocValuesQuery(
+            LongPoint.newRangeQuery("field", 0, 100), SortedNumericDocValuesField.newSlowRangeQuery("field", 0, 100)));
+        Query bool = new BooleanQuery.Builder()
+            .add(wrapped, BooleanClause.Occur.FILTER)
+            .add(LongPoint.newRangeQuery("field", 50, 200), BooleanClause.Occur.MUST)
+            .build();
+        assertRange(FilterByFilter.toPointRange(bool), "field", 50, 100);
+
+        Query otherField = new BooleanQuery.Builder()
+            .add(LongPoint.newRangeQuery("field", 0, 100), BooleanClause.Occur.FILTER)
+            .add(LongPoint.newRangeQuery("other", 0, 100), BooleanClause.Occur.FILTER)
+            .build();
+        assertThat(FilterByFilter.toPointRange(otherField), nullValue());
+
+        Query optional = new BooleanQuery.Builder()
+            .add(LongPoint.newRangeQuery("field", 0, 100), BooleanClause.Occur.SHOULD)
+            .add(LongPoint.newRangeQuery("field", 200, 300), BooleanClause.Occur.SHOULD)
+            .build();
+        assertThat(FilterByFilter.toPointRange(optional), nullValue());
+    }
+
+    public void testRequiredRange() {
+        Query query = new BooleanQuery.Builder()
+            .add(new TermQuery(new Term("keyword", "value")), BooleanClause.Occur.MUST)
+            .add(LongPoint.newRangeQuery("field", 10, 20), BooleanClause.Occur.FILTER)
+            .add(LongPoint.newRangeQuery("other", 0, 5), BooleanClause.Occur.FILTER)
+            .add(LongPoint.newRangeQuery("field", 0, 100), BooleanClause.Occur.SHOULD)
+            .build();
+        assertRange(FilterByFilter.requiredRange(query, "field"), "field", 10, 20);
+        assertRange(FilterByFilter.requiredRange(query, "other"), "other", 0, 5);
+        assertThat(FilterByFilter.requiredRange(query, "missing"), sameInstance(FilterByFilter.PointRange.ALL));
+    }
+
+    public void testCount() throws IOException {
+        try (Directory directory = newDirectory()) {
+            int numDocs = randomIntBetween(1, 2000);
+            long[] values = new long[numDocs];
+            try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+                for (int i = 0; i < numDocs; i++) {
+                    values[i] = randomLongBetween(-1000, 1000);
+                    Document document = new Document();
+                    document.add(new LongPoint("field", values[i]));
+                    writer.addDocument(document);
+                }
+                writer.forceMerge(1);
+            }
+            try (DirectoryReader reader = DirectoryReader.open(directory)) {
+                LeafReaderContext ctx = reader.leaves().get(0);
+                PointValues pointValues = ctx.reader().getPointValues("field");
+                for (int iter = 0; iter < 20; iter++) {
+                    long lower = randomLongBetween(-1100, 1100);
+                    long upper = randomLongBetween(-1100, 1100);
+                    int expected = 0;
+                    for (long value : values) {
+                        if (value >= lower && value <= upper) {
+                            expected++;
+                        }
+                    }
+                    FilterByFilter.PointRange range = FilterByFilter.toPointRange(LongPoint.newRangeQuery("field", lower, upper));
+                    assertThat(range.count(pointValues), equalTo(expected));
+                }
+            }
+        }
+    }
+
+    private static void assertRange(FilterByFilter.PointRange range, String field, long lower, long upper) {
+        assertThat(range.field, equalTo(field));
+        assertThat(LongPoint.decodeDimension(range.lower, 0), equalTo(lower));
+        assertThat(LongPoint.decodeDimension(range.upper, 0), equalTo(upper));
+    }
+}
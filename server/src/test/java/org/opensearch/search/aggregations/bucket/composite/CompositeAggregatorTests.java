@@ -46,17 +46,24 @@ import org.apache.lucene.document.StringField;
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.RandomIndexWriter;
 import org.apache.lucene.index.Term;
+import org.apache.lucene.search.ConstantScoreScorer;
+import org.apache.lucene.search.ConstantScoreWeight;
+import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.search.DocValuesFieldExistsQuery;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.Scorer;
 import org.apache.lucene.search.Sort;
 import org.apache.lucene.search.SortField;
 import org.apache.lucene.search.SortedNumericSortField;
 import org.apache.lucene.search.SortedSetSortField;
 import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.Weight;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.NumericUtils;
@@ -116,6 +123,7 @@ import java.util.stream.Collectors;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -2251,6 +2259,138 @@ public class CompositeAggregatorTests  extends AggregatorTestCase {
         }
     }
 
+    public void testIndexSortInReverseOrderOfSources() throws Exception {
+        final List<Map<String, List<Object>>> dataset = new ArrayList<>();
+        final int numDocs = randomIntBetween(2000, 5000);
+        for (int i = 0; i < numDocs; i++) {
+            dataset.add(createDocument("keyword", "k" + randomIntBetween(0, 20), "long", (long) randomIntBetween(0, 50)));
+        }
+        final int size = randomIntBetween(10, 100);
+        Map<String, Object> afterKey = null;
+        for (int page = 0; page < 3; page++) {
+            final Map<String, Object> after = afterKey;
+            final Supplier<CompositeAggregationBuilder> create = () -> {
+                CompositeAggregationBuilder builder = new CompositeAggregationBuilder("name",
+                    Arrays.asList(
+                        new TermsValuesSourceBuilder("keyword").field("keyword").order(SortOrder.DESC),
+                        new TermsValuesSourceBuilder("long").field("long").order(SortOrder.DESC)
+                    )).size(size);
+                return after == null ? builder : builder.aggregateAfter(after);
+            };
+            final List<InternalComposite> results = new ArrayList<>();
+            // the index sort is built in ascending order, which is the reverse order of the sources
+            executeTestCase(false, false, new MatchAllDocsQuery(), dataset, create, results::add);
+            executeTestCase(false, true, new MatchAllDocsQuery(), dataset, create, results::add);
+            assertEquals(2, results.size());
+            assertEquals(results.get(0).afterKey(), results.get(1).afterKey());
+            assertEquals(toKeysAndDocCounts(results.get(0)), toKeysAndDocCounts(results.get(1)));
+            afterKey = results.get(0).afterKey();
+            if (afterKey == null) {
+                break;
+            }
+        }
+    }
+
+    public void testLatePageInReverseOrderOfSourcesVisitsFewDocuments() throws Exception {
+        final List<Map<String, List<Object>>> dataset = new ArrayList<>();
+        final int numDocs = 20000;
+        for (int i = 0; i < numDocs; i++) {
+            dataset.add(createDocument("long", (long) i));
+        }
+        final int size = randomIntBetween(10, 100);
+        final long after = randomLongBetween(numDocs / 2, numDocs * 3 / 5);
+        final AtomicLong visited = new AtomicLong();
+        // the index sort is built in ascending order, which is the reverse order of the sources
+        executeTestCase(true, true, new CountingMatchAllDocsQuery(visited), dataset,
+            () -> new CompositeAggregationBuilder("name",
+                Collections.singletonList(new TermsValuesSourceBuilder("long").field("long").order(SortOrder.DESC)))
+                .size(size)
+                .aggregateAfter(Collections.singletonMap("long", after)),
+            result -> {
+                assertEquals(size, result.getBuckets().size());
+                for (int i = 0; i < size; i++) {
+                    assertEquals(after - 1 - i, result.getBuckets().get(i).getKey().get("long"));
+                }
+            });
+        // the documents that sort before the after key are skipped and only the smallest block is visited around the page
+        assertThat(visited.get(), lessThanOrEqualTo(2L * Math.max(size, 1024)));
+    }
+
+    /**
+     * Matches all documents and counts the documents that its iterators returned.
+     */
+    private static class CountingMatchAllDocsQuery extends Query {
+        private final AtomicLong visited;
+
+        CountingMatchAllDocsQuery(AtomicLong visited) {
+            this.visited = visited;
+        }
+
+        @Override
+        public Weight createWeight(IndexSearcher searcher, ScoreMode scoreMode, float boost) {
+            return new ConstantScoreWeight(this, boost) {
+                @Override
+                public Scorer scorer(LeafReaderContext context) {
+                    final DocIdSetIterator all = DocIdSetIterator.all(context.reader().maxDoc());
+                    return new ConstantScoreScorer(this, score(), scoreMode, new DocIdSetIterator() {
+                        @Override
+                        public int docID() {
+                            return all.docID();
+                        }
+
+                        @Override
+                        public int nextDoc() throws IOException {
+                            return count(all.nextDoc());
+                        }
+
+                        @Override
+                        public int advance(int target) throws IOException {
+                            return count(all.advance(target));
+                        }
+
+                        @Override
+                        public long cost() {
+                            return all.cost();
+                        }
+
+                        private int count(int doc) {
+                            if (doc != NO_MORE_DOCS) {
+                                visited.incrementAndGet();
+                            }
+                            return doc;
+                        }
+                    });
+                }
+
+                @Override
+                public boolean isCacheable(LeafReaderContext ctx) {
+                    return false;
+                }
+            };
+        }
+
+        @Override
+        public String toString(String field) {
+            return "counting_match_all";
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return sameClassAs(obj);
+        }
+
+        @Override
+        public int hashCode() {
+            return classHash();
+        }
+    }
+
+    private static List<String> toKeysAndDocCounts(InternalComposite composite) {
+        return composite.getBuckets().stream()
+            .map(bucket -> bucket.getKeyAsString() + "=" + bucket.getDocCount())
+            .collect(Collectors.toList());
+    }
+
     private void testSearchCase(List<Query> queries,
                                 List<Map<String, List<Object>>> dataset,
                                 Supplier<CompositeAggregationBuilder> create,
@@ -37,6 +37,9 @@ import org.apache.lucene.document.LongPoint;
 import org.apache.lucene.document.SortedNumericDocValuesField;
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.NoMergePolicy;
 import org.apache.lucene.index.RandomIndexWriter;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.MatchAllDocsQuery;
@@ -46,16 +49,21 @@ import org.apache.lucene.store.Directory;
 import org.opensearch.common.time.DateFormatters;
 import org.opensearch.index.mapper.DateFieldMapper;
 import org.opensearch.search.aggregations.AggregationBuilder;
+import org.opensearch.search.aggregations.Aggregator;
 import org.opensearch.search.aggregations.BucketOrder;
 import org.opensearch.search.aggregations.bucket.terms.StringTerms;
 import org.opensearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.InternalMax;
+import org.opensearch.search.aggregations.metrics.MaxAggregationBuilder;
 import org.opensearch.search.aggregations.support.AggregationInspectionHelper;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import static java.util.stream.Collectors.toList;
@@ -1167,6 +1175,87 @@ public class DateHistogramAggregatorTests extends DateHistogramAggregatorTestCas
         assertWarnings("[interval] on [date_histogram] is deprecated, use [fixed_interval] or [calendar_interval] in the future.");
     }
 
+    /**
+     * Dates with points may be collected filter by filter, which must produce the same buckets as reading the doc values.
+     */
+    public void testFilterByFilter() throws IOException {
+        DateFieldMapper.DateFieldType fieldType = aggregableDateFieldType(false, true);
+        long day = 24 * 60 * 60 * 1000L;
+        long start = asLong("2021-01-01");
+        boolean filtered = randomBoolean();
+        long queryMin = start + 5 * day + 1000;
+        long queryMax = start + 20 * day;
+        Query query = filtered ? LongPoint.newRangeQuery(AGGREGABLE_DATE, queryMin, queryMax) : new MatchAllDocsQuery();
+        LongBounds hardBounds = randomBoolean() ? new LongBounds(start + 10 * day, start + 25 * day) : null;
+        boolean withSubAggregation = randomBoolean();
+
+        List<Long> values = new ArrayList<>();
+        try (Directory directory = newDirectory()) {
+            // a segment per day so that the filter of a single day matches the documents of a segment, which makes running the
+            // filters cheaper than collecting the documents one by one
+            try (IndexWriter indexWriter = new IndexWriter(directory, new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE))) {
+                for (int d = 0; d < 30; d++) {
+                    if (d > 0 && randomBoolean()) {
+                        continue;
+                    }
+                    for (int numDocs = randomIntBetween(1, 10); numDocs > 0; numDocs--) {
+                        long value = start + d * day + randomLongBetween(0, day - 1);
+                        indexWriter.addDocument(Arrays.asList(
+                            new LongPoint(AGGREGABLE_DATE, value),
+                            new SortedNumericDocValuesField(AGGREGABLE_DATE, value)));
+                        values.add(value);
+                    }
+                    indexWriter.commit();
+                }
+            }
+            try (IndexReader indexReader = DirectoryReader.open(directory)) {
+                DateHistogramAggregationBuilder aggregationBuilder = new DateHistogramAggregationBuilder("_name")
+                    .field(AGGREGABLE_DATE)
+                    .calendarInterval(DateHistogramInterval.DAY);
+                if (hardBounds != null) {
+                    aggregationBuilder.hardBounds(hardBounds);
+                }
+                if (withSubAggregation) {
+                    aggregationBuilder.subAggregation(new MaxAggregationBuilder("max").field(AGGREGABLE_DATE));
+                }
+                IndexSearcher indexSearcher = newSearcher(indexReader, true, true);
+                InternalDateHistogram histogram = searchAndReduce(indexSearcher, query, aggregationBuilder, fieldType);
+
+                Map<Long, Long> expectedCounts = new HashMap<>();
+                Map<Long, Long> expectedMax = new HashMap<>();
+                for (long value : values) {
+                    long key = value - Math.floorMod(value, day);
+                    if ((filtered && (value < queryMin || value > queryMax)) || (hardBounds != null && hardBounds.contain(key) == false)) {
+                        continue;
+                    }
+                    expectedCounts.merge(key, 1L, Long::sum);
+                    expectedMax.merge(key, value, Math::max);
+                }
+                long totalCount = 0;
+                for (InternalDateHistogram.Bucket bucket : histogram.getBuckets()) {
+                    assertEquals(bucket.getKeyAsString(), (long) expectedCounts.getOrDefault(bucket.key, 0L), bucket.getDocCount());
+                    if (withSubAggregation && bucket.getDocCount() > 0) {
+                        InternalMax max = bucket.getAggregations().get("max");
+                        assertEquals(bucket.getKeyAsString(), (double) expectedMax.get(bucket.key), max.getValue(), 0d);
+                    }
+                    totalCount += bucket.getDocCount();
+                }
+                assertEquals(expectedCounts.values().stream().mapToLong(Long::longValue).sum(), totalCount);
+
+                // every segment is collected filter by filter, and counted on the points when there is no sub-aggregation
+                Aggregator aggregator = createAggregator(query, aggregationBuilder, indexSearcher, createIndexSettings(), fieldType);
+                aggregator.preCollection();
+                indexSearcher.search(query, aggregator);
+                aggregator.postCollection();
+                Map<String, Object> debug = new HashMap<>();
+                aggregator.collectDebugInfo(debug::put);
+                int segments = indexSearcher.getIndexReader().leaves().size();
+                assertThat((int) debug.get("segments_collected_filter_by_filter"), equalTo(segments));
+                assertThat((int) debug.get("segments_counted_on_points"), equalTo(withSubAggregation ? 0 : segments));
+            }
+        }
+    }
+
     private void testSearchCase(Query query, List<String> dataset,
                                 Consumer<DateHistogramAggregationBuilder> configure,
                                 Consumer<InternalDateHistogram> verify, boolean useNanosecondResolution) throws IOException {
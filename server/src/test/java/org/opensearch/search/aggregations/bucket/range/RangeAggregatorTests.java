@@ -32,11 +32,15 @@
 
 package org.opensearch.search.aggregations.bucket.range;
 
+import org.apache.lucene.document.IntPoint;
 import org.apache.lucene.document.NumericDocValuesField;
 import org.apache.lucene.document.SortedNumericDocValuesField;
 import org.apache.lucene.document.SortedSetDocValuesField;
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.NoMergePolicy;
 import org.apache.lucene.index.RandomIndexWriter;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.MatchAllDocsQuery;
@@ -48,15 +52,23 @@ import org.opensearch.index.mapper.DateFieldMapper;
 import org.opensearch.index.mapper.KeywordFieldMapper;
 import org.opensearch.index.mapper.MappedFieldType;
 import org.opensearch.index.mapper.NumberFieldMapper;
+import org.opensearch.search.aggregations.Aggregator;
 import org.opensearch.search.aggregations.AggregatorTestCase;
 import org.opensearch.search.aggregations.CardinalityUpperBound;
+import org.opensearch.search.aggregations.metrics.InternalMax;
+import org.opensearch.search.aggregations.metrics.MaxAggregationBuilder;
 import org.opensearch.search.aggregations.support.AggregationInspectionHelper;
+import org.opensearch.tasks.TaskCancelledException;
 
 import java.io.IOException;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import static java.util.Collections.singleton;
@@ -308,6 +320,110 @@ public class RangeAggregatorTests extends AggregatorTestCase {
         });
     }
 
+    /**
+     * Ranges on a field with points may be collected filter by filter, which must produce the same buckets as reading the doc values.
+     */
+    public void testFilterByFilter() throws IOException {
+        MappedFieldType fieldType = new NumberFieldMapper.NumberFieldType(NUMBER_FIELD_NAME, NumberFieldMapper.NumberType.INTEGER);
+        boolean filtered = randomBoolean();
+        Query query = filtered ? IntPoint.newRangeQuery(NUMBER_FIELD_NAME, 10, 60) : new MatchAllDocsQuery();
+        boolean withSubAggregation = randomBoolean();
+        RangeAggregationBuilder aggregationBuilder = new RangeAggregationBuilder("test_range_agg")
+            .field(NUMBER_FIELD_NAME)
+            .addRange(10d, 25d)
+            .addRange(30d, 50d)
+            .addUnboundedTo(10d)
+            .addUnboundedFrom(90d);
+        if (withSubAggregation) {
+            aggregationBuilder.subAggregation(new MaxAggregationBuilder("max").field(NUMBER_FIELD_NAME));
+        }
+
+        List<Integer> values = new ArrayList<>();
+        try (Directory directory = newDirectory()) {
+            // a segment per value: the ranges are disjoint so a single filter matches all the documents of a segment and running
+            // the filters is never estimated to be more costly than collecting the documents one by one
+            try (IndexWriter indexWriter = new IndexWriter(directory, new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE))) {
+                int numValues = randomIntBetween(1, 20);
+                for (int i = 0; i < numValues; i++) {
+                    int value = randomIntBetween(0, 99);
+                    for (int numDocs = randomIntBetween(1, 10); numDocs > 0; numDocs--) {
+                        indexWriter.addDocument(Arrays.asList(
+                            new IntPoint(NUMBER_FIELD_NAME, value),
+                            new SortedNumericDocValuesField(NUMBER_FIELD_NAME, value)));
+                        values.add(value);
+                    }
+                    indexWriter.commit();
+                }
+                indexWriter.addDocument(singleton(new SortedNumericDocValuesField("other", 1)));
+            }
+            try (IndexReader indexReader = DirectoryReader.open(directory)) {
+                IndexSearcher indexSearcher = newSearcher(indexReader, true, true);
+                InternalRange<? extends InternalRange.Bucket, ? extends InternalRange> range = searchAndReduce(indexSearcher, query,
+                    aggregationBuilder, fieldType);
+                List<? extends InternalRange.Bucket> buckets = range.getBuckets();
+                assertEquals(4, buckets.size());
+                for (InternalRange.Bucket bucket : buckets) {
+                    double from = ((Number) bucket.getFrom()).doubleValue();
+                    double to = ((Number) bucket.getTo()).doubleValue();
+                    long expectedCount = 0;
+                    double expectedMax = Double.NEGATIVE_INFINITY;
+                    for (int value : values) {
+                        if (value >= from && value < to && (filtered == false || (value >= 10 && value <= 60))) {
+                            expectedCount++;
+                            expectedMax = Math.max(expectedMax, value);
+                        }
+                    }
+                    assertEquals(bucket.getKeyAsString(), expectedCount, bucket.getDocCount());
+                    if (withSubAggregation) {
+                        InternalMax max = bucket.getAggregations().get("max");
+                        assertEquals(bucket.getKeyAsString(), expectedMax, max.getValue(), 0d);
+                    }
+                }
+
+                // every segment is collected filter by filter, and counted on the points when there is no sub-aggregation
+                Aggregator aggregator = createAggregator(query, aggregationBuilder, indexSearcher, createIndexSettings(), fieldType);
+                aggregator.preCollection();
+                indexSearcher.search(query, aggregator);
+                aggregator.postCollection();
+                Map<String, Object> debug = new HashMap<>();
+                aggregator.collectDebugInfo(debug::put);
+                int segments = indexSearcher.getIndexReader().leaves().size();
+                assertThat((int) debug.get("segments_collected_filter_by_filter"), equalTo(segments));
+                assertThat((int) debug.get("segments_counted_on_points"), equalTo(withSubAggregation ? 0 : segments));
+            }
+        }
+    }
+
+    public void testFilterByFilterCancelled() throws IOException {
+        MappedFieldType fieldType = new NumberFieldMapper.NumberFieldType(NUMBER_FIELD_NAME, NumberFieldMapper.NumberType.INTEGER);
+        RangeAggregationBuilder aggregationBuilder = new RangeAggregationBuilder("test_range_agg")
+            .field(NUMBER_FIELD_NAME)
+            .addRange(0d, 10d);
+        if (randomBoolean()) {
+            aggregationBuilder.subAggregation(new MaxAggregationBuilder("max").field(NUMBER_FIELD_NAME));
+        }
+        try (Directory directory = newDirectory()) {
+            // the range matches all the documents so it is collected filter by filter
+            try (IndexWriter indexWriter = new IndexWriter(directory, new IndexWriterConfig())) {
+                for (int i = 0; i < 10; i++) {
+                    indexWriter.addDocument(Arrays.asList(
+                        new IntPoint(NUMBER_FIELD_NAME, 5),
+                        new SortedNumericDocValuesField(NUMBER_FIELD_NAME, 5)));
+                }
+            }
+            try (IndexReader indexReader = DirectoryReader.open(directory)) {
+                IndexSearcher indexSearcher = newSearcher(indexReader, true, true);
+                Query query = new MatchAllDocsQuery();
+                Aggregator aggregator = createAggregator(query, aggregationBuilder, indexSearcher, createIndexSettings(), fieldType);
+                aggregator.context().searcher().addQueryCancellation(() -> {
+                    throw new TaskCancelledException("cancelled");
+                });
+                aggregator.preCollection();
+                expectThrows(TaskCancelledException.class, () -> indexSearcher.search(query, aggregator));
+            }
+        }
+    }
+
     private void testCase(Query query,
                           CheckedConsumer<RandomIndexWriter, IOException> buildIndex,
                           Consumer<InternalRange<? extends InternalRange.Bucket, ? extends InternalRange>> verify) throws IOException {
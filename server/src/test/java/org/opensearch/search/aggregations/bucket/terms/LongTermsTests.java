@@ -32,18 +32,31 @@
 
 package org.opensearch.search.aggregations.bucket.terms;
 
+import org.opensearch.common.breaker.CircuitBreaker;
+import org.opensearch.common.breaker.CircuitBreakingException;
+import org.opensearch.common.breaker.NoopCircuitBreaker;
+import org.opensearch.common.util.BigArrays;
+import org.opensearch.indices.breaker.NoneCircuitBreakerService;
 import org.opensearch.search.DocValueFormat;
 import org.opensearch.search.aggregations.BucketOrder;
+import org.opensearch.search.aggregations.InternalAggregation;
 import org.opensearch.search.aggregations.InternalAggregations;
 import org.opensearch.search.aggregations.ParsedMultiBucketAggregation;
+import org.opensearch.search.aggregations.pipeline.PipelineAggregator;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
 
 public class LongTermsTests extends InternalTermsTestCase {
 
@@ -73,6 +86,97 @@ public class LongTermsTests extends InternalTermsTestCase {
                 metadata, format, shardSize, showTermDocCountError, otherDocCount, buckets, docCountError);
     }
 
+    public void testPartialReduceMergesBucketsByKey() {
+        BucketOrder order = BucketOrder.count(false);
+        List<InternalAggregation> shards = Arrays.asList(
+            shardTerms(order, 1, 1L, 3L, 3L, 1L),
+            shardTerms(order, 1, 1L, 2L, 2L, 4L, 3L, 4L)
+        );
+        InternalAggregation.ReduceContext context = emptyReduceContextBuilder().forPartialReduction();
+        LongTerms reduced = (LongTerms) shards.get(0).reduce(shards, context);
+        assertThat(reduced.reduceOrder, equalTo(BucketOrder.key(true)));
+        assertThat(keys(reduced), contains(1L, 2L, 3L));
+        assertThat(docCounts(reduced), contains(5L, 4L, 5L));
+    }
+
+    public void testPartialReduceStopsAtRequiredSizeWhenOrderedByKey() {
+        BucketOrder order = BucketOrder.key(true);
+        List<InternalAggregation> shards = Arrays.asList(
+            shardTerms(order, 0, 1L, 3L, 3L, 1L),
+            shardTerms(order, 0, 1L, 2L, 2L, 4L, 3L, 4L)
+        );
+        InternalAggregation.ReduceContext context = emptyReduceContextBuilder().forPartialReduction();
+        LongTerms reduced = (LongTerms) shards.get(0).reduce(shards, context);
+        assertThat(keys(reduced), contains(1L, 2L));
+        assertThat(docCounts(reduced), contains(5L, 4L));
+    }
+
+    public void testPartialReduceBufferIsAccountedOnTheRequestBreaker() {
+        BucketOrder order = BucketOrder.count(false);
+        List<InternalAggregation> shards = Arrays.asList(
+            shardTerms(order, 1, 1L, 3L, 3L, 1L),
+            shardTerms(order, 1, 1L, 2L, 2L, 4L, 3L, 4L)
+        );
+        final long bufferBytes = InternalTerms.PARTIAL_REDUCE_BREAKER_BLOCK_SIZE * InternalTerms.PARTIAL_REDUCE_BUCKET_BYTES;
+        final AtomicLong used = new AtomicLong();
+        final AtomicLong maxUsed = new AtomicLong();
+        final AtomicLong limit = new AtomicLong(bufferBytes - 1);
+        CircuitBreaker breaker = new NoopCircuitBreaker(CircuitBreaker.REQUEST) {
+            @Override
+            public double addEstimateBytesAndMaybeBreak(long bytes, String label) {
+                if (used.get() + bytes > limit.get()) {
+                    throw new CircuitBreakingException("over limit", bytes, limit.get(), Durability.TRANSIENT);
+                }
+                return addWithoutBreaking(bytes);
+            }
+
+            @Override
+            public long addWithoutBreaking(long bytes) {
+                long newUsed = used.addAndGet(bytes);
+                maxUsed.accumulateAndGet(newUsed, Math::max);
+                return newUsed;
+            }
+        };
+        BigArrays bigArrays = new BigArrays(null, new NoneCircuitBreakerService() {
+            @Override
+            public CircuitBreaker getBreaker(String name) {
+                return breaker;
+            }
+        }, CircuitBreaker.REQUEST);
+        InternalAggregation.ReduceContext context = InternalAggregation.ReduceContext.forPartialReduction(bigArrays, null,
+            () -> PipelineAggregator.PipelineTree.EMPTY);
+
+        expectThrows(CircuitBreakingException.class, () -> shards.get(0).reduce(shards, context));
+        assertThat(used.get(), equalTo(0L));
+
+        limit.set(Long.MAX_VALUE);
+        LongTerms reduced = (LongTerms) shards.get(0).reduce(shards, context);
+        assertThat(keys(reduced), contains(1L, 2L, 3L));
+        assertThat(maxUsed.get(), equalTo(bufferBytes));
+        // the buffer is released once the partial reduce is done
+        assertThat(used.get(), equalTo(0L));
+    }
+
+    private static List<Long> keys(LongTerms terms) {
+        return terms.getBuckets().stream().map(b -> b.getKeyAsNumber().longValue()).collect(Collectors.toList());
+    }
+
+    private static List<Long> docCounts(LongTerms terms) {
+        return terms.getBuckets().stream().map(LongTerms.Bucket::getDocCount).collect(Collectors.toList());
+    }
+
+    /**
+     * Builds a shard level response with {@code size: 2} from pairs of term and doc count, sorted by key like shards return them.
+     */
+    private static LongTerms shardTerms(BucketOrder order, long minDocCount, long... termsAndCounts) {
+        List<LongTerms.Bucket> buckets = new ArrayList<>();
+        for (int i = 0; i < termsAndCounts.length; i += 2) {
+            buckets.add(new LongTerms.Bucket(termsAndCounts[i], termsAndCounts[i + 1], InternalAggregations.EMPTY, false, 0,
+                DocValueFormat.RAW));
+        }
+        return new LongTerms("terms", BucketOrder.key(true), order, 2, minDocCount, null, DocValueFormat.RAW, 2, false, 0, buckets, 0);
+    }
+
     @Override
     protected Class<? extends ParsedMultiBucketAggregation> implementationClass() {
         return ParsedLongTerms.class;
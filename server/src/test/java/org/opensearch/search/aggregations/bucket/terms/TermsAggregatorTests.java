@@ -53,6 +53,7 @@ import org.apache.lucene.store.Directory;
 import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.NumericUtils;
 import org.opensearch.common.breaker.CircuitBreaker;
+import org.opensearch.common.breaker.NoopCircuitBreaker;
 import org.opensearch.common.geo.GeoPoint;
 import org.opensearch.common.network.InetAddresses;
 import org.opensearch.common.settings.Settings;
@@ -85,12 +86,15 @@ import org.opensearch.search.SearchHit;
 import org.opensearch.search.aggregations.AggregationBuilder;
 import org.opensearch.search.aggregations.AggregationBuilders;
 import org.opensearch.search.aggregations.AggregationExecutionException;
+import org.opensearch.search.aggregations.AggregationSpillService;
 import org.opensearch.search.aggregations.Aggregator;
+import org.opensearch.search.aggregations.AggregatorFactories;
 import org.opensearch.search.aggregations.AggregatorTestCase;
 import org.opensearch.search.aggregations.BucketOrder;
 import org.opensearch.search.aggregations.InternalAggregation;
 import org.opensearch.search.aggregations.InternalMultiBucketAggregation;
 import org.opensearch.search.aggregations.MultiBucketConsumerService;
+import org.opensearch.search.aggregations.SearchContextAggregations;
 import org.opensearch.search.aggregations.bucket.MultiBucketsAggregation;
 import org.opensearch.search.aggregations.bucket.filter.Filter;
 import org.opensearch.search.aggregations.bucket.filter.FilterAggregationBuilder;
@@ -107,6 +111,7 @@ import org.opensearch.search.aggregations.support.AggregationInspectionHelper;
 import org.opensearch.search.aggregations.support.CoreValuesSourceType;
 import org.opensearch.search.aggregations.support.ValueType;
 import org.opensearch.search.aggregations.support.ValuesSourceType;
+import org.opensearch.search.internal.SearchContext;
 import org.opensearch.search.sort.FieldSortBuilder;
 import org.opensearch.search.sort.ScoreSortBuilder;
 import org.opensearch.test.geo.RandomGeoGenerator;
@@ -1410,6 +1415,64 @@ public class TermsAggregatorTests extends AggregatorTestCase {
         }
     }
 
+    public void testSpillToDisk() throws Exception {
+        int numTerms = randomIntBetween(2000, 5000);
+        try (Directory directory = newDirectory()) {
+            try (RandomIndexWriter indexWriter = new RandomIndexWriter(random(), directory)) {
+                int numDocs = randomIntBetween(numTerms, numTerms * 2);
+                for (int i = 0; i < numDocs; i++) {
+                    Document document = new Document();
+                    document.add(new SortedSetDocValuesField("string", new BytesRef("term_" + randomInt(numTerms))));
+                    if (randomBoolean()) {
+                        document.add(new SortedSetDocValuesField("string", new BytesRef("term_" + randomInt(numTerms))));
+                    }
+                    indexWriter.addDocument(document);
+                }
+                try (IndexReader indexReader = maybeWrapReaderEs(indexWriter.getReader())) {
+                    IndexSearcher indexSearcher = newIndexSearcher(indexReader);
+                    TermsAggregationBuilder aggregationBuilder = new TermsAggregationBuilder("_name")
+                        .executionHint("map")
+                        .field("string")
+                        .size(randomIntBetween(1, 100));
+                    if (randomBoolean()) {
+                        aggregationBuilder.order(BucketOrder.key(randomBoolean()));
+                    }
+                    MappedFieldType fieldType = new KeywordFieldMapper.KeywordFieldType("string");
+
+                    TermsAggregator aggregator = createAggregator(aggregationBuilder, indexSearcher, fieldType);
+                    aggregator.preCollection();
+                    indexSearcher.search(new MatchAllDocsQuery(), aggregator);
+                    aggregator.postCollection();
+                    StringTerms expected = reduce(aggregator);
+
+                    // spill every few hundred buckets, whatever the request circuit breaker uses
+                    CircuitBreaker breaker = new NoopCircuitBreaker(CircuitBreaker.REQUEST);
+                    MultiBucketConsumerService.MultiBucketConsumer bucketConsumer = new MultiBucketConsumerService.MultiBucketConsumer(
+                        MultiBucketConsumerService.DEFAULT_MAX_BUCKETS, breaker);
+                    SearchContext context = createSearchContext(indexSearcher, createIndexSettings(), new MatchAllDocsQuery(),
+                        bucketConsumer, fieldType);
+                    when(context.aggregations()).thenReturn(new SearchContextAggregations(AggregatorFactories.EMPTY, bucketConsumer,
+                        new AggregationSpillService.BucketSpiller(randomLongBetween(0, 16 * 1024), createTempDir()), null));
+                    aggregator = createAggregator(aggregationBuilder, context);
+                    aggregator.preCollection();
+                    indexSearcher.search(new MatchAllDocsQuery(), aggregator);
+                    aggregator.postCollection();
+                    StringTerms result = reduce(aggregator);
+
+                    Map<String, Object> debug = new HashMap<>();
+                    aggregator.collectDebugInfo(debug::put);
+                    assertThat((int) debug.get("spills"), greaterThan(0));
+                    assertThat(result.getSumOfOtherDocCounts(), equalTo(expected.getSumOfOtherDocCounts()));
+                    assertThat(result.getBuckets().size(), equalTo(expected.getBuckets().size()));
+                    for (int i = 0; i < expected.getBuckets().size(); i++) {
+                        assertThat(result.getBuckets().get(i).getKeyAsString(), equalTo(expected.getBuckets().get(i).getKeyAsString()));
+                        assertThat(result.getBuckets().get(i).getDocCount(), equalTo(expected.getBuckets().get(i).getDocCount()));
+                    }
+                }
+            }
+        }
+    }
+
     private final SeqNoFieldMapper.SequenceIDFields sequenceIDFields = SeqNoFieldMapper.SequenceIDFields.emptySeqID();
     private List<Document> generateDocsWithNested(String id, int value, int[] nestedValues) {
         List<Document> documents = new ArrayList<>();
@@ -0,0 +1,281 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.search.aggregations.cache;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.store.Directory;
+import org.opensearch.Version;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.common.Strings;
+import org.opensearch.common.breaker.CircuitBreaker;
+import org.opensearch.common.io.stream.NamedWriteableRegistry;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.index.IndexSettings;
+import org.opensearch.index.mapper.DateFieldMapper;
+import org.opensearch.index.mapper.MappedFieldType;
+import org.opensearch.index.mapper.NumberFieldMapper;
+import org.opensearch.indices.IndicesAggregationCache;
+import org.opensearch.indices.breaker.NoneCircuitBreakerService;
+import org.opensearch.search.SearchModule;
+import org.opensearch.search.aggregations.AggregationBuilder;
+import org.opensearch.search.aggregations.Aggregator;
+import org.opensearch.search.aggregations.AggregatorFactories;
+import org.opensearch.search.aggregations.AggregatorTestCase;
+import org.opensearch.search.aggregations.InternalAggregation;
+import org.opensearch.search.aggregations.MultiBucketConsumerService.MultiBucketConsumer;
+import org.opensearch.search.aggregations.SearchContextAggregations;
+import org.opensearch.search.aggregations.bucket.histogram.DateHistogramAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.histogram.DateHistogramInterval;
+import org.opensearch.search.aggregations.bucket.histogram.InternalDateHistogram;
+import org.opensearch.search.aggregations.bucket.range.RangeAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.CardinalityAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.StatsAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.SumAggregationBuilder;
+import org.opensearch.search.aggregations.pipeline.PipelineAggregator;
+import org.opensearch.search.internal.SearchContext;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.when;
+
+public class SegmentCachedAggregatorTests extends AggregatorTestCase {
+
+    private static final long START = 1609459200000L; // 2021-01-01T00:00:00Z
+
+    private static final MappedFieldType[] FIELD_TYPES = new MappedFieldType[] {
+        new DateFieldMapper.DateFieldType("@timestamp"),
+        new NumberFieldMapper.NumberFieldType("value", NumberFieldMapper.NumberType.LONG) };
+
+    private static final NamedWriteableRegistry REGISTRY =
+        new NamedWriteableRegistry(new SearchModule(Settings.EMPTY, false, Collections.emptyList()).getNamedWriteables());
+
+    public void testCachePerSegment() throws IOException {
+        AggregationBuilder builder = randomCacheableAggregation();
+        IndicesAggregationCache cache = new IndicesAggregationCache(Settings.EMPTY, REGISTRY);
+        try (Directory directory = newDirectory();
+             IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE))) {
+            int numSegments = randomIntBetween(1, 5);
+            for (int i = 0; i < numSegments; i++) {
+                indexRandomDocuments(writer);
+                writer.commit();
+            }
+            try (DirectoryReader reader = DirectoryReader.open(writer)) {
+                IndexSearcher searcher = newIndexSearcher(reader);
+                String expected = aggregate(searcher, new MatchAllDocsQuery(), builder, null, null);
+
+                Map<String, Object> debug = new HashMap<>();
+                assertThat(aggregate(searcher, new MatchAllDocsQuery(), builder, cache, debug), equalTo(expected));
+                assertThat(debug.get("collected_segments"), equalTo(reader.leaves().size()));
+                assertThat(debug.get("cached_segments"), equalTo(0));
+                assertThat(cache.count(), equalTo(reader.leaves().size()));
+
+                // every segment is read from the cache
+                assertThat(aggregate(searcher, new MatchAllDocsQuery(), builder, cache, debug), equalTo(expected));
+                assertThat(debug.get("collected_segments"), equalTo(0));
+                assertThat(debug.get("cached_segments"), equalTo(reader.leaves().size()));
+
+                // only the new segment is collected after a refresh
+                indexRandomDocuments(writer);
+                try (DirectoryReader newReader = DirectoryReader.openIfChanged(reader, writer)) {
+                    searcher = newIndexSearcher(newReader);
+                    expected = aggregate(searcher, new MatchAllDocsQuery(), builder, null, null);
+                    assertThat(aggregate(searcher, new MatchAllDocsQuery(), builder, cache, debug), equalTo(expected));
+                    assertThat(debug.get("collected_segments"), equalTo(1));
+                    assertThat(debug.get("cached_segments"), equalTo(reader.leaves().size()));
+
+                    // the results of another query are cached separately
+                    Query query = LongPoint.newRangeQuery("@timestamp", START, START + TimeUnit.HOURS.toMillis(12));
+                    expected = aggregate(searcher, query, builder, null, null);
+                    assertThat(aggregate(searcher, query, builder, cache, debug), equalTo(expected));
+                    assertThat(debug.get("collected_segments"), equalTo(newReader.leaves().size()));
+                }
+            }
+        }
+        cache.close();
+    }
+
+    public void testNotCacheable() throws IOException {
+        IndicesAggregationCache cache = new IndicesAggregationCache(Settings.EMPTY, REGISTRY);
+        try (Directory directory = newDirectory();
+             IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE))) {
+            indexRandomDocuments(writer);
+            try (DirectoryReader reader = DirectoryReader.open(writer)) {
+                IndexSearcher searcher = newIndexSearcher(reader);
+                // the top buckets of each segment may not be the top buckets of the shard
+                AggregationBuilder terms = new TermsAggregationBuilder("terms").field("value");
+                assertThat(createTopLevelAggregator(searcher, new MatchAllDocsQuery(), terms, cache, true),
+                    not(instanceOf(SegmentCachedAggregator.class)));
+                AggregationBuilder termsInHistogram = new DateHistogramAggregationBuilder("histo").field("@timestamp")
+                    .calendarInterval(DateHistogramInterval.HOUR)
+                    .subAggregation(new TermsAggregationBuilder("terms").field("value"));
+                assertThat(createTopLevelAggregator(searcher, new MatchAllDocsQuery(), termsInHistogram, cache, true),
+                    not(instanceOf(SegmentCachedAggregator.class)));
+                // the cache is disabled on the index
+                assertThat(createTopLevelAggregator(searcher, new MatchAllDocsQuery(), randomCacheableAggregation(), cache, false),
+                    not(instanceOf(SegmentCachedAggregator.class)));
+                assertThat(createTopLevelAggregator(searcher, new MatchAllDocsQuery(), randomCacheableAggregation(), cache, true),
+                    instanceOf(SegmentCachedAggregator.class));
+            }
+        }
+        cache.close();
+    }
+
+    public void testBucketsOfManySegments() throws IOException {
+        // a day of hourly buckets fits in the limit, but not the buckets of every segment together
+        final int maxBuckets = 30;
+        AggregationBuilder builder = new DateHistogramAggregationBuilder("histo").field("@timestamp")
+            .calendarInterval(DateHistogramInterval.HOUR);
+        IndicesAggregationCache cache = new IndicesAggregationCache(Settings.EMPTY, REGISTRY);
+        try (Directory directory = newDirectory();
+             IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE))) {
+            int numSegments = randomIntBetween(10, 30);
+            for (int i = 0; i < numSegments; i++) {
+                for (long timestamp = START; timestamp < START + TimeUnit.DAYS.toMillis(1); timestamp += TimeUnit.MINUTES.toMillis(30)) {
+                    Document document = new Document();
+                    document.add(new LongPoint("@timestamp", timestamp));
+                    document.add(new SortedNumericDocValuesField("@timestamp", timestamp));
+                    writer.addDocument(document);
+                }
+                writer.commit();
+            }
+            try (DirectoryReader reader = DirectoryReader.open(writer)) {
+                assertThat(reader.leaves().size(), equalTo(numSegments));
+                IndexSearcher searcher = newIndexSearcher(reader);
+                MultiBucketConsumer bucketConsumer = new MultiBucketConsumer(maxBuckets,
+                    new NoneCircuitBreakerService().getBreaker(CircuitBreaker.REQUEST));
+                Aggregator aggregator = createTopLevelAggregator(searcher, new MatchAllDocsQuery(), builder, cache, true, bucketConsumer);
+                aggregator.preCollection();
+                searcher.search(new MatchAllDocsQuery(), aggregator);
+                aggregator.postCollection();
+                InternalAggregation result = aggregator.buildTopLevel();
+                Map<String, Object> debug = new HashMap<>();
+                aggregator.collectDebugInfo(debug::put);
+                assertThat(debug.get("collected_segments"), equalTo(numSegments));
+                // the buckets of the segments are not counted against the limit of the request
+                assertThat(bucketConsumer.getCount(), equalTo(0));
+
+                MultiBucketConsumer reduceBucketConsumer = new MultiBucketConsumer(maxBuckets,
+                    new NoneCircuitBreakerService().getBreaker(CircuitBreaker.REQUEST));
+                InternalDateHistogram histogram = (InternalDateHistogram) result.reduce(Collections.singletonList(result),
+                    InternalAggregation.ReduceContext.forFinalReduction(aggregator.context().bigArrays(), null, reduceBucketConsumer,
+                        PipelineAggregator.PipelineTree.EMPTY));
+                assertThat(histogram.getBuckets().size(), equalTo(24));
+                for (InternalDateHistogram.Bucket bucket : histogram.getBuckets()) {
+                    assertThat(bucket.getDocCount(), equalTo(2L * numSegments));
+                }
+            }
+        }
+        cache.close();
+    }
+
+    private static AggregationBuilder randomCacheableAggregation() {
+        switch (randomInt(3)) {
+            case 0:
+                return new DateHistogramAggregationBuilder("histo").field("@timestamp")
+                    .calendarInterval(DateHistogramInterval.HOUR)
+                    .subAggregation(new SumAggregationBuilder("sum").field("value"));
+            case 1:
+                return new StatsAggregationBuilder("stats").field("value");
+            case 2:
+                return new RangeAggregationBuilder("range").field("value")
+                    .addUnboundedTo(0)
+                    .addRange(0, 50)
+                    .addUnboundedFrom(50)
+                    .subAggregation(new CardinalityAggregationBuilder("cardinality").field("@timestamp"));
+            default:
+                return new CardinalityAggregationBuilder("cardinality").field("value");
+        }
+    }
+
+    private void indexRandomDocuments(IndexWriter writer) throws IOException {
+        int numDocs = randomIntBetween(1, 200);
+        for (int i = 0; i < numDocs; i++) {
+            Document document = new Document();
+            long timestamp = START + randomLongBetween(0, TimeUnit.DAYS.toMillis(1));
+            document.add(new LongPoint("@timestamp", timestamp));
+            document.add(new SortedNumericDocValuesField("@timestamp", timestamp));
+            if (randomInt(10) > 0) {
+                document.add(new SortedNumericDocValuesField("value", randomIntBetween(-100, 100)));
+            }
+            writer.addDocument(document);
+        }
+    }
+
+    /**
+     * Returns the final result of the aggregation rendered as a string, which compares the results independently of the
+     * order in which their sketches were merged.
+     */
+    private String aggregate(IndexSearcher searcher, Query query, AggregationBuilder builder, IndicesAggregationCache cache,
+                             Map<String, Object> debug) throws IOException {
+        Aggregator aggregator = createTopLevelAggregator(searcher, query, builder, cache, cache != null);
+        aggregator.preCollection();
+        searcher.search(query, aggregator);
+        aggregator.postCollection();
+        InternalAggregation result = aggregator.buildTopLevel();
+        if (debug != null) {
+            debug.clear();
+            aggregator.collectDebugInfo(debug::put);
+        }
+        MultiBucketConsumer bucketConsumer = new MultiBucketConsumer(DEFAULT_MAX_BUCKETS,
+            new NoneCircuitBreakerService().getBreaker(CircuitBreaker.REQUEST));
+        return Strings.toString(result.reduce(Collections.singletonList(result), InternalAggregation.ReduceContext.forFinalReduction(
+            aggregator.context().bigArrays(), null, bucketConsumer, PipelineAggregator.PipelineTree.EMPTY)));
+    }
+
+    private Aggregator createTopLevelAggregator(IndexSearcher searcher, Query query, AggregationBuilder builder,
+                                                IndicesAggregationCache cache, boolean enabled) throws IOException {
+        return createTopLevelAggregator(searcher, query, builder, cache, enabled, new MultiBucketConsumer(DEFAULT_MAX_BUCKETS,
+            new NoneCircuitBreakerService().getBreaker(CircuitBreaker.REQUEST)));
+    }
+
+    private Aggregator createTopLevelAggregator(IndexSearcher searcher, Query query, AggregationBuilder builder,
+                                                IndicesAggregationCache cache, boolean enabled,
+                                                MultiBucketConsumer bucketConsumer) throws IOException {
+        SearchContext searchContext = createSearchContext(searcher, createIndexSettings(enabled), query, bucketConsumer, FIELD_TYPES);
+        when(searchContext.aggregations()).thenReturn(new SearchContextAggregations(AggregatorFactories.EMPTY, bucketConsumer,
+            null, cache));
+        Aggregator[] aggregators = AggregatorFactories.builder().addAggregator(builder)
+            .build(searchContext.getQueryShardContext(), null)
+            .createTopLevelAggregators(searchContext);
+        assertEquals(1, aggregators.length);
+        return aggregators[0];
+    }
+
+    private static IndexSettings createIndexSettings(boolean enabled) {
+        Settings settings = Settings.builder()
+            .put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT)
+            .put(IndicesAggregationCache.INDEX_CACHE_AGGREGATIONS_ENABLED_SETTING.getKey(), enabled)
+            .build();
+        return new IndexSettings(
+            IndexMetadata.builder("_index").settings(settings)
+                .numberOfShards(1)
+                .numberOfReplicas(0)
+                .creationDate(System.currentTimeMillis())
+                .build(),
+            Settings.EMPTY
+        );
+    }
+}
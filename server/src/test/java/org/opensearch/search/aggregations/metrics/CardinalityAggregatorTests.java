@@ -33,33 +33,69 @@
 package org.opensearch.search.aggregations.metrics;
 
 import org.apache.lucene.document.BinaryDocValuesField;
+import org.apache.lucene.document.Document;
 import org.apache.lucene.document.IntPoint;
 import org.apache.lucene.document.NumericDocValuesField;
 import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.document.SortedSetDocValuesField;
+import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.RandomIndexWriter;
 import org.apache.lucene.search.DocValuesFieldExistsQuery;
+import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
 import org.opensearch.common.CheckedConsumer;
+import org.opensearch.common.TriFunction;
 import org.opensearch.common.geo.GeoPoint;
+import org.opensearch.common.lucene.index.OpenSearchDirectoryReader;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.index.fielddata.IndexFieldData;
+import org.opensearch.index.fielddata.IndexFieldDataCache;
+import org.opensearch.index.mapper.KeywordFieldMapper;
 import org.opensearch.index.mapper.MappedFieldType;
+import org.opensearch.index.mapper.MapperService;
 import org.opensearch.index.mapper.NumberFieldMapper;
 import org.opensearch.index.mapper.RangeFieldMapper;
 import org.opensearch.index.mapper.RangeType;
+import org.opensearch.index.shard.ShardId;
+import org.opensearch.indices.breaker.CircuitBreakerService;
+import org.opensearch.indices.fielddata.cache.IndicesFieldDataCache;
 import org.opensearch.search.aggregations.AggregationBuilder;
 import org.opensearch.search.aggregations.AggregatorTestCase;
 import org.opensearch.search.aggregations.support.AggregationInspectionHelper;
+import org.opensearch.search.lookup.SearchLookup;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static java.util.Collections.singleton;
 
 public class CardinalityAggregatorTests extends AggregatorTestCase {
 
+    /**
+     * The field data cache of the keyword fields of the aggregations, or {@code null} to build them without a cache.
+     */
+    private IndexFieldDataCache fieldDataCache;
+
+    @Override
+    protected TriFunction<MappedFieldType, String, Supplier<SearchLookup>, IndexFieldData<?>> getIndexFieldDataLookup(
+        MapperService mapperService, CircuitBreakerService circuitBreakerService) {
+        if (fieldDataCache == null) {
+            return super.getIndexFieldDataLookup(mapperService, circuitBreakerService);
+        }
+        return (fieldType, s, searchLookup) -> fieldType.fielddataBuilder(
+            mapperService.getIndexSettings().getIndex().getName(), searchLookup)
+            .build(fieldDataCache, circuitBreakerService);
+    }
+
     public void testNoDocs() throws IOException {
         testAggregation(new MatchAllDocsQuery(), iw -> {
             // Intentionally not writing any docs
@@ -186,6 +222,67 @@ public class CardinalityAggregatorTests extends AggregatorTestCase {
         }, null);
     }
 
+    public void testCachedOrdinalHashes() throws IOException {
+        MappedFieldType fieldType = new KeywordFieldMapper.KeywordFieldType("str");
+        CardinalityAggregationBuilder aggregationBuilder = new CardinalityAggregationBuilder("_name").field("str");
+        try (Directory directory = newDirectory()) {
+            try (RandomIndexWriter iw = new RandomIndexWriter(random(), directory)) {
+                int numDocs = randomIntBetween(1, 500);
+                for (int i = 0; i < numDocs; i++) {
+                    Document document = new Document();
+                    int numValues = randomIntBetween(1, 3);
+                    for (int j = 0; j < numValues; j++) {
+                        document.add(new SortedSetDocValuesField("str", new BytesRef("value" + randomIntBetween(0, 200))));
+                    }
+                    iw.addDocument(document);
+                    if (rarely()) {
+                        iw.commit();
+                    }
+                }
+            }
+            // the field data cache needs the shard of the segments
+            ShardId shardId = new ShardId("_index", "_na_", 0);
+            try (DirectoryReader reader = OpenSearchDirectoryReader.wrap(DirectoryReader.open(directory), shardId)) {
+                IndexSearcher searcher = new IndexSearcher(reader);
+                Query query = new MatchAllDocsQuery();
+
+                Map<String, Object> uncachedDebug = new HashMap<>();
+                InternalCardinality uncached = collect(query, aggregationBuilder, searcher, uncachedDebug, fieldType);
+                assertEquals(0, (int) uncachedDebug.get("ordinals_collectors_with_cached_hashes"));
+
+                IndicesFieldDataCache indicesFieldDataCache = new IndicesFieldDataCache(Settings.EMPTY, new IndexFieldDataCache.Listener() {
+                });
+                try {
+                    fieldDataCache = indicesFieldDataCache.buildIndexFieldDataCache(new IndexFieldDataCache.Listener() {
+                    }, createIndexSettings().getIndex(), "str");
+                    // the first request builds the hashes and the second one reads them from the cache
+                    for (int i = 0; i < 2; i++) {
+                        Map<String, Object> cachedDebug = new HashMap<>();
+                        InternalCardinality cached = collect(query, aggregationBuilder, searcher, cachedDebug, fieldType);
+                        int ordinalsCollectorsUsed = (int) cachedDebug.get("ordinals_collectors_used");
+                        assertEquals(reader.leaves().size(), ordinalsCollectorsUsed);
+                        assertEquals(ordinalsCollectorsUsed, (int) cachedDebug.get("ordinals_collectors_with_cached_hashes"));
+                        assertEquals(uncached.getValue(), cached.getValue(), 0);
+                        assertEquals(reader.leaves().size(), indicesFieldDataCache.getCache().count());
+                    }
+                } finally {
+                    fieldDataCache = null;
+                    indicesFieldDataCache.close();
+                }
+            }
+        }
+    }
+
+    private InternalCardinality collect(Query query, CardinalityAggregationBuilder aggregationBuilder, IndexSearcher searcher,
+                                        Map<String, Object> debug, MappedFieldType fieldType) throws IOException {
+        CardinalityAggregator aggregator = createAggregator(query, aggregationBuilder, searcher, createIndexSettings(), fieldType);
+        aggregator.preCollection();
+        searcher.search(query, aggregator);
+        aggregator.postCollection();
+        aggregator.collectDebugInfo(debug::put);
+        return (InternalCardinality) aggregator.buildTopLevel();
+    }
+
     private void testAggregation(Query query, CheckedConsumer<RandomIndexWriter, IOException> buildIndex,
                           Consumer<InternalCardinality> verify) throws IOException {
         MappedFieldType fieldType = new NumberFieldMapper.NumberFieldType("number", NumberFieldMapper.NumberType.LONG);
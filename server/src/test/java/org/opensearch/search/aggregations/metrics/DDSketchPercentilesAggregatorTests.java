@@ -0,0 +1,201 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.search.aggregations.metrics;
+
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.RandomIndexWriter;
+import org.apache.lucene.search.DocValuesFieldExistsQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.store.Directory;
+import org.opensearch.common.CheckedConsumer;
+import org.opensearch.index.mapper.MappedFieldType;
+import org.opensearch.index.mapper.NumberFieldMapper;
+import org.opensearch.search.aggregations.AggregationBuilder;
+import org.opensearch.search.aggregations.AggregatorTestCase;
+import org.opensearch.search.aggregations.bucket.histogram.HistogramAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.histogram.InternalHistogram;
+import org.opensearch.search.aggregations.support.AggregationInspectionHelper;
+import org.opensearch.search.aggregations.support.CoreValuesSourceType;
+import org.opensearch.search.aggregations.support.ValuesSourceType;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+
+public class DDSketchPercentilesAggregatorTests extends AggregatorTestCase {
+
+    @Override
+    protected AggregationBuilder createAggBuilderForTypeTest(MappedFieldType fieldType, String fieldName) {
+        return new PercentilesAggregationBuilder("ddsketch_percentiles")
+            .field(fieldName)
+            .percentilesConfig(new PercentilesConfig.DDSketch());
+    }
+
+    @Override
+    protected List<ValuesSourceType> getSupportedValuesSourceTypes() {
+        return Arrays.asList(CoreValuesSourceType.NUMERIC,
+            CoreValuesSourceType.DATE,
+            CoreValuesSourceType.BOOLEAN);
+    }
+
+    public void testNoDocs() throws IOException {
+        testCase(new MatchAllDocsQuery(), iw -> {
+            // Intentionally not writing any docs
+        }, ddsketch -> {
+            assertEquals(0L, ddsketch.state.size());
+            assertTrue(Double.isNaN(ddsketch.percentile(50)));
+            assertFalse(AggregationInspectionHelper.hasValue(ddsketch));
+        });
+    }
+
+    public void testNoMatchingField() throws IOException {
+        testCase(new MatchAllDocsQuery(), iw -> {
+            iw.addDocument(singleton(new SortedNumericDocValuesField("wrong_number", 7)));
+            iw.addDocument(singleton(new SortedNumericDocValuesField("wrong_number", 1)));
+        }, ddsketch -> {
+            assertEquals(0L, ddsketch.state.size());
+            assertFalse(AggregationInspectionHelper.hasValue(ddsketch));
+        });
+    }
+
+    public void testSomeMatchesSortedNumericDocValues() throws IOException {
+        testCase(new DocValuesFieldExistsQuery("number"), iw -> {
+            iw.addDocument(singleton(new SortedNumericDocValuesField("number", 8)));
+            iw.addDocument(singleton(new SortedNumericDocValuesField("number", 5)));
+            iw.addDocument(singleton(new SortedNumericDocValuesField("number", 3)));
+            iw.addDocument(singleton(new SortedNumericDocValuesField("number", 2)));
+            iw.addDocument(singleton(new SortedNumericDocValuesField("number", 1)));
+            iw.addDocument(singleton(new SortedNumericDocValuesField("number", 1)));
+            iw.addDocument(singleton(new SortedNumericDocValuesField("number", 0)));
+        }, ddsketch -> {
+            assertEquals(7L, ddsketch.state.size());
+            // the values 0, 1, 2, 3, 5 and 8 fall in distinct bins
+            assertEquals(6, ddsketch.state.binCount());
+            assertEquals(8.0d, ddsketch.percentile(100), 8.0d * 0.01);
+            assertEquals(3.0d, ddsketch.percentile(75), 3.0d * 0.01);
+            assertEquals(2.0d, ddsketch.percentile(50), 2.0d * 0.01);
+            assertEquals(1.0d, ddsketch.percentile(22), 1.0d * 0.01);
+            assertEquals(0.0d, ddsketch.percentile(0), 0.0d);
+            assertTrue(AggregationInspectionHelper.hasValue(ddsketch));
+        });
+    }
+
+    public void testQueryFiltering() throws IOException {
+        final CheckedConsumer<RandomIndexWriter, IOException> docs = iw -> {
+            iw.addDocument(asList(new LongPoint("row", 7), new SortedNumericDocValuesField("number", 8)));
+            iw.addDocument(asList(new LongPoint("row", 6), new SortedNumericDocValuesField("number", 5)));
+            iw.addDocument(asList(new LongPoint("row", 5), new SortedNumericDocValuesField("number", 3)));
+            iw.addDocument(asList(new LongPoint("row", 4), new SortedNumericDocValuesField("number", 2)));
+            iw.addDocument(asList(new LongPoint("row", 3), new SortedNumericDocValuesField("number", 1)));
+            iw.addDocument(asList(new LongPoint("row", 2), new SortedNumericDocValuesField("number", 1)));
+            iw.addDocument(asList(new LongPoint("row", 1), new SortedNumericDocValuesField("number", 0)));
+        };
+
+        testCase(LongPoint.newRangeQuery("row", 1, 4), docs, ddsketch -> {
+            assertEquals(4L, ddsketch.state.size());
+            assertEquals(2.0d, ddsketch.percentile(100), 2.0d * 0.01);
+            assertEquals(1.0d, ddsketch.percentile(50), 1.0d * 0.01);
+            assertTrue(AggregationInspectionHelper.hasValue(ddsketch));
+        });
+
+        testCase(LongPoint.newRangeQuery("row", 100, 110), docs, ddsketch -> {
+            assertEquals(0L, ddsketch.state.size());
+            assertFalse(AggregationInspectionHelper.hasValue(ddsketch));
+        });
+    }
+
+    public void testRelativeAccuracy() throws IOException {
+        final double relativeAccuracy = randomFrom(0.001, 0.01, 0.05);
+        final long[] values = new long[randomIntBetween(1, 1000)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = randomLongBetween(-1_000_000, 1_000_000);
+        }
+        final PercentilesAggregationBuilder builder = new PercentilesAggregationBuilder("test").field("number")
+            .percentilesConfig(new PercentilesConfig.DDSketch(relativeAccuracy));
+        testCase(builder, new MatchAllDocsQuery(), iw -> {
+            for (long value : values) {
+                iw.addDocument(singleton(new SortedNumericDocValuesField("number", value)));
+            }
+        }, (InternalDDSketchPercentiles ddsketch) -> {
+            Arrays.sort(values);
+            for (double percent : new double[] { 0, 1, 25, 50, 75, 99, 100, randomDouble() * 100 }) {
+                final long expected = values[(int) Math.floor(percent / 100 * (values.length - 1))];
+                assertEquals(expected, ddsketch.percentile(percent), Math.abs(expected) * relativeAccuracy);
+            }
+        }, new NumberFieldMapper.NumberFieldType("number", NumberFieldMapper.NumberType.LONG));
+    }
+
+    public void testManyBuckets() throws IOException {
+        final Map<Long, DDSketchState> expected = new HashMap<>();
+        final HistogramAggregationBuilder builder = new HistogramAggregationBuilder("histo").field("bucket").interval(1)
+            .subAggregation(new PercentilesAggregationBuilder("test").field("number").percentilesConfig(new PercentilesConfig.DDSketch()));
+        testCase(builder, new MatchAllDocsQuery(), iw -> {
+            final int numDocs = randomIntBetween(1, 1000);
+            for (int i = 0; i < numDocs; i++) {
+                final long bucket = randomIntBetween(0, 100);
+                final long value = randomLongBetween(-100_000, 100_000);
+                expected.computeIfAbsent(bucket, b -> new DDSketchState(PercentilesConfig.DDSketch.DEFAULT_RELATIVE_ACCURACY))
+                    .add(value);
+                iw.addDocument(asList(new SortedNumericDocValuesField("bucket", bucket), new SortedNumericDocValuesField("number", value)));
+            }
+        }, (InternalHistogram histogram) -> {
+            for (InternalHistogram.Bucket bucket : histogram.getBuckets()) {
+                final InternalDDSketchPercentiles percentiles = bucket.getAggregations().get("test");
+                final DDSketchState state = expected.get(((Double) bucket.getKey()).longValue());
+                if (state == null) {
+                    assertEquals(0L, percentiles.state.size());
+                } else {
+                    // the sketches collected for all buckets at once are the same as the ones built value by value
+                    assertEquals(state, percentiles.state);
+                }
+            }
+        }, new NumberFieldMapper.NumberFieldType("bucket", NumberFieldMapper.NumberType.LONG),
+            new NumberFieldMapper.NumberFieldType("number", NumberFieldMapper.NumberType.LONG));
+    }
+
+    private void testCase(Query query, CheckedConsumer<RandomIndexWriter, IOException> buildIndex,
+                          Consumer<InternalDDSketchPercentiles> verify) throws IOException {
+        try (Directory directory = newDirectory()) {
+            try (RandomIndexWriter indexWriter = new RandomIndexWriter(random(), directory)) {
+                buildIndex.accept(indexWriter);
+            }
+
+            try (IndexReader indexReader = DirectoryReader.open(directory)) {
+                IndexSearcher indexSearcher = newSearcher(indexReader, true, true);
+
+                PercentilesAggregationBuilder builder;
+                if (randomBoolean()) {
+                    builder = new PercentilesAggregationBuilder("test").field("number").method(PercentilesMethod.DDSKETCH);
+                } else {
+                    builder = new PercentilesAggregationBuilder("test").field("number")
+                        .percentilesConfig(new PercentilesConfig.DDSketch());
+                }
+
+                MappedFieldType fieldType
+                    = new NumberFieldMapper.NumberFieldType("number", NumberFieldMapper.NumberType.LONG);
+                DDSketchPercentilesAggregator aggregator = createAggregator(builder, indexSearcher, fieldType);
+                aggregator.preCollection();
+                indexSearcher.search(query, aggregator);
+                aggregator.postCollection();
+                verify.accept((InternalDDSketchPercentiles) aggregator.buildAggregation(0L));
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.search.aggregations.metrics;
+
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+public class DDSketchStateTests extends OpenSearchTestCase {
+
+    public void testRelativeAccuracy() {
+        final double relativeAccuracy = randomFrom(0.001, 0.01, 0.02, 0.1);
+        final DDSketchState sketch = new DDSketchState(relativeAccuracy);
+        final double[] values = new double[randomIntBetween(1, 10000)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = randomBoolean() ? randomDoubleBetween(-1e6, 1e6, true) : randomDoubleBetween(-1e-3, 1e-3, true);
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+        assertEquals(values.length, sketch.size());
+        assertEquals(values[0], sketch.quantile(0), 0d);
+        assertEquals(values[values.length - 1], sketch.quantile(1), 0d);
+        for (double q : new double[] { 0.01, 0.25, 0.5, 0.75, 0.99, randomDouble() }) {
+            final double expected = values[(int) Math.floor(q * (values.length - 1))];
+            assertEquals(expected, sketch.quantile(q), Math.abs(expected) * relativeAccuracy * (1 + 1e-9));
+        }
+    }
+
+    public void testMinRelativeAccuracyIndexesExtremeValues() {
+        final DDSketchState sketch = new DDSketchState(DDSketchState.MIN_RELATIVE_ACCURACY);
+        final double[] values = { Double.MIN_NORMAL, 1e-100, 1, 73, 1e100, Double.MAX_VALUE };
+        for (double value : values) {
+            sketch.add(value);
+        }
+        for (int i = 0; i < values.length; i++) {
+            final double expected = values[i];
+            final double actual = sketch.quantile((double) i / (values.length - 1));
+            assertEquals(expected, actual, expected * DDSketchState.MIN_RELATIVE_ACCURACY * 1.001);
+        }
+        expectThrows(IllegalArgumentException.class, () -> new DDSketchState(1e-9));
+    }
+
+    public void testCdf() {
+        final DDSketchState sketch = new DDSketchState(0.01);
+        assertTrue(Double.isNaN(sketch.cdf(0)));
+        for (int i = -50; i < 50; i++) {
+            sketch.add(i);
+        }
+        // integers up to 50 fall in distinct bins
+        assertEquals(0, sketch.cdf(-50.5), 0d);
+        assertEquals(0.01, sketch.cdf(-49.5), 0d);
+        assertEquals(0.5, sketch.cdf(-0.5), 0d);
+        assertEquals(0.51, sketch.cdf(0.5), 0d);
+        assertEquals(0.52, sketch.cdf(1.5), 0d);
+        assertEquals(0.99, sketch.cdf(48.5), 0d);
+        assertEquals(1, sketch.cdf(49), 0d);
+    }
+
+    public void testMerge() {
+        final double relativeAccuracy = randomFrom(0.001, 0.01, 0.1);
+        final DDSketchState all = new DDSketchState(relativeAccuracy);
+        final DDSketchState merged = new DDSketchState(relativeAccuracy);
+        final int numSketches = randomIntBetween(1, 10);
+        for (int i = 0; i < numSketches; i++) {
+            final DDSketchState sketch = new DDSketchState(relativeAccuracy);
+            final int numValues = randomIntBetween(0, 1000);
+            for (int j = 0; j < numValues; j++) {
+                final double value = randomDoubleBetween(-1e3, 1e3, true);
+                final long count = randomLongBetween(1, 1L << 40);
+                sketch.add(value, count);
+                all.add(value, count);
+            }
+            merged.add(sketch);
+        }
+        assertEquals(all, merged);
+        assertEquals(all.hashCode(), merged.hashCode());
+        assertEquals(all.size(), merged.size());
+
+        final IllegalArgumentException e = expectThrows(IllegalArgumentException.class,
+            () -> merged.add(new DDSketchState(relativeAccuracy / 2)));
+        assertEquals("Cannot merge a sketch with relative accuracy [" + relativeAccuracy / 2
+            + "] into a sketch with relative accuracy [" + relativeAccuracy + "]", e.getMessage());
+    }
+
+    public void testSerialization() throws IOException {
+        final DDSketchState sketch = new DDSketchState(randomFrom(0.001, 0.01, 0.1));
+        final int numValues = randomIntBetween(0, 1000);
+        for (int i = 0; i < numValues; i++) {
+            sketch.add(randomBoolean() ? 0 : randomDoubleBetween(-1e9, 1e9, true));
+        }
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            DDSketchState.write(sketch, out);
+            try (StreamInput in = out.bytes().streamInput()) {
+                final DDSketchState read = DDSketchState.read(in);
+                assertEquals(sketch, read);
+                assertEquals(sketch.size(), read.size());
+                assertEquals(sketch.binCount(), read.binCount());
+                if (numValues > 0) {
+                    assertEquals(sketch.quantile(0.5), read.quantile(0.5), 0d);
+                }
+            }
+        }
+    }
+}
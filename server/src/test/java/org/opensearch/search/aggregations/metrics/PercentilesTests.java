@@ -61,6 +61,8 @@ public class PercentilesTests extends BaseAggregationTestCase<PercentilesAggrega
             factory.numberOfSignificantValueDigits(randomIntBetween(0, 5));
         } else if (randomBoolean()) {
             factory.compression(randomIntBetween(1, 50000));
+        } else if (randomBoolean()) {
+            factory.percentilesConfig(new PercentilesConfig.DDSketch(randomDoubleBetween(0.0001, 0.5, true)));
         }
         String field = randomNumericField();
         randomFieldOrScript(factory, field);
@@ -91,6 +93,17 @@ public class PercentilesTests extends BaseAggregationTestCase<PercentilesAggrega
         assertEquals("percent must be in [0,100], got [104.0]: [testAgg]", ex.getMessage());
     }
 
+    public void testOutOfRangeRelativeAccuracyThrows() {
+        for (double relativeAccuracy : new double[] { 0, 1e-9, DDSketchState.MIN_RELATIVE_ACCURACY / 2, 1, 2 }) {
+            IllegalArgumentException ex = expectThrows(IllegalArgumentException.class,
+                () -> new PercentilesConfig.DDSketch(relativeAccuracy));
+            assertEquals("[relative_accuracy] must be at least [" + DDSketchState.MIN_RELATIVE_ACCURACY + "] and lower than 1. Found ["
+                + relativeAccuracy + "]", ex.getMessage());
+        }
+        assertEquals(DDSketchState.MIN_RELATIVE_ACCURACY,
+            new PercentilesConfig.DDSketch(DDSketchState.MIN_RELATIVE_ACCURACY).getRelativeAccuracy(), 0);
+    }
+
     public void testExceptionMultipleMethods() throws IOException {
         final String illegalAgg = "{\n" +
             "       \"percentiles\": {\n" +
@@ -0,0 +1,241 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.search.aggregations.preaggregation;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.document.SortedSetDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
+import org.opensearch.Version;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.common.CheckedConsumer;
+import org.opensearch.common.Strings;
+import org.opensearch.common.breaker.CircuitBreaker;
+import org.opensearch.common.breaker.NoopCircuitBreaker;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.index.IndexSettings;
+import org.opensearch.index.PreAggregationConfig;
+import org.opensearch.index.cache.preaggregation.PreAggregationCache;
+import org.opensearch.index.mapper.DateFieldMapper;
+import org.opensearch.index.mapper.KeywordFieldMapper;
+import org.opensearch.index.mapper.MappedFieldType;
+import org.opensearch.index.mapper.NumberFieldMapper;
+import org.opensearch.index.query.QueryShardContext;
+import org.opensearch.indices.breaker.NoneCircuitBreakerService;
+import org.opensearch.search.aggregations.AggregationBuilder;
+import org.opensearch.search.aggregations.Aggregator;
+import org.opensearch.search.aggregations.AggregatorFactories;
+import org.opensearch.search.aggregations.AggregatorTestCase;
+import org.opensearch.search.aggregations.BucketOrder;
+import org.opensearch.search.aggregations.InternalAggregation;
+import org.opensearch.search.aggregations.MultiBucketConsumerService.MultiBucketConsumer;
+import org.opensearch.search.aggregations.bucket.histogram.DateHistogramAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.histogram.DateHistogramInterval;
+import org.opensearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.AvgAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.CardinalityAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.MaxAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.MinAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.SumAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.ValueCountAggregationBuilder;
+import org.opensearch.search.aggregations.pipeline.PipelineAggregator;
+import org.opensearch.search.internal.SearchContext;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.when;
+
+public class PreAggregatedAggregatorTests extends AggregatorTestCase {
+
+    private static final String[] HOSTS = new String[] { "host-a", "host-b", "host-c", "host-d", "host-e" };
+    private static final String[] REGIONS = new String[] { "ap", "eu", "us" };
+    private static final long START = 1609459200000L; // 2021-01-01T00:00:00Z
+
+    private static final MappedFieldType[] FIELD_TYPES = new MappedFieldType[] {
+        new KeywordFieldMapper.KeywordFieldType("host"),
+        new KeywordFieldMapper.KeywordFieldType("region"),
+        new DateFieldMapper.DateFieldType("@timestamp"),
+        new NumberFieldMapper.NumberFieldType("cpu", NumberFieldMapper.NumberType.LONG)
+    };
+
+    public void testTermsOfDateHistogram() throws IOException {
+        AggregationBuilder builder = new TermsAggregationBuilder("hosts").field("host")
+            .subAggregation(new DateHistogramAggregationBuilder("histo").field("@timestamp")
+                .fixedInterval(new DateHistogramInterval("1h"))
+                .subAggregation(new SumAggregationBuilder("sum").field("cpu"))
+                .subAggregation(new AvgAggregationBuilder("avg").field("cpu"))
+                .subAggregation(new MinAggregationBuilder("min").field("cpu"))
+                .subAggregation(new MaxAggregationBuilder("max").field("cpu"))
+                .subAggregation(new ValueCountAggregationBuilder("count").field("cpu")));
+        testCase(this::indexRandomDocuments, searcher -> assertSameResult(searcher, new MatchAllDocsQuery(), builder, true));
+    }
+
+    public void testDateHistogramOfTerms() throws IOException {
+        AggregationBuilder builder = new DateHistogramAggregationBuilder("histo").field("@timestamp")
+            .calendarInterval(DateHistogramInterval.DAY)
+            .subAggregation(new TermsAggregationBuilder("regions").field("region").size(2).order(BucketOrder.count(false))
+                .subAggregation(new MaxAggregationBuilder("max").field("cpu")))
+            .subAggregation(new TermsAggregationBuilder("hosts").field("host").order(BucketOrder.key(false)));
+        testCase(this::indexRandomDocuments, searcher -> assertSameResult(searcher, new MatchAllDocsQuery(), builder, true));
+    }
+
+    public void testMetricOnly() throws IOException {
+        AggregationBuilder builder = new SumAggregationBuilder("sum").field("cpu");
+        testCase(this::indexRandomDocuments, searcher -> assertSameResult(searcher, new MatchAllDocsQuery(), builder, true));
+    }
+
+    public void testFilteredQuery() throws IOException {
+        AggregationBuilder builder = new TermsAggregationBuilder("hosts").field("host")
+            .subAggregation(new SumAggregationBuilder("sum").field("cpu"));
+        Query query = new TermQuery(new Term("region", REGIONS[0]));
+        testCase(this::indexRandomDocuments, searcher -> assertSameResult(searcher, query, builder, false));
+    }
+
+    public void testIntervalNotMultipleOfPreAggregationInterval() throws IOException {
+        AggregationBuilder builder = new DateHistogramAggregationBuilder("histo").field("@timestamp")
+            .fixedInterval(new DateHistogramInterval("90s"));
+        testCase(this::indexRandomDocuments, searcher -> assertSameResult(searcher, new MatchAllDocsQuery(), builder, false));
+    }
+
+    public void testUnsupportedSubAggregation() throws IOException {
+        AggregationBuilder builder = new TermsAggregationBuilder("hosts").field("host")
+            .subAggregation(new CardinalityAggregationBuilder("regions").field("region"));
+        testCase(this::indexRandomDocuments, searcher -> assertSameResult(searcher, new MatchAllDocsQuery(), builder, false));
+    }
+
+    public void testMultiValuedDimension() throws IOException {
+        AggregationBuilder builder = new TermsAggregationBuilder("hosts").field("host");
+        testCase(writer -> {
+            indexRandomDocuments(writer);
+            Document document = new Document();
+            document.add(new SortedSetDocValuesField("host", new BytesRef(HOSTS[0])));
+            document.add(new SortedSetDocValuesField("host", new BytesRef(HOSTS[1])));
+            writer.addDocument(document);
+        }, searcher -> assertSameResult(searcher, new MatchAllDocsQuery(), builder, false));
+    }
+
+    public void testDeletedDocuments() throws IOException {
+        AggregationBuilder builder = new TermsAggregationBuilder("hosts").field("host");
+        testCase(writer -> {
+            indexRandomDocuments(writer);
+            writer.deleteDocuments(new Term("id", "0"));
+        }, searcher -> assertSameResult(searcher, new MatchAllDocsQuery(), builder, false));
+    }
+
+    private void indexRandomDocuments(IndexWriter writer) throws IOException {
+        int numDocs = randomIntBetween(10, 500);
+        for (int i = 0; i < numDocs; i++) {
+            Document document = new Document();
+            document.add(new StringField("id", Integer.toString(i), Field.Store.NO));
+            if (i == 0 || randomInt(10) > 0) {
+                document.add(new SortedSetDocValuesField("host", new BytesRef(randomFrom(HOSTS))));
+            }
+            String region = randomFrom(REGIONS);
+            document.add(new StringField("region", region, Field.Store.NO));
+            document.add(new SortedSetDocValuesField("region", new BytesRef(region)));
+            if (randomInt(10) > 0) {
+                long timestamp = START + randomLongBetween(0, TimeUnit.DAYS.toMillis(3));
+                document.add(new LongPoint("@timestamp", timestamp));
+                document.add(new SortedNumericDocValuesField("@timestamp", timestamp));
+            }
+            int numValues = randomIntBetween(0, 2);
+            for (int j = 0; j < numValues; j++) {
+                document.add(new SortedNumericDocValuesField("cpu", randomIntBetween(-100, 100)));
+            }
+            writer.addDocument(document);
+            if (randomInt(50) == 0) {
+                writer.commit();
+            }
+        }
+    }
+
+    private void testCase(CheckedConsumer<IndexWriter, IOException> buildIndex,
+                          CheckedConsumer<IndexSearcher, IOException> verify) throws IOException {
+        try (Directory directory = newDirectory()) {
+            try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE))) {
+                buildIndex.accept(writer);
+            }
+            try (DirectoryReader reader = DirectoryReader.open(directory)) {
+                verify.accept(newIndexSearcher(reader));
+            }
+        }
+    }
+
+    private void assertSameResult(IndexSearcher searcher, Query query, AggregationBuilder builder,
+                                  boolean expectPreAggregated) throws IOException {
+        IndexSettings indexSettings = createPreAggregatedIndexSettings();
+        InternalAggregation expected = aggregate(searcher, query, builder, indexSettings, false, false);
+        InternalAggregation actual = aggregate(searcher, query, builder, indexSettings, true, expectPreAggregated);
+        assertThat(Strings.toString(actual), equalTo(Strings.toString(expected)));
+    }
+
+    private InternalAggregation aggregate(IndexSearcher searcher, Query query, AggregationBuilder builder, IndexSettings indexSettings,
+                                          boolean withCache, boolean expectPreAggregated) throws IOException {
+        MultiBucketConsumer bucketConsumer = new MultiBucketConsumer(DEFAULT_MAX_BUCKETS,
+            new NoneCircuitBreakerService().getBreaker(CircuitBreaker.REQUEST));
+        SearchContext searchContext = createSearchContext(searcher, indexSettings, query, bucketConsumer, FIELD_TYPES);
+        QueryShardContext queryShardContext = searchContext.getQueryShardContext();
+        try (PreAggregationCache cache = withCache ? new PreAggregationCache(indexSettings,
+                new NoopCircuitBreaker(CircuitBreaker.FIELDDATA), queryShardContext::fieldMapper, queryShardContext::getForField) : null) {
+            when(searchContext.preAggregationCache()).thenReturn(cache);
+            Aggregator[] aggregators = AggregatorFactories.builder().addAggregator(builder)
+                .build(queryShardContext, null)
+                .createTopLevelAggregators(searchContext);
+            assertEquals(1, aggregators.length);
+            Aggregator aggregator = aggregators[0];
+            if (expectPreAggregated) {
+                assertThat(aggregator, instanceOf(PreAggregatedAggregator.class));
+            } else {
+                assertThat(aggregator, not(instanceOf(PreAggregatedAggregator.class)));
+            }
+            aggregator.preCollection();
+            searcher.search(query, aggregator);
+            aggregator.postCollection();
+            InternalAggregation result = aggregator.buildTopLevel();
+            return result.reduce(Collections.singletonList(result), InternalAggregation.ReduceContext.forFinalReduction(
+                searchContext.bigArrays(), null, bucketConsumer, PipelineAggregator.PipelineTree.EMPTY));
+        }
+    }
+
+    private static IndexSettings createPreAggregatedIndexSettings() {
+        Settings settings = Settings.builder()
+            .put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT)
+            .putList(PreAggregationConfig.INDEX_PRE_AGGREGATION_DIMENSIONS_SETTING.getKey(), "host", "region")
+            .put(PreAggregationConfig.INDEX_PRE_AGGREGATION_DATE_FIELD_SETTING.getKey(), "@timestamp")
+            .put(PreAggregationConfig.INDEX_PRE_AGGREGATION_DATE_INTERVAL_SETTING.getKey(), "1m")
+            .putList(PreAggregationConfig.INDEX_PRE_AGGREGATION_METRICS_SETTING.getKey(), "cpu")
+            .build();
+        return new IndexSettings(
+            IndexMetadata.builder("_index").settings(settings)
+                .numberOfShards(1)
+                .numberOfReplicas(0)
+                .creationDate(System.currentTimeMillis())
+                .build(),
+            Settings.EMPTY
+        );
+    }
+}
@@ -37,6 +37,7 @@ import org.apache.lucene.codecs.StoredFieldsReader;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
 import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.NumericDocValuesField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.FilterDirectoryReader;
@@ -51,9 +52,11 @@ import org.apache.lucene.index.Term;
 import org.apache.lucene.index.TermsEnum;
 import org.apache.lucene.search.BoostQuery;
 import org.apache.lucene.search.BulkScorer;
+import org.apache.lucene.search.CollectorManager;
 import org.apache.lucene.search.ConstantScoreQuery;
 import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.search.Explanation;
+import org.apache.lucene.search.FieldDoc;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.LeafCollector;
 import org.apache.lucene.search.MatchAllDocsQuery;
@@ -61,8 +64,12 @@ import org.apache.lucene.search.Query;
 import org.apache.lucene.search.Scorable;
 import org.apache.lucene.search.ScoreMode;
 import org.apache.lucene.search.Scorer;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopFieldCollector;
+import org.apache.lucene.search.TotalHitCountCollector;
 import org.apache.lucene.search.Weight;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.util.Accountable;
@@ -80,21 +87,29 @@ import org.opensearch.core.internal.io.IOUtils;
 import org.opensearch.index.IndexSettings;
 import org.opensearch.index.cache.bitset.BitsetFilterCache;
 import org.opensearch.index.shard.ShardId;
+import org.opensearch.search.DocValueFormat;
 import org.opensearch.search.aggregations.LeafBucketCollector;
+import org.opensearch.search.query.QuerySearchResult;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.test.IndexSettingsModule;
+import org.opensearch.threadpool.TestThreadPool;
+import org.opensearch.threadpool.ThreadPool;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.opensearch.search.internal.ContextIndexSearcher.intersectScorerAndBitSet;
 import static org.opensearch.search.internal.ExitableDirectoryReader.ExitableLeafReader;
 import static org.opensearch.search.internal.ExitableDirectoryReader.ExitablePointValues;
 import static org.opensearch.search.internal.ExitableDirectoryReader.ExitableTerms;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.instanceOf;
 
 public class ContextIndexSearcherTests extends OpenSearchTestCase {
@@ -290,6 +305,82 @@ public class ContextIndexSearcherTests extends OpenSearchTestCase {
         IOUtils.close(reader, w, dir);
     }
 
+    public void testConcurrentSearchWithCollectorManager() throws Exception {
+        final Directory directory = newDirectory();
+        IndexWriter iw = new IndexWriter(directory, newIndexWriterConfig(null).setMergePolicy(NoMergePolicy.INSTANCE));
+        final int numSegments = randomIntBetween(6, 12);
+        int numDocs = 0;
+        for (int i = 0; i < numSegments; i++) {
+            final int numSegmentDocs = randomIntBetween(1, 20);
+            for (int j = 0; j < numSegmentDocs; j++) {
+                Document document = new Document();
+                document.add(new NumericDocValuesField("rank", randomLong()));
+                iw.addDocument(document);
+                numDocs++;
+            }
+            iw.flush();
+        }
+        iw.close();
+
+        ThreadPool threadPool = new TestThreadPool(getTestName());
+        DirectoryReader directoryReader = DirectoryReader.open(directory);
+        try {
+            assertThat(directoryReader.leaves().size(), equalTo(numSegments));
+            ContextIndexSearcher sequential = new ContextIndexSearcher(directoryReader, IndexSearcher.getDefaultSimilarity(),
+                IndexSearcher.getDefaultQueryCache(), IndexSearcher.getDefaultQueryCachingPolicy(), false);
+            ContextIndexSearcher concurrent = new ContextIndexSearcher(directoryReader, IndexSearcher.getDefaultSimilarity(),
+                IndexSearcher.getDefaultQueryCache(), IndexSearcher.getDefaultQueryCachingPolicy(), false,
+                threadPool.executor(ThreadPool.Names.INDEX_SEARCHER));
+            assertFalse(sequential.isConcurrentSearchEnabled());
+            assertTrue(concurrent.isConcurrentSearchEnabled());
+
+            final Sort sort = new Sort(new SortField("rank", SortField.Type.LONG));
+            final int numHits = randomIntBetween(1, numDocs);
+            final DocValueFormat[] formats = new DocValueFormat[] { DocValueFormat.RAW };
+            QuerySearchResult expected = new QuerySearchResult();
+            sequential.search(directoryReader.leaves(), sequential.createWeight(new MatchAllDocsQuery(), ScoreMode.COMPLETE_NO_SCORES, 1f),
+                TopFieldCollector.createSharedManager(sort, numHits, null, Integer.MAX_VALUE), expected, formats, null);
+            QuerySearchResult actual = new QuerySearchResult();
+            concurrent.search(directoryReader.leaves(), concurrent.createWeight(new MatchAllDocsQuery(), ScoreMode.COMPLETE_NO_SCORES, 1f),
+                TopFieldCollector.createSharedManager(sort, numHits, null, Integer.MAX_VALUE), actual, formats, null);
+
+            TopDocs expectedTopDocs = expected.topDocs().topDocs;
+            TopDocs actualTopDocs = actual.topDocs().topDocs;
+            assertThat(actualTopDocs.totalHits.value, equalTo((long) numDocs));
+            assertThat(actualTopDocs.totalHits, equalTo(expectedTopDocs.totalHits));
+            assertThat(actualTopDocs.scoreDocs.length, equalTo(expectedTopDocs.scoreDocs.length));
+            for (int i = 0; i < expectedTopDocs.scoreDocs.length; i++) {
+                assertThat(((FieldDoc) actualTopDocs.scoreDocs[i]).fields[0],
+                    equalTo(((FieldDoc) expectedTopDocs.scoreDocs[i]).fields[0]));
+            }
+
+            // a collector manager gets one collector per slice of leaves, and a single one without an executor
+            final AtomicInteger numCollectors = new AtomicInteger();
+            final CollectorManager<TotalHitCountCollector, Integer> countManager = new CollectorManager<TotalHitCountCollector, Integer>() {
+                @Override
+                public TotalHitCountCollector newCollector() {
+                    numCollectors.incrementAndGet();
+                    return new TotalHitCountCollector();
+                }
+
+                @Override
+                public Integer reduce(Collection<TotalHitCountCollector> collectors) {
+                    assertThat(collectors.size(), equalTo(numCollectors.get()));
+                    return collectors.stream().mapToInt(TotalHitCountCollector::getTotalHits).sum();
+                }
+            };
+            assertThat(sequential.searchConcurrently(new MatchAllDocsQuery(), countManager), equalTo(numDocs));
+            assertThat(numCollectors.get(), equalTo(1));
+            numCollectors.set(0);
+            assertThat(concurrent.searchConcurrently(new MatchAllDocsQuery(), countManager), equalTo(numDocs));
+            assertThat(numCollectors.get(), greaterThan(1));
+        } finally {
+            directoryReader.close();
+            directory.close();
+            ThreadPool.terminate(threadPool, 10, TimeUnit.SECONDS);
+        }
+    }
+
     private SparseFixedBitSet query(LeafReaderContext leaf, String field, String value) throws IOException {
         SparseFixedBitSet sparseFixedBitSet = new SparseFixedBitSet(leaf.reader().maxDoc());
         TermsEnum tenum = leaf.reader().terms(field).iterator();
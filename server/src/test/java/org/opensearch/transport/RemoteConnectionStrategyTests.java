@@ -77,11 +77,15 @@ public class RemoteConnectionStrategyTests extends OpenSearchTestCase {
         Settings.Builder newBuilder = Settings.builder();
         newBuilder.put(RemoteConnectionStrategy.REMOTE_CONNECTION_MODE.getConcreteSettingForNamespace("cluster-alias").getKey(), "proxy");
         newBuilder.put(ProxyConnectionStrategy.PROXY_ADDRESS.getConcreteSettingForNamespace("cluster-alias").getKey(), "127.0.0.1:9300");
-        if (randomBoolean()) {
+        int change = randomIntBetween(0, 2);
+        if (change == 0) {
             newBuilder.put(RemoteClusterService.REMOTE_CLUSTER_PING_SCHEDULE.getConcreteSettingForNamespace("cluster-alias").getKey(),
                 TimeValue.timeValueSeconds(5));
-        } else {
+        } else if (change == 1) {
             newBuilder.put(RemoteClusterService.REMOTE_CLUSTER_COMPRESS.getConcreteSettingForNamespace("cluster-alias").getKey(), true);
+        } else {
+            newBuilder.put(RemoteClusterService.REMOTE_CLUSTER_COMPRESSION_SCHEME.getConcreteSettingForNamespace("cluster-alias").getKey(),
+                "lz4");
         }
         assertTrue(first.shouldRebuildConnection(newBuilder.build()));
     }
@@ -98,6 +102,28 @@ public class RemoteConnectionStrategyTests extends OpenSearchTestCase {
         }
     }
 
+    public void testCompressionSchemeIsTakenFromTheRemoteClusterSettings() {
+        String clusterAlias = "cluster-alias";
+        String modeKey = RemoteConnectionStrategy.REMOTE_CONNECTION_MODE.getConcreteSettingForNamespace(clusterAlias).getKey();
+        String schemeKey = RemoteClusterService.REMOTE_CLUSTER_COMPRESSION_SCHEME.getConcreteSettingForNamespace(clusterAlias).getKey();
+
+        Settings defaultSettings = Settings.builder().put(modeKey, "sniff").build();
+        assertEquals(TransportSettings.TRANSPORT_COMPRESSION_SCHEME.get(Settings.EMPTY),
+            RemoteConnectionStrategy.buildConnectionProfile(clusterAlias, defaultSettings).getCompressionScheme());
+
+        Settings fallbackSettings = Settings.builder().put(modeKey, "sniff")
+            .put(TransportSettings.TRANSPORT_COMPRESSION_SCHEME.getKey(), "lz4").build();
+        assertEquals(TransportCompressionScheme.LZ4,
+            RemoteConnectionStrategy.buildConnectionProfile(clusterAlias, fallbackSettings).getCompressionScheme());
+
+        Settings remoteSettings = Settings.builder().put(modeKey, "sniff")
+            .put(SniffConnectionStrategy.REMOTE_CLUSTER_SEEDS.getConcreteSettingForNamespace(clusterAlias).getKey(), "127.0.0.1:9300")
+            .put(TransportSettings.TRANSPORT_COMPRESSION_SCHEME.getKey(), "deflate")
+            .put(schemeKey, "lz4").build();
+        assertEquals(TransportCompressionScheme.LZ4,
+            RemoteConnectionStrategy.buildConnectionProfile(clusterAlias, remoteSettings).getCompressionScheme());
+    }
+
     private static class FakeConnectionStrategy extends RemoteConnectionStrategy {
 
         private final ConnectionStrategy strategy;
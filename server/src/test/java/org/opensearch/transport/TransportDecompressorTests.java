@@ -47,6 +47,8 @@ import org.opensearch.test.OpenSearchTestCase;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 public class TransportDecompressorTests extends OpenSearchTestCase {
 
@@ -142,4 +144,67 @@ public class TransportDecompressorTests extends OpenSearchTestCase {
         }
     }
 
+    public void testLZ4Compression() throws IOException {
+        try (BytesStreamOutput output = new BytesStreamOutput()) {
+            byte randomByte = randomByte();
+            try (OutputStream lz4Stream = TransportCompressionScheme.LZ4.compressor()
+                    .threadLocalOutputStream(Streams.flushOnCloseStream(output))) {
+                lz4Stream.write(randomByte);
+            }
+
+            BytesReference bytes = output.bytes();
+
+            TransportDecompressor decompressor = new TransportDecompressor(PageCacheRecycler.NON_RECYCLING_INSTANCE);
+            int bytesConsumed = decompressor.decompress(bytes);
+            assertEquals(bytes.length(), bytesConsumed);
+            assertTrue(decompressor.isEOS());
+            ReleasableBytesReference releasableBytesReference = decompressor.pollDecompressedPage();
+            assertEquals(1, releasableBytesReference.length());
+            assertEquals(randomByte, releasableBytesReference.get(0));
+            releasableBytesReference.close();
+            decompressor.close();
+        }
+    }
+
+    public void testIncrementalLZ4MultiPageCompression() throws IOException {
+        final int numInts = randomIntBetween(10000, 100000);
+        try (BytesStreamOutput output = new BytesStreamOutput()) {
+            try (StreamOutput lz4Stream = new OutputStreamStreamOutput(
+                    TransportCompressionScheme.LZ4.compressor().threadLocalOutputStream(Streams.flushOnCloseStream(output)))) {
+                for (int i = 0; i < numInts; ++i) {
+                    lz4Stream.writeInt(i);
+                }
+            }
+
+            BytesReference bytes = output.bytes();
+
+            TransportDecompressor decompressor = new TransportDecompressor(PageCacheRecycler.NON_RECYCLING_INSTANCE);
+            int offset = 0;
+            while (offset < bytes.length()) {
+                int length = Math.min(bytes.length() - offset, randomIntBetween(1, 20000));
+                if (offset == 0) {
+                    length = Math.max(length, TransportCompressionScheme.LZ4.compressor().headerLength());
+                }
+                assertFalse(decompressor.isEOS());
+                assertEquals(length, decompressor.decompress(bytes.slice(offset, length)));
+                offset += length;
+            }
+            assertTrue(decompressor.isEOS());
+
+            List<ReleasableBytesReference> references = new ArrayList<>();
+            ReleasableBytesReference reference;
+            while ((reference = decompressor.pollDecompressedPage()) != null) {
+                references.add(reference);
+            }
+            BytesReference composite = CompositeBytesReference.of(references.toArray(new BytesReference[0]));
+            assertEquals(4 * numInts, composite.length());
+            StreamInput streamInput = composite.streamInput();
+            for (int i = 0; i < numInts; ++i) {
+                assertEquals(i, streamInput.readInt());
+            }
+            Releasables.close(references);
+            decompressor.close();
+        }
+    }
+
 }
@@ -434,6 +434,16 @@ public abstract class AggregatorTestCase extends OpenSearchTestCase {
         return searchAndReduce(createIndexSettings(), searcher, query, builder, maxBucket, fieldTypes);
     }
 
+    /**
+     * Randomly feeds the documents to the aggregator in blocks like the {@link AggregationPhase} does when no scores are needed.
+     */
+    private BucketCollector maybeBatched(Aggregator aggregator) {
+        if (aggregator.scoreMode().needsScores() == false && randomBoolean()) {
+            return new BatchedBucketCollector(aggregator);
+        }
+        return aggregator;
+    }
+
     /**
      * Collects all documents that match the provided query {@link Query} and
      * returns the reduced {@link InternalAggregation}.
@@ -469,16 +479,18 @@ public abstract class AggregatorTestCase extends OpenSearchTestCase {
                 MultiBucketConsumer shardBucketConsumer = new MultiBucketConsumer(maxBucket,
                     new NoneCircuitBreakerService().getBreaker(CircuitBreaker.REQUEST));
                 C a = createAggregator(query, builder, subSearcher, indexSettings, shardBucketConsumer, fieldTypes);
-                a.preCollection();
+                BucketCollector collector = maybeBatched(a);
+                collector.preCollection();
                 Weight weight = subSearcher.createWeight(rewritten, ScoreMode.COMPLETE, 1f);
-                subSearcher.search(weight, a);
-                a.postCollection();
+                subSearcher.search(weight, collector);
+                collector.postCollection();
                 aggs.add(a.buildTopLevel());
             }
         } else {
-            root.preCollection();
-            searcher.search(rewritten, root);
-            root.postCollection();
+            BucketCollector collector = maybeBatched(root);
+            collector.preCollection();
+            searcher.search(rewritten, collector);
+            collector.postCollection();
             aggs.add(root.buildTopLevel());
         }
 
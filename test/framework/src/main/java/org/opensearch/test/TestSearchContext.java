@@ -41,6 +41,7 @@ import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.BigArrays;
 import org.opensearch.index.IndexService;
 import org.opensearch.index.cache.bitset.BitsetFilterCache;
+import org.opensearch.index.cache.preaggregation.PreAggregationCache;
 import org.opensearch.index.mapper.MappedFieldType;
 import org.opensearch.index.mapper.MapperService;
 import org.opensearch.index.mapper.ObjectMapper;
@@ -320,6 +321,11 @@ public class TestSearchContext extends SearchContext {
         return fixedBitSetFilterCache;
     }
 
+    @Override
+    public PreAggregationCache preAggregationCache() {
+        return indexService == null ? null : indexService.preAggregationCache();
+    }
+
     @Override
     public TimeValue timeout() {
         return TimeValue.ZERO;